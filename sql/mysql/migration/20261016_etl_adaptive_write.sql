@@ -0,0 +1,13 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_adaptive_write
+-- Desc: 同步检查点增加自适应写入参数，下次执行从上次调整后的批大小、提交间隔与 IN 列表长度开始
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_sync_checkpoint`
+  ADD COLUMN `write_batch_size` int(11) DEFAULT NULL COMMENT '自适应写入批大小' AFTER `last_execution_log_id`,
+  ADD COLUMN `write_commit_rows` int(11) DEFAULT NULL COMMENT '自适应提交间隔行数' AFTER `write_batch_size`,
+  ADD COLUMN `lookup_in_list_size` int(11) DEFAULT NULL COMMENT '自适应主键回查IN列表长度' AFTER `write_commit_rows`;
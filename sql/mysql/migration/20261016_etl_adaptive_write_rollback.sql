@@ -0,0 +1,13 @@
+-- =============================================================
+-- Woodlin MySQL Migration Rollback
+-- Name: 20261016_etl_adaptive_write_rollback
+-- Desc: 回滚同步检查点的自适应写入参数字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_sync_checkpoint`
+  DROP COLUMN `write_batch_size`,
+  DROP COLUMN `write_commit_rows`,
+  DROP COLUMN `lookup_in_list_size`;
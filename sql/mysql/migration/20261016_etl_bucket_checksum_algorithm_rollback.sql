@@ -0,0 +1,11 @@
+-- =============================================================
+-- Woodlin MySQL Migration Rollback
+-- Name: 20261016_etl_bucket_checksum_algorithm_rollback
+-- Desc: 回滚桶位校验快照的校验算法版本字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_data_bucket_checksum`
+  DROP COLUMN `checksum_algorithm`;
@@ -0,0 +1,12 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_checkpoint_keyset
+-- Desc: 同步检查点增加最后主键值字段，与上次增量值组成 (增量字段, 主键) 组合水位
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_sync_checkpoint`
+  ADD COLUMN `last_primary_key_value` varchar(255) DEFAULT NULL COMMENT '上次增量值对应的最后主键值（组合水位）'
+    AFTER `last_incremental_value`;
@@ -0,0 +1,34 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_chunk_ledger
+-- Desc: 创建ETL分块续跑台账表 sys_etl_chunk_ledger
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+DROP TABLE IF EXISTS `sys_etl_chunk_ledger`;
+CREATE TABLE `sys_etl_chunk_ledger`
+(
+  `chunk_ledger_id`     bigint(20)   NOT NULL COMMENT '台账ID',
+  `job_id`              bigint(20)   NOT NULL COMMENT '任务ID',
+  `execution_log_id`    bigint(20)   DEFAULT NULL COMMENT '最近写入进度的执行日志ID',
+  `run_signature`       varchar(64)  NOT NULL COMMENT '运行签名（表、字段、过滤条件、切分键与水位的摘要）',
+  `range_index`         int(11)      NOT NULL COMMENT '区间序号',
+  `range_lower`         varchar(512) DEFAULT NULL COMMENT '区间下界（不含）',
+  `range_upper`         varchar(512) DEFAULT NULL COMMENT '区间上界（含）',
+  `null_keys`           char(1)      DEFAULT '0' COMMENT '是否为切分键为空的区间（0-否，1-是）',
+  `resume_key`          varchar(512) DEFAULT NULL COMMENT '已提交的最后排序键，续跑从该值（含）继续',
+  `committed_rows`      bigint(20)   DEFAULT 0 COMMENT '已提交行数',
+  `tenant_id`           varchar(64)  DEFAULT NULL COMMENT '租户ID',
+  `create_by`           varchar(64)  DEFAULT NULL COMMENT '创建者',
+  `create_time`         datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_by`           varchar(64)  DEFAULT NULL COMMENT '更新者',
+  `update_time`         datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted`             char(1)      DEFAULT '0' COMMENT '删除标识（0-正常，1-删除）',
+  PRIMARY KEY (`chunk_ledger_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='ETL分块续跑台账表';
+
+CREATE INDEX `idx_etl_chunk_ledger_job`
+  ON `sys_etl_chunk_ledger` (`job_id`, `range_index`);
@@ -0,0 +1,14 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_compare_diff
+-- Desc: 校验日志增加仅比对运行的差异行数与按桶差异报告
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_data_validation_log`
+  ADD COLUMN `missing_row_count` bigint(20) DEFAULT NULL COMMENT '目标端缺失行数' AFTER `mismatch_bucket_count`,
+  ADD COLUMN `extra_row_count` bigint(20) DEFAULT NULL COMMENT '目标端多出行数' AFTER `missing_row_count`,
+  ADD COLUMN `changed_row_count` bigint(20) DEFAULT NULL COMMENT '内容不同行数' AFTER `extra_row_count`,
+  ADD COLUMN `diff_report` longtext DEFAULT NULL COMMENT '差异报告（JSON）' AFTER `changed_row_count`;
@@ -0,0 +1,14 @@
+-- =============================================================
+-- Woodlin MySQL Migration Rollback
+-- Name: 20261016_etl_compare_diff_rollback
+-- Desc: 回滚校验日志的差异行数与差异报告字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_data_validation_log`
+  DROP COLUMN `diff_report`,
+  DROP COLUMN `changed_row_count`,
+  DROP COLUMN `extra_row_count`,
+  DROP COLUMN `missing_row_count`;
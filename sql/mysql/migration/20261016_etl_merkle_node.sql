@@ -0,0 +1,32 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_merkle_node
+-- Desc: 创建ETL桶位Merkle树节点表 sys_etl_merkle_node
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+DROP TABLE IF EXISTS `sys_etl_merkle_node`;
+CREATE TABLE `sys_etl_merkle_node`
+(
+  `merkle_node_id`      bigint(20)   NOT NULL COMMENT '节点ID',
+  `job_id`              bigint(20)   NOT NULL COMMENT '任务ID',
+  `execution_log_id`    bigint(20)   DEFAULT NULL COMMENT '生成该树的执行日志ID',
+  `tree_signature`      varchar(64)  NOT NULL COMMENT '树签名（表、字段、方言、桶数量与扇出的摘要）',
+  `node_level`          int(11)      NOT NULL COMMENT '层级（叶子为0）',
+  `node_index`          int(11)      NOT NULL COMMENT '层内序号（叶子层为桶号）',
+  `node_hash`           varchar(64)  NOT NULL COMMENT '节点哈希',
+  `row_count`           bigint(20)   DEFAULT 0 COMMENT '子树行数',
+  `tenant_id`           varchar(64)  DEFAULT NULL COMMENT '租户ID',
+  `create_by`           varchar(64)  DEFAULT NULL COMMENT '创建者',
+  `create_time`         datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_by`           varchar(64)  DEFAULT NULL COMMENT '更新者',
+  `update_time`         datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted`             char(1)      DEFAULT '0' COMMENT '删除标识（0-正常，1-删除）',
+  PRIMARY KEY (`merkle_node_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='ETL桶位Merkle树节点表';
+
+CREATE INDEX `idx_etl_merkle_node_job`
+  ON `sys_etl_merkle_node` (`job_id`, `tree_signature`);
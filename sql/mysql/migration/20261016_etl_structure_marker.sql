@@ -0,0 +1,11 @@
+-- =============================================================
+-- Woodlin MySQL Migration
+-- Name: 20261016_etl_structure_marker
+-- Desc: 表结构快照增加结构变更标记，结构未变化时不再重复记录快照
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+USE `woodlin`;
+
+ALTER TABLE `sys_etl_table_structure_snapshot`
+  ADD COLUMN `structure_marker` varchar(512) DEFAULT NULL COMMENT '结构变更标记' AFTER `structure_digest`;
@@ -985,6 +985,7 @@ CREATE TABLE `sys_etl_sync_checkpoint`
   `sync_mode`             varchar(20)  DEFAULT NULL COMMENT '同步模式',
   `incremental_column`    varchar(100) DEFAULT NULL COMMENT '增量字段',
   `last_incremental_value` varchar(255) DEFAULT NULL COMMENT '上次增量值',
+  `last_primary_key_value` varchar(255) DEFAULT NULL COMMENT '上次增量值对应的最后主键值（组合水位）',
   `last_sync_time`        datetime     DEFAULT NULL COMMENT '上次同步时间',
   `source_row_count`      bigint(20)   DEFAULT 0 COMMENT '源侧行数',
   `target_row_count`      bigint(20)   DEFAULT 0 COMMENT '目标侧行数',
@@ -992,6 +993,9 @@ CREATE TABLE `sys_etl_sync_checkpoint`
   `skipped_bucket_count`  int(11)      DEFAULT 0 COMMENT '跳过桶数量',
   `validation_status`     varchar(20)  DEFAULT NULL COMMENT '校验状态',
   `last_execution_log_id` bigint(20)   DEFAULT NULL COMMENT '最近执行日志ID',
+  `write_batch_size`      int(11)      DEFAULT NULL COMMENT '自适应写入批大小',
+  `write_commit_rows`     int(11)      DEFAULT NULL COMMENT '自适应提交间隔行数',
+  `lookup_in_list_size`   int(11)      DEFAULT NULL COMMENT '自适应主键回查IN列表长度',
   `tenant_id`             varchar(64)  DEFAULT NULL COMMENT '租户ID',
   `remark`                varchar(500) DEFAULT NULL COMMENT '备注',
   `create_by`             varchar(64)  DEFAULT NULL COMMENT '创建者',
@@ -1016,6 +1020,7 @@ CREATE TABLE `sys_etl_table_structure_snapshot`
   `column_count`        int(11)      DEFAULT 0 COMMENT '字段数量',
   `primary_key_columns` varchar(500) DEFAULT NULL COMMENT '主键字段列表',
   `structure_digest`    varchar(128) NOT NULL COMMENT '结构摘要',
+  `structure_marker`    varchar(512) DEFAULT NULL COMMENT '结构变更标记',
   `snapshot_time`       datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '快照时间',
   `tenant_id`           varchar(64)  DEFAULT NULL COMMENT '租户ID',
   `remark`              varchar(500) DEFAULT NULL COMMENT '备注',
@@ -1042,6 +1047,7 @@ CREATE TABLE `sys_etl_data_bucket_checksum`
   `target_row_count`    bigint(20)   DEFAULT 0 COMMENT '目标侧桶行数',
   `source_checksum`     varchar(128) DEFAULT NULL COMMENT '源侧校验值',
   `target_checksum`     varchar(128) DEFAULT NULL COMMENT '目标侧校验值',
+  `checksum_algorithm`  varchar(32)  DEFAULT NULL COMMENT '校验算法及版本（为空表示CRC32_V1）',
   `retry_count`         int(11)      DEFAULT 0 COMMENT '重试次数',
   `retry_success`       char(1)      DEFAULT '0' COMMENT '重试是否修复成功（1-是，0-否）',
   `last_retry_time`     datetime     DEFAULT NULL COMMENT '最后一次重试时间',
@@ -1058,6 +1064,52 @@ CREATE TABLE `sys_etl_data_bucket_checksum`
 ) ENGINE = InnoDB
   DEFAULT CHARSET = utf8mb4 COMMENT ='ETL桶位校验快照表';
 
+-- ETL桶位Merkle树节点表
+DROP TABLE IF EXISTS `sys_etl_merkle_node`;
+CREATE TABLE `sys_etl_merkle_node`
+(
+  `merkle_node_id`      bigint(20)   NOT NULL COMMENT '节点ID',
+  `job_id`              bigint(20)   NOT NULL COMMENT '任务ID',
+  `execution_log_id`    bigint(20)   DEFAULT NULL COMMENT '生成该树的执行日志ID',
+  `tree_signature`      varchar(64)  NOT NULL COMMENT '树签名（表、字段、方言、桶数量与扇出的摘要）',
+  `node_level`          int(11)      NOT NULL COMMENT '层级（叶子为0）',
+  `node_index`          int(11)      NOT NULL COMMENT '层内序号（叶子层为桶号）',
+  `node_hash`           varchar(64)  NOT NULL COMMENT '节点哈希',
+  `row_count`           bigint(20)   DEFAULT 0 COMMENT '子树行数',
+  `tenant_id`           varchar(64)  DEFAULT NULL COMMENT '租户ID',
+  `create_by`           varchar(64)  DEFAULT NULL COMMENT '创建者',
+  `create_time`         datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_by`           varchar(64)  DEFAULT NULL COMMENT '更新者',
+  `update_time`         datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted`             char(1)      DEFAULT '0' COMMENT '删除标识（0-正常，1-删除）',
+  PRIMARY KEY (`merkle_node_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='ETL桶位Merkle树节点表';
+
+-- ETL分块续跑台账表
+DROP TABLE IF EXISTS `sys_etl_chunk_ledger`;
+CREATE TABLE `sys_etl_chunk_ledger`
+(
+  `chunk_ledger_id`     bigint(20)   NOT NULL COMMENT '台账ID',
+  `job_id`              bigint(20)   NOT NULL COMMENT '任务ID',
+  `execution_log_id`    bigint(20)   DEFAULT NULL COMMENT '最近写入进度的执行日志ID',
+  `run_signature`       varchar(64)  NOT NULL COMMENT '运行签名（表、字段、过滤条件、切分键与水位的摘要）',
+  `range_index`         int(11)      NOT NULL COMMENT '区间序号',
+  `range_lower`         varchar(512) DEFAULT NULL COMMENT '区间下界（不含）',
+  `range_upper`         varchar(512) DEFAULT NULL COMMENT '区间上界（含）',
+  `null_keys`           char(1)      DEFAULT '0' COMMENT '是否为切分键为空的区间（0-否，1-是）',
+  `resume_key`          varchar(512) DEFAULT NULL COMMENT '已提交的最后排序键，续跑从该值（含）继续',
+  `committed_rows`      bigint(20)   DEFAULT 0 COMMENT '已提交行数',
+  `tenant_id`           varchar(64)  DEFAULT NULL COMMENT '租户ID',
+  `create_by`           varchar(64)  DEFAULT NULL COMMENT '创建者',
+  `create_time`         datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_by`           varchar(64)  DEFAULT NULL COMMENT '更新者',
+  `update_time`         datetime     DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `deleted`             char(1)      DEFAULT '0' COMMENT '删除标识（0-正常，1-删除）',
+  PRIMARY KEY (`chunk_ledger_id`)
+) ENGINE = InnoDB
+  DEFAULT CHARSET = utf8mb4 COMMENT ='ETL分块续跑台账表';
+
 -- ETL数据一致性校验日志表
 DROP TABLE IF EXISTS `sys_etl_data_validation_log`;
 CREATE TABLE `sys_etl_data_validation_log`
@@ -1072,6 +1124,10 @@ CREATE TABLE `sys_etl_data_validation_log`
   `target_checksum`     varchar(128) DEFAULT NULL COMMENT '目标侧摘要',
   `bucket_count`        int(11)      DEFAULT 0 COMMENT '桶数量',
   `mismatch_bucket_count` int(11)    DEFAULT 0 COMMENT '差异桶数量',
+  `missing_row_count`   bigint(20)   DEFAULT NULL COMMENT '目标端缺失行数',
+  `extra_row_count`     bigint(20)   DEFAULT NULL COMMENT '目标端多出行数',
+  `changed_row_count`   bigint(20)   DEFAULT NULL COMMENT '内容不同行数',
+  `diff_report`         longtext     DEFAULT NULL COMMENT '差异报告（JSON）',
   `validation_status`   varchar(20)  DEFAULT NULL COMMENT '校验状态',
   `validation_message`  text         DEFAULT NULL COMMENT '校验信息',
   `validated_at`        datetime     DEFAULT CURRENT_TIMESTAMP COMMENT '校验时间',
@@ -1102,6 +1158,14 @@ CREATE INDEX `idx_etl_structure_snapshot_lookup`
 CREATE INDEX `idx_etl_bucket_checksum_execution`
   ON `sys_etl_data_bucket_checksum` (`execution_log_id`, `bucket_number`);
 
+-- ETL桶位Merkle树节点索引
+CREATE INDEX `idx_etl_merkle_node_job`
+  ON `sys_etl_merkle_node` (`job_id`, `tree_signature`);
+
+-- ETL分块续跑台账索引
+CREATE INDEX `idx_etl_chunk_ledger_job`
+  ON `sys_etl_chunk_ledger` (`job_id`, `range_index`);
+
 -- ETL数据一致性校验日志索引
 CREATE INDEX `idx_etl_validation_log_execution`
   ON `sys_etl_data_validation_log` (`execution_log_id`, `validation_status`);
@@ -0,0 +1,12 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration
+-- Name: 20261016_etl_adaptive_write
+-- Desc: 同步检查点增加自适应写入参数，下次执行从上次调整后的批大小、提交间隔与 IN 列表长度开始
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_sync_checkpoint
+  ADD COLUMN IF NOT EXISTS write_batch_size integer DEFAULT NULL,
+  ADD COLUMN IF NOT EXISTS write_commit_rows integer DEFAULT NULL,
+  ADD COLUMN IF NOT EXISTS lookup_in_list_size integer DEFAULT NULL;
@@ -0,0 +1,12 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration Rollback
+-- Name: 20261016_etl_adaptive_write_rollback
+-- Desc: 回滚同步检查点的自适应写入参数字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_sync_checkpoint
+  DROP COLUMN IF EXISTS write_batch_size,
+  DROP COLUMN IF EXISTS write_commit_rows,
+  DROP COLUMN IF EXISTS lookup_in_list_size;
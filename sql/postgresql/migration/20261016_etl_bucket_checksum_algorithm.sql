@@ -0,0 +1,10 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration
+-- Name: 20261016_etl_bucket_checksum_algorithm
+-- Desc: 桶位校验快照增加校验算法版本字段，历史记录保持为空（CRC32_V1）
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_data_bucket_checksum
+  ADD COLUMN IF NOT EXISTS checksum_algorithm varchar(32) DEFAULT NULL;
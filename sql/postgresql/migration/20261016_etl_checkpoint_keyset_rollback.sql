@@ -0,0 +1,10 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration Rollback
+-- Name: 20261016_etl_checkpoint_keyset_rollback
+-- Desc: 回滚同步检查点的最后主键值字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_sync_checkpoint
+  DROP COLUMN IF EXISTS last_primary_key_value;
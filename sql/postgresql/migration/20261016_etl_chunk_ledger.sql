@@ -0,0 +1,31 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration
+-- Name: 20261016_etl_chunk_ledger
+-- Desc: 创建ETL分块续跑台账表 sys_etl_chunk_ledger
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS sys_etl_chunk_ledger
+(
+  chunk_ledger_id      bigint       NOT NULL,
+  job_id               bigint       NOT NULL,
+  execution_log_id     bigint       DEFAULT NULL,
+  run_signature        varchar(64)  NOT NULL,
+  range_index          integer      NOT NULL,
+  range_lower          varchar(512) DEFAULT NULL,
+  range_upper          varchar(512) DEFAULT NULL,
+  null_keys            char(1)      DEFAULT '0',
+  resume_key           varchar(512) DEFAULT NULL,
+  committed_rows       bigint       DEFAULT 0,
+  tenant_id            varchar(64)  DEFAULT NULL,
+  create_by            varchar(64)  DEFAULT NULL,
+  create_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  update_by            varchar(64)  DEFAULT NULL,
+  update_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  deleted              char(1)      DEFAULT '0',
+  PRIMARY KEY (chunk_ledger_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sys_etl_chunk_ledger_job
+  ON sys_etl_chunk_ledger (job_id, range_index);
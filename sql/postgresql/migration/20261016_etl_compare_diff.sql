@@ -0,0 +1,13 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration
+-- Name: 20261016_etl_compare_diff
+-- Desc: 校验日志增加仅比对运行的差异行数与按桶差异报告
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_data_validation_log
+  ADD COLUMN IF NOT EXISTS missing_row_count bigint DEFAULT NULL,
+  ADD COLUMN IF NOT EXISTS extra_row_count bigint DEFAULT NULL,
+  ADD COLUMN IF NOT EXISTS changed_row_count bigint DEFAULT NULL,
+  ADD COLUMN IF NOT EXISTS diff_report text DEFAULT NULL;
@@ -0,0 +1,13 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration Rollback
+-- Name: 20261016_etl_compare_diff_rollback
+-- Desc: 回滚校验日志的差异行数与差异报告字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_data_validation_log
+  DROP COLUMN IF EXISTS diff_report,
+  DROP COLUMN IF EXISTS changed_row_count,
+  DROP COLUMN IF EXISTS extra_row_count,
+  DROP COLUMN IF EXISTS missing_row_count;
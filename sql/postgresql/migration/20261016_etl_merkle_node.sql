@@ -0,0 +1,29 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration
+-- Name: 20261016_etl_merkle_node
+-- Desc: 创建ETL桶位Merkle树节点表 sys_etl_merkle_node
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS sys_etl_merkle_node
+(
+  merkle_node_id       bigint       NOT NULL,
+  job_id               bigint       NOT NULL,
+  execution_log_id     bigint       DEFAULT NULL,
+  tree_signature       varchar(64)  NOT NULL,
+  node_level           integer      NOT NULL,
+  node_index           integer      NOT NULL,
+  node_hash            varchar(64)  NOT NULL,
+  row_count            bigint       DEFAULT 0,
+  tenant_id            varchar(64)  DEFAULT NULL,
+  create_by            varchar(64)  DEFAULT NULL,
+  create_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  update_by            varchar(64)  DEFAULT NULL,
+  update_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  deleted              char(1)      DEFAULT '0',
+  PRIMARY KEY (merkle_node_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_sys_etl_merkle_node_job
+  ON sys_etl_merkle_node (job_id, tree_signature);
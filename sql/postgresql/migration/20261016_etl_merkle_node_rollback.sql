@@ -0,0 +1,9 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration Rollback
+-- Name: 20261016_etl_merkle_node_rollback
+-- Desc: 回滚 sys_etl_merkle_node 表
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+DROP TABLE IF EXISTS sys_etl_merkle_node;
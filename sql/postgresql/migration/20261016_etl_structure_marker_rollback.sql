@@ -0,0 +1,10 @@
+-- =============================================================
+-- Woodlin PostgreSQL Migration Rollback
+-- Name: 20261016_etl_structure_marker_rollback
+-- Desc: 回滚表结构快照的结构变更标记字段
+-- Author: mumu
+-- Date: 2026-10-16
+-- =============================================================
+
+ALTER TABLE sys_etl_table_structure_snapshot
+  DROP COLUMN IF EXISTS structure_marker;
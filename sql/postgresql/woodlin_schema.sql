@@ -720,6 +720,7 @@ CREATE TABLE sys_etl_sync_checkpoint
   sync_mode             varchar(20)  DEFAULT NULL,
   incremental_column    varchar(100) DEFAULT NULL,
   last_incremental_value varchar(255) DEFAULT NULL,
+  last_primary_key_value varchar(255) DEFAULT NULL,
   last_sync_time        timestamp    DEFAULT NULL,
   source_row_count      bigint       DEFAULT 0,
   target_row_count      bigint       DEFAULT 0,
@@ -727,6 +728,9 @@ CREATE TABLE sys_etl_sync_checkpoint
   skipped_bucket_count  integer      DEFAULT 0,
   validation_status     varchar(20)  DEFAULT NULL,
   last_execution_log_id bigint       DEFAULT NULL,
+  write_batch_size      integer      DEFAULT NULL,
+  write_commit_rows     integer      DEFAULT NULL,
+  lookup_in_list_size   integer      DEFAULT NULL,
   tenant_id             varchar(64)  DEFAULT NULL,
   remark                varchar(500) DEFAULT NULL,
   create_by             varchar(64)  DEFAULT NULL,
@@ -749,6 +753,7 @@ CREATE TABLE sys_etl_table_structure_snapshot
   column_count        integer      DEFAULT 0,
   primary_key_columns varchar(500) DEFAULT NULL,
   structure_digest    varchar(128) NOT NULL,
+  structure_marker    varchar(512) DEFAULT NULL,
   snapshot_time       timestamp    DEFAULT CURRENT_TIMESTAMP,
   tenant_id           varchar(64)  DEFAULT NULL,
   remark              varchar(500) DEFAULT NULL,
@@ -773,6 +778,7 @@ CREATE TABLE sys_etl_data_bucket_checksum
   target_row_count     bigint       DEFAULT 0,
   source_checksum      varchar(128) DEFAULT NULL,
   target_checksum      varchar(128) DEFAULT NULL,
+  checksum_algorithm   varchar(32)  DEFAULT NULL,
   retry_count          integer      DEFAULT 0,
   retry_success        char(1)      DEFAULT '0',
   last_retry_time      timestamp    DEFAULT NULL,
@@ -788,6 +794,48 @@ CREATE TABLE sys_etl_data_bucket_checksum
   PRIMARY KEY (bucket_checksum_id)
 );
 
+DROP TABLE IF EXISTS sys_etl_merkle_node CASCADE;
+CREATE TABLE sys_etl_merkle_node
+(
+  merkle_node_id       bigint       NOT NULL,
+  job_id               bigint       NOT NULL,
+  execution_log_id     bigint       DEFAULT NULL,
+  tree_signature       varchar(64)  NOT NULL,
+  node_level           integer      NOT NULL,
+  node_index           integer      NOT NULL,
+  node_hash            varchar(64)  NOT NULL,
+  row_count            bigint       DEFAULT 0,
+  tenant_id            varchar(64)  DEFAULT NULL,
+  create_by            varchar(64)  DEFAULT NULL,
+  create_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  update_by            varchar(64)  DEFAULT NULL,
+  update_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  deleted              char(1)      DEFAULT '0',
+  PRIMARY KEY (merkle_node_id)
+);
+
+DROP TABLE IF EXISTS sys_etl_chunk_ledger CASCADE;
+CREATE TABLE sys_etl_chunk_ledger
+(
+  chunk_ledger_id      bigint       NOT NULL,
+  job_id               bigint       NOT NULL,
+  execution_log_id     bigint       DEFAULT NULL,
+  run_signature        varchar(64)  NOT NULL,
+  range_index          integer      NOT NULL,
+  range_lower          varchar(512) DEFAULT NULL,
+  range_upper          varchar(512) DEFAULT NULL,
+  null_keys            char(1)      DEFAULT '0',
+  resume_key           varchar(512) DEFAULT NULL,
+  committed_rows       bigint       DEFAULT 0,
+  tenant_id            varchar(64)  DEFAULT NULL,
+  create_by            varchar(64)  DEFAULT NULL,
+  create_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  update_by            varchar(64)  DEFAULT NULL,
+  update_time          timestamp    DEFAULT CURRENT_TIMESTAMP,
+  deleted              char(1)      DEFAULT '0',
+  PRIMARY KEY (chunk_ledger_id)
+);
+
 DROP TABLE IF EXISTS sys_etl_data_validation_log CASCADE;
 CREATE TABLE sys_etl_data_validation_log
 (
@@ -801,6 +849,10 @@ CREATE TABLE sys_etl_data_validation_log
   target_checksum       varchar(128) DEFAULT NULL,
   bucket_count          integer      DEFAULT 0,
   mismatch_bucket_count integer      DEFAULT 0,
+  missing_row_count     bigint       DEFAULT NULL,
+  extra_row_count       bigint       DEFAULT NULL,
+  changed_row_count     bigint       DEFAULT NULL,
+  diff_report           text         DEFAULT NULL,
   validation_status     varchar(20)  DEFAULT NULL,
   validation_message    text         DEFAULT NULL,
   validated_at          timestamp    DEFAULT CURRENT_TIMESTAMP,
@@ -910,6 +962,10 @@ CREATE INDEX idx_sys_etl_structure_snapshot_lookup
   ON sys_etl_table_structure_snapshot (job_id, datasource_name, schema_name, table_name, snapshot_time);
 CREATE INDEX idx_sys_etl_bucket_checksum_execution
   ON sys_etl_data_bucket_checksum (execution_log_id, bucket_number);
+CREATE INDEX idx_sys_etl_merkle_node_job
+  ON sys_etl_merkle_node (job_id, tree_signature);
+CREATE INDEX idx_sys_etl_chunk_ledger_job
+  ON sys_etl_chunk_ledger (job_id, range_index);
 CREATE INDEX idx_sys_etl_validation_log_execution
   ON sys_etl_data_validation_log (execution_log_id, validation_status);
 
@@ -15,7 +15,7 @@
  * @since 2025-01-01
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class ColumnMetadata implements Serializable {
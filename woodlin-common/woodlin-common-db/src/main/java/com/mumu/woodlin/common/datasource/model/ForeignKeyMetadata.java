@@ -0,0 +1,60 @@
+package com.mumu.woodlin.common.datasource.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 外键元数据模型
+ *
+ * @author mumu
+ * @description 表的外键约束，一个约束对应一条记录，复合外键的列按 KEY_SEQ 顺序排列
+ * @since 2025-01-01
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForeignKeyMetadata implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 约束名称
+     */
+    private String constraintName;
+
+    /**
+     * 外键所在表的Schema名称
+     */
+    private String schemaName;
+
+    /**
+     * 外键所在表名称
+     */
+    private String tableName;
+
+    /**
+     * 外键列
+     */
+    private List<String> columnNames;
+
+    /**
+     * 被引用表的Schema名称
+     */
+    private String referencedSchemaName;
+
+    /**
+     * 被引用表名称
+     */
+    private String referencedTableName;
+
+    /**
+     * 被引用列
+     */
+    private List<String> referencedColumnNames;
+}
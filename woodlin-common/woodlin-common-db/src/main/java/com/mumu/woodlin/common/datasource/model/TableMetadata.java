@@ -16,7 +16,7 @@
  * @since 2025-01-01
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class TableMetadata implements Serializable {
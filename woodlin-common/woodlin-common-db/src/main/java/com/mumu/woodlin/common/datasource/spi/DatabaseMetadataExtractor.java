@@ -2,14 +2,19 @@
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseType;
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
 import com.mumu.woodlin.common.datasource.model.SchemaMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.common.datasource.spi.base.JdbcForeignKeyReader;
 
 /**
  * 数据库元数据提取器接口 (SPI)
@@ -119,6 +124,97 @@ default boolean supportsVersion(Connection connection, int majorVersion, int min
      */
     List<ColumnMetadata> extractColumns(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException;
     
+    /**
+     * 批量提取指定Schema下所有表的列信息，按表名分组
+     * <p>
+     * 默认逐表调用 {@link #extractColumns}，表数量较多时往返次数与表数量成正比。
+     * 支持系统目录查询的提取器应覆盖此方法，每个Schema只发出一次列查询并在内存中分组。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，可以为null
+     * @return 表名到列列表的映射，按表名有序，列按序号排列
+     * @throws SQLException SQL异常
+     */
+    default Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection connection, String databaseName,
+                                                                     String schemaName) throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        for (TableMetadata table : extractTables(connection, databaseName, schemaName)) {
+            List<ColumnMetadata> columns = table.getColumns();
+            if (columns == null) {
+                columns = extractColumns(connection, databaseName, schemaName, table.getTableName());
+            }
+            columnsByTable.put(table.getTableName(), columns);
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * 提取指定Schema下的表信息，不加载列信息
+     * <p>
+     * 部分提取器在 {@link #extractTables} 中一次性附带整个Schema的列信息，表数量较多时内存占用与列总数成正比。
+     * 需要分批处理表的调用方（如文档导出）应使用此方法获取表列表，再通过 {@link #extractColumnsByTables} 按批加载列信息。
+     * 默认调用 {@link #extractTables} 后丢弃列信息，已附带列信息的提取器应覆盖此方法跳过列查询。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，可以为null
+     * @return 表列表，列信息为null；主键可能因未加载列而为null
+     * @throws SQLException SQL异常
+     */
+    default List<TableMetadata> extractTablesWithoutColumns(Connection connection, String databaseName,
+                                                            String schemaName) throws SQLException {
+        List<TableMetadata> tables = extractTables(connection, databaseName, schemaName);
+        tables.forEach(table -> table.setColumns(null));
+        return tables;
+    }
+
+    /**
+     * 批量提取指定表的列信息，按表名分组
+     * <p>
+     * 默认逐表调用 {@link #extractColumns}。支持系统目录查询的提取器应覆盖此方法，
+     * 以表名 IN 列表限定 {@link #extractColumnsBySchema} 的查询，一批表只发出一次列查询。
+     * 表名需与系统目录中的名称一致，调用方应控制每批表的数量。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，可以为null
+     * @param tableNames 表名称
+     * @return 表名到列列表的映射，不存在的表没有对应项
+     * @throws SQLException SQL异常
+     */
+    default Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection connection, String databaseName,
+                                                                     String schemaName, Collection<String> tableNames)
+            throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        for (String tableName : tableNames) {
+            columnsByTable.put(tableName, extractColumns(connection, databaseName, schemaName, tableName));
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * 读取系统目录的结构变更标记
+     * <p>
+     * 标记是一次廉价查询得到的短字符串，表或列结构发生变化时随之改变，供元数据缓存判断缓存是否仍然有效。
+     * 默认不支持，返回null，调用方只能依赖缓存过期时间。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，可以为null
+     * @param tableName 表名称，为null时返回整个Schema的标记
+     * @return 变更标记，不支持时返回null
+     * @throws SQLException SQL异常
+     */
+    default String extractCatalogMarker(Connection connection, String databaseName, String schemaName,
+                                        String tableName) throws SQLException {
+        return null;
+    }
+
     /**
      * 获取表注释
      * 
@@ -130,7 +226,23 @@ default boolean supportsVersion(Connection connection, int majorVersion, int min
      * @throws SQLException SQL异常
      */
     String getTableComment(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException;
-    
+
+    /**
+     * 提取指定表引用其他表的外键
+     * 默认通过标准JDBC DatabaseMetaData.getImportedKeys 读取，不提供外键的数据库返回空列表
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，可以为null
+     * @param tableName 表名称
+     * @return 外键列表
+     * @throws SQLException SQL异常
+     */
+    default List<ForeignKeyMetadata> extractForeignKeys(Connection connection, String databaseName, String schemaName,
+                                                        String tableName) throws SQLException {
+        return JdbcForeignKeyReader.readImportedKeys(connection, databaseName, schemaName, tableName);
+    }
+
     /**
      * 获取优先级，用于多个提取器匹配时的选择
      * 数字越小优先级越高
@@ -7,7 +7,9 @@
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.sql.DataSource;
@@ -41,6 +43,7 @@
  * <ul>
  *   <li>默认使用 SHOW TABLES / SHOW FULL COLUMNS 等原生命令提取元数据，性能更好</li>
  *   <li>可通过 useNativeCommands 配置切换到 information_schema 查询方式</li>
+ *   <li>提取表列表时按库一次查询 information_schema.COLUMNS，在内存中按表分组列信息</li>
  * </ul>
  * </p>
  *
@@ -238,10 +241,25 @@ public List<TableMetadata> extractTables(Connection connection, String databaseN
         return extractTablesFromInfoSchema(connection, databaseName);
     }
 
+    /**
+     * 提取表列表，不查询列信息
+     * <p>
+     * 跳过整库列查询，主键需在加载列信息后由调用方从列的主键标记中获取。
+     * </p>
+     */
+    @Override
+    public List<TableMetadata> extractTablesWithoutColumns(Connection connection, String databaseName, String schemaName) throws SQLException {
+        if (useNativeCommands) {
+            return extractTablesNative(connection, databaseName, false);
+        }
+        return extractTablesFromInfoSchema(connection, databaseName, false);
+    }
+
     /**
      * 使用原生SHOW命令提取表列表（性能更好）
      * <p>
      * 使用 SHOW TABLE STATUS 命令获取表信息，相比查询 information_schema.TABLES 更快。
+     * 列信息通过 {@link #extractColumnsBySchema} 一次查询整库后按表分组，不再逐表执行 SHOW FULL COLUMNS。
      * </p>
      *
      * @param connection 数据库连接
@@ -250,8 +268,23 @@ public List<TableMetadata> extractTables(Connection connection, String databaseN
      * @throws SQLException SQL异常
      */
     protected List<TableMetadata> extractTablesNative(Connection connection, String databaseName) throws SQLException {
+        return extractTablesNative(connection, databaseName, true);
+    }
+
+    /**
+     * 使用原生SHOW命令提取表列表
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param includeColumns 是否附带列信息与主键
+     * @return 表元数据列表
+     * @throws SQLException SQL异常
+     */
+    protected List<TableMetadata> extractTablesNative(Connection connection, String databaseName, boolean includeColumns) throws SQLException {
         List<TableMetadata> tables = new ArrayList<>();
-        String version = getDatabaseVersion(connection);
+        Map<String, List<ColumnMetadata>> columnsByTable = includeColumns
+                ? extractColumnsBySchema(connection, databaseName, null)
+                : null;
 
         // 使用 SHOW TABLE STATUS 获取表的详细信息（包括注释、引擎等）
         String sql = "SHOW TABLE STATUS FROM `" + escapeSqlIdentifier(databaseName) + "`";
@@ -281,11 +314,13 @@ protected List<TableMetadata> extractTablesNative(Connection connection, String
                             .updateTime(updateTime)
                             .build();
 
-                    // 提取列信息，同时获取主键（主键信息在SHOW FULL COLUMNS结果的Key字段中）
-                    List<ColumnMetadata> columns = extractColumnsNative(connection, databaseName, tableName, version);
-                    table.setColumns(columns);
-                    // 从列信息中找出主键列
-                    table.setPrimaryKey(findPrimaryKeyFromColumns(columns));
+                    if (columnsByTable != null) {
+                        // 列信息已批量提取，主键信息在COLUMN_KEY字段中
+                        List<ColumnMetadata> columns = columnsByTable.getOrDefault(tableName, new ArrayList<>());
+                        table.setColumns(columns);
+                        // 从列信息中找出主键列
+                        table.setPrimaryKey(findPrimaryKeyFromColumns(columns));
+                    }
                     tables.add(table);
                 }
             }
@@ -323,7 +358,23 @@ protected String findPrimaryKeyFromColumns(List<ColumnMetadata> columns) {
      * @throws SQLException SQL异常
      */
     protected List<TableMetadata> extractTablesFromInfoSchema(Connection connection, String databaseName) throws SQLException {
+        return extractTablesFromInfoSchema(connection, databaseName, true);
+    }
+
+    /**
+     * 使用 information_schema 提取表列表
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param includeColumns 是否附带列信息与主键
+     * @return 表元数据列表
+     * @throws SQLException SQL异常
+     */
+    protected List<TableMetadata> extractTablesFromInfoSchema(Connection connection, String databaseName, boolean includeColumns) throws SQLException {
         List<TableMetadata> tables = new ArrayList<>();
+        Map<String, List<ColumnMetadata>> columnsByTable = includeColumns
+                ? extractColumnsBySchema(connection, databaseName, null)
+                : null;
         String sql = getTablesQuery();
 
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
@@ -333,8 +384,11 @@ protected List<TableMetadata> extractTablesFromInfoSchema(Connection connection,
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
                     TableMetadata table = buildTableMetadata(rs, databaseName);
-                    table.setColumns(extractColumns(connection, databaseName, null, table.getTableName()));
-                    table.setPrimaryKey(findPrimaryKey(connection, databaseName, table.getTableName()));
+                    if (columnsByTable != null) {
+                        List<ColumnMetadata> columns = columnsByTable.getOrDefault(table.getTableName(), new ArrayList<>());
+                        table.setColumns(columns);
+                        table.setPrimaryKey(findPrimaryKeyFromColumns(columns));
+                    }
                     tables.add(table);
                 }
             }
@@ -510,6 +564,70 @@ protected List<ColumnMetadata> extractColumnsFromInfoSchema(Connection connectio
         return columns;
     }
 
+    /**
+     * 批量提取整库的列信息
+     * <p>
+     * 无论是否使用原生命令，都只查询一次 information_schema.COLUMNS 并按表名分组，
+     * 避免逐表执行 SHOW FULL COLUMNS 带来的 N+1 往返。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName MySQL不区分Schema，忽略
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection connection, String databaseName, String schemaName) throws SQLException {
+        return queryColumns(connection, databaseName, null);
+    }
+
+    /**
+     * 以表名 IN 列表限定整库列查询，一批表只查询一次 information_schema.COLUMNS
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName MySQL不区分Schema，忽略
+     * @param tableNames 表名称
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection connection, String databaseName, String schemaName,
+                                                                    Collection<String> tableNames) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return queryColumns(connection, databaseName, tableNames);
+    }
+
+    private Map<String, List<ColumnMetadata>> queryColumns(Connection connection, String databaseName,
+                                                           Collection<String> tableNames) throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        String version = getDatabaseVersion(connection);
+        String sql = tableNames == null
+                ? getSchemaColumnsQuery()
+                : TableNameFilter.apply(getSchemaColumnsQuery(), "TABLE_NAME", tableNames.size());
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setQueryTimeout(60);  // 整库查询，60秒超时
+            pstmt.setString(1, databaseName);
+            if (tableNames != null) {
+                TableNameFilter.bind(pstmt, 2, tableNames);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("TABLE_NAME");
+                    columnsByTable.computeIfAbsent(tableName, key -> new ArrayList<>())
+                            .add(buildColumnMetadata(rs, databaseName, tableName, version));
+                }
+            }
+        }
+
+        return columnsByTable;
+    }
+
     /**
      * 解析列类型，从完整类型中提取基础数据类型
      * 例如: varchar(255) -> varchar, int(11) -> int, decimal(10,2) -> decimal
@@ -632,6 +750,17 @@ protected String getColumnsQuery() {
                "WHERE TABLE_SCHEMA = ? AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION";
     }
 
+    /**
+     * 获取整库批量查询列信息的SQL，结果需包含 TABLE_NAME 与 {@link #getColumnsQuery()} 的全部字段
+     */
+    protected String getSchemaColumnsQuery() {
+        return "SELECT TABLE_NAME, COLUMN_NAME, COLUMN_COMMENT, DATA_TYPE, COLUMN_TYPE, " +
+               "CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, NUMERIC_SCALE, " +
+               "IS_NULLABLE, COLUMN_DEFAULT, COLUMN_KEY, EXTRA, ORDINAL_POSITION " +
+               "FROM information_schema.COLUMNS " +
+               "WHERE TABLE_SCHEMA = ? ORDER BY TABLE_NAME, ORDINAL_POSITION";
+    }
+
     /**
      * 构建列元数据
      */
@@ -668,6 +797,21 @@ protected ColumnMetadata buildColumnMetadata(ResultSet rs, String databaseName,
                 .build();
     }
 
+    /**
+     * 结构变更标记：Schema级只读 information_schema.TABLES，取表数、最近建表时间与表名、注释的CRC32汇总，
+     * 不扫描 COLUMNS；表级使用 {@link CatalogMarkerSql#MYSQL_TABLE}，只读该表自身的字段定义
+     * <p>
+     * 不重建表的列变更只改变表级标记，Schema级缓存依赖存活时间刷新。
+     * </p>
+     */
+    @Override
+    public String extractCatalogMarker(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
+        String sql = "SELECT CONCAT_WS('|', COUNT(*), MAX(CREATE_TIME), " +
+                     "SUM(CRC32(CONCAT_WS(',', TABLE_NAME, TABLE_COMMENT)))) " +
+                     "FROM information_schema.TABLES WHERE TABLE_SCHEMA = ?";
+        return CatalogMarkerReader.read(connection, sql, CatalogMarkerSql.MYSQL_TABLE, databaseName, tableName);
+    }
+
     @Override
     public String getTableComment(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
         if (useNativeCommands) {
@@ -6,7 +6,9 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.sql.DataSource;
@@ -379,6 +381,130 @@ protected String getColumnsQuery() {
                "ORDER BY a.attnum";
     }
 
+    /**
+     * 批量提取Schema下所有表的列信息
+     * <p>
+     * 只执行一次 pg_attribute 查询并按表名分组，避免逐表查询列信息。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，为空时使用public
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection connection, String databaseName, String schemaName) throws SQLException {
+        return queryColumns(connection, databaseName, schemaName, null);
+    }
+
+    /**
+     * 以表名 IN 列表限定Schema级列查询，一批表只执行一次 pg_attribute 查询
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称，为空时使用public
+     * @param tableNames 表名称
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection connection, String databaseName, String schemaName,
+                                                                    Collection<String> tableNames) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return queryColumns(connection, databaseName, schemaName, tableNames);
+    }
+
+    private Map<String, List<ColumnMetadata>> queryColumns(Connection connection, String databaseName, String schemaName,
+                                                           Collection<String> tableNames) throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        String targetSchema = (schemaName != null && !schemaName.isEmpty()) ? schemaName : "public";
+        String sql = tableNames == null
+                ? getSchemaColumnsQuery()
+                : TableNameFilter.apply(getSchemaColumnsQuery(), "c.relname", tableNames.size());
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setQueryTimeout(60);  // 整个Schema查询，60秒超时
+            pstmt.setString(1, targetSchema);
+            if (tableNames != null) {
+                TableNameFilter.bind(pstmt, 2, tableNames);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                String version = getDatabaseVersion(connection);
+                while (rs.next()) {
+                    String tableName = rs.getString("table_name");
+                    columnsByTable.computeIfAbsent(tableName, key -> new ArrayList<>())
+                            .add(buildColumnMetadata(rs, databaseName, targetSchema, tableName, version));
+                }
+            }
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * 逐表提取列信息并按表名分组
+     * <p>
+     * 供覆盖了 {@link #extractColumns} 且列查询无法按Schema批量执行的子类使用。
+     * </p>
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    protected Map<String, List<ColumnMetadata>> extractColumnsPerTable(Connection connection, String databaseName, String schemaName) throws SQLException {
+        List<String> tableNames = new ArrayList<>();
+        for (TableMetadata table : extractTables(connection, databaseName, schemaName)) {
+            tableNames.add(table.getTableName());
+        }
+        return extractColumnsPerTable(connection, databaseName, schemaName, tableNames);
+    }
+
+    /**
+     * 逐表提取指定表的列信息并按表名分组
+     *
+     * @param connection 数据库连接
+     * @param databaseName 数据库名称
+     * @param schemaName Schema名称
+     * @param tableNames 表名称
+     * @return 表名到列列表的映射
+     * @throws SQLException SQL异常
+     */
+    protected Map<String, List<ColumnMetadata>> extractColumnsPerTable(Connection connection, String databaseName, String schemaName,
+                                                                       Collection<String> tableNames) throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        for (String tableName : tableNames) {
+            columnsByTable.put(tableName, extractColumns(connection, databaseName, schemaName, tableName));
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * 获取按Schema批量查询列信息的SQL，结果需包含 table_name 与 {@link #getColumnsQuery()} 的全部字段
+     */
+    protected String getSchemaColumnsQuery() {
+        return "SELECT c.relname AS table_name, a.attname AS column_name, " +
+               "pg_catalog.format_type(a.atttypid, a.atttypmod) AS data_type, " +
+               "CASE WHEN a.attnotnull THEN 'NO' ELSE 'YES' END AS is_nullable, " +
+               "pg_catalog.pg_get_expr(ad.adbin, ad.adrelid) AS column_default, " +
+               "a.attnum AS ordinal_position, " +
+               "pg_catalog.col_description(c.oid, a.attnum) AS comment, " +
+               "(pk.indkey IS NOT NULL AND a.attnum = ANY(pk.indkey)) AS is_primary_key " +
+               "FROM pg_catalog.pg_namespace n " +
+               "JOIN pg_catalog.pg_class c ON c.relnamespace = n.oid " +
+               "JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid " +
+               "LEFT JOIN pg_catalog.pg_attrdef ad ON ad.adrelid = c.oid AND ad.adnum = a.attnum " +
+               "LEFT JOIN pg_catalog.pg_index pk ON pk.indrelid = c.oid AND pk.indisprimary " +
+               "WHERE n.nspname = ? " +
+               "AND c.relkind IN ('r', 'p', 'v', 'm', 'f') " +
+               "AND a.attnum > 0 AND NOT a.attisdropped " +
+               "ORDER BY c.relname, a.attnum";
+    }
+
     /**
      * 构建列元数据
      */
@@ -404,6 +530,25 @@ protected ColumnMetadata buildColumnMetadata(ResultSet rs, String databaseName,
                 .build();
     }
 
+    /**
+     * 结构变更标记：汇总 pg_class 与 pg_attribute 行的事务号 xmin；表级使用 {@link CatalogMarkerSql#POSTGRESQL_TABLE}
+     * <p>
+     * 建表、删表、ALTER TABLE 都会重写对应目录行，xmin 随之变化。
+     * 仅修改注释写入的是 pg_description，不会改变标记，依赖缓存过期时间刷新。
+     * </p>
+     */
+    @Override
+    public String extractCatalogMarker(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
+        String targetSchema = (schemaName != null && !schemaName.isEmpty()) ? schemaName : "public";
+        String sql = "SELECT COUNT(DISTINCT c.oid) || ':' || COUNT(a.attnum) || ':' || " +
+                     "COALESCE(SUM(c.xmin::text::bigint), 0) || ':' || COALESCE(SUM(a.xmin::text::bigint), 0) " +
+                     "FROM pg_catalog.pg_class c " +
+                     "JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace " +
+                     "LEFT JOIN pg_catalog.pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped " +
+                     "WHERE n.nspname = ? AND c.relkind IN ('r', 'p', 'v', 'm', 'f')";
+        return CatalogMarkerReader.read(connection, sql, CatalogMarkerSql.POSTGRESQL_TABLE, targetSchema, tableName);
+    }
+
     @Override
     public String getTableComment(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
         String targetSchema = (schemaName != null && !schemaName.isEmpty()) ? schemaName : "public";
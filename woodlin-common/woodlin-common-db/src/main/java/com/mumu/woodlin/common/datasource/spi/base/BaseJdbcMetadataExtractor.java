@@ -12,6 +12,7 @@
 
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
 import com.mumu.woodlin.common.datasource.model.SchemaMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.datasource.spi.DatabaseMetadataExtractor;
@@ -192,6 +193,17 @@ public String getTableComment(Connection conn, String db, String schema, String
         return null;
     }
 
+    @Override
+    public List<ForeignKeyMetadata> extractForeignKeys(Connection conn, String databaseName, String schemaName,
+                                                       String tableName) throws SQLException {
+        String catalog = supportsCatalog() ? databaseName : null;
+        String schema = supportsSchema() ? schemaName : null;
+        if (schema == null && supportsSchema()) {
+            schema = safeSchema(conn);
+        }
+        return JdbcForeignKeyReader.readImportedKeys(conn, catalog, schema, tableName);
+    }
+
     protected Set<String> findPrimaryKeys(Connection conn, String catalog, String schema, String tableName) {
         Set<String> primaryKeys = new HashSet<>();
         try (ResultSet pkRs = conn.getMetaData().getPrimaryKeys(catalog, schema, tableName)) {
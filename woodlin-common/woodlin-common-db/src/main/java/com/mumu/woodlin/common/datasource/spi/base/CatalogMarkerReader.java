@@ -0,0 +1,48 @@
+package com.mumu.woodlin.common.datasource.spi.base;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 系统目录结构变更标记读取
+ * <p>
+ * 执行各方言提供的标记查询：Schema级查询只绑定Schema参数，表级查询（见 {@link CatalogMarkerSql}）依次绑定Schema与表名。
+ * 查询结果取第一行第一列。
+ * </p>
+ *
+ * @author mumu
+ * @since 2025-01-01
+ */
+public final class CatalogMarkerReader {
+
+    private CatalogMarkerReader() {
+    }
+
+    /**
+     * 读取结构变更标记
+     *
+     * @param connection 数据库连接
+     * @param schemaSql Schema级标记查询，唯一参数为Schema名称
+     * @param tableSql 表级标记查询，参数依次为Schema名称与表名
+     * @param schemaName Schema名称
+     * @param tableName 表名称，为null时读取Schema级标记
+     * @return 变更标记，无结果时返回null
+     * @throws SQLException SQL异常
+     */
+    public static String read(Connection connection, String schemaSql, String tableSql, String schemaName,
+                              String tableName) throws SQLException {
+        String sql = tableName == null ? schemaSql : tableSql;
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setQueryTimeout(10);  // 标记查询应很快返回
+            pstmt.setString(1, schemaName);
+            if (tableName != null) {
+                pstmt.setString(2, tableName);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+}
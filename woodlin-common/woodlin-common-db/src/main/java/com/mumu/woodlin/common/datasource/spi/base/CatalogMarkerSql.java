@@ -0,0 +1,57 @@
+package com.mumu.woodlin.common.datasource.spi.base;
+
+/**
+ * 单表结构变更标记查询
+ * <p>
+ * 元数据提取器的表级缓存标记与ETL表结构缓存共用同一组查询。参数依次为Schema名称（为null时取连接当前Schema）与表名，
+ * 只读取该表自身的系统目录行，返回一行短字符串；表不存在时无结果。
+ * </p>
+ *
+ * @author mumu
+ * @since 2025-01-01
+ */
+public final class CatalogMarkerSql {
+
+    /**
+     * MySQL：{@code UPDATE_TIME} 随 DML 推进，不能代表结构变化；取 {@code CREATE_TIME}（重建表时改变）与字段定义的
+     * 计数、CRC32 汇总，INSTANT 加列、修改类型、可空或主键均会改变标记
+     */
+    public static final String MYSQL_TABLE =
+            "SELECT CONCAT_WS('|', t.CREATE_TIME, COUNT(c.COLUMN_NAME), SUM(CRC32(CONCAT_WS(',', c.COLUMN_NAME,"
+            + " c.ORDINAL_POSITION, c.COLUMN_TYPE, c.IS_NULLABLE, c.COLUMN_KEY))))"
+            + " FROM information_schema.TABLES t JOIN information_schema.COLUMNS c"
+            + " ON c.TABLE_SCHEMA = t.TABLE_SCHEMA AND c.TABLE_NAME = t.TABLE_NAME"
+            + " WHERE t.TABLE_SCHEMA = COALESCE(?, DATABASE()) AND t.TABLE_NAME = ? GROUP BY t.CREATE_TIME";
+
+    /**
+     * PostgreSQL：{@code relfilenode} 在重写表时改变，{@code pg_class.xmin} 在加减列等修改表定义时改变；修改列类型、可空只更新
+     * {@code pg_attribute}，主键变化体现在 {@code pg_index}，因此一并汇总两者的行版本与主键索引
+     */
+    public static final String POSTGRESQL_TABLE =
+            "SELECT c.relfilenode::text || ':' || c.xmin::text"
+            + " || ':' || COALESCE((SELECT string_agg(a.xmin::text, ',' ORDER BY a.attnum) FROM pg_attribute a"
+            + " WHERE a.attrelid = c.oid AND a.attnum > 0), '')"
+            + " || ':' || COALESCE((SELECT string_agg(i.indexrelid::text, ',') FROM pg_index i"
+            + " WHERE i.indrelid = c.oid AND i.indisprimary), '')"
+            + " FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace"
+            + " WHERE n.nspname = COALESCE(?, current_schema()) AND c.relname = ?";
+
+    /**
+     * Oracle：任意 DDL 都会刷新 {@code LAST_DDL_TIME}，删除重建会改变 {@code OBJECT_ID}；未加引号的标识符按大写存储
+     */
+    public static final String ORACLE_TABLE =
+            "SELECT OBJECT_ID || ':' || TO_CHAR(LAST_DDL_TIME, 'YYYYMMDDHH24MISS') FROM ALL_OBJECTS"
+            + " WHERE OWNER = COALESCE(UPPER(?), SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA'))"
+            + " AND OBJECT_NAME = UPPER(?) AND OBJECT_TYPE = 'TABLE'";
+
+    /**
+     * SQL Server：{@code ALTER TABLE} 会刷新 {@code modify_date}，删除重建会改变 {@code object_id}
+     */
+    public static final String SQL_SERVER_TABLE =
+            "SELECT CAST(t.object_id AS VARCHAR(20)) + ':' + CONVERT(VARCHAR(33), t.modify_date, 126)"
+            + " FROM sys.tables t JOIN sys.schemas s ON s.schema_id = t.schema_id"
+            + " WHERE s.name = COALESCE(?, SCHEMA_NAME()) AND t.name = ?";
+
+    private CatalogMarkerSql() {
+    }
+}
@@ -0,0 +1,66 @@
+package com.mumu.woodlin.common.datasource.spi.base;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
+
+/**
+ * 基于标准JDBC的外键读取
+ * <p>
+ * 通过 {@link java.sql.DatabaseMetaData#getImportedKeys(String, String, String)} 读取外键，
+ * 按约束名（缺失时按被引用表）归并复合外键的各列。驱动不支持时返回空列表。
+ * </p>
+ *
+ * @author mumu
+ * @since 2025-01-01
+ */
+public final class JdbcForeignKeyReader {
+
+    private JdbcForeignKeyReader() {
+    }
+
+    /**
+     * 读取指定表引用其他表的外键
+     *
+     * @param connection 数据库连接
+     * @param catalog 数据库名称，可以为null
+     * @param schemaName Schema名称，可以为null
+     * @param tableName 表名称
+     * @return 外键列表
+     * @throws SQLException SQL异常
+     */
+    public static List<ForeignKeyMetadata> readImportedKeys(Connection connection, String catalog, String schemaName,
+                                                            String tableName) throws SQLException {
+        Map<String, ForeignKeyMetadata> foreignKeys = new LinkedHashMap<>();
+        try (ResultSet rs = connection.getMetaData().getImportedKeys(catalog, schemaName, tableName)) {
+            while (rs.next()) {
+                String referencedSchema = rs.getString("PKTABLE_SCHEM");
+                String referencedTable = rs.getString("PKTABLE_NAME");
+                String constraintName = rs.getString("FK_NAME");
+                String groupKey = constraintName != null ? constraintName : referencedSchema + "." + referencedTable;
+                ForeignKeyMetadata foreignKey = foreignKeys.computeIfAbsent(groupKey, key -> ForeignKeyMetadata.builder()
+                        .constraintName(constraintName)
+                        .schemaName(schemaName)
+                        .tableName(tableName)
+                        .columnNames(new ArrayList<>())
+                        .referencedSchemaName(referencedSchema)
+                        .referencedTableName(referencedTable)
+                        .referencedColumnNames(new ArrayList<>())
+                        .build());
+                // 结果集按被引用表与 KEY_SEQ 排序，复合外键的列依次追加即保持顺序
+                foreignKey.getColumnNames().add(rs.getString("FKCOLUMN_NAME"));
+                foreignKey.getReferencedColumnNames().add(rs.getString("PKCOLUMN_NAME"));
+            }
+        } catch (SQLFeatureNotSupportedException e) {
+            return List.of();
+        }
+        return new ArrayList<>(foreignKeys.values());
+    }
+}
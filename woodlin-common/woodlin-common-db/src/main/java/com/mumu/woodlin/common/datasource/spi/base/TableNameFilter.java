@@ -0,0 +1,54 @@
+package com.mumu.woodlin.common.datasource.spi.base;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 按表名 IN 列表限定Schema级列查询
+ * <p>
+ * 各提取器的Schema级列查询以 {@code WHERE <schema> = ?} 过滤并以 {@code ORDER BY} 结尾，
+ * 在 {@code ORDER BY} 之前追加 {@code AND <表名列> IN (?, ...)}，即可复用同一查询与结果映射按批提取列信息。
+ * </p>
+ *
+ * @author mumu
+ * @since 2025-01-01
+ */
+public final class TableNameFilter {
+
+    private TableNameFilter() {
+    }
+
+    /**
+     * 在Schema级列查询中追加表名 IN 条件
+     *
+     * @param schemaQuery Schema级列查询，以 WHERE 条件开头过滤Schema，可以以 ORDER BY 结尾
+     * @param tableColumn 表名列的限定名称，如 {@code c.TABLE_NAME}
+     * @param tableCount 表数量，至少为1
+     * @return 追加条件后的查询
+     */
+    public static String apply(String schemaQuery, String tableColumn, int tableCount) {
+        String condition = " AND " + tableColumn + " IN (" + String.join(", ", Collections.nCopies(tableCount, "?")) + ")";
+        int orderBy = schemaQuery.lastIndexOf(" ORDER BY ");
+        if (orderBy < 0) {
+            return schemaQuery + condition;
+        }
+        return schemaQuery.substring(0, orderBy) + condition + schemaQuery.substring(orderBy);
+    }
+
+    /**
+     * 依次绑定表名参数
+     *
+     * @param pstmt 预编译语句
+     * @param firstIndex 第一个表名参数的序号
+     * @param tableNames 表名称
+     * @throws SQLException SQL异常
+     */
+    public static void bind(PreparedStatement pstmt, int firstIndex, Collection<String> tableNames) throws SQLException {
+        int index = firstIndex;
+        for (String tableName : tableNames) {
+            pstmt.setString(index++, tableName);
+        }
+    }
+}
@@ -94,6 +94,13 @@ public List<TableMetadata> extractTables(Connection connection, String databaseN
         return tables;
     }
 
+    @Override
+    public List<TableMetadata> extractTablesWithoutColumns(Connection connection, String databaseName, String schemaName)
+            throws SQLException {
+        // 达梦的表列表本身不附带列信息
+        return extractTables(connection, databaseName, schemaName);
+    }
+
     @Override
     public List<ColumnMetadata> extractColumns(Connection connection, String databaseName, String schemaName, String tableName)
             throws SQLException {
@@ -112,33 +119,63 @@ public List<ColumnMetadata> extractColumns(Connection connection, String databas
             pstmt.setString(2, tableName.toUpperCase());
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    String dataType = rs.getString("DATA_TYPE");
-                    Integer columnSize = getNumericOrNull(rs, "DATA_PRECISION");
-                    if (columnSize == null) {
-                        columnSize = getNumericOrNull(rs, "DATA_LENGTH");
-                    }
-                    columns.add(ColumnMetadata.builder()
-                            .columnName(rs.getString("COLUMN_NAME"))
-                            .tableName(tableName)
-                            .schemaName(targetSchema)
-                            .databaseName(databaseName)
-                            .comment(rs.getString("COMMENTS"))
-                            .dataType(dataType)
-                            .columnSize(columnSize)
-                            .decimalDigits(getNumericOrNull(rs, "DATA_SCALE"))
-                            .nullable("Y".equalsIgnoreCase(rs.getString("NULLABLE")))
-                            .defaultValue(trimDefault(rs.getString("DATA_DEFAULT")))
-                            .primaryKey(primaryKeys.contains(rs.getString("COLUMN_NAME")))
-                            .autoIncrement("YES".equalsIgnoreCase(rs.getString("IDENTITY_COLUMN")))
-                            .ordinalPosition(getNumericOrNull(rs, "COLUMN_ID"))
-                            .javaType(mapDmTypeToJavaType(dataType))
-                            .build());
+                    columns.add(buildDmColumn(rs, databaseName, targetSchema, tableName,
+                            primaryKeys.contains(rs.getString("COLUMN_NAME"))));
                 }
             }
         }
         return columns;
     }
 
+    @Override
+    protected String getSchemaColumnsQuery() {
+        return "SELECT c.TABLE_NAME, c.COLUMN_NAME, c.DATA_TYPE, c.DATA_LENGTH, c.DATA_PRECISION, c.DATA_SCALE, " +
+                "c.NULLABLE, c.DATA_DEFAULT, c.COLUMN_ID, cc.COMMENTS, c.IDENTITY_COLUMN, " +
+                "CASE WHEN pk.COLUMN_NAME IS NOT NULL THEN 'Y' ELSE 'N' END AS IS_PRIMARY_KEY " +
+                "FROM ALL_TAB_COLUMNS c " +
+                "LEFT JOIN ALL_COL_COMMENTS cc ON c.OWNER = cc.OWNER AND c.TABLE_NAME = cc.TABLE_NAME " +
+                "AND c.COLUMN_NAME = cc.COLUMN_NAME " +
+                "LEFT JOIN (" +
+                "SELECT acc.OWNER, acc.TABLE_NAME, acc.COLUMN_NAME " +
+                "FROM ALL_CONSTRAINTS ac " +
+                "JOIN ALL_CONS_COLUMNS acc ON ac.OWNER = acc.OWNER AND ac.CONSTRAINT_NAME = acc.CONSTRAINT_NAME " +
+                "WHERE ac.CONSTRAINT_TYPE = 'P'" +
+                ") pk ON c.OWNER = pk.OWNER AND c.TABLE_NAME = pk.TABLE_NAME AND c.COLUMN_NAME = pk.COLUMN_NAME " +
+                "WHERE c.OWNER = ? " +
+                "ORDER BY c.TABLE_NAME, c.COLUMN_ID";
+    }
+
+    @Override
+    protected ColumnMetadata buildColumnMetadata(ResultSet rs, String databaseName, String schemaName, String tableName)
+            throws SQLException {
+        return buildDmColumn(rs, databaseName, schemaName, tableName, "Y".equals(rs.getString("IS_PRIMARY_KEY")));
+    }
+
+    private ColumnMetadata buildDmColumn(ResultSet rs, String databaseName, String schemaName, String tableName,
+                                         boolean primaryKey) throws SQLException {
+        String dataType = rs.getString("DATA_TYPE");
+        Integer columnSize = getNumericOrNull(rs, "DATA_PRECISION");
+        if (columnSize == null) {
+            columnSize = getNumericOrNull(rs, "DATA_LENGTH");
+        }
+        return ColumnMetadata.builder()
+                .columnName(rs.getString("COLUMN_NAME"))
+                .tableName(tableName)
+                .schemaName(schemaName)
+                .databaseName(databaseName)
+                .comment(rs.getString("COMMENTS"))
+                .dataType(dataType)
+                .columnSize(columnSize)
+                .decimalDigits(getNumericOrNull(rs, "DATA_SCALE"))
+                .nullable("Y".equalsIgnoreCase(rs.getString("NULLABLE")))
+                .defaultValue(trimDefault(rs.getString("DATA_DEFAULT")))
+                .primaryKey(primaryKey)
+                .autoIncrement("YES".equalsIgnoreCase(rs.getString("IDENTITY_COLUMN")))
+                .ordinalPosition(getNumericOrNull(rs, "COLUMN_ID"))
+                .javaType(mapDmTypeToJavaType(dataType))
+                .build();
+    }
+
     @Override
     public String getTableComment(Connection connection, String databaseName, String schemaName, String tableName)
             throws SQLException {
@@ -5,7 +5,9 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
@@ -187,6 +189,18 @@ public List<ColumnMetadata> extractColumns(Connection connection, String databas
         return extractColumnsNative(connection, databaseName, schemaName, tableName);
     }
 
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection connection, String databaseName, String schemaName) throws SQLException {
+        // 列信息依赖 KingBase 原生查询补充的字段，仍逐表提取
+        return extractColumnsPerTable(connection, databaseName, schemaName);
+    }
+
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection connection, String databaseName, String schemaName,
+                                                                    Collection<String> tableNames) throws SQLException {
+        return extractColumnsPerTable(connection, databaseName, schemaName, tableNames);
+    }
+
     /**
      * 检测KingBase的兼容模式
      * <p>
@@ -6,7 +6,11 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import javax.sql.DataSource;
 
@@ -18,6 +22,9 @@
 import com.mumu.woodlin.common.datasource.model.SchemaMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.datasource.spi.DatabaseMetadataExtractor;
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerReader;
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
+import com.mumu.woodlin.common.datasource.spi.base.TableNameFilter;
 
 /**
  * Oracle数据库元数据提取器
@@ -50,6 +57,28 @@ public class OracleMetadataExtractor implements DatabaseMetadataExtractor {
     );
     private static final Set<String> BINARY_TYPES = Set.of("BLOB", "RAW", "LONG RAW", "BFILE");
     private static final Set<String> ROWID_TYPES = Set.of("ROWID", "UROWID");
+
+    // 列信息查询的字段与关联部分，逐表与按Schema批量查询共用
+    private static final String COLUMNS_SELECT_FROM = "SELECT " +
+                     "c.TABLE_NAME, " +
+                     "c.COLUMN_NAME, " +
+                     "c.DATA_TYPE, " +
+                     "c.DATA_LENGTH, " +
+                     "c.DATA_PRECISION, " +
+                     "c.DATA_SCALE, " +
+                     "c.NULLABLE, " +
+                     "c.DATA_DEFAULT, " +
+                     "c.COLUMN_ID, " +
+                     "cc.COMMENTS, " +
+                     "CASE WHEN pk.COLUMN_NAME IS NOT NULL THEN 'Y' ELSE 'N' END as IS_PRIMARY_KEY " +
+                     "FROM ALL_TAB_COLUMNS c " +
+                     "LEFT JOIN ALL_COL_COMMENTS cc ON c.OWNER = cc.OWNER AND c.TABLE_NAME = cc.TABLE_NAME AND c.COLUMN_NAME = cc.COLUMN_NAME " +
+                     "LEFT JOIN ( " +
+                     "    SELECT acc.OWNER, acc.TABLE_NAME, acc.COLUMN_NAME " +
+                     "    FROM ALL_CONSTRAINTS ac " +
+                     "    JOIN ALL_CONS_COLUMNS acc ON ac.OWNER = acc.OWNER AND ac.CONSTRAINT_NAME = acc.CONSTRAINT_NAME " +
+                     "    WHERE ac.CONSTRAINT_TYPE = 'P' " +
+                     ") pk ON c.OWNER = pk.OWNER AND c.TABLE_NAME = pk.TABLE_NAME AND c.COLUMN_NAME = pk.COLUMN_NAME ";
     
     @Override
     public DatabaseType getDatabaseType() {
@@ -189,6 +218,19 @@ public List<SchemaMetadata> extractSchemas(Connection connection, String databas
     
     @Override
     public List<TableMetadata> extractTables(Connection connection, String databaseName, String schemaName) throws SQLException {
+        return extractTables(connection, databaseName, schemaName, true);
+    }
+    
+    /**
+     * 提取表列表，不查询列信息，主键仍按Schema一次查询
+     */
+    @Override
+    public List<TableMetadata> extractTablesWithoutColumns(Connection connection, String databaseName, String schemaName) throws SQLException {
+        return extractTables(connection, databaseName, schemaName, false);
+    }
+    
+    private List<TableMetadata> extractTables(Connection connection, String databaseName, String schemaName,
+                                              boolean includeColumns) throws SQLException {
         List<TableMetadata> tables = new ArrayList<>();
         
         // 如果没有指定schema，使用当前用户
@@ -204,6 +246,12 @@ public List<TableMetadata> extractTables(Connection connection, String databaseN
                      "WHERE t.OWNER = ? " +
                      "ORDER BY t.TABLE_NAME";
         
+        // 列信息与主键按Schema各查询一次，避免逐表查询
+        Map<String, List<ColumnMetadata>> columnsByTable = includeColumns
+                ? extractColumnsBySchema(connection, databaseName, targetSchema)
+                : null;
+        Map<String, String> primaryKeys = loadPrimaryKeys(connection, targetSchema);
+        
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, targetSchema);
             
@@ -217,11 +265,10 @@ public List<TableMetadata> extractTables(Connection connection, String databaseN
                             .tableType(rs.getString("TABLE_TYPE"))
                             .build();
                     
-                    // 提取列信息
-                    table.setColumns(extractColumns(connection, databaseName, targetSchema, table.getTableName()));
-                    
-                    // 查找主键
-                    table.setPrimaryKey(findPrimaryKey(connection, targetSchema, table.getTableName()));
+                    if (columnsByTable != null) {
+                        table.setColumns(columnsByTable.getOrDefault(table.getTableName(), new ArrayList<>()));
+                    }
+                    table.setPrimaryKey(primaryKeys.get(table.getTableName()));
                     
                     tables.add(table);
                 }
@@ -239,25 +286,7 @@ public List<ColumnMetadata> extractColumns(Connection connection, String databas
                 ? schemaName.toUpperCase() 
                 : connection.getMetaData().getUserName();
         
-        String sql = "SELECT " +
-                     "c.COLUMN_NAME, " +
-                     "c.DATA_TYPE, " +
-                     "c.DATA_LENGTH, " +
-                     "c.DATA_PRECISION, " +
-                     "c.DATA_SCALE, " +
-                     "c.NULLABLE, " +
-                     "c.DATA_DEFAULT, " +
-                     "c.COLUMN_ID, " +
-                     "cc.COMMENTS, " +
-                     "CASE WHEN pk.COLUMN_NAME IS NOT NULL THEN 'Y' ELSE 'N' END as IS_PRIMARY_KEY " +
-                     "FROM ALL_TAB_COLUMNS c " +
-                     "LEFT JOIN ALL_COL_COMMENTS cc ON c.OWNER = cc.OWNER AND c.TABLE_NAME = cc.TABLE_NAME AND c.COLUMN_NAME = cc.COLUMN_NAME " +
-                     "LEFT JOIN ( " +
-                     "    SELECT acc.OWNER, acc.TABLE_NAME, acc.COLUMN_NAME " +
-                     "    FROM ALL_CONSTRAINTS ac " +
-                     "    JOIN ALL_CONS_COLUMNS acc ON ac.OWNER = acc.OWNER AND ac.CONSTRAINT_NAME = acc.CONSTRAINT_NAME " +
-                     "    WHERE ac.CONSTRAINT_TYPE = 'P' " +
-                     ") pk ON c.OWNER = pk.OWNER AND c.TABLE_NAME = pk.TABLE_NAME AND c.COLUMN_NAME = pk.COLUMN_NAME " +
+        String sql = COLUMNS_SELECT_FROM +
                      "WHERE c.OWNER = ? AND c.TABLE_NAME = ? " +
                      "ORDER BY c.COLUMN_ID";
         
@@ -267,35 +296,7 @@ public List<ColumnMetadata> extractColumns(Connection connection, String databas
             
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
-                    String dataType = rs.getString("DATA_TYPE");
-                    String dataDefault = rs.getString("DATA_DEFAULT");
-                    boolean isAutoIncrement = false;
-                    
-                    // Oracle 12c及以上支持IDENTITY列
-                    if (dataDefault != null && dataDefault.trim().toUpperCase().contains("IDENTITY")) {
-                        isAutoIncrement = true;
-                    }
-                    
-                    boolean isPrimaryKey = "Y".equals(rs.getString("IS_PRIMARY_KEY"));
-                    
-                    ColumnMetadata column = ColumnMetadata.builder()
-                            .columnName(rs.getString("COLUMN_NAME"))
-                            .tableName(tableName)
-                            .schemaName(targetSchema)
-                            .databaseName(databaseName)
-                            .comment(rs.getString("COMMENTS"))
-                            .dataType(dataType)
-                            .columnSize(rs.getInt("DATA_LENGTH"))
-                            .decimalDigits(rs.getInt("DATA_SCALE"))
-                            .nullable("Y".equalsIgnoreCase(rs.getString("NULLABLE")))
-                            .defaultValue(dataDefault != null ? dataDefault.trim() : null)
-                            .primaryKey(isPrimaryKey)
-                            .autoIncrement(isAutoIncrement)
-                            .ordinalPosition(rs.getInt("COLUMN_ID"))
-                            .javaType(mapToJavaType(dataType))
-                            .build();
-                    
-                    columns.add(column);
+                    columns.add(buildColumnMetadata(rs, databaseName, targetSchema, tableName));
                 }
             }
         }
@@ -303,6 +304,115 @@ public List<ColumnMetadata> extractColumns(Connection connection, String databas
         return columns;
     }
     
+    /**
+     * 批量提取Schema下所有表的列信息
+     * <p>
+     * 只查询一次 ALL_TAB_COLUMNS 并按表名分组，避免逐表查询列信息。
+     * </p>
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection connection, String databaseName, String schemaName) throws SQLException {
+        return queryColumns(connection, databaseName, schemaName, null);
+    }
+    
+    /**
+     * 以表名 IN 列表限定Schema级列查询，一批表只查询一次 ALL_TAB_COLUMNS
+     */
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection connection, String databaseName, String schemaName,
+                                                                    Collection<String> tableNames) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return queryColumns(connection, databaseName, schemaName, tableNames);
+    }
+    
+    private Map<String, List<ColumnMetadata>> queryColumns(Connection connection, String databaseName, String schemaName,
+                                                           Collection<String> tableNames) throws SQLException {
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        
+        String targetSchema = (schemaName != null && !schemaName.isEmpty()) 
+                ? schemaName.toUpperCase() 
+                : connection.getMetaData().getUserName();
+        String sql = tableNames == null
+                ? getSchemaColumnsQuery()
+                : TableNameFilter.apply(getSchemaColumnsQuery(), "c.TABLE_NAME", tableNames.size());
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, targetSchema);
+            if (tableNames != null) {
+                TableNameFilter.bind(pstmt, 2, tableNames);
+            }
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("TABLE_NAME");
+                    columnsByTable.computeIfAbsent(tableName, key -> new ArrayList<>())
+                            .add(buildColumnMetadata(rs, databaseName, targetSchema, tableName));
+                }
+            }
+        }
+        
+        return columnsByTable;
+    }
+    
+    /**
+     * 获取按Schema批量查询列信息的SQL，唯一参数为OWNER，结果需包含 TABLE_NAME
+     */
+    protected String getSchemaColumnsQuery() {
+        return COLUMNS_SELECT_FROM +
+               "WHERE c.OWNER = ? " +
+               "ORDER BY c.TABLE_NAME, c.COLUMN_ID";
+    }
+    
+    /**
+     * 构建列元数据
+     */
+    protected ColumnMetadata buildColumnMetadata(ResultSet rs, String databaseName, String schemaName, String tableName) throws SQLException {
+        String dataType = rs.getString("DATA_TYPE");
+        String dataDefault = rs.getString("DATA_DEFAULT");
+        boolean isAutoIncrement = false;
+        
+        // Oracle 12c及以上支持IDENTITY列
+        if (dataDefault != null && dataDefault.trim().toUpperCase().contains("IDENTITY")) {
+            isAutoIncrement = true;
+        }
+        
+        boolean isPrimaryKey = "Y".equals(rs.getString("IS_PRIMARY_KEY"));
+        
+        return ColumnMetadata.builder()
+                .columnName(rs.getString("COLUMN_NAME"))
+                .tableName(tableName)
+                .schemaName(schemaName)
+                .databaseName(databaseName)
+                .comment(rs.getString("COMMENTS"))
+                .dataType(dataType)
+                .columnSize(rs.getInt("DATA_LENGTH"))
+                .decimalDigits(rs.getInt("DATA_SCALE"))
+                .nullable("Y".equalsIgnoreCase(rs.getString("NULLABLE")))
+                .defaultValue(dataDefault != null ? dataDefault.trim() : null)
+                .primaryKey(isPrimaryKey)
+                .autoIncrement(isAutoIncrement)
+                .ordinalPosition(rs.getInt("COLUMN_ID"))
+                .javaType(mapToJavaType(dataType))
+                .build();
+    }
+    
+    /**
+     * 结构变更标记：表与视图数量及最近一次DDL时间，COMMENT ON 同样会刷新 LAST_DDL_TIME；
+     * 表级使用 {@link CatalogMarkerSql#ORACLE_TABLE}
+     */
+    @Override
+    public String extractCatalogMarker(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
+        String targetSchema = (schemaName != null && !schemaName.isEmpty()) 
+                ? schemaName.toUpperCase() 
+                : connection.getMetaData().getUserName();
+        String sql = "SELECT COUNT(*) || ':' || TO_CHAR(MAX(LAST_DDL_TIME), 'YYYYMMDDHH24MISS') " +
+                     "FROM ALL_OBJECTS " +
+                     "WHERE OWNER = ? AND OBJECT_TYPE IN ('TABLE', 'VIEW')";
+        return CatalogMarkerReader.read(connection, sql, CatalogMarkerSql.ORACLE_TABLE, targetSchema, tableName);
+    }
+    
     @Override
     public String getTableComment(Connection connection, String databaseName, String schemaName, String tableName) throws SQLException {
         String targetSchema = (schemaName != null && !schemaName.isEmpty()) 
@@ -331,28 +441,27 @@ public int getPriority() {
     }
     
     /**
-     * 查找表的主键
+     * 一次查询Schema下所有表的主键，每张表取约束中位置最靠前的列
      */
-    private String findPrimaryKey(Connection connection, String schemaName, String tableName) throws SQLException {
-        String sql = "SELECT acc.COLUMN_NAME " +
+    private Map<String, String> loadPrimaryKeys(Connection connection, String schemaName) throws SQLException {
+        Map<String, String> primaryKeys = new HashMap<>();
+        String sql = "SELECT ac.TABLE_NAME, acc.COLUMN_NAME " +
                      "FROM ALL_CONSTRAINTS ac " +
                      "JOIN ALL_CONS_COLUMNS acc ON ac.OWNER = acc.OWNER AND ac.CONSTRAINT_NAME = acc.CONSTRAINT_NAME " +
-                     "WHERE ac.OWNER = ? AND ac.TABLE_NAME = ? AND ac.CONSTRAINT_TYPE = 'P' " +
-                     "ORDER BY acc.POSITION " +
-                     "FETCH FIRST 1 ROW ONLY";
+                     "WHERE ac.OWNER = ? AND ac.CONSTRAINT_TYPE = 'P' " +
+                     "ORDER BY ac.TABLE_NAME, acc.POSITION";
         
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
             pstmt.setString(1, schemaName);
-            pstmt.setString(2, tableName.toUpperCase());
             
             try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getString("COLUMN_NAME");
+                while (rs.next()) {
+                    primaryKeys.putIfAbsent(rs.getString("TABLE_NAME"), rs.getString("COLUMN_NAME"));
                 }
             }
         }
         
-        return null;
+        return primaryKeys;
     }
     
     /**
@@ -1,10 +1,22 @@
 package com.mumu.woodlin.common.datasource.spi.impl;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseType;
 import com.mumu.woodlin.common.datasource.spi.base.BaseJdbcMetadataExtractor;
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerReader;
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
+import com.mumu.woodlin.common.datasource.spi.base.TableNameFilter;
 
 /**
  * Microsoft SQL Server数据库元数据提取器
@@ -12,11 +24,32 @@
  * Microsoft SQL Server是微软开发的关系型数据库。
  * 支持Windows和Linux平台，提供企业级功能。
  * </p>
+ * <p>
+ * 按Schema批量提取列信息时直接查询 sys.columns 等目录视图，一次取回整个Schema的列、主键与注释。
+ * </p>
  * 
  * @author mumu
  * @since 2025-01-04
  */
 public class SqlServerMetadataExtractor extends BaseJdbcMetadataExtractor {
+
+    private static final String SCHEMA_COLUMNS_QUERY = "SELECT o.name AS table_name, c.name AS column_name, " +
+            "ty.name AS type_name, c.max_length, c.precision, c.scale, c.is_nullable, c.is_identity, " +
+            "c.column_id, dc.definition AS column_default, " +
+            "CAST(ep.value AS NVARCHAR(4000)) AS column_comment, " +
+            "CASE WHEN pk.column_id IS NULL THEN 0 ELSE 1 END AS is_primary_key " +
+            "FROM sys.columns c " +
+            "JOIN sys.objects o ON o.object_id = c.object_id AND o.type IN ('U', 'V') " +
+            "JOIN sys.schemas s ON s.schema_id = o.schema_id " +
+            "JOIN sys.types ty ON ty.user_type_id = c.user_type_id " +
+            "LEFT JOIN sys.default_constraints dc ON dc.object_id = c.default_object_id " +
+            "LEFT JOIN sys.extended_properties ep ON ep.class = 1 AND ep.major_id = c.object_id " +
+            "AND ep.minor_id = c.column_id AND ep.name = 'MS_Description' " +
+            "LEFT JOIN (SELECT ic.object_id, ic.column_id FROM sys.indexes i " +
+            "JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id " +
+            "WHERE i.is_primary_key = 1) pk ON pk.object_id = c.object_id AND pk.column_id = c.column_id " +
+            "WHERE s.name = ? " +
+            "ORDER BY o.name, c.column_id";
     
     @Override
     protected boolean supportsSchema() {
@@ -55,4 +88,125 @@ public String getDefaultTestQuery() {
     public int getPriority() {
         return 10;
     }
+
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsBySchema(Connection conn, String databaseName, String schemaName)
+            throws SQLException {
+        return queryColumns(conn, databaseName, schemaName, null);
+    }
+
+    @Override
+    public Map<String, List<ColumnMetadata>> extractColumnsByTables(Connection conn, String databaseName, String schemaName,
+                                                                    Collection<String> tableNames) throws SQLException {
+        if (tableNames.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        return queryColumns(conn, databaseName, schemaName, tableNames);
+    }
+
+    private Map<String, List<ColumnMetadata>> queryColumns(Connection conn, String databaseName, String schemaName,
+                                                           Collection<String> tableNames) throws SQLException {
+        String schema = schemaName != null && !schemaName.isBlank() ? schemaName : safeSchema(conn);
+        if (schema == null) {
+            schema = "dbo";
+        }
+        String sql = tableNames == null
+                ? SCHEMA_COLUMNS_QUERY
+                : TableNameFilter.apply(SCHEMA_COLUMNS_QUERY, "o.name", tableNames.size());
+
+        Map<String, List<ColumnMetadata>> columnsByTable = new LinkedHashMap<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setQueryTimeout(60);
+            pstmt.setString(1, schema);
+            if (tableNames != null) {
+                TableNameFilter.bind(pstmt, 2, tableNames);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("table_name");
+                    String typeName = rs.getString("type_name");
+                    int jdbcType = toJdbcType(typeName);
+
+                    ColumnMetadata col = new ColumnMetadata();
+                    col.setColumnName(rs.getString("column_name"));
+                    col.setTableName(tableName);
+                    col.setSchemaName(schema);
+                    col.setDatabaseName(databaseName);
+                    col.setDataType(typeName);
+                    col.setJdbcType(jdbcType);
+                    col.setColumnSize(columnSize(typeName, rs.getInt("max_length"), rs.getInt("precision")));
+                    col.setDecimalDigits(getOptionalInteger(rs, "scale"));
+                    col.setNullable(rs.getBoolean("is_nullable"));
+                    col.setDefaultValue(rs.getString("column_default"));
+                    col.setOrdinalPosition(rs.getInt("column_id"));
+                    col.setAutoIncrement(rs.getBoolean("is_identity"));
+                    col.setPrimaryKey(rs.getInt("is_primary_key") == 1);
+                    col.setJavaType(mapJdbcTypeToJavaType(jdbcType, typeName));
+                    col.setComment(rs.getString("column_comment"));
+
+                    columnsByTable.computeIfAbsent(tableName, key -> new ArrayList<>()).add(col);
+                }
+            }
+        }
+        return columnsByTable;
+    }
+
+    /**
+     * 结构变更标记：表与视图数量及最近修改时间，ALTER TABLE 会刷新 sys.objects.modify_date；
+     * 扩展属性（列注释）变化不影响标记，依赖缓存过期时间刷新；表级使用 {@link CatalogMarkerSql#SQL_SERVER_TABLE}
+     */
+    @Override
+    public String extractCatalogMarker(Connection conn, String databaseName, String schemaName, String tableName)
+            throws SQLException {
+        String schema = schemaName != null && !schemaName.isBlank() ? schemaName : safeSchema(conn);
+        String sql = "SELECT CAST(COUNT(*) AS VARCHAR(20)) + ':' + " +
+                "COALESCE(CONVERT(VARCHAR(33), MAX(o.modify_date), 126), '') " +
+                "FROM sys.objects o JOIN sys.schemas s ON s.schema_id = o.schema_id " +
+                "WHERE s.name = ? AND o.type IN ('U', 'V')";
+        return CatalogMarkerReader.read(conn, sql, CatalogMarkerSql.SQL_SERVER_TABLE, schema == null ? "dbo" : schema,
+                tableName);
+    }
+
+    /**
+     * 与驱动 getColumns 的 COLUMN_SIZE 保持一致：字符类型为字符数，数值类型为精度，MAX 类型为 Integer.MAX_VALUE
+     */
+    private Integer columnSize(String typeName, int maxLength, int precision) {
+        if (maxLength == -1) {
+            return Integer.MAX_VALUE;
+        }
+        return switch (typeName.toLowerCase()) {
+            case "nchar", "nvarchar" -> maxLength / 2;
+            case "char", "varchar", "binary", "varbinary" -> maxLength;
+            default -> precision > 0 ? precision : maxLength;
+        };
+    }
+
+    private int toJdbcType(String typeName) {
+        return switch (typeName.toLowerCase()) {
+            case "bit" -> Types.BIT;
+            case "tinyint" -> Types.TINYINT;
+            case "smallint" -> Types.SMALLINT;
+            case "int" -> Types.INTEGER;
+            case "bigint" -> Types.BIGINT;
+            case "real" -> Types.REAL;
+            case "float" -> Types.DOUBLE;
+            case "decimal", "money", "smallmoney" -> Types.DECIMAL;
+            case "numeric" -> Types.NUMERIC;
+            case "char" -> Types.CHAR;
+            case "varchar" -> Types.VARCHAR;
+            case "text" -> Types.LONGVARCHAR;
+            case "nchar" -> Types.NCHAR;
+            case "nvarchar", "sysname" -> Types.NVARCHAR;
+            case "ntext", "xml" -> Types.LONGNVARCHAR;
+            case "date" -> Types.DATE;
+            case "time" -> Types.TIME;
+            case "datetime", "datetime2", "smalldatetime" -> Types.TIMESTAMP;
+            case "datetimeoffset" -> Types.TIMESTAMP_WITH_TIMEZONE;
+            case "binary", "timestamp", "rowversion" -> Types.BINARY;
+            case "varbinary" -> Types.VARBINARY;
+            case "image" -> Types.LONGVARBINARY;
+            case "uniqueidentifier" -> Types.CHAR;
+            default -> Types.OTHER;
+        };
+    }
 }
@@ -5,16 +5,21 @@
 
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseType;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.datasource.spi.impl.MySQLMetadataExtractor;
 
 /**
@@ -172,6 +177,110 @@ void testGetPriority() {
         assertEquals(10, extractor.getPriority());
     }
     
+    @Test
+    void testExtractColumnsBySchemaGroupsSingleQueryByTable() throws SQLException {
+        PreparedStatement columnStatement = mockSchemaColumns();
+
+        Map<String, List<ColumnMetadata>> columns = extractor.extractColumnsBySchema(connection, "shop", null);
+
+        assertEquals(List.of("orders", "users"), List.copyOf(columns.keySet()));
+        assertEquals(2, columns.get("orders").size());
+        assertEquals("id", columns.get("orders").get(0).getColumnName());
+        assertTrue(columns.get("orders").get(0).getPrimaryKey());
+        assertEquals("orders", columns.get("orders").get(1).getTableName());
+        assertEquals(1, columns.get("users").size());
+        verify(columnStatement).setString(1, "shop");
+        verify(connection, times(1)).prepareStatement(anyString());
+    }
+
+    @Test
+    void testExtractTablesNativeDoesNotQueryColumnsPerTable() throws SQLException {
+        mockSchemaColumns();
+        ResultSet tableStatus = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(tableStatus);
+        when(tableStatus.next()).thenReturn(true, true, false);
+        when(tableStatus.getString("Name")).thenReturn("orders", "users");
+        when(tableStatus.getString("Engine")).thenReturn("InnoDB");
+
+        List<TableMetadata> tables = extractor.extractTables(connection, "shop", null);
+
+        assertEquals(2, tables.size());
+        assertEquals("id", tables.get(0).getPrimaryKey());
+        assertEquals(2, tables.get(0).getColumns().size());
+        assertNull(tables.get(1).getPrimaryKey());
+        assertEquals(1, tables.get(1).getColumns().size());
+        verify(statement, times(1)).executeQuery(anyString());
+        verify(connection, times(1)).prepareStatement(anyString());
+    }
+    
+    @Test
+    void testExtractTablesWithoutColumnsSkipsColumnQuery() throws SQLException {
+        ResultSet tableStatus = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(tableStatus);
+        when(tableStatus.next()).thenReturn(true, true, false);
+        when(tableStatus.getString("Name")).thenReturn("orders", "users");
+        when(tableStatus.getString("Engine")).thenReturn("InnoDB");
+
+        List<TableMetadata> tables = extractor.extractTablesWithoutColumns(connection, "shop", null);
+
+        assertEquals(2, tables.size());
+        assertNull(tables.get(0).getColumns());
+        assertNull(tables.get(1).getColumns());
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void testExtractColumnsByTablesRestrictsSchemaQueryToTableNames() throws SQLException {
+        PreparedStatement columnStatement = mockSchemaColumns();
+
+        Map<String, List<ColumnMetadata>> columns = extractor.extractColumnsByTables(connection, "shop", null,
+                List.of("orders", "users"));
+
+        assertEquals(List.of("orders", "users"), List.copyOf(columns.keySet()));
+        assertEquals(2, columns.get("orders").size());
+        verify(connection, times(1)).prepareStatement(
+                argThat(sql -> sql.contains("WHERE TABLE_SCHEMA = ? AND TABLE_NAME IN (?, ?) ORDER BY TABLE_NAME")));
+        verify(columnStatement).setString(1, "shop");
+        verify(columnStatement).setString(2, "orders");
+        verify(columnStatement).setString(3, "users");
+    }
+
+    @Test
+    void testExtractCatalogMarkerBindsSchemaAndOptionalTable() throws SQLException {
+        PreparedStatement markerStatement = mock(PreparedStatement.class);
+        ResultSet markerRow = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(markerStatement);
+        when(markerStatement.executeQuery()).thenReturn(markerRow);
+        when(markerRow.next()).thenReturn(true);
+        when(markerRow.getString(1)).thenReturn("2|5|123456");
+
+        assertEquals("2|5|123456", extractor.extractCatalogMarker(connection, "shop", null, null));
+        assertEquals("2|5|123456", extractor.extractCatalogMarker(connection, "shop", null, "orders"));
+
+        // Schema级标记只读 TABLES，不扫描整个Schema的 COLUMNS
+        verify(connection).prepareStatement(argThat(sql -> sql.endsWith("FROM information_schema.TABLES WHERE TABLE_SCHEMA = ?")
+                && !sql.contains("information_schema.COLUMNS")));
+        verify(connection).prepareStatement(CatalogMarkerSql.MYSQL_TABLE);
+        verify(markerStatement, times(2)).setString(1, "shop");
+        verify(markerStatement).setString(2, "orders");
+    }
+
+    private PreparedStatement mockSchemaColumns() throws SQLException {
+        PreparedStatement columnStatement = mock(PreparedStatement.class);
+        ResultSet columnRows = mock(ResultSet.class);
+        when(connection.prepareStatement(anyString())).thenReturn(columnStatement);
+        when(columnStatement.executeQuery()).thenReturn(columnRows);
+        when(columnRows.next()).thenReturn(true, true, true, false);
+        when(columnRows.getString("TABLE_NAME")).thenReturn("orders", "orders", "users");
+        when(columnRows.getString("COLUMN_NAME")).thenReturn("id", "amount", "name");
+        when(columnRows.getString("DATA_TYPE")).thenReturn("bigint", "decimal", "varchar");
+        when(columnRows.getString("COLUMN_KEY")).thenReturn("PRI", "", "");
+        when(columnRows.getString("IS_NULLABLE")).thenReturn("NO", "YES", "YES");
+        return columnStatement;
+    }
+    
     @Test
     void testVersionParsing() {
         assertEquals(8, extractor.getMajorVersion("8.0.28"));
@@ -0,0 +1,59 @@
+package com.mumu.woodlin.common.datasource.spi.base;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
+
+/**
+ * JDBC外键读取测试
+ *
+ * @author mumu
+ * @since 2025-01-01
+ */
+class JdbcForeignKeyReaderTest {
+
+    @Test
+    void testGroupsCompositeForeignKeyColumnsByConstraint() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getImportedKeys("shop", null, "order_item")).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getString("PKTABLE_SCHEM")).thenReturn(null, null, null);
+        when(rs.getString("PKTABLE_NAME")).thenReturn("orders", "orders", "product");
+        when(rs.getString("FK_NAME")).thenReturn("fk_item_order", "fk_item_order", "fk_item_product");
+        when(rs.getString("FKCOLUMN_NAME")).thenReturn("order_id", "tenant_id", "product_id");
+        when(rs.getString("PKCOLUMN_NAME")).thenReturn("id", "tenant_id", "id");
+
+        List<ForeignKeyMetadata> foreignKeys = JdbcForeignKeyReader.readImportedKeys(connection, "shop", null, "order_item");
+
+        assertEquals(2, foreignKeys.size());
+        ForeignKeyMetadata orderKey = foreignKeys.get(0);
+        assertEquals("order_item", orderKey.getTableName());
+        assertEquals("orders", orderKey.getReferencedTableName());
+        assertEquals(List.of("order_id", "tenant_id"), orderKey.getColumnNames());
+        assertEquals(List.of("id", "tenant_id"), orderKey.getReferencedColumnNames());
+        assertEquals("product", foreignKeys.get(1).getReferencedTableName());
+    }
+
+    @Test
+    void testReturnsEmptyListWhenDriverDoesNotSupportImportedKeys() throws SQLException {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getImportedKeys(any(), any(), any())).thenThrow(new SQLFeatureNotSupportedException());
+
+        assertTrue(JdbcForeignKeyReader.readImportedKeys(connection, null, null, "t").isEmpty());
+    }
+}
@@ -1,17 +1,140 @@
 package com.mumu.woodlin.datasource.config;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.mybatis.spring.annotation.MapperScan;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
+import com.mumu.woodlin.datasource.service.DatabaseMetadataCache;
+import com.mumu.woodlin.datasource.service.DatasourcePoolManager;
+import com.mumu.woodlin.datasource.service.SchemaExtractionCoordinator;
+
 /**
  * 数据源模块自动装配。
  */
 @AutoConfiguration
+@EnableConfigurationProperties(DatasourceProperties.class)
 @ComponentScan(basePackages = {
     "com.mumu.woodlin.datasource.controller",
     "com.mumu.woodlin.datasource.service"
 })
 @MapperScan("com.mumu.woodlin.datasource.mapper")
 public class DatasourceModuleAutoConfiguration {
+
+    /**
+     * 动态数据源连接池管理器，基础设施数据源、元数据提取与SQL转API共用。
+     *
+     * @param datasourceProperties 数据源模块配置
+     * @param meterRegistry 指标注册表，存在时采集各连接池的 HikariCP 指标
+     * @return 连接池管理器
+     */
+    @Bean(destroyMethod = "close")
+    public DatasourcePoolManager datasourcePoolManager(DatasourceProperties datasourceProperties,
+                                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DatasourcePoolManager(datasourceProperties.getPool(), meterRegistry.getIfAvailable());
+    }
+
+    /**
+     * 动态连接池汇总指标，单个连接池的指标由 HikariCP 以 {@code hikaricp.connections.*} 上报。
+     *
+     * @param datasourcePoolManager 连接池管理器
+     * @return 指标绑定
+     */
+    @Bean
+    public MeterBinder datasourcePoolManagerMetrics(DatasourcePoolManager datasourcePoolManager) {
+        return registry -> {
+            Gauge.builder("datasource.pool.count", datasourcePoolManager, DatasourcePoolManager::poolCount)
+                    .description("动态连接池数")
+                    .register(registry);
+            Gauge.builder("datasource.pool.connections.committed", datasourcePoolManager,
+                            DatasourcePoolManager::committedConnections)
+                    .description("全部动态连接池最大连接数之和")
+                    .register(registry);
+            Gauge.builder("datasource.pool.connections.limit", datasourcePoolManager,
+                            DatasourcePoolManager::globalMaxConnections)
+                    .description("动态连接池全局最大连接数")
+                    .register(registry);
+            Gauge.builder("datasource.pool.leases", datasourcePoolManager, DatasourcePoolManager::leaseCount)
+                    .description("未释放的连接池租约数")
+                    .register(registry);
+            Gauge.builder("datasource.pool.unhealthy", datasourcePoolManager, DatasourcePoolManager::unhealthyCount)
+                    .description("最近一次探测不可用的连接池数")
+                    .register(registry);
+            FunctionCounter.builder("datasource.pool.evictions", datasourcePoolManager,
+                            DatasourcePoolManager::evictionCount)
+                    .description("淘汰或退役的连接池数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 元数据结果缓存，元数据管理、ETL向导与SQL转API共用。
+     *
+     * @param datasourceProperties 数据源模块配置
+     * @return 元数据结果缓存
+     */
+    @Bean
+    public DatabaseMetadataCache databaseMetadataCache(DatasourceProperties datasourceProperties) {
+        return new DatabaseMetadataCache(datasourceProperties.getMetadataCache());
+    }
+
+    /**
+     * 元数据结果缓存指标。
+     *
+     * @param databaseMetadataCache 元数据结果缓存
+     * @return 指标绑定
+     */
+    @Bean
+    public MeterBinder databaseMetadataCacheMetrics(DatabaseMetadataCache databaseMetadataCache) {
+        return registry -> {
+            FunctionCounter.builder("datasource.metadata.cache.hits", databaseMetadataCache,
+                            DatabaseMetadataCache::hitCount)
+                    .description("元数据缓存命中次数")
+                    .register(registry);
+            FunctionCounter.builder("datasource.metadata.cache.misses", databaseMetadataCache,
+                            DatabaseMetadataCache::missCount)
+                    .description("元数据缓存未命中次数，含过期与结构变更")
+                    .register(registry);
+            Gauge.builder("datasource.metadata.cache.size", databaseMetadataCache, DatabaseMetadataCache::size)
+                    .description("元数据缓存条目数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * 元数据并行提取协调器，SQL转API文档导出与ETL向导共用。
+     *
+     * @param datasourceProperties 数据源模块配置
+     * @return 并行提取协调器
+     */
+    @Bean(destroyMethod = "close")
+    public SchemaExtractionCoordinator schemaExtractionCoordinator(DatasourceProperties datasourceProperties) {
+        return new SchemaExtractionCoordinator(datasourceProperties.getExtraction());
+    }
+
+    /**
+     * 元数据并行提取指标。
+     *
+     * @param schemaExtractionCoordinator 并行提取协调器
+     * @return 指标绑定
+     */
+    @Bean
+    public MeterBinder schemaExtractionCoordinatorMetrics(SchemaExtractionCoordinator schemaExtractionCoordinator) {
+        return registry -> {
+            Gauge.builder("datasource.extraction.active", schemaExtractionCoordinator,
+                            SchemaExtractionCoordinator::activeCount)
+                    .description("正在执行的元数据提取任务数")
+                    .register(registry);
+            Gauge.builder("datasource.extraction.queued", schemaExtractionCoordinator,
+                            SchemaExtractionCoordinator::queuedCount)
+                    .description("等待执行的元数据提取任务数")
+                    .register(registry);
+        };
+    }
 }
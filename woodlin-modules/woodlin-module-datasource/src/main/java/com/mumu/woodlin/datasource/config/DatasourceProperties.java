@@ -0,0 +1,125 @@
+package com.mumu.woodlin.datasource.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 数据源模块配置属性
+ *
+ * @author mumu
+ * @description 数据源模块的配置属性，包含动态连接池管理、元数据结果缓存与元数据并行提取配置
+ * @since 2025-01-01
+ */
+@Data
+@ConfigurationProperties(prefix = "woodlin.datasource")
+public class DatasourceProperties {
+
+    /**
+     * 动态连接池管理配置
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * 元数据结果缓存配置
+     */
+    private MetadataCache metadataCache = new MetadataCache();
+
+    /**
+     * 元数据并行提取配置
+     */
+    private Extraction extraction = new Extraction();
+
+    /**
+     * 动态连接池管理配置
+     */
+    @Data
+    public static class Pool {
+
+        /**
+         * 单个连接池的最大连接数上限，各模块申请的连接数超过该值时按该值创建
+         */
+        private Integer maxPoolSizePerDatasource = 10;
+
+        /**
+         * 全部动态连接池的最大连接数之和上限，超出时先淘汰空闲连接池，仍不足则拒绝创建
+         */
+        private Integer globalMaxConnections = 100;
+
+        /**
+         * 连接池空闲淘汰时间（秒）：无租约、无活动连接且超过该时间未使用的连接池会被关闭，下次使用时重建
+         */
+        private Long idleTimeoutSeconds = 600L;
+
+        /**
+         * 空闲淘汰与健康探测的执行间隔（秒），0表示不启动后台维护
+         */
+        private Long maintenanceIntervalSeconds = 60L;
+
+        /**
+         * 健康探测时校验连接的超时时间（秒）
+         */
+        private Integer probeTimeoutSeconds = 5;
+    }
+
+    /**
+     * 元数据结果缓存配置
+     */
+    @Data
+    public static class MetadataCache {
+
+        /**
+         * 是否启用元数据结果缓存，关闭后每次都直接查询系统目录
+         */
+        private Boolean enabled = true;
+
+        /**
+         * 缓存条目存活时间（秒），到期后无论结构变更标记是否变化都重新查询；
+         * 不提供变更标记的数据库只依赖该时间刷新
+         */
+        private Long ttlSeconds = 1800L;
+
+        /**
+         * 复核间隔（秒）：条目加载或上次复核后该时间内直接命中，不读取结构变更标记；
+         * 超过后命中前先读取一次标记确认结构未变
+         */
+        private Long revalidateSeconds = 10L;
+
+        /**
+         * 最多缓存的条目数，超出后淘汰最久未访问的条目
+         */
+        private Integer maxEntries = 2000;
+    }
+
+    /**
+     * 元数据并行提取配置
+     */
+    @Data
+    public static class Extraction {
+
+        /**
+         * 并行提取的线程数，全部数据源共用
+         */
+        private Integer threads = 8;
+
+        /**
+         * 线程池等待队列长度，队列满时由调用线程直接执行任务
+         */
+        private Integer queueCapacity = 64;
+
+        /**
+         * 单个数据源同时执行的提取任务数上限，即同时占用的系统目录连接数；
+         * 不宜超过元数据连接池的最大连接数（3）
+         */
+        private Integer maxConcurrentPerDatasource = 3;
+
+        /**
+         * 每个提取任务包含的表数量
+         */
+        private Integer tableBatchSize = 50;
+
+        /**
+         * 等待数据源并发名额的超时时间（秒）
+         */
+        private Long acquireTimeoutSeconds = 60L;
+    }
+}
@@ -2,6 +2,7 @@
 
 import java.util.List;
 
+import com.zaxxer.hikari.HikariDataSource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -28,7 +29,9 @@
 import com.mumu.woodlin.datasource.entity.InfraDatasourceConfig;
 import com.mumu.woodlin.datasource.mapper.InfraDatasourceMapper;
 import com.mumu.woodlin.datasource.model.request.DatasourceRequest;
+import com.mumu.woodlin.datasource.service.DatabaseMetadataCache;
 import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.datasource.service.DatasourcePoolManager;
 import com.mumu.woodlin.datasource.service.InfraDatasourceService;
 
 import cn.hutool.core.util.StrUtil;
@@ -112,6 +115,7 @@ public R<Void> update(
             @Valid @RequestBody DatasourceRequest request) {
         requirePermission("datasource:list:edit");
         saveOrUpdate(request, true);
+        refreshPools(request.getDatasourceCode());
         return R.ok();
     }
 
@@ -129,6 +133,7 @@ public R<Void> delete(
         requirePermission("datasource:list:remove");
         ensureSuccess(datasourceMapper.delete(new QueryWrapper<InfraDatasourceConfig>().eq("datasource_code", code)) > 0,
             "数据源不存在");
+        refreshPools(code);
         return R.ok();
     }
 
@@ -144,14 +149,24 @@ public R<Void> test(
             @Parameter(description = "数据源配置信息", required = true)
             @Valid @RequestBody DatasourceRequest request) {
         requireAnyPermission("datasource:list:add", "datasource:list:edit");
-        datasourceService.validateConnectivity(
-                datasourceService.buildTemporaryDataSource(request),
-                request.getTestSql(),
-                request.getDatasourceType()
-        );
+        try (HikariDataSource temporary = datasourceService.buildTemporaryDataSource(request)) {
+            datasourceService.validateConnectivity(temporary, request.getTestSql(), request.getDatasourceType());
+        }
         return R.ok();
     }
 
+    /**
+     * 获取动态连接池状态
+     *
+     * @return 连接池状态列表
+     */
+    @GetMapping("/pools")
+    @Operation(summary = "获取连接池状态", description = "获取基础设施数据源、元数据提取与SQL转API创建的动态连接池的连接数、租约与健康状态")
+    public R<List<DatasourcePoolManager.PoolStatus>> pools() {
+        requirePermission("datasource:list:list");
+        return R.ok(datasourceService.listPoolStatus());
+    }
+
     /**
      * 获取数据源的完整元数据
      * <p>
@@ -225,6 +240,37 @@ public R<List<ColumnMetadata>> columns(
         return R.ok(metadataService.getColumns(code, schemaName, table));
     }
 
+    /**
+     * 刷新数据源的元数据缓存
+     * <p>
+     * 清除已缓存的Schema、表、字段结果并重建元数据连接池，用于结构变更未被变更标记识别的场景（如仅修改注释）
+     * </p>
+     *
+     * @param code 数据源唯一编码
+     * @return 操作结果
+     */
+    @PostMapping("/metadata/refresh")
+    @Operation(summary = "刷新元数据缓存", description = "清除指定数据源已缓存的Schema、表、字段元数据，下次查询时重新提取")
+    public R<Void> refreshMetadata(
+            @Parameter(description = "数据源唯一编码", required = true)
+            @RequestParam("code") String code) {
+        requirePermission("datasource:list:edit");
+        metadataService.refreshMetadataCache(code);
+        return R.ok();
+    }
+
+    /**
+     * 获取元数据缓存统计
+     *
+     * @return 缓存统计
+     */
+    @GetMapping("/metadata/cache-stats")
+    @Operation(summary = "获取元数据缓存统计", description = "获取元数据结果缓存的条目数、命中与未命中次数等统计信息")
+    public R<DatabaseMetadataCache.Stats> metadataCacheStats() {
+        requirePermission("datasource:list:list");
+        return R.ok(metadataService.getMetadataCacheStats());
+    }
+
     /**
      * 保存或更新数据源配置
      *
@@ -266,6 +312,16 @@ private void saveOrUpdate(DatasourceRequest request, boolean isUpdate) {
         ensureSuccess(datasourceMapper.updateById(record) > 0, "更新数据源失败");
     }
 
+    /**
+     * 数据源配置变更后退役已创建的连接池并清除元数据缓存，下次使用时按最新配置重建
+     *
+     * @param code 数据源唯一编码
+     */
+    private void refreshPools(String code) {
+        datasourceService.refreshDataSource(code);
+        metadataService.refreshMetadataCache(code);
+    }
+
     private InfraDatasourceConfig requireDatasource(InfraDatasourceConfig config) {
         if (config == null) {
             throw BusinessException.of(ResultCode.NOT_FOUND, "数据源不存在");
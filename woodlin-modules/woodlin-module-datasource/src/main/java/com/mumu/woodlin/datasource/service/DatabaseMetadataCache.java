@@ -0,0 +1,342 @@
+package com.mumu.woodlin.datasource.service;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.UnaryOperator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.common.datasource.model.SchemaMetadata;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 数据库元数据结果缓存
+ * <p>
+ * 按数据源、Schema、表缓存Schema列表、表列表与字段列表。条目在复核间隔内直接命中；超过复核间隔后，
+ * 命中前先读取提取器提供的结构变更标记（一条只读系统目录的廉价查询），标记与加载时不同即视为结构已变更并重新提取；
+ * 提取器不提供标记时只依赖存活时间。条目数超过上限时淘汰最久未访问的条目。
+ * </p>
+ * <p>
+ * 缓存中保存的是结果副本，读取时再复制一份返回，调用方修改返回值不会影响缓存。
+ * 元数据管理、ETL向导与SQL转API共用同一实例。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public class DatabaseMetadataCache {
+
+    /**
+     * 缓存内容类型
+     */
+    public enum Kind {
+        /** Schema列表 */
+        SCHEMAS,
+        /** Schema下的表列表 */
+        TABLES,
+        /** 单表字段列表 */
+        COLUMNS,
+        /** Schema下按表分组的字段列表 */
+        SCHEMA_COLUMNS
+    }
+
+    /**
+     * 元数据加载
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * 加载结果
+         *
+         * @return 结果
+         * @throws SQLException SQL异常
+         */
+        T load() throws SQLException;
+    }
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long revalidateNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    /**
+     * 访问顺序的有序表，所有访问在自身锁内进行
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75F, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder markerInvalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * 创建缓存
+     *
+     * @param config 缓存配置
+     */
+    public DatabaseMetadataCache(DatasourceProperties.MetadataCache config) {
+        this(config, System::nanoTime);
+    }
+
+    DatabaseMetadataCache(DatasourceProperties.MetadataCache config, LongSupplier nanoClock) {
+        this.enabled = !Boolean.FALSE.equals(config.getEnabled());
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(config.getTtlSeconds() == null ? 0L : config.getTtlSeconds(), 0L));
+        this.revalidateNanos = TimeUnit.SECONDS.toNanos(
+                Math.max(config.getRevalidateSeconds() == null ? 0L : config.getRevalidateSeconds(), 0L));
+        this.maxEntries = Math.max(config.getMaxEntries() == null ? 0 : config.getMaxEntries(), 1);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 读取缓存，未命中、已过期或结构变更标记不一致时加载并写入缓存
+     * <p>
+     * 复核间隔内的条目不读取标记；加载前读取一次标记作为基准，保证加载期间的结构变更在下次复核时能被发现。
+     * 标记读取失败按不提供标记处理，不影响结果加载。
+     * </p>
+     *
+     * @param datasourceCode 数据源编码
+     * @param kind 缓存内容类型
+     * @param schemaName Schema名称
+     * @param tableName 表名称，非单表内容传null
+     * @param markerReader 结构变更标记读取，返回null表示不支持
+     * @param loader 结果加载
+     * @param copier 结果复制
+     * @param <T> 结果类型
+     * @return 结果，调用方可自由修改
+     * @throws SQLException 加载失败
+     */
+    public <T> T getOrLoad(String datasourceCode, Kind kind, String schemaName, String tableName,
+                           Loader<String> markerReader, Loader<T> loader, UnaryOperator<T> copier) throws SQLException {
+        if (!enabled) {
+            return loader.load();
+        }
+        Key key = new Key(datasourceCode, kind, schemaName, tableName);
+        long now = nanoClock.getAsLong();
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        String marker = null;
+        if (entry != null && now - entry.loadedAt() < ttlNanos) {
+            boolean valid = now - entry.validatedAt() < revalidateNanos;
+            if (!valid) {
+                marker = readMarker(key, markerReader);
+                valid = marker == null || marker.equals(entry.marker());
+                if (valid) {
+                    revalidated(key, entry, now);
+                }
+            }
+            if (valid) {
+                hits.increment();
+                @SuppressWarnings("unchecked")
+                T value = (T) entry.value();
+                return copier.apply(value);
+            }
+            markerInvalidations.increment();
+            log.debug("元数据结构变更标记已变化，重新提取: {}", key);
+        } else {
+            marker = readMarker(key, markerReader);
+        }
+        misses.increment();
+        T value = loader.load();
+        if (value != null) {
+            put(key, new Entry(copier.apply(value), marker, now, now));
+        }
+        return value;
+    }
+
+    /**
+     * 清除数据源的全部缓存条目
+     *
+     * @param datasourceCode 数据源编码
+     */
+    public void invalidate(String datasourceCode) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> Objects.equals(key.datasourceCode(), datasourceCode));
+        }
+    }
+
+    /**
+     * 清除全部缓存条目
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * 当前缓存条目数
+     *
+     * @return 条目数
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * 命中次数
+     *
+     * @return 次数
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * 未命中次数，含过期与标记变化
+     *
+     * @return 次数
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * 缓存统计
+     *
+     * @return 统计快照
+     */
+    public Stats stats() {
+        return new Stats(enabled, size(), maxEntries, TimeUnit.NANOSECONDS.toSeconds(ttlNanos),
+                TimeUnit.NANOSECONDS.toSeconds(revalidateNanos),
+                hits.sum(), misses.sum(), markerInvalidations.sum(), evictions.sum());
+    }
+
+    /**
+     * 复制Schema列表，连同其中的表与字段
+     *
+     * @param schemas Schema列表
+     * @return 副本
+     */
+    public static List<SchemaMetadata> copySchemas(List<SchemaMetadata> schemas) {
+        List<SchemaMetadata> copies = new ArrayList<>(schemas.size());
+        for (SchemaMetadata schema : schemas) {
+            copies.add(schema.toBuilder()
+                    .tables(schema.getTables() == null ? null : copyTables(schema.getTables()))
+                    .build());
+        }
+        return copies;
+    }
+
+    /**
+     * 复制表列表，连同其中的字段
+     *
+     * @param tables 表列表
+     * @return 副本
+     */
+    public static List<TableMetadata> copyTables(List<TableMetadata> tables) {
+        List<TableMetadata> copies = new ArrayList<>(tables.size());
+        for (TableMetadata table : tables) {
+            copies.add(table.toBuilder()
+                    .columns(table.getColumns() == null ? null : copyColumns(table.getColumns()))
+                    .build());
+        }
+        return copies;
+    }
+
+    /**
+     * 复制字段列表
+     *
+     * @param columns 字段列表
+     * @return 副本
+     */
+    public static List<ColumnMetadata> copyColumns(List<ColumnMetadata> columns) {
+        List<ColumnMetadata> copies = new ArrayList<>(columns.size());
+        for (ColumnMetadata column : columns) {
+            copies.add(column.toBuilder().build());
+        }
+        return copies;
+    }
+
+    /**
+     * 复制按表分组的字段列表，保持表的顺序
+     *
+     * @param columnsByTable 表名到字段列表的映射
+     * @return 副本
+     */
+    public static Map<String, List<ColumnMetadata>> copyColumnMap(Map<String, List<ColumnMetadata>> columnsByTable) {
+        Map<String, List<ColumnMetadata>> copies = new LinkedHashMap<>();
+        columnsByTable.forEach((table, columns) -> copies.put(table, copyColumns(columns)));
+        return copies;
+    }
+
+    private String readMarker(Key key, Loader<String> markerReader) {
+        try {
+            return markerReader.load();
+        } catch (SQLException e) {
+            log.debug("读取元数据结构变更标记失败，按存活时间判断: {}, 原因: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void revalidated(Key key, Entry entry, long now) {
+        synchronized (entries) {
+            // 复核期间条目可能已被重新加载或清除，只刷新仍是同一条目的复核时间
+            if (entries.get(key) == entry) {
+                entries.put(key, new Entry(entry.value(), entry.marker(), entry.loadedAt(), now));
+            }
+        }
+    }
+
+    private void put(Key key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+            Iterator<Key> eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * 缓存统计快照
+     *
+     * @param enabled 是否启用
+     * @param size 当前条目数
+     * @param maxEntries 条目上限
+     * @param ttlSeconds 条目存活时间（秒）
+     * @param revalidateSeconds 复核间隔（秒）
+     * @param hits 命中次数
+     * @param misses 未命中次数，含过期与标记变化
+     * @param markerInvalidations 因结构变更标记变化而重新提取的次数
+     * @param evictions 因超出条目上限被淘汰的条目数
+     */
+    public record Stats(
+            boolean enabled,
+            int size,
+            int maxEntries,
+            long ttlSeconds,
+            long revalidateSeconds,
+            long hits,
+            long misses,
+            long markerInvalidations,
+            long evictions
+    ) {
+    }
+
+    private record Key(String datasourceCode, Kind kind, String schemaName, String tableName) {
+    }
+
+    private record Entry(Object value, String marker, long loadedAt, long validatedAt) {
+    }
+}
@@ -4,14 +4,12 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import cn.hutool.core.util.StrUtil;
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
-import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -19,6 +17,7 @@
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
 import com.mumu.woodlin.common.datasource.model.SchemaMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.datasource.spi.DatabaseMetadataExtractor;
@@ -35,7 +34,11 @@
  * </p>
  * <p>
  * 优化说明：本服务使用轻量级连接池（HikariCP）来提高元数据提取性能，
- * 避免每次都创建新连接导致的延迟。连接池针对元数据提取场景进行了优化配置。
+ * 避免每次都创建新连接导致的延迟。连接池针对元数据提取场景进行了优化配置，
+ * 由 {@link DatasourcePoolManager} 统一管理连接数预算与空闲淘汰。
+ * </p>
+ * <p>
+ * Schema、表、字段查询结果保存在 {@link DatabaseMetadataCache} 中，按各数据库的结构变更标记与存活时间失效。
  * </p>
  *
  * @author mumu
@@ -47,16 +50,17 @@
 public class DatabaseMetadataService {
 
     private final InfraDatasourceMapper datasourceMapper;
+    private final DatabaseMetadataCache metadataCache;
+    private final DatasourcePoolManager poolManager;
     private final DatabaseMetadataExtractorFactory extractorFactory = DatabaseMetadataExtractorFactory.getInstance();
 
     /**
-     * 元数据连接池缓存
+     * 元数据连接池键前缀
      * <p>
-     * 为每个数据源维护一个轻量级连接池，用于元数据提取操作。
-     * 连接池配置了较小的最大连接数和较短的超时时间。
+     * 每个数据源一个轻量级只读连接池，由 {@link DatasourcePoolManager} 统一管理，空闲时自动淘汰。
      * </p>
      */
-    private final Map<String, HikariDataSource> metadataDataSources = new ConcurrentHashMap<>();
+    static final String POOL_KEY_PREFIX = "metadata:";
 
     /**
      * 获取数据源的完整元数据
@@ -72,9 +76,9 @@ public DatabaseMetadata getDatabaseMetadata(String datasourceCode) {
         log.info("获取数据源 {} 的元数据", datasourceCode);
 
         InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
-        HikariDataSource dataSource = getOrCreateMetadataDataSource(config);
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
             DatabaseMetadataExtractor extractor = findExtractor(connection);
 
             // 使用Connection直接提取元数据
@@ -184,12 +188,15 @@ public List<SchemaMetadata> getSchemas(String datasourceCode) {
         log.info("获取数据源 {} 的Schema列表", datasourceCode);
 
         InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
-        HikariDataSource dataSource = getOrCreateMetadataDataSource(config);
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
             DatabaseMetadataExtractor extractor = findExtractor(connection);
             String databaseName = connection.getCatalog();
-            return extractor.extractSchemas(connection, databaseName);
+            return metadataCache.getOrLoad(datasourceCode, DatabaseMetadataCache.Kind.SCHEMAS, null, null,
+                    () -> null,
+                    () -> extractor.extractSchemas(connection, databaseName),
+                    DatabaseMetadataCache::copySchemas);
 
         } catch (SQLException e) {
             log.error("获取Schema列表失败，数据源: {}", datasourceCode, e);
@@ -210,13 +217,16 @@ public List<TableMetadata> getTables(String datasourceCode,String schemaName) {
         log.info("获取数据源 {} 的表列表", datasourceCode);
 
         InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
-        HikariDataSource dataSource = getOrCreateMetadataDataSource(config);
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
             DatabaseMetadataExtractor extractor = findExtractor(connection);
             String databaseName = connection.getCatalog();
-            schemaName = StrUtil.emptyToDefault(schemaName,getSchema(connection)) ;
-            return extractor.extractTables(connection, databaseName, schemaName);
+            String schema = StrUtil.emptyToDefault(schemaName, getSchema(connection));
+            return metadataCache.getOrLoad(datasourceCode, DatabaseMetadataCache.Kind.TABLES, schema, null,
+                    () -> extractor.extractCatalogMarker(connection, databaseName, schema, null),
+                    () -> extractor.extractTables(connection, databaseName, schema),
+                    DatabaseMetadataCache::copyTables);
 
         } catch (SQLException e) {
             log.error("获取表列表失败，数据源: {}", datasourceCode, e);
@@ -238,13 +248,16 @@ public List<ColumnMetadata> getColumns(String datasourceCode,String schemaName,
         log.info("获取数据源 {} 表 {} 的字段列表", datasourceCode, tableName);
 
         InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
-        HikariDataSource dataSource = getOrCreateMetadataDataSource(config);
 
-        try (Connection connection = dataSource.getConnection()) {
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
             DatabaseMetadataExtractor extractor = findExtractor(connection);
             String databaseName = connection.getCatalog();
-            schemaName = StrUtil.emptyToDefault(schemaName,getSchema(connection)) ;
-            return extractor.extractColumns(connection, databaseName, schemaName, tableName);
+            String schema = StrUtil.emptyToDefault(schemaName, getSchema(connection));
+            return metadataCache.getOrLoad(datasourceCode, DatabaseMetadataCache.Kind.COLUMNS, schema, tableName,
+                    () -> extractor.extractCatalogMarker(connection, databaseName, schema, tableName),
+                    () -> extractor.extractColumns(connection, databaseName, schema, tableName),
+                    DatabaseMetadataCache::copyColumns);
 
         } catch (SQLException e) {
             log.error("获取字段列表失败，数据源: {}, 表: {}", datasourceCode, tableName, e);
@@ -252,10 +265,78 @@ public List<ColumnMetadata> getColumns(String datasourceCode,String schemaName,
         }
     }
 
+    /**
+     * 批量获取Schema下所有表的字段列表
+     * <p>
+     * 由提取器按Schema一次查询系统目录后按表分组，避免逐表获取字段带来的大量往返
+     * </p>
+     *
+     * @param datasourceCode 数据源编码
+     * @param schemaName Schema名称
+     * @return 表名到字段列表的映射
+     */
+    public Map<String, List<ColumnMetadata>> getColumnsBySchema(String datasourceCode, String schemaName) {
+        log.info("批量获取数据源 {} Schema {} 的字段列表", datasourceCode, schemaName);
+
+        InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
+
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
+            DatabaseMetadataExtractor extractor = findExtractor(connection);
+            String databaseName = connection.getCatalog();
+            String schema = StrUtil.emptyToDefault(schemaName, getSchema(connection));
+            return metadataCache.getOrLoad(datasourceCode, DatabaseMetadataCache.Kind.SCHEMA_COLUMNS, schema, null,
+                    () -> extractor.extractCatalogMarker(connection, databaseName, schema, null),
+                    () -> extractor.extractColumnsBySchema(connection, databaseName, schema),
+                    DatabaseMetadataCache::copyColumnMap);
+
+        } catch (SQLException e) {
+            log.error("批量获取字段列表失败，数据源: {}", datasourceCode, e);
+            throw new BusinessException("批量获取字段列表失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取指定表引用其他表的外键
+     * <p>
+     * 多张表复用同一连接逐表提取，单表提取失败只记录警告并跳过该表
+     * </p>
+     *
+     * @param datasourceCode 数据源编码
+     * @param schemaName Schema名称
+     * @param tableNames 表名列表
+     * @return 外键列表
+     */
+    public List<ForeignKeyMetadata> getForeignKeys(String datasourceCode, String schemaName, Collection<String> tableNames) {
+        log.info("获取数据源 {} 的外键，表数量: {}", datasourceCode, tableNames.size());
+
+        InfraDatasourceConfig config = getDatasourceConfig(datasourceCode);
+
+        try (DatasourcePoolManager.Lease lease = acquireMetadataPool(config);
+             Connection connection = lease.getConnection()) {
+            DatabaseMetadataExtractor extractor = findExtractor(connection);
+            String databaseName = connection.getCatalog();
+            schemaName = StrUtil.emptyToDefault(schemaName, getSchema(connection));
+            List<ForeignKeyMetadata> foreignKeys = new ArrayList<>();
+            for (String tableName : tableNames) {
+                try {
+                    foreignKeys.addAll(extractor.extractForeignKeys(connection, databaseName, schemaName, tableName));
+                } catch (SQLException e) {
+                    log.warn("提取外键失败，数据源: {}, 表: {}, 原因: {}", datasourceCode, tableName, e.getMessage());
+                }
+            }
+            return foreignKeys;
+
+        } catch (SQLException e) {
+            log.error("获取外键失败，数据源: {}", datasourceCode, e);
+            throw new BusinessException("获取外键失败: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * 刷新元数据缓存
      * <p>
-     * 关闭并重新创建数据源连接池，用于处理数据源配置变更的情况
+     * 清除该数据源缓存的元数据结果，并关闭连接池（下次使用时重新创建），用于处理结构或数据源配置变更的情况
      * </p>
      *
      * @param datasourceCode 数据源编码
@@ -263,11 +344,17 @@ public List<ColumnMetadata> getColumns(String datasourceCode,String schemaName,
     public void refreshMetadataCache(String datasourceCode) {
         log.info("刷新数据源 {} 的元数据缓存", datasourceCode);
 
-        HikariDataSource dataSource = metadataDataSources.remove(datasourceCode);
-        if (dataSource != null) {
-            dataSource.close();
-            log.debug("已关闭数据源 {} 的元数据连接池", datasourceCode);
-        }
+        metadataCache.invalidate(datasourceCode);
+        poolManager.evict(POOL_KEY_PREFIX + datasourceCode);
+    }
+
+    /**
+     * 获取元数据结果缓存统计
+     *
+     * @return 缓存统计
+     */
+    public DatabaseMetadataCache.Stats getMetadataCacheStats() {
+        return metadataCache.stats();
     }
 
     /**
@@ -293,68 +380,40 @@ private InfraDatasourceConfig getDatasourceConfig(String datasourceCode) {
     }
 
     /**
-     * 获取或创建元数据连接池
+     * 租用元数据连接池
      * <p>
-     * 为元数据提取操作创建优化配置的连接池：
+     * 元数据连接池针对低并发的元数据提取场景配置：
      * - 最小连接数: 1（保持一个活跃连接以避免重复建立连接）
      * - 最大连接数: 3（元数据提取为低并发操作）
      * - 连接超时: 10秒（避免长时间等待）
-     * - 空闲超时: 5分钟（及时释放不用的连接）
-     * - 最大生命周期: 30分钟（定期刷新连接）
+     * - 只读、禁用自动提交
+     * 连接池长时间空闲后由连接池管理器淘汰，下次使用时按最新配置重建。
      * </p>
      *
      * @param config 数据源配置
-     * @return HikariCP数据源
+     * @return 连接池租约
      */
-    private HikariDataSource getOrCreateMetadataDataSource(InfraDatasourceConfig config) {
-        return metadataDataSources.computeIfAbsent(config.getDatasourceCode(), code -> {
-            log.info("为数据源 {} 创建元数据连接池", code);
-
-            try {
-                HikariConfig hikariConfig = new HikariConfig();
-
-                // 加载驱动类
-                String driverClass = resolveDriver(config.getDriverClass(), config.getJdbcUrl());
-                hikariConfig.setDriverClassName(driverClass);
-
-                // 基本连接信息
-                hikariConfig.setJdbcUrl(config.getJdbcUrl());
-                hikariConfig.setUsername(config.getUsername());
-                hikariConfig.setPassword(config.getPassword());
-
-                // 连接池优化配置（针对元数据提取场景）
-                hikariConfig.setMinimumIdle(1);  // 保持至少一个空闲连接
-                hikariConfig.setMaximumPoolSize(3);  // 最大3个连接，元数据提取并发度低
-                hikariConfig.setConnectionTimeout(10000);  // 10秒连接超时，避免长时间等待
-                hikariConfig.setIdleTimeout(300000);  // 5分钟空闲超时
-                hikariConfig.setMaxLifetime(1800000);  // 30分钟最大生命周期
-                hikariConfig.setValidationTimeout(5000);  // 5秒验证超时
-
-                // 连接池名称（便于监控和调试）
-                hikariConfig.setPoolName("MetadataPool-" + code);
-
-                // 连接测试配置
-                hikariConfig.setConnectionTestQuery(resolveTestQuery(config));
-
-                // 禁用自动提交（元数据查询为只读操作）
-                hikariConfig.setAutoCommit(false);
-                hikariConfig.setReadOnly(true);
-
-                // 初始化连接池
-                HikariDataSource dataSource = new HikariDataSource(hikariConfig);
-
-                // 验证连接可用性
-                try (Connection conn = dataSource.getConnection()) {
-                    log.info("成功创建并验证元数据连接池: {}", code);
-                }
-
-                return dataSource;
-
-            } catch (Exception e) {
-                log.error("创建元数据连接池失败，数据源: {}", code, e);
-                throw new BusinessException("创建元数据连接池失败: " + e.getMessage(), e);
-            }
-        });
+    private DatasourcePoolManager.Lease acquireMetadataPool(InfraDatasourceConfig config) {
+        String code = config.getDatasourceCode();
+        try {
+            return poolManager.acquire(POOL_KEY_PREFIX + code, () -> DatasourcePoolManager.PoolSpec.builder()
+                    .driverClassName(resolveDriver(config.getDriverClass(), config.getJdbcUrl()))
+                    .jdbcUrl(config.getJdbcUrl())
+                    .username(config.getUsername())
+                    .password(config.getPassword())
+                    .connectionTestQuery(resolveTestQuery(config))
+                    .minimumIdle(1)
+                    .maximumPoolSize(3)
+                    .connectionTimeoutMillis(10000L)
+                    .readOnly(true)
+                    .autoCommit(false)
+                    .build());
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("创建元数据连接池失败，数据源: {}", code, e);
+            throw new BusinessException("创建元数据连接池失败: " + e.getMessage(), e);
+        }
     }
 
     /**
@@ -383,25 +442,6 @@ private String resolveTestQuery(InfraDatasourceConfig config) {
         return "SELECT 1";
     }
 
-    /**
-     * 清理所有元数据连接池
-     * <p>
-     * 在应用关闭时自动调用
-     * </p>
-     */
-    @PreDestroy
-    public void closeAllMetadataDataSources() {
-        log.info("关闭所有元数据连接池，共 {} 个", metadataDataSources.size());
-        metadataDataSources.values().forEach(dataSource -> {
-            try {
-                dataSource.close();
-            } catch (Exception e) {
-                log.warn("关闭元数据连接池失败", e);
-            }
-        });
-        metadataDataSources.clear();
-    }
-
     /**
      * 解析驱动类名
      * <p>
@@ -0,0 +1,772 @@
+package com.mumu.woodlin.datasource.service;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+import cn.hutool.core.util.StrUtil;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 动态数据源连接池管理器
+ * <p>
+ * 基础设施数据源、元数据提取与SQL转API按运行时配置创建的 HikariCP 连接池统一在此登记，按键（如 {@code infra:订单库}）复用：
+ * </p>
+ * <ul>
+ *   <li>{@link #getDataSource} 返回按键解析的数据源门面，每次取连接时定位当前连接池，连接池被淘汰后自动按最新配置重建</li>
+ *   <li>{@link #acquire} 返回租约，租约未释放前连接池不会被淘汰或关闭</li>
+ *   <li>单个连接池的最大连接数不超过单数据源上限，全部连接池最大连接数之和不超过全局上限；
+ *       超出全局上限时先淘汰空闲连接池，仍不足则拒绝创建</li>
+ *   <li>后台定期淘汰无租约、无活动连接且长时间未使用的连接池，并探测其余连接池的可用性，不可用且未在使用的连接池会被关闭</li>
+ * </ul>
+ * <p>
+ * 被淘汰或刷新的连接池先退役，等到租约全部释放、活动连接全部归还后才真正关闭，正在执行的查询不受影响。
+ * </p>
+ * <p>
+ * 创建连接池时只在管理器锁内预留连接数预算与登记结果，加载创建参数与建立初始连接都在锁外进行，
+ * 某个数据源不可达时只有等待该连接池的调用方阻塞，其他数据源的取连接、释放租约与后台维护不受影响。
+ * 同一键同时只有一个线程创建，其余调用方等待其结果。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public class DatasourcePoolManager implements AutoCloseable {
+
+    /**
+     * 连接池创建参数，未设置的可选项使用 HikariCP 默认值
+     *
+     * @param driverClassName 驱动类名
+     * @param jdbcUrl JDBC URL
+     * @param username 用户名
+     * @param password 密码
+     * @param connectionTestQuery 连接测试SQL
+     * @param maximumPoolSize 申请的最大连接数，超过单数据源上限时按上限创建
+     * @param minimumIdle 最小空闲连接数
+     * @param connectionTimeoutMillis 获取连接超时时间（毫秒）
+     * @param readOnly 是否只读
+     * @param autoCommit 是否自动提交
+     */
+    @Builder
+    public record PoolSpec(
+            String driverClassName,
+            String jdbcUrl,
+            String username,
+            String password,
+            String connectionTestQuery,
+            Integer maximumPoolSize,
+            Integer minimumIdle,
+            Long connectionTimeoutMillis,
+            Boolean readOnly,
+            Boolean autoCommit
+    ) {
+    }
+
+    /**
+     * 连接池状态快照
+     *
+     * @param key 连接池键
+     * @param poolName HikariCP 连接池名称
+     * @param maximumPoolSize 最大连接数
+     * @param activeConnections 活动连接数
+     * @param idleConnections 空闲连接数
+     * @param leases 未释放的租约数
+     * @param healthy 最近一次探测是否可用
+     * @param lastError 最近一次探测失败原因
+     * @param idleSeconds 距最近一次使用的秒数
+     */
+    public record PoolStatus(
+            String key,
+            String poolName,
+            int maximumPoolSize,
+            int activeConnections,
+            int idleConnections,
+            int leases,
+            boolean healthy,
+            String lastError,
+            long idleSeconds
+    ) {
+    }
+
+    private final int maxPoolSizePerDatasource;
+    private final int globalMaxConnections;
+    private final long idleTimeoutNanos;
+    private final int probeTimeoutSeconds;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final ScheduledExecutorService maintenance;
+
+    private final Map<String, Registration> registrations = new ConcurrentHashMap<>();
+
+    /**
+     * 已退役、等待租约与活动连接释放后关闭的连接池，在本对象锁内访问
+     */
+    private final List<Pool> retired = new ArrayList<>();
+
+    /**
+     * 正在创建、尚未登记的连接池已预留的连接数，在本对象锁内访问
+     */
+    private int reservedConnections;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder evictions = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * 创建连接池管理器，并按配置启动后台维护
+     *
+     * @param config 连接池管理配置
+     * @param meterRegistry 指标注册表，为null时不采集 HikariCP 连接池指标
+     */
+    public DatasourcePoolManager(DatasourceProperties.Pool config, MeterRegistry meterRegistry) {
+        this(config, meterRegistry, System::nanoTime);
+        long interval = config.getMaintenanceIntervalSeconds() == null ? 0L : config.getMaintenanceIntervalSeconds();
+        if (interval > 0) {
+            maintenance.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.SECONDS);
+        }
+    }
+
+    DatasourcePoolManager(DatasourceProperties.Pool config, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.maxPoolSizePerDatasource = Math.max(config.getMaxPoolSizePerDatasource() == null ? 10 : config.getMaxPoolSizePerDatasource(), 1);
+        this.globalMaxConnections = Math.max(config.getGlobalMaxConnections() == null ? 100 : config.getGlobalMaxConnections(), 1);
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(config.getIdleTimeoutSeconds() == null ? 600L : config.getIdleTimeoutSeconds());
+        this.probeTimeoutSeconds = Math.max(config.getProbeTimeoutSeconds() == null ? 5 : config.getProbeTimeoutSeconds(), 1);
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "datasource-pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 获取按键管理的数据源
+     * <p>
+     * 首次登记时立即创建连接池，创建失败（如无法连接）时不登记并抛出异常；
+     * 之后连接池被淘汰时，下次取连接会调用 {@code specLoader} 按最新配置重建。
+     * </p>
+     *
+     * @param key 连接池键
+     * @param specLoader 连接池创建参数加载
+     * @return 数据源门面，可长期持有
+     */
+    public DataSource getDataSource(String key, Supplier<PoolSpec> specLoader) {
+        return register(key, specLoader).facade;
+    }
+
+    /**
+     * 获取已登记的数据源
+     *
+     * @param key 连接池键
+     * @return 数据源门面，未登记时返回null
+     */
+    public DataSource getIfPresent(String key) {
+        Registration registration = registrations.get(key);
+        return registration == null ? null : registration.facade;
+    }
+
+    /**
+     * 租用连接池，租约释放前连接池不会被淘汰或关闭
+     *
+     * @param key 连接池键
+     * @param specLoader 连接池创建参数加载
+     * @return 租约，使用完毕后关闭
+     */
+    public Lease acquire(String key, Supplier<PoolSpec> specLoader) {
+        return new Lease(resolve(register(key, specLoader), true));
+    }
+
+    /**
+     * 退役指定连接池，下次使用时按最新配置重建；正在使用的连接池在租约与活动连接释放后关闭
+     *
+     * @param key 连接池键
+     */
+    public synchronized void evict(String key) {
+        Registration registration = registrations.get(key);
+        if (registration == null) {
+            return;
+        }
+        if (registration.pool != null) {
+            retire(registration);
+            closeRetired();
+        } else if (registration.creation != null) {
+            // 正在创建的连接池可能使用了旧配置，创建完成后丢弃并按最新配置重建
+            registration.stale = true;
+        }
+    }
+
+    /**
+     * 淘汰空闲连接池：无租约、无活动连接且超过空闲淘汰时间未使用
+     *
+     * @return 淘汰的连接池数
+     */
+    public synchronized int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int count = 0;
+        for (Registration registration : registrations.values()) {
+            Pool pool = registration.pool;
+            if (pool != null && pool.isUnused() && now - pool.lastUsed >= idleTimeoutNanos) {
+                log.info("淘汰空闲连接池: {}", registration.key);
+                retire(registration);
+                count++;
+            }
+        }
+        closeRetired();
+        return count;
+    }
+
+    /**
+     * 探测连接池可用性，不可用且未在使用的连接池会被关闭，下次使用时重建
+     */
+    public void probe() {
+        for (Registration registration : registrations.values()) {
+            Pool pool = registration.pool;
+            if (pool == null || pool.dataSource.isClosed()) {
+                continue;
+            }
+            try (Connection connection = pool.dataSource.getConnection()) {
+                pool.healthy = connection.isValid(probeTimeoutSeconds);
+                pool.lastError = pool.healthy ? null : "连接校验未通过";
+            } catch (SQLException e) {
+                pool.healthy = false;
+                pool.lastError = e.getMessage();
+            }
+            if (!pool.healthy) {
+                log.warn("连接池探测失败: {}, 原因: {}", registration.key, pool.lastError);
+                synchronized (this) {
+                    if (registration.pool == pool && pool.isUnused()) {
+                        retire(registration);
+                        closeRetired();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前连接池状态，按键排序
+     *
+     * @return 状态快照
+     */
+    public List<PoolStatus> status() {
+        long now = nanoClock.getAsLong();
+        List<PoolStatus> statuses = new ArrayList<>();
+        for (Registration registration : registrations.values()) {
+            Pool pool = registration.pool;
+            if (pool == null) {
+                continue;
+            }
+            HikariPoolMXBean mxBean = pool.dataSource.getHikariPoolMXBean();
+            statuses.add(new PoolStatus(registration.key, pool.dataSource.getPoolName(), pool.maxSize,
+                    mxBean == null ? 0 : mxBean.getActiveConnections(),
+                    mxBean == null ? 0 : mxBean.getIdleConnections(),
+                    pool.leases.get(), pool.healthy, pool.lastError,
+                    TimeUnit.NANOSECONDS.toSeconds(now - pool.lastUsed)));
+        }
+        statuses.sort(Comparator.comparing(PoolStatus::key));
+        return statuses;
+    }
+
+    /**
+     * 当前连接池数，不含等待关闭的退役连接池
+     *
+     * @return 连接池数
+     */
+    public int poolCount() {
+        return (int) registrations.values().stream().filter(registration -> registration.pool != null).count();
+    }
+
+    /**
+     * 已占用的连接数预算：全部连接池（含等待关闭的退役连接池与正在创建的连接池）最大连接数之和
+     *
+     * @return 连接数
+     */
+    public synchronized int committedConnections() {
+        int committed = reservedConnections;
+        for (Registration registration : registrations.values()) {
+            if (registration.pool != null) {
+                committed += registration.pool.maxSize;
+            }
+        }
+        for (Pool pool : retired) {
+            committed += pool.maxSize;
+        }
+        return committed;
+    }
+
+    /**
+     * 全局最大连接数
+     *
+     * @return 连接数
+     */
+    public int globalMaxConnections() {
+        return globalMaxConnections;
+    }
+
+    /**
+     * 未释放的租约总数
+     *
+     * @return 租约数
+     */
+    public int leaseCount() {
+        return registrations.values().stream()
+                .map(registration -> registration.pool)
+                .filter(Objects::nonNull)
+                .mapToInt(pool -> pool.leases.get())
+                .sum();
+    }
+
+    /**
+     * 最近一次探测不可用的连接池数
+     *
+     * @return 连接池数
+     */
+    public int unhealthyCount() {
+        return (int) registrations.values().stream()
+                .filter(registration -> registration.pool != null && !registration.pool.healthy)
+                .count();
+    }
+
+    /**
+     * 累计淘汰或退役的连接池数
+     *
+     * @return 连接池数
+     */
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * 关闭全部连接池并停止后台维护
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        maintenance.shutdownNow();
+        log.info("关闭全部动态连接池，共 {} 个", poolCount() + retired.size());
+        for (Registration registration : registrations.values()) {
+            if (registration.pool != null) {
+                closeQuietly(registration.pool);
+                registration.pool = null;
+            }
+        }
+        retired.forEach(this::closeQuietly);
+        retired.clear();
+        registrations.clear();
+    }
+
+    private void maintain() {
+        try {
+            evictIdle();
+            probe();
+        } catch (RuntimeException e) {
+            log.warn("连接池后台维护失败: {}", e.getMessage(), e);
+        }
+    }
+
+    private Registration register(String key, Supplier<PoolSpec> specLoader) {
+        Registration registration = registrations.get(key);
+        if (registration != null) {
+            return registration;
+        }
+        Registration created = new Registration(key, specLoader);
+        registration = registrations.putIfAbsent(key, created);
+        if (registration != null) {
+            return registration;
+        }
+        // 首次创建失败（如无法连接）时不保留登记
+        try {
+            resolve(created, false);
+        } catch (RuntimeException | Error e) {
+            registrations.remove(key, created);
+            throw e;
+        }
+        return created;
+    }
+
+    private Pool resolve(Registration registration, boolean lease) {
+        Pool pool = registration.pool;
+        if (pool != null && !lease) {
+            pool.lastUsed = nanoClock.getAsLong();
+            return pool;
+        }
+        while (true) {
+            CompletableFuture<Void> creation;
+            boolean creator = false;
+            synchronized (this) {
+                ensureOpen();
+                pool = registration.pool;
+                if (pool != null) {
+                    pool.lastUsed = nanoClock.getAsLong();
+                    if (lease) {
+                        pool.leases.incrementAndGet();
+                    }
+                    return pool;
+                }
+                creation = registration.creation;
+                if (creation == null) {
+                    creation = new CompletableFuture<>();
+                    registration.creation = creation;
+                    registration.stale = false;
+                    creator = true;
+                }
+            }
+            if (creator) {
+                createPool(registration, creation);
+            } else {
+                awaitCreation(registration, creation);
+            }
+        }
+    }
+
+    /**
+     * 创建并登记连接池：锁内预留预算，锁外建立连接池，再回到锁内登记或退还预算
+     */
+    private void createPool(Registration registration, CompletableFuture<Void> creation) {
+        int reserved = 0;
+        try {
+            PoolSpec spec = registration.specLoader.get();
+            int requested = spec.maximumPoolSize() == null ? maxPoolSizePerDatasource : spec.maximumPoolSize();
+            int size = Math.min(Math.max(requested, 1), maxPoolSizePerDatasource);
+            synchronized (this) {
+                ensureOpen();
+                size = Math.min(size, reserveBudget(registration.key, size));
+                reservedConnections += size;
+                reserved = size;
+            }
+
+            log.info("创建动态连接池: {}, 最大连接数: {}", registration.key, size);
+            HikariDataSource dataSource = new HikariDataSource(buildConfig(registration.key, spec, size));
+            boolean abandoned;
+            boolean published = false;
+            synchronized (this) {
+                reservedConnections -= reserved;
+                reserved = 0;
+                registration.creation = null;
+                // 管理器已关闭，或首次创建失败后登记已移除
+                abandoned = closed || registrations.get(registration.key) != registration;
+                if (!abandoned && registration.stale) {
+                    evictions.increment();
+                } else if (!abandoned) {
+                    registration.pool = new Pool(dataSource, size);
+                    published = true;
+                }
+            }
+            if (!published) {
+                dataSource.close();
+                if (abandoned) {
+                    throw new BusinessException("数据源连接池管理器已关闭或连接池已注销: " + registration.key);
+                }
+                log.info("连接池创建期间已被退役，按最新配置重建: {}", registration.key);
+            }
+            creation.complete(null);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                reservedConnections -= reserved;
+                if (registration.creation == creation) {
+                    registration.creation = null;
+                }
+            }
+            creation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void awaitCreation(Registration registration, CompletableFuture<Void> creation) {
+        try {
+            creation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new BusinessException("创建连接池失败: " + registration.key, e.getCause());
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new BusinessException("数据源连接池管理器已关闭");
+        }
+    }
+
+    private HikariConfig buildConfig(String key, PoolSpec spec, int size) {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName(key + "#" + generation.incrementAndGet());
+        if (StrUtil.isNotBlank(spec.driverClassName())) {
+            hikariConfig.setDriverClassName(spec.driverClassName());
+        }
+        hikariConfig.setJdbcUrl(spec.jdbcUrl());
+        hikariConfig.setUsername(spec.username());
+        hikariConfig.setPassword(spec.password());
+        hikariConfig.setMaximumPoolSize(size);
+        if (spec.minimumIdle() != null) {
+            hikariConfig.setMinimumIdle(Math.min(spec.minimumIdle(), size));
+        }
+        if (spec.connectionTimeoutMillis() != null) {
+            hikariConfig.setConnectionTimeout(spec.connectionTimeoutMillis());
+        }
+        if (StrUtil.isNotBlank(spec.connectionTestQuery())) {
+            hikariConfig.setConnectionTestQuery(spec.connectionTestQuery());
+        }
+        if (spec.readOnly() != null) {
+            hikariConfig.setReadOnly(spec.readOnly());
+        }
+        if (spec.autoCommit() != null) {
+            hikariConfig.setAutoCommit(spec.autoCommit());
+        }
+        if (meterRegistry != null) {
+            hikariConfig.setMetricRegistry(meterRegistry);
+        }
+        return hikariConfig;
+    }
+
+    /**
+     * 预留连接数预算，不足时按最久未使用的顺序淘汰空闲连接池
+     *
+     * @return 可用于新连接池的连接数
+     */
+    private int reserveBudget(String key, int size) {
+        closeRetired();
+        int remaining = globalMaxConnections - committedConnections();
+        if (remaining < size) {
+            List<Registration> idle = registrations.values().stream()
+                    .filter(registration -> registration.pool != null && registration.pool.isUnused())
+                    .sorted(Comparator.comparingLong(registration -> registration.pool.lastUsed))
+                    .toList();
+            for (Iterator<Registration> it = idle.iterator(); it.hasNext() && remaining < size; ) {
+                Registration registration = it.next();
+                log.info("连接数预算不足，淘汰空闲连接池: {}", registration.key);
+                remaining += registration.pool.maxSize;
+                retire(registration);
+            }
+            closeRetired();
+            remaining = globalMaxConnections - committedConnections();
+        }
+        if (remaining < 1) {
+            throw new BusinessException("动态数据源连接数已达全局上限 " + globalMaxConnections + "，无法创建连接池: " + key);
+        }
+        return remaining;
+    }
+
+    private void retire(Registration registration) {
+        retired.add(registration.pool);
+        registration.pool = null;
+        evictions.increment();
+    }
+
+    private void closeRetired() {
+        retired.removeIf(pool -> {
+            if (!pool.isUnused()) {
+                return false;
+            }
+            closeQuietly(pool);
+            return true;
+        });
+    }
+
+    private synchronized void release(Pool pool) {
+        pool.leases.decrementAndGet();
+        if (retired.contains(pool)) {
+            closeRetired();
+        }
+    }
+
+    private void closeQuietly(Pool pool) {
+        try {
+            pool.dataSource.close();
+        } catch (RuntimeException e) {
+            log.warn("关闭连接池失败: {}", pool.dataSource.getPoolName(), e);
+        }
+    }
+
+    /**
+     * 连接池租约
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Pool pool;
+        private boolean released;
+
+        private Lease(Pool pool) {
+            this.pool = pool;
+        }
+
+        /**
+         * 租用的数据源，租约释放后不应再使用
+         *
+         * @return 数据源
+         */
+        public DataSource getDataSource() {
+            return pool.dataSource;
+        }
+
+        /**
+         * 从租用的连接池获取连接
+         *
+         * @return 连接
+         * @throws SQLException 获取连接失败
+         */
+        public Connection getConnection() throws SQLException {
+            return pool.dataSource.getConnection();
+        }
+
+        /**
+         * 释放租约
+         */
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(pool);
+            }
+        }
+    }
+
+    private static final class Pool {
+        private final HikariDataSource dataSource;
+        private final int maxSize;
+        private final AtomicInteger leases = new AtomicInteger();
+        private volatile long lastUsed;
+        private volatile boolean healthy = true;
+        private volatile String lastError;
+
+        private Pool(HikariDataSource dataSource, int maxSize) {
+            this.dataSource = dataSource;
+            this.maxSize = maxSize;
+        }
+
+        private boolean isUnused() {
+            if (leases.get() > 0) {
+                return false;
+            }
+            HikariPoolMXBean mxBean = dataSource.getHikariPoolMXBean();
+            return mxBean == null || mxBean.getActiveConnections() == 0;
+        }
+    }
+
+    private final class Registration {
+        private final String key;
+        private final Supplier<PoolSpec> specLoader;
+        private final DataSource facade = new ManagedDataSource(this);
+        private volatile Pool pool;
+
+        /**
+         * 正在进行的创建，在管理器锁内访问
+         */
+        private CompletableFuture<Void> creation;
+
+        /**
+         * 创建期间被退役，创建结果需丢弃
+         */
+        private boolean stale;
+
+        private Registration(String key, Supplier<PoolSpec> specLoader) {
+            this.key = key;
+            this.specLoader = specLoader;
+        }
+    }
+
+    /**
+     * 按键解析当前连接池的数据源门面
+     */
+    private final class ManagedDataSource implements DataSource {
+
+        private final Registration registration;
+
+        private ManagedDataSource(Registration registration) {
+            this.registration = registration;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Pool pool = resolve(registration, false);
+            try {
+                return pool.dataSource.getConnection();
+            } catch (SQLException e) {
+                // 取连接的同时连接池恰好退役关闭，重新解析一次
+                if (pool.dataSource.isClosed()) {
+                    return resolve(registration, false).dataSource.getConnection();
+                }
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return resolve(registration, false).dataSource.getConnection(username, password);
+        }
+
+        @Override
+        public PrintWriter getLogWriter() throws SQLException {
+            return resolve(registration, false).dataSource.getLogWriter();
+        }
+
+        @Override
+        public void setLogWriter(PrintWriter out) throws SQLException {
+            resolve(registration, false).dataSource.setLogWriter(out);
+        }
+
+        @Override
+        public void setLoginTimeout(int seconds) throws SQLException {
+            resolve(registration, false).dataSource.setLoginTimeout(seconds);
+        }
+
+        @Override
+        public int getLoginTimeout() throws SQLException {
+            return resolve(registration, false).dataSource.getLoginTimeout();
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            if (iface.isInstance(this)) {
+                return iface.cast(this);
+            }
+            return resolve(registration, false).dataSource.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || resolve(registration, false).dataSource.isWrapperFor(iface);
+        }
+
+        @Override
+        public String toString() {
+            return "ManagedDataSource[" + registration.key + "]";
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.mumu.woodlin.datasource.service;
 
+import java.util.List;
 import javax.sql.DataSource;
 
 import com.zaxxer.hikari.HikariDataSource;
@@ -16,9 +17,6 @@
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import jakarta.annotation.PreDestroy;
 
 /**
  * 基础设施数据源管理服务
@@ -35,15 +33,19 @@
 public class InfraDatasourceService {
 
     private final InfraDatasourceMapper datasourceMapper;
+    private final DatasourcePoolManager poolManager;
     private final DatabaseMetadataExtractorFactory extractorFactory = DatabaseMetadataExtractorFactory.getInstance();
-    
+
     /**
-     * 数据源注册表（缓存已创建的数据源）
+     * 连接池键前缀，已创建的数据源由 {@link DatasourcePoolManager} 统一管理
      */
-    private final Map<String, HikariDataSource> datasourceRegistry = new ConcurrentHashMap<>();
+    static final String POOL_KEY_PREFIX = "infra:";
 
     /**
      * 通过 datasourceCode 获取数据源
+     * <p>
+     * 返回的数据源可长期持有：连接池空闲淘汰或配置变更刷新后，下次取连接时按最新配置重建。
+     * </p>
      * 
      * @param datasourceCode 数据源编码
      * @return 数据源实例
@@ -52,11 +54,60 @@ public DataSource getDataSourceByCode(String datasourceCode) {
         Assert.hasText(datasourceCode, "数据源编码不能为空");
         
         // 从缓存获取
-        if (datasourceRegistry.containsKey(datasourceCode)) {
-            return datasourceRegistry.get(datasourceCode);
+        DataSource cached = poolManager.getIfPresent(POOL_KEY_PREFIX + datasourceCode);
+        if (cached != null) {
+            return cached;
         }
         
-        // 从数据库加载配置
+        // 首次使用时创建连接池，连接池启动时即按测试SQL验证连接
+        try {
+            return poolManager.getDataSource(POOL_KEY_PREFIX + datasourceCode, () -> poolSpec(loadConfig(datasourceCode)));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("数据源连接验证失败", e);
+            throw new BusinessException("数据源连接验证失败: " + safeMessage(e), e);
+        }
+    }
+
+    /**
+     * 获取已缓存的数据源
+     * 
+     * @param datasourceCode 数据源编码
+     * @return 数据源实例，不存在则返回null
+     */
+    public DataSource getCachedDataSource(String datasourceCode) {
+        return poolManager.getIfPresent(POOL_KEY_PREFIX + datasourceCode);
+    }
+
+    /**
+     * 刷新数据源连接池
+     * <p>
+     * 数据源配置修改或删除后调用，正在使用的连接池在连接归还后关闭，下次使用时按最新配置重建
+     * </p>
+     *
+     * @param datasourceCode 数据源编码
+     */
+    public void refreshDataSource(String datasourceCode) {
+        poolManager.evict(POOL_KEY_PREFIX + datasourceCode);
+    }
+
+    /**
+     * 获取动态连接池状态
+     *
+     * @return 全部动态连接池（含元数据提取与SQL转API）的状态
+     */
+    public List<DatasourcePoolManager.PoolStatus> listPoolStatus() {
+        return poolManager.status();
+    }
+
+    /**
+     * 加载数据源配置
+     *
+     * @param datasourceCode 数据源编码
+     * @return 数据源配置
+     */
+    private InfraDatasourceConfig loadConfig(String datasourceCode) {
         InfraDatasourceConfig config = datasourceMapper.selectOne(
                 new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<InfraDatasourceConfig>()
                         .eq("datasource_code", datasourceCode)
@@ -69,43 +120,32 @@ public DataSource getDataSourceByCode(String datasourceCode) {
         if (config.getStatus() != null && config.getStatus() == 0) {
             throw new BusinessException("数据源已禁用: " + datasourceCode);
         }
-        
-        // 创建数据源
-        String driverClassName = resolveDriver(config.getDriverClass(), config.getJdbcUrl());
-        HikariDataSource dataSource = DataSourceBuilder.create()
-                .type(HikariDataSource.class)
-                .driverClassName(driverClassName)
-                .url(config.getJdbcUrl())
-                .username(config.getUsername())
-                .password(config.getPassword())
-                .build();
-        
-        // 验证连接
-        validateConnectivity(dataSource, config.getTestSql(), config.getDatasourceType());
-        
-        // 缓存数据源
-        datasourceRegistry.put(datasourceCode, dataSource);
-        
-        return dataSource;
+        return config;
     }
 
     /**
-     * 获取已缓存的数据源
-     * 
-     * @param datasourceCode 数据源编码
-     * @return 数据源实例，不存在则返回null
+     * 构建连接池创建参数，连接数使用连接池管理器的单数据源上限
+     *
+     * @param config 数据源配置
+     * @return 连接池创建参数
      */
-    public DataSource getCachedDataSource(String datasourceCode) {
-        return datasourceRegistry.get(datasourceCode);
+    private DatasourcePoolManager.PoolSpec poolSpec(InfraDatasourceConfig config) {
+        return DatasourcePoolManager.PoolSpec.builder()
+                .driverClassName(resolveDriver(config.getDriverClass(), config.getJdbcUrl()))
+                .jdbcUrl(config.getJdbcUrl())
+                .username(config.getUsername())
+                .password(config.getPassword())
+                .connectionTestQuery(StrUtil.emptyToDefault(config.getTestSql(), defaultTestQuery(config.getDatasourceType())))
+                .build();
     }
 
     /**
-     * 构建临时数据源（用于测试连接）
+     * 构建临时数据源（用于测试连接），不受连接池管理器管理，用完需由调用方关闭
      * 
      * @param request 数据源配置请求
      * @return 临时数据源实例
      */
-    public DataSource buildTemporaryDataSource(DatasourceRequest request) {
+    public HikariDataSource buildTemporaryDataSource(DatasourceRequest request) {
         String driverClassName = resolveDriver(request.getDriverClass(), request.getJdbcUrl());
         return DataSourceBuilder.create()
                 .type(HikariDataSource.class)
@@ -133,11 +173,7 @@ public void validateConnectivity(DataSource dataSource, String testSql, String d
             log.info("数据源连接验证成功");
         } catch (Exception e) {
             log.error("数据源连接验证失败", e);
-            // 使用通用错误消息，避免泄露敏感信息
-            String safeMessage = e.getMessage() != null && e.getMessage().length() < 200 
-                ? sanitizeErrorMessage(e.getMessage()) 
-                : "连接失败，请检查数据源配置";
-            throw new BusinessException("数据源连接验证失败: " + safeMessage, e);
+            throw new BusinessException("数据源连接验证失败: " + safeMessage(e), e);
         }
     }
 
@@ -198,13 +234,15 @@ private String resolveDriver(String driverClassName, String jdbcUrl) {
     }
 
     /**
-     * 关闭所有数据源连接
+     * 使用通用错误消息，避免泄露敏感信息
+     *
+     * @param e 异常
+     * @return 错误消息
      */
-    @PreDestroy
-    public void closeAll() {
-        log.info("关闭所有数据源连接，共 {} 个", datasourceRegistry.size());
-        datasourceRegistry.values().forEach(HikariDataSource::close);
-        datasourceRegistry.clear();
+    private String safeMessage(Exception e) {
+        return e.getMessage() != null && e.getMessage().length() < 200
+                ? sanitizeErrorMessage(e.getMessage())
+                : "连接失败，请检查数据源配置";
     }
 
     /**
@@ -0,0 +1,352 @@
+package com.mumu.woodlin.datasource.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 元数据并行提取协调器
+ * <p>
+ * 为大库生成文档或批量校验表结构时，按Schema与表批次把提取拆成多个任务，在全部数据源共用的有界线程池中并行执行。
+ * 每个数据源同时执行的任务数（即同时占用的系统目录连接数）受信号量限制：调用线程在提交任务前申请名额，
+ * 任务结束时释放，工作线程不会因等待名额阻塞，单个数据源也不会占满元数据连接池。
+ * </p>
+ * <p>
+ * 结果按任务顺序合并，与任务完成的先后无关；每完成一个任务在调用线程中回调一次进度。
+ * 任一任务失败时不再提交剩余任务，已在执行的任务跳过结果并自行释放名额。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public class SchemaExtractionCoordinator implements AutoCloseable {
+
+    /**
+     * 单个提取任务
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+
+        /**
+         * 执行提取
+         *
+         * @return 结果
+         * @throws Exception 提取失败
+         */
+        T load() throws Exception;
+    }
+
+    /**
+     * 按批提取
+     *
+     * @param <E> 提取对象类型，通常为表名
+     * @param <R> 结果类型
+     */
+    @FunctionalInterface
+    public interface BatchLoader<E, R> {
+
+        /**
+         * 提取一个批次
+         *
+         * @param schemaName Schema名称
+         * @param batch 同一Schema下的一批提取对象
+         * @return 批次结果
+         * @throws Exception 提取失败
+         */
+        List<R> load(String schemaName, List<E> batch) throws Exception;
+    }
+
+    /**
+     * 提取进度回调，在发起提取的线程中执行
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * 进度更新
+         *
+         * @param progress 进度
+         */
+        void onProgress(Progress progress);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int maxConcurrentPerDatasource;
+    private final int tableBatchSize;
+    private final long acquireTimeoutNanos;
+
+    /**
+     * 数据源编码到并发名额的映射
+     */
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * 创建协调器
+     *
+     * @param config 并行提取配置
+     */
+    public SchemaExtractionCoordinator(DatasourceProperties.Extraction config) {
+        int threads = Math.max(positive(config.getThreads()), 1);
+        this.maxConcurrentPerDatasource = Math.max(positive(config.getMaxConcurrentPerDatasource()), 1);
+        this.tableBatchSize = Math.max(positive(config.getTableBatchSize()), 1);
+        this.acquireTimeoutNanos = TimeUnit.SECONDS.toNanos(Math.max(
+                config.getAcquireTimeoutSeconds() == null ? 0L : config.getAcquireTimeoutSeconds(), 1L));
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(positive(config.getQueueCapacity()), 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "schema-extraction-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 按Schema与表批次并行提取单个数据源的元数据
+     * <p>
+     * 每个Schema的提取对象按配置的批次大小切分，一个批次一个任务；
+     * 结果先按Schema在映射中的顺序、再按批次内顺序合并。
+     * </p>
+     *
+     * @param operation 操作描述，用于日志与进度
+     * @param datasourceCode 数据源编码，并发名额按该编码计算
+     * @param itemsBySchema Schema名称到提取对象的有序映射
+     * @param loader 批次提取
+     * @param listener 进度回调，可为null
+     * @param <E> 提取对象类型
+     * @param <R> 结果类型
+     * @return 合并后的结果
+     */
+    public <E, R> List<R> extractBatches(String operation, String datasourceCode, Map<String, List<E>> itemsBySchema,
+                                         BatchLoader<E, R> loader, ProgressListener listener) {
+        List<Task<List<R>>> tasks = new ArrayList<>();
+        itemsBySchema.forEach((schemaName, items) -> {
+            for (List<E> batch : partition(items)) {
+                tasks.add(new Task<>(datasourceCode, schemaName, batch.size(), () -> loader.load(schemaName, batch)));
+            }
+        });
+        List<R> merged = new ArrayList<>();
+        for (List<R> batchResult : run(operation, tasks, listener)) {
+            if (batchResult != null) {
+                merged.addAll(batchResult);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 并行执行提取任务
+     * <p>
+     * 任务可属于不同数据源，各自受所属数据源的并发名额限制。
+     * 失败时抛出首个失败任务的异常，非 {@link BusinessException} 包装为 {@link BusinessException}。
+     * </p>
+     *
+     * @param operation 操作描述，用于日志与进度
+     * @param tasks 提取任务
+     * @param listener 进度回调，可为null
+     * @param <T> 结果类型
+     * @return 与任务顺序一一对应的结果
+     */
+    public <T> List<T> run(String operation, List<Task<T>> tasks, ProgressListener listener) {
+        int total = tasks.size();
+        List<T> results = new ArrayList<>(Collections.nCopies(total, null));
+        if (total == 0) {
+            return results;
+        }
+        int totalItems = tasks.stream().mapToInt(Task::size).sum();
+        long startedAt = System.nanoTime();
+        AtomicBoolean aborted = new AtomicBoolean();
+        CompletionService<Done<T>> completion = new ExecutorCompletionService<>(executor);
+        int submitted = 0;
+        int running = 0;
+        int completed = 0;
+        int completedItems = 0;
+        try {
+            while (completed < total) {
+                // 名额允许时尽量多提交；没有任务在执行时才阻塞等待名额，避免与自身已占用的名额互相等待
+                while (submitted < total) {
+                    Task<T> task = tasks.get(submitted);
+                    Semaphore semaphore = permitsOf(task.datasourceCode());
+                    boolean acquired = running == 0
+                            ? semaphore.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)
+                            : semaphore.tryAcquire();
+                    if (!acquired) {
+                        if (running == 0) {
+                            throw new BusinessException("等待数据源 " + task.datasourceCode() + " 的元数据提取名额超时");
+                        }
+                        break;
+                    }
+                    int index = submitted++;
+                    running++;
+                    completion.submit(() -> {
+                        try {
+                            return new Done<>(index, aborted.get() ? null : task.loader().load());
+                        } finally {
+                            semaphore.release();
+                        }
+                    });
+                }
+
+                Done<T> done = completion.take().get();
+                running--;
+                completed++;
+                Task<T> task = tasks.get(done.index());
+                completedItems += task.size();
+                results.set(done.index(), done.value());
+                Progress progress = new Progress(operation, completed, total, completedItems, totalItems, task.name());
+                log.debug("元数据提取进度: {}", progress);
+                if (listener != null) {
+                    listener.onProgress(progress);
+                }
+            }
+        } catch (InterruptedException e) {
+            aborted.set(true);
+            Thread.currentThread().interrupt();
+            throw new BusinessException("元数据提取被中断: " + operation, e);
+        } catch (ExecutionException e) {
+            aborted.set(true);
+            Throwable cause = e.getCause();
+            if (cause instanceof BusinessException businessException) {
+                throw businessException;
+            }
+            log.error("元数据提取失败: {}", operation, cause);
+            throw new BusinessException("元数据提取失败: " + cause.getMessage(), cause);
+        } catch (RuntimeException e) {
+            aborted.set(true);
+            throw e;
+        }
+        log.info("元数据提取完成: {}，任务 {} 个，对象 {} 个，耗时 {} ms", operation, total, totalItems,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return results;
+    }
+
+    /**
+     * 按配置的批次大小切分
+     *
+     * @param items 提取对象
+     * @param <E> 提取对象类型
+     * @return 批次列表
+     */
+    public <E> List<List<E>> partition(List<E> items) {
+        List<List<E>> batches = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += tableBatchSize) {
+            batches.add(items.subList(from, Math.min(from + tableBatchSize, items.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * 每个提取任务包含的表数量
+     *
+     * @return 表数量
+     */
+    public int tableBatchSize() {
+        return tableBatchSize;
+    }
+
+    /**
+     * 单个数据源同时执行的任务数上限
+     *
+     * @return 上限
+     */
+    public int maxConcurrentPerDatasource() {
+        return maxConcurrentPerDatasource;
+    }
+
+    /**
+     * 正在执行的任务数
+     *
+     * @return 任务数
+     */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * 等待执行的任务数
+     *
+     * @return 任务数
+     */
+    public int queuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private Semaphore permitsOf(String datasourceCode) {
+        return permits.computeIfAbsent(datasourceCode == null ? "" : datasourceCode,
+                code -> new Semaphore(maxConcurrentPerDatasource));
+    }
+
+    private static int positive(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    /**
+     * 提取任务
+     *
+     * @param datasourceCode 数据源编码，并发名额按该编码计算
+     * @param name 任务名称，通常为Schema或表名
+     * @param size 任务包含的对象数，用于进度统计
+     * @param loader 提取逻辑
+     * @param <T> 结果类型
+     */
+    public record Task<T>(String datasourceCode, String name, int size, Loader<T> loader) {
+    }
+
+    /**
+     * 提取进度
+     *
+     * @param operation 操作描述
+     * @param completedTasks 已完成任务数
+     * @param totalTasks 任务总数
+     * @param completedItems 已完成对象数
+     * @param totalItems 对象总数
+     * @param lastTask 最近完成的任务名称
+     */
+    public record Progress(
+            String operation,
+            int completedTasks,
+            int totalTasks,
+            int completedItems,
+            int totalItems,
+            String lastTask
+    ) {
+
+        /**
+         * 按对象数计算的完成百分比
+         *
+         * @return 0-100
+         */
+        public int percent() {
+            return totalItems == 0 ? 100 : (int) (completedItems * 100L / totalItems);
+        }
+    }
+
+    private record Done<T>(int index, T value) {
+    }
+}
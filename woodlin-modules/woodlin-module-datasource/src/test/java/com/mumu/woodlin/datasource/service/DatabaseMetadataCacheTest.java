@@ -0,0 +1,193 @@
+package com.mumu.woodlin.datasource.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 数据库元数据结果缓存测试
+ * <p>
+ * 验证命中、复核间隔、结构变更标记失效、存活时间、条目上限淘汰与结果隔离。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class DatabaseMetadataCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicReference<String> marker = new AtomicReference<>("v1");
+    private final AtomicInteger markerReads = new AtomicInteger();
+
+    private DatabaseMetadataCache cache;
+
+    @BeforeEach
+    void setUp() {
+        DatasourceProperties.MetadataCache config = new DatasourceProperties.MetadataCache();
+        config.setTtlSeconds(60L);
+        config.setRevalidateSeconds(5L);
+        config.setMaxEntries(2);
+        cache = new DatabaseMetadataCache(config, clock::get);
+    }
+
+    @Test
+    void testHitWhenMarkerUnchanged() throws SQLException {
+        assertEquals(1, loadTables().size());
+        assertEquals(1, loadTables().size());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    void testReadMarkerOnlyAfterRevalidateInterval() throws SQLException {
+        loadTables();
+        assertEquals(1, markerReads.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        marker.set("v2");
+        loadTables();
+        assertEquals(1, markerReads.get());
+        assertEquals(1, loads.get());
+
+        marker.set("v1");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        loadTables();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(4));
+        loadTables();
+        assertEquals(2, markerReads.get());
+        assertEquals(1, loads.get());
+        assertEquals(3, cache.hitCount());
+    }
+
+    @Test
+    void testReloadWhenMarkerChanged() throws SQLException {
+        loadTables();
+        marker.set("v2");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        loadTables();
+        loadTables();
+
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.stats().markerInvalidations());
+    }
+
+    @Test
+    void testReloadAfterTtlWhenMarkerUnsupported() throws SQLException {
+        marker.set(null);
+        loadTables();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        loadTables();
+        assertEquals(1, loads.get());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        loadTables();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMarkerFailureFallsBackToTtl() throws SQLException {
+        loadTables();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        cache.getOrLoad("ds", DatabaseMetadataCache.Kind.TABLES, "public", null,
+                () -> {
+                    throw new SQLException("permission denied");
+                },
+                this::tables, DatabaseMetadataCache::copyTables);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsedBeyondMaxEntries() throws SQLException {
+        loadColumns("a");
+        loadColumns("b");
+        loadColumns("a");
+        loadColumns("c");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.stats().evictions());
+        loadColumns("a");
+        assertEquals(3, loads.get());
+        loadColumns("b");
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testInvalidateDatasource() throws SQLException {
+        loadTables();
+        cache.invalidate("other");
+        loadTables();
+        assertEquals(1, loads.get());
+
+        cache.invalidate("ds");
+        loadTables();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testCallerCannotMutateCachedResult() throws SQLException {
+        List<TableMetadata> first = loadTables();
+        first.get(0).setComment("changed");
+        first.get(0).getColumns().clear();
+
+        List<TableMetadata> second = loadTables();
+        assertNull(second.get(0).getComment());
+        assertEquals(1, second.get(0).getColumns().size());
+    }
+
+    @Test
+    void testDisabledAlwaysLoads() throws SQLException {
+        DatasourceProperties.MetadataCache config = new DatasourceProperties.MetadataCache();
+        config.setEnabled(false);
+        cache = new DatabaseMetadataCache(config);
+
+        loadTables();
+        loadTables();
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    private List<TableMetadata> loadTables() throws SQLException {
+        return cache.getOrLoad("ds", DatabaseMetadataCache.Kind.TABLES, "public", null,
+                this::readMarker, this::tables, DatabaseMetadataCache::copyTables);
+    }
+
+    private String readMarker() {
+        markerReads.incrementAndGet();
+        return marker.get();
+    }
+
+    private void loadColumns(String tableName) throws SQLException {
+        cache.getOrLoad("ds", DatabaseMetadataCache.Kind.COLUMNS, "public", tableName,
+                marker::get, () -> {
+                    loads.incrementAndGet();
+                    return List.of(ColumnMetadata.builder().tableName(tableName).columnName("id").build());
+                }, DatabaseMetadataCache::copyColumns);
+    }
+
+    private List<TableMetadata> tables() {
+        loads.incrementAndGet();
+        List<ColumnMetadata> columns = new ArrayList<>();
+        columns.add(ColumnMetadata.builder().tableName("orders").columnName("id").build());
+        List<TableMetadata> tables = new ArrayList<>();
+        tables.add(TableMetadata.builder().tableName("orders").columns(columns).build());
+        return tables;
+    }
+}
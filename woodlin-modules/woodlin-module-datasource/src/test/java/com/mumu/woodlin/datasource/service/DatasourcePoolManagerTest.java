@@ -0,0 +1,293 @@
+package com.mumu.woodlin.datasource.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 动态数据源连接池管理器测试
+ * <p>
+ * 使用 H2 内存库验证连接池复用、租约、空闲淘汰、连接数预算与健康探测。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class DatasourcePoolManagerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger created = new AtomicInteger();
+
+    private DatasourcePoolManager manager;
+
+    @BeforeEach
+    void setUp() {
+        DatasourceProperties.Pool config = new DatasourceProperties.Pool();
+        config.setMaxPoolSizePerDatasource(3);
+        config.setGlobalMaxConnections(5);
+        config.setIdleTimeoutSeconds(60L);
+        manager = new DatasourcePoolManager(config, null, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.close();
+    }
+
+    @Test
+    void testReusePoolPerKeyAndCapPerDatasource() throws SQLException {
+        DataSource first = manager.getDataSource("infra:a", spec("a", 10));
+        DataSource second = manager.getDataSource("infra:a", spec("a", 10));
+
+        assertSame(first, second);
+        assertSame(first, manager.getIfPresent("infra:a"));
+        assertEquals(1, created.get());
+        assertEquals(3, manager.committedConnections());
+        try (Connection connection = first.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+
+    @Test
+    void testEvictIdlePoolAndRebuildOnNextUse() throws SQLException {
+        DataSource dataSource = manager.getDataSource("infra:a", spec("a", 2));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        assertEquals(1, manager.evictIdle());
+        assertEquals(0, manager.poolCount());
+        assertEquals(0, manager.committedConnections());
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        assertEquals(2, created.get());
+        assertEquals(1, manager.poolCount());
+    }
+
+    @Test
+    void testLeasedPoolIsNotEvicted() throws SQLException {
+        try (DatasourcePoolManager.Lease lease = manager.acquire("metadata:a", spec("a", 1))) {
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(61));
+            assertEquals(0, manager.evictIdle());
+            assertEquals(1, manager.leaseCount());
+            try (Connection connection = lease.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+        }
+        assertEquals(0, manager.leaseCount());
+        assertEquals(1, manager.evictIdle());
+    }
+
+    @Test
+    void testRetiredPoolClosesAfterLeaseReleased() throws SQLException {
+        DatasourcePoolManager.Lease lease = manager.acquire("metadata:a", spec("a", 2));
+        manager.evict("metadata:a");
+
+        assertEquals(0, manager.poolCount());
+        assertEquals(2, manager.committedConnections());
+        try (Connection connection = lease.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+
+        lease.close();
+        assertEquals(0, manager.committedConnections());
+    }
+
+    @Test
+    void testGlobalBudgetEvictsIdlePoolsThenRejects() {
+        manager.getDataSource("infra:a", spec("a", 3));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        try (DatasourcePoolManager.Lease leaseB = manager.acquire("infra:b", spec("b", 2))) {
+            // 预算已满，空闲的 a 被淘汰为 c 腾出连接数
+            manager.getDataSource("infra:c", spec("c", 3));
+            assertEquals(5, manager.committedConnections());
+            assertTrue(manager.status().stream().noneMatch(status -> status.key().equals("infra:a")));
+
+            // b、c 都在租用中，没有可淘汰的连接池
+            try (DatasourcePoolManager.Lease leaseC = manager.acquire("infra:c", spec("c", 3))) {
+                assertThrows(BusinessException.class, () -> manager.getDataSource("infra:d", spec("d", 1)));
+                assertNull(manager.getIfPresent("infra:d"));
+            }
+        }
+    }
+
+    @Test
+    void testProbeKeepsHealthyPools() {
+        manager.getDataSource("infra:a", spec("a", 1));
+
+        manager.probe();
+
+        assertEquals(0, manager.unhealthyCount());
+        assertEquals(1, manager.poolCount());
+        assertTrue(manager.status().get(0).healthy());
+    }
+
+    @Test
+    void testFailedCreationIsNotRegistered() {
+        Supplier<DatasourcePoolManager.PoolSpec> broken = () -> DatasourcePoolManager.PoolSpec.builder()
+                .jdbcUrl("jdbc:h2:tcp://127.0.0.1:1/pool_missing")
+                .username("sa")
+                .maximumPoolSize(1)
+                .build();
+
+        assertThrows(RuntimeException.class, () -> manager.getDataSource("infra:missing", broken));
+        assertNull(manager.getIfPresent("infra:missing"));
+        assertEquals(0, manager.committedConnections());
+    }
+
+    @Test
+    void testSlowPoolCreationDoesNotBlockOtherDatasources() throws Exception {
+        BlockingDriver.reset();
+        Supplier<DatasourcePoolManager.PoolSpec> slow = () -> DatasourcePoolManager.PoolSpec.builder()
+                .driverClassName(BlockingDriver.class.getName())
+                .jdbcUrl("jdbc:blocking:pool_slow_" + System.identityHashCode(this))
+                .username("sa")
+                .maximumPoolSize(2)
+                .minimumIdle(0)
+                .build();
+        CompletableFuture<DataSource> slowCreation = CompletableFuture.supplyAsync(
+                () -> manager.getDataSource("infra:slow", slow));
+        assertTrue(BlockingDriver.connecting.await(5, TimeUnit.SECONDS));
+
+        // 不可达数据源建立初始连接期间，其他数据源的创建、租约与淘汰照常进行，预算已为其预留
+        assertEquals(2, manager.committedConnections());
+        try (DatasourcePoolManager.Lease lease = manager.acquire("infra:a", spec("a", 3))) {
+            try (Connection connection = lease.getConnection()) {
+                assertTrue(connection.isValid(1));
+            }
+        }
+        manager.evict("infra:a");
+        assertEquals(2, manager.committedConnections());
+        assertFalse(slowCreation.isDone());
+
+        BlockingDriver.release.countDown();
+        DataSource slowDataSource = slowCreation.get(10, TimeUnit.SECONDS);
+        assertSame(slowDataSource, manager.getIfPresent("infra:slow"));
+        assertEquals(2, manager.committedConnections());
+        try (Connection connection = slowDataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+
+    @Test
+    void testErrorDuringPoolCreationDoesNotBlockLaterCallers() throws SQLException {
+        AtomicBoolean driverMissing = new AtomicBoolean();
+        Supplier<DatasourcePoolManager.PoolSpec> healthy = spec("a", 2);
+        Supplier<DatasourcePoolManager.PoolSpec> loader = () -> {
+            if (driverMissing.get()) {
+                throw new NoClassDefFoundError("com/example/MissingDriver");
+            }
+            return healthy.get();
+        };
+        DataSource dataSource = manager.getDataSource("infra:a", loader);
+        manager.evict("infra:a");
+
+        driverMissing.set(true);
+        assertThrows(NoClassDefFoundError.class, dataSource::getConnection);
+        assertEquals(0, manager.committedConnections());
+
+        // 创建标记已清除，后续调用重新创建而不是永久等待失败的那次创建
+        driverMissing.set(false);
+        Connection connection = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> dataSource.getConnection());
+        try (connection) {
+            assertTrue(connection.isValid(1));
+        }
+        assertEquals(2, manager.committedConnections());
+    }
+
+    private Supplier<DatasourcePoolManager.PoolSpec> spec(String database, int maximumPoolSize) {
+        return () -> {
+            created.incrementAndGet();
+            return DatasourcePoolManager.PoolSpec.builder()
+                    .jdbcUrl("jdbc:h2:mem:pool_" + database + "_" + System.identityHashCode(this) + ";DB_CLOSE_DELAY=-1")
+                    .username("sa")
+                    .maximumPoolSize(maximumPoolSize)
+                    .minimumIdle(0)
+                    .build();
+        };
+    }
+
+    /**
+     * 建立连接前阻塞的驱动，模拟不可达的数据源；放行后委托 H2 内存库
+     */
+    public static class BlockingDriver implements Driver {
+
+        private static volatile CountDownLatch connecting;
+        private static volatile CountDownLatch release;
+
+        static void reset() {
+            connecting = new CountDownLatch(1);
+            release = new CountDownLatch(1);
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            connecting.countDown();
+            try {
+                if (!release.await(10, TimeUnit.SECONDS)) {
+                    throw new SQLException("连接超时");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            return new org.h2.Driver().connect("jdbc:h2:mem:" + url.substring("jdbc:blocking:".length())
+                    + ";DB_CLOSE_DELAY=-1", info);
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith("jdbc:blocking:");
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+            throw new SQLFeatureNotSupportedException();
+        }
+    }
+}
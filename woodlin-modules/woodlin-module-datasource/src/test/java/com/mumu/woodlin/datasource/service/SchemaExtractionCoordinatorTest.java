@@ -0,0 +1,138 @@
+package com.mumu.woodlin.datasource.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+
+/**
+ * 元数据并行提取协调器测试
+ * <p>
+ * 验证按Schema与批次切分、结果顺序合并、单数据源并发上限、失败中止与进度回调。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class SchemaExtractionCoordinatorTest {
+
+    private SchemaExtractionCoordinator coordinator;
+
+    @BeforeEach
+    void setUp() {
+        DatasourceProperties.Extraction config = new DatasourceProperties.Extraction();
+        config.setThreads(6);
+        config.setMaxConcurrentPerDatasource(2);
+        config.setTableBatchSize(2);
+        coordinator = new SchemaExtractionCoordinator(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coordinator.close();
+    }
+
+    @Test
+    void testExtractBatchesSplitsBySchemaAndMergesInOrder() {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        tables.put("sales", List.of("orders", "items", "refunds"));
+        tables.put("crm", List.of("customers"));
+        List<String> batches = new CopyOnWriteArrayList<>();
+
+        List<String> result = coordinator.extractBatches("文档导出", "ds", tables, (schema, batch) -> {
+            batches.add(schema + ":" + batch);
+            // 先提交的批次更晚完成，结果仍按提交顺序合并
+            Thread.sleep(schema.equals("sales") && batch.size() == 2 ? 50 : 0);
+            return batch.stream().map(table -> schema + "." + table).toList();
+        }, null);
+
+        assertEquals(List.of("sales.orders", "sales.items", "sales.refunds", "crm.customers"), result);
+        assertEquals(3, batches.size());
+        assertTrue(batches.contains("sales:[orders, items]"));
+        assertTrue(batches.contains("sales:[refunds]"));
+    }
+
+    @Test
+    void testConcurrencyCappedPerDatasource() {
+        Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        AtomicInteger totalRunning = new AtomicInteger();
+        AtomicInteger totalPeak = new AtomicInteger();
+        List<SchemaExtractionCoordinator.Task<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            String code = i % 2 == 0 ? "a" : "b";
+            int value = i;
+            tasks.add(new SchemaExtractionCoordinator.Task<>(code, "t" + i, 1, () -> {
+                int current = running.computeIfAbsent(code, key -> new AtomicInteger()).incrementAndGet();
+                peak.computeIfAbsent(code, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+                totalPeak.accumulateAndGet(totalRunning.incrementAndGet(), Math::max);
+                Thread.sleep(20);
+                totalRunning.decrementAndGet();
+                running.get(code).decrementAndGet();
+                return value;
+            }));
+        }
+
+        List<Integer> result = coordinator.run("校验", tasks, null);
+
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11), result);
+        assertTrue(peak.get("a").get() <= 2);
+        assertTrue(peak.get("b").get() <= 2);
+        assertTrue(totalPeak.get() > 2, "不同数据源的任务应并行执行");
+    }
+
+    @Test
+    void testFailureStopsRemainingTasks() {
+        AtomicInteger started = new AtomicInteger();
+        List<SchemaExtractionCoordinator.Task<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int value = i;
+            tasks.add(new SchemaExtractionCoordinator.Task<>("ds", "t" + i, 1, () -> {
+                started.incrementAndGet();
+                if (value == 1) {
+                    throw new SQLException("permission denied");
+                }
+                Thread.sleep(10);
+                return value;
+            }));
+        }
+
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> coordinator.run("校验", tasks, null));
+        assertTrue(exception.getMessage().contains("permission denied"));
+        assertTrue(started.get() < tasks.size());
+    }
+
+    @Test
+    void testProgressReportedPerTask() {
+        Map<String, List<String>> tables = Map.of("public", List.of("a", "b", "c", "d", "e"));
+        List<SchemaExtractionCoordinator.Progress> progresses = new ArrayList<>();
+
+        coordinator.extractBatches("文档导出", "ds", tables, (schema, batch) -> batch, progresses::add);
+
+        assertEquals(3, progresses.size());
+        assertEquals(List.of(1, 2, 3), progresses.stream().map(SchemaExtractionCoordinator.Progress::completedTasks).toList());
+        SchemaExtractionCoordinator.Progress last = progresses.get(2);
+        assertEquals(5, last.completedItems());
+        assertEquals(5, last.totalItems());
+        assertEquals(100, last.percent());
+    }
+
+    @Test
+    void testEmptyTasks() {
+        assertTrue(coordinator.run("校验", List.<SchemaExtractionCoordinator.Task<Integer>>of(), null).isEmpty());
+    }
+}
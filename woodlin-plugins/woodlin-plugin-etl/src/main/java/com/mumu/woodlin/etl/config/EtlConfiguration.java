@@ -1,17 +1,90 @@
 package com.mumu.woodlin.etl.config;
 
+import java.util.concurrent.TimeUnit;
+
+import com.mumu.woodlin.etl.engine.EtlBucketWorkerPool;
+import com.mumu.woodlin.etl.engine.EtlRunScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
 
 /**
  * ETL模块配置
- * 
+ *
  * @author mumu
  * @description ETL模块的Spring配置类
  * @since 2025-01-01
  */
 @Configuration
-@EnableAsync
+@EnableConfigurationProperties(EtlProperties.class)
 public class EtlConfiguration {
-    // 配置可以在这里添加
+
+    /**
+     * 桶位比对写入专用线程池。
+     *
+     * @param etlProperties ETL 配置
+     * @return 桶位工作线程池
+     */
+    @Bean(destroyMethod = "shutdown")
+    public EtlBucketWorkerPool etlBucketWorkerPool(EtlProperties etlProperties) {
+        EtlProperties.Worker worker = etlProperties.getWorker();
+        return new EtlBucketWorkerPool(
+                worker.getCorePoolSize(),
+                worker.getMaxPoolSize(),
+                worker.getQueueCapacity(),
+                worker.getKeepAliveSeconds(),
+                worker.getMaxParallelismPerJob()
+        );
+    }
+
+    /**
+     * ETL 运行调度器。
+     *
+     * @param etlProperties ETL 配置
+     * @return 运行调度器
+     */
+    @Bean(destroyMethod = "shutdown")
+    public EtlRunScheduler etlRunScheduler(EtlProperties etlProperties) {
+        EtlProperties.Scheduler scheduler = etlProperties.getScheduler();
+        return new EtlRunScheduler(
+                scheduler.getMaxConcurrentRuns(),
+                scheduler.getQueueCapacity(),
+                scheduler.getMaxRunsPerSourceDatasource(),
+                scheduler.getMaxRunsPerTargetDatasource()
+        );
+    }
+
+    /**
+     * 调度器指标：排队数、运行数、最久等待时长、拒绝次数与排队耗时分布，接入 Actuator 时自动注册。
+     *
+     * @param etlRunScheduler 运行调度器
+     * @return 指标绑定
+     */
+    @Bean
+    public MeterBinder etlRunSchedulerMetrics(EtlRunScheduler etlRunScheduler) {
+        return registry -> {
+            Gauge.builder("etl.scheduler.queue.depth", etlRunScheduler, EtlRunScheduler::queueDepth)
+                    .description("排队中的ETL任务数")
+                    .register(registry);
+            Gauge.builder("etl.scheduler.running", etlRunScheduler, EtlRunScheduler::runningCount)
+                    .description("运行中的ETL任务数")
+                    .register(registry);
+            Gauge.builder("etl.scheduler.queue.oldest.wait", etlRunScheduler,
+                            scheduler -> scheduler.oldestWaitMillis() / 1000.0)
+                    .description("队列中等待最久的任务已等待时长")
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("etl.scheduler.rejected", etlRunScheduler, EtlRunScheduler::rejectedCount)
+                    .description("因队列已满被拒绝的触发次数")
+                    .register(registry);
+            Timer waitTimer = Timer.builder("etl.scheduler.queue.wait")
+                    .description("ETL任务从触发到开始运行的排队耗时")
+                    .register(registry);
+            etlRunScheduler.setWaitObserver(wait -> waitTimer.record(wait.toNanos(), TimeUnit.NANOSECONDS));
+        };
+    }
 }
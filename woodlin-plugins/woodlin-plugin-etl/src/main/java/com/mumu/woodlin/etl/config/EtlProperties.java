@@ -0,0 +1,347 @@
+package com.mumu.woodlin.etl.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * ETL 模块配置属性。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@ConfigurationProperties(prefix = "woodlin.etl")
+public class EtlProperties {
+
+    /**
+     * 运行调度配置。
+     */
+    private Scheduler scheduler = new Scheduler();
+
+    /**
+     * 多表运行计划配置。
+     */
+    private Plan plan = new Plan();
+
+    /**
+     * 表结构元数据缓存配置。
+     */
+    private Metadata metadata = new Metadata();
+
+    /**
+     * 抽取流水线配置。
+     */
+    private Pipeline pipeline = new Pipeline();
+
+    /**
+     * 桶位并行比对写入配置。
+     */
+    private Worker worker = new Worker();
+
+    /**
+     * 桶位校验配置。
+     */
+    private Checksum checksum = new Checksum();
+
+    /**
+     * 差异行写入配置。
+     */
+    private Write write = new Write();
+
+    /**
+     * 清空重载时目标表索引维护配置。
+     */
+    private TargetIndex targetIndex = new TargetIndex();
+
+    /**
+     * 增量抽取配置。
+     */
+    private Incremental incremental = new Incremental();
+
+    /**
+     * 全量同步删除检测配置。
+     */
+    private Delete delete = new Delete();
+
+    /**
+     * 仅比对运行配置。
+     */
+    private Compare compare = new Compare();
+
+    @Data
+    public static class Scheduler {
+
+        /**
+         * 同时运行的任务数上限。
+         */
+        private Integer maxConcurrentRuns = 4;
+
+        /**
+         * 排队任务数上限，达到后拒绝新的触发。
+         */
+        private Integer queueCapacity = 100;
+
+        /**
+         * 同一源数据源同时运行的任务数上限。
+         */
+        private Integer maxRunsPerSourceDatasource = 2;
+
+        /**
+         * 同一目标数据源同时运行的任务数上限。
+         */
+        private Integer maxRunsPerTargetDatasource = 2;
+    }
+
+    @Data
+    public static class Plan {
+
+        /**
+         * 单个运行计划同时运行的表任务数上限，请求可指定更小的值。
+         */
+        private Integer maxParallelTables = 4;
+
+        /**
+         * 单个运行计划可占用的源库与目标库连接总数；每个表任务按 2 + 区间抽取并行度 + 单任务桶并行度估算。
+         */
+        private Integer connectionBudget = 32;
+
+        /**
+         * 单个运行计划的流水线内存预算（字节）；每个表任务按流水线在途数据预算估算。
+         */
+        private Long memoryBudgetBytes = 256L * 1024 * 1024;
+
+        /**
+         * 内存中保留的已结束运行报告数量。
+         */
+        private Integer retainedReports = 100;
+    }
+
+    @Data
+    public static class Metadata {
+
+        /**
+         * 是否缓存读取到的表结构，仅在系统目录中的结构变更标记变化时重新读取字段与主键。
+         */
+        private Boolean cacheEnabled = Boolean.TRUE;
+
+        /**
+         * 缓存的表结构数量上限，超过后淘汰最久未使用的表。
+         */
+        private Integer cacheMaxEntries = 1024;
+    }
+
+    @Data
+    public static class Pipeline {
+
+        /**
+         * 单个数据块最大行数，未配置任务批大小时使用。
+         */
+        private Integer chunkRows = 1000;
+
+        /**
+         * 每个阶段队列最多缓存的数据块数量。
+         */
+        private Integer queueCapacity = 4;
+
+        /**
+         * 流水线在途数据的内存预算（字节），超过后读取端阻塞等待。
+         */
+        private Long maxBufferedBytes = 64L * 1024 * 1024;
+
+        /**
+         * 单个任务按切分键区间并行抽取的最大线程数，同时也是额外占用的源库连接上限；1 表示不切分。
+         */
+        private Integer extractParallelism = 4;
+
+        /**
+         * 单个区间最少行数，源表行数不足两个区间时不切分。
+         */
+        private Long minRowsPerRange = 100_000L;
+
+        /**
+         * 是否按区间记录分块续跑台账，中断后的下一次执行从已提交位置继续；无主键表不记录。
+         */
+        private Boolean resumable = Boolean.TRUE;
+    }
+
+    @Data
+    public static class Worker {
+
+        /**
+         * 桶位工作线程池核心线程数。
+         */
+        private Integer corePoolSize = 4;
+
+        /**
+         * 桶位工作线程池最大线程数。
+         */
+        private Integer maxPoolSize = 16;
+
+        /**
+         * 桶位工作线程池队列容量，队列满时由提交线程执行。
+         */
+        private Integer queueCapacity = 256;
+
+        /**
+         * 空闲线程存活时间（秒）。
+         */
+        private Integer keepAliveSeconds = 60;
+
+        /**
+         * 单个任务最多同时处理的桶数，同时也是单任务占用的目标库连接上限。
+         */
+        private Integer maxParallelismPerJob = 4;
+    }
+
+    @Data
+    public static class Checksum {
+
+        /**
+         * 行哈希算法：XXH64_V2 或 MURMUR3_V2，写入桶位校验记录的 checksum_algorithm。
+         */
+        private String algorithm = "XXH64_V2";
+
+        /**
+         * 同类数据库、字段一一复制的全量同步先在库内按桶计算摘要，只抽取摘要不一致的桶。
+         */
+        private Boolean pushdown = Boolean.TRUE;
+
+        /**
+         * 校验下推时保存各桶摘要的 Merkle 树，下次只对源端子树哈希变化的桶计算目标端摘要。
+         */
+        private Boolean merkleTree = Boolean.TRUE;
+
+        /**
+         * Merkle 树扇出，即每个父节点的子节点数。
+         */
+        private Integer merkleFanout = 8;
+    }
+
+    @Data
+    public static class Write {
+
+        /**
+         * 有主键表的写入策略：AUTO、UPSERT 或 STAGING_MERGE，任务可在 transformRules 中以 writeStrategy 覆盖。
+         */
+        private String strategy = "AUTO";
+
+        /**
+         * AUTO 时预计写入行数达到该值改用暂存表合并；预计行数取校验下推的差异桶行数，否则取上次执行的抽取行数。
+         */
+        private Long stagingMinRows = 50_000L;
+
+        /**
+         * 是否按语句耗时、吞吐与锁冲突自适应调整批大小、提交间隔与 IN 列表长度，调整结果保存到同步检查点供下次执行预热；
+         * 关闭时固定为每批 500 行、自动提交、IN 列表 900 项。
+         */
+        private Boolean adaptive = Boolean.TRUE;
+
+        /**
+         * 单条语句的目标耗时（毫秒），超过时缩小批量。
+         */
+        private Long targetStatementMillis = 200L;
+
+        /**
+         * upsert 批大小下限。
+         */
+        private Integer minBatchSize = 50;
+
+        /**
+         * upsert 批大小上限。
+         */
+        private Integer maxBatchSize = 5_000;
+
+        /**
+         * 每个事务提交行数下限。
+         */
+        private Integer minCommitRows = 500;
+
+        /**
+         * 每个事务提交行数上限。
+         */
+        private Integer maxCommitRows = 50_000;
+
+        /**
+         * 按主键回查的 IN 列表长度下限。
+         */
+        private Integer minInListSize = 100;
+
+        /**
+         * 按主键回查的 IN 列表长度上限，Oracle 不能超过 1000。
+         */
+        private Integer maxInListSize = 900;
+    }
+
+    @Data
+    public static class TargetIndex {
+
+        /**
+         * 清空重载时目标表二级索引的处理方式：KEEP 保持不变，REBUILD 装载前删除或停用非唯一二级索引与外键、
+         * 装载后重建；任务可在 transformRules 中以 targetIndexMode 覆盖。
+         */
+        private String mode = "KEEP";
+
+        /**
+         * 并行重建索引的线程数，同时也是额外占用的目标库连接上限。
+         */
+        private Integer rebuildParallelism = 4;
+    }
+
+    @Data
+    public static class Incremental {
+
+        /**
+         * 增量同步是否按 (增量字段, 主键) 组合水位分页读取，每页写入完成后推进检查点；无主键表不分页。
+         */
+        private Boolean keysetPaging = Boolean.TRUE;
+
+        /**
+         * 每页最大行数，任务可在 transformRules 中以 incrementalPageRows 覆盖。
+         */
+        private Integer pageRows = 10_000;
+
+        /**
+         * 回看窗口（秒），日期时间类增量字段从水位向前回退该时长重读迟到的行；
+         * 任务可在 transformRules 中以 incrementalLookbackSeconds 覆盖。
+         */
+        private Long lookbackSeconds = 0L;
+    }
+
+    @Data
+    public static class Delete {
+
+        /**
+         * 源端已删除行的处理方式：NONE、HARD 或 SOFT，任务可在 transformRules 中以 deleteMode 覆盖。
+         */
+        private String mode = "NONE";
+
+        /**
+         * 软删除字段，任务可在 transformRules 中以 softDeleteColumn 覆盖。
+         */
+        private String softDeleteColumn = "deleted";
+
+        /**
+         * 软删除标记值，任务可在 transformRules 中以 softDeleteValue 覆盖。
+         */
+        private String softDeleteValue = "1";
+
+        /**
+         * 每批删除的主键数量上限。
+         */
+        private Integer batchSize = 500;
+    }
+
+    @Data
+    public static class Compare {
+
+        /**
+         * 差异报告中每个桶每类差异（缺失、多出、内容不同）最多记录的主键数，计数不受限制。
+         */
+        private Integer maxKeysPerBucket = 20;
+
+        /**
+         * 每个内容不同的行最多记录的列差异数。
+         */
+        private Integer maxColumnDeltas = 5;
+    }
+}
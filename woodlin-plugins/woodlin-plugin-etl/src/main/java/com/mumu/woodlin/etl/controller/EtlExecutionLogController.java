@@ -1,5 +1,12 @@
 package com.mumu.woodlin.etl.controller;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.http.HttpServletResponse;
+
 import com.mumu.woodlin.common.exception.BusinessException;
 import com.mumu.woodlin.common.response.Result;
 import com.mumu.woodlin.etl.constant.EtlPermissionConstants;
@@ -9,6 +16,7 @@
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import com.mumu.woodlin.etl.service.IEtlDataValidationLogService;
 import com.mumu.woodlin.etl.service.IEtlExecutionLogService;
 import com.mumu.woodlin.security.util.SecurityUtil;
 
@@ -26,6 +34,8 @@
 public class EtlExecutionLogController {
     
     private final IEtlExecutionLogService executionLogService;
+
+    private final IEtlDataValidationLogService validationLogService;
     
     @Operation(summary = "查询所有执行历史")
     @GetMapping
@@ -41,6 +51,16 @@ public Result<?> getById(@PathVariable Long logId) {
         return Result.success(executionLogService.getById(logId));
     }
 
+    @Operation(summary = "下载仅比对差异报告", description = "按 CSV 逐行输出各桶抽样的缺失、多出与内容不同的主键及列差异")
+    @GetMapping("/{logId}/diff-report")
+    public void downloadDiffReport(@PathVariable Long logId, HttpServletResponse response) throws IOException {
+        requirePermission(EtlPermissionConstants.OFFLINE_LOG_DETAIL);
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=etl-diff-" + logId + ".csv");
+        Writer writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+        validationLogService.exportDiffReport(logId, writer);
+    }
+
     /**
      * 校验权限。
      *
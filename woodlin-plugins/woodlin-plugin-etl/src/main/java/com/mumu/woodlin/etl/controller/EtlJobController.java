@@ -10,6 +10,7 @@
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
 import com.mumu.woodlin.etl.entity.EtlJob;
 import com.mumu.woodlin.etl.service.IEtlJobService;
 import com.mumu.woodlin.security.util.SecurityUtil;
@@ -90,8 +91,16 @@ public Result<Boolean> disable(@PathVariable Long jobId) {
     @PostMapping("/{jobId}/execute")
     public Result<Boolean> execute(@PathVariable Long jobId) {
         requirePermission(EtlPermissionConstants.OFFLINE_EXECUTE);
-        boolean success = etlJobService.executeJob(jobId);
-        return success ? Result.success(true) : Result.fail("执行ETL任务失败");
+        boolean success = etlJobService.executeJob(jobId, EtlRunPriority.HIGH);
+        return success ? Result.success(true) : Result.fail("执行ETL任务失败：运行队列已满或任务不存在");
+    }
+
+    @Operation(summary = "仅比对ETL任务", description = "按桶比对源表与目标表并生成差异报告，不写入目标表")
+    @PostMapping("/{jobId}/compare")
+    public Result<Boolean> compare(@PathVariable Long jobId) {
+        requirePermission(EtlPermissionConstants.OFFLINE_EXECUTE);
+        boolean success = etlJobService.compareJob(jobId, EtlRunPriority.HIGH);
+        return success ? Result.success(true) : Result.fail("提交比对失败：运行队列已满或任务不存在");
     }
 
     /**
@@ -10,12 +10,15 @@
 import com.mumu.woodlin.etl.model.response.EtlOfflineJobSummaryResponse;
 import com.mumu.woodlin.etl.model.request.EtlOfflineJobCreateRequest;
 import com.mumu.woodlin.etl.model.request.EtlOfflineJobPageRequest;
+import com.mumu.woodlin.etl.model.request.EtlOfflineRunRequest;
 import com.mumu.woodlin.etl.model.request.EtlOfflineValidationRequest;
 import com.mumu.woodlin.etl.model.response.EtlOfflineCreateJobResponse;
 import com.mumu.woodlin.etl.model.response.EtlOfflineDatasourceOption;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunReport;
 import com.mumu.woodlin.etl.model.response.EtlOfflineValidationResult;
 import com.mumu.woodlin.etl.model.response.EtlOfflineWizardConfigResponse;
 import com.mumu.woodlin.etl.service.IEtlOfflineService;
+import com.mumu.woodlin.etl.service.IEtlRunPlanService;
 import com.mumu.woodlin.security.util.SecurityUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -40,6 +43,7 @@
 public class EtlOfflineController {
 
     private final IEtlOfflineService etlOfflineService;
+    private final IEtlRunPlanService etlRunPlanService;
 
     @Operation(summary = "获取离线向导配置")
     @GetMapping("/config")
@@ -105,6 +109,20 @@ public Result<Void> deleteOfflineJob(@PathVariable("jobId") Long jobId) {
         return Result.success();
     }
 
+    @Operation(summary = "按依赖运行多表任务")
+    @PostMapping("/runs")
+    public Result<EtlOfflineRunReport> startRun(@Valid @RequestBody EtlOfflineRunRequest request) {
+        requirePermission(EtlPermissionConstants.OFFLINE_EXECUTE);
+        return Result.success(etlRunPlanService.startRun(request));
+    }
+
+    @Operation(summary = "查询多表运行报告")
+    @GetMapping("/runs/{runId}")
+    public Result<EtlOfflineRunReport> getRunReport(@PathVariable("runId") String runId) {
+        requirePermission(EtlPermissionConstants.OFFLINE_LOG_DETAIL);
+        return Result.success(etlRunPlanService.getRunReport(runId));
+    }
+
     @Operation(summary = "查询表列表（支持关键字过滤）")
     @GetMapping("/tables")
     public Result<List<TableMetadata>> listTables(
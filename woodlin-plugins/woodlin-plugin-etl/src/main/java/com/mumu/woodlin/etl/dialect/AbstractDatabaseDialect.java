@@ -1,5 +1,13 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -14,6 +22,11 @@
  */
 public abstract class AbstractDatabaseDialect implements DatabaseDialect {
 
+    /**
+     * 行文本表达式中空值的占位文本。
+     */
+    protected static final String NULL_TEXT = "'<null>'";
+
     @Override
     public String qualifyTable(String schemaName, String tableName) {
         if (!StringUtils.hasText(schemaName)) {
@@ -56,11 +69,269 @@ public String buildSelectByPrimaryKeyInSql(
                 + " WHERE " + quoteIdentifier(primaryKeyColumn) + " IN (" + placeholders + ")";
     }
 
+    @Override
+    public String buildDeleteByPrimaryKeyInSql(
+            String qualifiedTableName,
+            String primaryKeyColumn,
+            int keySize,
+            String softDeleteColumn
+    ) {
+        String keyFilter = " WHERE " + quoteIdentifier(primaryKeyColumn) + " IN (" + placeholders(keySize) + ")";
+        if (StringUtils.hasText(softDeleteColumn)) {
+            return "UPDATE " + qualifiedTableName + " SET " + quoteIdentifier(softDeleteColumn) + " = ?" + keyFilter;
+        }
+        return "DELETE FROM " + qualifiedTableName + keyFilter;
+    }
+
+    /**
+     * 默认不支持，文本主键不做删除检测。
+     */
+    @Override
+    public String buildBinaryOrderExpression(String keyColumn) {
+        return null;
+    }
+
     @Override
     public String buildAddColumnSql(String qualifiedTableName, String columnName, String columnTypeDefinition) {
         return "ALTER TABLE " + qualifiedTableName + " ADD " + quoteIdentifier(columnName) + " " + columnTypeDefinition;
     }
 
+    @Override
+    public String buildKeyBoundsSql(String qualifiedTableName, String keyColumn, String whereClause) {
+        String key = quoteIdentifier(keyColumn);
+        return "SELECT MIN(" + key + "), MAX(" + key + "), COUNT(*) FROM " + qualifiedTableName
+                + keyFilter(key, whereClause);
+    }
+
+    /**
+     * 默认使用 NTILE 窗口函数求分片上界，MySQL 8、Oracle、SQL Server 均支持。
+     */
+    @Override
+    public String buildKeyQuantilesSql(
+            String qualifiedTableName,
+            String keyColumn,
+            int partitions,
+            String whereClause,
+            double samplePercent
+    ) {
+        String key = quoteIdentifier(keyColumn);
+        return "SELECT MAX(" + key + ") FROM (SELECT " + key + ", NTILE(" + partitions + ") OVER (ORDER BY " + key
+                + ") AS etl_tile FROM " + qualifiedTableName + sampleClause(samplePercent) + keyFilter(key, whereClause)
+                + ") etl_ranked GROUP BY etl_tile ORDER BY etl_tile";
+    }
+
+    /**
+     * 默认使用多行 INSERT。
+     */
+    @Override
+    public BulkLoadMethod getBulkLoadMethod() {
+        return BulkLoadMethod.MULTI_ROW_INSERT;
+    }
+
+    @Override
+    public String buildBulkLoadSql(String qualifiedTableName, List<String> columns) {
+        return null;
+    }
+
+    @Override
+    public String buildMultiRowInsertSql(String qualifiedTableName, List<String> columns, int rowCount) {
+        String row = "(" + placeholders(columns.size()) + ")";
+        return "INSERT INTO " + qualifiedTableName + " (" + joinQuotedColumns(columns) + ") VALUES "
+                + String.join(", ", Collections.nCopies(rowCount, row));
+    }
+
+    /**
+     * 默认使用 SQL:2008 的 {@code FETCH FIRST}，PostgreSQL、Oracle 12c 及以上均支持。
+     */
+    @Override
+    public String buildLimitSql(String orderedSelectSql, int rowLimit) {
+        return orderedSelectSql + " FETCH FIRST " + rowLimit + " ROWS ONLY";
+    }
+
+    /**
+     * 默认创建只进只读语句并设置 fetchSize：Oracle 驱动按 fetchSize 分批拉取（默认仅 10 行），
+     * SQL Server 驱动默认自适应缓冲，只进结果集即按需读取；其他驱动以 fetchSize 作为分批提示。
+     */
+    @Override
+    public StreamingStatement prepareStreamingStatement(Connection connection, String sql, int fetchSize)
+            throws SQLException {
+        PreparedStatement statement = prepareForwardOnly(connection, sql);
+        statement.setFetchSize(fetchSize);
+        return new StreamingStatement(connection, statement, false);
+    }
+
+    /**
+     * 创建只进只读语句。
+     *
+     * @param connection 数据库连接
+     * @param sql 查询 SQL
+     * @return 语句
+     * @throws SQLException 创建失败
+     */
+    protected PreparedStatement prepareForwardOnly(Connection connection, String sql) throws SQLException {
+        return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * 默认不支持结构变更标记，由各方言按自身系统目录实现。
+     */
+    @Override
+    public String buildStructureMarkerSql() {
+        return null;
+    }
+
+    /**
+     * 默认不延后维护索引，装载时保持全部索引与约束。
+     */
+    @Override
+    public TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException {
+        return TargetIndexPlan.empty();
+    }
+
+    /**
+     * 以 schema 名称、表名为参数查询系统目录，返回各行前若干列的文本值。
+     *
+     * @param connection 数据库连接
+     * @param sql 查询 SQL，参数依次为 schema 名称与表名
+     * @param schemaName schema 名称，可为 null
+     * @param tableName 表名
+     * @param columnCount 读取的列数
+     * @return 行列表
+     * @throws SQLException 查询失败
+     */
+    protected List<String[]> queryCatalog(
+            Connection connection,
+            String sql,
+            String schemaName,
+            String tableName,
+            int columnCount
+    ) throws SQLException {
+        List<String[]> rows = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, StringUtils.hasText(schemaName) ? schemaName : null);
+            statement.setString(2, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String[] row = new String[columnCount];
+                    for (int index = 0; index < columnCount; index++) {
+                        row[index] = resultSet.getString(index + 1);
+                    }
+                    rows.add(row);
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * 默认不支持暂存表合并，由各方言按自身临时表语法实现。
+     */
+    @Override
+    public String buildStagingTableName(String baseName) {
+        return null;
+    }
+
+    /**
+     * 默认使用 {@code CREATE TEMPORARY TABLE ... AS SELECT}，MySQL、PostgreSQL 均支持，连接关闭后自动删除。
+     */
+    @Override
+    public String buildCreateStagingTableSql(String stagingTableName, String qualifiedTableName, List<String> columns) {
+        return "CREATE TEMPORARY TABLE " + stagingTableName + " AS SELECT " + joinQuotedColumns(columns)
+                + " FROM " + qualifiedTableName + " WHERE 1 = 0";
+    }
+
+    @Override
+    public String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
+        return null;
+    }
+
+    @Override
+    public String buildClearStagingTableSql(String stagingTableName) {
+        return buildTruncateSql(stagingTableName);
+    }
+
+    @Override
+    public String buildDropStagingTableSql(String stagingTableName) {
+        return "DROP TABLE " + stagingTableName;
+    }
+
+    /**
+     * 默认不支持桶号下推，由各方言按自身散列函数实现。
+     */
+    @Override
+    public String buildBucketExpression(String keyColumn, int bucketSize) {
+        return null;
+    }
+
+    @Override
+    public String buildBucketChecksumSql(
+            String qualifiedTableName,
+            String keyColumn,
+            List<String> columns,
+            int bucketSize,
+            String whereClause
+    ) {
+        String bucket = buildBucketExpression(keyColumn, bucketSize);
+        String digest = bucketDigestExpression(rowTextExpression(columns.stream().map(this::quoteIdentifier).toList()));
+        if (bucket == null || digest == null) {
+            return null;
+        }
+        String filter = StringUtils.hasText(whereClause) ? " WHERE " + whereClause : "";
+        return "SELECT " + bucket + " AS etl_bucket, COUNT(*) AS etl_rows, " + digest + " AS etl_digest FROM "
+                + qualifiedTableName + filter + " GROUP BY " + bucket;
+    }
+
+    /**
+     * 行文本表达式：各字段转为文本、空值替换为 {@link #NULL_TEXT} 后以 {@code |} 拼接。
+     *
+     * @param quotedColumns 已加引号的字段
+     * @return 表达式；不支持时返回 {@code null}
+     */
+    protected String rowTextExpression(List<String> quotedColumns) {
+        return null;
+    }
+
+    /**
+     * 桶摘要聚合表达式，须与行顺序无关。
+     *
+     * @param rowText 行文本表达式
+     * @return 表达式；不支持时返回 {@code null}
+     */
+    protected String bucketDigestExpression(String rowText) {
+        return null;
+    }
+
+    /**
+     * 表采样子句，默认不采样。
+     *
+     * @param samplePercent 采样百分比
+     * @return 紧跟表名的采样子句
+     */
+    protected String sampleClause(double samplePercent) {
+        return "";
+    }
+
+    /**
+     * 格式化采样百分比。
+     *
+     * @param samplePercent 采样百分比
+     * @return 去除尾零的数值文本
+     */
+    protected String formatPercent(double samplePercent) {
+        return BigDecimal.valueOf(samplePercent).setScale(4, RoundingMode.HALF_UP).stripTrailingZeros().toPlainString();
+    }
+
+    private String keyFilter(String quotedKey, String whereClause) {
+        String filter = " WHERE " + quotedKey + " IS NOT NULL";
+        return StringUtils.hasText(whereClause) ? filter + " AND (" + whereClause + ")" : filter;
+    }
+
     /**
      * 拼装列名片段。
      *
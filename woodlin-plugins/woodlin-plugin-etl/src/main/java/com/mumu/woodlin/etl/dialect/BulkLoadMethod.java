@@ -0,0 +1,30 @@
+package com.mumu.woodlin.etl.dialect;
+
+/**
+ * 目标端批量装载方式。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum BulkLoadMethod {
+
+    /**
+     * PostgreSQL {@code COPY ... FROM STDIN}，经驱动 CopyManager 流式写入 CSV。
+     */
+    COPY,
+
+    /**
+     * MySQL {@code LOAD DATA LOCAL INFILE}，由驱动读取流式 CSV，需连接开启 {@code allowLoadLocalInfile}。
+     */
+    LOAD_DATA,
+
+    /**
+     * 单条 INSERT 携带多行 {@code VALUES}。
+     */
+    MULTI_ROW_INSERT,
+
+    /**
+     * 单行 INSERT 的 JDBC 批处理。
+     */
+    BATCH_INSERT
+}
@@ -1,5 +1,7 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -85,6 +87,30 @@ String buildSelectByPrimaryKeyInSql(
             int keySize
     );
 
+    /**
+     * 构建按主键批量删除 SQL；指定软删除字段时改为把该字段更新为删除标记，删除标记为第一个绑定参数。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param primaryKeyColumn 主键列
+     * @param keySize 主键值数量
+     * @param softDeleteColumn 软删除字段，为空时物理删除
+     * @return SQL
+     */
+    String buildDeleteByPrimaryKeyInSql(
+            String qualifiedTableName,
+            String primaryKeyColumn,
+            int keySize,
+            String softDeleteColumn
+    );
+
+    /**
+     * 文本键按二进制（码点）顺序排序的表达式，用于两端主键流的有序归并，避免各库排序规则不同导致顺序不一致。
+     *
+     * @param keyColumn 键字段
+     * @return 表达式；数据库不支持时返回 {@code null}
+     */
+    String buildBinaryOrderExpression(String keyColumn);
+
     /**
      * 构建新增字段 SQL。
      *
@@ -94,4 +120,180 @@ String buildSelectByPrimaryKeyInSql(
      * @return SQL
      */
     String buildAddColumnSql(String qualifiedTableName, String columnName, String columnTypeDefinition);
+
+    /**
+     * 构建切分键边界统计 SQL，结果依次为 MIN、MAX、COUNT，仅统计切分键非空的行。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param keyColumn 切分键
+     * @param whereClause 额外过滤条件，可为空
+     * @return SQL
+     */
+    String buildKeyBoundsSql(String qualifiedTableName, String keyColumn, String whereClause);
+
+    /**
+     * 构建切分键分位点采样 SQL，按切分键升序返回每个分片的上界（单列多行）。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param keyColumn 切分键
+     * @param partitions 分片数
+     * @param whereClause 额外过滤条件，可为空
+     * @param samplePercent 采样百分比，大于等于 100 时扫描全表
+     * @return SQL；数据库不支持时返回 {@code null}
+     */
+    String buildKeyQuantilesSql(
+            String qualifiedTableName,
+            String keyColumn,
+            int partitions,
+            String whereClause,
+            double samplePercent
+    );
+
+    /**
+     * 构建桶号表达式：对键值的文本形式散列后取模，结果为 0 到 bucketSize-1 的整数。
+     * 同类数据库上结果一致，不同类数据库之间不可比较。
+     *
+     * @param keyColumn 键字段
+     * @param bucketSize 桶数量
+     * @return 表达式；数据库不支持时返回 {@code null}
+     */
+    String buildBucketExpression(String keyColumn, int bucketSize);
+
+    /**
+     * 构建桶位聚合校验 SQL，按桶号分组，结果依次为桶号、行数、桶摘要；桶摘要与行顺序无关。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param keyColumn 键字段
+     * @param columns 参与校验的字段，按拼接顺序排列
+     * @param bucketSize 桶数量
+     * @param whereClause 额外过滤条件，可为空
+     * @return SQL；数据库不支持时返回 {@code null}
+     */
+    String buildBucketChecksumSql(
+            String qualifiedTableName,
+            String keyColumn,
+            List<String> columns,
+            int bucketSize,
+            String whereClause
+    );
+
+    /**
+     * 目标端批量装载方式。
+     *
+     * @return 装载方式
+     */
+    BulkLoadMethod getBulkLoadMethod();
+
+    /**
+     * 构建原生批量装载语句（{@link BulkLoadMethod#COPY}、{@link BulkLoadMethod#LOAD_DATA}），数据为 CSV 流：
+     * 非空值一律加双引号，引号内的双引号写两次，空值不加引号。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param columns 字段
+     * @return SQL；不支持原生装载时返回 {@code null}
+     */
+    String buildBulkLoadSql(String qualifiedTableName, List<String> columns);
+
+    /**
+     * 构建多行 INSERT 语句。
+     *
+     * @param qualifiedTableName 全限定表名
+     * @param columns 字段
+     * @param rowCount 行数
+     * @return SQL
+     */
+    String buildMultiRowInsertSql(String qualifiedTableName, List<String> columns, int rowCount);
+
+    /**
+     * 为已带 ORDER BY 的查询追加返回行数上限。
+     *
+     * @param orderedSelectSql 已排序的查询
+     * @param rowLimit 行数上限
+     * @return SQL
+     */
+    String buildLimitSql(String orderedSelectSql, int rowLimit);
+
+    /**
+     * 会话级暂存表名称，按数据库的临时表命名规则修饰。
+     *
+     * @param baseName 基础名称，仅含字母、数字与下划线
+     * @return 暂存表名；不支持暂存表合并时返回 {@code null}
+     */
+    String buildStagingTableName(String baseName);
+
+    /**
+     * 构建创建会话级暂存表 SQL，字段及类型取自目标表，不含约束与数据。
+     *
+     * @param stagingTableName 暂存表名
+     * @param qualifiedTableName 目标表全限定名
+     * @param columns 字段
+     * @return SQL
+     */
+    String buildCreateStagingTableSql(String stagingTableName, String qualifiedTableName, List<String> columns);
+
+    /**
+     * 构建由暂存表集合式写入目标表的 MERGE/UPSERT SQL。
+     *
+     * @param qualifiedTableName 目标表全限定名
+     * @param stagingTableName 暂存表名
+     * @param columns 字段
+     * @param primaryKeyColumns 主键列
+     * @return SQL；不支持时返回 {@code null}
+     */
+    String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    );
+
+    /**
+     * 构建清空暂存表 SQL。
+     *
+     * @param stagingTableName 暂存表名
+     * @return SQL
+     */
+    String buildClearStagingTableSql(String stagingTableName);
+
+    /**
+     * 构建删除暂存表 SQL。
+     *
+     * @param stagingTableName 暂存表名
+     * @return SQL
+     */
+    String buildDropStagingTableSql(String stagingTableName);
+
+    /**
+     * 构建表结构变更标记查询 SQL：从系统目录单行读取结构变化时必然改变的标记，用于在不重新读取字段与主键的前提下
+     * 判断缓存的表结构是否仍然有效。参数依次为 schema 名称（可为 null，表示连接当前 schema）与表名。
+     *
+     * @return SQL；不支持时返回 null，调用方每次都完整读取表结构
+     */
+    String buildStructureMarkerSql();
+
+    /**
+     * 捕获清空重载时可延后维护的目标表二级索引与约束，生成禁用、重建与恢复语句。主键、唯一索引与约束依赖的索引保留，
+     * 继续保证装载期间的数据正确性。
+     *
+     * @param connection 目标库连接
+     * @param schemaName schema 名称，可为 null
+     * @param tableName 表名
+     * @return 处理计划；不支持时返回空计划
+     * @throws SQLException 读取系统目录失败
+     */
+    TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException;
+
+    /**
+     * 创建流式读取语句：按驱动要求设置游标模式、连接标志与只进只读提示，使结果集按批从服务端拉取，
+     * 而不是在执行查询时整体缓存到客户端内存。
+     *
+     * @param connection 数据库连接
+     * @param sql 查询 SQL
+     * @param fetchSize 每批拉取的行数
+     * @return 流式读取语句，关闭时恢复连接设置
+     * @throws SQLException 创建失败
+     */
+    StreamingStatement prepareStreamingStatement(Connection connection, String sql, int fetchSize)
+            throws SQLException;
 }
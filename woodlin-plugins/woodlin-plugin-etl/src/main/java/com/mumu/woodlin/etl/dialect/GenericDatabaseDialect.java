@@ -23,10 +23,32 @@ public String quoteIdentifier(String identifier) {
         return "\"" + identifier + "\"";
     }
 
+    /**
+     * 未知数据库不保证支持多行 VALUES，使用 JDBC 批处理。
+     */
+    @Override
+    public BulkLoadMethod getBulkLoadMethod() {
+        return BulkLoadMethod.BATCH_INSERT;
+    }
+
     @Override
     public String buildUpsertSql(String qualifiedTableName, List<String> columns, List<String> primaryKeyColumns) {
         String insertColumns = joinQuotedColumns(columns);
         String insertValues = placeholders(columns.size());
         return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") VALUES (" + insertValues + ")";
     }
+
+    /**
+     * 未知数据库不保证支持窗口函数，由调用方按数值区间均分。
+     */
+    @Override
+    public String buildKeyQuantilesSql(
+            String qualifiedTableName,
+            String keyColumn,
+            int partitions,
+            String whereClause,
+            double samplePercent
+    ) {
+        return null;
+    }
 }
@@ -1,8 +1,18 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,6 +29,68 @@ public DatabaseDialectType getDialectType() {
         return DatabaseDialectType.MYSQL;
     }
 
+    /**
+     * 与元数据提取器的表级缓存标记共用 {@link CatalogMarkerSql#MYSQL_TABLE}。
+     */
+    @Override
+    public String buildStructureMarkerSql() {
+        return CatalogMarkerSql.MYSQL_TABLE;
+    }
+
+    /**
+     * 删除非唯一 BTREE 二级索引，装载后以一条 {@code ALTER TABLE} 在一次表扫描中重建全部索引；外键所需的索引保留。
+     * 外键检查是会话级开关，覆盖不到写入线程的连接，因此不处理约束。
+     */
+    @Override
+    public TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException {
+        Map<String, List<String>> indexColumns = new LinkedHashMap<>();
+        Map<String, List<String>> indexDefinitions = new LinkedHashMap<>();
+        Set<String> retained = new HashSet<>();
+        for (String[] row : queryCatalog(connection, "SELECT INDEX_NAME, COLUMN_NAME, SUB_PART, INDEX_TYPE, COLLATION"
+                + " FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = COALESCE(?, DATABASE()) AND TABLE_NAME = ?"
+                + " AND NON_UNIQUE = 1 ORDER BY INDEX_NAME, SEQ_IN_INDEX", schemaName, tableName, 5)) {
+            // 函数索引没有列名，FULLTEXT、SPATIAL 等无法按列定义还原
+            if (row[1] == null || !"BTREE".equalsIgnoreCase(row[3])) {
+                retained.add(row[0]);
+                continue;
+            }
+            indexColumns.computeIfAbsent(row[0], key -> new ArrayList<>()).add(row[1].toLowerCase(Locale.ROOT));
+            indexDefinitions.computeIfAbsent(row[0], key -> new ArrayList<>()).add(quoteIdentifier(row[1])
+                    + (row[2] == null ? "" : "(" + row[2] + ")") + ("D".equals(row[4]) ? " DESC" : ""));
+        }
+        Map<String, List<String>> foreignKeys = new LinkedHashMap<>();
+        for (String[] row : queryCatalog(connection, "SELECT CONSTRAINT_NAME, COLUMN_NAME"
+                + " FROM information_schema.KEY_COLUMN_USAGE WHERE TABLE_SCHEMA = COALESCE(?, DATABASE())"
+                + " AND TABLE_NAME = ? AND REFERENCED_TABLE_NAME IS NOT NULL ORDER BY CONSTRAINT_NAME, ORDINAL_POSITION",
+                schemaName, tableName, 2)) {
+            foreignKeys.computeIfAbsent(row[0], key -> new ArrayList<>()).add(row[1].toLowerCase(Locale.ROOT));
+        }
+        String table = qualifyTable(schemaName, tableName);
+        List<String> indexNames = new ArrayList<>();
+        List<String> drops = new ArrayList<>();
+        List<String> adds = new ArrayList<>();
+        indexColumns.forEach((indexName, columns) -> {
+            boolean backsForeignKey = foreignKeys.values().stream()
+                    .anyMatch(keyColumns -> columns.size() >= keyColumns.size()
+                            && columns.subList(0, keyColumns.size()).equals(keyColumns));
+            if (retained.contains(indexName) || backsForeignKey) {
+                return;
+            }
+            indexNames.add(indexName);
+            drops.add("DROP INDEX " + quoteIdentifier(indexName));
+            adds.add("ADD INDEX " + quoteIdentifier(indexName)
+                    + " (" + String.join(", ", indexDefinitions.get(indexName)) + ")");
+        });
+        if (indexNames.isEmpty()) {
+            return TargetIndexPlan.empty();
+        }
+        return new TargetIndexPlan(indexNames, List.of(),
+                List.of("ALTER TABLE " + table + " " + String.join(", ", drops)),
+                List.of("ALTER TABLE " + table + " " + String.join(", ", adds)),
+                List.of());
+    }
+
     @Override
     public String quoteIdentifier(String identifier) {
         return "`" + identifier + "`";
@@ -28,6 +100,96 @@ public String quoteIdentifier(String identifier) {
     public String buildUpsertSql(String qualifiedTableName, List<String> columns, List<String> primaryKeyColumns) {
         String insertColumns = joinQuotedColumns(columns);
         String insertValues = placeholders(columns.size());
+        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") VALUES (" + insertValues + ")"
+                + " ON DUPLICATE KEY UPDATE " + updateClause(columns, primaryKeyColumns);
+    }
+
+    /**
+     * Connector/J 默认一次读入全部结果，fetchSize 不生效：连接开启 {@code useCursorFetch} 时按 fetchSize
+     * 使用服务端游标，否则以 {@link Integer#MIN_VALUE} 逐行流式读取。
+     */
+    @Override
+    public StreamingStatement prepareStreamingStatement(Connection connection, String sql, int fetchSize)
+            throws SQLException {
+        PreparedStatement statement = prepareForwardOnly(connection, sql);
+        statement.setFetchSize(isCursorFetch(connection) ? fetchSize : Integer.MIN_VALUE);
+        return new StreamingStatement(connection, statement, false);
+    }
+
+    private static boolean isCursorFetch(Connection connection) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        return url != null && url.toLowerCase(Locale.ROOT).contains("usecursorfetch=true");
+    }
+
+    @Override
+    public String buildStagingTableName(String baseName) {
+        return baseName;
+    }
+
+    @Override
+    public String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
+        String insertColumns = joinQuotedColumns(columns);
+        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") SELECT " + insertColumns
+                + " FROM " + stagingTableName + " ON DUPLICATE KEY UPDATE " + updateClause(columns, primaryKeyColumns);
+    }
+
+    @Override
+    public String buildDropStagingTableSql(String stagingTableName) {
+        return "DROP TEMPORARY TABLE IF EXISTS " + stagingTableName;
+    }
+
+    @Override
+    public String buildBinaryOrderExpression(String keyColumn) {
+        return "CAST(" + quoteIdentifier(keyColumn) + " AS BINARY)";
+    }
+
+    @Override
+    public String buildLimitSql(String orderedSelectSql, int rowLimit) {
+        return orderedSelectSql + " LIMIT " + rowLimit;
+    }
+
+    @Override
+    public BulkLoadMethod getBulkLoadMethod() {
+        return BulkLoadMethod.LOAD_DATA;
+    }
+
+    /**
+     * 不使用转义字符，未加引号的 {@code NULL} 读作空值。
+     */
+    @Override
+    public String buildBulkLoadSql(String qualifiedTableName, List<String> columns) {
+        return "LOAD DATA LOCAL INFILE 'etl-stream.csv' INTO TABLE " + qualifiedTableName
+                + " CHARACTER SET utf8mb4 FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+                + " LINES TERMINATED BY '\\n' (" + joinQuotedColumns(columns) + ")";
+    }
+
+    @Override
+    public String buildBucketExpression(String keyColumn, int bucketSize) {
+        return "MOD(CRC32(CAST(" + quoteIdentifier(keyColumn) + " AS CHAR)), " + bucketSize + ")";
+    }
+
+    @Override
+    protected String rowTextExpression(List<String> quotedColumns) {
+        return quotedColumns.stream()
+                .map(column -> "COALESCE(CAST(" + column + " AS CHAR), " + NULL_TEXT + ")")
+                .collect(Collectors.joining(", ", "CONCAT_WS('|', ", ")"));
+    }
+
+    /**
+     * 行哈希取 MD5 前 64 位，桶内按 BIT_XOR 与 SUM 合并。
+     */
+    @Override
+    protected String bucketDigestExpression(String rowText) {
+        String rowHash = "CAST(CONV(SUBSTRING(MD5(" + rowText + "), 1, 16), 16, 10) AS UNSIGNED)";
+        return "CONCAT(BIT_XOR(" + rowHash + "), ':', SUM(" + rowHash + "))";
+    }
+
+    private String updateClause(List<String> columns, List<String> primaryKeyColumns) {
         String updateClause = columns.stream()
                 .filter(column -> !isPrimaryKey(column, primaryKeyColumns))
                 .map(column -> quoteIdentifier(column) + " = VALUES(" + quoteIdentifier(column) + ")")
@@ -35,7 +197,6 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         if (updateClause.isEmpty()) {
             updateClause = quoteIdentifier(primaryKeyColumns.get(0)) + " = " + quoteIdentifier(primaryKeyColumns.get(0));
         }
-        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") VALUES (" + insertValues + ")"
-                + " ON DUPLICATE KEY UPDATE " + updateClause;
+        return updateClause;
     }
 }
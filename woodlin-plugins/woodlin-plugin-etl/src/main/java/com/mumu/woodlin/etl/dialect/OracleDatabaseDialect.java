@@ -1,8 +1,13 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,6 +24,55 @@ public DatabaseDialectType getDialectType() {
         return DatabaseDialectType.ORACLE;
     }
 
+    /**
+     * 与元数据提取器的表级缓存标记共用 {@link CatalogMarkerSql#ORACLE_TABLE}。
+     */
+    @Override
+    public String buildStructureMarkerSql() {
+        return CatalogMarkerSql.ORACLE_TABLE;
+    }
+
+    /**
+     * 装载前把普通非唯一二级索引置为 {@code UNUSABLE}（会话默认跳过不可用索引）并停用外键，装载后各索引并行
+     * {@code REBUILD}，再启用外键。{@code TRUNCATE} 会把索引恢复为可用，因此须在清空之后执行；分区索引与约束使用的索引保留。
+     */
+    @Override
+    public TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException {
+        String owner = "COALESCE(UPPER(?), SYS_CONTEXT('USERENV', 'CURRENT_SCHEMA'))";
+        List<String[]> indexes = queryCatalog(connection, "SELECT i.INDEX_NAME, i.OWNER FROM ALL_INDEXES i"
+                + " WHERE i.TABLE_OWNER = " + owner + " AND i.TABLE_NAME = UPPER(?) AND i.UNIQUENESS = 'NONUNIQUE'"
+                + " AND i.INDEX_TYPE IN ('NORMAL', 'FUNCTION-BASED NORMAL') AND i.PARTITIONED = 'NO' AND i.STATUS = 'VALID'"
+                + " AND NOT EXISTS (SELECT 1 FROM ALL_CONSTRAINTS c WHERE c.INDEX_OWNER = i.OWNER AND c.INDEX_NAME = i.INDEX_NAME)"
+                + " ORDER BY i.INDEX_NAME", schemaName, tableName, 2);
+        List<String[]> foreignKeys = queryCatalog(connection, "SELECT CONSTRAINT_NAME FROM ALL_CONSTRAINTS"
+                + " WHERE OWNER = " + owner + " AND TABLE_NAME = UPPER(?) AND CONSTRAINT_TYPE = 'R' AND STATUS = 'ENABLED'"
+                + " ORDER BY CONSTRAINT_NAME", schemaName, tableName, 1);
+        if (indexes.isEmpty() && foreignKeys.isEmpty()) {
+            return TargetIndexPlan.empty();
+        }
+        String table = qualifyTable(schemaName, tableName);
+        List<String> disable = new ArrayList<>();
+        List<String> restore = new ArrayList<>();
+        for (String[] foreignKey : foreignKeys) {
+            disable.add("ALTER TABLE " + table + " DISABLE CONSTRAINT " + quoteIdentifier(foreignKey[0]));
+            restore.add("ALTER TABLE " + table + " ENABLE CONSTRAINT " + quoteIdentifier(foreignKey[0]));
+        }
+        List<String> rebuild = new ArrayList<>();
+        for (String[] index : indexes) {
+            String indexName = quoteIdentifier(index[1]) + "." + quoteIdentifier(index[0]);
+            disable.add("ALTER INDEX " + indexName + " UNUSABLE");
+            rebuild.add("ALTER INDEX " + indexName + " REBUILD");
+        }
+        return new TargetIndexPlan(
+                indexes.stream().map(index -> index[0]).toList(),
+                foreignKeys.stream().map(foreignKey -> foreignKey[0]).toList(),
+                disable,
+                rebuild,
+                restore
+        );
+    }
+
     @Override
     public String quoteIdentifier(String identifier) {
         return "\"" + identifier + "\"";
@@ -29,6 +83,87 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         String sourceProjection = columns.stream()
                 .map(column -> "? AS " + quoteIdentifier(column))
                 .collect(Collectors.joining(", "));
+        return buildMergeSql(
+                qualifiedTableName, "(SELECT " + sourceProjection + " FROM dual)", columns, primaryKeyColumns
+        );
+    }
+
+    /**
+     * 使用 18c 起支持的私有临时表，名称须以 {@code ORA$PTT_} 开头，会话结束时删除定义。
+     */
+    @Override
+    public String buildStagingTableName(String baseName) {
+        return "ORA$PTT_" + baseName.toUpperCase(Locale.ROOT);
+    }
+
+    @Override
+    public String buildCreateStagingTableSql(String stagingTableName, String qualifiedTableName, List<String> columns) {
+        return "CREATE PRIVATE TEMPORARY TABLE " + stagingTableName + " ON COMMIT PRESERVE DEFINITION AS SELECT "
+                + joinQuotedColumns(columns) + " FROM " + qualifiedTableName + " WHERE 1 = 0";
+    }
+
+    @Override
+    public String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
+        return buildMergeSql(qualifiedTableName, stagingTableName, columns, primaryKeyColumns);
+    }
+
+    /**
+     * 私有临时表不支持 TRUNCATE。
+     */
+    @Override
+    public String buildClearStagingTableSql(String stagingTableName) {
+        return buildDeleteAllSql(stagingTableName);
+    }
+
+    /**
+     * Oracle 23ai 之前不支持多行 VALUES，使用 JDBC 批处理。
+     */
+    @Override
+    public String buildBinaryOrderExpression(String keyColumn) {
+        return "NLSSORT(" + quoteIdentifier(keyColumn) + ", 'NLS_SORT=BINARY')";
+    }
+
+    @Override
+    public BulkLoadMethod getBulkLoadMethod() {
+        return BulkLoadMethod.BATCH_INSERT;
+    }
+
+    @Override
+    public String buildBucketExpression(String keyColumn, int bucketSize) {
+        return "ORA_HASH(" + quoteIdentifier(keyColumn) + ", " + (bucketSize - 1) + ")";
+    }
+
+    @Override
+    protected String rowTextExpression(List<String> quotedColumns) {
+        return quotedColumns.stream()
+                .map(column -> "NVL(TO_CHAR(" + column + "), " + NULL_TEXT + ")")
+                .collect(Collectors.joining(" || '|' || "));
+    }
+
+    /**
+     * 两个不同种子的 ORA_HASH 分别求和，降低 32 位哈希的碰撞概率。
+     */
+    @Override
+    protected String bucketDigestExpression(String rowText) {
+        return "TO_CHAR(SUM(ORA_HASH(" + rowText + "))) || ':' || TO_CHAR(SUM(ORA_HASH(" + rowText + ", 4294967295, 1)))";
+    }
+
+    @Override
+    protected String sampleClause(double samplePercent) {
+        return samplePercent >= 100D ? "" : " SAMPLE (" + formatPercent(samplePercent) + ")";
+    }
+
+    private String buildMergeSql(
+            String qualifiedTableName,
+            String source,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
         String onClause = primaryKeyColumns.stream()
                 .map(column -> "target." + quoteIdentifier(column) + " = source." + quoteIdentifier(column))
                 .collect(Collectors.joining(" AND "));
@@ -44,7 +179,7 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         String insertValues = columns.stream()
                 .map(column -> "source." + quoteIdentifier(column))
                 .collect(Collectors.joining(", "));
-        return "MERGE INTO " + qualifiedTableName + " target USING (SELECT " + sourceProjection + " FROM dual) source "
+        return "MERGE INTO " + qualifiedTableName + " target USING " + source + " source "
                 + "ON (" + onClause + ") "
                 + "WHEN MATCHED THEN UPDATE SET " + updateClause + " "
                 + "WHEN NOT MATCHED THEN INSERT (" + insertColumns + ") VALUES (" + insertValues + ")";
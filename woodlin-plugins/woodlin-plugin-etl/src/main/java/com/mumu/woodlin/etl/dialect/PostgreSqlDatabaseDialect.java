@@ -1,9 +1,16 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 /**
  * PostgreSQL 数据库方言实现。
@@ -19,6 +26,53 @@ public DatabaseDialectType getDialectType() {
         return DatabaseDialectType.POSTGRESQL;
     }
 
+    /**
+     * 与元数据提取器的表级缓存标记共用 {@link CatalogMarkerSql#POSTGRESQL_TABLE}。
+     */
+    @Override
+    public String buildStructureMarkerSql() {
+        return CatalogMarkerSql.POSTGRESQL_TABLE;
+    }
+
+    /**
+     * 以 {@code pg_get_indexdef}、{@code pg_get_constraintdef} 原样捕获非唯一二级索引与外键定义，装载前删除，
+     * 装载后各索引在独立连接上并行创建，再补回外键；支撑约束的索引（如排除约束）保留。
+     */
+    @Override
+    public TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException {
+        List<String[]> indexes = queryCatalog(connection, "SELECT i.relname, n.nspname, pg_get_indexdef(i.oid)"
+                + " FROM pg_index x JOIN pg_class i ON i.oid = x.indexrelid JOIN pg_class t ON t.oid = x.indrelid"
+                + " JOIN pg_namespace n ON n.oid = t.relnamespace"
+                + " WHERE n.nspname = COALESCE(?, current_schema()) AND t.relname = ? AND NOT x.indisunique"
+                + " AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = x.indexrelid)"
+                + " ORDER BY i.relname", schemaName, tableName, 3);
+        List<String[]> foreignKeys = queryCatalog(connection, "SELECT c.conname, pg_get_constraintdef(c.oid)"
+                + " FROM pg_constraint c JOIN pg_class t ON t.oid = c.conrelid JOIN pg_namespace n ON n.oid = t.relnamespace"
+                + " WHERE n.nspname = COALESCE(?, current_schema()) AND t.relname = ? AND c.contype = 'f'"
+                + " ORDER BY c.conname", schemaName, tableName, 2);
+        if (indexes.isEmpty() && foreignKeys.isEmpty()) {
+            return TargetIndexPlan.empty();
+        }
+        String table = qualifyTable(schemaName, tableName);
+        List<String> disable = new ArrayList<>();
+        List<String> restore = new ArrayList<>();
+        for (String[] foreignKey : foreignKeys) {
+            disable.add("ALTER TABLE " + table + " DROP CONSTRAINT " + quoteIdentifier(foreignKey[0]));
+            restore.add("ALTER TABLE " + table + " ADD CONSTRAINT " + quoteIdentifier(foreignKey[0]) + " " + foreignKey[1]);
+        }
+        for (String[] index : indexes) {
+            disable.add("DROP INDEX " + quoteIdentifier(index[1]) + "." + quoteIdentifier(index[0]));
+        }
+        return new TargetIndexPlan(
+                indexes.stream().map(index -> index[0]).toList(),
+                foreignKeys.stream().map(foreignKey -> foreignKey[0]).toList(),
+                disable,
+                indexes.stream().map(index -> index[2]).toList(),
+                restore
+        );
+    }
+
     @Override
     public String quoteIdentifier(String identifier) {
         return "\"" + identifier + "\"";
@@ -28,6 +82,118 @@ public String quoteIdentifier(String identifier) {
     public String buildUpsertSql(String qualifiedTableName, List<String> columns, List<String> primaryKeyColumns) {
         String insertColumns = joinQuotedColumns(columns);
         String insertValues = placeholders(columns.size());
+        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") VALUES (" + insertValues + ")"
+                + conflictClause(columns, primaryKeyColumns);
+    }
+
+    @Override
+    public String buildStagingTableName(String baseName) {
+        return baseName;
+    }
+
+    @Override
+    public String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
+        String insertColumns = joinQuotedColumns(columns);
+        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") SELECT " + insertColumns
+                + " FROM " + stagingTableName + conflictClause(columns, primaryKeyColumns);
+    }
+
+    @Override
+    public String buildDropStagingTableSql(String stagingTableName) {
+        return "DROP TABLE IF EXISTS " + stagingTableName;
+    }
+
+    /**
+     * PostgreSQL 使用有序集聚合 percentile_disc 一次求出全部分位点。
+     */
+    @Override
+    public String buildKeyQuantilesSql(
+            String qualifiedTableName,
+            String keyColumn,
+            int partitions,
+            String whereClause,
+            double samplePercent
+    ) {
+        String key = quoteIdentifier(keyColumn);
+        String fractions = IntStream.rangeClosed(1, partitions)
+                .mapToObj(index -> formatPercent((double) index / partitions))
+                .collect(Collectors.joining(", "));
+        String filter = " WHERE " + key + " IS NOT NULL"
+                + (StringUtils.hasText(whereClause) ? " AND (" + whereClause + ")" : "");
+        return "SELECT unnest(percentile_disc(ARRAY[" + fractions + "]) WITHIN GROUP (ORDER BY " + key + "))"
+                + " FROM " + qualifiedTableName + sampleClause(samplePercent) + filter;
+    }
+
+    @Override
+    public String buildBinaryOrderExpression(String keyColumn) {
+        return quoteIdentifier(keyColumn) + " COLLATE \"C\"";
+    }
+
+    /**
+     * PostgreSQL 驱动只在关闭自动提交时使用服务端游标按 fetchSize 拉取，否则一次读入全部结果；
+     * 自动提交的连接在读取期间临时关闭自动提交，语句关闭时恢复。
+     */
+    @Override
+    public StreamingStatement prepareStreamingStatement(Connection connection, String sql, int fetchSize)
+            throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+        try {
+            PreparedStatement statement = prepareForwardOnly(connection, sql);
+            statement.setFetchSize(fetchSize);
+            return new StreamingStatement(connection, statement, autoCommit);
+        } catch (SQLException | RuntimeException exception) {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+            throw exception;
+        }
+    }
+
+    @Override
+    public BulkLoadMethod getBulkLoadMethod() {
+        return BulkLoadMethod.COPY;
+    }
+
+    @Override
+    public String buildBulkLoadSql(String qualifiedTableName, List<String> columns) {
+        return "COPY " + qualifiedTableName + " (" + joinQuotedColumns(columns) + ") FROM STDIN WITH (FORMAT csv)";
+    }
+
+    @Override
+    public String buildBucketExpression(String keyColumn, int bucketSize) {
+        return "MOD(ABS(CAST(hashtext(CAST(" + quoteIdentifier(keyColumn) + " AS text)) AS bigint)), " + bucketSize + ")";
+    }
+
+    @Override
+    protected String rowTextExpression(List<String> quotedColumns) {
+        return quotedColumns.stream()
+                .map(column -> "COALESCE(CAST(" + column + " AS text), " + NULL_TEXT + ")")
+                .collect(Collectors.joining(", ", "concat_ws('|', ", ")"));
+    }
+
+    /**
+     * 行哈希为 MD5，桶内排序后再做一次 MD5，排序在库内完成。
+     */
+    @Override
+    protected String bucketDigestExpression(String rowText) {
+        String rowHash = "md5(" + rowText + ")";
+        return "md5(string_agg(" + rowHash + ", '' ORDER BY " + rowHash + "))";
+    }
+
+    @Override
+    protected String sampleClause(double samplePercent) {
+        return samplePercent >= 100D ? "" : " TABLESAMPLE SYSTEM (" + formatPercent(samplePercent) + ")";
+    }
+
+    private String conflictClause(List<String> columns, List<String> primaryKeyColumns) {
         String conflictColumns = primaryKeyColumns.stream().map(this::quoteIdentifier).collect(Collectors.joining(", "));
         String updateClause = columns.stream()
                 .filter(column -> !isPrimaryKey(column, primaryKeyColumns))
@@ -36,7 +202,6 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         if (updateClause.isEmpty()) {
             updateClause = quoteIdentifier(primaryKeyColumns.get(0)) + " = EXCLUDED." + quoteIdentifier(primaryKeyColumns.get(0));
         }
-        return "INSERT INTO " + qualifiedTableName + " (" + insertColumns + ") VALUES (" + insertValues + ")"
-                + " ON CONFLICT (" + conflictColumns + ") DO UPDATE SET " + updateClause;
+        return " ON CONFLICT (" + conflictColumns + ") DO UPDATE SET " + updateClause;
     }
 }
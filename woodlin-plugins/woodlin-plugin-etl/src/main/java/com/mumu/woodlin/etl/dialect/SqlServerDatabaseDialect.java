@@ -1,8 +1,12 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import com.mumu.woodlin.common.datasource.spi.base.CatalogMarkerSql;
 import org.springframework.stereotype.Component;
 
 /**
@@ -19,6 +23,54 @@ public DatabaseDialectType getDialectType() {
         return DatabaseDialectType.SQL_SERVER;
     }
 
+    /**
+     * 与元数据提取器的表级缓存标记共用 {@link CatalogMarkerSql#SQL_SERVER_TABLE}。
+     */
+    @Override
+    public String buildStructureMarkerSql() {
+        return CatalogMarkerSql.SQL_SERVER_TABLE;
+    }
+
+    /**
+     * 装载前 {@code DISABLE} 非唯一非聚集索引并以 {@code NOCHECK} 停用受信任的外键，装载后各索引并行
+     * {@code REBUILD}，再以 {@code WITH CHECK} 恢复外键，保持其受信任状态。
+     */
+    @Override
+    public TargetIndexPlan captureTargetIndexPlan(Connection connection, String schemaName, String tableName)
+            throws SQLException {
+        String tableFilter = " JOIN sys.tables t ON t.object_id = %s JOIN sys.schemas s ON s.schema_id = t.schema_id"
+                + " WHERE s.name = COALESCE(?, SCHEMA_NAME()) AND t.name = ?";
+        List<String[]> indexes = queryCatalog(connection, "SELECT i.name FROM sys.indexes i"
+                + String.format(tableFilter, "i.object_id")
+                + " AND i.type = 2 AND i.is_unique = 0 AND i.is_disabled = 0 AND i.is_hypothetical = 0 ORDER BY i.name",
+                schemaName, tableName, 1);
+        List<String[]> foreignKeys = queryCatalog(connection, "SELECT f.name FROM sys.foreign_keys f"
+                + String.format(tableFilter, "f.parent_object_id")
+                + " AND f.is_disabled = 0 AND f.is_not_trusted = 0 ORDER BY f.name", schemaName, tableName, 1);
+        if (indexes.isEmpty() && foreignKeys.isEmpty()) {
+            return TargetIndexPlan.empty();
+        }
+        String table = qualifyTable(schemaName, tableName);
+        List<String> disable = new ArrayList<>();
+        List<String> restore = new ArrayList<>();
+        for (String[] foreignKey : foreignKeys) {
+            disable.add("ALTER TABLE " + table + " NOCHECK CONSTRAINT " + quoteIdentifier(foreignKey[0]));
+            restore.add("ALTER TABLE " + table + " WITH CHECK CHECK CONSTRAINT " + quoteIdentifier(foreignKey[0]));
+        }
+        List<String> rebuild = new ArrayList<>();
+        for (String[] index : indexes) {
+            disable.add("ALTER INDEX " + quoteIdentifier(index[0]) + " ON " + table + " DISABLE");
+            rebuild.add("ALTER INDEX " + quoteIdentifier(index[0]) + " ON " + table + " REBUILD");
+        }
+        return new TargetIndexPlan(
+                indexes.stream().map(index -> index[0]).toList(),
+                foreignKeys.stream().map(foreignKey -> foreignKey[0]).toList(),
+                disable,
+                rebuild,
+                restore
+        );
+    }
+
     @Override
     public String quoteIdentifier(String identifier) {
         return "[" + identifier + "]";
@@ -29,6 +81,82 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         String sourceProjection = columns.stream()
                 .map(column -> "? AS " + quoteIdentifier(column))
                 .collect(Collectors.joining(", "));
+        return buildMergeSql(qualifiedTableName, "(SELECT " + sourceProjection + ")", columns, primaryKeyColumns);
+    }
+
+    /**
+     * 使用以 {@code #} 开头的本地临时表，会话结束时删除。
+     */
+    @Override
+    public String buildStagingTableName(String baseName) {
+        return "#" + baseName;
+    }
+
+    @Override
+    public String buildCreateStagingTableSql(String stagingTableName, String qualifiedTableName, List<String> columns) {
+        return "SELECT " + joinQuotedColumns(columns) + " INTO " + stagingTableName + " FROM " + qualifiedTableName
+                + " WHERE 1 = 0";
+    }
+
+    @Override
+    public String buildStagingMergeSql(
+            String qualifiedTableName,
+            String stagingTableName,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
+        return buildMergeSql(qualifiedTableName, stagingTableName, columns, primaryKeyColumns);
+    }
+
+    @Override
+    public String buildDropStagingTableSql(String stagingTableName) {
+        return "DROP TABLE IF EXISTS " + stagingTableName;
+    }
+
+    @Override
+    public String buildBinaryOrderExpression(String keyColumn) {
+        return quoteIdentifier(keyColumn) + " COLLATE Latin1_General_BIN2";
+    }
+
+    @Override
+    public String buildLimitSql(String orderedSelectSql, int rowLimit) {
+        return orderedSelectSql + " OFFSET 0 ROWS FETCH NEXT " + rowLimit + " ROWS ONLY";
+    }
+
+    @Override
+    public String buildBucketExpression(String keyColumn, int bucketSize) {
+        return "CAST(CAST(HASHBYTES('MD5', CAST(" + quoteIdentifier(keyColumn) + " AS NVARCHAR(4000))) AS BINARY(4)) AS BIGINT) % "
+                + bucketSize;
+    }
+
+    @Override
+    protected String rowTextExpression(List<String> quotedColumns) {
+        return quotedColumns.stream()
+                .map(column -> "ISNULL(CAST(" + column + " AS NVARCHAR(MAX)), " + NULL_TEXT + ")")
+                .collect(Collectors.joining(", N'|', ", "CONCAT(", ")"));
+    }
+
+    /**
+     * MD5 的前后两段 32 位分别求和；CHECKSUM 系列受排序规则影响，不用于摘要。
+     */
+    @Override
+    protected String bucketDigestExpression(String rowText) {
+        String digest = "HASHBYTES('MD5', " + rowText + ")";
+        return "CONCAT(SUM(CAST(SUBSTRING(" + digest + ", 1, 4) AS BIGINT)), ':', SUM(CAST(SUBSTRING(" + digest
+                + ", 5, 4) AS BIGINT)))";
+    }
+
+    @Override
+    protected String sampleClause(double samplePercent) {
+        return samplePercent >= 100D ? "" : " TABLESAMPLE (" + formatPercent(samplePercent) + " PERCENT)";
+    }
+
+    private String buildMergeSql(
+            String qualifiedTableName,
+            String source,
+            List<String> columns,
+            List<String> primaryKeyColumns
+    ) {
         String onClause = primaryKeyColumns.stream()
                 .map(column -> "target." + quoteIdentifier(column) + " = source." + quoteIdentifier(column))
                 .collect(Collectors.joining(" AND "));
@@ -44,7 +172,7 @@ public String buildUpsertSql(String qualifiedTableName, List<String> columns, Li
         String insertValues = columns.stream()
                 .map(column -> "source." + quoteIdentifier(column))
                 .collect(Collectors.joining(", "));
-        return "MERGE " + qualifiedTableName + " AS target USING (SELECT " + sourceProjection + ") AS source "
+        return "MERGE " + qualifiedTableName + " AS target USING " + source + " AS source "
                 + "ON (" + onClause + ") "
                 + "WHEN MATCHED THEN UPDATE SET " + updateClause + " "
                 + "WHEN NOT MATCHED THEN INSERT (" + insertColumns + ") VALUES (" + insertValues + ");";
@@ -0,0 +1,66 @@
+package com.mumu.woodlin.etl.dialect;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 流式读取语句：持有已按驱动要求设置游标模式的查询语句，关闭时一并恢复为流式读取临时修改的连接设置。
+ *
+ * <p>同一连接上同时只应打开一个流式读取语句，读取期间不要在该连接上执行其他语句。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class StreamingStatement implements AutoCloseable {
+
+    private final Connection connection;
+    private final PreparedStatement statement;
+    private final boolean restoreAutoCommit;
+
+    /**
+     * 创建流式读取语句。
+     *
+     * @param connection        数据库连接
+     * @param statement         查询语句
+     * @param restoreAutoCommit 关闭时是否结束读取事务并恢复自动提交
+     */
+    public StreamingStatement(Connection connection, PreparedStatement statement, boolean restoreAutoCommit) {
+        this.connection = connection;
+        this.statement = statement;
+        this.restoreAutoCommit = restoreAutoCommit;
+    }
+
+    /**
+     * 查询语句，用于绑定参数。
+     *
+     * @return 查询语句
+     */
+    public PreparedStatement statement() {
+        return statement;
+    }
+
+    /**
+     * 执行查询。
+     *
+     * @return 只进只读结果集
+     * @throws SQLException 查询失败
+     */
+    public ResultSet executeQuery() throws SQLException {
+        return statement.executeQuery();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            statement.close();
+        } finally {
+            if (restoreAutoCommit && !connection.isClosed()) {
+                // 读取事务只含查询，回滚即可结束，恢复自动提交后连接可照常复用
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
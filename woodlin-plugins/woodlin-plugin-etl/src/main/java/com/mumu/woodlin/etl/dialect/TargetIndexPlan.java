@@ -0,0 +1,86 @@
+package com.mumu.woodlin.etl.dialect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 清空重载前捕获的目标表二级索引与约束处理计划。
+ *
+ * <p>全部语句在禁用前一次生成：{@code disableStatements} 依次执行（先约束后索引），装载完成后
+ * {@code rebuildStatements} 彼此独立、可在多个连接上并行执行，最后依次执行 {@code restoreStatements} 恢复约束。
+ * 前若干条禁用语句与恢复语句一一对应，其余禁用语句与重建语句一一对应。</p>
+ *
+ * @param indexNames         将被删除或置为不可用的二级索引
+ * @param constraintNames    将被删除或停用的约束
+ * @param disableStatements  装载前执行的语句
+ * @param rebuildStatements  装载后重建索引的语句，可并行
+ * @param restoreStatements  索引重建后恢复约束的语句
+ * @author mumu
+ * @since 1.0.0
+ */
+public record TargetIndexPlan(
+        List<String> indexNames,
+        List<String> constraintNames,
+        List<String> disableStatements,
+        List<String> rebuildStatements,
+        List<String> restoreStatements
+) {
+
+    /**
+     * 创建计划。
+     */
+    public TargetIndexPlan {
+        indexNames = List.copyOf(indexNames);
+        constraintNames = List.copyOf(constraintNames);
+        disableStatements = List.copyOf(disableStatements);
+        rebuildStatements = List.copyOf(rebuildStatements);
+        restoreStatements = List.copyOf(restoreStatements);
+    }
+
+    /**
+     * 空计划，表示不处理索引与约束。
+     *
+     * @return 空计划
+     */
+    public static TargetIndexPlan empty() {
+        return new TargetIndexPlan(List.of(), List.of(), List.of(), List.of(), List.of());
+    }
+
+    /**
+     * 是否无需处理。
+     *
+     * @return 无索引与约束需要处理时返回 true
+     */
+    public boolean isEmpty() {
+        return disableStatements.isEmpty();
+    }
+
+    /**
+     * 只含前 {@code executedCount} 条禁用语句对应的重建、恢复语句的计划，用于禁用中途失败时恢复已处理的部分。
+     *
+     * @param executedCount 已成功执行的禁用语句数
+     * @return 部分计划
+     */
+    public TargetIndexPlan executedPart(int executedCount) {
+        int constraintCount = Math.min(executedCount, restoreStatements.size());
+        int indexCount = Math.min(Math.max(executedCount - restoreStatements.size(), 0), rebuildStatements.size());
+        return new TargetIndexPlan(
+                indexCount > 0 ? indexNames : List.of(),
+                constraintNames.subList(0, Math.min(constraintCount, constraintNames.size())),
+                disableStatements.subList(0, Math.min(executedCount, disableStatements.size())),
+                rebuildStatements.subList(0, indexCount),
+                restoreStatements.subList(0, constraintCount)
+        );
+    }
+
+    /**
+     * 恢复所需的全部 DDL，按执行顺序排列，供失败时人工补执行。
+     *
+     * @return 重建与恢复语句
+     */
+    public List<String> restoreDdl() {
+        List<String> statements = new ArrayList<>(rebuildStatements);
+        statements.addAll(restoreStatements);
+        return statements;
+    }
+}
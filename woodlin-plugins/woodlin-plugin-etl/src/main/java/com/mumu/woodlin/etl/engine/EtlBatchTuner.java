@@ -0,0 +1,271 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.SQLException;
+import java.sql.SQLTransactionRollbackException;
+import java.util.Set;
+
+/**
+ * 写入批量参数的反馈调节器：按观测到的语句耗时、吞吐与锁冲突，在配置范围内调整 upsert 批大小、
+ * 提交间隔与按主键回查的 IN 列表长度。同一任务的各桶工作线程共享一个实例。
+ *
+ * <p>批大小按爬山法调节：每 {@value #WINDOW_BATCHES} 个整批统计一次吞吐，吞吐下降则反转调整方向，
+ * 平均耗时超过目标时只缩小；提交间隔与 IN 列表长度按单次耗时与目标耗时比较放大或缩小；
+ * 出现锁等待超时或死锁时批大小与提交间隔减半。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlBatchTuner {
+
+    private static final int WINDOW_BATCHES = 4;
+    private static final double GROW = 1.25;
+    private static final double SHRINK = 0.8;
+
+    /**
+     * 锁冲突的厂商错误码：MySQL 1205/1213，SQL Server 1205/1222，Oracle ORA-00054/00060/30006。
+     */
+    private static final Set<Integer> LOCK_ERROR_CODES = Set.of(54, 60, 1205, 1213, 1222, 30006);
+
+    private final Limits limits;
+    private final boolean adaptive;
+
+    private int batchSize;
+    private int commitRows;
+    private int inListSize;
+    private int direction = 1;
+    private long windowRows;
+    private long windowNanos;
+    private int windowBatches;
+    private double lastThroughput;
+    private boolean contendedSinceCommit;
+    private long contentionCount;
+
+    private EtlBatchTuner(Limits limits, Snapshot initial, boolean adaptive) {
+        this.limits = limits;
+        this.adaptive = adaptive;
+        this.batchSize = adaptive ? limits.clampBatch(initial.batchSize()) : initial.batchSize();
+        this.commitRows = adaptive ? limits.clampCommit(initial.commitRows()) : initial.commitRows();
+        this.inListSize = adaptive ? limits.clampInList(initial.inListSize()) : initial.inListSize();
+    }
+
+    /**
+     * 创建自适应调节器，初始值超出范围时收敛到边界。
+     *
+     * @param limits  调节范围
+     * @param initial 初始值，通常为上次执行保存的结果
+     * @return 调节器
+     */
+    public static EtlBatchTuner adaptive(Limits limits, Snapshot initial) {
+        return new EtlBatchTuner(limits, initial, true);
+    }
+
+    /**
+     * 创建固定参数的调节器，观测结果只计数不调整。
+     *
+     * @param values 固定值；提交间隔为 0 表示沿用连接的自动提交
+     * @return 调节器
+     */
+    public static EtlBatchTuner fixed(Snapshot values) {
+        return new EtlBatchTuner(null, values, false);
+    }
+
+    public synchronized int batchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 每个事务提交的行数，0 表示不显式管理事务。
+     *
+     * @return 提交间隔
+     */
+    public synchronized int commitRows() {
+        return commitRows;
+    }
+
+    public synchronized int inListSize() {
+        return inListSize;
+    }
+
+    public synchronized long contentionCount() {
+        return contentionCount;
+    }
+
+    /**
+     * 当前参数，写入检查点供下次执行预热。
+     *
+     * @return 参数快照
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(batchSize, commitRows, inListSize);
+    }
+
+    /**
+     * 记录一次批量执行。不足半批的尾批只参与耗时上限判断，不计入吞吐窗口。
+     *
+     * @param rows         本批行数
+     * @param elapsedNanos 执行耗时（纳秒）
+     */
+    public synchronized void recordBatch(int rows, long elapsedNanos) {
+        if (!adaptive || rows <= 0) {
+            return;
+        }
+        if (elapsedNanos > limits.targetNanos() * 2) {
+            // 单条语句已明显超时，不等窗口结束直接缩小
+            direction = -1;
+            batchSize = limits.clampBatch(batchSize * SHRINK);
+            resetWindow();
+            return;
+        }
+        if (rows * 2 < batchSize) {
+            return;
+        }
+        windowRows += rows;
+        windowNanos += elapsedNanos;
+        if (++windowBatches < WINDOW_BATCHES) {
+            return;
+        }
+        double throughput = windowRows * 1_000_000_000.0 / Math.max(windowNanos, 1L);
+        if (windowNanos / windowBatches > limits.targetNanos()) {
+            direction = -1;
+        } else if (lastThroughput > 0 && throughput < lastThroughput * 0.95) {
+            direction = -direction;
+        }
+        batchSize = limits.clampBatch(direction > 0 ? batchSize * GROW : batchSize * SHRINK);
+        resetWindow();
+        lastThroughput = throughput;
+    }
+
+    /**
+     * 记录一次事务提交：期间无锁冲突且耗时低于目标时放大提交间隔，超过目标时缩小。
+     *
+     * @param elapsedNanos 提交耗时（纳秒）
+     */
+    public synchronized void recordCommit(long elapsedNanos) {
+        if (!adaptive) {
+            return;
+        }
+        if (elapsedNanos > limits.targetNanos()) {
+            commitRows = limits.clampCommit(commitRows * SHRINK);
+        } else if (!contendedSinceCommit) {
+            commitRows = limits.clampCommit(commitRows * GROW);
+        }
+        contendedSinceCommit = false;
+    }
+
+    /**
+     * 记录一次按主键 IN 列表回查。
+     *
+     * @param keys         本次键数量
+     * @param elapsedNanos 查询耗时（纳秒）
+     */
+    public synchronized void recordLookup(int keys, long elapsedNanos) {
+        if (!adaptive) {
+            return;
+        }
+        if (elapsedNanos > limits.targetNanos()) {
+            inListSize = limits.clampInList(inListSize * SHRINK);
+        } else if (keys >= inListSize && elapsedNanos * 2 < limits.targetNanos()) {
+            inListSize = limits.clampInList(inListSize * GROW);
+        }
+    }
+
+    /**
+     * 记录一次锁等待超时或死锁：批大小与提交间隔减半，缩短持锁时间。
+     */
+    public synchronized void recordContention() {
+        contentionCount++;
+        if (!adaptive) {
+            return;
+        }
+        contendedSinceCommit = true;
+        direction = -1;
+        batchSize = limits.clampBatch(batchSize * 0.5);
+        commitRows = limits.clampCommit(commitRows * 0.5);
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowRows = 0;
+        windowNanos = 0;
+        windowBatches = 0;
+        lastThroughput = 0;
+    }
+
+    /**
+     * 判断异常是否由锁等待超时或死锁引起，这类失败缩小批量后重试即可成功。
+     *
+     * @param exception SQL 异常
+     * @return 是否锁冲突
+     */
+    public static boolean isContention(SQLException exception) {
+        for (SQLException current = exception; current != null; current = current.getNextException()) {
+            if (isLockFailure(current) || current.getCause() instanceof SQLException cause && isLockFailure(cause)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLockFailure(SQLException exception) {
+        if (exception instanceof SQLTransactionRollbackException) {
+            return true;
+        }
+        String sqlState = exception.getSQLState();
+        if (sqlState != null && (sqlState.startsWith("40") || "55P03".equals(sqlState))) {
+            return true;
+        }
+        return LOCK_ERROR_CODES.contains(exception.getErrorCode());
+    }
+
+    /**
+     * 调节范围。
+     *
+     * @param minBatchSize    批大小下限
+     * @param maxBatchSize    批大小上限
+     * @param minCommitRows   提交间隔下限
+     * @param maxCommitRows   提交间隔上限
+     * @param minInListSize   IN 列表长度下限
+     * @param maxInListSize   IN 列表长度上限
+     * @param targetMillis    单条语句的目标耗时（毫秒）
+     */
+    public record Limits(
+            int minBatchSize,
+            int maxBatchSize,
+            int minCommitRows,
+            int maxCommitRows,
+            int minInListSize,
+            int maxInListSize,
+            long targetMillis
+    ) {
+
+        private long targetNanos() {
+            return targetMillis * 1_000_000L;
+        }
+
+        private int clampBatch(double value) {
+            return clamp(value, minBatchSize, maxBatchSize);
+        }
+
+        private int clampCommit(double value) {
+            return clamp(value, minCommitRows, maxCommitRows);
+        }
+
+        private int clampInList(double value) {
+            return clamp(value, minInListSize, maxInListSize);
+        }
+
+        private static int clamp(double value, int min, int max) {
+            return (int) Math.max(min, Math.min(max, Math.round(value)));
+        }
+    }
+
+    /**
+     * 参数快照。
+     *
+     * @param batchSize  upsert 批大小
+     * @param commitRows 提交间隔（行）
+     * @param inListSize IN 列表长度
+     */
+    public record Snapshot(int batchSize, int commitRows, int inListSize) {
+    }
+}
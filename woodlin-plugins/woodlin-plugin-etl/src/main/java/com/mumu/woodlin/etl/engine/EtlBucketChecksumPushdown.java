@@ -0,0 +1,120 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+
+/**
+ * 桶位校验下推：在数据库内按桶分组计算行数与摘要，只把摘要不一致的桶号交给调用方同步。
+ *
+ * <p>桶号与摘要均由方言 SQL 计算，仅在源端、目标端为同类数据库时可比较；
+ * 字段文本形式不同（如小数位数不同）只会导致误判为不一致，不会漏掉真实差异。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlBucketChecksumPushdown {
+
+    private final DatabaseDialect dialect;
+    private final int bucketSize;
+
+    /**
+     * 创建桶位校验下推。
+     *
+     * @param dialect    数据库方言
+     * @param bucketSize 桶数量
+     */
+    public EtlBucketChecksumPushdown(DatabaseDialect dialect, int bucketSize) {
+        this.dialect = dialect;
+        this.bucketSize = bucketSize;
+    }
+
+    /**
+     * 方言是否支持下推。
+     *
+     * @return 是否支持
+     */
+    public boolean isSupported() {
+        return dialect.buildBucketExpression("k", bucketSize) != null;
+    }
+
+    /**
+     * 桶号表达式。
+     *
+     * @param keyColumn 键字段
+     * @return 表达式
+     */
+    public String bucketExpression(String keyColumn) {
+        return dialect.buildBucketExpression(keyColumn, bucketSize);
+    }
+
+    /**
+     * 查询各桶的行数与摘要。
+     *
+     * @param connection         连接
+     * @param qualifiedTableName 全限定表名
+     * @param keyColumn          键字段
+     * @param columns            参与校验的字段，源端与目标端须按相同顺序对应
+     * @param whereClause        过滤条件，可为空
+     * @param parameters         过滤条件参数
+     * @return 桶号到聚合结果，按桶号排序；没有数据的桶不出现
+     * @throws SQLException 查询失败
+     */
+    public Map<Integer, BucketAggregate> query(
+            Connection connection,
+            String qualifiedTableName,
+            String keyColumn,
+            List<String> columns,
+            String whereClause,
+            List<Object> parameters
+    ) throws SQLException {
+        String sql = dialect.buildBucketChecksumSql(qualifiedTableName, keyColumn, columns, bucketSize, whereClause);
+        if (sql == null) {
+            throw new SQLException("数据库方言不支持桶位校验下推: " + dialect.getDialectType());
+        }
+        Map<Integer, BucketAggregate> buckets = new TreeMap<>();
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int index = 0; index < parameters.size(); index++) {
+                statement.setObject(index + 1, parameters.get(index));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    buckets.put(resultSet.getInt(1), new BucketAggregate(resultSet.getLong(2), resultSet.getString(3)));
+                }
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * 比较两端结果，返回行数或摘要不一致、或只在一端存在的桶号。
+     *
+     * @param source 源端结果
+     * @param target 目标端结果
+     * @return 不一致的桶号，升序
+     */
+    public static Set<Integer> changedBuckets(Map<Integer, BucketAggregate> source, Map<Integer, BucketAggregate> target) {
+        Set<Integer> buckets = new TreeSet<>(source.keySet());
+        buckets.addAll(target.keySet());
+        buckets.removeIf(bucket -> Objects.equals(source.get(bucket), target.get(bucket)));
+        return buckets;
+    }
+
+    /**
+     * 单个桶的聚合结果。
+     *
+     * @param rowCount 行数
+     * @param digest   桶摘要
+     */
+    public record BucketAggregate(long rowCount, String digest) {
+    }
+}
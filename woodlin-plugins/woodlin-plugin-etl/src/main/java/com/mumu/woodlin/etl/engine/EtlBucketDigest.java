@@ -0,0 +1,91 @@
+package com.mumu.woodlin.etl.engine;
+
+/**
+ * 与行顺序无关的桶摘要：行数、行哈希之和（模 2^64）与异或。
+ *
+ * <p>和与异或都满足交换律与结合律，源端、目标端无需排序即可比较，跨数据块、跨区间的部分摘要也可直接合并。
+ * 两者同时使用，避免成对重复行在异或下相互抵消。非线程安全。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlBucketDigest {
+
+    private long rowCount;
+    private long sum;
+    private long xor;
+
+    /**
+     * 计入一行。
+     *
+     * @param rowHash 行哈希
+     */
+    public void add(long rowHash) {
+        rowCount++;
+        sum += rowHash;
+        xor ^= rowHash;
+    }
+
+    /**
+     * 合并另一个摘要。
+     *
+     * @param other 摘要，可为空
+     */
+    public void merge(EtlBucketDigest other) {
+        if (other == null) {
+            return;
+        }
+        rowCount += other.rowCount;
+        sum += other.sum;
+        xor ^= other.xor;
+    }
+
+    /**
+     * 计算批次全部行的摘要。
+     *
+     * @param hasher 行哈希器
+     * @param rows   行批次
+     * @return 摘要
+     */
+    public static EtlBucketDigest of(EtlRowHasher hasher, EtlRowBatch rows) {
+        EtlBucketDigest digest = new EtlBucketDigest();
+        for (int row = 0; row < rows.size(); row++) {
+            digest.add(hasher.hash(rows, row));
+        }
+        return digest;
+    }
+
+    /**
+     * 已计入的行数。
+     *
+     * @return 行数
+     */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /**
+     * 摘要文本：和与异或各 16 位十六进制。
+     *
+     * @return 摘要文本
+     */
+    public String value() {
+        return String.format("%016x%016x", sum, xor);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof EtlBucketDigest digest
+                && rowCount == digest.rowCount && sum == digest.sum && xor == digest.xor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(sum * 31 + xor) * 31 + Long.hashCode(rowCount);
+    }
+
+    @Override
+    public String toString() {
+        return value();
+    }
+}
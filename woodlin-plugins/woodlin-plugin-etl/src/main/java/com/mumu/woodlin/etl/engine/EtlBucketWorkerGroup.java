@@ -0,0 +1,163 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 单次执行内的桶位工作组。
+ *
+ * <p>限制同一任务同时在跑的桶数，并为每个工作者借出独立的目标库连接。连接在本次执行内复用，
+ * 任务失败时连接直接丢弃，执行结束后统一归还连接池；归还前执行清理回调（如删除会话级暂存表）。
+ * 工作组关闭后仍在执行的任务（如某个桶失败后调用方提前关闭）结束时自行关闭所用连接，不再放回空闲队列。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlBucketWorkerGroup implements AutoCloseable {
+
+    private final DataSource dataSource;
+    private final EtlBucketWorkerPool workerPool;
+    private final Semaphore slots;
+    private final Deque<Connection> idleConnections = new ArrayDeque<>();
+    private final Consumer<Connection> releaseHook;
+    private boolean closed;
+
+    /**
+     * 创建工作组。
+     *
+     * @param dataSource  目标数据源
+     * @param workerPool  桶位工作线程池
+     * @param parallelism 并行上限
+     */
+    public EtlBucketWorkerGroup(DataSource dataSource, EtlBucketWorkerPool workerPool, int parallelism) {
+        this(dataSource, workerPool, parallelism, connection -> { });
+    }
+
+    /**
+     * 创建工作组，连接归还连接池前执行清理回调。
+     *
+     * @param dataSource  目标数据源
+     * @param workerPool  桶位工作线程池
+     * @param parallelism 并行上限
+     * @param releaseHook 连接清理回调，不应抛出异常
+     */
+    public EtlBucketWorkerGroup(
+            DataSource dataSource,
+            EtlBucketWorkerPool workerPool,
+            int parallelism,
+            Consumer<Connection> releaseHook
+    ) {
+        this.dataSource = dataSource;
+        this.workerPool = workerPool;
+        this.slots = new Semaphore(Math.max(parallelism, 1));
+        this.releaseHook = releaseHook;
+    }
+
+    /**
+     * 提交使用独立目标连接的任务；并行数已满时阻塞提交线程。
+     *
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 异步结果
+     * @throws InterruptedException 等待并行槽位时被中断
+     */
+    public <T> CompletableFuture<T> submit(ConnectionTask<T> task) throws InterruptedException {
+        slots.acquire();
+        try {
+            return workerPool.submit(() -> {
+                try {
+                    Connection connection = borrow();
+                    boolean healthy = false;
+                    try {
+                        T result = task.run(connection);
+                        healthy = true;
+                        return result;
+                    } finally {
+                        giveBack(connection, healthy);
+                    }
+                } finally {
+                    slots.release();
+                }
+            });
+        } catch (RuntimeException exception) {
+            slots.release();
+            throw exception;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (idleConnections) {
+            closed = true;
+            for (Connection connection : idleConnections) {
+                closeQuietly(connection);
+            }
+            idleConnections.clear();
+        }
+    }
+
+    private Connection borrow() throws SQLException {
+        synchronized (idleConnections) {
+            Connection connection = idleConnections.pollFirst();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return dataSource.getConnection();
+    }
+
+    private void giveBack(Connection connection, boolean healthy) {
+        if (!healthy) {
+            closeQuietly(connection);
+            return;
+        }
+        synchronized (idleConnections) {
+            if (!closed) {
+                idleConnections.addFirst(connection);
+                return;
+            }
+        }
+        closeQuietly(connection);
+    }
+
+    private void closeQuietly(Connection connection) {
+        try {
+            releaseHook.accept(connection);
+        } catch (RuntimeException exception) {
+            log.debug("桶位工作连接清理失败: {}", exception.getMessage());
+        }
+        try {
+            connection.close();
+        } catch (SQLException exception) {
+            log.debug("关闭桶位工作连接失败: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * 使用目标连接执行的任务。
+     *
+     * @param <T> 结果类型
+     */
+    @FunctionalInterface
+    public interface ConnectionTask<T> {
+
+        /**
+         * 执行任务。
+         *
+         * @param connection 工作者独占的目标连接
+         * @return 结果
+         * @throws Exception 执行失败
+         */
+        T run(Connection connection) throws Exception;
+    }
+}
@@ -0,0 +1,86 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * ETL 桶位工作线程池。
+ *
+ * <p>特意不以 {@code Executor} 类型暴露为 Bean，避免接管应用默认的 {@code @Async} 执行器。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public class EtlBucketWorkerPool {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxParallelismPerJob;
+
+    /**
+     * 创建桶位工作线程池。
+     *
+     * @param corePoolSize         核心线程数
+     * @param maxPoolSize          最大线程数
+     * @param queueCapacity        队列容量
+     * @param keepAliveSeconds     空闲线程存活秒数
+     * @param maxParallelismPerJob 单任务并行上限
+     */
+    public EtlBucketWorkerPool(
+            int corePoolSize,
+            int maxPoolSize,
+            int queueCapacity,
+            int keepAliveSeconds,
+            int maxParallelismPerJob
+    ) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(Math.max(corePoolSize, 1));
+        taskExecutor.setMaxPoolSize(Math.max(maxPoolSize, Math.max(corePoolSize, 1)));
+        taskExecutor.setQueueCapacity(Math.max(queueCapacity, 0));
+        taskExecutor.setKeepAliveSeconds(Math.max(keepAliveSeconds, 0));
+        taskExecutor.setThreadNamePrefix("etl-bucket-");
+        taskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.setAwaitTerminationSeconds(30);
+        taskExecutor.initialize();
+        this.executor = taskExecutor;
+        this.maxParallelismPerJob = Math.max(maxParallelismPerJob, 1);
+    }
+
+    /**
+     * 提交任务。
+     *
+     * @param task 任务
+     * @param <T>  结果类型
+     * @return 异步结果
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(task.call());
+            } catch (Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 单任务并行上限。
+     *
+     * @return 并行上限
+     */
+    public int getMaxParallelismPerJob() {
+        return maxParallelismPerJob;
+    }
+
+    /**
+     * 关闭线程池，等待在途任务完成。
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
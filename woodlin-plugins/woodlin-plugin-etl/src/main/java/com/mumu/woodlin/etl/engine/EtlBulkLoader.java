@@ -0,0 +1,344 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+
+import com.mumu.woodlin.etl.dialect.BulkLoadMethod;
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 目标端批量装载器：按方言选择 COPY、LOAD DATA、多行 INSERT 或 JDBC 批处理，逐个数据块写入。
+ *
+ * <p>原生装载以 CSV 流逐行编码交给驱动，不在内存中拼接整块文本。首个数据块因能力不足失败（驱动类缺失、
+ * 连接不是对应驱动的连接、MySQL 未开启 {@code local_infile}）时降级为多行 INSERT 并重试该数据块；
+ * 主键冲突、取值非法、约束违反等数据错误以及已成功装载过后的任何失败都原样抛出，不降级。
+ * LOAD DATA 无法无损表达二进制、布尔（BIT）与未知类型字段，COPY 无法表达未知类型字段，含这些字段的表直接使用多行 INSERT。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlBulkLoader {
+
+    private static final int MAX_ROWS_PER_INSERT = 1000;
+    private static final int MAX_PARAMETERS_PER_INSERT = 2000;
+    private static final int BATCH_SIZE = 500;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final DatabaseDialect dialect;
+    private final String qualifiedTableName;
+    private final EtlRowSchema schema;
+    private volatile BulkLoadMethod method;
+    private volatile boolean nativeVerified;
+
+    /**
+     * 创建批量装载器。
+     *
+     * @param dialect            目标端方言
+     * @param qualifiedTableName 全限定表名
+     * @param schema             行结构，装载字段与顺序
+     */
+    public EtlBulkLoader(DatabaseDialect dialect, String qualifiedTableName, EtlRowSchema schema) {
+        this.dialect = dialect;
+        this.qualifiedTableName = qualifiedTableName;
+        this.schema = schema;
+        this.method = resolveMethod(dialect.getBulkLoadMethod(), schema);
+    }
+
+    /**
+     * 当前装载方式，原生装载降级后随之变化。
+     *
+     * @return 装载方式
+     */
+    public BulkLoadMethod method() {
+        return method;
+    }
+
+    /**
+     * 装载一个数据块。
+     *
+     * @param connection 目标库连接
+     * @param rows       行批次，结构须与创建时一致
+     * @return 装载行数
+     * @throws SQLException 装载失败
+     */
+    public int load(Connection connection, EtlRowBatch rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        BulkLoadMethod current = method;
+        if (current == BulkLoadMethod.COPY || current == BulkLoadMethod.LOAD_DATA) {
+            try {
+                if (current == BulkLoadMethod.COPY) {
+                    PostgresCopy.copyIn(connection, dialect.buildBulkLoadSql(qualifiedTableName, schema.columnNames()),
+                            new CsvRowStream(rows, ""));
+                } else {
+                    MySqlLoadData.load(connection, dialect.buildBulkLoadSql(qualifiedTableName, schema.columnNames()),
+                            new CsvRowStream(rows, "NULL"));
+                }
+                nativeVerified = true;
+                return rows.size();
+            } catch (SQLException | LinkageError exception) {
+                if (nativeVerified || !isCapabilityError(exception)) {
+                    throw exception instanceof SQLException sqlException
+                            ? sqlException
+                            : new SQLException("批量装载失败: " + exception.getMessage(), exception);
+                }
+                log.warn("原生批量装载不可用，降级为多行INSERT: table={}, method={}, error={}",
+                        qualifiedTableName, current, exception.getMessage());
+                method = BulkLoadMethod.MULTI_ROW_INSERT;
+                current = BulkLoadMethod.MULTI_ROW_INSERT;
+            }
+        }
+        return current == BulkLoadMethod.MULTI_ROW_INSERT
+                ? multiRowInsert(connection, rows)
+                : batchInsert(connection, rows);
+    }
+
+    /**
+     * 是否为原生装载能力不足导致的失败：驱动类缺失、连接无法转换为驱动连接、MySQL 禁用本地文件装载。
+     * 数据错误（SQLState 22、23 类）及其他数据库错误均不属于此类。
+     */
+    static boolean isCapabilityError(Throwable exception) {
+        if (exception instanceof LinkageError || exception instanceof NativeLoadUnavailableException) {
+            return true;
+        }
+        if (!(exception instanceof SQLException sqlException)) {
+            return false;
+        }
+        String sqlState = sqlException.getSQLState();
+        if (sqlState != null && (sqlState.startsWith("22") || sqlState.startsWith("23"))) {
+            return false;
+        }
+        // 1148: The used command is not allowed with this MySQL version；3948: Loading local data is disabled
+        int errorCode = sqlException.getErrorCode();
+        if (errorCode == 1148 || errorCode == 3948) {
+            return true;
+        }
+        String message = sqlException.getMessage() == null ? "" : sqlException.getMessage().toLowerCase(Locale.ROOT);
+        return "42000".equals(sqlState)
+                && (message.contains("not allowed") || message.contains("local data is disabled"));
+    }
+
+    /**
+     * 按字段类型修正方言给出的装载方式。
+     */
+    static BulkLoadMethod resolveMethod(BulkLoadMethod preferred, EtlRowSchema schema) {
+        for (int column = 0; column < schema.size(); column++) {
+            EtlColumnType type = schema.type(column);
+            if (preferred == BulkLoadMethod.COPY && type == EtlColumnType.OBJECT
+                    || preferred == BulkLoadMethod.LOAD_DATA && (type == EtlColumnType.OBJECT
+                    || type == EtlColumnType.BYTES || type == EtlColumnType.BOOLEAN)) {
+                return BulkLoadMethod.MULTI_ROW_INSERT;
+            }
+        }
+        return preferred;
+    }
+
+    private int multiRowInsert(Connection connection, EtlRowBatch rows) throws SQLException {
+        int columns = Math.max(schema.size(), 1);
+        int rowsPerStatement = Math.max(1, Math.min(MAX_ROWS_PER_INSERT, MAX_PARAMETERS_PER_INSERT / columns));
+        int fullStatements = rows.size() / rowsPerStatement;
+        if (fullStatements > 0) {
+            String sql = dialect.buildMultiRowInsertSql(qualifiedTableName, schema.columnNames(), rowsPerStatement);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                for (int batch = 0; batch < fullStatements; batch++) {
+                    bindRows(statement, rows, batch * rowsPerStatement, rowsPerStatement);
+                    statement.executeUpdate();
+                }
+            }
+        }
+        int remaining = rows.size() - fullStatements * rowsPerStatement;
+        if (remaining > 0) {
+            String sql = dialect.buildMultiRowInsertSql(qualifiedTableName, schema.columnNames(), remaining);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                bindRows(statement, rows, fullStatements * rowsPerStatement, remaining);
+                statement.executeUpdate();
+            }
+        }
+        return rows.size();
+    }
+
+    private void bindRows(PreparedStatement statement, EtlRowBatch rows, int from, int count) throws SQLException {
+        int columns = schema.size();
+        for (int offset = 0; offset < count; offset++) {
+            for (int column = 0; column < columns; column++) {
+                rows.column(column).bind(statement, offset * columns + column + 1, from + offset);
+            }
+        }
+    }
+
+    private int batchInsert(Connection connection, EtlRowBatch rows) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                dialect.buildInsertSql(qualifiedTableName, schema.columnNames()))) {
+            for (int row = 0; row < rows.size(); row++) {
+                rows.bindRow(statement, row);
+                statement.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    statement.executeBatch();
+                    statement.clearBatch();
+                }
+            }
+            if (rows.size() % BATCH_SIZE != 0) {
+                statement.executeBatch();
+            }
+        }
+        return rows.size();
+    }
+
+    /**
+     * 单元格的 CSV 文本：非空值加双引号，空值写为 {@code nullToken}。
+     */
+    static void appendCsvValue(StringBuilder builder, Object value, String nullToken) {
+        if (value == null) {
+            builder.append(nullToken);
+            return;
+        }
+        String text;
+        if (value instanceof BigDecimal decimal) {
+            text = decimal.toPlainString();
+        } else if (value instanceof Boolean flag) {
+            text = flag ? "true" : "false";
+        } else if (value instanceof byte[] bytes) {
+            text = "\\x" + HEX.formatHex(bytes);
+        } else if (value instanceof LocalDateTime dateTime) {
+            text = Timestamp.valueOf(dateTime).toString();
+        } else {
+            text = String.valueOf(value);
+        }
+        builder.append('"');
+        for (int index = 0; index < text.length(); index++) {
+            char character = text.charAt(index);
+            if (character == '"') {
+                builder.append('"');
+            }
+            builder.append(character);
+        }
+        builder.append('"');
+    }
+
+    /**
+     * 按需逐行编码的 CSV 输入流，行以 {@code \n} 结尾。
+     */
+    static final class CsvRowStream extends InputStream {
+
+        private final EtlRowBatch rows;
+        private final String nullToken;
+        private final StringBuilder line = new StringBuilder(256);
+        private byte[] buffer = new byte[0];
+        private int position;
+        private int nextRow;
+
+        CsvRowStream(EtlRowBatch rows, String nullToken) {
+            this.rows = rows;
+            this.nullToken = nullToken;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int copied = 0;
+            while (copied < length && fill()) {
+                int count = Math.min(length - copied, buffer.length - position);
+                System.arraycopy(buffer, position, target, offset + copied, count);
+                position += count;
+                copied += count;
+            }
+            return copied == 0 ? -1 : copied;
+        }
+
+        private boolean fill() {
+            while (position >= buffer.length) {
+                if (nextRow >= rows.size()) {
+                    return false;
+                }
+                line.setLength(0);
+                int columns = rows.schema().size();
+                for (int column = 0; column < columns; column++) {
+                    if (column > 0) {
+                        line.append(',');
+                    }
+                    appendCsvValue(line, rows.get(nextRow, column), nullToken);
+                }
+                line.append('\n');
+                nextRow++;
+                buffer = line.toString().getBytes(StandardCharsets.UTF_8);
+                position = 0;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * PostgreSQL COPY，仅在使用时加载驱动类。
+     */
+    private static final class PostgresCopy {
+
+        private static void copyIn(Connection connection, String sql, InputStream data) throws SQLException {
+            org.postgresql.copy.CopyManager copyManager;
+            try {
+                copyManager = connection.unwrap(org.postgresql.PGConnection.class).getCopyAPI();
+            } catch (SQLException exception) {
+                throw new NativeLoadUnavailableException("连接不支持 COPY: " + exception.getMessage(), exception);
+            }
+            try {
+                copyManager.copyIn(sql, data);
+            } catch (IOException exception) {
+                throw new SQLException("COPY 数据流写入失败: " + exception.getMessage(), exception);
+            }
+        }
+    }
+
+    /**
+     * MySQL LOAD DATA LOCAL INFILE，仅在使用时加载驱动类。
+     */
+    private static final class MySqlLoadData {
+
+        private static void load(Connection connection, String sql, InputStream data) throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                com.mysql.cj.jdbc.JdbcStatement mysqlStatement;
+                try {
+                    mysqlStatement = statement.unwrap(com.mysql.cj.jdbc.JdbcStatement.class);
+                } catch (SQLException exception) {
+                    throw new NativeLoadUnavailableException(
+                            "连接不支持 LOAD DATA LOCAL INFILE: " + exception.getMessage(), exception);
+                }
+                mysqlStatement.setLocalInfileInputStream(data);
+                statement.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * 连接无法转换为原生装载所需的驱动连接，此时尚未向数据库发送任何语句。
+     */
+    private static final class NativeLoadUnavailableException extends SQLException {
+
+        private static final long serialVersionUID = 1L;
+
+        private NativeLoadUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
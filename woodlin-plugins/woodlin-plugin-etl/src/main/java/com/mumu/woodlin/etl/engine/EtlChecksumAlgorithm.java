@@ -0,0 +1,102 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.Locale;
+
+/**
+ * 桶位校验算法及版本。
+ *
+ * <p>算法编码随桶位校验记录一起保存（{@code checksum_algorithm}），不同编码的校验值不可直接比较。
+ * 历史记录没有该字段，按 {@link #CRC32_V1} 解释：逐行拼接文本、按主键排序后计算 CRC32，现仅用于识别旧记录。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum EtlChecksumAlgorithm {
+
+    /**
+     * 历史算法：排序后的行文本 CRC32，不再用于新的校验。
+     */
+    CRC32_V1("CRC32_V1", null),
+
+    /**
+     * 规范化编码的 xxHash64 行哈希，桶内按和与异或合并。
+     */
+    XXH64_V2("XXH64_V2", EtlHashFunctions::xxHash64),
+
+    /**
+     * 规范化编码的 MurmurHash3 行哈希，桶内按和与异或合并。
+     */
+    MURMUR3_V2("MURMUR3_V2", EtlHashFunctions::murmur3x64),
+
+    /**
+     * 数据库内聚合计算的桶摘要（校验下推），具体函数由方言决定，仅同类数据库之间可比较。
+     */
+    SQL_V1("SQL_V1", null);
+
+    private final String code;
+    private final EtlRowHashFunction hashFunction;
+
+    EtlChecksumAlgorithm(String code, EtlRowHashFunction hashFunction) {
+        this.code = code;
+        this.hashFunction = hashFunction;
+    }
+
+    /**
+     * 持久化编码。
+     *
+     * @return 编码
+     */
+    public String code() {
+        return code;
+    }
+
+    /**
+     * 是否为仅用于识别历史记录的旧算法。
+     *
+     * @return 是否为旧算法
+     */
+    public boolean isLegacy() {
+        return this == CRC32_V1;
+    }
+
+    /**
+     * 是否在 JVM 内对行计算哈希，可用于 {@code woodlin.etl.checksum.algorithm}。
+     *
+     * @return 是否支持行哈希
+     */
+    public boolean hashesRows() {
+        return hashFunction != null;
+    }
+
+    /**
+     * 创建行哈希器，每个线程各自持有；{@link #CRC32_V1} 与 {@link #SQL_V1} 不支持。
+     *
+     * @return 行哈希器
+     */
+    public EtlRowHasher newRowHasher() {
+        if (hashFunction == null) {
+            throw new IllegalStateException("校验算法不支持在 JVM 内计算行哈希: " + code);
+        }
+        return new EtlRowHasher(hashFunction);
+    }
+
+    /**
+     * 按编码解析算法，空值视为历史算法；也接受不带版本的名称，如 {@code XXH64}、{@code MURMUR3}。
+     *
+     * @param code 编码
+     * @return 算法
+     * @throws IllegalArgumentException 编码无法识别
+     */
+    public static EtlChecksumAlgorithm fromCode(String code) {
+        if (code == null || code.isBlank()) {
+            return CRC32_V1;
+        }
+        String normalized = code.trim().toUpperCase(Locale.ROOT);
+        for (EtlChecksumAlgorithm algorithm : values()) {
+            if (algorithm.code.equals(normalized) || algorithm.code.startsWith(normalized + "_V")) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("不支持的校验算法: " + code);
+    }
+}
@@ -0,0 +1,31 @@
+package com.mumu.woodlin.etl.engine;
+
+/**
+ * ETL 流水线中流转的数据块。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public interface EtlChunk {
+
+    /**
+     * 数据块序号，按读取顺序递增。
+     *
+     * @return 序号
+     */
+    long sequence();
+
+    /**
+     * 数据块行数。
+     *
+     * @return 行数
+     */
+    int rowCount();
+
+    /**
+     * 数据块估算占用字节数，用于流水线内存预算。
+     *
+     * @return 估算字节数
+     */
+    long estimatedBytes();
+}
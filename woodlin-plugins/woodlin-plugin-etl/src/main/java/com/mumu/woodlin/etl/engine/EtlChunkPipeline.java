@@ -0,0 +1,289 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * ETL 三阶段分块流水线：读取 → 转换 → 写入。
+ *
+ * <p>读取与转换各占一个阶段线程，写入在调用线程执行。阶段之间通过有界队列衔接，
+ * 同时所有在途数据块共享一份字节预算：读取端在预算耗尽时阻塞，直到写入端处理完
+ * 前面的数据块并归还预算，从而保证内存占用与表大小无关。</p>
+ *
+ * <p>实例只能运行一次。</p>
+ *
+ * @param <S> 读取阶段产出的数据块类型
+ * @param <T> 转换阶段产出的数据块类型
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlChunkPipeline<S extends EtlChunk, T extends EtlChunk> {
+
+    private static final int BYTES_PER_PERMIT = 1024;
+    private static final long POLL_INTERVAL_MILLIS = 200L;
+
+    private final String name;
+    private final int queueCapacity;
+    private final int totalPermits;
+    private final long maxChunkBytes;
+
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    /**
+     * 创建流水线。
+     *
+     * @param name             流水线名称，用于阶段线程命名
+     * @param queueCapacity    每个阶段队列容量（数据块数）
+     * @param maxBufferedBytes 在途数据字节预算
+     */
+    public EtlChunkPipeline(String name, int queueCapacity, long maxBufferedBytes) {
+        this.name = name;
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        long permits = Math.max(maxBufferedBytes / BYTES_PER_PERMIT, 1L);
+        this.totalPermits = (int) Math.min(permits, Integer.MAX_VALUE);
+        // 读取中、两级队列、转换中、写入中的数据块共同分摊预算
+        this.maxChunkBytes = Math.max((long) totalPermits * BYTES_PER_PERMIT / (2L * this.queueCapacity + 3L), 1L);
+    }
+
+    /**
+     * 单个数据块建议的最大字节数，读取端据此切块。
+     *
+     * @return 字节数
+     */
+    public long maxChunkBytes() {
+        return maxChunkBytes;
+    }
+
+    /**
+     * 运行流水线，直至读取端结束且全部数据块写入完成。
+     *
+     * @param source      数据块读取端
+     * @param transformer 数据块转换函数
+     * @param sink        数据块写入端
+     * @throws Exception 任一阶段失败时抛出首个异常
+     */
+    public void run(ChunkSource<S> source, ChunkTransformer<S, T> transformer, ChunkSink<T> sink) throws Exception {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("流水线实例只能运行一次: " + name);
+        }
+        Semaphore budget = new Semaphore(totalPermits);
+        BlockingQueue<Envelope<S>> extracted = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<Envelope<T>> transformed = new ArrayBlockingQueue<>(queueCapacity);
+        Thread reader = startStage("reader", () -> {
+            source.read(chunk -> {
+                int permits = acquire(budget, chunk);
+                offer(extracted, new Envelope<>(chunk, permits));
+            });
+            offer(extracted, Envelope.end());
+        });
+        Thread transformerStage = startStage("transformer", () -> {
+            while (true) {
+                Envelope<S> envelope = poll(extracted);
+                if (envelope == null) {
+                    continue;
+                }
+                if (envelope.isEnd()) {
+                    offer(transformed, Envelope.end());
+                    return;
+                }
+                T output;
+                try {
+                    output = transformer.transform(envelope.chunk());
+                } catch (Exception exception) {
+                    budget.release(envelope.permits());
+                    throw exception;
+                }
+                offer(transformed, new Envelope<>(output, envelope.permits()));
+            }
+        });
+        try {
+            while (true) {
+                Envelope<T> envelope = poll(transformed);
+                if (envelope == null) {
+                    continue;
+                }
+                if (envelope.isEnd()) {
+                    break;
+                }
+                try {
+                    sink.accept(envelope.chunk());
+                } finally {
+                    budget.release(envelope.permits());
+                }
+            }
+        } catch (Exception exception) {
+            abort(exception);
+        } finally {
+            cancelled = true;
+            join(reader);
+            join(transformerStage);
+        }
+        rethrowFailure();
+    }
+
+    private Thread startStage(String stage, StageTask task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } catch (CancellationException ignored) {
+                // 其他阶段已失败，本阶段静默退出
+            } catch (Throwable throwable) {
+                abort(throwable);
+            }
+        }, name + "-" + stage);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    private int acquire(Semaphore budget, EtlChunk chunk) throws InterruptedException {
+        long requested = (chunk.estimatedBytes() + BYTES_PER_PERMIT - 1) / BYTES_PER_PERMIT;
+        int permits = (int) Math.min(Math.max(requested, 1L), totalPermits);
+        while (!budget.tryAcquire(permits, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkCancelled();
+        }
+        return permits;
+    }
+
+    private <E> void offer(BlockingQueue<E> queue, E element) throws InterruptedException {
+        while (!queue.offer(element, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+            checkCancelled();
+        }
+    }
+
+    private <E> E poll(BlockingQueue<E> queue) throws InterruptedException {
+        E element = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (element == null) {
+            checkCancelled();
+        }
+        return element;
+    }
+
+    private void checkCancelled() {
+        if (cancelled || failure.get() != null) {
+            throw new CancellationException(name + " 流水线已中止");
+        }
+    }
+
+    private void abort(Throwable throwable) {
+        if (failure.compareAndSet(null, throwable)) {
+            log.debug("ETL 流水线中止: pipeline={}, reason={}", name, throwable.getMessage());
+        }
+        cancelled = true;
+    }
+
+    private void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rethrowFailure() throws Exception {
+        Throwable throwable = failure.get();
+        if (throwable == null) {
+            return;
+        }
+        if (throwable instanceof Exception exception) {
+            throw exception;
+        }
+        throw (Error) throwable;
+    }
+
+    /**
+     * 数据块读取端。
+     *
+     * @param <S> 数据块类型
+     */
+    @FunctionalInterface
+    public interface ChunkSource<S> {
+
+        /**
+         * 顺序读取全部数据块并逐块提交。
+         *
+         * @param emitter 数据块提交器，预算不足时阻塞
+         * @throws Exception 读取失败
+         */
+        void read(ChunkEmitter<S> emitter) throws Exception;
+    }
+
+    /**
+     * 数据块提交器。
+     *
+     * @param <S> 数据块类型
+     */
+    @FunctionalInterface
+    public interface ChunkEmitter<S> {
+
+        /**
+         * 提交数据块。
+         *
+         * @param chunk 数据块
+         * @throws InterruptedException 等待预算时被中断
+         */
+        void emit(S chunk) throws InterruptedException;
+    }
+
+    /**
+     * 数据块转换函数。
+     *
+     * @param <S> 输入类型
+     * @param <T> 输出类型
+     */
+    @FunctionalInterface
+    public interface ChunkTransformer<S, T> {
+
+        /**
+         * 转换数据块。
+         *
+         * @param chunk 输入数据块
+         * @return 输出数据块
+         * @throws Exception 转换失败
+         */
+        T transform(S chunk) throws Exception;
+    }
+
+    /**
+     * 数据块写入端。
+     *
+     * @param <T> 数据块类型
+     */
+    @FunctionalInterface
+    public interface ChunkSink<T> {
+
+        /**
+         * 写入数据块。
+         *
+         * @param chunk 数据块
+         * @throws Exception 写入失败
+         */
+        void accept(T chunk) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface StageTask {
+        void run() throws Exception;
+    }
+
+    private record Envelope<C>(C chunk, int permits, boolean isEnd) {
+
+        private Envelope(C chunk, int permits) {
+            this(chunk, permits, false);
+        }
+
+        private static <C> Envelope<C> end() {
+            return new Envelope<>(null, 0, true);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * 行批次中的列存储类型。
+ *
+ * <p>由字段 JDBC 类型码（缺失时按数据库类型名称）推断，决定读取 ResultSet 与绑定 PreparedStatement
+ * 时使用的 getter/setter，整数、浮点与布尔列以原始类型数组存储。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum EtlColumnType {
+
+    LONG(Types.BIGINT),
+    INT(Types.INTEGER),
+    DOUBLE(Types.DOUBLE),
+    DECIMAL(Types.DECIMAL),
+    BOOLEAN(Types.BOOLEAN),
+    STRING(Types.VARCHAR),
+    DATE(Types.DATE),
+    TIMESTAMP(Types.TIMESTAMP),
+    BYTES(Types.VARBINARY),
+    OBJECT(Types.OTHER);
+
+    private final int defaultSqlType;
+
+    EtlColumnType(int defaultSqlType) {
+        this.defaultSqlType = defaultSqlType;
+    }
+
+    /**
+     * 默认 JDBC 类型码，字段元数据缺失类型码时用于绑定空值。
+     *
+     * @return JDBC 类型码
+     */
+    public int defaultSqlType() {
+        return defaultSqlType;
+    }
+
+    /**
+     * 推断列存储类型。
+     *
+     * @param jdbcType   JDBC 类型码，可为空
+     * @param typeName   数据库类型名称，可为空
+     * @param columnSize 字段长度，可为空
+     * @return 列存储类型
+     */
+    public static EtlColumnType resolve(Integer jdbcType, String typeName, Integer columnSize) {
+        String name = typeName == null ? "" : typeName.toLowerCase(Locale.ROOT);
+        boolean unsigned = name.contains("unsigned");
+        if (jdbcType != null) {
+            switch (jdbcType) {
+                case Types.BIGINT:
+                    return unsigned ? DECIMAL : LONG;
+                case Types.INTEGER:
+                    return unsigned ? LONG : INT;
+                case Types.SMALLINT:
+                case Types.TINYINT:
+                    return INT;
+                case Types.DOUBLE:
+                case Types.FLOAT:
+                case Types.REAL:
+                    return DOUBLE;
+                case Types.NUMERIC:
+                case Types.DECIMAL:
+                    return DECIMAL;
+                case Types.BOOLEAN:
+                    return BOOLEAN;
+                case Types.BIT:
+                    return columnSize == null || columnSize <= 1 ? BOOLEAN : OBJECT;
+                case Types.CHAR:
+                case Types.VARCHAR:
+                case Types.LONGVARCHAR:
+                case Types.NCHAR:
+                case Types.NVARCHAR:
+                case Types.LONGNVARCHAR:
+                case Types.CLOB:
+                case Types.NCLOB:
+                    return STRING;
+                case Types.DATE:
+                    return DATE;
+                case Types.TIMESTAMP:
+                    return TIMESTAMP;
+                case Types.BINARY:
+                case Types.VARBINARY:
+                case Types.LONGVARBINARY:
+                case Types.BLOB:
+                    return BYTES;
+                default:
+                    return OBJECT;
+            }
+        }
+        return resolveByName(name, unsigned);
+    }
+
+    private static EtlColumnType resolveByName(String name, boolean unsigned) {
+        if (name.isEmpty()) {
+            return OBJECT;
+        }
+        if (name.startsWith("bigint") || name.equals("int8")) {
+            return unsigned ? DECIMAL : LONG;
+        }
+        if (name.startsWith("int") || name.startsWith("mediumint") || name.equals("int4")) {
+            return unsigned ? LONG : INT;
+        }
+        if (name.startsWith("smallint") || name.startsWith("tinyint") || name.equals("int2")) {
+            return INT;
+        }
+        if (name.startsWith("double") || name.startsWith("float") || name.equals("real")) {
+            return DOUBLE;
+        }
+        if (name.startsWith("decimal") || name.startsWith("numeric") || name.startsWith("number")) {
+            return DECIMAL;
+        }
+        if (name.startsWith("bool")) {
+            return BOOLEAN;
+        }
+        if (name.contains("char") || name.contains("text") || name.contains("clob")) {
+            return STRING;
+        }
+        if (name.equals("date")) {
+            return DATE;
+        }
+        if (name.startsWith("datetime") || name.equals("timestamp") || name.startsWith("timestamp(")) {
+            return TIMESTAMP;
+        }
+        if (name.contains("blob") || name.contains("binary") || name.equals("bytea")) {
+            return BYTES;
+        }
+        return OBJECT;
+    }
+
+    /**
+     * 按列类型绑定单个值；无法转换为列类型的值交给驱动自行转换。
+     *
+     * @param statement      语句
+     * @param parameterIndex 参数下标（从 1 开始）
+     * @param value          值
+     * @param sqlType        空值绑定使用的 JDBC 类型码
+     * @throws SQLException 绑定失败
+     */
+    public void bind(PreparedStatement statement, int parameterIndex, Object value, int sqlType) throws SQLException {
+        if (value == null) {
+            if (this == OBJECT) {
+                statement.setObject(parameterIndex, null);
+            } else {
+                statement.setNull(parameterIndex, sqlType);
+            }
+            return;
+        }
+        Object coerced = coerce(value);
+        if (coerced == null) {
+            statement.setObject(parameterIndex, value);
+            return;
+        }
+        switch (this) {
+            case LONG -> statement.setLong(parameterIndex, (Long) coerced);
+            case INT -> statement.setInt(parameterIndex, (Integer) coerced);
+            case DOUBLE -> statement.setDouble(parameterIndex, (Double) coerced);
+            case DECIMAL -> statement.setBigDecimal(parameterIndex, (BigDecimal) coerced);
+            case BOOLEAN -> statement.setBoolean(parameterIndex, (Boolean) coerced);
+            case STRING -> statement.setString(parameterIndex, (String) coerced);
+            case DATE -> statement.setDate(parameterIndex, (Date) coerced);
+            case TIMESTAMP -> statement.setTimestamp(parameterIndex, (Timestamp) coerced);
+            case BYTES -> statement.setBytes(parameterIndex, (byte[]) coerced);
+            default -> statement.setObject(parameterIndex, coerced);
+        }
+    }
+
+    /**
+     * 将任意值转换为本列类型的规范 Java 类型。
+     *
+     * @param value 非空值
+     * @return 转换结果；无法无损转换时返回 {@code null}
+     */
+    Object coerce(Object value) {
+        return switch (this) {
+            case LONG -> toLong(value);
+            case INT -> {
+                Long number = toLong(value);
+                yield number != null && number >= Integer.MIN_VALUE && number <= Integer.MAX_VALUE
+                        ? Integer.valueOf(number.intValue())
+                        : null;
+            }
+            case DOUBLE -> toDouble(value);
+            case DECIMAL -> toDecimal(value);
+            case BOOLEAN -> toBoolean(value);
+            case STRING -> value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                    || value instanceof Character ? value.toString() : null;
+            case DATE -> toDate(value);
+            case TIMESTAMP -> toTimestamp(value);
+            case BYTES -> value instanceof byte[] ? value : null;
+            default -> value;
+        };
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Long number) {
+            return number;
+        }
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.bitLength() < Long.SIZE ? integer.longValue() : null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            try {
+                return decimal.longValueExact();
+            } catch (ArithmeticException exception) {
+                return null;
+            }
+        }
+        if (value instanceof Boolean flag) {
+            return flag ? 1L : 0L;
+        }
+        if (value instanceof String text) {
+            try {
+                return Long.parseLong(text.trim());
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Double toDouble(Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof String text) {
+            try {
+                return Double.parseDouble(text.trim());
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+        }
+        if (value instanceof String text) {
+            try {
+                return new BigDecimal(text.trim());
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Boolean toBoolean(Object value) {
+        if (value instanceof Boolean flag) {
+            return flag;
+        }
+        if (value instanceof Number number) {
+            return number.intValue() != 0;
+        }
+        if (value instanceof String text) {
+            String normalized = text.trim();
+            if ("1".equals(normalized) || "true".equalsIgnoreCase(normalized)) {
+                return Boolean.TRUE;
+            }
+            if ("0".equals(normalized) || "false".equalsIgnoreCase(normalized)) {
+                return Boolean.FALSE;
+            }
+        }
+        return null;
+    }
+
+    private static Date toDate(Object value) {
+        if (value instanceof Date date) {
+            return date;
+        }
+        if (value instanceof LocalDate date) {
+            return Date.valueOf(date);
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Date.valueOf(dateTime.toLocalDate());
+        }
+        if (value instanceof Timestamp timestamp) {
+            return Date.valueOf(timestamp.toLocalDateTime().toLocalDate());
+        }
+        if (value instanceof String text) {
+            try {
+                return Date.valueOf(text.trim());
+            } catch (IllegalArgumentException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Timestamp toTimestamp(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return Timestamp.valueOf(dateTime);
+        }
+        if (value instanceof LocalDate date) {
+            return Timestamp.valueOf(date.atStartOfDay());
+        }
+        if (value instanceof java.util.Date date) {
+            return new Timestamp(date.getTime());
+        }
+        if (value instanceof String text) {
+            try {
+                return Timestamp.valueOf(text.trim());
+            } catch (IllegalArgumentException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,478 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HexFormat;
+
+/**
+ * 行批次中的单列存储。
+ *
+ * <p>整数、浮点、布尔列使用原始类型数组加空值位图，避免逐值装箱；其余类型存放规范化后的对象。
+ * 无法转换为列类型的值原样保存，绑定时交给驱动处理。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public abstract class EtlColumnVector {
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    protected final EtlColumnType type;
+    protected final int sqlType;
+    protected final BitSet nulls = new BitSet();
+    protected Object[] overflow;
+
+    protected EtlColumnVector(EtlColumnType type, int sqlType) {
+        this.type = type;
+        this.sqlType = sqlType;
+    }
+
+    /**
+     * 创建列存储。
+     *
+     * @param type          列类型
+     * @param sqlType       JDBC 类型码
+     * @param decimalDigits 小数位数，仅 DECIMAL 列使用
+     * @param capacity      初始容量
+     * @return 列存储
+     */
+    public static EtlColumnVector create(EtlColumnType type, int sqlType, Integer decimalDigits, int capacity) {
+        int initial = Math.max(capacity, 1);
+        return switch (type) {
+            case LONG, INT -> new IntegralVector(type, sqlType, initial);
+            case DOUBLE -> new DoubleVector(sqlType, initial);
+            case BOOLEAN -> new BooleanVector(sqlType, initial);
+            default -> new ObjectVector(type, sqlType, decimalDigits, initial);
+        };
+    }
+
+    /**
+     * 列类型。
+     *
+     * @return 列类型
+     */
+    public EtlColumnType type() {
+        return type;
+    }
+
+    /**
+     * 是否为空值。
+     *
+     * @param row 行下标
+     * @return 是否为空
+     */
+    public boolean isNull(int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * 从结果集当前行读取本列。
+     *
+     * @param resultSet   结果集
+     * @param columnIndex 列下标（从 1 开始）
+     * @param row         行下标
+     * @throws SQLException 读取失败
+     */
+    public abstract void read(ResultSet resultSet, int columnIndex, int row) throws SQLException;
+
+    /**
+     * 写入一个值。
+     *
+     * @param row   行下标
+     * @param value 值
+     */
+    public void set(int row, Object value) {
+        if (value == null) {
+            nulls.set(row);
+            clearOverflow(row);
+            return;
+        }
+        nulls.clear(row);
+        Object coerced = type.coerce(value);
+        if (coerced == null) {
+            overflow(row, value);
+            return;
+        }
+        clearOverflow(row);
+        store(row, coerced);
+    }
+
+    /**
+     * 读取一个值（原始类型列会装箱）。
+     *
+     * @param row 行下标
+     * @return 值
+     */
+    public Object get(int row) {
+        if (nulls.get(row)) {
+            return null;
+        }
+        if (overflow != null && overflow[row] != null) {
+            return overflow[row];
+        }
+        return load(row);
+    }
+
+    /**
+     * 绑定本列的一个值。
+     *
+     * @param statement      语句
+     * @param parameterIndex 参数下标（从 1 开始）
+     * @param row            行下标
+     * @throws SQLException 绑定失败
+     */
+    public void bind(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+        if (nulls.get(row)) {
+            type.bind(statement, parameterIndex, null, sqlType);
+            return;
+        }
+        if (overflow != null && overflow[row] != null) {
+            statement.setObject(parameterIndex, overflow[row]);
+            return;
+        }
+        bindStored(statement, parameterIndex, row);
+    }
+
+    /**
+     * 追加值的文本形式，空值写为 {@code NULL}，二进制写为十六进制。
+     *
+     * @param builder 目标
+     * @param row     行下标
+     */
+    public void appendText(StringBuilder builder, int row) {
+        Object value = get(row);
+        if (value == null) {
+            builder.append("NULL");
+        } else if (value instanceof byte[] bytes) {
+            builder.append(HEX.formatHex(bytes));
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * 把一个值的规范化编码写入行哈希器。
+     *
+     * @param hasher 行哈希器
+     * @param row    行下标
+     */
+    void encode(EtlRowHasher hasher, int row) {
+        if (nulls.get(row)) {
+            hasher.writeNull();
+        } else if (overflow != null && overflow[row] != null) {
+            hasher.writeObject(overflow[row]);
+        } else {
+            encodeStored(hasher, row);
+        }
+    }
+
+    /**
+     * 估算单个值占用字节数。
+     *
+     * @param row 行下标
+     * @return 字节数
+     */
+    public long estimateBytes(int row) {
+        if (overflow != null && overflow[row] != null) {
+            return EtlRowSizeEstimator.estimateValue(overflow[row]);
+        }
+        return 9L;
+    }
+
+    /**
+     * 扩容。
+     *
+     * @param capacity 新容量
+     */
+    public void grow(int capacity) {
+        if (overflow != null && overflow.length < capacity) {
+            overflow = Arrays.copyOf(overflow, capacity);
+        }
+        resize(capacity);
+    }
+
+    protected abstract void store(int row, Object coerced);
+
+    protected abstract Object load(int row);
+
+    protected abstract void bindStored(PreparedStatement statement, int parameterIndex, int row) throws SQLException;
+
+    protected abstract void encodeStored(EtlRowHasher hasher, int row);
+
+    protected abstract void resize(int capacity);
+
+    protected abstract int capacity();
+
+    protected void markNull(int row, boolean wasNull) {
+        if (wasNull) {
+            nulls.set(row);
+        } else {
+            nulls.clear(row);
+        }
+        clearOverflow(row);
+    }
+
+    private void overflow(int row, Object value) {
+        if (overflow == null) {
+            overflow = new Object[capacity()];
+        }
+        overflow[row] = value;
+    }
+
+    private void clearOverflow(int row) {
+        if (overflow != null) {
+            overflow[row] = null;
+        }
+    }
+
+    /**
+     * BIGINT / INTEGER 列，以 long 数组存储。
+     */
+    private static final class IntegralVector extends EtlColumnVector {
+
+        private long[] values;
+
+        private IntegralVector(EtlColumnType type, int sqlType, int capacity) {
+            super(type, sqlType);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = type == EtlColumnType.INT ? resultSet.getInt(columnIndex) : resultSet.getLong(columnIndex);
+            markNull(row, resultSet.wasNull());
+        }
+
+        @Override
+        public void appendText(StringBuilder builder, int row) {
+            if (nulls.get(row) || overflow != null && overflow[row] != null) {
+                super.appendText(builder, row);
+                return;
+            }
+            builder.append(values[row]);
+        }
+
+        @Override
+        protected void store(int row, Object coerced) {
+            values[row] = ((Number) coerced).longValue();
+        }
+
+        @Override
+        protected Object load(int row) {
+            return type == EtlColumnType.INT ? Integer.valueOf((int) values[row]) : Long.valueOf(values[row]);
+        }
+
+        @Override
+        protected void bindStored(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+            if (type == EtlColumnType.INT) {
+                statement.setInt(parameterIndex, (int) values[row]);
+            } else {
+                statement.setLong(parameterIndex, values[row]);
+            }
+        }
+
+        @Override
+        protected void encodeStored(EtlRowHasher hasher, int row) {
+            hasher.writeIntegral(values[row]);
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+    }
+
+    /**
+     * 浮点列，以 double 数组存储。
+     */
+    private static final class DoubleVector extends EtlColumnVector {
+
+        private double[] values;
+
+        private DoubleVector(int sqlType, int capacity) {
+            super(EtlColumnType.DOUBLE, sqlType);
+            this.values = new double[capacity];
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values[row] = resultSet.getDouble(columnIndex);
+            markNull(row, resultSet.wasNull());
+        }
+
+        @Override
+        protected void store(int row, Object coerced) {
+            values[row] = (Double) coerced;
+        }
+
+        @Override
+        protected Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void bindStored(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+            statement.setDouble(parameterIndex, values[row]);
+        }
+
+        @Override
+        protected void encodeStored(EtlRowHasher hasher, int row) {
+            hasher.writeDouble(values[row]);
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+    }
+
+    /**
+     * 布尔列，以位图存储。
+     */
+    private static final class BooleanVector extends EtlColumnVector {
+
+        private final BitSet values = new BitSet();
+        private int capacity;
+
+        private BooleanVector(int sqlType, int capacity) {
+            super(EtlColumnType.BOOLEAN, sqlType);
+            this.capacity = capacity;
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            values.set(row, resultSet.getBoolean(columnIndex));
+            markNull(row, resultSet.wasNull());
+        }
+
+        @Override
+        protected void store(int row, Object coerced) {
+            values.set(row, (Boolean) coerced);
+        }
+
+        @Override
+        protected Object load(int row) {
+            return values.get(row);
+        }
+
+        @Override
+        protected void bindStored(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+            statement.setBoolean(parameterIndex, values.get(row));
+        }
+
+        @Override
+        protected void encodeStored(EtlRowHasher hasher, int row) {
+            hasher.writeBoolean(values.get(row));
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected int capacity() {
+            return capacity;
+        }
+    }
+
+    /**
+     * 对象列：DECIMAL、字符串、日期、时间戳、二进制及未知类型。
+     */
+    private static final class ObjectVector extends EtlColumnVector {
+
+        private final Integer decimalDigits;
+        private Object[] values;
+
+        private ObjectVector(EtlColumnType type, int sqlType, Integer decimalDigits, int capacity) {
+            super(type, sqlType);
+            this.decimalDigits = decimalDigits;
+            this.values = new Object[capacity];
+        }
+
+        @Override
+        public void read(ResultSet resultSet, int columnIndex, int row) throws SQLException {
+            Object value = switch (type) {
+                case DECIMAL -> resultSet.getBigDecimal(columnIndex);
+                case STRING -> resultSet.getString(columnIndex);
+                case DATE -> resultSet.getDate(columnIndex);
+                case TIMESTAMP -> resultSet.getTimestamp(columnIndex);
+                case BYTES -> resultSet.getBytes(columnIndex);
+                default -> resultSet.getObject(columnIndex);
+            };
+            values[row] = value;
+            markNull(row, value == null);
+        }
+
+        @Override
+        public long estimateBytes(int row) {
+            return nulls.get(row) ? 0L : EtlRowSizeEstimator.estimateValue(get(row));
+        }
+
+        /**
+         * DECIMAL 列在不丢精度的前提下按字段小数位对齐，与数据库回读的值保持一致。
+         */
+        @Override
+        protected void store(int row, Object coerced) {
+            if (coerced instanceof BigDecimal decimal && decimalDigits != null && decimalDigits >= 0
+                    && decimal.scale() != decimalDigits) {
+                try {
+                    values[row] = decimal.setScale(decimalDigits, RoundingMode.UNNECESSARY);
+                    return;
+                } catch (ArithmeticException ignored) {
+                    // 需要舍入时保留原值，由数据库按字段定义处理
+                }
+            }
+            values[row] = coerced;
+        }
+
+        @Override
+        protected Object load(int row) {
+            return values[row];
+        }
+
+        @Override
+        protected void bindStored(PreparedStatement statement, int parameterIndex, int row) throws SQLException {
+            type.bind(statement, parameterIndex, values[row], sqlType);
+        }
+
+        @Override
+        protected void encodeStored(EtlRowHasher hasher, int row) {
+            Object value = values[row];
+            switch (type) {
+                case DECIMAL -> hasher.writeDecimal((BigDecimal) value);
+                case STRING -> hasher.writeText((String) value);
+                case DATE -> hasher.writeDate((java.sql.Date) value);
+                case TIMESTAMP -> hasher.writeTimestamp((Timestamp) value);
+                case BYTES -> hasher.writeBytes((byte[]) value);
+                default -> hasher.writeObject(value);
+            }
+        }
+
+        @Override
+        protected void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        @Override
+        protected int capacity() {
+            return values.length;
+        }
+    }
+}
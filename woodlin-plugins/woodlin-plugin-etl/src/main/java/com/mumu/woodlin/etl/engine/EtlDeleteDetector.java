@@ -0,0 +1,179 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 有序归并删除检测：源、目标两端按相同顺序流式读取主键，逐个归并，只在内存中保留当前键与一批待删除键。
+ *
+ * <p>目标端有而源端没有的键按批交给 {@link CandidateHandler}。两端顺序由数据库 ORDER BY 保证，
+ * 归并时校验每个流严格递增，一旦发现顺序与本地比较规则不一致立即停止，避免把源端仍存在的键误判为已删除。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlDeleteDetector {
+
+    private final int batchSize;
+
+    /**
+     * 创建删除检测器。
+     *
+     * @param batchSize 每批待删除键的数量上限
+     */
+    public EtlDeleteDetector(int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize 必须大于 0");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 归并两端主键流。
+     *
+     * @param source  源端主键流
+     * @param target  目标端主键流
+     * @param handler 待删除键的批处理
+     * @return 检测统计
+     * @throws SQLException 读取或处理失败
+     * @throws IllegalStateException 主键流未按预期顺序排列
+     */
+    public Result detect(KeyStream source, KeyStream target, CandidateHandler handler) throws SQLException {
+        OrderedCursor sourceCursor = new OrderedCursor(source, "源端");
+        OrderedCursor targetCursor = new OrderedCursor(target, "目标端");
+        List<Object> candidates = new ArrayList<>(batchSize);
+        long candidateCount = 0;
+        long handledCount = 0;
+        Object sourceKey = sourceCursor.next();
+        Object targetKey = targetCursor.next();
+        while (targetKey != null) {
+            int compared = sourceKey == null ? -1 : compareKeys(targetKey, sourceKey);
+            if (compared < 0) {
+                candidates.add(targetKey);
+                candidateCount++;
+                if (candidates.size() >= batchSize) {
+                    handledCount += handler.handle(List.copyOf(candidates));
+                    candidates.clear();
+                }
+                targetKey = targetCursor.next();
+            } else if (compared == 0) {
+                sourceKey = sourceCursor.next();
+                targetKey = targetCursor.next();
+            } else {
+                sourceKey = sourceCursor.next();
+            }
+        }
+        if (!candidates.isEmpty()) {
+            handledCount += handler.handle(List.copyOf(candidates));
+        }
+        return new Result(sourceCursor.count, targetCursor.count, candidateCount, handledCount);
+    }
+
+    /**
+     * 比较主键值：整数按数值，其余数值按大小，文本按 Unicode 码点（与 UTF-8 二进制排序一致），其他类型按自然顺序或文本。
+     *
+     * @param left  左值，非空
+     * @param right 右值，非空
+     * @return 比较结果
+     */
+    public static int compareKeys(Object left, Object right) {
+        if (isIntegral(left) && isIntegral(right)) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+        }
+        if (left instanceof Number && right instanceof Number) {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+        }
+        if (left instanceof String leftText && right instanceof String rightText) {
+            return compareCodePoints(leftText, rightText);
+        }
+        return EtlKeyRange.compareKeys(left, right);
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static int compareCodePoints(String left, String right) {
+        int leftIndex = 0;
+        int rightIndex = 0;
+        while (leftIndex < left.length() && rightIndex < right.length()) {
+            int leftCodePoint = left.codePointAt(leftIndex);
+            int rightCodePoint = right.codePointAt(rightIndex);
+            if (leftCodePoint != rightCodePoint) {
+                return Integer.compare(leftCodePoint, rightCodePoint);
+            }
+            leftIndex += Character.charCount(leftCodePoint);
+            rightIndex += Character.charCount(rightCodePoint);
+        }
+        return Integer.compare(left.length() - leftIndex, right.length() - rightIndex);
+    }
+
+    /**
+     * 按顺序读取主键的流。
+     */
+    @FunctionalInterface
+    public interface KeyStream {
+
+        /**
+         * 读取下一个主键。
+         *
+         * @return 主键值；读完时返回 {@code null}
+         * @throws SQLException 读取失败
+         */
+        Object next() throws SQLException;
+    }
+
+    /**
+     * 处理一批目标端多出的键。
+     */
+    @FunctionalInterface
+    public interface CandidateHandler {
+
+        /**
+         * 处理待删除键。
+         *
+         * @param keys 目标端主键值，按读取顺序排列
+         * @return 实际删除的行数
+         * @throws SQLException 处理失败
+         */
+        int handle(List<Object> keys) throws SQLException;
+    }
+
+    /**
+     * 检测统计。
+     *
+     * @param sourceKeys    读取的源端主键数
+     * @param targetKeys    读取的目标端主键数
+     * @param candidateKeys 目标端多出的主键数
+     * @param deletedRows   实际删除的行数
+     */
+    public record Result(long sourceKeys, long targetKeys, long candidateKeys, long deletedRows) {
+    }
+
+    private static final class OrderedCursor {
+        private final KeyStream stream;
+        private final String side;
+        private Object previous;
+        private long count;
+
+        private OrderedCursor(KeyStream stream, String side) {
+            this.stream = stream;
+            this.side = side;
+        }
+
+        private Object next() throws SQLException {
+            Object key = stream.next();
+            if (key == null) {
+                return null;
+            }
+            if (previous != null && compareKeys(key, previous) <= 0) {
+                throw new IllegalStateException(side + "主键顺序与本地比较规则不一致: " + previous + " -> " + key);
+            }
+            previous = key;
+            count++;
+            return key;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.Locale;
+
+/**
+ * 全量同步时源端已删除行在目标端的处理方式。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum EtlDeleteMode {
+
+    /**
+     * 不检测删除，目标端保留源端已删除的行。
+     */
+    NONE,
+
+    /**
+     * 物理删除目标端多出的行。
+     */
+    HARD,
+
+    /**
+     * 把目标端多出的行的软删除字段更新为删除标记。
+     */
+    SOFT;
+
+    /**
+     * 按名称解析，忽略大小写；为空时返回 {@link #NONE}。
+     *
+     * @param value 名称
+     * @return 删除处理方式
+     * @throws IllegalArgumentException 名称不存在
+     */
+    public static EtlDeleteMode fromCode(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("未知的ETL删除处理方式: " + value, exception);
+        }
+    }
+}
@@ -0,0 +1,332 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * 仅比对运行的差异报告：按桶累计源端缺失、目标端多出与内容不同的主键，并为内容不同的行抽样列差异。
+ *
+ * <p>计数始终完整，主键与列差异按上限抽样，报告大小与表大小无关。桶段比对由多个工作线程并发写入，
+ * 各方法均为线程安全。报告以 {@link BucketDiff} 列表保存，可按 CSV 逐行输出。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlDiffReport {
+
+    /**
+     * 仅比对运行的校验类型，同时作为执行详情中的 {@code mode}。
+     */
+    public static final String COMPARE_ONLY = "COMPARE_ONLY";
+
+    /**
+     * 源端有、目标端没有的行。
+     */
+    public static final String MISSING = "MISSING";
+
+    /**
+     * 目标端有、源端没有的行。
+     */
+    public static final String EXTRA = "EXTRA";
+
+    /**
+     * 两端都有但内容不同的行。
+     */
+    public static final String CHANGED = "CHANGED";
+
+    private static final String[] CSV_HEADER = {
+            "bucket_number", "diff_type", "primary_key", "column_name", "source_value", "target_value"
+    };
+
+    private final int maxKeysPerBucket;
+    private final int maxColumnDeltas;
+    private final Map<Integer, BucketBuilder> buckets = new TreeMap<>();
+
+    /**
+     * 创建差异报告。
+     *
+     * @param maxKeysPerBucket 每个桶每类差异最多记录的主键数
+     * @param maxColumnDeltas  每个内容不同的行最多记录的列差异数
+     */
+    public EtlDiffReport(int maxKeysPerBucket, int maxColumnDeltas) {
+        this.maxKeysPerBucket = Math.max(maxKeysPerBucket, 0);
+        this.maxColumnDeltas = Math.max(maxColumnDeltas, 0);
+    }
+
+    /**
+     * 比对同一桶段两端的行：按主键配对，源端有而目标端没有的记为缺失，两端行哈希不同的记为内容不同。
+     *
+     * @param bucketNumber 桶号
+     * @param sourceRows   源端行，已映射为目标字段
+     * @param targetRows   按源端主键查询到的目标端行，与源端字段顺序相同
+     * @param keyIndex     主键列下标
+     * @param hasher       行哈希器，调用线程独占
+     */
+    public void compareSegment(
+            int bucketNumber,
+            EtlRowBatch sourceRows,
+            EtlRowBatch targetRows,
+            int keyIndex,
+            EtlRowHasher hasher
+    ) {
+        Map<String, Integer> targetIndex = new HashMap<>(Math.max(targetRows.size() * 2, 16));
+        for (int row = 0; row < targetRows.size(); row++) {
+            targetIndex.put(keyText(targetRows.get(row, keyIndex)), row);
+        }
+        List<String> missing = new ArrayList<>();
+        List<ChangedRow> changed = new ArrayList<>();
+        long changedCount = 0;
+        for (int row = 0; row < sourceRows.size(); row++) {
+            String key = keyText(sourceRows.get(row, keyIndex));
+            Integer targetRow = targetIndex.get(key);
+            if (targetRow == null) {
+                missing.add(key);
+            } else if (hasher.hash(sourceRows, row) != hasher.hash(targetRows, targetRow)) {
+                changedCount++;
+                if (changed.size() < maxKeysPerBucket) {
+                    changed.add(new ChangedRow(key, columnDeltas(sourceRows, row, targetRows, targetRow)));
+                }
+            }
+        }
+        if (missing.isEmpty() && changedCount == 0) {
+            return;
+        }
+        synchronized (buckets) {
+            BucketBuilder bucket = buckets.computeIfAbsent(bucketNumber, BucketBuilder::new);
+            bucket.missingCount += missing.size();
+            addSamples(bucket.missingKeys, missing);
+            bucket.changedCount += changedCount;
+            addSamples(bucket.changedRows, changed);
+        }
+    }
+
+    /**
+     * 记录目标端多出的主键。
+     *
+     * @param bucketNumber 桶号
+     * @param key          目标端主键值
+     */
+    public void addExtraKey(int bucketNumber, Object key) {
+        synchronized (buckets) {
+            BucketBuilder bucket = buckets.computeIfAbsent(bucketNumber, BucketBuilder::new);
+            bucket.extraCount++;
+            if (bucket.extraKeys.size() < maxKeysPerBucket) {
+                bucket.extraKeys.add(keyText(key));
+            }
+        }
+    }
+
+    /**
+     * 有差异的桶，按桶号升序。
+     *
+     * @return 桶差异
+     */
+    public List<BucketDiff> buckets() {
+        synchronized (buckets) {
+            return buckets.values().stream().map(BucketBuilder::build).toList();
+        }
+    }
+
+    /**
+     * 源端缺失的行数。
+     *
+     * @return 行数
+     */
+    public long missingCount() {
+        synchronized (buckets) {
+            return buckets.values().stream().mapToLong(bucket -> bucket.missingCount).sum();
+        }
+    }
+
+    /**
+     * 目标端多出的行数。
+     *
+     * @return 行数
+     */
+    public long extraCount() {
+        synchronized (buckets) {
+            return buckets.values().stream().mapToLong(bucket -> bucket.extraCount).sum();
+        }
+    }
+
+    /**
+     * 内容不同的行数。
+     *
+     * @return 行数
+     */
+    public long changedCount() {
+        synchronized (buckets) {
+            return buckets.values().stream().mapToLong(bucket -> bucket.changedCount).sum();
+        }
+    }
+
+    /**
+     * 按 CSV 逐行输出桶差异：每个抽样主键一行，内容不同的行每个列差异一行。
+     *
+     * @param buckets 桶差异，逐个读取，可直接传入反序列化迭代器
+     * @param writer  输出
+     * @throws IOException 写出失败
+     */
+    public static void writeCsv(Iterator<BucketDiff> buckets, Writer writer) throws IOException {
+        writeCsvLine(writer, CSV_HEADER);
+        while (buckets.hasNext()) {
+            BucketDiff bucket = buckets.next();
+            String bucketNumber = String.valueOf(bucket.bucketNumber());
+            for (String key : bucket.missingKeys()) {
+                writeCsvLine(writer, bucketNumber, MISSING, key, null, null, null);
+            }
+            for (String key : bucket.extraKeys()) {
+                writeCsvLine(writer, bucketNumber, EXTRA, key, null, null, null);
+            }
+            for (ChangedRow row : bucket.changedRows()) {
+                if (row.columns().isEmpty()) {
+                    writeCsvLine(writer, bucketNumber, CHANGED, row.key(), null, null, null);
+                }
+                for (ColumnDelta delta : row.columns()) {
+                    writeCsvLine(writer, bucketNumber, CHANGED, row.key(), delta.column(), delta.sourceValue(),
+                            delta.targetValue());
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * 主键的文本形式：数值去除尾随零，两端类型不同（如 INT 与 BIGINT）时仍能配对。
+     *
+     * @param key 主键值
+     * @return 文本
+     */
+    public static String keyText(Object key) {
+        if (key instanceof Number) {
+            return new BigDecimal(key.toString()).stripTrailingZeros().toPlainString();
+        }
+        return String.valueOf(key);
+    }
+
+    private List<ColumnDelta> columnDeltas(EtlRowBatch sourceRows, int sourceRow, EtlRowBatch targetRows, int targetRow) {
+        List<ColumnDelta> deltas = new ArrayList<>();
+        StringBuilder sourceText = new StringBuilder();
+        StringBuilder targetText = new StringBuilder();
+        for (int column = 0; column < sourceRows.schema().size() && deltas.size() < maxColumnDeltas; column++) {
+            sourceText.setLength(0);
+            targetText.setLength(0);
+            sourceRows.appendText(sourceText, sourceRow, column);
+            targetRows.appendText(targetText, targetRow, column);
+            if (!sameText(sourceText.toString(), targetText.toString())) {
+                deltas.add(new ColumnDelta(sourceRows.schema().columnName(column), sourceText.toString(),
+                        targetText.toString()));
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * 文本相同，或都是数值且大小相等（行哈希对 DECIMAL 去除尾随零，1.50 与 1.5 视为相同）。
+     */
+    private static boolean sameText(String left, String right) {
+        if (Objects.equals(left, right)) {
+            return true;
+        }
+        try {
+            return new BigDecimal(left).compareTo(new BigDecimal(right)) == 0;
+        } catch (NumberFormatException exception) {
+            return false;
+        }
+    }
+
+    private <T> void addSamples(List<T> samples, List<T> values) {
+        int room = maxKeysPerBucket - samples.size();
+        if (room > 0) {
+            samples.addAll(values.subList(0, Math.min(room, values.size())));
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, String... values) throws IOException {
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[index]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * 单个桶的差异。
+     *
+     * @param bucketNumber 桶号
+     * @param missingCount 源端有、目标端没有的行数
+     * @param extraCount   目标端有、源端没有的行数
+     * @param changedCount 内容不同的行数
+     * @param missingKeys  抽样的缺失主键
+     * @param extraKeys    抽样的多出主键
+     * @param changedRows  抽样的内容不同的行
+     */
+    public record BucketDiff(
+            int bucketNumber,
+            long missingCount,
+            long extraCount,
+            long changedCount,
+            List<String> missingKeys,
+            List<String> extraKeys,
+            List<ChangedRow> changedRows
+    ) {
+    }
+
+    /**
+     * 内容不同的行。
+     *
+     * @param key     主键
+     * @param columns 抽样的列差异
+     */
+    public record ChangedRow(String key, List<ColumnDelta> columns) {
+    }
+
+    /**
+     * 列差异，值为文本形式，空值为 {@code NULL}。
+     *
+     * @param column      目标字段名
+     * @param sourceValue 源端值
+     * @param targetValue 目标端值
+     */
+    public record ColumnDelta(String column, String sourceValue, String targetValue) {
+    }
+
+    private static final class BucketBuilder {
+        private final int bucketNumber;
+        private long missingCount;
+        private long extraCount;
+        private long changedCount;
+        private final List<String> missingKeys = new ArrayList<>();
+        private final List<String> extraKeys = new ArrayList<>();
+        private final List<ChangedRow> changedRows = new ArrayList<>();
+
+        private BucketBuilder(int bucketNumber) {
+            this.bucketNumber = bucketNumber;
+        }
+
+        private BucketDiff build() {
+            return new BucketDiff(bucketNumber, missingCount, extraCount, changedCount, List.copyOf(missingKeys),
+                    List.copyOf(extraKeys), List.copyOf(changedRows));
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * 内置的 64 位非加密哈希实现，种子固定为 0。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlHashFunctions {
+
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long XXH_PRIME_1 = 0x9E3779B185EBCA87L;
+    private static final long XXH_PRIME_2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long XXH_PRIME_3 = 0x165667B19E3779F9L;
+    private static final long XXH_PRIME_4 = 0x85EBCA77C2B2AE63L;
+    private static final long XXH_PRIME_5 = 0x27D4EB2F165667C5L;
+
+    private static final long MURMUR_C1 = 0x87C37B91114253D5L;
+    private static final long MURMUR_C2 = 0x4CF5AD432745937FL;
+
+    private EtlHashFunctions() {
+    }
+
+    /**
+     * xxHash64。
+     *
+     * @param data   字节数组
+     * @param offset 起始下标
+     * @param length 长度
+     * @return 哈希值
+     */
+    public static long xxHash64(byte[] data, int offset, int length) {
+        int index = offset;
+        int end = offset + length;
+        long hash;
+        if (length >= 32) {
+            long v1 = XXH_PRIME_1 + XXH_PRIME_2;
+            long v2 = XXH_PRIME_2;
+            long v3 = 0L;
+            long v4 = -XXH_PRIME_1;
+            int limit = end - 32;
+            do {
+                v1 = xxRound(v1, (long) LONG_LE.get(data, index));
+                v2 = xxRound(v2, (long) LONG_LE.get(data, index + 8));
+                v3 = xxRound(v3, (long) LONG_LE.get(data, index + 16));
+                v4 = xxRound(v4, (long) LONG_LE.get(data, index + 24));
+                index += 32;
+            } while (index <= limit);
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = xxMergeRound(hash, v1);
+            hash = xxMergeRound(hash, v2);
+            hash = xxMergeRound(hash, v3);
+            hash = xxMergeRound(hash, v4);
+        } else {
+            hash = XXH_PRIME_5;
+        }
+        hash += length;
+        while (index + 8 <= end) {
+            hash ^= xxRound(0L, (long) LONG_LE.get(data, index));
+            hash = Long.rotateLeft(hash, 27) * XXH_PRIME_1 + XXH_PRIME_4;
+            index += 8;
+        }
+        if (index + 4 <= end) {
+            hash ^= ((int) INT_LE.get(data, index) & 0xFFFFFFFFL) * XXH_PRIME_1;
+            hash = Long.rotateLeft(hash, 23) * XXH_PRIME_2 + XXH_PRIME_3;
+            index += 4;
+        }
+        while (index < end) {
+            hash ^= (data[index] & 0xFFL) * XXH_PRIME_5;
+            hash = Long.rotateLeft(hash, 11) * XXH_PRIME_1;
+            index++;
+        }
+        hash ^= hash >>> 33;
+        hash *= XXH_PRIME_2;
+        hash ^= hash >>> 29;
+        hash *= XXH_PRIME_3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    /**
+     * MurmurHash3 x64 128 位变体的低 64 位。
+     *
+     * @param data   字节数组
+     * @param offset 起始下标
+     * @param length 长度
+     * @return 哈希值
+     */
+    public static long murmur3x64(byte[] data, int offset, int length) {
+        long h1 = 0L;
+        long h2 = 0L;
+        int blocks = length >>> 4;
+        for (int block = 0; block < blocks; block++) {
+            int index = offset + (block << 4);
+            long k1 = (long) LONG_LE.get(data, index);
+            long k2 = (long) LONG_LE.get(data, index + 8);
+            h1 ^= murmurMixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52DCE729L;
+            h2 ^= murmurMixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495AB5L;
+        }
+        int tail = offset + (blocks << 4);
+        int remaining = length & 15;
+        if (remaining > 8) {
+            long k2 = 0L;
+            for (int index = remaining - 1; index >= 8; index--) {
+                k2 ^= (data[tail + index] & 0xFFL) << ((index - 8) << 3);
+            }
+            h2 ^= murmurMixK2(k2);
+        }
+        if (remaining > 0) {
+            long k1 = 0L;
+            for (int index = Math.min(remaining, 8) - 1; index >= 0; index--) {
+                k1 ^= (data[tail + index] & 0xFFL) << (index << 3);
+            }
+            h1 ^= murmurMixK1(k1);
+        }
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = murmurFinalMix(h1);
+        h2 = murmurFinalMix(h2);
+        return h1 + h2;
+    }
+
+    private static long xxRound(long accumulator, long input) {
+        return Long.rotateLeft(accumulator + input * XXH_PRIME_2, 31) * XXH_PRIME_1;
+    }
+
+    private static long xxMergeRound(long accumulator, long value) {
+        return (accumulator ^ xxRound(0L, value)) * XXH_PRIME_1 + XXH_PRIME_4;
+    }
+
+    private static long murmurMixK1(long k1) {
+        return Long.rotateLeft(k1 * MURMUR_C1, 31) * MURMUR_C2;
+    }
+
+    private static long murmurMixK2(long k2) {
+        return Long.rotateLeft(k2 * MURMUR_C2, 33) * MURMUR_C1;
+    }
+
+    private static long murmurFinalMix(long value) {
+        long mixed = value;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xFF51AFD7ED558CCDL;
+        mixed ^= mixed >>> 33;
+        mixed *= 0xC4CEB9FE1A85EC53L;
+        mixed ^= mixed >>> 33;
+        return mixed;
+    }
+}
@@ -0,0 +1,122 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.sql.DataSource;
+
+import com.mumu.woodlin.etl.dialect.TargetIndexPlan;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 清空重载时的目标表索引维护器：装载前按计划删除或停用二级索引与约束，装载后并行重建索引并恢复约束。
+ *
+ * <p>重建阶段每个线程从数据源取独立连接依次领取重建语句；单条语句失败不影响其余语句继续执行，
+ * 全部结束后以一个异常列出失败的语句，便于人工补执行。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlIndexRebuilder {
+
+    private final String name;
+    private final int parallelism;
+
+    /**
+     * 创建索引维护器。
+     *
+     * @param name        名称，用于线程命名
+     * @param parallelism 最大并行重建线程数，同时也是额外占用的目标库连接上限
+     */
+    public EtlIndexRebuilder(String name, int parallelism) {
+        this.name = name;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * 依次执行禁用语句；中途失败时先恢复已执行的部分再抛出。
+     *
+     * @param dataSource 目标数据源
+     * @param connection 目标库连接
+     * @param plan       处理计划
+     * @throws SQLException 禁用失败
+     */
+    public void disable(DataSource dataSource, Connection connection, TargetIndexPlan plan) throws SQLException {
+        int executed = 0;
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : plan.disableStatements()) {
+                statement.execute(sql);
+                executed++;
+            }
+        } catch (SQLException exception) {
+            log.warn("ETL 禁用目标表索引失败，恢复已处理的 {} 项: {}", executed, exception.getMessage());
+            try {
+                rebuild(dataSource, plan.executedPart(executed));
+            } catch (SQLException restoreFailure) {
+                exception.addSuppressed(restoreFailure);
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * 并行执行重建语句，全部完成后依次执行恢复语句。
+     *
+     * @param dataSource 目标数据源
+     * @param plan       处理计划
+     * @return 重建与恢复耗时（毫秒）
+     * @throws SQLException 有语句执行失败，异常信息列出全部失败语句
+     */
+    public long rebuild(DataSource dataSource, TargetIndexPlan plan) throws SQLException {
+        long start = System.currentTimeMillis();
+        List<String> failures = Collections.synchronizedList(new ArrayList<>());
+        Queue<String> pending = new ConcurrentLinkedQueue<>(plan.rebuildStatements());
+        int threadCount = Math.min(parallelism, plan.rebuildStatements().size());
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int index = 0; index < threadCount; index++) {
+            Thread thread = new Thread(() -> {
+                String sql;
+                while ((sql = pending.poll()) != null) {
+                    execute(dataSource, sql, failures);
+                }
+            }, name + "-index-" + index);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(name + " 等待索引重建被中断，待执行: " + plan.restoreDdl(), exception);
+        }
+        for (String sql : plan.restoreStatements()) {
+            execute(dataSource, sql, failures);
+        }
+        if (!failures.isEmpty()) {
+            throw new SQLException(name + " 索引或约束恢复失败，需人工执行: " + String.join("; ", failures));
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private void execute(DataSource dataSource, String sql, List<String> failures) {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            if (!connection.getAutoCommit()) {
+                connection.setAutoCommit(true);
+            }
+            statement.execute(sql);
+        } catch (SQLException exception) {
+            log.warn("ETL 恢复语句执行失败: sql={}, reason={}", sql, exception.getMessage());
+            failures.add(sql);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 切分键区间 {@code (lowerExclusive, upperInclusive]}。
+ *
+ * <p>上下界为 {@code null} 表示该侧不设限；{@code nullKeys} 区间只覆盖切分键为空的行。
+ * 区间序号同时编码进数据块序号的高位，便于写入端按区间顺序合并结果。</p>
+ *
+ * @param index          区间序号，从 0 开始按切分键升序
+ * @param lowerExclusive 下界（不含）
+ * @param upperInclusive 上界（含）
+ * @param nullKeys       是否为切分键为空的区间
+ * @author mumu
+ * @since 1.0.0
+ */
+public record EtlKeyRange(int index, Object lowerExclusive, Object upperInclusive, boolean nullKeys) {
+
+    private static final int SEQUENCE_SHIFT = 40;
+
+    /**
+     * 不切分时使用的全表区间。
+     *
+     * @return 全表区间
+     */
+    public static EtlKeyRange unbounded() {
+        return new EtlKeyRange(0, null, null, false);
+    }
+
+    /**
+     * 从数据块序号中取出区间序号。
+     *
+     * @param sequence 数据块序号
+     * @return 区间序号
+     */
+    public static int rangeIndexOf(long sequence) {
+        return (int) (sequence >>> SEQUENCE_SHIFT);
+    }
+
+    /**
+     * 将区间内的数据块序号编码为全局序号。
+     *
+     * @param localSequence 区间内序号
+     * @return 全局序号
+     */
+    public long chunkSequence(long localSequence) {
+        return ((long) index << SEQUENCE_SHIFT) | localSequence;
+    }
+
+    /**
+     * 构建区间过滤条件。
+     *
+     * @param quotedKeyColumn 已引用的切分键
+     * @return 条件片段；全表区间返回 {@code null}
+     */
+    public String condition(String quotedKeyColumn) {
+        if (nullKeys) {
+            return quotedKeyColumn + " IS NULL";
+        }
+        List<String> parts = new ArrayList<>(2);
+        if (lowerExclusive != null) {
+            parts.add(quotedKeyColumn + " > ?");
+        }
+        if (upperInclusive != null) {
+            parts.add(quotedKeyColumn + " <= ?");
+        }
+        return parts.isEmpty() ? null : String.join(" AND ", parts);
+    }
+
+    /**
+     * 区间条件的绑定参数，顺序与 {@link #condition(String)} 一致。
+     *
+     * @return 参数列表
+     */
+    public List<Object> parameters() {
+        List<Object> parameters = new ArrayList<>(2);
+        if (nullKeys) {
+            return parameters;
+        }
+        if (lowerExclusive != null) {
+            parameters.add(lowerExclusive);
+        }
+        if (upperInclusive != null) {
+            parameters.add(upperInclusive);
+        }
+        return parameters;
+    }
+
+    /**
+     * 比较两个切分键值：同类型按自然顺序，数值按大小，其余按文本。
+     *
+     * @param left  左值，非空
+     * @param right 右值，非空
+     * @return 比较结果
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compareKeys(Object left, Object right) {
+        if (left.getClass() == right.getClass() && left instanceof Comparable comparable) {
+            return comparable.compareTo(right);
+        }
+        if (left instanceof Number && right instanceof Number) {
+            return new BigDecimal(left.toString()).compareTo(new BigDecimal(right.toString()));
+        }
+        return String.valueOf(left).compareTo(String.valueOf(right));
+    }
+}
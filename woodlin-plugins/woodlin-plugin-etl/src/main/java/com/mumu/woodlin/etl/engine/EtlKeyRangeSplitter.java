@@ -0,0 +1,196 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 按切分键将源表划分为若干连续区间，供多连接并行抽取。
+ *
+ * <p>先统计切分键的 MIN/MAX/COUNT，行数不足时不切分；否则通过方言采样分位点作为区间边界，
+ * 方言不支持或采样失败时，对整数切分键按 MIN/MAX 均分。首尾区间不设外侧边界，
+ * 统计之后新写入的行也会落入某个区间。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlKeyRangeSplitter {
+
+    /**
+     * 每个分片期望的采样行数，据此换算采样百分比。
+     */
+    private static final long SAMPLE_ROWS_PER_RANGE = 1000L;
+
+    private final DatabaseDialect dialect;
+    private final int partitions;
+    private final long minRowsPerRange;
+
+    /**
+     * 创建切分器。
+     *
+     * @param dialect         源库方言
+     * @param partitions      最大分片数
+     * @param minRowsPerRange 单个分片最少行数
+     */
+    public EtlKeyRangeSplitter(DatabaseDialect dialect, int partitions, long minRowsPerRange) {
+        this.dialect = dialect;
+        this.partitions = Math.max(partitions, 1);
+        this.minRowsPerRange = Math.max(minRowsPerRange, 1L);
+    }
+
+    /**
+     * 切分源表。
+     *
+     * @param connection         源库连接
+     * @param qualifiedTableName 全限定表名
+     * @param keyColumn          切分键
+     * @param whereClause        额外过滤条件，可为空
+     * @param parameters         过滤条件绑定参数
+     * @param includeNullRange   切分键可能为空时追加空值区间
+     * @return 按切分键升序排列的区间；不切分时只含一个全表区间
+     * @throws SQLException 统计边界失败
+     */
+    public List<EtlKeyRange> split(
+            Connection connection,
+            String qualifiedTableName,
+            String keyColumn,
+            String whereClause,
+            List<Object> parameters,
+            boolean includeNullRange
+    ) throws SQLException {
+        if (partitions < 2) {
+            return List.of(EtlKeyRange.unbounded());
+        }
+        Object min;
+        Object max;
+        long rowCount;
+        String boundsSql = dialect.buildKeyBoundsSql(qualifiedTableName, keyColumn, whereClause);
+        try (PreparedStatement statement = connection.prepareStatement(boundsSql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return List.of(EtlKeyRange.unbounded());
+                }
+                min = resultSet.getObject(1);
+                max = resultSet.getObject(2);
+                rowCount = resultSet.getLong(3);
+            }
+        }
+        if (min == null || max == null || rowCount < minRowsPerRange * 2) {
+            return List.of(EtlKeyRange.unbounded());
+        }
+        int rangeCount = (int) Math.min(partitions, rowCount / minRowsPerRange);
+        List<Object> cuts = sampleCuts(connection, qualifiedTableName, keyColumn, whereClause, parameters,
+                rangeCount, rowCount, max);
+        if (cuts.isEmpty()) {
+            cuts = interpolateCuts(min, max, rangeCount);
+        }
+        if (cuts.isEmpty()) {
+            return List.of(EtlKeyRange.unbounded());
+        }
+        List<EtlKeyRange> ranges = new ArrayList<>(cuts.size() + 2);
+        Object lower = null;
+        for (Object cut : cuts) {
+            ranges.add(new EtlKeyRange(ranges.size(), lower, cut, false));
+            lower = cut;
+        }
+        ranges.add(new EtlKeyRange(ranges.size(), lower, null, false));
+        if (includeNullRange) {
+            ranges.add(new EtlKeyRange(ranges.size(), null, null, true));
+        }
+        return ranges;
+    }
+
+    private List<Object> sampleCuts(
+            Connection connection,
+            String qualifiedTableName,
+            String keyColumn,
+            String whereClause,
+            List<Object> parameters,
+            int rangeCount,
+            long rowCount,
+            Object max
+    ) {
+        double samplePercent = Math.min(100D, SAMPLE_ROWS_PER_RANGE * rangeCount * 100D / rowCount);
+        String quantilesSql = dialect.buildKeyQuantilesSql(
+                qualifiedTableName, keyColumn, rangeCount, whereClause, samplePercent
+        );
+        if (quantilesSql == null) {
+            return List.of();
+        }
+        List<Object> cuts = new ArrayList<>(rangeCount);
+        try (PreparedStatement statement = connection.prepareStatement(quantilesSql)) {
+            bind(statement, parameters);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    addCut(cuts, resultSet.getObject(1), max);
+                }
+            }
+        } catch (SQLException exception) {
+            log.warn("切分键分位点采样失败，回退按数值均分: table={}, key={}, error={}",
+                    qualifiedTableName, keyColumn, exception.getMessage());
+            return List.of();
+        }
+        return cuts;
+    }
+
+    private List<Object> interpolateCuts(Object min, Object max, int rangeCount) {
+        BigInteger low = toInteger(min);
+        BigInteger high = toInteger(max);
+        if (low == null || high == null) {
+            return List.of();
+        }
+        BigInteger step = high.subtract(low).divide(BigInteger.valueOf(rangeCount));
+        List<Object> cuts = new ArrayList<>(rangeCount);
+        if (step.signum() <= 0) {
+            return cuts;
+        }
+        for (int index = 1; index < rangeCount; index++) {
+            addCut(cuts, low.add(step.multiply(BigInteger.valueOf(index))).longValue(), max);
+        }
+        return cuts;
+    }
+
+    /**
+     * 只保留严格递增且小于最大值的边界，最后一个区间不设上界。
+     */
+    private void addCut(List<Object> cuts, Object cut, Object max) {
+        if (cut == null || EtlKeyRange.compareKeys(cut, max) >= 0) {
+            return;
+        }
+        if (!cuts.isEmpty() && EtlKeyRange.compareKeys(cut, cuts.get(cuts.size() - 1)) <= 0) {
+            return;
+        }
+        cuts.add(cut);
+    }
+
+    private BigInteger toInteger(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof BigInteger integer) {
+            return integer.bitLength() < Long.SIZE ? integer : null;
+        }
+        if (value instanceof BigDecimal decimal && decimal.stripTrailingZeros().scale() <= 0) {
+            BigInteger integer = decimal.toBigInteger();
+            return integer.bitLength() < Long.SIZE ? integer : null;
+        }
+        return null;
+    }
+
+    private void bind(PreparedStatement statement, List<Object> parameters) throws SQLException {
+        for (int index = 0; index < parameters.size(); index++) {
+            statement.setObject(index + 1, parameters.get(index));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 桶位 Merkle 树：叶子为各桶的行数与库内摘要，父节点为子节点哈希的 xxHash64，逐层归并到唯一的根节点。
+ *
+ * <p>与上一次成功执行保存的树比较时，从根节点向下只进入哈希不同的子树，变化的桶数越少，需要比较的节点越少。
+ * 树的形状由叶子数与扇出决定，形状不同的树不可比较。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlMerkleTree {
+
+    /**
+     * 空桶的叶子哈希。
+     */
+    static final String EMPTY_HASH = "0";
+
+    private final int fanout;
+    private final List<String[]> hashes;
+    private final List<long[]> rowCounts;
+
+    private EtlMerkleTree(int fanout, List<String[]> hashes, List<long[]> rowCounts) {
+        this.fanout = fanout;
+        this.hashes = hashes;
+        this.rowCounts = rowCounts;
+    }
+
+    /**
+     * 由各桶聚合结果构建。
+     *
+     * @param leaves    桶号到聚合结果，没有数据的桶可不出现
+     * @param leafCount 叶子数，即桶数量
+     * @param fanout    扇出，至少为 2
+     * @return Merkle 树
+     */
+    public static EtlMerkleTree build(
+            Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> leaves,
+            int leafCount,
+            int fanout
+    ) {
+        String[] leafHashes = new String[leafCount];
+        long[] leafRows = new long[leafCount];
+        Arrays.fill(leafHashes, EMPTY_HASH);
+        for (Map.Entry<Integer, EtlBucketChecksumPushdown.BucketAggregate> entry : leaves.entrySet()) {
+            int bucket = entry.getKey();
+            if (bucket < 0 || bucket >= leafCount) {
+                throw new IllegalArgumentException("桶号超出叶子范围: " + bucket);
+            }
+            leafHashes[bucket] = hash(entry.getValue().rowCount() + ":" + entry.getValue().digest());
+            leafRows[bucket] = entry.getValue().rowCount();
+        }
+        List<String[]> hashes = new ArrayList<>();
+        List<long[]> rowCounts = new ArrayList<>();
+        hashes.add(leafHashes);
+        rowCounts.add(leafRows);
+        int step = Math.max(fanout, 2);
+        while (hashes.get(hashes.size() - 1).length > 1) {
+            String[] children = hashes.get(hashes.size() - 1);
+            long[] childRows = rowCounts.get(rowCounts.size() - 1);
+            int size = (children.length + step - 1) / step;
+            String[] parents = new String[size];
+            long[] parentRows = new long[size];
+            for (int parent = 0; parent < size; parent++) {
+                StringBuilder text = new StringBuilder();
+                for (int child = parent * step; child < Math.min(children.length, (parent + 1) * step); child++) {
+                    text.append(children[child]).append('|');
+                    parentRows[parent] += childRows[child];
+                }
+                parents[parent] = hash(text.toString());
+            }
+            hashes.add(parents);
+            rowCounts.add(parentRows);
+        }
+        return new EtlMerkleTree(step, hashes, rowCounts);
+    }
+
+    /**
+     * 由持久化的节点恢复；节点不完整或层级不连续时返回 {@code null}。
+     *
+     * @param fanout 扇出
+     * @param nodes  全部节点
+     * @return Merkle 树
+     */
+    public static EtlMerkleTree restore(int fanout, List<Node> nodes) {
+        int levels = nodes.stream().mapToInt(Node::level).max().orElse(-1) + 1;
+        if (levels == 0) {
+            return null;
+        }
+        List<String[]> hashes = new ArrayList<>();
+        List<long[]> rowCounts = new ArrayList<>();
+        for (int level = 0; level < levels; level++) {
+            int currentLevel = level;
+            int size = nodes.stream().filter(node -> node.level() == currentLevel).mapToInt(Node::index).max().orElse(-1) + 1;
+            hashes.add(new String[size]);
+            rowCounts.add(new long[size]);
+        }
+        for (Node node : nodes) {
+            hashes.get(node.level())[node.index()] = node.hash();
+            rowCounts.get(node.level())[node.index()] = node.rowCount();
+        }
+        for (int level = 0; level < levels; level++) {
+            int expected = level == 0 ? hashes.get(0).length : (hashes.get(level - 1).length + fanout - 1) / fanout;
+            if (hashes.get(level).length != expected || Arrays.asList(hashes.get(level)).contains(null)) {
+                return null;
+            }
+        }
+        return hashes.get(levels - 1).length == 1 ? new EtlMerkleTree(fanout, hashes, rowCounts) : null;
+    }
+
+    /**
+     * 与上一棵树比较，自根节点向下只进入哈希不同的子树。
+     *
+     * @param previous 上一次保存的树
+     * @return 哈希不同的叶子（桶号），升序；形状不同时返回 {@code null}
+     */
+    public Diff diff(EtlMerkleTree previous) {
+        if (previous == null || previous.fanout != fanout || previous.hashes.size() != hashes.size()
+                || previous.hashes.get(0).length != hashes.get(0).length) {
+            return null;
+        }
+        Set<Integer> changedLeaves = new TreeSet<>();
+        int comparedNodes = descend(previous, hashes.size() - 1, 0, changedLeaves);
+        return new Diff(changedLeaves, comparedNodes);
+    }
+
+    private int descend(EtlMerkleTree previous, int level, int index, Set<Integer> changedLeaves) {
+        if (hashes.get(level)[index].equals(previous.hashes.get(level)[index])) {
+            return 1;
+        }
+        if (level == 0) {
+            changedLeaves.add(index);
+            return 1;
+        }
+        int compared = 1;
+        int childCount = hashes.get(level - 1).length;
+        for (int child = index * fanout; child < Math.min(childCount, (index + 1) * fanout); child++) {
+            compared += descend(previous, level - 1, child, changedLeaves);
+        }
+        return compared;
+    }
+
+    /**
+     * 根节点哈希。
+     *
+     * @return 根哈希
+     */
+    public String rootHash() {
+        return hashes.get(hashes.size() - 1)[0];
+    }
+
+    /**
+     * 全部节点，按层级自叶子向上排列，用于持久化。
+     *
+     * @return 节点
+     */
+    public List<Node> nodes() {
+        List<Node> nodes = new ArrayList<>();
+        for (int level = 0; level < hashes.size(); level++) {
+            for (int index = 0; index < hashes.get(level).length; index++) {
+                nodes.add(new Node(level, index, hashes.get(level)[index], rowCounts.get(level)[index]));
+            }
+        }
+        return nodes;
+    }
+
+    private static String hash(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return String.format("%016x", EtlHashFunctions.xxHash64(bytes, 0, bytes.length));
+    }
+
+    /**
+     * 树节点。
+     *
+     * @param level    层级，叶子为 0
+     * @param index    层内序号
+     * @param hash     节点哈希
+     * @param rowCount 子树行数
+     */
+    public record Node(int level, int index, String hash, long rowCount) {
+    }
+
+    /**
+     * 比较结果。
+     *
+     * @param changedLeaves 哈希不同的叶子
+     * @param comparedNodes 实际比较的节点数
+     */
+    public record Diff(Set<Integer> changedLeaves, int comparedNodes) {
+    }
+}
@@ -0,0 +1,116 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 按切分键区间并行读取源表，把各区间的数据块提交到同一个流水线。
+ *
+ * <p>每个读取线程依次领取区间，区间内的数据块保持顺序；任一区间失败后，其余线程在下次提交数据块时退出，
+ * 首个异常在全部线程结束后抛出。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlPartitionedReader {
+
+    private final String name;
+    private final int parallelism;
+
+    /**
+     * 创建并行读取器。
+     *
+     * @param name        名称，用于线程命名
+     * @param parallelism 最大并行读取线程数
+     */
+    public EtlPartitionedReader(String name, int parallelism) {
+        this.name = name;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    /**
+     * 并行读取全部区间，直至所有区间读完或出现失败。
+     *
+     * @param ranges  区间列表
+     * @param emitter 流水线数据块提交器，需支持多线程调用
+     * @param reader  单区间读取逻辑
+     * @param <S>     数据块类型
+     * @throws Exception 任一区间读取失败
+     */
+    public <S> void read(
+            List<EtlKeyRange> ranges,
+            EtlChunkPipeline.ChunkEmitter<S> emitter,
+            RangeReader<S> reader
+    ) throws Exception {
+        Queue<EtlKeyRange> pending = new ConcurrentLinkedQueue<>(ranges);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        EtlChunkPipeline.ChunkEmitter<S> guarded = chunk -> {
+            if (failure.get() != null) {
+                throw new CancellationException(name + " 区间读取已中止");
+            }
+            emitter.emit(chunk);
+        };
+        int threadCount = Math.min(parallelism, ranges.size());
+        List<Thread> threads = new ArrayList<>(threadCount);
+        for (int index = 0; index < threadCount; index++) {
+            Thread thread = new Thread(() -> {
+                EtlKeyRange range;
+                while (failure.get() == null && (range = pending.poll()) != null) {
+                    try {
+                        reader.read(range, guarded);
+                    } catch (Throwable throwable) {
+                        if (failure.compareAndSet(null, throwable)) {
+                            log.debug("ETL 区间读取失败: reader={}, range={}, reason={}",
+                                    name, range.index(), throwable.getMessage());
+                        }
+                        return;
+                    }
+                }
+            }, name + "-range-" + index);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException exception) {
+            failure.compareAndSet(null, exception);
+            Thread.currentThread().interrupt();
+        }
+        Throwable throwable = failure.get();
+        if (throwable == null) {
+            return;
+        }
+        if (throwable instanceof Exception exception) {
+            throw exception;
+        }
+        throw (Error) throwable;
+    }
+
+    /**
+     * 单区间读取逻辑。
+     *
+     * @param <S> 数据块类型
+     */
+    @FunctionalInterface
+    public interface RangeReader<S> {
+
+        /**
+         * 读取一个区间并逐块提交。
+         *
+         * @param range   区间
+         * @param emitter 数据块提交器
+         * @throws Exception 读取失败
+         */
+        void read(EtlKeyRange range, EtlChunkPipeline.ChunkEmitter<S> emitter) throws Exception;
+    }
+}
@@ -0,0 +1,93 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 各切分键区间已提交的进度，用于中断后续跑。
+ *
+ * <p>同一区间的数据块按排序键升序到达写入端，数据块全部写入成功后，区间进度推进到该块最后一行的排序键；
+ * 续跑时从该键（含）重新读取，边界上的行会被再写一次，写入为 upsert/合并，结果不变。
+ * 区间内任一数据块存在失败或不一致的桶后，该区间在本次执行内不再推进，续跑时从上次的位置重新比对。</p>
+ *
+ * <p>仅由写入线程调用，不做同步。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRangeProgress {
+
+    private final Map<Integer, RangeState> ranges = new HashMap<>();
+
+    /**
+     * 创建进度。
+     *
+     * @param resumed 续跑时各区间此前已提交的进度，新执行为空
+     */
+    public EtlRangeProgress(Collection<Commit> resumed) {
+        for (Commit commit : resumed) {
+            RangeState state = new RangeState(commit.committedRows());
+            state.resumeKey = commit.resumeKey();
+            ranges.put(commit.rangeIndex(), state);
+        }
+    }
+
+    /**
+     * 记录一个已写入的数据块。
+     *
+     * @param chunkSequence 数据块序号，高位为区间序号
+     * @param lastOrderKey  数据块最后一行的排序键，可为空
+     * @param rowCount      数据块行数
+     * @param clean         数据块内的桶是否全部写入成功且校验一致
+     * @return 需要持久化的进度；区间已停止推进时返回 {@code null}
+     */
+    public Commit commit(long chunkSequence, Object lastOrderKey, int rowCount, boolean clean) {
+        int rangeIndex = EtlKeyRange.rangeIndexOf(chunkSequence);
+        RangeState state = ranges.computeIfAbsent(rangeIndex, key -> new RangeState(0L));
+        if (state.frozen) {
+            return null;
+        }
+        if (!clean) {
+            state.frozen = true;
+            return null;
+        }
+        state.committedRows += rowCount;
+        // 排序键为空的行在部分数据库中排在最前，保留上一个非空键即可，续跑条件总会包含空键行
+        if (lastOrderKey != null) {
+            state.resumeKey = lastOrderKey;
+        }
+        return new Commit(rangeIndex, state.resumeKey, state.committedRows);
+    }
+
+    /**
+     * 续跑前已提交的行数之和。
+     *
+     * @return 行数
+     */
+    public long resumedRows() {
+        return ranges.values().stream().mapToLong(state -> state.resumedRows).sum();
+    }
+
+    /**
+     * 待持久化的区间进度。
+     *
+     * @param rangeIndex    区间序号
+     * @param resumeKey     已提交的最后排序键，为空表示从区间起点重读
+     * @param committedRows 区间累计已提交行数
+     */
+    public record Commit(int rangeIndex, Object resumeKey, long committedRows) {
+    }
+
+    private static final class RangeState {
+        private final long resumedRows;
+        private long committedRows;
+        private Object resumeKey;
+        private boolean frozen;
+
+        private RangeState(long committedRows) {
+            this.resumedRows = committedRows;
+            this.committedRows = committedRows;
+        }
+    }
+}
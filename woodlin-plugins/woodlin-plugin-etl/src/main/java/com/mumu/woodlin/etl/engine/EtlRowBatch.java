@@ -0,0 +1,170 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 按列存储的行批次。
+ *
+ * <p>列存储由 {@link EtlRowSchema} 决定类型，读取与绑定直接使用对应的 JDBC getter/setter，
+ * 取代逐行构建 {@code Map<String, Object>}。批次只追加、不删除，非线程安全。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRowBatch {
+
+    private static final long ROW_OVERHEAD = 16L;
+
+    private final EtlRowSchema schema;
+    private final EtlColumnVector[] columns;
+    private int capacity;
+    private int size;
+    private long estimatedBytes;
+
+    /**
+     * 创建行批次。
+     *
+     * @param schema          列结构
+     * @param initialCapacity 初始容量
+     */
+    public EtlRowBatch(EtlRowSchema schema, int initialCapacity) {
+        this.schema = schema;
+        this.capacity = Math.max(initialCapacity, 1);
+        this.columns = new EtlColumnVector[schema.size()];
+        for (int index = 0; index < columns.length; index++) {
+            columns[index] = schema.newVector(index, capacity);
+        }
+    }
+
+    /**
+     * 列结构。
+     *
+     * @return 列结构
+     */
+    public EtlRowSchema schema() {
+        return schema;
+    }
+
+    /**
+     * 行数。
+     *
+     * @return 行数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 是否为空批次。
+     *
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 估算占用字节数。
+     *
+     * @return 字节数
+     */
+    public long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * 读取结果集当前行，结果集列顺序须与列结构一致。
+     *
+     * @param resultSet 结果集
+     * @return 新行下标
+     * @throws SQLException 读取失败
+     */
+    public int readRow(ResultSet resultSet) throws SQLException {
+        int row = nextRow();
+        for (int index = 0; index < columns.length; index++) {
+            columns[index].read(resultSet, index + 1, row);
+        }
+        account(row);
+        return row;
+    }
+
+    /**
+     * 追加一行，值按列下标排列，并转换为列类型。
+     *
+     * @param values 行值
+     * @return 新行下标
+     */
+    public int appendRow(Object[] values) {
+        int row = nextRow();
+        for (int index = 0; index < columns.length; index++) {
+            columns[index].set(row, values[index]);
+        }
+        account(row);
+        return row;
+    }
+
+    /**
+     * 读取单元格（原始类型列会装箱）。
+     *
+     * @param row    行下标
+     * @param column 列下标
+     * @return 值
+     */
+    public Object get(int row, int column) {
+        return columns[column].get(row);
+    }
+
+    /**
+     * 列存储。
+     *
+     * @param column 列下标
+     * @return 列存储
+     */
+    public EtlColumnVector column(int column) {
+        return columns[column];
+    }
+
+    /**
+     * 依列下标顺序绑定一行到参数 1..n。
+     *
+     * @param statement 语句
+     * @param row       行下标
+     * @throws SQLException 绑定失败
+     */
+    public void bindRow(PreparedStatement statement, int row) throws SQLException {
+        for (int index = 0; index < columns.length; index++) {
+            columns[index].bind(statement, index + 1, row);
+        }
+    }
+
+    /**
+     * 追加单元格文本形式，空值写为 {@code NULL}。
+     *
+     * @param builder 目标
+     * @param row     行下标
+     * @param column  列下标
+     */
+    public void appendText(StringBuilder builder, int row, int column) {
+        columns[column].appendText(builder, row);
+    }
+
+    private int nextRow() {
+        if (size == capacity) {
+            capacity = Math.max(capacity * 2, 16);
+            for (EtlColumnVector column : columns) {
+                column.grow(capacity);
+            }
+        }
+        return size++;
+    }
+
+    private void account(int row) {
+        long bytes = ROW_OVERHEAD;
+        for (EtlColumnVector column : columns) {
+            bytes += column.estimateBytes(row);
+        }
+        estimatedBytes += bytes;
+    }
+}
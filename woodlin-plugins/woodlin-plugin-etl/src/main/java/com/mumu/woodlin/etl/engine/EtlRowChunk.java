@@ -0,0 +1,31 @@
+package com.mumu.woodlin.etl.engine;
+
+/**
+ * 源端读取出的原始行数据块。
+ *
+ * @param sequence       数据块序号
+ * @param rows           按源表列结构存储的行批次
+ * @param estimatedBytes 估算字节数
+ * @param watermark      分页读取时，数据块是一页的最后一块则为该页末行的水位，否则为 {@code null}
+ * @author mumu
+ * @since 1.0.0
+ */
+public record EtlRowChunk(long sequence, EtlRowBatch rows, long estimatedBytes, EtlWatermark watermark)
+        implements EtlChunk {
+
+    /**
+     * 创建不携带水位的数据块。
+     *
+     * @param sequence       数据块序号
+     * @param rows           行批次
+     * @param estimatedBytes 估算字节数
+     */
+    public EtlRowChunk(long sequence, EtlRowBatch rows, long estimatedBytes) {
+        this(sequence, rows, estimatedBytes, null);
+    }
+
+    @Override
+    public int rowCount() {
+        return rows.size();
+    }
+}
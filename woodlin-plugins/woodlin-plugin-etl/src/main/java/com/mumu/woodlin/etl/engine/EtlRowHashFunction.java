@@ -0,0 +1,21 @@
+package com.mumu.woodlin.etl.engine;
+
+/**
+ * 行哈希函数：对一行的规范化字节编码计算 64 位哈希。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface EtlRowHashFunction {
+
+    /**
+     * 计算哈希。
+     *
+     * @param data   字节数组
+     * @param offset 起始下标
+     * @param length 长度
+     * @return 64 位哈希值
+     */
+    long hash(byte[] data, int offset, int length);
+}
@@ -0,0 +1,186 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * 行哈希器：把一行的类型化列值写成规范化字节编码，再交给哈希函数计算。
+ *
+ * <p>每个值以类型标记开头，变长值带长度前缀，编码无二义性；整数不区分 INT/LONG，DECIMAL 去除尾随零，
+ * 时间戳按纪元秒与纳秒编码。原始类型列直接写入复用的缓冲区，不构造中间字符串。非线程安全。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRowHasher {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_INTEGRAL = 1;
+    private static final byte TAG_DOUBLE = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_DECIMAL = 4;
+    private static final byte TAG_TEXT = 5;
+    private static final byte TAG_DATE = 6;
+    private static final byte TAG_TIMESTAMP = 7;
+    private static final byte TAG_BYTES = 8;
+
+    private final EtlRowHashFunction hashFunction;
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    EtlRowHasher(EtlRowHashFunction hashFunction) {
+        this.hashFunction = hashFunction;
+    }
+
+    /**
+     * 计算批次中一行的哈希。
+     *
+     * @param rows 行批次
+     * @param row  行下标
+     * @return 行哈希
+     */
+    public long hash(EtlRowBatch rows, int row) {
+        position = 0;
+        int columns = rows.schema().size();
+        for (int column = 0; column < columns; column++) {
+            rows.column(column).encode(this, row);
+        }
+        return hashFunction.hash(buffer, 0, position);
+    }
+
+    void writeNull() {
+        ensure(1);
+        buffer[position++] = TAG_NULL;
+    }
+
+    void writeIntegral(long value) {
+        ensure(9);
+        buffer[position++] = TAG_INTEGRAL;
+        putLong(value);
+    }
+
+    void writeDouble(double value) {
+        ensure(9);
+        buffer[position++] = TAG_DOUBLE;
+        putLong(value == 0.0D ? 0L : Double.doubleToLongBits(value));
+    }
+
+    void writeBoolean(boolean value) {
+        ensure(2);
+        buffer[position++] = TAG_BOOLEAN;
+        buffer[position++] = value ? (byte) 1 : (byte) 0;
+    }
+
+    void writeDecimal(BigDecimal value) {
+        BigDecimal normalized = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        BigInteger unscaled = normalized.unscaledValue();
+        if (unscaled.bitLength() < Long.SIZE) {
+            ensure(14);
+            buffer[position++] = TAG_DECIMAL;
+            putInt(normalized.scale());
+            buffer[position++] = 0;
+            putLong(unscaled.longValue());
+            return;
+        }
+        byte[] magnitude = unscaled.toByteArray();
+        ensure(10 + magnitude.length);
+        buffer[position++] = TAG_DECIMAL;
+        putInt(normalized.scale());
+        buffer[position++] = 1;
+        putInt(magnitude.length);
+        System.arraycopy(magnitude, 0, buffer, position, magnitude.length);
+        position += magnitude.length;
+    }
+
+    void writeText(CharSequence value) {
+        int length = value.length();
+        ensure(5 + length * 2);
+        buffer[position++] = TAG_TEXT;
+        putInt(length);
+        for (int index = 0; index < length; index++) {
+            char character = value.charAt(index);
+            buffer[position++] = (byte) character;
+            buffer[position++] = (byte) (character >>> 8);
+        }
+    }
+
+    void writeDate(java.sql.Date value) {
+        writeEpochDay(value.toLocalDate().toEpochDay());
+    }
+
+    void writeTimestamp(Timestamp value) {
+        ensure(13);
+        buffer[position++] = TAG_TIMESTAMP;
+        putLong(Math.floorDiv(value.getTime(), 1000L));
+        putInt(value.getNanos());
+    }
+
+    void writeBytes(byte[] value) {
+        ensure(5 + value.length);
+        buffer[position++] = TAG_BYTES;
+        putInt(value.length);
+        System.arraycopy(value, 0, buffer, position, value.length);
+        position += value.length;
+    }
+
+    /**
+     * 按运行时类型编码任意值，用于 OBJECT 列与无法转换为列类型的值；其余类型按文本形式编码。
+     */
+    void writeObject(Object value) {
+        if (value == null) {
+            writeNull();
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            writeIntegral(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            writeDecimal(decimal);
+        } else if (value instanceof BigInteger integer) {
+            writeDecimal(new BigDecimal(integer));
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof Boolean flag) {
+            writeBoolean(flag);
+        } else if (value instanceof CharSequence text) {
+            writeText(text);
+        } else if (value instanceof Timestamp timestamp) {
+            writeTimestamp(timestamp);
+        } else if (value instanceof LocalDateTime dateTime) {
+            writeTimestamp(Timestamp.valueOf(dateTime));
+        } else if (value instanceof java.sql.Date date) {
+            writeDate(date);
+        } else if (value instanceof LocalDate date) {
+            writeEpochDay(date.toEpochDay());
+        } else if (value instanceof byte[] bytes) {
+            writeBytes(bytes);
+        } else {
+            writeText(String.valueOf(value));
+        }
+    }
+
+    private void writeEpochDay(long epochDay) {
+        ensure(9);
+        buffer[position++] = TAG_DATE;
+        putLong(epochDay);
+    }
+
+    private void putLong(long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void putInt(int value) {
+        for (int shift = 0; shift < Integer.SIZE; shift += Byte.SIZE) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void ensure(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+}
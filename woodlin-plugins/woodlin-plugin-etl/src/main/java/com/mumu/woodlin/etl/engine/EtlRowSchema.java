@@ -0,0 +1,175 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 行批次的列结构。
+ *
+ * <p>按 {@link com.mumu.woodlin.etl.service.EtlTableMetadataInspector} 给出的字段序号排列参与同步的列，
+ * 列下标即批次中列存储的下标；元数据中不存在的列排在末尾并按 OBJECT 处理。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRowSchema {
+
+    private final List<String> columnNames;
+    private final EtlColumnType[] types;
+    private final int[] sqlTypes;
+    private final Integer[] decimalDigits;
+    private final Map<String, Integer> exactIndex = new HashMap<>();
+    private final Map<String, Integer> caseInsensitiveIndex = new HashMap<>();
+
+    private EtlRowSchema(List<String> columnNames, EtlColumnType[] types, int[] sqlTypes, Integer[] decimalDigits) {
+        this.columnNames = Collections.unmodifiableList(columnNames);
+        this.types = types;
+        this.sqlTypes = sqlTypes;
+        this.decimalDigits = decimalDigits;
+        for (int index = 0; index < columnNames.size(); index++) {
+            exactIndex.putIfAbsent(columnNames.get(index), index);
+            caseInsensitiveIndex.putIfAbsent(columnNames.get(index).toLowerCase(Locale.ROOT), index);
+        }
+    }
+
+    /**
+     * 按表结构元数据构建列结构。
+     *
+     * @param metadata 表结构元数据，可为空
+     * @param columns  参与同步的列
+     * @return 列结构
+     */
+    public static EtlRowSchema of(TableSchemaMetadata metadata, List<String> columns) {
+        Map<String, TableColumnMetadata> byName = new HashMap<>();
+        if (metadata != null && metadata.getColumns() != null) {
+            for (TableColumnMetadata column : metadata.getColumns()) {
+                byName.putIfAbsent(column.getColumnName().toLowerCase(Locale.ROOT), column);
+            }
+        }
+        List<String> ordered = new ArrayList<>();
+        for (String column : columns) {
+            if (column != null && !ordered.contains(column)) {
+                ordered.add(column);
+            }
+        }
+        ordered.sort(Comparator.comparing(
+                column -> ordinalOf(byName.get(column.toLowerCase(Locale.ROOT))),
+                Comparator.nullsLast(Integer::compareTo)
+        ));
+        int size = ordered.size();
+        EtlColumnType[] types = new EtlColumnType[size];
+        int[] sqlTypes = new int[size];
+        Integer[] decimalDigits = new Integer[size];
+        for (int index = 0; index < size; index++) {
+            TableColumnMetadata column = byName.get(ordered.get(index).toLowerCase(Locale.ROOT));
+            EtlColumnType type = column == null
+                    ? EtlColumnType.OBJECT
+                    : EtlColumnType.resolve(column.getJdbcType(), column.getTypeName(), column.getColumnSize());
+            types[index] = type;
+            sqlTypes[index] = column != null && column.getJdbcType() != null ? column.getJdbcType() : type.defaultSqlType();
+            decimalDigits[index] = column == null ? null : column.getDecimalDigits();
+        }
+        return new EtlRowSchema(ordered, types, sqlTypes, decimalDigits);
+    }
+
+    private static Integer ordinalOf(TableColumnMetadata column) {
+        return column == null ? null : column.getOrdinalPosition();
+    }
+
+    /**
+     * 列数。
+     *
+     * @return 列数
+     */
+    public int size() {
+        return columnNames.size();
+    }
+
+    /**
+     * 按列下标排列的列名。
+     *
+     * @return 列名
+     */
+    public List<String> columnNames() {
+        return columnNames;
+    }
+
+    /**
+     * 列名。
+     *
+     * @param index 列下标
+     * @return 列名
+     */
+    public String columnName(int index) {
+        return columnNames.get(index);
+    }
+
+    /**
+     * 列类型。
+     *
+     * @param index 列下标
+     * @return 列类型
+     */
+    public EtlColumnType type(int index) {
+        return types[index];
+    }
+
+    /**
+     * 查找列下标，先精确匹配再忽略大小写匹配。
+     *
+     * @param columnName 列名
+     * @return 列下标，不存在时返回 -1
+     */
+    public int indexOf(String columnName) {
+        if (columnName == null) {
+            return -1;
+        }
+        Integer index = exactIndex.get(columnName);
+        if (index == null) {
+            index = caseInsensitiveIndex.get(columnName.toLowerCase(Locale.ROOT));
+        }
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 按列类型绑定单个值。
+     *
+     * @param statement      语句
+     * @param parameterIndex 参数下标（从 1 开始）
+     * @param column         列下标
+     * @param value          值
+     * @throws SQLException 绑定失败
+     */
+    public void bind(PreparedStatement statement, int parameterIndex, int column, Object value) throws SQLException {
+        types[column].bind(statement, parameterIndex, value, sqlTypes[column]);
+    }
+
+    /**
+     * 按列类型转换单个值，例如把持久化的文本键还原为数值或时间。
+     *
+     * @param column 列下标
+     * @param value  值
+     * @return 转换结果；为空或无法转换时原样返回
+     */
+    public Object coerce(int column, Object value) {
+        if (value == null) {
+            return null;
+        }
+        Object coerced = types[column].coerce(value);
+        return coerced == null ? value : coerced;
+    }
+
+    EtlColumnVector newVector(int column, int capacity) {
+        return EtlColumnVector.create(types[column], sqlTypes[column], decimalDigits[column], capacity);
+    }
+}
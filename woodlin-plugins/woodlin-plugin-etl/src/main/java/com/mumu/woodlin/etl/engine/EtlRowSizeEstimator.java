@@ -0,0 +1,44 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * 行数据内存占用估算工具。
+ *
+ * <p>只做量级估算，供流水线按字节预算限流使用，不追求精确。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRowSizeEstimator {
+
+    private static final long OBJECT_OVERHEAD = 16L;
+
+    private EtlRowSizeEstimator() {
+    }
+
+    /**
+     * 估算单个字段值占用字节数。
+     *
+     * @param value 字段值
+     * @return 估算字节数
+     */
+    public static long estimateValue(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        if (value instanceof CharSequence text) {
+            return OBJECT_OVERHEAD + 24L + 2L * text.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_OVERHEAD + bytes.length;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return OBJECT_OVERHEAD + 24L + decimal.precision() / 2L;
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return OBJECT_OVERHEAD + 8L;
+        }
+        return OBJECT_OVERHEAD + 32L;
+    }
+}
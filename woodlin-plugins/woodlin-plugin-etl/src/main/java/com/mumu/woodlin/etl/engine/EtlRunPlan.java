@@ -0,0 +1,190 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 多表运行计划：以任务为节点、依赖为边的有向无环图。
+ *
+ * <p>依赖 {@code a -> b} 表示任务 a 必须在 b 成功后运行，通常来自 a 的表以外键引用 b 的表。
+ * 构建时忽略自引用并检测环；同时按“最长下游路径”计算关键度，就绪任务按关键度优先启动，缩短整体耗时。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRunPlan {
+
+    private final List<Long> jobIds;
+    private final Map<Long, Set<Long>> upstream;
+    private final Map<Long, Set<Long>> downstream;
+    private final Map<Long, Integer> criticality;
+
+    private EtlRunPlan(List<Long> jobIds, Map<Long, Set<Long>> upstream, Map<Long, Set<Long>> downstream) {
+        this.jobIds = List.copyOf(jobIds);
+        this.upstream = upstream;
+        this.downstream = downstream;
+        this.criticality = computeCriticality();
+    }
+
+    /**
+     * 构建运行计划。
+     *
+     * @param jobIds       任务ID，顺序即同等关键度下的启动顺序
+     * @param dependencies 任务ID到其依赖任务ID的映射；依赖计划外的任务时忽略该依赖
+     * @return 运行计划
+     * @throws IllegalArgumentException 依赖成环
+     */
+    public static EtlRunPlan of(Collection<Long> jobIds, Map<Long, ? extends Collection<Long>> dependencies) {
+        Set<Long> nodes = new LinkedHashSet<>(jobIds);
+        Map<Long, Set<Long>> upstream = new LinkedHashMap<>();
+        Map<Long, Set<Long>> downstream = new LinkedHashMap<>();
+        for (Long jobId : nodes) {
+            upstream.put(jobId, new LinkedHashSet<>());
+            downstream.put(jobId, new LinkedHashSet<>());
+        }
+        dependencies.forEach((jobId, dependsOn) -> {
+            if (!nodes.contains(jobId) || dependsOn == null) {
+                return;
+            }
+            for (Long dependency : dependsOn) {
+                if (dependency != null && !dependency.equals(jobId) && nodes.contains(dependency)) {
+                    upstream.get(jobId).add(dependency);
+                    downstream.get(dependency).add(jobId);
+                }
+            }
+        });
+        List<Long> cycle = findCycle(nodes, upstream);
+        if (!cycle.isEmpty()) {
+            throw new IllegalArgumentException("任务依赖存在环: " + cycle);
+        }
+        return new EtlRunPlan(new ArrayList<>(nodes), upstream, downstream);
+    }
+
+    public List<Long> jobIds() {
+        return jobIds;
+    }
+
+    /**
+     * 任务直接依赖的任务。
+     *
+     * @param jobId 任务ID
+     * @return 依赖任务ID
+     */
+    public Set<Long> upstream(Long jobId) {
+        return Collections.unmodifiableSet(upstream.getOrDefault(jobId, Set.of()));
+    }
+
+    /**
+     * 直接依赖该任务的任务。
+     *
+     * @param jobId 任务ID
+     * @return 下游任务ID
+     */
+    public Set<Long> downstream(Long jobId) {
+        return Collections.unmodifiableSet(downstream.getOrDefault(jobId, Set.of()));
+    }
+
+    /**
+     * 关键度：从该任务出发的最长下游路径上的任务数，叶子任务为 1。
+     *
+     * @param jobId 任务ID
+     * @return 关键度
+     */
+    public int criticality(Long jobId) {
+        return criticality.getOrDefault(jobId, 0);
+    }
+
+    /**
+     * 按依赖分层：每层任务只依赖之前各层，层数即最少需要的串行阶段数。
+     *
+     * @return 各层任务ID
+     */
+    public List<List<Long>> levels() {
+        Map<Long, Integer> remaining = new HashMap<>();
+        upstream.forEach((jobId, dependsOn) -> remaining.put(jobId, dependsOn.size()));
+        List<List<Long>> levels = new ArrayList<>();
+        List<Long> current = jobIds.stream().filter(jobId -> remaining.get(jobId) == 0).toList();
+        while (!current.isEmpty()) {
+            levels.add(current);
+            List<Long> next = new ArrayList<>();
+            for (Long jobId : current) {
+                for (Long child : downstream.get(jobId)) {
+                    if (remaining.merge(child, -1, Integer::sum) == 0) {
+                        next.add(child);
+                    }
+                }
+            }
+            current = next;
+        }
+        return levels;
+    }
+
+    private Map<Long, Integer> computeCriticality() {
+        Map<Long, Integer> result = new HashMap<>();
+        List<List<Long>> levels = levels();
+        for (int index = levels.size() - 1; index >= 0; index--) {
+            for (Long jobId : levels.get(index)) {
+                int longest = 0;
+                for (Long child : downstream.get(jobId)) {
+                    longest = Math.max(longest, result.get(child));
+                }
+                result.put(jobId, longest + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 深度优先查找一个环，返回环上的任务ID（首尾相同），无环时返回空列表。
+     */
+    private static List<Long> findCycle(Set<Long> nodes, Map<Long, Set<Long>> upstream) {
+        Map<Long, Integer> state = new HashMap<>();
+        for (Long start : nodes) {
+            if (state.containsKey(start)) {
+                continue;
+            }
+            Deque<Long> path = new ArrayDeque<>();
+            Deque<Iterator<Long>> iterators = new ArrayDeque<>();
+            path.push(start);
+            iterators.push(upstream.get(start).iterator());
+            state.put(start, 1);
+            while (!path.isEmpty()) {
+                Iterator<Long> iterator = iterators.peek();
+                if (!iterator.hasNext()) {
+                    state.put(path.pop(), 2);
+                    iterators.pop();
+                    continue;
+                }
+                Long next = iterator.next();
+                Integer nextState = state.get(next);
+                if (nextState == null) {
+                    state.put(next, 1);
+                    path.push(next);
+                    iterators.push(upstream.get(next).iterator());
+                } else if (nextState == 1) {
+                    List<Long> cycle = new ArrayList<>();
+                    cycle.add(next);
+                    for (Long jobId : path) {
+                        cycle.add(jobId);
+                        if (jobId.equals(next)) {
+                            break;
+                        }
+                    }
+                    Collections.reverse(cycle);
+                    return cycle;
+                }
+            }
+        }
+        return List.of();
+    }
+}
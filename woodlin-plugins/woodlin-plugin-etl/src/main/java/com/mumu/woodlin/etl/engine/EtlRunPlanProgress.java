@@ -0,0 +1,176 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 运行计划的执行进度：跟踪各任务状态，在并行度上限内给出可以启动的任务。
+ *
+ * <p>任务的全部上游成功后进入就绪集合，按关键度从高到低、同级按计划顺序启动；
+ * 任务失败时其所有下游传递地标记为跳过，不再运行。线程安全。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlRunPlanProgress {
+
+    private final EtlRunPlan plan;
+    private final int parallelism;
+    private final Map<Long, NodeState> states = new LinkedHashMap<>();
+    private final Map<Long, Integer> pendingUpstream = new HashMap<>();
+    private final Map<Long, Integer> planOrder = new HashMap<>();
+    private int running;
+
+    /**
+     * 创建执行进度。
+     *
+     * @param plan        运行计划
+     * @param parallelism 同时运行的任务数上限
+     */
+    public EtlRunPlanProgress(EtlRunPlan plan, int parallelism) {
+        this.plan = plan;
+        this.parallelism = Math.max(parallelism, 1);
+        List<Long> jobIds = plan.jobIds();
+        for (int index = 0; index < jobIds.size(); index++) {
+            Long jobId = jobIds.get(index);
+            states.put(jobId, NodeState.PENDING);
+            pendingUpstream.put(jobId, plan.upstream(jobId).size());
+            planOrder.put(jobId, index);
+        }
+    }
+
+    public EtlRunPlan plan() {
+        return plan;
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 取出当前可以启动的任务并标记为运行中。
+     *
+     * @return 待启动任务ID
+     */
+    public synchronized List<Long> nextRunnable() {
+        List<Long> ready = new ArrayList<>();
+        states.forEach((jobId, state) -> {
+            if (state == NodeState.PENDING && pendingUpstream.get(jobId) == 0) {
+                ready.add(jobId);
+            }
+        });
+        ready.sort(Comparator.comparingInt((Long jobId) -> plan.criticality(jobId)).reversed()
+                .thenComparingInt(planOrder::get));
+        List<Long> launched = new ArrayList<>();
+        for (Long jobId : ready) {
+            if (running >= parallelism) {
+                break;
+            }
+            states.put(jobId, NodeState.RUNNING);
+            running++;
+            launched.add(jobId);
+        }
+        return launched;
+    }
+
+    /**
+     * 记录任务结束。
+     *
+     * @param jobId   任务ID
+     * @param success 是否成功
+     * @return 因失败而跳过的下游任务ID
+     */
+    public synchronized List<Long> complete(Long jobId, boolean success) {
+        if (states.get(jobId) != NodeState.RUNNING) {
+            throw new IllegalStateException("任务未在运行: " + jobId);
+        }
+        running--;
+        if (success) {
+            states.put(jobId, NodeState.SUCCEEDED);
+            for (Long child : plan.downstream(jobId)) {
+                pendingUpstream.merge(child, -1, Integer::sum);
+            }
+            return List.of();
+        }
+        states.put(jobId, NodeState.FAILED);
+        List<Long> skipped = new ArrayList<>();
+        Deque<Long> queue = new ArrayDeque<>(plan.downstream(jobId));
+        while (!queue.isEmpty()) {
+            Long child = queue.poll();
+            if (states.get(child) == NodeState.PENDING) {
+                states.put(child, NodeState.SKIPPED);
+                skipped.add(child);
+                queue.addAll(plan.downstream(child));
+            }
+        }
+        return skipped;
+    }
+
+    public synchronized NodeState state(Long jobId) {
+        return states.get(jobId);
+    }
+
+    /**
+     * 是否所有任务都已结束（成功、失败或跳过）。
+     *
+     * @return 是否结束
+     */
+    public synchronized boolean isFinished() {
+        return states.values().stream().allMatch(NodeState::isTerminal);
+    }
+
+    /**
+     * 各状态的任务数。
+     *
+     * @return 状态到数量的映射
+     */
+    public synchronized Map<NodeState, Integer> counts() {
+        Map<NodeState, Integer> counts = new LinkedHashMap<>();
+        for (NodeState state : NodeState.values()) {
+            counts.put(state, 0);
+        }
+        states.values().forEach(state -> counts.merge(state, 1, Integer::sum));
+        return counts;
+    }
+
+    /**
+     * 任务状态。
+     */
+    public enum NodeState {
+
+        /**
+         * 等待上游完成或等待并行名额。
+         */
+        PENDING,
+
+        /**
+         * 已提交运行。
+         */
+        RUNNING,
+
+        /**
+         * 运行成功。
+         */
+        SUCCEEDED,
+
+        /**
+         * 运行失败。
+         */
+        FAILED,
+
+        /**
+         * 上游失败，未运行。
+         */
+        SKIPPED;
+
+        public boolean isTerminal() {
+            return this == SUCCEEDED || this == FAILED || this == SKIPPED;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mumu.woodlin.etl.engine;
+
+/**
+ * ETL 运行优先级，同一优先级按提交顺序执行。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum EtlRunPriority {
+
+    /**
+     * 低优先级，如批量补数。
+     */
+    LOW,
+
+    /**
+     * 普通优先级，定时触发（Quartz、XXL-Job）默认使用。
+     */
+    NORMAL,
+
+    /**
+     * 高优先级，通过接口手动触发时使用。
+     */
+    HIGH
+}
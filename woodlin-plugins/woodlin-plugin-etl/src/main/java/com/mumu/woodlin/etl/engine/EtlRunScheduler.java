@@ -0,0 +1,388 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * ETL 运行调度器：所有触发（定时、XXL-Job、接口）统一进入有界优先级队列，由专用线程池执行。
+ *
+ * <p>调度规则：</p>
+ * <ul>
+ *     <li>同一任务同时最多运行一次（含仅比对运行）；运行期间再次触发时排队一次，已在排队的同类触发合并为一次，并取较高的优先级。
+ *     同步与仅比对分别排队，互不合并。</li>
+ *     <li>同一源数据源、同一目标数据源同时运行的任务数分别不超过上限，达到上限的任务留在队列中，不阻塞其他数据源的任务。</li>
+ *     <li>可运行的任务按优先级从高到低、同级按提交顺序启动；可立即启动的触发不受排队容量限制，需要排队且排队数已达容量时拒绝。</li>
+ * </ul>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public class EtlRunScheduler {
+
+    private static final Comparator<PendingRun> DISPATCH_ORDER = Comparator
+            .comparing((PendingRun run) -> run.priority).reversed()
+            .thenComparingLong(run -> run.sequence);
+
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxConcurrentRuns;
+    private final int queueCapacity;
+    private final int maxRunsPerSource;
+    private final int maxRunsPerTarget;
+
+    private final Object lock = new Object();
+    private final TreeSet<PendingRun> queue = new TreeSet<>(DISPATCH_ORDER);
+    private final Map<RunKey, PendingRun> pendingByJob = new HashMap<>();
+    private final Set<Long> runningJobs = new HashSet<>();
+    private final Map<String, Integer> runningBySource = new HashMap<>();
+    private final Map<String, Integer> runningByTarget = new HashMap<>();
+    private long sequence;
+    private long rejectedCount;
+    private volatile Consumer<Duration> waitObserver = wait -> { };
+
+    /**
+     * 创建调度器。
+     *
+     * @param maxConcurrentRuns 同时运行的任务数上限，即线程数
+     * @param queueCapacity     排队任务数上限
+     * @param maxRunsPerSource  同一源数据源同时运行的任务数上限
+     * @param maxRunsPerTarget  同一目标数据源同时运行的任务数上限
+     */
+    public EtlRunScheduler(int maxConcurrentRuns, int queueCapacity, int maxRunsPerSource, int maxRunsPerTarget) {
+        this.maxConcurrentRuns = Math.max(maxConcurrentRuns, 1);
+        this.queueCapacity = Math.max(queueCapacity, 1);
+        this.maxRunsPerSource = Math.max(maxRunsPerSource, 1);
+        this.maxRunsPerTarget = Math.max(maxRunsPerTarget, 1);
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(this.maxConcurrentRuns);
+        taskExecutor.setMaxPoolSize(this.maxConcurrentRuns);
+        taskExecutor.setThreadNamePrefix("etl-run-");
+        taskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        taskExecutor.setAwaitTerminationSeconds(30);
+        taskExecutor.initialize();
+        this.executor = taskExecutor;
+    }
+
+    /**
+     * 提交一次运行。
+     *
+     * @param request 运行请求
+     * @return 提交结果
+     */
+    public SubmitResult submit(RunRequest request) {
+        return enqueue(request, null);
+    }
+
+    /**
+     * 提交一次运行并等待其结束。与排队中的运行合并时，返回值在被合并的那次运行结束后完成。
+     *
+     * @param request 运行请求
+     * @return 运行结束时以实际执行的那次运行的结果（如执行日志ID）完成；运行逻辑抛出异常时以该异常完成，
+     *         被拒绝时以 {@link RejectedExecutionException} 完成
+     */
+    public CompletableFuture<Long> submitAndWatch(RunRequest request) {
+        CompletableFuture<Long> completion = new CompletableFuture<>();
+        if (enqueue(request, completion) == SubmitResult.REJECTED) {
+            completion.completeExceptionally(new RejectedExecutionException("ETL运行队列已满: jobId=" + request.jobId()));
+        }
+        return completion;
+    }
+
+    private SubmitResult enqueue(RunRequest request, CompletableFuture<Long> watcher) {
+        List<PendingRun> rejected;
+        SubmitResult result = SubmitResult.QUEUED;
+        synchronized (lock) {
+            RunKey key = new RunKey(request.jobId(), request.compareOnly());
+            PendingRun pending = pendingByJob.get(key);
+            if (pending != null) {
+                if (request.priority().compareTo(pending.priority) > 0) {
+                    queue.remove(pending);
+                    pending.priority = request.priority();
+                    queue.add(pending);
+                }
+                pending.addWatcher(watcher);
+                return SubmitResult.MERGED;
+            }
+            PendingRun run = new PendingRun(request, sequence++, System.nanoTime());
+            run.addWatcher(watcher);
+            queue.add(run);
+            pendingByJob.put(key, run);
+            rejected = dispatch();
+            // 先尝试启动，容量只约束确实需要排队等待的运行
+            if (queue.size() > queueCapacity && queue.remove(run)) {
+                pendingByJob.remove(key);
+                rejectedCount++;
+                result = SubmitResult.REJECTED;
+            }
+        }
+        failRejected(rejected);
+        return result;
+    }
+
+    /**
+     * 设置排队耗时的观察者，每次任务启动时回调。
+     *
+     * @param observer 观察者
+     */
+    public void setWaitObserver(Consumer<Duration> observer) {
+        this.waitObserver = observer == null ? wait -> { } : observer;
+    }
+
+    public int queueDepth() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public int runningCount() {
+        synchronized (lock) {
+            return runningJobs.size();
+        }
+    }
+
+    public long rejectedCount() {
+        synchronized (lock) {
+            return rejectedCount;
+        }
+    }
+
+    /**
+     * 队列中等待最久的任务已等待的时长。
+     *
+     * @return 等待毫秒数，队列为空时为 0
+     */
+    public long oldestWaitMillis() {
+        synchronized (lock) {
+            long now = System.nanoTime();
+            return queue.stream().mapToLong(run -> now - run.enqueuedAt).max().orElse(0L) / 1_000_000L;
+        }
+    }
+
+    /**
+     * 任务是否正在运行或排队。
+     *
+     * @param jobId 任务ID
+     * @return 是否运行或排队中
+     */
+    public boolean isActive(Long jobId) {
+        synchronized (lock) {
+            return runningJobs.contains(jobId)
+                    || pendingByJob.keySet().stream().anyMatch(key -> key.jobId().equals(jobId));
+        }
+    }
+
+    /**
+     * 关闭调度器：丢弃排队中的任务，等待运行中的任务完成。
+     */
+    public void shutdown() {
+        List<PendingRun> discarded;
+        synchronized (lock) {
+            if (!queue.isEmpty()) {
+                log.warn("ETL调度器关闭，丢弃排队任务: {}", queue.stream().map(run -> run.request.jobId()).toList());
+            }
+            discarded = new ArrayList<>(queue);
+            queue.clear();
+            pendingByJob.clear();
+        }
+        discarded.forEach(run -> run.complete(null, new CancellationException("ETL调度器已关闭")));
+        executor.shutdown();
+    }
+
+    /**
+     * 按优先级启动满足并发约束的排队任务，调用方持有锁。
+     *
+     * @return 被线程池拒绝（如调度器正在关闭）的运行，已撤销运行登记，由调用方在锁外以失败结束
+     */
+    private List<PendingRun> dispatch() {
+        List<PendingRun> rejected = new ArrayList<>();
+        Iterator<PendingRun> iterator = queue.iterator();
+        while (runningJobs.size() < maxConcurrentRuns && iterator.hasNext()) {
+            PendingRun run = iterator.next();
+            RunRequest request = run.request;
+            if (runningJobs.contains(request.jobId())
+                    || runningBySource.getOrDefault(request.sourceDatasource(), 0) >= maxRunsPerSource
+                    || runningByTarget.getOrDefault(request.targetDatasource(), 0) >= maxRunsPerTarget) {
+                continue;
+            }
+            iterator.remove();
+            pendingByJob.remove(new RunKey(request.jobId(), request.compareOnly()));
+            runningJobs.add(request.jobId());
+            runningBySource.merge(request.sourceDatasource(), 1, Integer::sum);
+            runningByTarget.merge(request.targetDatasource(), 1, Integer::sum);
+            waitObserver.accept(Duration.ofNanos(System.nanoTime() - run.enqueuedAt));
+            try {
+                executor.execute(() -> runAndRelease(run));
+            } catch (RejectedExecutionException exception) {
+                log.error("ETL运行被线程池拒绝: jobId={}, error={}", request.jobId(), exception.getMessage());
+                release(request);
+                run.rejection = exception;
+                rejected.add(run);
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * 撤销运行登记，调用方持有锁。
+     */
+    private void release(RunRequest request) {
+        runningJobs.remove(request.jobId());
+        runningBySource.computeIfPresent(request.sourceDatasource(), (key, count) -> count > 1 ? count - 1 : null);
+        runningByTarget.computeIfPresent(request.targetDatasource(), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private static void failRejected(List<PendingRun> rejected) {
+        rejected.forEach(run -> run.complete(null, run.rejection));
+    }
+
+    private void runAndRelease(PendingRun run) {
+        RunRequest request = run.request;
+        Long result = null;
+        Throwable failure = null;
+        try {
+            result = request.task().get();
+        } catch (RuntimeException exception) {
+            failure = exception;
+            log.error("ETL任务运行异常: jobId={}", request.jobId(), exception);
+        } finally {
+            List<PendingRun> rejected;
+            synchronized (lock) {
+                release(request);
+                rejected = dispatch();
+            }
+            run.complete(result, failure);
+            failRejected(rejected);
+        }
+    }
+
+    /**
+     * 运行请求。
+     *
+     * @param jobId            任务ID
+     * @param sourceDatasource 源数据源编码
+     * @param targetDatasource 目标数据源编码
+     * @param priority         优先级
+     * @param compareOnly      是否为仅比对运行
+     * @param task             运行逻辑，返回本次运行的标识（如执行日志ID），未实际执行时返回null
+     */
+    public record RunRequest(
+            Long jobId,
+            String sourceDatasource,
+            String targetDatasource,
+            EtlRunPriority priority,
+            boolean compareOnly,
+            Supplier<Long> task
+    ) {
+
+        /**
+         * 创建不返回运行标识的运行请求。
+         */
+        public RunRequest(
+                Long jobId,
+                String sourceDatasource,
+                String targetDatasource,
+                EtlRunPriority priority,
+                boolean compareOnly,
+                Runnable task
+        ) {
+            this(jobId, sourceDatasource, targetDatasource, priority, compareOnly, () -> {
+                task.run();
+                return null;
+            });
+        }
+
+        /**
+         * 创建同步运行请求。
+         */
+        public RunRequest(
+                Long jobId,
+                String sourceDatasource,
+                String targetDatasource,
+                EtlRunPriority priority,
+                Runnable task
+        ) {
+            this(jobId, sourceDatasource, targetDatasource, priority, false, task);
+        }
+    }
+
+    /**
+     * 排队合并键：同一任务的同步与仅比对触发各自合并。
+     */
+    private record RunKey(Long jobId, boolean compareOnly) {
+    }
+
+    /**
+     * 提交结果。
+     */
+    public enum SubmitResult {
+
+        /**
+         * 已进入队列。
+         */
+        QUEUED,
+
+        /**
+         * 任务已在排队，与之合并。
+         */
+        MERGED,
+
+        /**
+         * 队列已满，拒绝。
+         */
+        REJECTED
+    }
+
+    private static final class PendingRun {
+        private final RunRequest request;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final List<CompletableFuture<Long>> watchers = new ArrayList<>();
+        private EtlRunPriority priority;
+        private RejectedExecutionException rejection;
+
+        private PendingRun(RunRequest request, long sequence, long enqueuedAt) {
+            this.request = request;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+            this.priority = request.priority();
+        }
+
+        /**
+         * 调用方持有调度器锁。
+         */
+        private void addWatcher(CompletableFuture<Long> watcher) {
+            if (watcher != null) {
+                watchers.add(watcher);
+            }
+        }
+
+        /**
+         * 在锁外调用：出队后不会再有新的观察者加入。
+         */
+        private void complete(Long result, Throwable failure) {
+            for (CompletableFuture<Long> watcher : watchers) {
+                if (failure == null) {
+                    watcher.complete(result);
+                } else {
+                    watcher.completeExceptionally(failure);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+import com.mumu.woodlin.etl.dialect.StreamingStatement;
+
+/**
+ * 有序主键归并：源、目标两端各用一个独立连接按主键同序流式读取，交给 {@link EtlDeleteDetector} 归并出目标端多出的键。
+ *
+ * <p>文本主键按二进制顺序排序，与本地按 Unicode 码点比较的规则一致；两端主键类型不一致或数据库不支持二进制排序时不能归并，
+ * 由 {@link #unsupportedReason()} 给出原因。主键流占用独立连接，归并期间调用方仍可在自己的连接上回查或删除。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public final class EtlSortedKeyMerger {
+
+    private final KeySide source;
+    private final KeySide target;
+    private final String sourceOrder;
+    private final String targetOrder;
+    private final List<String> sourceConditions = new ArrayList<>();
+    private final List<String> targetConditions = new ArrayList<>();
+    private final List<Object> targetParameters = new ArrayList<>();
+
+    /**
+     * 创建有序主键归并。
+     *
+     * @param source 源端
+     * @param target 目标端
+     */
+    public EtlSortedKeyMerger(KeySide source, KeySide target) {
+        this.source = source;
+        this.target = target;
+        boolean textKey = source.keySchema().type(0) == EtlColumnType.STRING;
+        this.sourceOrder = orderExpression(source, textKey);
+        this.targetOrder = orderExpression(target, textKey);
+    }
+
+    /**
+     * 不能按主键有序归并的原因。
+     *
+     * @return 原因；可以归并时返回 {@code null}
+     */
+    public String unsupportedReason() {
+        if ((source.keySchema().type(0) == EtlColumnType.STRING) != (target.keySchema().type(0) == EtlColumnType.STRING)) {
+            return "两端主键类型不一致";
+        }
+        if (sourceOrder == null || targetOrder == null) {
+            return "数据库不支持文本主键的二进制排序";
+        }
+        return null;
+    }
+
+    /**
+     * 追加源端主键流的过滤条件。
+     *
+     * @param condition SQL 条件
+     * @return 当前对象
+     */
+    public EtlSortedKeyMerger filterSource(String condition) {
+        sourceConditions.add(condition);
+        return this;
+    }
+
+    /**
+     * 追加目标端主键流的过滤条件。
+     *
+     * @param condition  SQL 条件，参数用 {@code ?} 占位
+     * @param parameters 条件参数
+     * @return 当前对象
+     */
+    public EtlSortedKeyMerger filterTarget(String condition, Object... parameters) {
+        targetConditions.add(condition);
+        targetParameters.addAll(List.of(parameters));
+        return this;
+    }
+
+    /**
+     * 流式读取两端主键并归并。
+     *
+     * @param fetchSize 流式读取的抓取行数
+     * @param batchSize 每批目标端多出键的数量上限
+     * @param handler   目标端多出键的批处理
+     * @return 归并统计
+     * @throws SQLException 读取或处理失败
+     * @throws IllegalStateException 主键流未按预期顺序排列
+     */
+    public EtlDeleteDetector.Result merge(int fetchSize, int batchSize, EtlDeleteDetector.CandidateHandler handler)
+            throws SQLException {
+        try (Connection sourceConnection = source.dataSource().getConnection();
+             Connection targetConnection = target.dataSource().getConnection();
+             StreamingStatement sourceStatement = source.dialect().prepareStreamingStatement(
+                     sourceConnection, buildSql(source, sourceConditions, sourceOrder), fetchSize);
+             StreamingStatement targetStatement = target.dialect().prepareStreamingStatement(
+                     targetConnection, buildSql(target, targetConditions, targetOrder), fetchSize)) {
+            for (int index = 0; index < targetParameters.size(); index++) {
+                targetStatement.statement().setObject(index + 1, targetParameters.get(index));
+            }
+            try (ResultSet sourceKeys = sourceStatement.executeQuery();
+                 ResultSet targetKeys = targetStatement.executeQuery()) {
+                return new EtlDeleteDetector(batchSize).detect(
+                        () -> nextKey(sourceKeys, source.keySchema()),
+                        () -> nextKey(targetKeys, target.keySchema()),
+                        handler
+                );
+            }
+        }
+    }
+
+    private static String orderExpression(KeySide side, boolean textKey) {
+        return textKey
+                ? side.dialect().buildBinaryOrderExpression(side.keyColumn())
+                : side.dialect().quoteIdentifier(side.keyColumn());
+    }
+
+    private static String buildSql(KeySide side, List<String> conditions, String order) {
+        String quotedKey = side.dialect().quoteIdentifier(side.keyColumn());
+        List<String> filters = new ArrayList<>(conditions);
+        filters.add(0, quotedKey + " IS NOT NULL");
+        return "SELECT " + quotedKey + " FROM " + side.table()
+                + " WHERE " + String.join(" AND ", filters) + " ORDER BY " + order;
+    }
+
+    private static Object nextKey(ResultSet resultSet, EtlRowSchema keySchema) throws SQLException {
+        return resultSet.next() ? keySchema.coerce(0, resultSet.getObject(1)) : null;
+    }
+
+    /**
+     * 归并的一端。
+     *
+     * @param dataSource 数据源，归并时从中取独立连接
+     * @param dialect    数据库方言
+     * @param table      已限定的表名
+     * @param keyColumn  主键列
+     * @param keySchema  首列为主键的行结构，用于把读取值转换为可比较的键
+     */
+    public record KeySide(
+            DataSource dataSource,
+            DatabaseDialect dialect,
+            String table,
+            String keyColumn,
+            EtlRowSchema keySchema
+    ) {
+    }
+}
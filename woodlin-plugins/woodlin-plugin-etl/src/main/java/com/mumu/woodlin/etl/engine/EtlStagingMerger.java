@@ -0,0 +1,153 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 暂存表合并写入器：差异行先批量装载到会话级暂存表，再以一条集合式 MERGE/UPSERT 写入目标表，最后清空暂存表。
+ *
+ * <p>暂存表按连接懒创建，同一连接上的后续数据块复用；连接归还前须调用 {@link #release(Connection)} 删除暂存表，
+ * 避免连接池中的会话残留临时表。装载沿用 {@link EtlBulkLoader}，PostgreSQL、MySQL 可走 COPY、LOAD DATA。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlStagingMerger {
+
+    private final DatabaseDialect dialect;
+    private final String qualifiedTableName;
+    private final List<String> columns;
+    private final String stagingTableName;
+    private final String mergeSql;
+    private final EtlBulkLoader stagingLoader;
+    private final Set<Connection> preparedConnections = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 创建暂存表合并写入器。
+     *
+     * @param dialect            目标端方言
+     * @param qualifiedTableName 目标表全限定名
+     * @param schema             行结构，写入字段与顺序
+     * @param primaryKeyColumns  主键列
+     * @throws IllegalArgumentException 方言不支持暂存表合并
+     */
+    public EtlStagingMerger(
+            DatabaseDialect dialect,
+            String qualifiedTableName,
+            EtlRowSchema schema,
+            List<String> primaryKeyColumns
+    ) {
+        if (!isSupported(dialect)) {
+            throw new IllegalArgumentException("目标数据库不支持暂存表合并: " + dialect.getDialectType());
+        }
+        this.dialect = dialect;
+        this.qualifiedTableName = qualifiedTableName;
+        this.columns = schema.columnNames();
+        this.stagingTableName = dialect.buildStagingTableName(stagingBaseName(qualifiedTableName));
+        this.mergeSql = dialect.buildStagingMergeSql(qualifiedTableName, stagingTableName, columns, primaryKeyColumns);
+        this.stagingLoader = new EtlBulkLoader(dialect, stagingTableName, schema);
+    }
+
+    /**
+     * 方言是否支持暂存表合并。
+     *
+     * @param dialect 目标端方言
+     * @return 是否支持
+     */
+    public static boolean isSupported(DatabaseDialect dialect) {
+        return dialect.buildStagingTableName("etl_stage") != null
+                && dialect.buildStagingMergeSql("t", "s", List.of("id"), List.of("id")) != null;
+    }
+
+    /**
+     * 暂存表名称。
+     *
+     * @return 暂存表名
+     */
+    public String stagingTableName() {
+        return stagingTableName;
+    }
+
+    /**
+     * 合并一批行：装载到暂存表、执行一条合并语句、清空暂存表。
+     *
+     * @param connection 目标库连接，同一时刻只由一个线程使用
+     * @param rows       待写入行
+     * @return 装载到暂存表的行数
+     * @throws SQLException 写入失败
+     */
+    public int merge(Connection connection, EtlRowBatch rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        prepare(connection);
+        int loaded;
+        try {
+            loaded = stagingLoader.load(connection, rows);
+            execute(connection, mergeSql);
+        } catch (SQLException exception) {
+            try {
+                execute(connection, dialect.buildClearStagingTableSql(stagingTableName));
+            } catch (SQLException clearException) {
+                exception.addSuppressed(clearException);
+            }
+            throw exception;
+        }
+        execute(connection, dialect.buildClearStagingTableSql(stagingTableName));
+        return loaded;
+    }
+
+    /**
+     * 删除连接上的暂存表；连接未创建过暂存表时不做任何操作，删除失败只记录日志。
+     *
+     * @param connection 目标库连接
+     */
+    public void release(Connection connection) {
+        if (!preparedConnections.remove(connection)) {
+            return;
+        }
+        try {
+            execute(connection, dialect.buildDropStagingTableSql(stagingTableName));
+        } catch (SQLException exception) {
+            log.debug("删除暂存表失败: table={}, error={}", stagingTableName, exception.getMessage());
+        }
+    }
+
+    private void prepare(Connection connection) throws SQLException {
+        if (preparedConnections.contains(connection)) {
+            return;
+        }
+        try {
+            execute(connection, dialect.buildCreateStagingTableSql(stagingTableName, qualifiedTableName, columns));
+        } catch (SQLException exception) {
+            // 连接池中的会话可能残留上次未删除的暂存表，删除后重建一次
+            log.debug("创建暂存表失败，删除后重试: table={}, error={}", stagingTableName, exception.getMessage());
+            execute(connection, dialect.buildDropStagingTableSql(stagingTableName));
+            execute(connection, dialect.buildCreateStagingTableSql(stagingTableName, qualifiedTableName, columns));
+        }
+        preparedConnections.add(connection);
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /**
+     * 由目标表名派生的暂存表基础名称，不同目标表互不冲突，长度固定。
+     */
+    static String stagingBaseName(String qualifiedTableName) {
+        byte[] bytes = qualifiedTableName.getBytes(StandardCharsets.UTF_8);
+        return String.format("etl_stage_%016x", EtlHashFunctions.xxHash64(bytes, 0, bytes.length));
+    }
+}
@@ -0,0 +1,503 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
+
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 字段转换执行计划。
+ *
+ * <p>每次执行开始时把字段映射规则编译成按下标寻址的转换函数数组：动作、空值策略、转换参数、
+ * 默认值只解析一次，逐行转换时只做函数调用，不再重复解析字符串与 JSON。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+public final class EtlTransformPlan {
+
+    /**
+     * 转换结果为该值时，目标行对应字段保持为空。
+     */
+    public static final Object SKIP_FIELD = new Object();
+
+    private static final String CURRENT_TIME_PLACEHOLDER = "__CURRENT_TIME__";
+    private static final DateTimeFormatter DEFAULT_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter[] LENIENT_DATE_TIMES = {
+            DEFAULT_DATE_TIME,
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss")
+    };
+    private static final DateTimeFormatter[] LENIENT_DATES = {
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("yyyy/MM/dd"),
+            DateTimeFormatter.BASIC_ISO_DATE
+    };
+
+    private final String[] sourceColumns;
+    private final String[] targetColumns;
+    private final ValueTransform[] transforms;
+    private final List<String> distinctTargetColumns;
+    private final boolean identity;
+
+    private EtlTransformPlan(
+            String[] sourceColumns,
+            String[] targetColumns,
+            ValueTransform[] transforms,
+            boolean allRulesCopy
+    ) {
+        this.sourceColumns = sourceColumns;
+        this.targetColumns = targetColumns;
+        this.transforms = transforms;
+        Set<String> distinct = new LinkedHashSet<>(List.of(targetColumns));
+        this.distinctTargetColumns = Collections.unmodifiableList(new ArrayList<>(distinct));
+        this.identity = allRulesCopy
+                && distinct.size() == targetColumns.length
+                && sourceColumns().size() == sourceColumns.length;
+    }
+
+    /**
+     * 编译字段规则。
+     *
+     * @param rules        已启用的字段规则，按写入顺序排列
+     * @param objectMapper 解析转换参数
+     * @return 执行计划
+     */
+    public static EtlTransformPlan compile(List<EtlColumnMappingRule> rules, ObjectMapper objectMapper) {
+        int size = rules.size();
+        String[] sourceColumns = new String[size];
+        String[] targetColumns = new String[size];
+        ValueTransform[] transforms = new ValueTransform[size];
+        boolean allRulesCopy = true;
+        for (int index = 0; index < size; index++) {
+            EtlColumnMappingRule rule = rules.get(index);
+            sourceColumns[index] = StringUtils.hasText(rule.getSourceColumnName()) ? rule.getSourceColumnName() : null;
+            targetColumns[index] = rule.getTargetColumnName();
+            transforms[index] = compileRule(rule, objectMapper);
+            allRulesCopy &= sourceColumns[index] != null && isPlainCopy(rule);
+        }
+        return new EtlTransformPlan(sourceColumns, targetColumns, transforms, allRulesCopy);
+    }
+
+    /**
+     * COPY 且空值策略为 KEEP 的规则原样传递源值。
+     */
+    private static boolean isPlainCopy(EtlColumnMappingRule rule) {
+        boolean copy = rule.getMappingAction() == null || "COPY".equalsIgnoreCase(rule.getMappingAction().trim());
+        boolean keep = rule.getEmptyValuePolicy() == null || "KEEP".equalsIgnoreCase(rule.getEmptyValuePolicy().trim());
+        return copy && keep;
+    }
+
+    /**
+     * 编译单条字段规则。
+     *
+     * @param rule         字段规则
+     * @param objectMapper 解析转换参数
+     * @return 字段转换函数
+     */
+    public static ValueTransform compileRule(EtlColumnMappingRule rule, ObjectMapper objectMapper) {
+        String action = rule.getMappingAction() == null ? "COPY" : rule.getMappingAction().trim().toUpperCase(Locale.ROOT);
+        String emptyPolicy = rule.getEmptyValuePolicy() == null
+                ? "KEEP"
+                : rule.getEmptyValuePolicy().trim().toUpperCase(Locale.ROOT);
+        Supplier<Object> fallback = placeholder(
+                StringUtils.hasText(rule.getDefaultValue()) ? rule.getDefaultValue() : rule.getConstantValue()
+        );
+        if ("CONSTANT".equals(action)) {
+            Supplier<Object> constant = placeholder(rule.getConstantValue());
+            return value -> constant.get();
+        }
+        Map<String, Object> params = parseParams(rule.getTransformParams(), objectMapper);
+        UnaryOperator<Object> convert = switch (action) {
+            case "TRIM" -> value -> value instanceof String text ? text.trim() : value;
+            case "UPPER" -> value -> value instanceof String text ? text.toUpperCase() : value;
+            case "LOWER" -> value -> value instanceof String text ? text.toLowerCase() : value;
+            case "DATE_FORMAT" -> dateFormatter(params);
+            case "NUMBER_CAST" -> numberCaster(params);
+            default -> null;
+        };
+        EmptyPolicy policy = emptyPolicy(emptyPolicy, fallback);
+        boolean skipOnNull = "SKIP_FIELD".equals(emptyPolicy);
+        boolean defaultAction = "DEFAULT".equals(action);
+        boolean nullIfEmpty = "NULL_IF_EMPTY".equals(action);
+        return value -> {
+            if (value == null) {
+                if (skipOnNull) {
+                    return SKIP_FIELD;
+                }
+                if (defaultAction) {
+                    return fallback.get();
+                }
+                if (nullIfEmpty) {
+                    return null;
+                }
+                return policy.apply(null);
+            }
+            Object working = value;
+            if (value instanceof String text) {
+                if (nullIfEmpty && !StringUtils.hasText(text)) {
+                    return null;
+                }
+                if (defaultAction && !StringUtils.hasText(text)) {
+                    return fallback.get();
+                }
+            }
+            if (convert != null) {
+                working = convert.apply(working);
+            }
+            if (working == null) {
+                return fallback.get();
+            }
+            return policy.apply(working);
+        };
+    }
+
+    /**
+     * 参与转换的源字段（去重，保持规则顺序）。
+     *
+     * @return 源字段
+     */
+    public List<String> sourceColumns() {
+        Set<String> columns = new LinkedHashSet<>();
+        for (String column : sourceColumns) {
+            if (column != null) {
+                columns.add(column);
+            }
+        }
+        return new ArrayList<>(columns);
+    }
+
+    /**
+     * 目标字段（去重，保持规则顺序）。
+     *
+     * @return 目标字段
+     */
+    public List<String> targetColumns() {
+        return distinctTargetColumns;
+    }
+
+    /**
+     * 是否为恒等映射：每条规则都原样复制源字段，且源、目标字段一一对应，
+     * 此时 {@link #sourceColumns()} 与 {@link #targetColumns()} 按下标对应。
+     *
+     * @return 是否为恒等映射
+     */
+    public boolean isIdentity() {
+        return identity;
+    }
+
+    /**
+     * 绑定源、目标列结构，得到按列下标逐行转换的映射器。
+     *
+     * @param sourceSchema 源列结构
+     * @param targetSchema 目标列结构
+     * @return 行映射器
+     */
+    public RowMapper bind(EtlRowSchema sourceSchema, EtlRowSchema targetSchema) {
+        int[] sourceIndexes = new int[transforms.length];
+        int[] targetIndexes = new int[transforms.length];
+        for (int index = 0; index < transforms.length; index++) {
+            sourceIndexes[index] = sourceSchema.indexOf(sourceColumns[index]);
+            targetIndexes[index] = targetSchema.indexOf(targetColumns[index]);
+        }
+        return new RowMapper(transforms, sourceIndexes, targetIndexes, targetSchema.size());
+    }
+
+    private static Supplier<Object> placeholder(String value) {
+        if (StringUtils.hasText(value) && CURRENT_TIME_PLACEHOLDER.equalsIgnoreCase(value)) {
+            return LocalDateTime::now;
+        }
+        return () -> value;
+    }
+
+    private static EmptyPolicy emptyPolicy(String emptyPolicy, Supplier<Object> fallback) {
+        Supplier<Object> replacement = switch (emptyPolicy) {
+            case "DEFAULT" -> fallback;
+            case "EMPTY_STRING" -> () -> "";
+            case "ZERO" -> () -> 0;
+            case "CURRENT_TIME" -> LocalDateTime::now;
+            case "SKIP_FIELD" -> () -> SKIP_FIELD;
+            default -> null;
+        };
+        if (replacement == null) {
+            return value -> value;
+        }
+        return value -> value == null || value instanceof String text && !StringUtils.hasText(text)
+                ? replacement.get()
+                : value;
+    }
+
+    private static Map<String, Object> parseParams(String transformParams, ObjectMapper objectMapper) {
+        if (!StringUtils.hasText(transformParams)) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(transformParams, new TypeReference<Map<String, Object>>() {
+            });
+        } catch (Exception exception) {
+            log.warn("解析字段转换参数失败，按默认参数处理: {}", exception.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * 日期转换：{@code sourcePattern} 指定源文本格式，{@code pattern} 指定输出文本格式；
+     * 未指定输出格式时按 {@code targetType}（DATE / DATETIME，默认 DATETIME）输出日期对象。
+     * 无法解析的值原样保留。
+     */
+    private static UnaryOperator<Object> dateFormatter(Map<String, Object> params) {
+        DateTimeFormatter sourceFormatter = formatter(params.get("sourcePattern"));
+        DateTimeFormatter outputFormatter = formatter(params.get("pattern"));
+        boolean dateOnly = "DATE".equalsIgnoreCase(String.valueOf(params.get("targetType")));
+        return value -> {
+            LocalDateTime dateTime = toLocalDateTime(value, sourceFormatter);
+            if (dateTime == null) {
+                return value;
+            }
+            if (outputFormatter != null) {
+                return outputFormatter.format(dateTime);
+            }
+            return dateOnly ? dateTime.toLocalDate() : dateTime;
+        };
+    }
+
+    private static DateTimeFormatter formatter(Object pattern) {
+        if (pattern == null || !StringUtils.hasText(pattern.toString())) {
+            return null;
+        }
+        try {
+            return DateTimeFormatter.ofPattern(pattern.toString());
+        } catch (IllegalArgumentException exception) {
+            log.warn("日期格式无效，忽略该参数: {}", pattern);
+            return null;
+        }
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value, DateTimeFormatter sourceFormatter) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime;
+        }
+        if (value instanceof LocalDate date) {
+            return date.atStartOfDay();
+        }
+        if (value instanceof java.sql.Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate().atStartOfDay();
+        }
+        if (value instanceof java.util.Date date) {
+            return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (value instanceof ZonedDateTime dateTime) {
+            return dateTime.withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        }
+        if (value instanceof Instant instant) {
+            return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+        }
+        if (!(value instanceof String text) || !StringUtils.hasText(text)) {
+            return null;
+        }
+        String trimmed = text.trim();
+        if (sourceFormatter != null) {
+            return parse(trimmed, sourceFormatter);
+        }
+        for (DateTimeFormatter candidate : LENIENT_DATE_TIMES) {
+            LocalDateTime parsed = parse(trimmed, candidate);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        for (DateTimeFormatter candidate : LENIENT_DATES) {
+            LocalDateTime parsed = parse(trimmed, candidate);
+            if (parsed != null) {
+                return parsed;
+            }
+        }
+        return null;
+    }
+
+    private static LocalDateTime parse(String text, DateTimeFormatter formatter) {
+        try {
+            TemporalAccessor parsed = formatter.parseBest(text, LocalDateTime::from, LocalDate::from);
+            return parsed instanceof LocalDate date ? date.atTime(LocalTime.MIDNIGHT) : (LocalDateTime) parsed;
+        } catch (DateTimeParseException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * 数值转换：{@code numberType} 取 INTEGER / LONG / DOUBLE / DECIMAL（默认），
+     * DECIMAL 可用 {@code scale} 与 {@code roundingMode}（默认 HALF_UP）控制精度。无法解析的值原样保留。
+     */
+    private static UnaryOperator<Object> numberCaster(Map<String, Object> params) {
+        String numberType = params.get("numberType") == null
+                ? "DECIMAL"
+                : params.get("numberType").toString().trim().toUpperCase(Locale.ROOT);
+        Integer scale = parseInteger(params.get("scale"));
+        RoundingMode roundingMode = roundingMode(params.get("roundingMode"));
+        return value -> {
+            BigDecimal decimal = toDecimal(value);
+            if (decimal == null) {
+                return value;
+            }
+            try {
+                return switch (numberType) {
+                    case "INT", "INTEGER" -> decimal.setScale(0, roundingMode).intValueExact();
+                    case "LONG", "BIGINT" -> decimal.setScale(0, roundingMode).longValueExact();
+                    case "DOUBLE" -> decimal.doubleValue();
+                    default -> scale == null ? decimal : decimal.setScale(scale, roundingMode);
+                };
+            } catch (ArithmeticException exception) {
+                return value;
+            }
+        };
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double number = ((Number) value).doubleValue();
+            return Double.isFinite(number) ? BigDecimal.valueOf(number) : null;
+        }
+        if (value instanceof Number number) {
+            return toDecimal(number.toString());
+        }
+        if (value instanceof String text && StringUtils.hasText(text)) {
+            try {
+                return new BigDecimal(text.trim().replace(",", ""));
+            } catch (NumberFormatException exception) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Integer parseInteger(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException exception) {
+            return null;
+        }
+    }
+
+    private static RoundingMode roundingMode(Object value) {
+        if (value == null) {
+            return RoundingMode.HALF_UP;
+        }
+        try {
+            return RoundingMode.valueOf(value.toString().trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            return RoundingMode.HALF_UP;
+        }
+    }
+
+    /**
+     * 编译后的字段转换函数。
+     */
+    @FunctionalInterface
+    public interface ValueTransform {
+
+        /**
+         * 转换字段值。
+         *
+         * @param value 源值
+         * @return 目标值；返回 {@link #SKIP_FIELD} 表示不写入该字段
+         */
+        Object apply(Object value);
+    }
+
+    /**
+     * 绑定了列下标的行映射器，转换结果写入可复用的行缓冲区。
+     */
+    public static final class RowMapper {
+
+        private final ValueTransform[] transforms;
+        private final int[] sourceIndexes;
+        private final int[] targetIndexes;
+        private final int targetWidth;
+
+        private RowMapper(ValueTransform[] transforms, int[] sourceIndexes, int[] targetIndexes, int targetWidth) {
+            this.transforms = transforms;
+            this.sourceIndexes = sourceIndexes;
+            this.targetIndexes = targetIndexes;
+            this.targetWidth = targetWidth;
+        }
+
+        /**
+         * 创建行缓冲区。
+         *
+         * @return 与目标列结构等宽的缓冲区
+         */
+        public Object[] newBuffer() {
+            return new Object[targetWidth];
+        }
+
+        /**
+         * 转换源批次中的一行，结果按目标列下标写入缓冲区；被跳过的字段写为 {@code null}。
+         *
+         * @param source 源批次
+         * @param row    行下标
+         * @param buffer 行缓冲区
+         */
+        public void apply(EtlRowBatch source, int row, Object[] buffer) {
+            Arrays.fill(buffer, null);
+            for (int index = 0; index < transforms.length; index++) {
+                int targetIndex = targetIndexes[index];
+                if (targetIndex < 0) {
+                    continue;
+                }
+                Object sourceValue = sourceIndexes[index] < 0 ? null : source.get(row, sourceIndexes[index]);
+                Object targetValue = transforms[index].apply(sourceValue);
+                if (targetValue != SKIP_FIELD) {
+                    buffer[targetIndex] = targetValue;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface EmptyPolicy {
+        Object apply(Object value);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 增量同步的组合水位 {@code (增量字段, 主键)}。
+ *
+ * <p>同一增量值可能对应多行，只按增量字段做 {@code >} 过滤会漏掉分页边界上增量值相同的行，
+ * 按 {@code >=} 又会重复读取；以主键作为第二排序键即可唯一定位已读位置。
+ * 主键值为空时退化为只按增量字段过滤。</p>
+ *
+ * @param incrementalValue 增量字段值，非空
+ * @param primaryKeyValue  主键值，可为空
+ * @author mumu
+ * @since 1.0.0
+ */
+public record EtlWatermark(Object incrementalValue, Object primaryKeyValue) {
+
+    /**
+     * 构建水位之后的过滤条件，展开为普通比较，不依赖行值构造器语法。
+     *
+     * @param quotedIncrementalColumn 已引用的增量字段
+     * @param quotedPrimaryKeyColumn  已引用的主键
+     * @return 条件片段
+     */
+    public String condition(String quotedIncrementalColumn, String quotedPrimaryKeyColumn) {
+        if (primaryKeyValue == null) {
+            return quotedIncrementalColumn + " > ?";
+        }
+        return "(" + quotedIncrementalColumn + " > ? OR (" + quotedIncrementalColumn + " = ? AND "
+                + quotedPrimaryKeyColumn + " > ?))";
+    }
+
+    /**
+     * 条件的绑定参数，顺序与 {@link #condition(String, String)} 一致。
+     *
+     * @return 参数列表
+     */
+    public List<Object> parameters() {
+        List<Object> parameters = new ArrayList<>(3);
+        parameters.add(incrementalValue);
+        if (primaryKeyValue != null) {
+            parameters.add(incrementalValue);
+            parameters.add(primaryKeyValue);
+        }
+        return parameters;
+    }
+
+    /**
+     * 是否位于另一个水位之后。
+     *
+     * @param other 另一个水位，为空时视为最早
+     * @return 是否更靠后
+     */
+    public boolean isAfter(EtlWatermark other) {
+        if (other == null) {
+            return true;
+        }
+        int compared = EtlKeyRange.compareKeys(incrementalValue, other.incrementalValue);
+        if (compared != 0) {
+            return compared > 0;
+        }
+        if (primaryKeyValue == null || other.primaryKeyValue == null) {
+            return false;
+        }
+        return EtlKeyRange.compareKeys(primaryKeyValue, other.primaryKeyValue) > 0;
+    }
+
+    /**
+     * 回看窗口：增量值为日期时间时向前回退指定时长，并去掉主键部分，重读窗口内的迟到行；
+     * 其他类型的增量值不回退。
+     *
+     * @param lookback 回看时长
+     * @return 回退后的水位
+     */
+    public EtlWatermark lookback(Duration lookback) {
+        if (lookback == null || lookback.isZero() || lookback.isNegative()) {
+            return this;
+        }
+        Object earlier;
+        if (incrementalValue instanceof Timestamp timestamp) {
+            earlier = Timestamp.valueOf(timestamp.toLocalDateTime().minus(lookback));
+        } else if (incrementalValue instanceof LocalDateTime dateTime) {
+            earlier = dateTime.minus(lookback);
+        } else if (incrementalValue instanceof Date date) {
+            earlier = Date.valueOf(date.toLocalDate().minusDays(ceilDays(lookback)));
+        } else if (incrementalValue instanceof LocalDate date) {
+            earlier = date.minusDays(ceilDays(lookback));
+        } else {
+            return this;
+        }
+        return new EtlWatermark(earlier, null);
+    }
+
+    private static long ceilDays(Duration lookback) {
+        return (lookback.toSeconds() + 86_399L) / 86_400L;
+    }
+}
@@ -0,0 +1,45 @@
+package com.mumu.woodlin.etl.engine;
+
+import java.util.Locale;
+
+/**
+ * 有主键表差异桶的写入策略。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public enum EtlWriteStrategy {
+
+    /**
+     * 按预计写入行数自动选择：达到 {@code woodlin.etl.write.staging-min-rows} 时使用暂存表合并。
+     */
+    AUTO,
+
+    /**
+     * 逐行 upsert（MySQL {@code ON DUPLICATE KEY UPDATE}、PostgreSQL {@code ON CONFLICT}、Oracle/SQL Server {@code MERGE}）的 JDBC 批处理。
+     */
+    UPSERT,
+
+    /**
+     * 先批量装载到会话级暂存表，再以一条集合式 MERGE/UPSERT 写入目标表，最后清空暂存表。
+     */
+    STAGING_MERGE;
+
+    /**
+     * 按名称解析，忽略大小写；为空时返回 {@link #AUTO}。
+     *
+     * @param value 名称
+     * @return 写入策略
+     * @throws IllegalArgumentException 名称不存在
+     */
+    public static EtlWriteStrategy fromCode(String value) {
+        if (value == null || value.isBlank()) {
+            return AUTO;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException exception) {
+            throw new IllegalArgumentException("未知的ETL写入策略: " + value, exception);
+        }
+    }
+}
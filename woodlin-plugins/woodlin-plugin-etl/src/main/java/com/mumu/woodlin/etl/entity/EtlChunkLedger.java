@@ -0,0 +1,107 @@
+package com.mumu.woodlin.etl.entity;
+
+import java.io.Serial;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.mumu.woodlin.common.entity.BaseEntity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+/**
+ * ETL 分块续跑台账实体，每个切分键区间一行，记录中断执行已提交到的排序键；执行成功后清除。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = true)
+@TableName("sys_etl_chunk_ledger")
+@Schema(description = "ETL分块续跑台账")
+public class EtlChunkLedger extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 台账ID。
+     */
+    @TableId(value = "chunk_ledger_id", type = IdType.ASSIGN_ID)
+    @Schema(description = "台账ID")
+    private Long chunkLedgerId;
+
+    /**
+     * ETL任务ID。
+     */
+    @TableField("job_id")
+    @Schema(description = "ETL任务ID")
+    private Long jobId;
+
+    /**
+     * 最近写入进度的执行日志ID。
+     */
+    @TableField("execution_log_id")
+    @Schema(description = "执行日志ID")
+    private Long executionLogId;
+
+    /**
+     * 运行签名：表、字段、过滤条件、切分键与起始水位的摘要，签名不同的台账不可续跑。
+     */
+    @TableField("run_signature")
+    @Schema(description = "运行签名")
+    private String runSignature;
+
+    /**
+     * 区间序号。
+     */
+    @TableField("range_index")
+    @Schema(description = "区间序号")
+    private Integer rangeIndex;
+
+    /**
+     * 区间下界（不含），为空表示不设限。
+     */
+    @TableField("range_lower")
+    @Schema(description = "区间下界")
+    private String rangeLower;
+
+    /**
+     * 区间上界（含），为空表示不设限。
+     */
+    @TableField("range_upper")
+    @Schema(description = "区间上界")
+    private String rangeUpper;
+
+    /**
+     * 是否为切分键为空的区间（0-否，1-是）。
+     */
+    @TableField("null_keys")
+    @Schema(description = "是否为切分键为空的区间")
+    private String nullKeys;
+
+    /**
+     * 已提交的最后排序键，续跑从该值（含）继续读取。
+     */
+    @TableField("resume_key")
+    @Schema(description = "续跑排序键")
+    private String resumeKey;
+
+    /**
+     * 已提交行数。
+     */
+    @TableField("committed_rows")
+    @Schema(description = "已提交行数")
+    private Long committedRows;
+
+    /**
+     * 租户ID。
+     */
+    @TableField("tenant_id")
+    @Schema(description = "租户ID")
+    private String tenantId;
+}
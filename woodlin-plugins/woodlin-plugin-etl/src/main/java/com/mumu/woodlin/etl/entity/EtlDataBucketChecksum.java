@@ -99,6 +99,13 @@ public class EtlDataBucketChecksum extends BaseEntity {
     @Schema(description = "目标侧桶位校验值")
     private String targetChecksum;
 
+    /**
+     * 校验算法及版本，为空表示历史 CRC32 算法。
+     */
+    @TableField("checksum_algorithm")
+    @Schema(description = "校验算法及版本", example = "XXH64_V2")
+    private String checksumAlgorithm;
+
     /**
      * 重试次数。
      */
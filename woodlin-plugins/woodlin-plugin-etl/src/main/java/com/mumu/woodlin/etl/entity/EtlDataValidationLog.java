@@ -99,6 +99,34 @@ public class EtlDataValidationLog extends BaseEntity {
     @Schema(description = "差异桶数量")
     private Integer mismatchBucketCount;
 
+    /**
+     * 源端有、目标端没有的行数，仅比对运行时记录。
+     */
+    @TableField("missing_row_count")
+    @Schema(description = "目标端缺失行数")
+    private Long missingRowCount;
+
+    /**
+     * 目标端有、源端没有的行数，仅比对运行时记录。
+     */
+    @TableField("extra_row_count")
+    @Schema(description = "目标端多出行数")
+    private Long extraRowCount;
+
+    /**
+     * 两端内容不同的行数，仅比对运行时记录。
+     */
+    @TableField("changed_row_count")
+    @Schema(description = "内容不同行数")
+    private Long changedRowCount;
+
+    /**
+     * 按桶的差异报告（JSON），含抽样主键与列差异，仅比对运行时记录。
+     */
+    @TableField("diff_report")
+    @Schema(description = "差异报告")
+    private String diffReport;
+
     /**
      * 校验状态。
      */
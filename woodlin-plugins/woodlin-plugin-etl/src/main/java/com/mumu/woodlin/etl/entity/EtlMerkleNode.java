@@ -0,0 +1,93 @@
+package com.mumu.woodlin.etl.entity;
+
+import java.io.Serial;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import com.mumu.woodlin.common.entity.BaseEntity;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.experimental.Accessors;
+
+/**
+ * ETL 桶位 Merkle 树节点实体，每个任务只保留最近一次成功执行的树。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@Accessors(chain = true)
+@EqualsAndHashCode(callSuper = true)
+@TableName("sys_etl_merkle_node")
+@Schema(description = "ETL桶位Merkle树节点")
+public class EtlMerkleNode extends BaseEntity {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 节点ID。
+     */
+    @TableId(value = "merkle_node_id", type = IdType.ASSIGN_ID)
+    @Schema(description = "节点ID")
+    private Long merkleNodeId;
+
+    /**
+     * ETL任务ID。
+     */
+    @TableField("job_id")
+    @Schema(description = "ETL任务ID")
+    private Long jobId;
+
+    /**
+     * 生成该树的执行日志ID。
+     */
+    @TableField("execution_log_id")
+    @Schema(description = "执行日志ID")
+    private Long executionLogId;
+
+    /**
+     * 树签名：方言、表、字段、桶数量与扇出的摘要，签名不同的树不可比较。
+     */
+    @TableField("tree_signature")
+    @Schema(description = "树签名")
+    private String treeSignature;
+
+    /**
+     * 层级，叶子为 0。
+     */
+    @TableField("node_level")
+    @Schema(description = "层级")
+    private Integer nodeLevel;
+
+    /**
+     * 层内序号，叶子层即桶号。
+     */
+    @TableField("node_index")
+    @Schema(description = "层内序号")
+    private Integer nodeIndex;
+
+    /**
+     * 节点哈希。
+     */
+    @TableField("node_hash")
+    @Schema(description = "节点哈希")
+    private String nodeHash;
+
+    /**
+     * 子树行数。
+     */
+    @TableField("row_count")
+    @Schema(description = "子树行数")
+    private Long rowCount;
+
+    /**
+     * 租户ID。
+     */
+    @TableField("tenant_id")
+    @Schema(description = "租户ID")
+    private String tenantId;
+}
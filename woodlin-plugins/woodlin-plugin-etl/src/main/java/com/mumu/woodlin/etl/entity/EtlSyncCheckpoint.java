@@ -64,6 +64,13 @@ public class EtlSyncCheckpoint extends BaseEntity {
     @Schema(description = "上次同步最大增量值")
     private String lastIncrementalValue;
 
+    /**
+     * 上次增量值对应的最后主键值，与增量值组成组合水位；为空时仅按增量值过滤。
+     */
+    @TableField("last_primary_key_value")
+    @Schema(description = "上次增量值对应的最后主键值")
+    private String lastPrimaryKeyValue;
+
     /**
      * 上次成功同步时间。
      */
@@ -113,6 +120,27 @@ public class EtlSyncCheckpoint extends BaseEntity {
     @Schema(description = "最近一次执行日志ID")
     private Long lastExecutionLogId;
 
+    /**
+     * 上次执行结束时自适应调整后的 upsert 批大小。
+     */
+    @TableField("write_batch_size")
+    @Schema(description = "自适应写入批大小")
+    private Integer writeBatchSize;
+
+    /**
+     * 上次执行结束时自适应调整后的提交间隔（行）。
+     */
+    @TableField("write_commit_rows")
+    @Schema(description = "自适应提交间隔行数")
+    private Integer writeCommitRows;
+
+    /**
+     * 上次执行结束时自适应调整后的主键回查 IN 列表长度。
+     */
+    @TableField("lookup_in_list_size")
+    @Schema(description = "自适应主键回查IN列表长度")
+    private Integer lookupInListSize;
+
     /**
      * 租户ID。
      */
@@ -85,6 +85,13 @@ public class EtlTableStructureSnapshot extends BaseEntity {
     @Schema(description = "结构摘要")
     private String structureDigest;
 
+    /**
+     * 结构变更标记。
+     */
+    @TableField("structure_marker")
+    @Schema(description = "结构变更标记")
+    private String structureMarker;
+
     /**
      * 快照时间。
      */
@@ -52,11 +52,11 @@ public void woodlinEtlSyncHandler() {
         XxlJobHelper.log("开始执行 ETL 任务: jobId=" + jobId);
         boolean success = etlJobService.executeJob(jobId);
         if (!success) {
-            String message = "执行 ETL 任务失败: jobId=" + jobId;
+            String message = "提交 ETL 任务失败（任务不存在或运行队列已满）: jobId=" + jobId;
             XxlJobHelper.log(message);
             throw new BusinessException(message);
         }
-        XxlJobHelper.log("执行 ETL 任务完成: jobId=" + jobId);
+        XxlJobHelper.log("ETL 任务已提交到运行队列: jobId=" + jobId);
     }
 
     private Long resolveJobId(String jobParam) {
@@ -0,0 +1,15 @@
+package com.mumu.woodlin.etl.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.mumu.woodlin.etl.entity.EtlChunkLedger;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * ETL 分块续跑台账 Mapper。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Mapper
+public interface EtlChunkLedgerMapper extends BaseMapper<EtlChunkLedger> {
+}
@@ -0,0 +1,15 @@
+package com.mumu.woodlin.etl.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.mumu.woodlin.etl.entity.EtlMerkleNode;
+import org.apache.ibatis.annotations.Mapper;
+
+/**
+ * ETL 桶位 Merkle 树节点 Mapper。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Mapper
+public interface EtlMerkleNodeMapper extends BaseMapper<EtlMerkleNode> {
+}
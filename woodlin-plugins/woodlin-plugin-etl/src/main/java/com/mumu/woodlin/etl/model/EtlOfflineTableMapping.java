@@ -64,6 +64,12 @@ public class EtlOfflineTableMapping {
     @Schema(description = "过滤条件")
     private String filterCondition;
 
+    /**
+     * 依赖的源表，同一运行计划中这些表的任务成功后才运行本表；外键依赖可自动发现，无需重复声明。
+     */
+    @Schema(description = "依赖的源表")
+    private List<String> dependsOn = new ArrayList<>();
+
     /**
      * 字段规则列表。
      */
@@ -52,6 +52,12 @@ public class TableSchemaMetadata {
     @Schema(description = "结构摘要")
     private String structureDigest;
 
+    /**
+     * 读取结构时系统目录中的结构变更标记，方言不支持时为空。
+     */
+    @Schema(description = "结构变更标记")
+    private String structureMarker;
+
     /**
      * 根据字段名查找字段定义。
      *
@@ -0,0 +1,50 @@
+package com.mumu.woodlin.etl.model.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ETL 多表运行计划请求。
+ *
+ * <p>把一组单表任务作为一个有向无环图运行：被依赖的表先运行，互不依赖的表在并行预算内同时运行。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@Schema(description = "ETL多表运行计划请求")
+public class EtlOfflineRunRequest {
+
+    /**
+     * 参与运行的任务ID。
+     */
+    @NotEmpty(message = "任务ID不能为空")
+    @Schema(description = "参与运行的任务ID", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<Long> jobIds = new ArrayList<>();
+
+    /**
+     * 声明的任务依赖：任务ID到其依赖任务ID列表。
+     */
+    @Schema(description = "声明的任务依赖：任务ID到其依赖任务ID列表")
+    private Map<Long, List<Long>> dependencies = new LinkedHashMap<>();
+
+    /**
+     * 是否按源表与目标表的外键自动发现依赖。
+     */
+    @Schema(description = "是否按外键自动发现依赖")
+    private Boolean discoverForeignKeys = Boolean.TRUE;
+
+    /**
+     * 同时运行的表任务数，为空时按配置与资源预算计算。
+     */
+    @Min(value = 1, message = "并行表数不能小于1")
+    @Schema(description = "同时运行的表任务数")
+    private Integer maxParallelTables;
+}
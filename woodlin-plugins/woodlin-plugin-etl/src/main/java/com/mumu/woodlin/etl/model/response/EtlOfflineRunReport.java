@@ -0,0 +1,64 @@
+package com.mumu.woodlin.etl.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多表运行计划的汇总执行报告。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@Schema(description = "多表运行计划汇总执行报告")
+public class EtlOfflineRunReport {
+
+    @Schema(description = "运行ID")
+    private String runId;
+
+    @Schema(description = "状态：RUNNING/SUCCESS/PARTIAL_SUCCESS/FAILED")
+    private String status;
+
+    @Schema(description = "开始时间")
+    private LocalDateTime startTime;
+
+    @Schema(description = "结束时间")
+    private LocalDateTime endTime;
+
+    @Schema(description = "耗时（毫秒）")
+    private Long duration;
+
+    @Schema(description = "同时运行的表任务数")
+    private Integer parallelism;
+
+    @Schema(description = "依赖层数")
+    private Integer levelCount;
+
+    @Schema(description = "表任务总数")
+    private Integer totalTables;
+
+    @Schema(description = "成功数")
+    private Integer succeededTables;
+
+    @Schema(description = "失败数")
+    private Integer failedTables;
+
+    @Schema(description = "因上游失败跳过数")
+    private Integer skippedTables;
+
+    @Schema(description = "抽取行数合计")
+    private Long extractedRows;
+
+    @Schema(description = "加载行数合计")
+    private Long loadedRows;
+
+    @Schema(description = "失败行数合计")
+    private Long failedRows;
+
+    @Schema(description = "各表执行结果，按依赖层级排列")
+    private List<EtlOfflineRunTableReport> tables = new ArrayList<>();
+}
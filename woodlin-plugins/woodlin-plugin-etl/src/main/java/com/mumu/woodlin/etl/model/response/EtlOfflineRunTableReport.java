@@ -0,0 +1,64 @@
+package com.mumu.woodlin.etl.model.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 多表运行计划中单表任务的执行结果。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Data
+@Schema(description = "多表运行计划单表执行结果")
+public class EtlOfflineRunTableReport {
+
+    @Schema(description = "任务ID")
+    private Long jobId;
+
+    @Schema(description = "任务名称")
+    private String jobName;
+
+    @Schema(description = "源表")
+    private String sourceTable;
+
+    @Schema(description = "目标表")
+    private String targetTable;
+
+    @Schema(description = "依赖的任务ID")
+    private List<Long> dependsOn = new ArrayList<>();
+
+    @Schema(description = "所在层级，从0开始")
+    private Integer level;
+
+    @Schema(description = "状态：PENDING/RUNNING/SUCCEEDED/FAILED/SKIPPED")
+    private String status;
+
+    @Schema(description = "执行日志ID")
+    private Long logId;
+
+    @Schema(description = "开始时间")
+    private LocalDateTime startTime;
+
+    @Schema(description = "结束时间")
+    private LocalDateTime endTime;
+
+    @Schema(description = "耗时（毫秒）")
+    private Long duration;
+
+    @Schema(description = "抽取行数")
+    private Long extractedRows;
+
+    @Schema(description = "加载行数")
+    private Long loadedRows;
+
+    @Schema(description = "失败行数")
+    private Long failedRows;
+
+    @Schema(description = "错误信息")
+    private String errorMessage;
+}
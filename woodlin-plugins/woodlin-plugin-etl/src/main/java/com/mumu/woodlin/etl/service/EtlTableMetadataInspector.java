@@ -3,12 +3,19 @@
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -16,24 +23,99 @@
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.exception.BusinessException;
 import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.etl.config.EtlProperties;
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
 import com.mumu.woodlin.etl.model.TableColumnMetadata;
 import com.mumu.woodlin.etl.model.TableSchemaMetadata;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 /**
  * ETL 表结构检查器。
  *
+ * <p>读取到的表结构按数据源与表缓存，并记录读取时系统目录中的结构变更标记；再次检查时先单行查询标记，
+ * 标记未变即复用缓存，避免每次执行都逐表调用 getColumns、getPrimaryKeys 乃至 getTables。
+ *
  * @author mumu
  * @since 1.0.0
  */
+@Slf4j
 @RequiredArgsConstructor
 @Component
 public class EtlTableMetadataInspector {
 
     private final DatabaseMetadataService databaseMetadataService;
 
+    private final EtlProperties etlProperties;
+
+    private final Map<String, TableSchemaMetadata> structureCache = new LinkedHashMap<>(16, 0.75F, true);
+
+    /**
+     * 读取指定表结构元数据，结构变更标记未变时复用缓存。
+     *
+     * @param datasourceCode 数据源编码
+     * @param schemaName schema 名称
+     * @param tableName 表名称
+     * @param connection 用于查询结构变更标记的连接
+     * @param dialect 连接对应的方言
+     * @return 表结构元数据
+     */
+    public TableSchemaMetadata inspect(
+            String datasourceCode,
+            String schemaName,
+            String tableName,
+            Connection connection,
+            DatabaseDialect dialect
+    ) {
+        if (!Boolean.TRUE.equals(etlProperties.getMetadata().getCacheEnabled())) {
+            return inspect(datasourceCode, schemaName, tableName);
+        }
+        String normalizedSchema = normalizeSchema(schemaName);
+        // 先取标记再读结构：读取期间发生的 DDL 只会让下次标记不一致而重新读取，不会缓存过期结构
+        String marker = readStructureMarker(connection, dialect, normalizedSchema, tableName);
+        if (marker == null) {
+            return inspect(datasourceCode, schemaName, tableName);
+        }
+        String cacheKey = datasourceCode + '\u0001' + normalizedSchema + '\u0001' + tableName.toLowerCase(Locale.ROOT);
+        TableSchemaMetadata cached;
+        synchronized (structureCache) {
+            cached = structureCache.get(cacheKey);
+        }
+        if (cached != null && marker.equals(cached.getStructureMarker())) {
+            return copyOf(cached);
+        }
+        TableSchemaMetadata metadata = inspect(datasourceCode, schemaName, tableName);
+        metadata.setStructureMarker(marker);
+        if (cached != null) {
+            log.info("表结构变更标记变化，已重新读取: datasource={}, table={}, digestChanged={}",
+                    datasourceCode, tableName, !metadata.getStructureDigest().equals(cached.getStructureDigest()));
+        }
+        synchronized (structureCache) {
+            structureCache.put(cacheKey, copyOf(metadata));
+            int maxEntries = Math.max(1, etlProperties.getMetadata().getCacheMaxEntries());
+            Iterator<Map.Entry<String, TableSchemaMetadata>> iterator = structureCache.entrySet().iterator();
+            while (structureCache.size() > maxEntries && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+        return metadata;
+    }
+
+    /**
+     * 清除指定数据源的缓存表结构。
+     *
+     * @param datasourceCode 数据源编码
+     */
+    public void evict(String datasourceCode) {
+        String prefix = datasourceCode + '\u0001';
+        synchronized (structureCache) {
+            structureCache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
     /**
      * 读取指定表结构元数据。
      *
@@ -63,6 +145,34 @@ public TableSchemaMetadata inspect(String datasourceCode, String schemaName, Str
                 .build();
     }
 
+    private String readStructureMarker(Connection connection, DatabaseDialect dialect, String schemaName, String tableName) {
+        String sql = dialect.buildStructureMarkerSql();
+        if (sql == null || !StringUtils.hasText(tableName)) {
+            return null;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, schemaName);
+            statement.setString(2, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? resultSet.getString(1) : null;
+            }
+        } catch (SQLException exception) {
+            log.debug("查询表结构变更标记失败，完整读取表结构: table={}, reason={}", tableName, exception.getMessage());
+            return null;
+        }
+    }
+
+    private TableSchemaMetadata copyOf(TableSchemaMetadata metadata) {
+        return TableSchemaMetadata.builder()
+                .schemaName(metadata.getSchemaName())
+                .tableName(metadata.getTableName())
+                .columns(new ArrayList<>(metadata.getColumns()))
+                .primaryKeyColumns(new ArrayList<>(metadata.getPrimaryKeyColumns()))
+                .structureDigest(metadata.getStructureDigest())
+                .structureMarker(metadata.getStructureMarker())
+                .build();
+    }
+
     private List<TableColumnMetadata> toTableColumnMetadata(List<ColumnMetadata> columns) {
         return columns.stream()
                 .sorted(Comparator.comparing(ColumnMetadata::getOrdinalPosition, Comparator.nullsLast(Integer::compareTo)))
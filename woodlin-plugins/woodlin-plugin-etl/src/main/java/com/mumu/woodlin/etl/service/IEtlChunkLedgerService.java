@@ -0,0 +1,50 @@
+package com.mumu.woodlin.etl.service;
+
+import java.util.List;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.mumu.woodlin.etl.entity.EtlChunkLedger;
+
+/**
+ * ETL 分块续跑台账服务接口。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public interface IEtlChunkLedgerService extends IService<EtlChunkLedger> {
+
+    /**
+     * 查询任务未完成执行留下的台账。
+     *
+     * @param jobId        任务ID
+     * @param runSignature 运行签名
+     * @return 按区间序号排列的台账，签名不一致或没有台账时为空列表
+     */
+    List<EtlChunkLedger> listLedger(Long jobId, String runSignature);
+
+    /**
+     * 用本次执行的区间规划替换任务已有的台账。
+     *
+     * @param jobId   任务ID
+     * @param ledgers 各区间台账
+     */
+    void replaceLedger(Long jobId, List<EtlChunkLedger> ledgers);
+
+    /**
+     * 记录区间已提交的进度。
+     *
+     * @param jobId          任务ID
+     * @param rangeIndex     区间序号
+     * @param executionLogId 执行日志ID
+     * @param resumeKey      已提交的最后排序键
+     * @param committedRows  区间累计已提交行数
+     */
+    void recordProgress(Long jobId, int rangeIndex, Long executionLogId, String resumeKey, long committedRows);
+
+    /**
+     * 清除任务的台账，执行成功后调用。
+     *
+     * @param jobId 任务ID
+     */
+    void clearLedger(Long jobId);
+}
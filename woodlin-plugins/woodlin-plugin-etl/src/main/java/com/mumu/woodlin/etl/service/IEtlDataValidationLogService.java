@@ -1,5 +1,8 @@
 package com.mumu.woodlin.etl.service;
 
+import java.io.IOException;
+import java.io.Writer;
+
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.mumu.woodlin.etl.entity.EtlDataValidationLog;
 
@@ -17,4 +20,13 @@ public interface IEtlDataValidationLogService extends IService<EtlDataValidation
      * @param log 校验日志
      */
     void record(EtlDataValidationLog log);
+
+    /**
+     * 按 CSV 输出仅比对运行的差异报告，逐桶反序列化并写出。
+     *
+     * @param executionLogId 执行日志ID
+     * @param writer         输出
+     * @throws IOException 写出失败
+     */
+    void exportDiffReport(Long executionLogId, Writer writer) throws IOException;
 }
@@ -46,4 +46,12 @@ void recordExecutionSuccess(Long logId, Long extractedRows, Long transformedRows
      */
     void recordExecutionFailure(Long logId, Long extractedRows, Long transformedRows, 
                                 Long loadedRows, Long failedRows, String errorMessage);
+    
+    /**
+     * 运行中更新执行详情，传入null时清空
+     * 
+     * @param logId 执行日志ID
+     * @param executionDetail 执行详情
+     */
+    void recordExecutionDetail(Long logId, String executionDetail);
 }
@@ -15,6 +15,14 @@ public interface IEtlExecutionService {
      * 执行ETL任务
      * 
      * @param job ETL任务
+     * @return 本次运行的执行日志ID，运行结果（成功或失败）记录在该日志中
      */
-    void execute(EtlJob job);
+    Long execute(EtlJob job);
+    
+    /**
+     * 仅比对ETL任务：按桶比对两端数据并生成差异报告，不写入目标表
+     * 
+     * @param job ETL任务
+     */
+    void compare(EtlJob job);
 }
@@ -1,9 +1,11 @@
 package com.mumu.woodlin.etl.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import com.baomidou.mybatisplus.extension.service.IService;
 
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
 import com.mumu.woodlin.etl.entity.EtlJob;
 
 /**
@@ -56,12 +58,40 @@ public interface IEtlJobService extends IService<EtlJob> {
     boolean disableJob(Long jobId);
     
     /**
-     * 立即执行ETL任务
+     * 立即执行ETL任务，以普通优先级提交到运行调度器
      * 
      * @param jobId 任务ID
-     * @return 是否执行成功
+     * @return 是否已提交（进入队列或与排队中的运行合并）
      */
     boolean executeJob(Long jobId);
+
+    /**
+     * 按指定优先级提交ETL任务到运行调度器
+     *
+     * @param jobId 任务ID
+     * @param priority 运行优先级
+     * @return 是否已提交（进入队列或与排队中的运行合并）
+     */
+    boolean executeJob(Long jobId, EtlRunPriority priority);
+
+    /**
+     * 按指定优先级提交ETL任务，并返回本次运行的完成通知，供多表运行计划编排依赖
+     *
+     * @param jobId 任务ID
+     * @param priority 运行优先级
+     * @return 运行结束时以实际执行的那次运行的执行日志ID完成，与排队中的运行合并时为被合并运行的日志ID，
+     *         运行被跳过（任务已删除或排队期间被禁用）时为null；任务不存在或运行队列已满时以异常完成
+     */
+    CompletableFuture<Long> submitJob(Long jobId, EtlRunPriority priority);
+
+    /**
+     * 按指定优先级提交仅比对运行：只比对两端数据并生成差异报告，不写入目标表
+     *
+     * @param jobId 任务ID
+     * @param priority 运行优先级
+     * @return 是否已提交（进入队列或与排队中的比对合并）
+     */
+    boolean compareJob(Long jobId, EtlRunPriority priority);
     
     /**
      * 查询所有启用的ETL任务
@@ -0,0 +1,39 @@
+package com.mumu.woodlin.etl.service;
+
+import java.util.List;
+
+import com.baomidou.mybatisplus.extension.service.IService;
+import com.mumu.woodlin.etl.entity.EtlMerkleNode;
+
+/**
+ * ETL 桶位 Merkle 树节点服务接口。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public interface IEtlMerkleNodeService extends IService<EtlMerkleNode> {
+
+    /**
+     * 查询任务已保存的树节点。
+     *
+     * @param jobId         任务ID
+     * @param treeSignature 树签名
+     * @return 节点，签名不一致或没有保存时为空列表
+     */
+    List<EtlMerkleNode> listTree(Long jobId, String treeSignature);
+
+    /**
+     * 用新的树替换任务已保存的树。
+     *
+     * @param jobId 任务ID
+     * @param nodes 新树的全部节点
+     */
+    void replaceTree(Long jobId, List<EtlMerkleNode> nodes);
+
+    /**
+     * 清除任务已保存的树，下次执行按两端库内摘要完整比较。
+     *
+     * @param jobId 任务ID
+     */
+    void clearTree(Long jobId);
+}
@@ -0,0 +1,29 @@
+package com.mumu.woodlin.etl.service;
+
+import com.mumu.woodlin.etl.model.request.EtlOfflineRunRequest;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunReport;
+
+/**
+ * ETL 多表运行计划服务。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+public interface IEtlRunPlanService {
+
+    /**
+     * 构建运行计划并开始运行，立即返回初始报告。
+     *
+     * @param request 运行请求
+     * @return 运行报告
+     */
+    EtlOfflineRunReport startRun(EtlOfflineRunRequest request);
+
+    /**
+     * 查询运行报告。
+     *
+     * @param runId 运行ID
+     * @return 运行报告
+     */
+    EtlOfflineRunReport getRunReport(String runId);
+}
@@ -42,4 +42,19 @@ void updateAfterExecution(
             String validationStatus,
             Long executionLogId
     );
+
+    /**
+     * 推进组合水位，增量值与主键值在同一条更新语句中写入。
+     *
+     * @param checkpoint 检查点
+     * @param lastIncrementalValue 已写入的最后增量值
+     * @param lastPrimaryKeyValue 该增量值下已写入的最后主键值
+     * @param executionLogId 执行日志ID
+     */
+    void advanceWatermark(
+            EtlSyncCheckpoint checkpoint,
+            String lastIncrementalValue,
+            String lastPrimaryKeyValue,
+            Long executionLogId
+    );
 }
@@ -0,0 +1,62 @@
+package com.mumu.woodlin.etl.service.impl;
+
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.mumu.woodlin.etl.entity.EtlChunkLedger;
+import com.mumu.woodlin.etl.mapper.EtlChunkLedgerMapper;
+import com.mumu.woodlin.etl.service.IEtlChunkLedgerService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ETL 分块续跑台账服务实现。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Service
+public class EtlChunkLedgerServiceImpl
+        extends ServiceImpl<EtlChunkLedgerMapper, EtlChunkLedger>
+        implements IEtlChunkLedgerService {
+
+    @Override
+    public List<EtlChunkLedger> listLedger(Long jobId, String runSignature) {
+        if (jobId == null || runSignature == null) {
+            return List.of();
+        }
+        return this.list(new LambdaQueryWrapper<EtlChunkLedger>()
+                .eq(EtlChunkLedger::getJobId, jobId)
+                .eq(EtlChunkLedger::getRunSignature, runSignature)
+                .orderByAsc(EtlChunkLedger::getRangeIndex));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replaceLedger(Long jobId, List<EtlChunkLedger> ledgers) {
+        clearLedger(jobId);
+        if (ledgers != null && !ledgers.isEmpty()) {
+            this.saveBatch(ledgers);
+        }
+    }
+
+    @Override
+    public void recordProgress(Long jobId, int rangeIndex, Long executionLogId, String resumeKey, long committedRows) {
+        this.update(new LambdaUpdateWrapper<EtlChunkLedger>()
+                .eq(EtlChunkLedger::getJobId, jobId)
+                .eq(EtlChunkLedger::getRangeIndex, rangeIndex)
+                .set(EtlChunkLedger::getExecutionLogId, executionLogId)
+                .set(EtlChunkLedger::getResumeKey, resumeKey)
+                .set(EtlChunkLedger::getCommittedRows, committedRows));
+    }
+
+    @Override
+    public void clearLedger(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+        this.remove(new LambdaQueryWrapper<EtlChunkLedger>().eq(EtlChunkLedger::getJobId, jobId));
+    }
+}
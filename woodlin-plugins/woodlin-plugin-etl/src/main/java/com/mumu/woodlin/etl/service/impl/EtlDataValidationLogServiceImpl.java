@@ -1,11 +1,22 @@
 package com.mumu.woodlin.etl.service.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.etl.engine.EtlDiffReport;
 import com.mumu.woodlin.etl.entity.EtlDataValidationLog;
 import com.mumu.woodlin.etl.mapper.EtlDataValidationLogMapper;
 import com.mumu.woodlin.etl.service.IEtlDataValidationLogService;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 /**
  * ETL 数据一致性校验日志服务实现。
@@ -14,13 +25,36 @@
  * @since 1.0.0
  */
 @Service
+@RequiredArgsConstructor
 public class EtlDataValidationLogServiceImpl
         extends ServiceImpl<EtlDataValidationLogMapper, EtlDataValidationLog>
         implements IEtlDataValidationLogService {
 
+    private final ObjectMapper objectMapper;
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void record(EtlDataValidationLog log) {
         this.save(log);
     }
+
+    @Override
+    public void exportDiffReport(Long executionLogId, Writer writer) throws IOException {
+        EtlDataValidationLog validationLog = this.getOne(new LambdaQueryWrapper<EtlDataValidationLog>()
+                .eq(EtlDataValidationLog::getExecutionLogId, executionLogId)
+                .eq(EtlDataValidationLog::getValidationType, EtlDiffReport.COMPARE_ONLY)
+                .last("LIMIT 1"), false);
+        if (validationLog == null) {
+            throw new BusinessException("执行记录不是仅比对运行或尚未完成: " + executionLogId);
+        }
+        if (!StringUtils.hasText(validationLog.getDiffReport())) {
+            EtlDiffReport.writeCsv(Collections.emptyIterator(), writer);
+            return;
+        }
+        try (MappingIterator<EtlDiffReport.BucketDiff> buckets = objectMapper
+                .readerFor(EtlDiffReport.BucketDiff.class)
+                .readValues(validationLog.getDiffReport())) {
+            EtlDiffReport.writeCsv(buckets, writer);
+        }
+    }
 }
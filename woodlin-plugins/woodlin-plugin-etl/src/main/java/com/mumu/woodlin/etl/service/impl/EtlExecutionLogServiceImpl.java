@@ -6,6 +6,7 @@
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -96,4 +97,11 @@ public void recordExecutionFailure(Long logId, Long extractedRows, Long transfor
         
         this.updateById(executionLog);
     }
+    
+    @Override
+    public void recordExecutionDetail(Long logId, String executionDetail) {
+        this.update(new LambdaUpdateWrapper<EtlExecutionLog>()
+                .eq(EtlExecutionLog::getLogId, logId)
+                .set(EtlExecutionLog::getExecutionDetail, executionDetail));
+    }
 }
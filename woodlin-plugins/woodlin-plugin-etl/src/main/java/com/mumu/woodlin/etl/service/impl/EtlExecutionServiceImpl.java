@@ -1,24 +1,28 @@
 package com.mumu.woodlin.etl.service.impl;
 
-import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
-import java.util.zip.CRC32;
 import javax.sql.DataSource;
 
 import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
@@ -26,29 +30,63 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mumu.woodlin.common.exception.BusinessException;
 import com.mumu.woodlin.datasource.service.InfraDatasourceService;
+import com.mumu.woodlin.etl.config.EtlProperties;
 import com.mumu.woodlin.etl.dialect.DatabaseDialect;
 import com.mumu.woodlin.etl.dialect.DatabaseDialectResolver;
+import com.mumu.woodlin.etl.dialect.StreamingStatement;
+import com.mumu.woodlin.etl.dialect.TargetIndexPlan;
+import com.mumu.woodlin.etl.entity.EtlChunkLedger;
 import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
 import com.mumu.woodlin.etl.entity.EtlDataBucketChecksum;
 import com.mumu.woodlin.etl.entity.EtlDataValidationLog;
 import com.mumu.woodlin.etl.entity.EtlJob;
+import com.mumu.woodlin.etl.entity.EtlMerkleNode;
 import com.mumu.woodlin.etl.entity.EtlSyncCheckpoint;
 import com.mumu.woodlin.etl.entity.EtlTableStructureSnapshot;
+import com.mumu.woodlin.etl.engine.EtlBatchTuner;
+import com.mumu.woodlin.etl.engine.EtlBucketChecksumPushdown;
+import com.mumu.woodlin.etl.engine.EtlBucketDigest;
+import com.mumu.woodlin.etl.engine.EtlBucketWorkerGroup;
+import com.mumu.woodlin.etl.engine.EtlBucketWorkerPool;
+import com.mumu.woodlin.etl.engine.EtlBulkLoader;
+import com.mumu.woodlin.etl.engine.EtlChecksumAlgorithm;
+import com.mumu.woodlin.etl.engine.EtlChunk;
+import com.mumu.woodlin.etl.engine.EtlChunkPipeline;
+import com.mumu.woodlin.etl.engine.EtlDeleteDetector;
+import com.mumu.woodlin.etl.engine.EtlDeleteMode;
+import com.mumu.woodlin.etl.engine.EtlDiffReport;
+import com.mumu.woodlin.etl.engine.EtlHashFunctions;
+import com.mumu.woodlin.etl.engine.EtlIndexRebuilder;
+import com.mumu.woodlin.etl.engine.EtlKeyRange;
+import com.mumu.woodlin.etl.engine.EtlKeyRangeSplitter;
+import com.mumu.woodlin.etl.engine.EtlMerkleTree;
+import com.mumu.woodlin.etl.engine.EtlPartitionedReader;
+import com.mumu.woodlin.etl.engine.EtlRangeProgress;
+import com.mumu.woodlin.etl.engine.EtlRowBatch;
+import com.mumu.woodlin.etl.engine.EtlRowChunk;
+import com.mumu.woodlin.etl.engine.EtlRowHasher;
+import com.mumu.woodlin.etl.engine.EtlRowSchema;
+import com.mumu.woodlin.etl.engine.EtlSortedKeyMerger;
+import com.mumu.woodlin.etl.engine.EtlStagingMerger;
+import com.mumu.woodlin.etl.engine.EtlTransformPlan;
+import com.mumu.woodlin.etl.engine.EtlWatermark;
+import com.mumu.woodlin.etl.engine.EtlWriteStrategy;
 import com.mumu.woodlin.etl.enums.SyncMode;
 import com.mumu.woodlin.etl.model.EtlOfflineRuntimeConfig;
 import com.mumu.woodlin.etl.model.TableColumnMetadata;
 import com.mumu.woodlin.etl.model.TableSchemaMetadata;
 import com.mumu.woodlin.etl.service.EtlTableMetadataInspector;
+import com.mumu.woodlin.etl.service.IEtlChunkLedgerService;
 import com.mumu.woodlin.etl.service.IEtlColumnMappingRuleService;
 import com.mumu.woodlin.etl.service.IEtlDataBucketChecksumService;
 import com.mumu.woodlin.etl.service.IEtlDataValidationLogService;
 import com.mumu.woodlin.etl.service.IEtlExecutionLogService;
 import com.mumu.woodlin.etl.service.IEtlExecutionService;
+import com.mumu.woodlin.etl.service.IEtlMerkleNodeService;
 import com.mumu.woodlin.etl.service.IEtlSyncCheckpointService;
 import com.mumu.woodlin.etl.service.IEtlTableStructureSnapshotService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -64,9 +102,11 @@
 public class EtlExecutionServiceImpl implements IEtlExecutionService {
 
     private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final String PUSHDOWN_BUCKET_COLUMN = "etl_pushdown_bucket";
     private static final int DEFAULT_BUCKET_SIZE = 64;
     private static final int MAX_IN_CLAUSE_SIZE = 900;
-    private static final Object SKIP_FIELD_SENTINEL = new Object();
+    private static final int UPSERT_BATCH_SIZE = 500;
+    private static final int CONTENTION_RETRY_TIMES = 3;
 
     private final DynamicRoutingDataSource dynamicRoutingDataSource;
     private final InfraDatasourceService infraDatasourceService;
@@ -74,15 +114,18 @@ public class EtlExecutionServiceImpl implements IEtlExecutionService {
     private final IEtlColumnMappingRuleService columnMappingRuleService;
     private final IEtlSyncCheckpointService syncCheckpointService;
     private final IEtlDataBucketChecksumService bucketChecksumService;
+    private final IEtlMerkleNodeService merkleNodeService;
+    private final IEtlChunkLedgerService chunkLedgerService;
     private final IEtlDataValidationLogService validationLogService;
     private final IEtlTableStructureSnapshotService structureSnapshotService;
     private final DatabaseDialectResolver dialectResolver;
     private final EtlTableMetadataInspector metadataInspector;
     private final ObjectMapper objectMapper;
+    private final EtlProperties etlProperties;
+    private final EtlBucketWorkerPool bucketWorkerPool;
 
-    @Async
     @Override
-    public void execute(EtlJob job) {
+    public Long execute(EtlJob job) {
         Long executionLogId = executionLogService.recordExecutionStart(job);
         Summary summary = new Summary();
         try {
@@ -94,10 +137,12 @@ public void execute(EtlJob job) {
                 DatabaseDialect sourceDialect = dialectResolver.resolve(sourceConnection);
                 DatabaseDialect targetDialect = dialectResolver.resolve(targetConnection);
                 TableSchemaMetadata sourceMetadata = metadataInspector.inspect(
-                        job.getSourceDatasource(), job.getSourceSchema(), job.getSourceTable()
+                        job.getSourceDatasource(), job.getSourceSchema(), job.getSourceTable(),
+                        sourceConnection, sourceDialect
                 );
                 TableSchemaMetadata targetMetadata = metadataInspector.inspect(
-                        job.getTargetDatasource(), job.getTargetSchema(), job.getTargetTable()
+                        job.getTargetDatasource(), job.getTargetSchema(), job.getTargetTable(),
+                        targetConnection, targetDialect
                 );
                 recordSnapshot(job, sourceMetadata, job.getSourceDatasource(), "SOURCE");
                 recordSnapshot(job, targetMetadata, job.getTargetDatasource(), "TARGET");
@@ -110,28 +155,65 @@ public void execute(EtlJob job) {
                 adjustTargetSchema(job, sourceMetadata, targetMetadata, fieldRules, runtimeConfig, targetConnection, targetDialect);
                 SyncMode syncMode = SyncMode.fromCode(job.getSyncMode());
                 EtlSyncCheckpoint checkpoint = syncCheckpointService.getOrCreate(job);
-                if (syncMode == SyncMode.FULL && Boolean.TRUE.equals(runtimeConfig.getTruncateTarget())) {
+                // 组合水位分页时检查点逐页推进，本身即续跑位置，不再记录分块台账
+                ResumeLedger resume = keyless || isKeysetPaging(job, syncMode) ? null : resolveResumeLedger(
+                        job, syncMode, sourcePrimaryKey, fieldRules, checkpoint
+                );
+                boolean truncated = syncMode == SyncMode.FULL && Boolean.TRUE.equals(runtimeConfig.getTruncateTarget());
+                if (resume != null && resume.resuming()) {
+                    // 续跑时目标表已含上次提交的数据，不能再清空
+                    truncated = false;
+                    log.info("ETL任务从分块台账续跑: jobId={}, ranges={}", job.getJobId(), resume.ledgers().size());
+                }
+                if (truncated) {
                     clearTargetTable(job, targetConnection, targetDialect);
                 }
+                TargetIndexPlan deferredIndexes = truncated
+                        ? deferTargetIndexes(job, targetConnection, targetDataSource, targetDialect, executionLogId)
+                        : TargetIndexPlan.empty();
                 int bucketSize = resolveBucketSize(job);
                 BucketRetryPolicy retryPolicy = resolveBucketRetryPolicy(job);
-                summary = runSync(
-                        job,
-                        syncMode,
-                        sourceConnection,
-                        targetConnection,
-                        sourceDialect,
-                        targetDialect,
-                        fieldRules,
-                        sourcePrimaryKey,
-                        targetPrimaryKey,
-                        checkpoint,
-                        executionLogId,
-                        bucketSize,
-                        retryPolicy,
-                        keyless
+                try {
+                    summary = runSync(
+                            job,
+                            syncMode,
+                            sourceConnection,
+                            targetConnection,
+                            sourceDataSource,
+                            targetDataSource,
+                            sourceDialect,
+                            targetDialect,
+                            sourceMetadata,
+                            targetMetadata,
+                            fieldRules,
+                            sourcePrimaryKey,
+                            targetPrimaryKey,
+                            checkpoint,
+                            executionLogId,
+                            bucketSize,
+                            retryPolicy,
+                            keyless,
+                            truncated,
+                            resume
+                    );
+                } catch (Exception exception) {
+                    restoreTargetIndexes(job, targetDataSource, deferredIndexes, executionLogId, exception);
+                    throw exception;
+                }
+                summary.indexRebuildMillis = restoreTargetIndexes(
+                        job, targetDataSource, deferredIndexes, executionLogId, null
                 );
+                summary.deferredIndexCount = deferredIndexes.indexNames().size();
+                summary.deferredConstraintCount = deferredIndexes.constraintNames().size();
+                if (resume != null) {
+                    chunkLedgerService.clearLedger(job.getJobId());
+                }
                 String validationStatus = summary.mismatchBucketCount > 0 ? "FAILED" : "SUCCESS";
+                if (summary.writeTuning != null) {
+                    checkpoint.setWriteBatchSize(summary.writeTuning.batchSize())
+                            .setWriteCommitRows(summary.writeTuning.commitRows())
+                            .setLookupInListSize(summary.writeTuning.inListSize());
+                }
                 syncCheckpointService.updateAfterExecution(
                         checkpoint,
                         summary.lastIncrementalValue,
@@ -163,6 +245,82 @@ public void execute(EtlJob job) {
             );
             log.error("ETL任务执行失败: jobId={}, jobName={}", job.getJobId(), job.getJobName(), exception);
         }
+        return executionLogId;
+    }
+
+    @Override
+    public void compare(EtlJob job) {
+        Long executionLogId = executionLogService.recordExecutionStart(job);
+        Map<String, Object> startDetail = new LinkedHashMap<>();
+        startDetail.put("mode", EtlDiffReport.COMPARE_ONLY);
+        executionLogService.recordExecutionDetail(executionLogId, toJson(startDetail));
+        Summary summary = new Summary();
+        EtlProperties.Compare compareConfig = etlProperties.getCompare();
+        EtlDiffReport report = new EtlDiffReport(
+                positiveOrDefault(compareConfig.getMaxKeysPerBucket(), 20),
+                compareConfig.getMaxColumnDeltas() == null ? 5 : compareConfig.getMaxColumnDeltas()
+        );
+        try {
+            validateJob(job);
+            DataSource sourceDataSource = getDataSource(job.getSourceDatasource(), "源");
+            DataSource targetDataSource = getDataSource(job.getTargetDatasource(), "目标");
+            try (Connection sourceConnection = sourceDataSource.getConnection();
+                 Connection targetConnection = targetDataSource.getConnection()) {
+                DatabaseDialect sourceDialect = dialectResolver.resolve(sourceConnection);
+                DatabaseDialect targetDialect = dialectResolver.resolve(targetConnection);
+                TableSchemaMetadata sourceMetadata = metadataInspector.inspect(
+                        job.getSourceDatasource(), job.getSourceSchema(), job.getSourceTable(),
+                        sourceConnection, sourceDialect
+                );
+                TableSchemaMetadata targetMetadata = metadataInspector.inspect(
+                        job.getTargetDatasource(), job.getTargetSchema(), job.getTargetTable(),
+                        targetConnection, targetDialect
+                );
+                if (sourceMetadata.getPrimaryKeyColumns().isEmpty() && targetMetadata.getPrimaryKeyColumns().isEmpty()) {
+                    throw new BusinessException("无主键表无法按主键比对: " + job.getSourceTable());
+                }
+                List<EtlColumnMappingRule> fieldRules = resolveFieldRules(job, sourceMetadata, targetMetadata);
+                String sourcePrimaryKey = resolveSourcePrimaryKey(sourceMetadata, fieldRules);
+                String targetPrimaryKey = resolveTargetPrimaryKey(sourcePrimaryKey, fieldRules, targetMetadata);
+                summary = runCompare(
+                        job,
+                        sourceConnection,
+                        targetConnection,
+                        sourceDataSource,
+                        targetDataSource,
+                        sourceDialect,
+                        targetDialect,
+                        sourceMetadata,
+                        targetMetadata,
+                        fieldRules,
+                        sourcePrimaryKey,
+                        targetPrimaryKey,
+                        report
+                );
+                String validationStatus = summary.mismatchBucketCount > 0 ? "FAILED" : "SUCCESS";
+                recordCompareValidation(job, executionLogId, summary, report, validationStatus);
+                executionLogService.recordExecutionSuccess(
+                        executionLogId,
+                        summary.extractedRows,
+                        summary.transformedRows,
+                        0L,
+                        buildCompareDetail(summary, report)
+                );
+                log.info("ETL仅比对完成: jobId={}, mismatchBuckets={}, missing={}, extra={}, changed={}",
+                        job.getJobId(), summary.mismatchBucketCount, report.missingCount(), report.extraCount(),
+                        report.changedCount());
+            }
+        } catch (Exception exception) {
+            executionLogService.recordExecutionFailure(
+                    executionLogId,
+                    summary.extractedRows,
+                    summary.transformedRows,
+                    0L,
+                    0L,
+                    exception.getMessage()
+            );
+            log.error("ETL仅比对失败: jobId={}, jobName={}", job.getJobId(), job.getJobName(), exception);
+        }
     }
 
     private Summary runSync(
@@ -170,8 +328,12 @@ private Summary runSync(
             SyncMode syncMode,
             Connection sourceConnection,
             Connection targetConnection,
+            DataSource sourceDataSource,
+            DataSource targetDataSource,
             DatabaseDialect sourceDialect,
             DatabaseDialect targetDialect,
+            TableSchemaMetadata sourceMetadata,
+            TableSchemaMetadata targetMetadata,
             List<EtlColumnMappingRule> fieldRules,
             String sourcePrimaryKey,
             String targetPrimaryKey,
@@ -179,267 +341,1661 @@ private Summary runSync(
             Long executionLogId,
             int bucketSize,
             BucketRetryPolicy retryPolicy,
-            boolean keyless
-    ) throws SQLException {
-        List<String> sourceColumns = resolveSourceColumns(fieldRules, sourcePrimaryKey, job.getIncrementalColumn());
-        List<String> targetColumns = fieldRules.stream()
-                .map(EtlColumnMappingRule::getTargetColumnName)
-                .distinct()
-                .collect(Collectors.toList());
-        List<Map<String, Object>> sourceRows = fetchSourceRows(
-                job, syncMode, sourceConnection, sourceDialect, sourceColumns, sourcePrimaryKey, checkpoint
+            boolean keyless,
+            boolean truncated,
+            ResumeLedger resume
+    ) throws Exception {
+        EtlTransformPlan transformPlan = EtlTransformPlan.compile(fieldRules, objectMapper);
+        EtlBatchTuner writeTuner = resolveWriteTuner(checkpoint);
+        BucketPushdown pushdown = keyless || truncated ? null : planBucketPushdown(
+                job, syncMode, sourceConnection, targetConnection, sourceDialect, targetDialect, transformPlan,
+                sourcePrimaryKey, targetPrimaryKey, bucketSize, true
         );
-        Summary summary = new Summary();
-        if (sourceRows.isEmpty()) {
-            return summary;
-        }
+        List<String> sourceColumns = new ArrayList<>(
+                resolveSourceColumns(fieldRules, sourcePrimaryKey, job.getIncrementalColumn())
+        );
+        if (pushdown != null) {
+            sourceColumns.add(PUSHDOWN_BUCKET_COLUMN);
+        }
+        EtlRowSchema sourceSchema = EtlRowSchema.of(sourceMetadata, sourceColumns);
+        EtlRowSchema targetSchema = EtlRowSchema.of(targetMetadata, transformPlan.targetColumns());
+        KeysetPaging paging = keyless || !isKeysetPaging(job, syncMode)
+                ? null
+                : resolveKeysetPaging(job, checkpoint, sourceSchema, sourcePrimaryKey);
+        EtlTransformPlan.RowMapper rowMapper = transformPlan.bind(sourceSchema, targetSchema);
+        EtlChecksumAlgorithm checksumAlgorithm = resolveChecksumAlgorithm();
+        List<String> targetColumns = targetSchema.columnNames();
         String targetTable = targetDialect.qualifyTable(job.getTargetSchema(), job.getTargetTable());
+        EtlChunkPipeline<EtlRowChunk, TransformedChunk> pipeline = newPipeline(job);
+        EtlChunkPipeline.ChunkSource<EtlRowChunk> reader = pushdown != null && pushdown.changedBuckets().isEmpty()
+                ? emitter -> { }
+                : emitter -> readSourceRanges(
+                        job, syncMode, sourceConnection, sourceDataSource, sourceDialect, sourceSchema, sourcePrimaryKey,
+                        checkpoint, resolveChunkRows(job), pipeline.maxChunkBytes(), keyless, pushdown, resume, paging,
+                        emitter
+                );
+        EtlRangeProgress progress = new EtlRangeProgress(resume == null ? List.of() : resume.commits());
+        String orderColumn = resolveOrderColumn(job, sourcePrimaryKey);
+        WatermarkProgress watermarks = paging == null ? null : new WatermarkProgress(paging.committed());
 
-        if (keyless) {
-            return runKeylessSync(job, targetConnection, targetDialect, fieldRules, targetColumns,
-                    sourceRows, targetTable, executionLogId);
+        boolean targetEmpty = pushdown != null && pushdown.merkleDiff() == null
+                && pushdown.targetBuckets().isEmpty() && !pushdown.sourceBuckets().isEmpty();
+        if (keyless || truncated || targetEmpty) {
+            String fallbackUpsertSql = keyless
+                    ? null
+                    : targetDialect.buildUpsertSql(targetTable, targetColumns, List.of(targetPrimaryKey));
+            Summary summary = runBulkLoadSync(job, targetConnection, targetDialect, rowMapper, targetSchema,
+                    targetTable, fallbackUpsertSql, writeTuner, pipeline, reader, orderColumn, progress, resume,
+                    executionLogId);
+            if (!keyless) {
+                verifyBulkLoad(job, syncMode, sourceConnection, targetConnection, sourceDialect, targetDialect,
+                        transformPlan, sourcePrimaryKey, targetPrimaryKey, bucketSize, executionLogId, summary);
+            }
+            summary.recordWriteTuning(writeTuner);
+            return summary;
         }
 
         String upsertSql = targetDialect.buildUpsertSql(targetTable, targetColumns, List.of(targetPrimaryKey));
-        Map<Integer, List<Map<String, Object>>> buckets = new HashMap<>();
-        for (Map<String, Object> sourceRow : sourceRows) {
-            Map<String, Object> transformed = transformRow(sourceRow, fieldRules);
-            Object primaryKeyValue = transformed.get(targetPrimaryKey);
-            if (primaryKeyValue == null) {
-                log.warn("逻辑主键字段值为空，跳过该行: {}", targetPrimaryKey);
-                continue;
-            }
-            int bucket = Math.floorMod(String.valueOf(primaryKeyValue).hashCode(), bucketSize);
-            buckets.computeIfAbsent(bucket, value -> new ArrayList<>()).add(transformed);
-            summary.lastIncrementalValue = StringUtils.hasText(job.getIncrementalColumn())
-                    ? valueToText(sourceRow.get(job.getIncrementalColumn()))
-                    : summary.lastIncrementalValue;
+        Summary summary = new Summary();
+        EtlWriteStrategy writeStrategy = resolveWriteStrategy(job, targetDialect, checkpoint, pushdown);
+        summary.writeStrategy = writeStrategy.name();
+        EtlStagingMerger stagingMerger = writeStrategy == EtlWriteStrategy.STAGING_MERGE
+                ? new EtlStagingMerger(targetDialect, targetTable, targetSchema, List.of(targetPrimaryKey))
+                : null;
+        Map<Integer, BucketAccumulator> bucketAccumulators = new TreeMap<>();
+        int parallelism = resolveBucketParallelism(job);
+        try (EtlBucketWorkerGroup workerGroup = stagingMerger == null
+                ? new EtlBucketWorkerGroup(targetDataSource, bucketWorkerPool, parallelism)
+                : new EtlBucketWorkerGroup(targetDataSource, bucketWorkerPool, parallelism, stagingMerger::release)) {
+            pipeline.run(
+                    reader,
+                    chunk -> bucketizeChunk(
+                            job, chunk, rowMapper, targetSchema, targetPrimaryKey, orderColumn, bucketSize,
+                            checksumAlgorithm, pushdown != null
+                    ),
+                    chunk -> {
+                        summary.extractedRows += chunk.sourceRowCount();
+                        summary.lastIncrementalMark = laterIncrementalValue(
+                                summary.lastIncrementalMark, chunk.lastIncrementalValue()
+                        );
+                        Map<Integer, CompletableFuture<SegmentResult>> futures = new TreeMap<>();
+                        for (Map.Entry<Integer, BucketSegment> segmentEntry : chunk.segments().entrySet()) {
+                            BucketSegment segment = segmentEntry.getValue();
+                            futures.put(segmentEntry.getKey(), workerGroup.submit(workerConnection -> syncBucketSegment(
+                                    workerConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey,
+                                    upsertSql, stagingMerger, writeTuner, segment, retryPolicy, checksumAlgorithm
+                            )));
+                        }
+                        boolean clean = true;
+                        for (Map.Entry<Integer, CompletableFuture<SegmentResult>> futureEntry : futures.entrySet()) {
+                            BucketSegment segment = chunk.segments().get(futureEntry.getKey());
+                            SegmentResult result = awaitSegment(job, futureEntry.getKey(), futureEntry.getValue());
+                            summary.transformedRows += segment.rows().size();
+                            summary.targetComparedRows += result.targetRowCount();
+                            if (result.applied()) {
+                                summary.loadedRows += segment.rows().size();
+                            }
+                            bucketAccumulators.computeIfAbsent(futureEntry.getKey(), key -> new BucketAccumulator())
+                                    .merge(segment, result);
+                            clean &= result.errorMessage() == null && !result.mismatch();
+                        }
+                        recordChunkProgress(job, executionLogId, resume, progress, chunk, clean);
+                        advanceWatermark(job, checkpoint, executionLogId, watermarks, chunk.watermark(), clean);
+                    }
+            );
+        }
+        summary.resumedRowCount = progress.resumedRows();
+
+        if (summary.lastIncrementalMark != null) {
+            summary.lastIncrementalValue = valueToText(summary.lastIncrementalMark);
+        }
+        if (paging != null) {
+            // 分页时检查点只推进到校验通过的最后一页，不取读到的最大增量值
+            summary.lastIncrementalValue = checkpoint.getLastIncrementalValue();
+            summary.keysetPageRows = paging.pageRows();
+        }
+        if (syncMode == SyncMode.FULL) {
+            detectDeletes(job, sourceConnection, targetConnection, sourceDataSource, targetDataSource, sourceDialect,
+                    targetDialect, sourceMetadata, targetMetadata, fieldRules, sourcePrimaryKey, targetPrimaryKey,
+                    pushdown, bucketSize, summary);
         }
         List<EtlDataBucketChecksum> bucketRecords = new ArrayList<>();
-        for (Map.Entry<Integer, List<Map<String, Object>>> bucketEntry : buckets.entrySet()) {
-            List<Map<String, Object>> sourceBucketRows = bucketEntry.getValue();
-            Set<Object> primaryKeyValues = sourceBucketRows.stream()
-                    .map(item -> item.get(targetPrimaryKey))
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
-            List<Map<String, Object>> targetBefore = queryTargetRowsByPrimaryKeys(
-                    targetConnection, targetDialect, targetTable, targetColumns, targetPrimaryKey, primaryKeyValues
-            );
-            String sourceChecksum = checksum(sourceBucketRows, targetColumns, targetPrimaryKey);
-            String targetChecksum = checksum(targetBefore, targetColumns, targetPrimaryKey);
-            boolean needsSync = sourceBucketRows.size() != targetBefore.size() || !sourceChecksum.equals(targetChecksum);
-            boolean bucketApplied = false;
-            if (needsSync) {
-                upsertRows(targetConnection, upsertSql, targetColumns, sourceBucketRows);
-                bucketApplied = true;
-            }
-            List<Map<String, Object>> targetAfter = queryTargetRowsByPrimaryKeys(
-                    targetConnection, targetDialect, targetTable, targetColumns, targetPrimaryKey, primaryKeyValues
-            );
-            String targetAfterChecksum = checksum(targetAfter, targetColumns, targetPrimaryKey);
-            boolean mismatch = sourceBucketRows.size() != targetAfter.size() || !sourceChecksum.equals(targetAfterChecksum);
-            int retryCount = 0;
-            boolean retrySuccess = false;
-            while (mismatch && retryCount < retryPolicy.maxRetryTimes()) {
-                retryCount++;
-                sleepBeforeRetry(retryPolicy.retryIntervalMillis(), retryCount);
-                upsertRows(targetConnection, upsertSql, targetColumns, sourceBucketRows);
-                bucketApplied = true;
-                targetAfter = queryTargetRowsByPrimaryKeys(
-                        targetConnection, targetDialect, targetTable, targetColumns, targetPrimaryKey, primaryKeyValues
-                );
-                targetAfterChecksum = checksum(targetAfter, targetColumns, targetPrimaryKey);
-                mismatch = sourceBucketRows.size() != targetAfter.size() || !sourceChecksum.equals(targetAfterChecksum);
-                retrySuccess = !mismatch;
-            }
-            if (bucketApplied) {
+        for (Map.Entry<Integer, BucketAccumulator> bucketEntry : bucketAccumulators.entrySet()) {
+            BucketAccumulator bucket = bucketEntry.getValue();
+            String sourceChecksum = bucket.sourceDigest.value();
+            String targetChecksum = bucket.targetDigest.value();
+            if (bucket.applied) {
                 summary.appliedBucketCount++;
-                summary.loadedRows += sourceBucketRows.size();
             } else {
                 summary.skippedBucketCount++;
             }
-            if (retryCount > 0) {
+            if (bucket.retryCount > 0) {
                 summary.retriedBucketCount++;
             }
-            if (retrySuccess) {
+            if (bucket.retrySuccess && !bucket.mismatch) {
                 summary.recoveredBucketCount++;
             }
-            if (mismatch) {
+            if (bucket.mismatch) {
                 summary.mismatchBucketCount++;
             }
-            String bucketBoundaryStart = resolveBucketBoundary(primaryKeyValues, true);
-            String bucketBoundaryEnd = resolveBucketBoundary(primaryKeyValues, false);
-            String skipReason = resolveBucketSkipReason(needsSync, bucketApplied, retryCount, retrySuccess, mismatch);
-            summary.extractedRows += sourceBucketRows.size();
-            summary.transformedRows += sourceBucketRows.size();
-            summary.targetComparedRows += targetAfter.size();
-            summary.sourceDigest = roll(summary.sourceDigest, sourceChecksum);
-            summary.targetDigest = roll(summary.targetDigest, targetAfterChecksum);
+            if (bucket.errorMessage != null) {
+                summary.failedBucketCount++;
+            }
+            summary.sourceDigest.merge(bucket.sourceDigest);
+            summary.targetDigest.merge(bucket.targetDigest);
+            String skipReason = bucket.errorMessage != null
+                    ? truncate("bucket_sync_failed: " + bucket.errorMessage, 255)
+                    : resolveBucketSkipReason(
+                            bucket.needsSync, bucket.applied, bucket.retryCount, bucket.retrySuccess && !bucket.mismatch,
+                            bucket.mismatch
+                    );
             bucketRecords.add(new EtlDataBucketChecksum()
                     .setJobId(job.getJobId())
                     .setExecutionLogId(executionLogId)
                     .setBucketNumber(bucketEntry.getKey())
-                    .setSourceRowCount((long) sourceBucketRows.size())
-                    .setTargetRowCount((long) targetAfter.size())
+                    .setSourceRowCount(bucket.sourceRowCount)
+                    .setTargetRowCount(bucket.targetRowCount)
                     .setSourceChecksum(sourceChecksum)
-                    .setTargetChecksum(targetAfterChecksum)
-                    .setBucketBoundaryStart(bucketBoundaryStart)
-                    .setBucketBoundaryEnd(bucketBoundaryEnd)
-                    .setNeedsSync(needsSync ? "1" : "0")
-                    .setRetryCount(retryCount)
-                    .setRetrySuccess(retrySuccess ? "1" : "0")
-                    .setLastRetryTime(retryCount > 0 ? LocalDateTime.now() : null)
+                    .setTargetChecksum(targetChecksum)
+                    .setChecksumAlgorithm(checksumAlgorithm.code())
+                    .setBucketBoundaryStart(bucket.boundaryStart)
+                    .setBucketBoundaryEnd(bucket.boundaryEnd)
+                    .setNeedsSync(bucket.needsSync ? "1" : "0")
+                    .setRetryCount(bucket.retryCount)
+                    .setRetrySuccess(bucket.retrySuccess && !bucket.mismatch ? "1" : "0")
+                    .setLastRetryTime(bucket.lastRetryTime)
                     .setSkipReason(skipReason)
                     .setComparedAt(LocalDateTime.now())
                     .setTenantId(job.getTenantId()));
         }
+        if (pushdown != null) {
+            appendPushdownRecords(job, executionLogId, pushdown, bucketAccumulators.keySet(), bucketRecords, summary, false);
+        }
         bucketChecksumService.saveBatchRecords(bucketRecords);
+        if (pushdown != null) {
+            saveMerkleTree(job, executionLogId, pushdown, summary);
+        }
+        summary.checksumAlgorithm = checksumAlgorithm.code();
+        summary.recordWriteTuning(writeTuner);
         return summary;
     }
 
     /**
-     * 无主键表同步：直接 INSERT 全部数据，跳过桶位校验和重试。
+     * 规划桶位校验下推：仅同类数据库、字段一一复制且无过滤条件的全量同步可用，两端在库内按桶计算行数与摘要。
+     * 不满足条件或查询失败时返回空，按常规方式逐桶比对。
      */
-    private Summary runKeylessSync(
+    private BucketPushdown planBucketPushdown(
             EtlJob job,
+            SyncMode syncMode,
+            Connection sourceConnection,
             Connection targetConnection,
+            DatabaseDialect sourceDialect,
             DatabaseDialect targetDialect,
-            List<EtlColumnMappingRule> fieldRules,
-            List<String> targetColumns,
-            List<Map<String, Object>> sourceRows,
+            EtlTransformPlan transformPlan,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            int bucketSize,
+            boolean trustMerkleTree
+    ) {
+        if (!Boolean.TRUE.equals(etlProperties.getChecksum().getPushdown())
+                || syncMode != SyncMode.FULL
+                || StringUtils.hasText(job.getFilterCondition())
+                || !transformPlan.isIdentity()
+                || !Objects.equals(sourceDialect.getDialectType(), targetDialect.getDialectType())) {
+            return null;
+        }
+        EtlBucketChecksumPushdown sourcePushdown = new EtlBucketChecksumPushdown(sourceDialect, bucketSize);
+        EtlBucketChecksumPushdown targetPushdown = new EtlBucketChecksumPushdown(targetDialect, bucketSize);
+        if (!sourcePushdown.isSupported() || !targetPushdown.isSupported()) {
+            return null;
+        }
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        String targetTable = targetDialect.qualifyTable(job.getTargetSchema(), job.getTargetTable());
+        try {
+            Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> sourceBuckets = sourcePushdown.query(
+                    sourceConnection, sourceTable, sourcePrimaryKey, transformPlan.sourceColumns(), null, List.of()
+            );
+            EtlMerkleTree sourceTree = null;
+            EtlMerkleTree.Diff merkleDiff = null;
+            String treeSignature = null;
+            if (Boolean.TRUE.equals(etlProperties.getChecksum().getMerkleTree())) {
+                int fanout = resolveMerkleFanout();
+                treeSignature = resolveMerkleSignature(sourceDialect, sourceTable, sourcePrimaryKey, targetTable,
+                        targetPrimaryKey, transformPlan, bucketSize, fanout);
+                sourceTree = EtlMerkleTree.build(sourceBuckets, bucketSize, fanout);
+                List<EtlMerkleTree.Node> previousNodes = merkleNodeService.listTree(job.getJobId(), treeSignature).stream()
+                        .map(node -> new EtlMerkleTree.Node(node.getNodeLevel(), node.getNodeIndex(), node.getNodeHash(),
+                                node.getRowCount() == null ? 0L : node.getRowCount()))
+                        .toList();
+                merkleDiff = trustMerkleTree ? sourceTree.diff(EtlMerkleTree.restore(fanout, previousNodes)) : null;
+            }
+            Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> targetBuckets;
+            Set<Integer> merkleUnchanged = new TreeSet<>();
+            if (merkleDiff == null) {
+                targetBuckets = targetPushdown.query(
+                        targetConnection, targetTable, targetPrimaryKey, transformPlan.targetColumns(), null, List.of()
+                );
+            } else {
+                targetBuckets = new TreeMap<>();
+                if (!merkleDiff.changedLeaves().isEmpty()) {
+                    targetBuckets.putAll(targetPushdown.query(
+                            targetConnection, targetTable, targetPrimaryKey, transformPlan.targetColumns(),
+                            targetPushdown.bucketExpression(targetPrimaryKey) + " IN ("
+                                    + joinBuckets(merkleDiff.changedLeaves()) + ")",
+                            List.of()
+                    ));
+                }
+                for (Map.Entry<Integer, EtlBucketChecksumPushdown.BucketAggregate> entry : sourceBuckets.entrySet()) {
+                    if (!merkleDiff.changedLeaves().contains(entry.getKey())) {
+                        targetBuckets.put(entry.getKey(), entry.getValue());
+                        merkleUnchanged.add(entry.getKey());
+                    }
+                }
+            }
+            Set<Integer> changedBuckets = EtlBucketChecksumPushdown.changedBuckets(sourceBuckets, targetBuckets);
+            if (merkleDiff != null && !changedBuckets.isEmpty()) {
+                merkleNodeService.clearTree(job.getJobId());
+            }
+            log.info("桶位校验下推完成: jobId={}, sourceBuckets={}, targetBuckets={}, changedBuckets={}, merkleComparedNodes={}",
+                    job.getJobId(), sourceBuckets.size(), targetBuckets.size(), changedBuckets.size(),
+                    merkleDiff == null ? null : merkleDiff.comparedNodes());
+            return new BucketPushdown(
+                    sourcePushdown.bucketExpression(sourcePrimaryKey),
+                    sourceBuckets, targetBuckets, changedBuckets,
+                    sourceTree, treeSignature, merkleDiff, merkleUnchanged
+            );
+        } catch (SQLException exception) {
+            log.warn("桶位校验下推失败，回退逐桶比对: jobId={}, error={}", job.getJobId(), exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 树签名：表、键、字段、方言、桶数量或扇出任一变化时，已保存的树不再可比。
+     */
+    private String resolveMerkleSignature(
+            DatabaseDialect dialect,
+            String sourceTable,
+            String sourcePrimaryKey,
             String targetTable,
-            Long executionLogId
-    ) throws SQLException {
-        log.info("无主键表模式，直接批量插入: table={}, rows={}", targetTable, sourceRows.size());
-        String insertSql = targetDialect.buildInsertSql(targetTable, targetColumns);
-        Summary summary = new Summary();
-        List<Map<String, Object>> transformed = new ArrayList<>(sourceRows.size());
-        for (Map<String, Object> sourceRow : sourceRows) {
-            transformed.add(transformRow(sourceRow, fieldRules));
-        }
-        upsertRows(targetConnection, insertSql, targetColumns, transformed);
-        summary.extractedRows = sourceRows.size();
-        summary.transformedRows = sourceRows.size();
-        summary.loadedRows = sourceRows.size();
-        summary.appliedBucketCount = 1;
-        return summary;
+            String targetPrimaryKey,
+            EtlTransformPlan transformPlan,
+            int bucketSize,
+            int fanout
+    ) {
+        String text = String.join("|", String.valueOf(dialect.getDialectType()), sourceTable, sourcePrimaryKey,
+                String.join(",", transformPlan.sourceColumns()), targetTable, targetPrimaryKey,
+                String.join(",", transformPlan.targetColumns()), String.valueOf(bucketSize), String.valueOf(fanout));
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return String.format("%016x", EtlHashFunctions.xxHash64(bytes, 0, bytes.length));
     }
 
-    private List<Map<String, Object>> fetchSourceRows(
+    /**
+     * 查询可续跑的分块台账。运行签名覆盖表、字段规则、过滤条件、主键与起始水位，
+     * 任一变化时旧台账不再适用，本次执行按新执行处理并覆盖台账。
+     */
+    private ResumeLedger resolveResumeLedger(
             EtlJob job,
             SyncMode syncMode,
-            Connection sourceConnection,
-            DatabaseDialect sourceDialect,
-            List<String> sourceColumns,
             String sourcePrimaryKey,
+            List<EtlColumnMappingRule> fieldRules,
             EtlSyncCheckpoint checkpoint
-    ) throws SQLException {
-        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
-        String selectColumns = sourceColumns.stream().map(sourceDialect::quoteIdentifier).collect(Collectors.joining(", "));
-        StringBuilder sql = new StringBuilder("SELECT ").append(selectColumns).append(" FROM ").append(sourceTable);
-        List<String> conditions = new ArrayList<>();
-        if (StringUtils.hasText(job.getFilterCondition())) {
-            conditions.add(job.getFilterCondition());
+    ) {
+        if (Boolean.FALSE.equals(etlProperties.getPipeline().getResumable())) {
+            return null;
         }
-        boolean bindIncremental = false;
-        if (syncMode == SyncMode.INCREMENTAL
-                && StringUtils.hasText(job.getIncrementalColumn())
-                && StringUtils.hasText(checkpoint.getLastIncrementalValue())) {
-            conditions.add(sourceDialect.quoteIdentifier(job.getIncrementalColumn()) + " > ?");
-            bindIncremental = true;
+        String rules = fieldRules.stream()
+                .map(rule -> String.join(",", rule.getSourceColumnName(), rule.getTargetColumnName(),
+                        rule.getMappingAction(), rule.getTransformParams(), rule.getConstantValue(),
+                        rule.getDefaultValue(), rule.getEmptyValuePolicy()))
+                .collect(Collectors.joining(";"));
+        String text = String.join("|", String.valueOf(job.getJobId()), String.valueOf(syncMode),
+                job.getSourceDatasource(), job.getSourceSchema(), job.getSourceTable(),
+                job.getTargetDatasource(), job.getTargetSchema(), job.getTargetTable(),
+                job.getFilterCondition(), job.getIncrementalColumn(), checkpoint.getLastIncrementalValue(),
+                sourcePrimaryKey, rules);
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        String signature = String.format("%016x", EtlHashFunctions.xxHash64(bytes, 0, bytes.length));
+        return new ResumeLedger(signature, chunkLedgerService.listLedger(job.getJobId(), signature));
+    }
+
+    /**
+     * 保存本次源端的 Merkle 树；树与上次相同时不重复写入，存在差异或失败的桶时不保存。
+     */
+    private void saveMerkleTree(EtlJob job, Long executionLogId, BucketPushdown pushdown, Summary summary) {
+        if (pushdown.sourceTree() == null) {
+            return;
         }
-        if (!conditions.isEmpty()) {
-            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        if (summary.mismatchBucketCount > 0 || summary.failedBucketCount > 0) {
+            merkleNodeService.clearTree(job.getJobId());
+            return;
         }
-        String orderColumn = StringUtils.hasText(job.getIncrementalColumn()) ? job.getIncrementalColumn() : sourcePrimaryKey;
-        sql.append(" ORDER BY ").append(sourceDialect.quoteIdentifier(orderColumn));
-        if (!orderColumn.equalsIgnoreCase(sourcePrimaryKey)) {
-            sql.append(", ").append(sourceDialect.quoteIdentifier(sourcePrimaryKey));
+        if (pushdown.merkleDiff() != null && pushdown.merkleDiff().changedLeaves().isEmpty()) {
+            return;
         }
-        int batchSize = resolveBatchSize(job);
-        List<Map<String, Object>> result = new ArrayList<>();
-        try (PreparedStatement statement = sourceConnection.prepareStatement(sql.toString())) {
-            statement.setFetchSize(batchSize);
-            if (bindIncremental) {
-                statement.setObject(1, checkpoint.getLastIncrementalValue());
-            }
-            try (ResultSet resultSet = statement.executeQuery()) {
-                while (resultSet.next()) {
-                    Map<String, Object> row = new LinkedHashMap<>();
-                    for (int index = 0; index < sourceColumns.size(); index++) {
-                        row.put(sourceColumns.get(index), resultSet.getObject(index + 1));
-                    }
-                    result.add(row);
+        merkleNodeService.replaceTree(job.getJobId(), pushdown.sourceTree().nodes().stream()
+                .map(node -> new EtlMerkleNode()
+                        .setJobId(job.getJobId())
+                        .setExecutionLogId(executionLogId)
+                        .setTreeSignature(pushdown.treeSignature())
+                        .setNodeLevel(node.level())
+                        .setNodeIndex(node.index())
+                        .setNodeHash(node.hash())
+                        .setRowCount(node.rowCount())
+                        .setTenantId(job.getTenantId()))
+                .toList());
+    }
+
+    /**
+     * 补充未经流水线处理的下推桶记录：库内摘要一致而跳过的桶，以及只在目标端有数据的桶。
+     */
+    private void appendPushdownRecords(
+            EtlJob job,
+            Long executionLogId,
+            BucketPushdown pushdown,
+            Set<Integer> processedBuckets,
+            List<EtlDataBucketChecksum> bucketRecords,
+            Summary summary,
+            boolean afterLoad
+    ) {
+        Set<Integer> buckets = new TreeSet<>(pushdown.sourceBuckets().keySet());
+        buckets.addAll(pushdown.targetBuckets().keySet());
+        buckets.removeAll(processedBuckets);
+        for (Integer bucketNumber : buckets) {
+            EtlBucketChecksumPushdown.BucketAggregate source = pushdown.sourceBuckets().get(bucketNumber);
+            EtlBucketChecksumPushdown.BucketAggregate target = pushdown.targetBuckets().get(bucketNumber);
+            boolean changed = pushdown.changedBuckets().contains(bucketNumber);
+            String skipReason;
+            if (afterLoad) {
+                skipReason = changed ? "bulk_load_mismatch" : null;
+                if (changed) {
+                    summary.mismatchBucketCount++;
+                } else {
+                    summary.appliedBucketCount++;
+                }
+            } else {
+                skipReason = pushdown.merkleUnchanged().contains(bucketNumber)
+                        ? "merkle_unchanged"
+                        : !changed ? "bucket_checksum_equal" : source == null ? "target_only_rows" : "bucket_rows_skipped";
+                summary.skippedBucketCount++;
+                if (!changed) {
+                    summary.pushdownSkippedBucketCount++;
                 }
             }
+            bucketRecords.add(new EtlDataBucketChecksum()
+                    .setJobId(job.getJobId())
+                    .setExecutionLogId(executionLogId)
+                    .setBucketNumber(bucketNumber)
+                    .setSourceRowCount(source == null ? 0L : source.rowCount())
+                    .setTargetRowCount(target == null ? 0L : target.rowCount())
+                    .setSourceChecksum(source == null ? null : source.digest())
+                    .setTargetChecksum(target == null ? null : target.digest())
+                    .setChecksumAlgorithm(EtlChecksumAlgorithm.SQL_V1.code())
+                    .setNeedsSync(changed || afterLoad ? "1" : "0")
+                    .setRetryCount(0)
+                    .setRetrySuccess("0")
+                    .setSkipReason(skipReason)
+                    .setComparedAt(LocalDateTime.now())
+                    .setTenantId(job.getTenantId()));
+        }
+        summary.pushdownBucketCount = pushdown.sourceBuckets().size();
+        summary.merkleUnchangedBucketCount = pushdown.merkleUnchanged().size();
+        summary.merkleComparedNodes = pushdown.merkleDiff() == null ? null : pushdown.merkleDiff().comparedNodes();
+    }
+
+    /**
+     * 转换阶段：逐行映射并按逻辑主键散列分桶，同时计算每个桶段的源侧校验值。
+     * 启用校验下推时沿用源库计算的桶号，与库内摘要的分桶保持一致。
+     */
+    private TransformedChunk bucketizeChunk(
+            EtlJob job,
+            EtlRowChunk chunk,
+            EtlTransformPlan.RowMapper rowMapper,
+            EtlRowSchema targetSchema,
+            String targetPrimaryKey,
+            String orderColumn,
+            int bucketSize,
+            EtlChecksumAlgorithm checksumAlgorithm,
+            boolean pushdownBuckets
+    ) {
+        EtlRowBatch sourceRows = chunk.rows();
+        int primaryKeyIndex = targetSchema.indexOf(targetPrimaryKey);
+        int sqlBucketIndex = pushdownBuckets ? sourceRows.schema().indexOf(PUSHDOWN_BUCKET_COLUMN) : -1;
+        int incrementalIndex = StringUtils.hasText(job.getIncrementalColumn())
+                ? sourceRows.schema().indexOf(job.getIncrementalColumn())
+                : -1;
+        Map<Integer, EtlRowBatch> bucketRows = new TreeMap<>();
+        Map<Integer, Set<Object>> bucketKeys = new HashMap<>();
+        Object[] buffer = rowMapper.newBuffer();
+        Object lastIncrementalValue = null;
+        for (int row = 0; row < sourceRows.size(); row++) {
+            rowMapper.apply(sourceRows, row, buffer);
+            Object primaryKeyValue = primaryKeyIndex < 0 ? null : buffer[primaryKeyIndex];
+            if (primaryKeyValue == null) {
+                log.warn("逻辑主键字段值为空，跳过该行: {}", targetPrimaryKey);
+                continue;
+            }
+            int bucket = sqlBucketIndex >= 0
+                    ? ((Number) sourceRows.get(row, sqlBucketIndex)).intValue()
+                    : Math.floorMod(String.valueOf(primaryKeyValue).hashCode(), bucketSize);
+            EtlRowBatch rows = bucketRows.computeIfAbsent(bucket, value -> new EtlRowBatch(targetSchema, 16));
+            int appended = rows.appendRow(buffer);
+            bucketKeys.computeIfAbsent(bucket, value -> new LinkedHashSet<>()).add(rows.get(appended, primaryKeyIndex));
+            if (incrementalIndex >= 0) {
+                lastIncrementalValue = laterIncrementalValue(lastIncrementalValue, sourceRows.get(row, incrementalIndex));
+            }
+        }
+        EtlRowHasher hasher = checksumAlgorithm.newRowHasher();
+        Map<Integer, BucketSegment> segments = new TreeMap<>();
+        for (Map.Entry<Integer, EtlRowBatch> bucketEntry : bucketRows.entrySet()) {
+            EtlRowBatch rows = bucketEntry.getValue();
+            segments.put(bucketEntry.getKey(), new BucketSegment(
+                    rows, bucketKeys.get(bucketEntry.getKey()), EtlBucketDigest.of(hasher, rows)
+            ));
+        }
+        return new TransformedChunk(chunk.sequence(), chunk.rowCount(), chunk.estimatedBytes(), segments,
+                lastIncrementalValue, lastOrderKey(sourceRows, orderColumn), chunk.watermark());
+    }
+
+    /**
+     * 数据块最后一行的排序键，同一区间内按排序键升序读取，即区间已读到的位置。
+     */
+    private static Object lastOrderKey(EtlRowBatch sourceRows, String orderColumn) {
+        int orderIndex = sourceRows.schema().indexOf(orderColumn);
+        return orderIndex < 0 || sourceRows.isEmpty() ? null : sourceRows.get(sourceRows.size() - 1, orderIndex);
+    }
+
+    /**
+     * 写入阶段：比对单个桶段在目标端的校验值，不一致时写入并按重试策略复核。
+     */
+    private SegmentResult syncBucketSegment(
+            Connection targetConnection,
+            DatabaseDialect targetDialect,
+            String targetTable,
+            EtlRowSchema targetSchema,
+            String targetPrimaryKey,
+            String upsertSql,
+            EtlStagingMerger stagingMerger,
+            EtlBatchTuner writeTuner,
+            BucketSegment segment,
+            BucketRetryPolicy retryPolicy,
+            EtlChecksumAlgorithm checksumAlgorithm
+    ) throws SQLException {
+        EtlRowBatch sourceBucketRows = segment.rows();
+        Set<Object> primaryKeyValues = segment.primaryKeyValues();
+        EtlBucketDigest sourceDigest = segment.sourceDigest();
+        EtlRowHasher hasher = checksumAlgorithm.newRowHasher();
+        EtlRowBatch targetBefore = queryTargetRowsByPrimaryKeys(
+                targetConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey, primaryKeyValues, writeTuner
+        );
+        EtlBucketDigest targetDigest = EtlBucketDigest.of(hasher, targetBefore);
+        if (sourceDigest.equals(targetDigest)) {
+            return new SegmentResult(false, false, 0, false, false, targetBefore.size(), targetDigest);
+        }
+        writeRows(targetConnection, upsertSql, stagingMerger, writeTuner, sourceBucketRows);
+        EtlRowBatch targetAfter = queryTargetRowsByPrimaryKeys(
+                targetConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey, primaryKeyValues, writeTuner
+        );
+        EtlBucketDigest targetAfterDigest = EtlBucketDigest.of(hasher, targetAfter);
+        boolean mismatch = !sourceDigest.equals(targetAfterDigest);
+        int retryCount = 0;
+        boolean retrySuccess = false;
+        while (mismatch && retryCount < retryPolicy.maxRetryTimes()) {
+            retryCount++;
+            sleepBeforeRetry(retryPolicy.retryIntervalMillis(), retryCount);
+            writeRows(targetConnection, upsertSql, stagingMerger, writeTuner, sourceBucketRows);
+            targetAfter = queryTargetRowsByPrimaryKeys(
+                    targetConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey, primaryKeyValues,
+                    writeTuner
+            );
+            targetAfterDigest = EtlBucketDigest.of(hasher, targetAfter);
+            mismatch = !sourceDigest.equals(targetAfterDigest);
+            retrySuccess = !mismatch;
+        }
+        return new SegmentResult(true, true, retryCount, retrySuccess, mismatch, targetAfter.size(), targetAfterDigest);
+    }
+
+    /**
+     * 等待桶段结果；单个桶失败时记为差异桶，不影响其他桶继续同步。
+     */
+    private SegmentResult awaitSegment(EtlJob job, int bucketNumber, CompletableFuture<SegmentResult> future)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+            log.warn("ETL桶位同步失败，已隔离该桶: jobId={}, bucket={}, error={}",
+                    job.getJobId(), bucketNumber, cause.getMessage());
+            return SegmentResult.failed(cause.getMessage() == null ? cause.getClass().getSimpleName() : cause.getMessage());
+        }
+    }
+
+    /**
+     * 数据块写入后推进所在区间的续跑位置；台账写入失败只影响续跑粒度，不中断同步。
+     */
+    private void recordChunkProgress(
+            EtlJob job,
+            Long executionLogId,
+            ResumeLedger resume,
+            EtlRangeProgress progress,
+            TransformedChunk chunk,
+            boolean clean
+    ) {
+        if (resume == null) {
+            return;
+        }
+        EtlRangeProgress.Commit commit = progress.commit(
+                chunk.sequence(), chunk.lastOrderKey(), chunk.sourceRowCount(), clean
+        );
+        if (commit == null) {
+            return;
+        }
+        try {
+            chunkLedgerService.recordProgress(job.getJobId(), commit.rangeIndex(), executionLogId,
+                    commit.resumeKey() == null ? null : valueToText(commit.resumeKey()), commit.committedRows());
+        } catch (RuntimeException exception) {
+            log.warn("分块续跑台账写入失败: jobId={}, range={}, error={}",
+                    job.getJobId(), commit.rangeIndex(), exception.getMessage());
+        }
+    }
+
+    /**
+     * 仅比对：沿用同步的分桶、校验下推与桶位工作线程，只读取不写入。源端按全量读取（保留过滤条件），
+     * 不读写检查点与分块台账；摘要不一致的桶段逐行比对得到缺失与内容不同的键，目标端多出的键由有序归并得到。
+     */
+    private Summary runCompare(
+            EtlJob job,
+            Connection sourceConnection,
+            Connection targetConnection,
+            DataSource sourceDataSource,
+            DataSource targetDataSource,
+            DatabaseDialect sourceDialect,
+            DatabaseDialect targetDialect,
+            TableSchemaMetadata sourceMetadata,
+            TableSchemaMetadata targetMetadata,
+            List<EtlColumnMappingRule> fieldRules,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            EtlDiffReport report
+    ) throws Exception {
+        int bucketSize = resolveBucketSize(job);
+        EtlTransformPlan transformPlan = EtlTransformPlan.compile(fieldRules, objectMapper);
+        EtlSyncCheckpoint checkpoint = new EtlSyncCheckpoint();
+        EtlBatchTuner lookupTuner = resolveWriteTuner(checkpoint);
+        BucketPushdown pushdown = planBucketPushdown(
+                job, SyncMode.FULL, sourceConnection, targetConnection, sourceDialect, targetDialect, transformPlan,
+                sourcePrimaryKey, targetPrimaryKey, bucketSize, false
+        );
+        List<String> sourceColumns = new ArrayList<>(resolveSourceColumns(fieldRules, sourcePrimaryKey, null));
+        if (pushdown != null) {
+            sourceColumns.add(PUSHDOWN_BUCKET_COLUMN);
+        }
+        EtlRowSchema sourceSchema = EtlRowSchema.of(sourceMetadata, sourceColumns);
+        EtlRowSchema targetSchema = EtlRowSchema.of(targetMetadata, transformPlan.targetColumns());
+        EtlTransformPlan.RowMapper rowMapper = transformPlan.bind(sourceSchema, targetSchema);
+        EtlChecksumAlgorithm checksumAlgorithm = resolveChecksumAlgorithm();
+        String targetTable = targetDialect.qualifyTable(job.getTargetSchema(), job.getTargetTable());
+        EtlChunkPipeline<EtlRowChunk, TransformedChunk> pipeline = newPipeline(job);
+        EtlChunkPipeline.ChunkSource<EtlRowChunk> reader = pushdown != null && pushdown.changedBuckets().isEmpty()
+                ? emitter -> { }
+                : emitter -> readSourceRanges(
+                        job, SyncMode.FULL, sourceConnection, sourceDataSource, sourceDialect, sourceSchema,
+                        sourcePrimaryKey, checkpoint, resolveChunkRows(job), pipeline.maxChunkBytes(), false, pushdown,
+                        null, null, emitter
+                );
+        String orderColumn = resolveOrderColumn(job, sourcePrimaryKey);
+        Summary summary = new Summary();
+        Map<Integer, BucketAccumulator> bucketAccumulators = new TreeMap<>();
+        try (EtlBucketWorkerGroup workerGroup = new EtlBucketWorkerGroup(
+                targetDataSource, bucketWorkerPool, resolveBucketParallelism(job))) {
+            pipeline.run(
+                    reader,
+                    chunk -> bucketizeChunk(
+                            job, chunk, rowMapper, targetSchema, targetPrimaryKey, orderColumn, bucketSize,
+                            checksumAlgorithm, pushdown != null
+                    ),
+                    chunk -> {
+                        summary.extractedRows += chunk.sourceRowCount();
+                        Map<Integer, CompletableFuture<SegmentResult>> futures = new TreeMap<>();
+                        for (Map.Entry<Integer, BucketSegment> segmentEntry : chunk.segments().entrySet()) {
+                            int bucketNumber = segmentEntry.getKey();
+                            BucketSegment segment = segmentEntry.getValue();
+                            futures.put(bucketNumber, workerGroup.submit(workerConnection -> compareBucketSegment(
+                                    workerConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey,
+                                    lookupTuner, bucketNumber, segment, checksumAlgorithm, report
+                            )));
+                        }
+                        for (Map.Entry<Integer, CompletableFuture<SegmentResult>> futureEntry : futures.entrySet()) {
+                            BucketSegment segment = chunk.segments().get(futureEntry.getKey());
+                            SegmentResult result = awaitSegment(job, futureEntry.getKey(), futureEntry.getValue());
+                            summary.transformedRows += segment.rows().size();
+                            summary.targetComparedRows += result.targetRowCount();
+                            bucketAccumulators.computeIfAbsent(futureEntry.getKey(), key -> new BucketAccumulator())
+                                    .merge(segment, result);
+                        }
+                    }
+            );
+        }
+        summary.deleteDetection = collectExtraKeys(job, sourceDataSource, targetDataSource, sourceDialect,
+                targetDialect, sourceMetadata, targetMetadata, fieldRules, sourcePrimaryKey, targetPrimaryKey,
+                pushdown, bucketSize, report);
+
+        Set<Integer> comparedBuckets = new TreeSet<>(bucketAccumulators.keySet());
+        Set<Integer> mismatchBuckets = new TreeSet<>();
+        for (Map.Entry<Integer, BucketAccumulator> bucketEntry : bucketAccumulators.entrySet()) {
+            BucketAccumulator bucket = bucketEntry.getValue();
+            summary.sourceDigest.merge(bucket.sourceDigest);
+            summary.targetDigest.merge(bucket.targetDigest);
+            if (bucket.errorMessage != null) {
+                summary.failedBucketCount++;
+                mismatchBuckets.add(bucketEntry.getKey());
+            }
+        }
+        report.buckets().forEach(bucket -> mismatchBuckets.add(bucket.bucketNumber()));
+        comparedBuckets.addAll(mismatchBuckets);
+        if (pushdown != null) {
+            Set<Integer> pushdownBuckets = new TreeSet<>(pushdown.sourceBuckets().keySet());
+            pushdownBuckets.addAll(pushdown.targetBuckets().keySet());
+            comparedBuckets.addAll(pushdownBuckets);
+            summary.pushdownBucketCount = pushdown.sourceBuckets().size();
+            summary.pushdownSkippedBucketCount = pushdownBuckets.size() - pushdown.changedBuckets().size();
+        }
+        summary.comparedBucketCount = comparedBuckets.size();
+        summary.mismatchBucketCount = mismatchBuckets.size();
+        summary.checksumAlgorithm = checksumAlgorithm.code();
+        return summary;
+    }
+
+    /**
+     * 比对单个桶段：按主键查询目标端行，摘要一致时直接返回，不一致时逐行比对并写入差异报告。
+     */
+    private SegmentResult compareBucketSegment(
+            Connection targetConnection,
+            DatabaseDialect targetDialect,
+            String targetTable,
+            EtlRowSchema targetSchema,
+            String targetPrimaryKey,
+            EtlBatchTuner lookupTuner,
+            int bucketNumber,
+            BucketSegment segment,
+            EtlChecksumAlgorithm checksumAlgorithm,
+            EtlDiffReport report
+    ) throws SQLException {
+        EtlRowHasher hasher = checksumAlgorithm.newRowHasher();
+        EtlRowBatch targetRows = queryTargetRowsByPrimaryKeys(
+                targetConnection, targetDialect, targetTable, targetSchema, targetPrimaryKey,
+                segment.primaryKeyValues(), lookupTuner
+        );
+        EtlBucketDigest targetDigest = EtlBucketDigest.of(hasher, targetRows);
+        boolean mismatch = !segment.sourceDigest().equals(targetDigest);
+        if (mismatch) {
+            report.compareSegment(bucketNumber, segment.rows(), targetRows, targetSchema.indexOf(targetPrimaryKey),
+                    hasher);
+        }
+        return new SegmentResult(mismatch, false, 0, false, mismatch, targetRows.size(), targetDigest);
+    }
+
+    /**
+     * 收集目标端多出的键：两端按主键同序流式读取，有序归并得到目标端有而源端没有的键，按桶写入差异报告。
+     * 启用校验下推时只扫描目标端有数据的差异桶，并按批回查键所在的桶号；否则按与分桶相同的散列计算桶号。
+     * 前提条件与删除检测相同，不满足时返回 SKIPPED。
+     */
+    private String collectExtraKeys(
+            EtlJob job,
+            DataSource sourceDataSource,
+            DataSource targetDataSource,
+            DatabaseDialect sourceDialect,
+            DatabaseDialect targetDialect,
+            TableSchemaMetadata sourceMetadata,
+            TableSchemaMetadata targetMetadata,
+            List<EtlColumnMappingRule> fieldRules,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            BucketPushdown pushdown,
+            int bucketSize,
+            EtlDiffReport report
+    ) throws SQLException {
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        String targetTable = targetDialect.qualifyTable(job.getTargetSchema(), job.getTargetTable());
+        EtlRowSchema targetKeySchema = EtlRowSchema.of(targetMetadata, List.of(targetPrimaryKey));
+        EtlSortedKeyMerger merger = new EtlSortedKeyMerger(
+                new EtlSortedKeyMerger.KeySide(sourceDataSource, sourceDialect, sourceTable, sourcePrimaryKey,
+                        EtlRowSchema.of(sourceMetadata, List.of(sourcePrimaryKey))),
+                new EtlSortedKeyMerger.KeySide(targetDataSource, targetDialect, targetTable, targetPrimaryKey,
+                        targetKeySchema));
+        String skipReason;
+        if (StringUtils.hasText(job.getFilterCondition())) {
+            skipReason = "带过滤条件时无法判断目标端多出的行";
+        } else if (!isDirectKeyMapping(fieldRules, sourcePrimaryKey, targetPrimaryKey)) {
+            skipReason = "主键未按原值映射";
+        } else {
+            skipReason = merger.unsupportedReason();
+        }
+        if (skipReason != null) {
+            log.warn("仅比对跳过目标端多出行检测: jobId={}, reason={}", job.getJobId(), skipReason);
+            return "SKIPPED";
+        }
+
+        String targetBucketExpression = null;
+        if (pushdown != null) {
+            Set<Integer> buckets = pushdown.changedBuckets().stream()
+                    .filter(pushdown.targetBuckets()::containsKey)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (buckets.isEmpty()) {
+                return "DONE";
+            }
+            targetBucketExpression = new EtlBucketChecksumPushdown(targetDialect, bucketSize)
+                    .bucketExpression(targetPrimaryKey);
+            merger.filterSource(pushdown.sourceExpression() + " IN (" + joinBuckets(buckets) + ")")
+                    .filterTarget(targetBucketExpression + " IN (" + joinBuckets(buckets) + ")");
+        }
+        String bucketExpression = targetBucketExpression;
+        try (Connection targetLookupConnection = bucketExpression == null ? null : targetDataSource.getConnection()) {
+            EtlDeleteDetector.Result result = merger.merge(resolveChunkRows(job), UPSERT_BATCH_SIZE,
+                    keys -> {
+                        if (bucketExpression == null) {
+                            keys.forEach(key -> report.addExtraKey(
+                                    Math.floorMod(String.valueOf(key).hashCode(), bucketSize), key));
+                        } else {
+                            addExtraKeysByBucket(targetLookupConnection, targetTable, targetPrimaryKey,
+                                    bucketExpression, targetDialect, targetKeySchema, keys, report);
+                        }
+                        return 0;
+                    }
+            );
+            log.info("仅比对目标端多出行检测完成: jobId={}, sourceKeys={}, targetKeys={}, extraKeys={}",
+                    job.getJobId(), result.sourceKeys(), result.targetKeys(), result.candidateKeys());
+            return "DONE";
+        } catch (IllegalStateException exception) {
+            log.warn("仅比对目标端多出行检测中止: jobId={}, error={}", job.getJobId(), exception.getMessage());
+            return "ABORTED";
+        }
+    }
+
+    /**
+     * 按主键回查目标端多出的键所在的下推桶号，写入差异报告。
+     */
+    private void addExtraKeysByBucket(
+            Connection targetConnection,
+            String targetTable,
+            String targetPrimaryKey,
+            String bucketExpression,
+            DatabaseDialect targetDialect,
+            EtlRowSchema targetKeySchema,
+            List<Object> keys,
+            EtlDiffReport report
+    ) throws SQLException {
+        String quotedKey = targetDialect.quoteIdentifier(targetPrimaryKey);
+        String sql = "SELECT " + quotedKey + ", " + bucketExpression + " FROM " + targetTable + " WHERE " + quotedKey
+                + " IN (" + keys.stream().map(key -> "?").collect(Collectors.joining(", ")) + ")";
+        try (PreparedStatement statement = targetConnection.prepareStatement(sql)) {
+            for (int index = 0; index < keys.size(); index++) {
+                targetKeySchema.bind(statement, index + 1, 0, keys.get(index));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    report.addExtraKey(resultSet.getInt(2), targetKeySchema.coerce(0, resultSet.getObject(1)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 删除检测：全量同步写入完成后，两端按主键同序流式读取并有序归并，内存占用与表大小无关；
+     * 目标端多出的键先回源确认确实不存在，再按批物理删除或软删除。启用校验下推时只扫描差异桶。
+     * 主键流各占一个独立连接，流式读取期间确认与删除仍可在原连接上执行。
+     * 带过滤条件、主键经过转换或两端主键类型不一致时不做检测。
+     */
+    private void detectDeletes(
+            EtlJob job,
+            Connection sourceConnection,
+            Connection targetConnection,
+            DataSource sourceDataSource,
+            DataSource targetDataSource,
+            DatabaseDialect sourceDialect,
+            DatabaseDialect targetDialect,
+            TableSchemaMetadata sourceMetadata,
+            TableSchemaMetadata targetMetadata,
+            List<EtlColumnMappingRule> fieldRules,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            BucketPushdown pushdown,
+            int bucketSize,
+            Summary summary
+    ) throws SQLException {
+        EtlProperties.Delete deleteConfig = etlProperties.getDelete();
+        Map<String, Object> transformConfig = parseTransformConfig(job.getTransformRules());
+        Object configuredMode = transformConfig.get("deleteMode");
+        EtlDeleteMode mode;
+        try {
+            mode = EtlDeleteMode.fromCode(configuredMode == null ? deleteConfig.getMode() : String.valueOf(configuredMode));
+        } catch (IllegalArgumentException exception) {
+            log.warn("{}，不检测删除: jobId={}", exception.getMessage(), job.getJobId());
+            return;
+        }
+        if (mode == EtlDeleteMode.NONE) {
+            return;
+        }
+        String softDeleteColumn = mode == EtlDeleteMode.SOFT
+                ? String.valueOf(transformConfig.getOrDefault("softDeleteColumn", deleteConfig.getSoftDeleteColumn()))
+                : null;
+        String skipReason = null;
+        if (StringUtils.hasText(job.getFilterCondition())) {
+            skipReason = "带过滤条件的同步无法判断目标端多出的行是否已删除";
+        } else if (!isDirectKeyMapping(fieldRules, sourcePrimaryKey, targetPrimaryKey)) {
+            skipReason = "主键未按原值映射";
+        } else if (softDeleteColumn != null && targetMetadata.findColumn(softDeleteColumn).isEmpty()) {
+            skipReason = "目标表不存在软删除字段 " + softDeleteColumn;
+        }
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        String targetTable = targetDialect.qualifyTable(job.getTargetSchema(), job.getTargetTable());
+        EtlRowSchema sourceKeySchema = EtlRowSchema.of(sourceMetadata, List.of(sourcePrimaryKey));
+        EtlRowSchema targetKeySchema = null;
+        EtlSortedKeyMerger merger = null;
+        if (skipReason == null) {
+            targetKeySchema = EtlRowSchema.of(targetMetadata, softDeleteColumn == null
+                    ? List.of(targetPrimaryKey)
+                    : List.of(targetPrimaryKey, softDeleteColumn));
+            merger = new EtlSortedKeyMerger(
+                    new EtlSortedKeyMerger.KeySide(sourceDataSource, sourceDialect, sourceTable, sourcePrimaryKey,
+                            sourceKeySchema),
+                    new EtlSortedKeyMerger.KeySide(targetDataSource, targetDialect, targetTable, targetPrimaryKey,
+                            targetKeySchema));
+            skipReason = merger.unsupportedReason();
+        }
+        if (skipReason != null) {
+            log.warn("跳过删除检测: jobId={}, reason={}", job.getJobId(), skipReason);
+            summary.deleteDetection = "SKIPPED";
+            return;
+        }
+
+        if (pushdown != null) {
+            // 目标端多出的行必然使所在桶的行数或摘要不同，只需扫描目标端有数据的差异桶
+            Set<Integer> buckets = pushdown.changedBuckets().stream()
+                    .filter(pushdown.targetBuckets()::containsKey)
+                    .collect(Collectors.toCollection(TreeSet::new));
+            if (buckets.isEmpty()) {
+                summary.deleteDetection = mode.name();
+                return;
+            }
+            merger.filterSource(pushdown.sourceExpression() + " IN (" + joinBuckets(buckets) + ")")
+                    .filterTarget(new EtlBucketChecksumPushdown(targetDialect, bucketSize)
+                            .bucketExpression(targetPrimaryKey) + " IN (" + joinBuckets(buckets) + ")");
+        }
+        Object softDeleteValue = null;
+        if (softDeleteColumn != null) {
+            softDeleteValue = targetKeySchema.coerce(1,
+                    String.valueOf(transformConfig.getOrDefault("softDeleteValue", deleteConfig.getSoftDeleteValue())));
+            String quotedSoftDelete = targetDialect.quoteIdentifier(softDeleteColumn);
+            merger.filterTarget("(" + quotedSoftDelete + " IS NULL OR " + quotedSoftDelete + " <> ?)", softDeleteValue);
+        }
+        int batchSize = deleteConfig.getBatchSize() == null || deleteConfig.getBatchSize() <= 0
+                ? UPSERT_BATCH_SIZE
+                : Math.min(deleteConfig.getBatchSize(), MAX_IN_CLAUSE_SIZE);
+        Object deleteMarker = softDeleteValue;
+        EtlRowSchema targetDeleteSchema = targetKeySchema;
+        try {
+            EtlDeleteDetector.Result result = merger.merge(resolveChunkRows(job), batchSize,
+                    keys -> deleteTargetKeys(sourceConnection, targetConnection, sourceDialect, targetDialect,
+                            sourceTable, targetTable, sourcePrimaryKey, targetPrimaryKey, sourceKeySchema,
+                            targetDeleteSchema, softDeleteColumn, deleteMarker, keys)
+            );
+            summary.deleteCandidateCount = result.candidateKeys();
+            summary.deletedRows = result.deletedRows();
+            summary.deleteDetection = mode.name();
+            log.info("删除检测完成: jobId={}, mode={}, sourceKeys={}, targetKeys={}, candidates={}, deleted={}",
+                    job.getJobId(), mode, result.sourceKeys(), result.targetKeys(), result.candidateKeys(),
+                    result.deletedRows());
+        } catch (IllegalStateException exception) {
+            log.warn("删除检测中止: jobId={}, error={}", job.getJobId(), exception.getMessage());
+            summary.deleteDetection = "ABORTED";
+        }
+    }
+
+    /**
+     * 删除一批目标端多出的键：先按主键回源查询，排除源端仍存在的键，归并顺序异常时也不会误删。
+     */
+    private int deleteTargetKeys(
+            Connection sourceConnection,
+            Connection targetConnection,
+            DatabaseDialect sourceDialect,
+            DatabaseDialect targetDialect,
+            String sourceTable,
+            String targetTable,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            EtlRowSchema sourceKeySchema,
+            EtlRowSchema targetKeySchema,
+            String softDeleteColumn,
+            Object softDeleteValue,
+            List<Object> keys
+    ) throws SQLException {
+        Set<String> existing = new HashSet<>();
+        String confirmSql = sourceDialect.buildSelectByPrimaryKeyInSql(
+                sourceTable, List.of(sourcePrimaryKey), sourcePrimaryKey, keys.size()
+        );
+        try (PreparedStatement statement = sourceConnection.prepareStatement(confirmSql)) {
+            for (int index = 0; index < keys.size(); index++) {
+                sourceKeySchema.bind(statement, index + 1, 0, keys.get(index));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    existing.add(normalizeKey(sourceKeySchema.coerce(0, resultSet.getObject(1))));
+                }
+            }
+        }
+        List<Object> deletedKeys = keys.stream().filter(key -> !existing.contains(normalizeKey(key))).toList();
+        if (deletedKeys.isEmpty()) {
+            return 0;
+        }
+        String deleteSql = targetDialect.buildDeleteByPrimaryKeyInSql(
+                targetTable, targetPrimaryKey, deletedKeys.size(), softDeleteColumn
+        );
+        try (PreparedStatement statement = targetConnection.prepareStatement(deleteSql)) {
+            int parameterIndex = 1;
+            if (softDeleteColumn != null) {
+                targetKeySchema.bind(statement, parameterIndex++, 1, softDeleteValue);
+            }
+            for (Object key : deletedKeys) {
+                targetKeySchema.bind(statement, parameterIndex++, 0, key);
+            }
+            return statement.executeUpdate();
+        }
+    }
+
+    private static String normalizeKey(Object key) {
+        if (key instanceof Number) {
+            return new BigDecimal(key.toString()).stripTrailingZeros().toPlainString();
+        }
+        return String.valueOf(key);
+    }
+
+    /**
+     * 主键是否按原值映射：映射规则中源主键对应目标主键且未配置转换。
+     */
+    private static boolean isDirectKeyMapping(
+            List<EtlColumnMappingRule> fieldRules,
+            String sourcePrimaryKey,
+            String targetPrimaryKey
+    ) {
+        return fieldRules.stream()
+                .filter(rule -> sourcePrimaryKey.equalsIgnoreCase(rule.getSourceColumnName())
+                        && targetPrimaryKey.equalsIgnoreCase(rule.getTargetColumnName()))
+                .anyMatch(rule -> !StringUtils.hasText(rule.getMappingAction())
+                        || "COPY".equalsIgnoreCase(rule.getMappingAction().trim()));
+    }
+
+    /**
+     * 批量装载同步：无主键表，或目标表为空的全量同步，按方言批量写入，跳过逐桶比对和重试；
+     * 有主键时单个数据块装载失败（如源端存在重复键）改为逐行 upsert。
+     */
+    private Summary runBulkLoadSync(
+            EtlJob job,
+            Connection targetConnection,
+            DatabaseDialect targetDialect,
+            EtlTransformPlan.RowMapper rowMapper,
+            EtlRowSchema targetSchema,
+            String targetTable,
+            String fallbackUpsertSql,
+            EtlBatchTuner writeTuner,
+            EtlChunkPipeline<EtlRowChunk, TransformedChunk> pipeline,
+            EtlChunkPipeline.ChunkSource<EtlRowChunk> reader,
+            String orderColumn,
+            EtlRangeProgress progress,
+            ResumeLedger resume,
+            Long executionLogId
+    ) throws Exception {
+        EtlBulkLoader bulkLoader = new EtlBulkLoader(targetDialect, targetTable, targetSchema);
+        log.info("目标表批量装载: table={}, method={}, keyless={}", targetTable, bulkLoader.method(),
+                fallbackUpsertSql == null);
+        Summary summary = new Summary();
+        pipeline.run(
+                reader,
+                chunk -> {
+                    EtlRowBatch sourceRows = chunk.rows();
+                    int incrementalIndex = StringUtils.hasText(job.getIncrementalColumn())
+                            ? sourceRows.schema().indexOf(job.getIncrementalColumn())
+                            : -1;
+                    EtlRowBatch transformed = new EtlRowBatch(targetSchema, sourceRows.size());
+                    Object[] buffer = rowMapper.newBuffer();
+                    Object lastIncrementalValue = null;
+                    for (int row = 0; row < sourceRows.size(); row++) {
+                        rowMapper.apply(sourceRows, row, buffer);
+                        transformed.appendRow(buffer);
+                        if (incrementalIndex >= 0) {
+                            lastIncrementalValue = laterIncrementalValue(
+                                    lastIncrementalValue, sourceRows.get(row, incrementalIndex)
+                            );
+                        }
+                    }
+                    return new TransformedChunk(chunk.sequence(), chunk.rowCount(), chunk.estimatedBytes(),
+                            Map.of(0, new BucketSegment(transformed, Set.of(), null)), lastIncrementalValue,
+                            lastOrderKey(sourceRows, orderColumn), chunk.watermark());
+                },
+                chunk -> {
+                    EtlRowBatch rows = chunk.segments().get(0).rows();
+                    try {
+                        bulkLoader.load(targetConnection, rows);
+                    } catch (SQLException exception) {
+                        if (fallbackUpsertSql == null) {
+                            throw exception;
+                        }
+                        log.warn("批量装载失败，数据块改为逐行写入: jobId={}, chunk={}, error={}",
+                                job.getJobId(), chunk.sequence(), exception.getMessage());
+                        upsertRows(targetConnection, fallbackUpsertSql, writeTuner, rows);
+                    }
+                    summary.extractedRows += chunk.sourceRowCount();
+                    summary.transformedRows += rows.size();
+                    summary.loadedRows += rows.size();
+                    summary.lastIncrementalMark = laterIncrementalValue(
+                            summary.lastIncrementalMark, chunk.lastIncrementalValue()
+                    );
+                    recordChunkProgress(job, executionLogId, resume, progress, chunk, true);
+                }
+        );
+        if (summary.lastIncrementalMark != null) {
+            summary.lastIncrementalValue = valueToText(summary.lastIncrementalMark);
+        }
+        summary.resumedRowCount = progress.resumedRows();
+        summary.appliedBucketCount = summary.loadedRows > 0 ? 1 : 0;
+        summary.bulkLoadMethod = bulkLoader.method().name();
+        return summary;
+    }
+
+    /**
+     * 清空目标表后的批量装载没有逐桶比对，满足校验下推条件时装载后在两端库内按桶复核，并保存 Merkle 树。
+     */
+    private void verifyBulkLoad(
+            EtlJob job,
+            SyncMode syncMode,
+            Connection sourceConnection,
+            Connection targetConnection,
+            DatabaseDialect sourceDialect,
+            DatabaseDialect targetDialect,
+            EtlTransformPlan transformPlan,
+            String sourcePrimaryKey,
+            String targetPrimaryKey,
+            int bucketSize,
+            Long executionLogId,
+            Summary summary
+    ) {
+        BucketPushdown verification = planBucketPushdown(
+                job, syncMode, sourceConnection, targetConnection, sourceDialect, targetDialect, transformPlan,
+                sourcePrimaryKey, targetPrimaryKey, bucketSize, false
+        );
+        if (verification == null) {
+            return;
+        }
+        summary.appliedBucketCount = 0;
+        List<EtlDataBucketChecksum> bucketRecords = new ArrayList<>();
+        appendPushdownRecords(job, executionLogId, verification, Set.of(), bucketRecords, summary, true);
+        bucketChecksumService.saveBatchRecords(bucketRecords);
+        saveMerkleTree(job, executionLogId, verification, summary);
+        summary.checksumAlgorithm = EtlChecksumAlgorithm.SQL_V1.code();
+    }
+
+    /**
+     * 读取阶段：源表足够大时按切分键区间切分，由多个源库连接并行读取；否则单连接顺序读取。
+     */
+    private void readSourceRanges(
+            EtlJob job,
+            SyncMode syncMode,
+            Connection sourceConnection,
+            DataSource sourceDataSource,
+            DatabaseDialect sourceDialect,
+            EtlRowSchema sourceSchema,
+            String sourcePrimaryKey,
+            EtlSyncCheckpoint checkpoint,
+            int chunkRows,
+            long maxChunkBytes,
+            boolean keyless,
+            BucketPushdown pushdown,
+            ResumeLedger resume,
+            KeysetPaging paging,
+            EtlChunkPipeline.ChunkEmitter<EtlRowChunk> emitter
+    ) throws Exception {
+        if (paging != null) {
+            streamKeysetPages(job, sourceConnection, sourceDialect, sourceSchema, sourcePrimaryKey, paging, chunkRows,
+                    maxChunkBytes, emitter);
+            return;
+        }
+        String splitColumn = resolveSplitColumn(job, syncMode, sourcePrimaryKey);
+        List<EtlKeyRange> ranges;
+        if (resume != null && resume.resuming()) {
+            ranges = resume.ranges(sourceSchema, splitColumn);
+        } else {
+            ranges = planSourceRanges(
+                    job, syncMode, sourceConnection, sourceDialect, splitColumn, checkpoint,
+                    keyless || !splitColumn.equalsIgnoreCase(sourcePrimaryKey), pushdown
+            );
+            if (resume != null) {
+                chunkLedgerService.replaceLedger(job.getJobId(), resume.plan(job, ranges));
+            }
+        }
+        Map<Integer, Object> resumeKeys = resume == null
+                ? Map.of()
+                : resume.resumeKeys(sourceSchema, resolveOrderColumn(job, sourcePrimaryKey));
+        if (ranges.size() == 1) {
+            streamSourceRows(job, syncMode, sourceConnection, sourceDialect, sourceSchema, sourcePrimaryKey,
+                    checkpoint, splitColumn, ranges.get(0), resumeKeys.get(ranges.get(0).index()), chunkRows,
+                    maxChunkBytes, pushdown, emitter);
+            return;
+        }
+        int parallelism = resolveExtractParallelism(job);
+        log.info("源表按切分键区间并行抽取: jobId={}, splitColumn={}, ranges={}, parallelism={}",
+                job.getJobId(), splitColumn, ranges.size(), parallelism);
+        new EtlPartitionedReader("etl-job-" + job.getJobId(), parallelism).read(ranges, emitter, (range, rangeEmitter) -> {
+            try (Connection rangeConnection = sourceDataSource.getConnection()) {
+                streamSourceRows(job, syncMode, rangeConnection, sourceDialect, sourceSchema, sourcePrimaryKey,
+                        checkpoint, splitColumn, range, resumeKeys.get(range.index()), chunkRows, maxChunkBytes,
+                        pushdown, rangeEmitter);
+            }
+        });
+    }
+
+    private List<EtlKeyRange> planSourceRanges(
+            EtlJob job,
+            SyncMode syncMode,
+            Connection sourceConnection,
+            DatabaseDialect sourceDialect,
+            String splitColumn,
+            EtlSyncCheckpoint checkpoint,
+            boolean includeNullRange,
+            BucketPushdown pushdown
+    ) {
+        int parallelism = resolveExtractParallelism(job);
+        if (parallelism < 2) {
+            return List.of(EtlKeyRange.unbounded());
+        }
+        Long minRowsPerRange = etlProperties.getPipeline().getMinRowsPerRange();
+        EtlKeyRangeSplitter splitter = new EtlKeyRangeSplitter(
+                sourceDialect, parallelism, minRowsPerRange == null ? 100_000L : minRowsPerRange
+        );
+        SourceFilter filter = resolveSourceFilter(job, syncMode, sourceDialect, checkpoint, pushdown);
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        try {
+            return splitter.split(sourceConnection, sourceTable, splitColumn,
+                    filter.conditions().isEmpty() ? null : String.join(" AND ", filter.conditions()),
+                    filter.parameters(), includeNullRange);
+        } catch (SQLException exception) {
+            log.warn("源表区间切分失败，回退单连接顺序抽取: jobId={}, error={}", job.getJobId(), exception.getMessage());
+            return List.of(EtlKeyRange.unbounded());
+        }
+    }
+
+    /**
+     * 流式读取源表的一个区间，按行数与字节上限切分数据块后逐块提交给流水线。
+     * 续跑时从区间已提交的排序键（含）继续读取，排序键为空的行总会重读。
+     */
+    private void streamSourceRows(
+            EtlJob job,
+            SyncMode syncMode,
+            Connection sourceConnection,
+            DatabaseDialect sourceDialect,
+            EtlRowSchema sourceSchema,
+            String sourcePrimaryKey,
+            EtlSyncCheckpoint checkpoint,
+            String splitColumn,
+            EtlKeyRange range,
+            Object resumeKey,
+            int chunkRows,
+            long maxChunkBytes,
+            BucketPushdown pushdown,
+            EtlChunkPipeline.ChunkEmitter<EtlRowChunk> emitter
+    ) throws SQLException, InterruptedException {
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        String selectColumns = sourceSchema.columnNames().stream()
+                .map(column -> pushdown != null && PUSHDOWN_BUCKET_COLUMN.equals(column)
+                        ? pushdown.sourceExpression() + " AS " + sourceDialect.quoteIdentifier(column)
+                        : sourceDialect.quoteIdentifier(column))
+                .collect(Collectors.joining(", "));
+        StringBuilder sql = new StringBuilder("SELECT ").append(selectColumns).append(" FROM ").append(sourceTable);
+        SourceFilter filter = resolveSourceFilter(job, syncMode, sourceDialect, checkpoint, pushdown);
+        List<String> conditions = new ArrayList<>(filter.conditions());
+        List<Object> parameters = new ArrayList<>(filter.parameters());
+        String rangeCondition = range.condition(sourceDialect.quoteIdentifier(splitColumn));
+        if (rangeCondition != null) {
+            conditions.add(rangeCondition);
+            parameters.addAll(range.parameters());
+        }
+        String orderColumn = resolveOrderColumn(job, sourcePrimaryKey);
+        if (resumeKey != null) {
+            String quotedOrder = sourceDialect.quoteIdentifier(orderColumn);
+            conditions.add("(" + quotedOrder + " >= ? OR " + quotedOrder + " IS NULL)");
+            parameters.add(resumeKey);
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY ").append(sourceDialect.quoteIdentifier(orderColumn));
+        if (!orderColumn.equalsIgnoreCase(sourcePrimaryKey)) {
+            sql.append(", ").append(sourceDialect.quoteIdentifier(sourcePrimaryKey));
+        }
+        long sequence = 0;
+        try (StreamingStatement statement = sourceDialect.prepareStreamingStatement(
+                sourceConnection, sql.toString(), chunkRows)) {
+            for (int index = 0; index < parameters.size(); index++) {
+                statement.statement().setObject(index + 1, parameters.get(index));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                EtlRowBatch rows = new EtlRowBatch(sourceSchema, chunkRows);
+                while (resultSet.next()) {
+                    rows.readRow(resultSet);
+                    if (rows.size() >= chunkRows || rows.estimatedBytes() >= maxChunkBytes) {
+                        emitter.emit(new EtlRowChunk(range.chunkSequence(sequence++), rows, rows.estimatedBytes()));
+                        rows = new EtlRowBatch(sourceSchema, chunkRows);
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    emitter.emit(new EtlRowChunk(range.chunkSequence(sequence), rows, rows.estimatedBytes()));
+                }
+            }
+        }
+    }
+
+    /**
+     * 按组合水位分页读取增量数据：每页以 {@code (增量字段, 主键) > (?, ?)} 接续上一页并限制行数，
+     * 页内仍按数据块提交，每页最后一个数据块携带该页末行的水位，写入完成后据此推进检查点。
+     * 首次同步（尚无水位）时另按主键分页读取增量字段为空的行，这些行不推进水位。
+     */
+    private void streamKeysetPages(
+            EtlJob job,
+            Connection sourceConnection,
+            DatabaseDialect sourceDialect,
+            EtlRowSchema sourceSchema,
+            String sourcePrimaryKey,
+            KeysetPaging paging,
+            int chunkRows,
+            long maxChunkBytes,
+            EtlChunkPipeline.ChunkEmitter<EtlRowChunk> emitter
+    ) throws SQLException, InterruptedException {
+        String sourceTable = sourceDialect.qualifyTable(job.getSourceSchema(), job.getSourceTable());
+        String selectSql = "SELECT " + sourceSchema.columnNames().stream()
+                .map(sourceDialect::quoteIdentifier)
+                .collect(Collectors.joining(", ")) + " FROM " + sourceTable;
+        String incrementalColumn = job.getIncrementalColumn();
+        String quotedIncremental = sourceDialect.quoteIdentifier(incrementalColumn);
+        List<String> conditions = new ArrayList<>();
+        if (StringUtils.hasText(job.getFilterCondition())) {
+            conditions.add(job.getFilterCondition());
+        }
+        long sequence = 0;
+        if (paging.start() == null) {
+            List<String> nullConditions = new ArrayList<>(conditions);
+            nullConditions.add(quotedIncremental + " IS NULL");
+            sequence = readKeysetPages(sourceConnection, sourceDialect, sourceSchema, selectSql, nullConditions,
+                    sourcePrimaryKey, null, null, false, paging.pageRows(), chunkRows, maxChunkBytes, sequence,
+                    emitter);
+            conditions.add(quotedIncremental + " IS NOT NULL");
+        }
+        String tieColumn = incrementalColumn.equalsIgnoreCase(sourcePrimaryKey) ? null : sourcePrimaryKey;
+        readKeysetPages(sourceConnection, sourceDialect, sourceSchema, selectSql, conditions, incrementalColumn,
+                tieColumn, paging.start(), true, paging.pageRows(), chunkRows, maxChunkBytes, sequence, emitter);
+    }
+
+    /**
+     * 逐页读取，直到某页不足 pageRows 行。
+     *
+     * @return 下一个数据块序号
+     */
+    private long readKeysetPages(
+            Connection sourceConnection,
+            DatabaseDialect sourceDialect,
+            EtlRowSchema sourceSchema,
+            String selectSql,
+            List<String> conditions,
+            String keyColumn,
+            String tieColumn,
+            EtlWatermark cursor,
+            boolean pageWatermarks,
+            int pageRows,
+            int chunkRows,
+            long maxChunkBytes,
+            long sequence,
+            EtlChunkPipeline.ChunkEmitter<EtlRowChunk> emitter
+    ) throws SQLException, InterruptedException {
+        int keyIndex = sourceSchema.indexOf(keyColumn);
+        int tieIndex = tieColumn == null ? -1 : sourceSchema.indexOf(tieColumn);
+        String quotedKey = sourceDialect.quoteIdentifier(keyColumn);
+        String quotedTie = tieColumn == null ? quotedKey : sourceDialect.quoteIdentifier(tieColumn);
+        String orderBy = " ORDER BY " + quotedKey + (tieColumn == null ? "" : ", " + quotedTie);
+        EtlWatermark position = cursor;
+        long nextSequence = sequence;
+        int pageSize;
+        do {
+            List<String> pageConditions = new ArrayList<>(conditions);
+            List<Object> parameters = new ArrayList<>();
+            if (position != null) {
+                pageConditions.add(position.condition(quotedKey, quotedTie));
+                parameters.addAll(position.parameters());
+            }
+            String where = pageConditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", pageConditions);
+            String sql = sourceDialect.buildLimitSql(selectSql + where + orderBy, pageRows);
+            pageSize = 0;
+            try (StreamingStatement statement = sourceDialect.prepareStreamingStatement(
+                    sourceConnection, sql, Math.min(chunkRows, pageRows))) {
+                for (int index = 0; index < parameters.size(); index++) {
+                    statement.statement().setObject(index + 1, parameters.get(index));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    EtlRowBatch rows = new EtlRowBatch(sourceSchema, chunkRows);
+                    // 读满的数据块延后一步提交，保证页内最后一个数据块能带上水位
+                    EtlRowBatch pending = null;
+                    while (resultSet.next()) {
+                        rows.readRow(resultSet);
+                        pageSize++;
+                        if (rows.size() >= chunkRows || rows.estimatedBytes() >= maxChunkBytes) {
+                            if (pending != null) {
+                                emitter.emit(new EtlRowChunk(nextSequence++, pending, pending.estimatedBytes()));
+                            }
+                            pending = rows;
+                            rows = new EtlRowBatch(sourceSchema, chunkRows);
+                        }
+                    }
+                    EtlRowBatch last = rows.isEmpty() ? pending : rows;
+                    if (last == null) {
+                        break;
+                    }
+                    if (pending != null && last != pending) {
+                        emitter.emit(new EtlRowChunk(nextSequence++, pending, pending.estimatedBytes()));
+                    }
+                    int lastRow = last.size() - 1;
+                    position = new EtlWatermark(last.get(lastRow, keyIndex),
+                            tieIndex < 0 ? null : last.get(lastRow, tieIndex));
+                    emitter.emit(new EtlRowChunk(nextSequence++, last, last.estimatedBytes(),
+                            pageWatermarks ? position : null));
+                }
+            }
+        } while (pageSize >= pageRows);
+        return nextSequence;
+    }
+
+    private SourceFilter resolveSourceFilter(
+            EtlJob job,
+            SyncMode syncMode,
+            DatabaseDialect sourceDialect,
+            EtlSyncCheckpoint checkpoint,
+            BucketPushdown pushdown
+    ) {
+        List<String> conditions = new ArrayList<>();
+        List<Object> parameters = new ArrayList<>();
+        if (StringUtils.hasText(job.getFilterCondition())) {
+            conditions.add(job.getFilterCondition());
+        }
+        if (syncMode == SyncMode.INCREMENTAL
+                && StringUtils.hasText(job.getIncrementalColumn())
+                && StringUtils.hasText(checkpoint.getLastIncrementalValue())) {
+            conditions.add(sourceDialect.quoteIdentifier(job.getIncrementalColumn()) + " > ?");
+            parameters.add(checkpoint.getLastIncrementalValue());
+        }
+        if (pushdown != null && !pushdown.changedBuckets().containsAll(pushdown.sourceBuckets().keySet())) {
+            conditions.add(pushdown.sourceExpression() + " IN (" + joinBuckets(pushdown.changedBuckets()) + ")");
+        }
+        return new SourceFilter(conditions, parameters);
+    }
+
+    private boolean isKeysetPaging(EtlJob job, SyncMode syncMode) {
+        return syncMode == SyncMode.INCREMENTAL
+                && StringUtils.hasText(job.getIncrementalColumn())
+                && !Boolean.FALSE.equals(etlProperties.getIncremental().getKeysetPaging());
+    }
+
+    /**
+     * 解析分页参数与起始水位：检查点中的水位按源字段类型还原，再按回看窗口回退。
+     */
+    private KeysetPaging resolveKeysetPaging(
+            EtlJob job,
+            EtlSyncCheckpoint checkpoint,
+            EtlRowSchema sourceSchema,
+            String sourcePrimaryKey
+    ) {
+        EtlProperties.Incremental incremental = etlProperties.getIncremental();
+        Map<String, Object> transformConfig = parseTransformConfig(job.getTransformRules());
+        int defaultPageRows = incremental.getPageRows() == null || incremental.getPageRows() <= 0
+                ? 10_000
+                : incremental.getPageRows();
+        int pageRows = parseNonNegativeInt(transformConfig.get("incrementalPageRows"), defaultPageRows);
+        long lookbackSeconds = parseNonNegativeLong(transformConfig.get("incrementalLookbackSeconds"),
+                incremental.getLookbackSeconds() == null ? 0L : incremental.getLookbackSeconds());
+        EtlWatermark committed = null;
+        if (StringUtils.hasText(checkpoint.getLastIncrementalValue())) {
+            Object incrementalValue = sourceSchema.coerce(
+                    sourceSchema.indexOf(job.getIncrementalColumn()), checkpoint.getLastIncrementalValue()
+            );
+            Object primaryKeyValue = job.getIncrementalColumn().equalsIgnoreCase(sourcePrimaryKey)
+                    || checkpoint.getLastPrimaryKeyValue() == null
+                    ? null
+                    : sourceSchema.coerce(sourceSchema.indexOf(sourcePrimaryKey), checkpoint.getLastPrimaryKeyValue());
+            committed = new EtlWatermark(incrementalValue, primaryKeyValue);
+        }
+        EtlWatermark start = committed == null ? null : committed.lookback(Duration.ofSeconds(lookbackSeconds));
+        return new KeysetPaging(committed, start, pageRows > 0 ? pageRows : defaultPageRows);
+    }
+
+    /**
+     * 一页写入完成且各桶校验一致后推进检查点水位；回看窗口内重读的页不会让水位后退，
+     * 出现失败或不一致的桶后本次执行不再推进。
+     */
+    private void advanceWatermark(
+            EtlJob job,
+            EtlSyncCheckpoint checkpoint,
+            Long executionLogId,
+            WatermarkProgress watermarks,
+            EtlWatermark watermark,
+            boolean clean
+    ) {
+        if (watermarks == null || watermarks.frozen) {
+            return;
+        }
+        if (!clean) {
+            watermarks.frozen = true;
+            return;
+        }
+        if (watermark == null || !watermark.isAfter(watermarks.committed)) {
+            return;
+        }
+        try {
+            syncCheckpointService.advanceWatermark(checkpoint, valueToText(watermark.incrementalValue()),
+                    watermark.primaryKeyValue() == null ? null : valueToText(watermark.primaryKeyValue()),
+                    executionLogId);
+            watermarks.committed = watermark;
+        } catch (RuntimeException exception) {
+            log.warn("增量水位推进失败: jobId={}, error={}", job.getJobId(), exception.getMessage());
+        }
+    }
+
+    /**
+     * 区间内的读取顺序：配置了增量字段时按增量字段，否则按主键。
+     */
+    private String resolveOrderColumn(EtlJob job, String sourcePrimaryKey) {
+        return StringUtils.hasText(job.getIncrementalColumn()) ? job.getIncrementalColumn() : sourcePrimaryKey;
+    }
+
+    /**
+     * 增量同步按增量字段切分，便于各区间独立推进水位；其余按主键切分。
+     */
+    private String resolveSplitColumn(EtlJob job, SyncMode syncMode, String sourcePrimaryKey) {
+        if (syncMode == SyncMode.INCREMENTAL && StringUtils.hasText(job.getIncrementalColumn())) {
+            return job.getIncrementalColumn();
         }
-        return result;
+        return sourcePrimaryKey;
     }
 
-    private List<Map<String, Object>> queryTargetRowsByPrimaryKeys(
+    private EtlRowBatch queryTargetRowsByPrimaryKeys(
             Connection targetConnection,
             DatabaseDialect targetDialect,
             String targetTable,
-            List<String> targetColumns,
+            EtlRowSchema targetSchema,
             String targetPrimaryKey,
-            Collection<Object> primaryKeyValues
+            Collection<Object> primaryKeyValues,
+            EtlBatchTuner writeTuner
     ) throws SQLException {
+        EtlRowBatch result = new EtlRowBatch(targetSchema, primaryKeyValues == null ? 1 : primaryKeyValues.size());
         if (primaryKeyValues == null || primaryKeyValues.isEmpty()) {
-            return new ArrayList<>();
+            return result;
         }
         List<Object> keyList = new ArrayList<>(primaryKeyValues);
-        List<Map<String, Object>> result = new ArrayList<>();
+        int primaryKeyIndex = targetSchema.indexOf(targetPrimaryKey);
         int offset = 0;
         while (offset < keyList.size()) {
-            int end = Math.min(offset + MAX_IN_CLAUSE_SIZE, keyList.size());
+            int end = Math.min(offset + writeTuner.inListSize(), keyList.size());
             List<Object> subKeys = keyList.subList(offset, end);
-            String sql = targetDialect.buildSelectByPrimaryKeyInSql(targetTable, targetColumns, targetPrimaryKey, subKeys.size());
+            String sql = targetDialect.buildSelectByPrimaryKeyInSql(
+                    targetTable, targetSchema.columnNames(), targetPrimaryKey, subKeys.size()
+            );
             try (PreparedStatement statement = targetConnection.prepareStatement(sql)) {
                 for (int index = 0; index < subKeys.size(); index++) {
-                    statement.setObject(index + 1, subKeys.get(index));
+                    targetSchema.bind(statement, index + 1, primaryKeyIndex, subKeys.get(index));
                 }
+                long started = System.nanoTime();
                 try (ResultSet resultSet = statement.executeQuery()) {
                     while (resultSet.next()) {
-                        Map<String, Object> row = new LinkedHashMap<>();
-                        for (int index = 0; index < targetColumns.size(); index++) {
-                            row.put(targetColumns.get(index), resultSet.getObject(index + 1));
-                        }
-                        result.add(row);
+                        result.readRow(resultSet);
                     }
                 }
+                writeTuner.recordLookup(subKeys.size(), System.nanoTime() - started);
             }
             offset = end;
         }
         return result;
     }
 
-    private static final int UPSERT_BATCH_SIZE = 500;
+    /**
+     * 写入差异行：启用暂存表合并时装载到暂存表后集合式合并，否则逐行 upsert。
+     */
+    private void writeRows(
+            Connection targetConnection,
+            String upsertSql,
+            EtlStagingMerger stagingMerger,
+            EtlBatchTuner writeTuner,
+            EtlRowBatch sourceRows
+    ) throws SQLException {
+        if (stagingMerger == null) {
+            upsertRows(targetConnection, upsertSql, writeTuner, sourceRows);
+        } else {
+            stagingMerger.merge(targetConnection, sourceRows);
+        }
+    }
 
+    /**
+     * 逐行 upsert。遇到锁等待超时或死锁时缩小批量后整体重写，upsert 可重复执行，重写不会产生重复数据。
+     */
     private void upsertRows(
             Connection targetConnection,
             String upsertSql,
-            List<String> targetColumns,
-            List<Map<String, Object>> sourceRows
+            EtlBatchTuner writeTuner,
+            EtlRowBatch sourceRows
     ) throws SQLException {
-        try (PreparedStatement statement = targetConnection.prepareStatement(upsertSql)) {
-            int count = 0;
-            for (Map<String, Object> sourceRow : sourceRows) {
-                for (int index = 0; index < targetColumns.size(); index++) {
-                    statement.setObject(index + 1, sourceRow.get(targetColumns.get(index)));
+        for (int attempt = 1; ; attempt++) {
+            try {
+                executeUpsertBatches(targetConnection, upsertSql, writeTuner, sourceRows);
+                return;
+            } catch (SQLException exception) {
+                if (attempt >= CONTENTION_RETRY_TIMES || !EtlBatchTuner.isContention(exception)) {
+                    throw exception;
                 }
+                writeTuner.recordContention();
+                log.warn("写入遇到锁冲突，缩小批量后重试: attempt={}, batchSize={}, commitRows={}, error={}",
+                        attempt, writeTuner.batchSize(), writeTuner.commitRows(), exception.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按调节器当前的批大小执行批量语句并回报耗时；提交间隔大于 0 且连接为自动提交时，
+     * 临时改为显式事务，每累计提交间隔行提交一次，失败时回滚。
+     */
+    private void executeUpsertBatches(
+            Connection targetConnection,
+            String upsertSql,
+            EtlBatchTuner writeTuner,
+            EtlRowBatch sourceRows
+    ) throws SQLException {
+        int commitRows = writeTuner.commitRows();
+        boolean explicitTransaction = commitRows > 0 && targetConnection.getAutoCommit();
+        if (explicitTransaction) {
+            targetConnection.setAutoCommit(false);
+        }
+        try (PreparedStatement statement = targetConnection.prepareStatement(upsertSql)) {
+            int batchSize = writeTuner.batchSize();
+            int pending = 0;
+            int uncommitted = 0;
+            int lastRow = sourceRows.size() - 1;
+            for (int row = 0; row <= lastRow; row++) {
+                sourceRows.bindRow(statement, row);
                 statement.addBatch();
-                count++;
-                if (count % UPSERT_BATCH_SIZE == 0) {
-                    statement.executeBatch();
-                    statement.clearBatch();
+                if (++pending < batchSize && row < lastRow) {
+                    continue;
                 }
-            }
-            if (count % UPSERT_BATCH_SIZE != 0) {
+                long started = System.nanoTime();
                 statement.executeBatch();
+                statement.clearBatch();
+                writeTuner.recordBatch(pending, System.nanoTime() - started);
+                uncommitted += pending;
+                pending = 0;
+                batchSize = writeTuner.batchSize();
+                if (explicitTransaction && (uncommitted >= commitRows || row == lastRow)) {
+                    long commitStarted = System.nanoTime();
+                    targetConnection.commit();
+                    writeTuner.recordCommit(System.nanoTime() - commitStarted);
+                    uncommitted = 0;
+                    commitRows = writeTuner.commitRows();
+                }
+            }
+        } catch (SQLException | RuntimeException exception) {
+            if (explicitTransaction) {
+                rollbackQuietly(targetConnection);
+            }
+            throw exception;
+        } finally {
+            if (explicitTransaction) {
+                targetConnection.setAutoCommit(true);
             }
         }
     }
 
+    private static void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException exception) {
+            log.warn("写入事务回滚失败: {}", exception.getMessage());
+        }
+    }
+
+    /**
+     * 创建写入参数调节器：开启自适应时从检查点保存的上次结果开始，未保存时取默认值，并限定在配置范围内；
+     * 关闭时固定为每批 500 行、自动提交、IN 列表 900 项。
+     */
+    private EtlBatchTuner resolveWriteTuner(EtlSyncCheckpoint checkpoint) {
+        EtlProperties.Write write = etlProperties.getWrite();
+        if (!Boolean.TRUE.equals(write.getAdaptive())) {
+            return EtlBatchTuner.fixed(new EtlBatchTuner.Snapshot(UPSERT_BATCH_SIZE, 0, MAX_IN_CLAUSE_SIZE));
+        }
+        int minBatchSize = positiveOrDefault(write.getMinBatchSize(), 50);
+        int minCommitRows = positiveOrDefault(write.getMinCommitRows(), 500);
+        int minInListSize = positiveOrDefault(write.getMinInListSize(), 100);
+        EtlBatchTuner.Limits limits = new EtlBatchTuner.Limits(
+                minBatchSize,
+                Math.max(positiveOrDefault(write.getMaxBatchSize(), 5_000), minBatchSize),
+                minCommitRows,
+                Math.max(positiveOrDefault(write.getMaxCommitRows(), 50_000), minCommitRows),
+                minInListSize,
+                Math.min(Math.max(positiveOrDefault(write.getMaxInListSize(), MAX_IN_CLAUSE_SIZE), minInListSize), 1000),
+                write.getTargetStatementMillis() == null || write.getTargetStatementMillis() <= 0
+                        ? 200L
+                        : write.getTargetStatementMillis()
+        );
+        return EtlBatchTuner.adaptive(limits, new EtlBatchTuner.Snapshot(
+                positiveOrDefault(checkpoint.getWriteBatchSize(), UPSERT_BATCH_SIZE),
+                positiveOrDefault(checkpoint.getWriteCommitRows(), UPSERT_BATCH_SIZE * 4),
+                positiveOrDefault(checkpoint.getLookupInListSize(), MAX_IN_CLAUSE_SIZE)
+        ));
+    }
+
+    private static int positiveOrDefault(Integer value, int defaultValue) {
+        return value == null || value <= 0 ? defaultValue : value;
+    }
+
     private void adjustTargetSchema(
             EtlJob job,
             TableSchemaMetadata sourceMetadata,
@@ -549,42 +2105,68 @@ private List<String> resolveSourceColumns(List<EtlColumnMappingRule> fieldRules,
         return new ArrayList<>(sourceColumns);
     }
 
-    private Map<String, Object> transformRow(Map<String, Object> sourceRow, List<EtlColumnMappingRule> fieldRules) {
-        Map<String, Object> targetRow = new LinkedHashMap<>();
-        for (EtlColumnMappingRule rule : fieldRules) {
-            Object sourceValue = StringUtils.hasText(rule.getSourceColumnName())
-                    ? sourceRow.get(rule.getSourceColumnName())
-                    : null;
-            Object transformedValue = transformValue(sourceValue, rule);
-            if (transformedValue == SKIP_FIELD_SENTINEL) {
-                continue;
+    /**
+     * 解析写入策略：任务配置优先于全局配置；AUTO 按预计写入行数选择，
+     * 预计行数取校验下推的差异桶源端行数，否则取上次执行的抽取行数。目标库不支持暂存表时使用逐行 upsert。
+     */
+    private EtlWriteStrategy resolveWriteStrategy(
+            EtlJob job,
+            DatabaseDialect targetDialect,
+            EtlSyncCheckpoint checkpoint,
+            BucketPushdown pushdown
+    ) {
+        EtlProperties.Write write = etlProperties.getWrite();
+        Object configured = parseTransformConfig(job.getTransformRules()).get("writeStrategy");
+        EtlWriteStrategy strategy;
+        try {
+            strategy = EtlWriteStrategy.fromCode(configured == null ? write.getStrategy() : String.valueOf(configured));
+        } catch (IllegalArgumentException exception) {
+            log.warn("{}，按 AUTO 处理: jobId={}", exception.getMessage(), job.getJobId());
+            strategy = EtlWriteStrategy.AUTO;
+        }
+        if (strategy == EtlWriteStrategy.UPSERT) {
+            return strategy;
+        }
+        if (!EtlStagingMerger.isSupported(targetDialect)) {
+            if (strategy == EtlWriteStrategy.STAGING_MERGE) {
+                log.warn("目标数据库不支持暂存表合并，改用逐行upsert: jobId={}, dialect={}",
+                        job.getJobId(), targetDialect.getDialectType());
             }
-            targetRow.put(rule.getTargetColumnName(), transformedValue);
+            return EtlWriteStrategy.UPSERT;
+        }
+        if (strategy == EtlWriteStrategy.STAGING_MERGE) {
+            return strategy;
         }
-        return targetRow;
+        long expectedRows;
+        if (pushdown != null) {
+            expectedRows = pushdown.changedBuckets().stream()
+                    .map(pushdown.sourceBuckets()::get)
+                    .filter(Objects::nonNull)
+                    .mapToLong(EtlBucketChecksumPushdown.BucketAggregate::rowCount)
+                    .sum();
+        } else {
+            expectedRows = checkpoint.getSourceRowCount() == null ? 0L : checkpoint.getSourceRowCount();
+        }
+        long stagingMinRows = write.getStagingMinRows() == null ? 50_000L : write.getStagingMinRows();
+        EtlWriteStrategy resolved = expectedRows >= stagingMinRows
+                ? EtlWriteStrategy.STAGING_MERGE
+                : EtlWriteStrategy.UPSERT;
+        log.info("ETL写入策略: jobId={}, strategy={}, expectedRows={}", job.getJobId(), resolved, expectedRows);
+        return resolved;
     }
 
-    private String checksum(List<Map<String, Object>> rows, List<String> columns, String primaryKeyColumn) {
-        CRC32 crc32 = new CRC32();
-        List<Map<String, Object>> sortedRows = new ArrayList<>(rows);
-        sortedRows.sort(Comparator.comparing(item -> valueToText(item.get(primaryKeyColumn))));
-        for (Map<String, Object> row : sortedRows) {
-            StringJoiner joiner = new StringJoiner("|");
-            for (String column : columns) {
-                joiner.add(valueToText(row.get(column)));
+    private EtlChecksumAlgorithm resolveChecksumAlgorithm() {
+        String configured = etlProperties.getChecksum().getAlgorithm();
+        try {
+            EtlChecksumAlgorithm algorithm = EtlChecksumAlgorithm.fromCode(configured);
+            if (algorithm.hashesRows()) {
+                return algorithm;
             }
-            byte[] bytes = joiner.toString().getBytes(StandardCharsets.UTF_8);
-            crc32.update(bytes, 0, bytes.length);
+        } catch (IllegalArgumentException exception) {
+            log.warn(exception.getMessage());
         }
-        return Long.toHexString(crc32.getValue());
-    }
-
-    private String roll(String current, String next) {
-        CRC32 crc32 = new CRC32();
-        String merged = (current == null ? "" : current) + "|" + (next == null ? "" : next);
-        byte[] bytes = merged.getBytes(StandardCharsets.UTF_8);
-        crc32.update(bytes, 0, bytes.length);
-        return Long.toHexString(crc32.getValue());
+        log.warn("校验算法 {} 不可用于新的校验，改用 {}", configured, EtlChecksumAlgorithm.XXH64_V2.code());
+        return EtlChecksumAlgorithm.XXH64_V2;
     }
 
     private void recordValidation(EtlJob job, Long executionLogId, Summary summary, String validationStatus) {
@@ -594,8 +2176,8 @@ private void recordValidation(EtlJob job, Long executionLogId, Summary summary,
                 .setValidationType(job.getSyncMode())
                 .setSourceRowCount(summary.extractedRows)
                 .setTargetRowCount(summary.targetComparedRows)
-                .setSourceChecksum(summary.sourceDigest)
-                .setTargetChecksum(summary.targetDigest)
+                .setSourceChecksum(summary.sourceDigest.value())
+                .setTargetChecksum(summary.targetDigest.value())
                 .setBucketCount(summary.appliedBucketCount + summary.skippedBucketCount)
                 .setMismatchBucketCount(summary.mismatchBucketCount)
                 .setValidationStatus(validationStatus)
@@ -604,6 +2186,62 @@ private void recordValidation(EtlJob job, Long executionLogId, Summary summary,
                 .setTenantId(job.getTenantId()));
     }
 
+    private void recordCompareValidation(
+            EtlJob job,
+            Long executionLogId,
+            Summary summary,
+            EtlDiffReport report,
+            String validationStatus
+    ) {
+        List<EtlDiffReport.BucketDiff> buckets = report.buckets();
+        String diffReport;
+        try {
+            diffReport = objectMapper.writeValueAsString(buckets);
+        } catch (Exception exception) {
+            log.warn("差异报告序列化失败: jobId={}, error={}", job.getJobId(), exception.getMessage());
+            diffReport = null;
+        }
+        validationLogService.record(new EtlDataValidationLog()
+                .setJobId(job.getJobId())
+                .setExecutionLogId(executionLogId)
+                .setValidationType(EtlDiffReport.COMPARE_ONLY)
+                .setSourceRowCount(summary.extractedRows)
+                .setTargetRowCount(summary.targetComparedRows)
+                .setSourceChecksum(summary.sourceDigest.value())
+                .setTargetChecksum(summary.targetDigest.value())
+                .setBucketCount(summary.comparedBucketCount)
+                .setMismatchBucketCount(summary.mismatchBucketCount)
+                .setMissingRowCount(report.missingCount())
+                .setExtraRowCount(report.extraCount())
+                .setChangedRowCount(report.changedCount())
+                .setDiffReport(diffReport)
+                .setValidationStatus(validationStatus)
+                .setValidationMessage("mismatchBuckets=" + summary.mismatchBucketCount
+                        + ", extraKeyDetection=" + summary.deleteDetection)
+                .setValidatedAt(LocalDateTime.now())
+                .setTenantId(job.getTenantId()));
+    }
+
+    private String buildCompareDetail(Summary summary, EtlDiffReport report) {
+        Map<String, Object> detail = new LinkedHashMap<>();
+        detail.put("mode", EtlDiffReport.COMPARE_ONLY);
+        detail.put("extractedRows", summary.extractedRows);
+        detail.put("targetComparedRows", summary.targetComparedRows);
+        detail.put("bucketCount", summary.comparedBucketCount);
+        detail.put("mismatchBucketCount", summary.mismatchBucketCount);
+        detail.put("failedBucketCount", summary.failedBucketCount);
+        detail.put("missingRowCount", report.missingCount());
+        detail.put("extraRowCount", report.extraCount());
+        detail.put("changedRowCount", report.changedCount());
+        detail.put("extraKeyDetection", summary.deleteDetection);
+        detail.put("checksumAlgorithm", summary.checksumAlgorithm);
+        detail.put("pushdownBucketCount", summary.pushdownBucketCount);
+        detail.put("pushdownSkippedBucketCount", summary.pushdownSkippedBucketCount);
+        detail.put("sourceDigest", summary.sourceDigest.value());
+        detail.put("targetDigest", summary.targetDigest.value());
+        return toJson(detail);
+    }
+
     private String buildExecutionDetail(Summary summary) {
         Map<String, Object> detail = new LinkedHashMap<>();
         detail.put("extractedRows", summary.extractedRows);
@@ -614,9 +2252,35 @@ private String buildExecutionDetail(Summary summary) {
         detail.put("mismatchBucketCount", summary.mismatchBucketCount);
         detail.put("retriedBucketCount", summary.retriedBucketCount);
         detail.put("recoveredBucketCount", summary.recoveredBucketCount);
-        detail.put("sourceDigest", summary.sourceDigest);
-        detail.put("targetDigest", summary.targetDigest);
+        detail.put("failedBucketCount", summary.failedBucketCount);
+        detail.put("checksumAlgorithm", summary.checksumAlgorithm);
+        detail.put("bulkLoadMethod", summary.bulkLoadMethod);
+        detail.put("writeStrategy", summary.writeStrategy);
+        detail.put("resumedRowCount", summary.resumedRowCount);
+        detail.put("keysetPageRows", summary.keysetPageRows);
+        detail.put("deleteDetection", summary.deleteDetection);
+        detail.put("deleteCandidateCount", summary.deleteCandidateCount);
+        detail.put("deletedRows", summary.deletedRows);
+        detail.put("deferredIndexCount", summary.deferredIndexCount);
+        detail.put("deferredConstraintCount", summary.deferredConstraintCount);
+        detail.put("indexRebuildMillis", summary.indexRebuildMillis);
+        if (summary.writeTuning != null) {
+            detail.put("writeBatchSize", summary.writeTuning.batchSize());
+            detail.put("writeCommitRows", summary.writeTuning.commitRows());
+            detail.put("lookupInListSize", summary.writeTuning.inListSize());
+        }
+        detail.put("writeContentionCount", summary.writeContentionCount);
+        detail.put("pushdownBucketCount", summary.pushdownBucketCount);
+        detail.put("pushdownSkippedBucketCount", summary.pushdownSkippedBucketCount);
+        detail.put("merkleUnchangedBucketCount", summary.merkleUnchangedBucketCount);
+        detail.put("merkleComparedNodes", summary.merkleComparedNodes);
+        detail.put("sourceDigest", summary.sourceDigest.value());
+        detail.put("targetDigest", summary.targetDigest.value());
         detail.put("lastIncrementalValue", summary.lastIncrementalValue);
+        return toJson(detail);
+    }
+
+    private String toJson(Map<String, Object> detail) {
         try {
             return objectMapper.writeValueAsString(detail);
         } catch (Exception exception) {
@@ -625,6 +2289,18 @@ private String buildExecutionDetail(Summary summary) {
     }
 
     private void recordSnapshot(EtlJob job, TableSchemaMetadata metadata, String datasourceName, String tag) {
+        EtlTableStructureSnapshot latest = structureSnapshotService.findLatest(
+                job.getJobId(), datasourceName, metadata.getSchemaName(), metadata.getTableName()
+        );
+        if (latest != null && Objects.equals(latest.getStructureDigest(), metadata.getStructureDigest())
+                && Objects.equals(latest.getStructureMarker(), metadata.getStructureMarker())) {
+            // 结构与变更标记均未变化，只在结构变化时留存快照
+            return;
+        }
+        if (latest != null && !Objects.equals(latest.getStructureDigest(), metadata.getStructureDigest())) {
+            log.info("表结构相较上次快照发生变化: jobId={}, table={}, side={}",
+                    job.getJobId(), metadata.getTableName(), tag);
+        }
         structureSnapshotService.save(new EtlTableStructureSnapshot()
                 .setJobId(job.getJobId())
                 .setDatasourceName(datasourceName)
@@ -633,6 +2309,7 @@ private void recordSnapshot(EtlJob job, TableSchemaMetadata metadata, String dat
                 .setColumnCount(metadata.getColumns().size())
                 .setPrimaryKeyColumns(String.join(",", metadata.getPrimaryKeyColumns()))
                 .setStructureDigest(metadata.getStructureDigest())
+                .setStructureMarker(metadata.getStructureMarker())
                 .setSnapshotTime(LocalDateTime.now())
                 .setTenantId(job.getTenantId())
                 .setRemark(tag));
@@ -652,13 +2329,132 @@ private void clearTargetTable(EtlJob job, Connection targetConnection, DatabaseD
         }
     }
 
-    private int resolveBatchSize(EtlJob job) {
+    /**
+     * 按任务配置捕获并禁用目标表二级索引与外键；恢复语句在禁用前写入执行日志，进程中断时可据此人工恢复。
+     */
+    private TargetIndexPlan deferTargetIndexes(
+            EtlJob job,
+            Connection targetConnection,
+            DataSource targetDataSource,
+            DatabaseDialect targetDialect,
+            Long executionLogId
+    ) throws SQLException {
+        Object configuredMode = parseTransformConfig(job.getTransformRules()).get("targetIndexMode");
+        String mode = configuredMode == null ? etlProperties.getTargetIndex().getMode() : String.valueOf(configuredMode);
+        if (!"REBUILD".equalsIgnoreCase(mode)) {
+            return TargetIndexPlan.empty();
+        }
+        TargetIndexPlan plan;
+        try {
+            plan = targetDialect.captureTargetIndexPlan(targetConnection, job.getTargetSchema(), job.getTargetTable());
+        } catch (SQLException exception) {
+            log.warn("读取目标表索引失败，保持索引装载: jobId={}, reason={}", job.getJobId(), exception.getMessage());
+            return TargetIndexPlan.empty();
+        }
+        if (plan.isEmpty()) {
+            return plan;
+        }
+        Map<String, Object> pending = new LinkedHashMap<>();
+        pending.put("targetIndexMode", "REBUILD");
+        pending.put("indexRestoreDdl", plan.restoreDdl());
+        executionLogService.recordExecutionDetail(executionLogId, toJson(pending));
+        try {
+            newIndexRebuilder(job).disable(targetDataSource, targetConnection, plan);
+        } catch (SQLException exception) {
+            if (exception.getSuppressed().length > 0) {
+                throw exception;
+            }
+            log.warn("禁用目标表索引失败，已恢复并保持索引装载: jobId={}, reason={}", job.getJobId(), exception.getMessage());
+            executionLogService.recordExecutionDetail(executionLogId, null);
+            return TargetIndexPlan.empty();
+        }
+        log.info("清空重载前已禁用目标表索引: jobId={}, indexes={}, constraints={}",
+                job.getJobId(), plan.indexNames(), plan.constraintNames());
+        return plan;
+    }
+
+    /**
+     * 重建装载前禁用的索引并恢复约束；装载已失败时恢复失败只附加到原异常上。
+     *
+     * @return 重建耗时（毫秒）
+     */
+    private long restoreTargetIndexes(
+            EtlJob job,
+            DataSource targetDataSource,
+            TargetIndexPlan plan,
+            Long executionLogId,
+            Exception loadFailure
+    ) throws SQLException {
+        if (plan.isEmpty()) {
+            return 0L;
+        }
+        long elapsed;
+        try {
+            elapsed = newIndexRebuilder(job).rebuild(targetDataSource, plan);
+        } catch (SQLException exception) {
+            if (loadFailure == null) {
+                throw exception;
+            }
+            loadFailure.addSuppressed(exception);
+            return 0L;
+        }
+        log.info("目标表索引重建完成: jobId={}, indexes={}, elapsedMs={}", job.getJobId(), plan.indexNames().size(), elapsed);
+        if (loadFailure != null) {
+            executionLogService.recordExecutionDetail(executionLogId, null);
+        }
+        return elapsed;
+    }
+
+    private EtlIndexRebuilder newIndexRebuilder(EtlJob job) {
+        Integer parallelism = etlProperties.getTargetIndex().getRebuildParallelism();
+        return new EtlIndexRebuilder("etl-" + job.getJobId(), parallelism == null ? 1 : parallelism);
+    }
+
+    private int resolveChunkRows(EtlJob job) {
         if (job.getBatchSize() == null || job.getBatchSize() <= 0) {
-            return DEFAULT_BATCH_SIZE;
+            Integer chunkRows = etlProperties.getPipeline().getChunkRows();
+            return chunkRows == null || chunkRows <= 0 ? DEFAULT_BATCH_SIZE : chunkRows;
         }
         return job.getBatchSize();
     }
 
+    private int resolveExtractParallelism(EtlJob job) {
+        Integer configured = etlProperties.getPipeline().getExtractParallelism();
+        int maxParallelism = configured == null ? 1 : Math.max(configured, 1);
+        Map<String, Object> transformConfig = parseTransformConfig(job.getTransformRules());
+        int parallelism = parseNonNegativeInt(transformConfig.get("extractParallelism"), maxParallelism);
+        return Math.min(Math.max(parallelism, 1), maxParallelism);
+    }
+
+    private int resolveBucketParallelism(EtlJob job) {
+        int maxParallelism = bucketWorkerPool.getMaxParallelismPerJob();
+        Map<String, Object> transformConfig = parseTransformConfig(job.getTransformRules());
+        int parallelism = parseNonNegativeInt(transformConfig.get("bucketParallelism"), maxParallelism);
+        return Math.min(Math.max(parallelism, 1), maxParallelism);
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
+
+    private EtlChunkPipeline<EtlRowChunk, TransformedChunk> newPipeline(EtlJob job) {
+        EtlProperties.Pipeline pipeline = etlProperties.getPipeline();
+        int queueCapacity = pipeline.getQueueCapacity() == null ? 4 : pipeline.getQueueCapacity();
+        long maxBufferedBytes = pipeline.getMaxBufferedBytes() == null
+                ? 64L * 1024 * 1024
+                : pipeline.getMaxBufferedBytes();
+        return new EtlChunkPipeline<>("etl-job-" + job.getJobId(), queueCapacity, maxBufferedBytes);
+    }
+
+    private int resolveMerkleFanout() {
+        Integer fanout = etlProperties.getChecksum().getMerkleFanout();
+        return fanout == null || fanout < 2 ? 8 : fanout;
+    }
+
+    private static String joinBuckets(Collection<Integer> buckets) {
+        return buckets.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
     private int resolveBucketSize(EtlJob job) {
         Map<String, Object> transformConfig = parseTransformConfig(job.getTransformRules());
         Object value = transformConfig.get("bucketSize");
@@ -767,145 +2563,14 @@ private EtlColumnMappingRule buildFallbackRule(EtlJob job, String sourceName, St
     }
 
     /**
-     * 执行单字段转换。
+     * 执行单字段转换，逐行转换请使用执行开始时编译的 {@link EtlTransformPlan}。
      *
      * @param sourceValue 源值
      * @param rule        字段规则
      * @return 转换结果
      */
     private Object transformValue(Object sourceValue, EtlColumnMappingRule rule) {
-        String action = rule.getMappingAction() == null ? "COPY" : rule.getMappingAction().trim().toUpperCase();
-        String emptyPolicy = rule.getEmptyValuePolicy() == null ? "KEEP" : rule.getEmptyValuePolicy().trim().toUpperCase();
-        if ("CONSTANT".equals(action)) {
-            return resolveSpecialPlaceholder(rule.getConstantValue());
-        }
-        Object workingValue = sourceValue;
-        if (workingValue == null) {
-            if ("SKIP_FIELD".equals(emptyPolicy)) {
-                return SKIP_FIELD_SENTINEL;
-            }
-            if ("DEFAULT".equals(action)) {
-                return fallbackValue(rule);
-            }
-            if ("NULL_IF_EMPTY".equals(action)) {
-                return null;
-            }
-            return applyEmptyValuePolicy(null, emptyPolicy, rule);
-        }
-        if (workingValue instanceof String stringValue) {
-            if ("TRIM".equals(action)) {
-                workingValue = stringValue.trim();
-            } else if ("UPPER".equals(action)) {
-                workingValue = stringValue.toUpperCase();
-            } else if ("LOWER".equals(action)) {
-                workingValue = stringValue.toLowerCase();
-            } else if ("NULL_IF_EMPTY".equals(action) && !StringUtils.hasText(stringValue)) {
-                return null;
-            } else if ("DATE_FORMAT".equals(action)) {
-                workingValue = formatDateValue(stringValue, rule.getTransformParams());
-            } else if ("NUMBER_CAST".equals(action)) {
-                workingValue = castNumberValue(stringValue, rule.getTransformParams());
-            }
-            if ("DEFAULT".equals(action) && !StringUtils.hasText(stringValue)) {
-                return fallbackValue(rule);
-            }
-        }
-        if (workingValue == null) {
-            return fallbackValue(rule);
-        }
-        Object policyValue = applyEmptyValuePolicy(workingValue, emptyPolicy, rule);
-        if (policyValue == SKIP_FIELD_SENTINEL) {
-            return SKIP_FIELD_SENTINEL;
-        }
-        if (policyValue != workingValue) {
-            return policyValue;
-        }
-        return workingValue;
-    }
-
-    /**
-     * 应用空值策略，统一处理 null、空字符串与特殊占位值。
-     *
-     * @param currentValue 当前值
-     * @param emptyPolicy  空值策略
-     * @param rule         字段规则
-     * @return 处理后的值
-     */
-    private Object applyEmptyValuePolicy(Object currentValue, String emptyPolicy, EtlColumnMappingRule rule) {
-        boolean empty = currentValue == null
-                || currentValue instanceof String stringValue && !StringUtils.hasText(stringValue);
-        if (!empty) {
-            return currentValue;
-        }
-        return switch (emptyPolicy) {
-            case "NULL", "KEEP", "KEEP_NULL" -> currentValue;
-            case "DEFAULT" -> fallbackValue(rule);
-            case "EMPTY_STRING" -> "";
-            case "ZERO" -> 0;
-            case "CURRENT_TIME" -> LocalDateTime.now();
-            case "SKIP_FIELD" -> SKIP_FIELD_SENTINEL;
-            default -> currentValue;
-        };
-    }
-
-    /**
-     * 解析默认值兜底。
-     *
-     * @param rule 字段规则
-     * @return 兜底值
-     */
-    private Object fallbackValue(EtlColumnMappingRule rule) {
-        if (StringUtils.hasText(rule.getDefaultValue())) {
-            return resolveSpecialPlaceholder(rule.getDefaultValue());
-        }
-        return resolveSpecialPlaceholder(rule.getConstantValue());
-    }
-
-    /**
-     * 解析特殊占位值，避免运行时把“当前时间”当作普通字符串写入目标库。
-     *
-     * @param value 原始值
-     * @return 实际值
-     */
-    private Object resolveSpecialPlaceholder(String value) {
-        if (!StringUtils.hasText(value)) {
-            return value;
-        }
-        if ("__CURRENT_TIME__".equalsIgnoreCase(value)) {
-            return LocalDateTime.now();
-        }
-        return value;
-    }
-
-    /**
-     * 格式化日期值。
-     *
-     * @param sourceValue 源值
-     * @param transformParams 转换参数
-     * @return 格式化结果
-     */
-    private Object formatDateValue(String sourceValue, String transformParams) {
-        Map<String, Object> params = parseTransformConfig(transformParams);
-        Object pattern = params.get("pattern");
-        if (pattern == null) {
-            return sourceValue;
-        }
-        return sourceValue;
-    }
-
-    /**
-     * 数字转换值。
-     *
-     * @param sourceValue 源值
-     * @param transformParams 转换参数
-     * @return 转换结果
-     */
-    private Object castNumberValue(String sourceValue, String transformParams) {
-        try {
-            return new java.math.BigDecimal(sourceValue);
-        } catch (Exception exception) {
-            return sourceValue;
-        }
+        return EtlTransformPlan.compileRule(rule, objectMapper).apply(sourceValue);
     }
 
     private int parseNonNegativeInt(Object value, int defaultValue) {
@@ -972,17 +2637,30 @@ private String resolveBucketSkipReason(
         return null;
     }
 
-    private String valueToText(Object value) {
+    /**
+     * 取两个增量字段值中较大的一个，空值不参与比较。
+     */
+    private static Object laterIncrementalValue(Object current, Object candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        if (current == null) {
+            return candidate;
+        }
+        return EtlKeyRange.compareKeys(candidate, current) > 0 ? candidate : current;
+    }
+
+    private static String valueToText(Object value) {
         return value == null ? "NULL" : String.valueOf(value);
     }
 
-    private String resolveBucketBoundary(Collection<Object> primaryKeyValues, boolean first) {
+    private static String resolveBucketBoundary(Collection<Object> primaryKeyValues, boolean first) {
         if (primaryKeyValues == null || primaryKeyValues.isEmpty()) {
             return null;
         }
         List<String> boundaries = primaryKeyValues.stream()
                 .filter(Objects::nonNull)
-                .map(this::valueToText)
+                .map(EtlExecutionServiceImpl::valueToText)
                 .sorted()
                 .collect(Collectors.toList());
         if (boundaries.isEmpty()) {
@@ -1022,6 +2700,215 @@ private record MappingSpec(String sourceColumn, String targetColumn) {
     private record BucketRetryPolicy(int maxRetryTimes, long retryIntervalMillis) {
     }
 
+    /**
+     * 桶位校验下推结果：源端桶号表达式、两端各桶聚合结果与摘要不一致的桶号；
+     * 启用 Merkle 树时另含源端树及与上次保存的树的比较结果，子树未变化的桶沿用源端结果作为目标端结果。
+     */
+    private record BucketPushdown(
+            String sourceExpression,
+            Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> sourceBuckets,
+            Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> targetBuckets,
+            Set<Integer> changedBuckets,
+            EtlMerkleTree sourceTree,
+            String treeSignature,
+            EtlMerkleTree.Diff merkleDiff,
+            Set<Integer> merkleUnchanged
+    ) {
+    }
+
+    private record SourceFilter(List<String> conditions, List<Object> parameters) {
+    }
+
+    /**
+     * 组合水位分页参数。
+     *
+     * @param committed 检查点中已提交的水位，首次同步为空
+     * @param start     回看窗口回退后的起始水位
+     * @param pageRows  每页最大行数
+     */
+    private record KeysetPaging(EtlWatermark committed, EtlWatermark start, int pageRows) {
+    }
+
+    /**
+     * 写入线程维护的已提交水位。
+     */
+    private static final class WatermarkProgress {
+        private EtlWatermark committed;
+        private boolean frozen;
+
+        private WatermarkProgress(EtlWatermark committed) {
+            this.committed = committed;
+        }
+    }
+
+    /**
+     * 分块续跑台账：ledgers 为空表示新执行，读取前按区间规划写入台账；非空表示续跑上次中断的执行。
+     */
+    private record ResumeLedger(String signature, List<EtlChunkLedger> ledgers) {
+
+        private boolean resuming() {
+            return !ledgers.isEmpty();
+        }
+
+        /**
+         * 还原上次规划的区间，边界按切分键类型转换。
+         */
+        private List<EtlKeyRange> ranges(EtlRowSchema sourceSchema, String splitColumn) {
+            int splitIndex = sourceSchema.indexOf(splitColumn);
+            return ledgers.stream()
+                    .map(ledger -> new EtlKeyRange(
+                            ledger.getRangeIndex(),
+                            restoreKey(sourceSchema, splitIndex, ledger.getRangeLower()),
+                            restoreKey(sourceSchema, splitIndex, ledger.getRangeUpper()),
+                            "1".equals(ledger.getNullKeys())
+                    ))
+                    .toList();
+        }
+
+        /**
+         * 各区间的续跑排序键，按排序键类型转换。
+         */
+        private Map<Integer, Object> resumeKeys(EtlRowSchema sourceSchema, String orderColumn) {
+            int orderIndex = sourceSchema.indexOf(orderColumn);
+            Map<Integer, Object> resumeKeys = new HashMap<>();
+            for (EtlChunkLedger ledger : ledgers) {
+                Object resumeKey = restoreKey(sourceSchema, orderIndex, ledger.getResumeKey());
+                if (resumeKey != null) {
+                    resumeKeys.put(ledger.getRangeIndex(), resumeKey);
+                }
+            }
+            return resumeKeys;
+        }
+
+        private List<EtlRangeProgress.Commit> commits() {
+            return ledgers.stream()
+                    .map(ledger -> new EtlRangeProgress.Commit(ledger.getRangeIndex(), ledger.getResumeKey(),
+                            ledger.getCommittedRows() == null ? 0L : ledger.getCommittedRows()))
+                    .toList();
+        }
+
+        private List<EtlChunkLedger> plan(EtlJob job, List<EtlKeyRange> ranges) {
+            return ranges.stream()
+                    .map(range -> new EtlChunkLedger()
+                            .setJobId(job.getJobId())
+                            .setRunSignature(signature)
+                            .setRangeIndex(range.index())
+                            .setRangeLower(range.lowerExclusive() == null ? null : valueToText(range.lowerExclusive()))
+                            .setRangeUpper(range.upperInclusive() == null ? null : valueToText(range.upperInclusive()))
+                            .setNullKeys(range.nullKeys() ? "1" : "0")
+                            .setCommittedRows(0L)
+                            .setTenantId(job.getTenantId()))
+                    .toList();
+        }
+
+        private static Object restoreKey(EtlRowSchema sourceSchema, int column, String text) {
+            if (text == null) {
+                return null;
+            }
+            return column < 0 ? text : sourceSchema.coerce(column, text);
+        }
+    }
+
+    /**
+     * 转换阶段产出的分桶数据块。
+     */
+    private record TransformedChunk(
+            long sequence,
+            int sourceRowCount,
+            long estimatedBytes,
+            Map<Integer, BucketSegment> segments,
+            Object lastIncrementalValue,
+            Object lastOrderKey,
+            EtlWatermark watermark
+    ) implements EtlChunk {
+
+        @Override
+        public int rowCount() {
+            return sourceRowCount;
+        }
+    }
+
+    /**
+     * 单个数据块内落入同一桶的行。
+     */
+    private record BucketSegment(EtlRowBatch rows, Set<Object> primaryKeyValues, EtlBucketDigest sourceDigest) {
+    }
+
+    private record SegmentResult(
+            boolean needsSync,
+            boolean applied,
+            int retryCount,
+            boolean retrySuccess,
+            boolean mismatch,
+            int targetRowCount,
+            EtlBucketDigest targetDigest,
+            String errorMessage
+    ) {
+
+        private SegmentResult(
+                boolean needsSync,
+                boolean applied,
+                int retryCount,
+                boolean retrySuccess,
+                boolean mismatch,
+                int targetRowCount,
+                EtlBucketDigest targetDigest
+        ) {
+            this(needsSync, applied, retryCount, retrySuccess, mismatch, targetRowCount, targetDigest, null);
+        }
+
+        private static SegmentResult failed(String errorMessage) {
+            return new SegmentResult(true, false, 0, false, true, 0, null, errorMessage);
+        }
+    }
+
+    /**
+     * 跨数据块累计的桶位统计。
+     *
+     * <p>桶摘要与行顺序无关，各数据块的部分摘要直接合并，并行抽取时区间到达顺序不影响结果。</p>
+     */
+    private static class BucketAccumulator {
+        private long sourceRowCount;
+        private long targetRowCount;
+        private final EtlBucketDigest sourceDigest = new EtlBucketDigest();
+        private final EtlBucketDigest targetDigest = new EtlBucketDigest();
+        private String boundaryStart;
+        private String boundaryEnd;
+        private boolean needsSync;
+        private boolean applied;
+        private boolean mismatch;
+        private boolean retrySuccess;
+        private int retryCount;
+        private LocalDateTime lastRetryTime;
+        private String errorMessage;
+
+        private void merge(BucketSegment segment, SegmentResult result) {
+            sourceRowCount += segment.rows().size();
+            targetRowCount += result.targetRowCount();
+            sourceDigest.merge(segment.sourceDigest());
+            targetDigest.merge(result.targetDigest());
+            needsSync |= result.needsSync();
+            applied |= result.applied();
+            mismatch |= result.mismatch();
+            retrySuccess |= result.retrySuccess();
+            retryCount += result.retryCount();
+            if (result.retryCount() > 0) {
+                lastRetryTime = LocalDateTime.now();
+            }
+            if (result.errorMessage() != null) {
+                errorMessage = result.errorMessage();
+            }
+            String start = resolveBucketBoundary(segment.primaryKeyValues(), true);
+            String end = resolveBucketBoundary(segment.primaryKeyValues(), false);
+            if (start != null && (boundaryStart == null || start.compareTo(boundaryStart) < 0)) {
+                boundaryStart = start;
+            }
+            if (end != null && (boundaryEnd == null || end.compareTo(boundaryEnd) > 0)) {
+                boundaryEnd = end;
+            }
+        }
+    }
+
     private static class Summary {
         private long extractedRows;
         private long transformedRows;
@@ -1032,8 +2919,33 @@ private static class Summary {
         private int mismatchBucketCount;
         private int retriedBucketCount;
         private int recoveredBucketCount;
+        private int failedBucketCount;
         private String lastIncrementalValue;
-        private String sourceDigest = "";
-        private String targetDigest = "";
+        private Object lastIncrementalMark;
+        private String checksumAlgorithm;
+        private String bulkLoadMethod;
+        private long resumedRowCount;
+        private Integer keysetPageRows;
+        private String deleteDetection;
+        private long deleteCandidateCount;
+        private long deletedRows;
+        private int deferredIndexCount;
+        private int deferredConstraintCount;
+        private long indexRebuildMillis;
+        private EtlBatchTuner.Snapshot writeTuning;
+        private long writeContentionCount;
+
+        private void recordWriteTuning(EtlBatchTuner writeTuner) {
+            writeTuning = writeTuner.snapshot();
+            writeContentionCount = writeTuner.contentionCount();
+        }
+        private String writeStrategy;
+        private int pushdownBucketCount;
+        private int comparedBucketCount;
+        private int pushdownSkippedBucketCount;
+        private int merkleUnchangedBucketCount;
+        private Integer merkleComparedNodes;
+        private final EtlBucketDigest sourceDigest = new EtlBucketDigest();
+        private final EtlBucketDigest targetDigest = new EtlBucketDigest();
     }
 }
@@ -3,6 +3,9 @@
 import cn.hutool.core.util.StrUtil;
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
+import com.mumu.woodlin.etl.engine.EtlRunScheduler;
 import com.mumu.woodlin.etl.entity.EtlJob;
 import com.mumu.woodlin.etl.enums.EtlJobStatus;
 import com.mumu.woodlin.etl.mapper.EtlJobMapper;
@@ -17,6 +20,8 @@
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * ETL任务服务实现
@@ -40,6 +45,7 @@ public class EtlJobServiceImpl extends ServiceImpl<EtlJobMapper, EtlJob> impleme
 
     private final ObjectProvider<ITaskScheduleService> taskScheduleServiceProvider;
     private final IEtlExecutionService etlExecutionService;
+    private final EtlRunScheduler etlRunScheduler;
 
     @Override
     @Transactional(rollbackFor = Exception.class)
@@ -141,21 +147,93 @@ public boolean disableJob(Long jobId) {
 
     @Override
     public boolean executeJob(Long jobId) {
+        return executeJob(jobId, EtlRunPriority.NORMAL);
+    }
+
+    @Override
+    public boolean executeJob(Long jobId, EtlRunPriority priority) {
         EtlJob job = this.getById(jobId);
         if (job == null) {
             log.error("ETL任务不存在: {}", jobId);
             return false;
         }
 
-        try {
-            etlExecutionService.execute(job);
-            job.setLastExecuteTime(LocalDateTime.now());
-            this.updateById(job);
-            return true;
-        } catch (Exception exception) {
-            log.error("执行ETL任务失败: {}", jobId, exception);
+        boolean enabledAtSubmit = isEnabled(job);
+        Supplier<Long> task = () -> runJob(jobId, enabledAtSubmit);
+        EtlRunScheduler.SubmitResult result = etlRunScheduler.submit(new EtlRunScheduler.RunRequest(
+                jobId, job.getSourceDatasource(), job.getTargetDatasource(), priority, false, task
+        ));
+        if (result == EtlRunScheduler.SubmitResult.REJECTED) {
+            log.error("ETL运行队列已满，拒绝执行: jobId={}, queueDepth={}", jobId, etlRunScheduler.queueDepth());
             return false;
         }
+        if (result == EtlRunScheduler.SubmitResult.MERGED) {
+            log.info("ETL任务已在排队，与本次触发合并: jobId={}", jobId);
+        }
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Long> submitJob(Long jobId, EtlRunPriority priority) {
+        EtlJob job = this.getById(jobId);
+        if (job == null) {
+            return CompletableFuture.failedFuture(new BusinessException("ETL任务不存在: " + jobId));
+        }
+        boolean enabledAtSubmit = isEnabled(job);
+        Supplier<Long> task = () -> runJob(jobId, enabledAtSubmit);
+        return etlRunScheduler.submitAndWatch(new EtlRunScheduler.RunRequest(
+                jobId, job.getSourceDatasource(), job.getTargetDatasource(), priority, false, task
+        ));
+    }
+
+    @Override
+    public boolean compareJob(Long jobId, EtlRunPriority priority) {
+        EtlJob job = this.getById(jobId);
+        if (job == null) {
+            log.error("ETL任务不存在: {}", jobId);
+            return false;
+        }
+        EtlRunScheduler.SubmitResult result = etlRunScheduler.submit(new EtlRunScheduler.RunRequest(
+                jobId, job.getSourceDatasource(), job.getTargetDatasource(), priority, true, () -> runCompare(jobId)
+        ));
+        if (result == EtlRunScheduler.SubmitResult.REJECTED) {
+            log.error("ETL运行队列已满，拒绝比对: jobId={}, queueDepth={}", jobId, etlRunScheduler.queueDepth());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 调度器线程中执行：重新读取任务，排队期间的配置修改与禁用都以运行时为准。
+     * 提交时已是禁用状态的任务（手动执行）照常运行，仅跳过排队期间被禁用的任务。
+     *
+     * @return 本次运行的执行日志ID，跳过时为null
+     */
+    private Long runJob(Long jobId, boolean enabledAtSubmit) {
+        EtlJob job = this.getById(jobId);
+        if (job == null) {
+            log.warn("ETL任务已删除，跳过运行: {}", jobId);
+            return null;
+        }
+        if (enabledAtSubmit && !isEnabled(job)) {
+            log.warn("ETL任务排队期间已被禁用，跳过运行: {}", jobId);
+            return null;
+        }
+        job.setLastExecuteTime(LocalDateTime.now());
+        this.updateById(job);
+        return etlExecutionService.execute(job);
+    }
+
+    /**
+     * 调度器线程中执行仅比对，不更新任务的最近执行时间。
+     */
+    private void runCompare(Long jobId) {
+        EtlJob job = this.getById(jobId);
+        if (job == null) {
+            log.warn("ETL任务已删除，跳过比对: {}", jobId);
+            return;
+        }
+        etlExecutionService.compare(job);
     }
 
     @Override
@@ -170,6 +248,10 @@ public List<EtlJob> listJobsByTenantId(String tenantId) {
                 .eq(EtlJob::getTenantId, tenantId));
     }
 
+    private static boolean isEnabled(EtlJob job) {
+        return EtlJobStatus.ENABLED.getCode().equals(job.getStatus());
+    }
+
     private void applyCreateDefaults(EtlJob etlJob) {
         if (etlJob.getStatus() == null) {
             etlJob.setStatus(EtlJobStatus.DISABLED.getCode());
@@ -0,0 +1,50 @@
+package com.mumu.woodlin.etl.service.impl;
+
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.mumu.woodlin.etl.entity.EtlMerkleNode;
+import com.mumu.woodlin.etl.mapper.EtlMerkleNodeMapper;
+import com.mumu.woodlin.etl.service.IEtlMerkleNodeService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * ETL 桶位 Merkle 树节点服务实现。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Service
+public class EtlMerkleNodeServiceImpl
+        extends ServiceImpl<EtlMerkleNodeMapper, EtlMerkleNode>
+        implements IEtlMerkleNodeService {
+
+    @Override
+    public List<EtlMerkleNode> listTree(Long jobId, String treeSignature) {
+        if (jobId == null || treeSignature == null) {
+            return List.of();
+        }
+        return this.list(new LambdaQueryWrapper<EtlMerkleNode>()
+                .eq(EtlMerkleNode::getJobId, jobId)
+                .eq(EtlMerkleNode::getTreeSignature, treeSignature));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void replaceTree(Long jobId, List<EtlMerkleNode> nodes) {
+        clearTree(jobId);
+        if (nodes != null && !nodes.isEmpty()) {
+            this.saveBatch(nodes);
+        }
+    }
+
+    @Override
+    public void clearTree(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+        this.remove(new LambdaQueryWrapper<EtlMerkleNode>().eq(EtlMerkleNode::getJobId, jobId));
+    }
+}
@@ -15,6 +15,7 @@
 import com.mumu.woodlin.datasource.entity.InfraDatasourceConfig;
 import com.mumu.woodlin.datasource.mapper.InfraDatasourceMapper;
 import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.datasource.service.SchemaExtractionCoordinator;
 import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
 import com.mumu.woodlin.etl.entity.EtlJob;
 import com.mumu.woodlin.etl.model.EtlOfflineFieldRule;
@@ -134,6 +135,7 @@ public class EtlOfflineServiceImpl implements IEtlOfflineService {
     private final IEtlJobService etlJobService;
     private final IEtlColumnMappingRuleService columnMappingRuleService;
     private final ObjectMapper objectMapper;
+    private final SchemaExtractionCoordinator extractionCoordinator;
 
     @Override
     public EtlOfflineWizardConfigResponse getWizardConfig() {
@@ -273,9 +275,12 @@ public EtlOfflineValidationResult validate(EtlOfflineValidationRequest request)
             result.getErrors().add("自动启动任务时必须填写Cron表达式");
         }
 
+        Map<ColumnLoadKey, ColumnLoad> columnLoads = prefetchColumns(sourceDatasource, targetDatasource,
+            request.getTableMappings(), result.getErrors());
         List<EtlOfflineTableValidationResult> tableResults = new ArrayList<>();
         for (EtlOfflineTableMapping tableMapping : request.getTableMappings()) {
-            tableResults.add(validateTableMapping(sourceDatasource, targetDatasource, runtimeConfig, syncMode, tableMapping));
+            tableResults.add(validateTableMapping(sourceDatasource, targetDatasource, runtimeConfig, syncMode, tableMapping,
+                columnLoads));
         }
         result.setTableResults(tableResults);
         result.setWarnings(mergeWarnings(result.getWarnings(), tableResults));
@@ -754,13 +759,15 @@ private EtlJob requireJob(Long jobId) {
      * @param runtimeConfig    运行配置
      * @param syncMode         同步模式
      * @param tableMapping     表映射
+     * @param columnLoads      预取的表字段
      * @return 表级结果
      */
     private EtlOfflineTableValidationResult validateTableMapping(InfraDatasourceConfig sourceDatasource,
                                                                  InfraDatasourceConfig targetDatasource,
                                                                  EtlOfflineRuntimeConfig runtimeConfig,
                                                                  String syncMode,
-                                                                 EtlOfflineTableMapping tableMapping) {
+                                                                 EtlOfflineTableMapping tableMapping,
+                                                                 Map<ColumnLoadKey, ColumnLoad> columnLoads) {
         EtlOfflineTableValidationResult tableResult = new EtlOfflineTableValidationResult();
         if (tableMapping == null) {
             tableResult.getErrors().add("表映射不能为空");
@@ -773,9 +780,9 @@ private EtlOfflineTableValidationResult validateTableMapping(InfraDatasourceConf
         tableResult.setTargetTable(blankToNull(tableMapping.getTargetTable()));
 
         List<ColumnMetadata> sourceColumns = loadColumns(sourceDatasource, tableMapping.getSourceSchema(),
-            tableMapping.getSourceTable(), "源", tableResult);
+            tableMapping.getSourceTable(), "源", tableResult, columnLoads);
         List<ColumnMetadata> targetColumns = loadColumns(targetDatasource, tableMapping.getTargetSchema(),
-            tableMapping.getTargetTable(), "目标", tableResult);
+            tableMapping.getTargetTable(), "目标", tableResult, columnLoads);
 
         List<String> sourceColumnNames = sourceColumns.stream().map(ColumnMetadata::getColumnName).collect(Collectors.toList());
         List<String> targetColumnNames = targetColumns.stream().map(ColumnMetadata::getColumnName).collect(Collectors.toList());
@@ -799,6 +806,99 @@ private EtlOfflineTableValidationResult validateTableMapping(InfraDatasourceConf
         return tableResult;
     }
 
+    /**
+     * 并行预取全部表映射涉及的表字段。
+     *
+     * <p>源、目标两侧的表按数据源与schema分组、每批若干张表作为一个任务交给
+     * {@link SchemaExtractionCoordinator}，每个数据源同时占用的连接数受协调器限制。
+     * 单表加载失败记录在该表的加载结果中，不影响其他表。</p>
+     *
+     * @param sourceDatasource 源数据源
+     * @param targetDatasource 目标数据源
+     * @param tableMappings    表映射
+     * @param errors           全局错误列表
+     * @return 表字段加载结果
+     */
+    private Map<ColumnLoadKey, ColumnLoad> prefetchColumns(InfraDatasourceConfig sourceDatasource,
+                                                           InfraDatasourceConfig targetDatasource,
+                                                           List<EtlOfflineTableMapping> tableMappings,
+                                                           List<String> errors) {
+        Map<ColumnLoadKey, Set<String>> tablesByScope = new LinkedHashMap<>();
+        for (EtlOfflineTableMapping tableMapping : tableMappings) {
+            if (tableMapping == null) {
+                continue;
+            }
+            collectTable(tablesByScope, sourceDatasource, tableMapping.getSourceSchema(), tableMapping.getSourceTable());
+            collectTable(tablesByScope, targetDatasource, tableMapping.getTargetSchema(), tableMapping.getTargetTable());
+        }
+        List<SchemaExtractionCoordinator.Task<Map<ColumnLoadKey, ColumnLoad>>> tasks = new ArrayList<>();
+        tablesByScope.forEach((scope, tableNames) -> {
+            for (List<String> batch : extractionCoordinator.partition(new ArrayList<>(tableNames))) {
+                tasks.add(new SchemaExtractionCoordinator.Task<>(scope.datasourceCode(),
+                    StrUtil.nullToDefault(scope.schemaName(), scope.datasourceCode()), batch.size(),
+                    () -> loadColumnBatch(scope, batch)));
+            }
+        });
+        Map<ColumnLoadKey, ColumnLoad> columnLoads = new HashMap<>();
+        try {
+            extractionCoordinator.run("ETL离线任务表结构校验", tasks, null).forEach(columnLoads::putAll);
+        } catch (BusinessException exception) {
+            errors.add("表结构加载失败: " + exception.getMessage());
+        }
+        return columnLoads;
+    }
+
+    /**
+     * 收集待加载字段的表。
+     *
+     * @param tablesByScope 数据源与schema到表名的映射
+     * @param datasource    数据源
+     * @param schemaName    schema
+     * @param tableName     表名
+     */
+    private void collectTable(Map<ColumnLoadKey, Set<String>> tablesByScope, InfraDatasourceConfig datasource,
+                              String schemaName, String tableName) {
+        if (datasource == null || StrUtil.isBlank(tableName)) {
+            return;
+        }
+        tablesByScope.computeIfAbsent(new ColumnLoadKey(datasource.getDatasourceCode(), blankToNull(schemaName), null),
+            key -> new LinkedHashSet<>()).add(tableName);
+    }
+
+    /**
+     * 加载同一数据源、同一schema下一批表的字段。
+     *
+     * @param scope      数据源与schema
+     * @param tableNames 表名
+     * @return 表字段加载结果
+     */
+    private Map<ColumnLoadKey, ColumnLoad> loadColumnBatch(ColumnLoadKey scope, List<String> tableNames) {
+        Map<ColumnLoadKey, ColumnLoad> columnLoads = new HashMap<>();
+        List<TableMetadata> tables;
+        try {
+            tables = databaseMetadataService.getTables(scope.datasourceCode(), scope.schemaName());
+        } catch (Exception exception) {
+            for (String tableName : tableNames) {
+                columnLoads.put(scope.withTable(tableName), ColumnLoad.failed("表校验失败: " + exception.getMessage()));
+            }
+            return columnLoads;
+        }
+        for (String tableName : tableNames) {
+            boolean exists = tables.stream().map(TableMetadata::getTableName).anyMatch(item -> StrUtil.equalsIgnoreCase(item, tableName));
+            if (!exists) {
+                columnLoads.put(scope.withTable(tableName), ColumnLoad.failed("表不存在: " + tableName));
+                continue;
+            }
+            try {
+                columnLoads.put(scope.withTable(tableName), new ColumnLoad(
+                    databaseMetadataService.getColumns(scope.datasourceCode(), scope.schemaName(), tableName), null));
+            } catch (Exception exception) {
+                columnLoads.put(scope.withTable(tableName), ColumnLoad.failed("表校验失败: " + exception.getMessage()));
+            }
+        }
+        return columnLoads;
+    }
+
     /**
      * 加载表字段。
      *
@@ -807,10 +907,12 @@ private EtlOfflineTableValidationResult validateTableMapping(InfraDatasourceConf
      * @param tableName   表名
      * @param sideLabel   左右侧标记
      * @param tableResult 表级结果
+     * @param columnLoads 预取的表字段
      * @return 字段列表
      */
     private List<ColumnMetadata> loadColumns(InfraDatasourceConfig datasource, String schemaName, String tableName,
-                                             String sideLabel, EtlOfflineTableValidationResult tableResult) {
+                                             String sideLabel, EtlOfflineTableValidationResult tableResult,
+                                             Map<ColumnLoadKey, ColumnLoad> columnLoads) {
         if (datasource == null) {
             tableResult.getErrors().add(sideLabel + "数据源不可用");
             return List.of();
@@ -819,18 +921,16 @@ private List<ColumnMetadata> loadColumns(InfraDatasourceConfig datasource, Strin
             tableResult.getErrors().add(sideLabel + "表不能为空");
             return List.of();
         }
-        try {
-            List<TableMetadata> tables = databaseMetadataService.getTables(datasource.getDatasourceCode(), blankToNull(schemaName));
-            boolean exists = tables.stream().map(TableMetadata::getTableName).anyMatch(item -> StrUtil.equalsIgnoreCase(item, tableName));
-            if (!exists) {
-                tableResult.getErrors().add(sideLabel + "表不存在: " + tableName);
-                return List.of();
-            }
-            return databaseMetadataService.getColumns(datasource.getDatasourceCode(), blankToNull(schemaName), tableName);
-        } catch (Exception exception) {
-            tableResult.getErrors().add(sideLabel + "表校验失败: " + exception.getMessage());
+        ColumnLoad columnLoad = columnLoads.get(new ColumnLoadKey(datasource.getDatasourceCode(), blankToNull(schemaName), tableName));
+        if (columnLoad == null) {
+            // 预取整体失败时错误已记录在全局错误中
+            return List.of();
+        }
+        if (columnLoad.error() != null) {
+            tableResult.getErrors().add(sideLabel + columnLoad.error());
             return List.of();
         }
+        return columnLoad.columns();
     }
 
     /**
@@ -1175,6 +1275,20 @@ private boolean containsIgnoreCase(List<String> values, String value) {
         return values.stream().anyMatch(item -> StrUtil.equalsIgnoreCase(item, value));
     }
 
+    private record ColumnLoadKey(String datasourceCode, String schemaName, String tableName) {
+
+        private ColumnLoadKey withTable(String tableName) {
+            return new ColumnLoadKey(datasourceCode, schemaName, tableName);
+        }
+    }
+
+    private record ColumnLoad(List<ColumnMetadata> columns, String error) {
+
+        private static ColumnLoad failed(String error) {
+            return new ColumnLoad(List.of(), error);
+        }
+    }
+
     private record TypeGroupTemplate(String groupCode, String groupName, List<TypeOptionTemplate> options) {
     }
 
@@ -0,0 +1,460 @@
+package com.mumu.woodlin.etl.service.impl;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.common.datasource.model.ForeignKeyMetadata;
+import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.etl.config.EtlProperties;
+import com.mumu.woodlin.etl.engine.EtlRunPlan;
+import com.mumu.woodlin.etl.engine.EtlRunPlanProgress;
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
+import com.mumu.woodlin.etl.entity.EtlExecutionLog;
+import com.mumu.woodlin.etl.entity.EtlJob;
+import com.mumu.woodlin.etl.enums.EtlExecutionStatus;
+import com.mumu.woodlin.etl.model.request.EtlOfflineRunRequest;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunReport;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunTableReport;
+import com.mumu.woodlin.etl.service.IEtlExecutionLogService;
+import com.mumu.woodlin.etl.service.IEtlJobService;
+import com.mumu.woodlin.etl.service.IEtlRunPlanService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Function;
+
+/**
+ * ETL 多表运行计划服务实现。
+ *
+ * <p>依赖来自请求声明、表映射的 {@code dependsOn} 以及源表与目标表的外键；计划按依赖分层，
+ * 就绪任务在并行预算内提交到运行调度器，单表结束后按该次运行返回的执行日志ID读取日志判定成败并释放下游。
+ * 运行报告保存在内存中，保留最近若干次已结束的运行。</p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EtlRunPlanServiceImpl implements IEtlRunPlanService {
+
+    private final IEtlJobService etlJobService;
+    private final IEtlExecutionLogService executionLogService;
+    private final DatabaseMetadataService databaseMetadataService;
+    private final EtlProperties etlProperties;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, PlanRun> runs = new ConcurrentHashMap<>();
+    private final Deque<String> finishedRunIds = new ConcurrentLinkedDeque<>();
+
+    @Override
+    public EtlOfflineRunReport startRun(EtlOfflineRunRequest request) {
+        List<Long> jobIds = request.getJobIds().stream().filter(Objects::nonNull).distinct().toList();
+        if (jobIds.isEmpty()) {
+            throw new BusinessException("任务ID不能为空");
+        }
+        Map<Long, EtlJob> jobs = loadJobs(jobIds);
+        boolean discoverForeignKeys = !Boolean.FALSE.equals(request.getDiscoverForeignKeys());
+        Map<Long, Set<Long>> dependencies = resolveDependencies(jobs, request.getDependencies(), discoverForeignKeys);
+        EtlRunPlan plan;
+        try {
+            plan = EtlRunPlan.of(jobIds, dependencies);
+        } catch (IllegalArgumentException exception) {
+            throw new BusinessException(exception.getMessage()
+                + (discoverForeignKeys ? "，可关闭外键发现并以声明的依赖运行" : ""));
+        }
+
+        PlanRun run = new PlanRun(
+            IdUtil.fastSimpleUUID(),
+            new EtlRunPlanProgress(plan, resolveParallelism(request.getMaxParallelTables())),
+            jobs,
+            LocalDateTime.now()
+        );
+        runs.put(run.runId, run);
+        log.info("ETL运行计划开始: runId={}, tables={}, levels={}, parallelism={}",
+            run.runId, jobIds.size(), plan.levels().size(), run.progress.parallelism());
+        launchRunnable(run);
+        return buildReport(run);
+    }
+
+    @Override
+    public EtlOfflineRunReport getRunReport(String runId) {
+        PlanRun run = runs.get(runId);
+        if (run == null) {
+            throw new BusinessException("运行不存在或报告已过期: " + runId);
+        }
+        return buildReport(run);
+    }
+
+    /**
+     * 按请求顺序加载任务。
+     *
+     * @param jobIds 任务ID
+     * @return 任务ID到任务的映射
+     */
+    private Map<Long, EtlJob> loadJobs(List<Long> jobIds) {
+        Map<Long, EtlJob> loaded = new LinkedHashMap<>();
+        etlJobService.listByIds(jobIds).forEach(job -> loaded.put(job.getJobId(), job));
+        List<Long> missing = jobIds.stream().filter(jobId -> !loaded.containsKey(jobId)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("ETL任务不存在: " + missing);
+        }
+        Map<Long, EtlJob> ordered = new LinkedHashMap<>();
+        jobIds.forEach(jobId -> ordered.put(jobId, loaded.get(jobId)));
+        return ordered;
+    }
+
+    /**
+     * 汇总依赖：请求声明、表映射的 {@code dependsOn}、外键。
+     *
+     * @param jobs                任务
+     * @param declared            请求声明的依赖
+     * @param discoverForeignKeys 是否发现外键依赖
+     * @return 任务ID到依赖任务ID的映射
+     */
+    private Map<Long, Set<Long>> resolveDependencies(Map<Long, EtlJob> jobs, Map<Long, List<Long>> declared,
+                                                     boolean discoverForeignKeys) {
+        Map<Long, Set<Long>> dependencies = new LinkedHashMap<>();
+        if (declared != null) {
+            declared.forEach((jobId, dependsOn) -> {
+                if (dependsOn != null) {
+                    dependencies.computeIfAbsent(jobId, key -> new LinkedHashSet<>()).addAll(dependsOn);
+                }
+            });
+        }
+
+        Map<String, List<Long>> jobsBySourceTable = indexByTable(jobs.values(), EtlJob::getSourceDatasource,
+            EtlJob::getSourceTable);
+        for (EtlJob job : jobs.values()) {
+            for (String table : parseDeclaredTables(job)) {
+                List<Long> upstream = jobsBySourceTable.get(tableKey(job.getSourceDatasource(), table));
+                if (upstream == null) {
+                    log.warn("表映射声明的依赖表不在本次运行中: jobId={}, table={}", job.getJobId(), table);
+                    continue;
+                }
+                dependencies.computeIfAbsent(job.getJobId(), key -> new LinkedHashSet<>()).addAll(upstream);
+            }
+        }
+
+        if (discoverForeignKeys) {
+            addForeignKeyDependencies(jobs.values(), EtlJob::getSourceDatasource, EtlJob::getSourceSchema,
+                EtlJob::getSourceTable, dependencies);
+            addForeignKeyDependencies(jobs.values(), EtlJob::getTargetDatasource, EtlJob::getTargetSchema,
+                EtlJob::getTargetTable, dependencies);
+        }
+        return dependencies;
+    }
+
+    /**
+     * 按一侧（源或目标）的外键补充依赖：引用方表的任务依赖被引用表的任务。
+     * 外键读取失败只影响该数据源，不阻止运行。
+     */
+    private void addForeignKeyDependencies(Iterable<EtlJob> jobs, Function<EtlJob, String> datasource,
+                                           Function<EtlJob, String> schema, Function<EtlJob, String> table,
+                                           Map<Long, Set<Long>> dependencies) {
+        Map<String, List<EtlJob>> groups = new LinkedHashMap<>();
+        for (EtlJob job : jobs) {
+            if (StrUtil.isNotBlank(datasource.apply(job)) && StrUtil.isNotBlank(table.apply(job))) {
+                String groupKey = datasource.apply(job) + "\u0000" + StrUtil.nullToEmpty(schema.apply(job));
+                groups.computeIfAbsent(groupKey, key -> new ArrayList<>()).add(job);
+            }
+        }
+        for (List<EtlJob> group : groups.values()) {
+            if (group.size() < 2) {
+                continue;
+            }
+            EtlJob first = group.get(0);
+            Map<String, List<Long>> jobsByTable = indexByTable(group, datasource, table);
+            Set<String> tableNames = new LinkedHashSet<>();
+            group.forEach(job -> tableNames.add(table.apply(job)));
+            List<ForeignKeyMetadata> foreignKeys;
+            try {
+                foreignKeys = databaseMetadataService.getForeignKeys(datasource.apply(first), schema.apply(first),
+                    tableNames);
+            } catch (BusinessException exception) {
+                log.warn("读取外键失败，跳过外键依赖发现: datasource={}, reason={}", datasource.apply(first),
+                    exception.getMessage());
+                continue;
+            }
+            for (ForeignKeyMetadata foreignKey : foreignKeys) {
+                if (!sameSchema(schema.apply(first), foreignKey.getReferencedSchemaName())) {
+                    continue;
+                }
+                List<Long> referencing = jobsByTable.get(tableKey(datasource.apply(first), foreignKey.getTableName()));
+                List<Long> referenced = jobsByTable.get(
+                    tableKey(datasource.apply(first), foreignKey.getReferencedTableName()));
+                if (referencing == null || referenced == null) {
+                    continue;
+                }
+                for (Long jobId : referencing) {
+                    dependencies.computeIfAbsent(jobId, key -> new LinkedHashSet<>()).addAll(referenced);
+                }
+            }
+        }
+    }
+
+    private boolean sameSchema(String jobSchema, String referencedSchema) {
+        return StrUtil.isBlank(jobSchema) || StrUtil.isBlank(referencedSchema)
+            || jobSchema.equalsIgnoreCase(referencedSchema);
+    }
+
+    private Map<String, List<Long>> indexByTable(Iterable<EtlJob> jobs, Function<EtlJob, String> datasource,
+                                                 Function<EtlJob, String> table) {
+        Map<String, List<Long>> index = new LinkedHashMap<>();
+        for (EtlJob job : jobs) {
+            if (StrUtil.isNotBlank(table.apply(job))) {
+                index.computeIfAbsent(tableKey(datasource.apply(job), table.apply(job)), key -> new ArrayList<>())
+                    .add(job.getJobId());
+            }
+        }
+        return index;
+    }
+
+    private String tableKey(String datasource, String table) {
+        return StrUtil.nullToEmpty(datasource) + "\u0000" + StrUtil.nullToEmpty(table).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 读取 transformRules.tableMapping.dependsOn。
+     *
+     * @param job 任务
+     * @return 依赖的源表
+     */
+    private List<String> parseDeclaredTables(EtlJob job) {
+        if (StrUtil.isBlank(job.getTransformRules())) {
+            return List.of();
+        }
+        try {
+            JsonNode dependsOn = objectMapper.readTree(job.getTransformRules()).path("tableMapping").path("dependsOn");
+            List<String> tables = new ArrayList<>();
+            dependsOn.forEach(node -> {
+                if (StrUtil.isNotBlank(node.asText())) {
+                    tables.add(node.asText().trim());
+                }
+            });
+            return tables;
+        } catch (Exception exception) {
+            log.warn("解析表映射依赖失败: jobId={}", job.getJobId(), exception);
+            return List.of();
+        }
+    }
+
+    /**
+     * 并行表数取配置上限、请求值、连接预算与内存预算允许值中的最小者。
+     *
+     * @param requested 请求的并行表数
+     * @return 并行表数
+     */
+    private int resolveParallelism(Integer requested) {
+        EtlProperties.Plan plan = etlProperties.getPlan();
+        int limit = positiveOrDefault(plan.getMaxParallelTables(), 4);
+        if (requested != null && requested > 0) {
+            limit = Math.min(limit, requested);
+        }
+        int connectionsPerTable = 2
+            + positiveOrDefault(etlProperties.getPipeline().getExtractParallelism(), 1)
+            + positiveOrDefault(etlProperties.getWorker().getMaxParallelismPerJob(), 1);
+        int byConnections = positiveOrDefault(plan.getConnectionBudget(), connectionsPerTable) / connectionsPerTable;
+        long bufferedBytes = Math.max(etlProperties.getPipeline().getMaxBufferedBytes(), 1L);
+        long byMemory = plan.getMemoryBudgetBytes() == null ? limit : plan.getMemoryBudgetBytes() / bufferedBytes;
+        return (int) Math.max(1L, Math.min(limit, Math.min(byConnections, byMemory)));
+    }
+
+    private int positiveOrDefault(Integer value, int defaultValue) {
+        return value == null || value <= 0 ? defaultValue : value;
+    }
+
+    private void launchRunnable(PlanRun run) {
+        for (Long jobId : run.progress.nextRunnable()) {
+            NodeRecord node = run.nodes.get(jobId);
+            node.submittedAt = LocalDateTime.now();
+            etlJobService.submitJob(jobId, EtlRunPriority.HIGH)
+                .whenComplete((executionLogId, failure) -> onNodeFinished(run, jobId, executionLogId, failure));
+        }
+    }
+
+    /**
+     * 单表结束：按本次运行返回的执行日志ID判定成败，不受同一任务其他运行（手动触发、其他计划）的日志影响；
+     * 失败时跳过全部下游，随后启动新就绪的任务。
+     */
+    private void onNodeFinished(PlanRun run, Long jobId, Long executionLogId, Throwable failure) {
+        NodeRecord node = run.nodes.get(jobId);
+        node.executionLogId = executionLogId;
+        boolean success = false;
+        try {
+            if (failure != null) {
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                    ? failure.getCause() : failure;
+                node.errorMessage = cause.getMessage();
+            } else if (executionLogId == null) {
+                node.errorMessage = "任务未运行：已删除或排队期间被禁用";
+            } else {
+                node.executionLog = executionLogService.getById(executionLogId);
+                if (node.executionLog == null) {
+                    node.errorMessage = "未找到本次运行的执行日志: " + executionLogId;
+                } else {
+                    success = EtlExecutionStatus.SUCCESS.getCode().equals(node.executionLog.getExecutionStatus());
+                    node.errorMessage = node.executionLog.getErrorMessage();
+                }
+            }
+        } catch (RuntimeException exception) {
+            node.errorMessage = exception.getMessage();
+            log.error("ETL运行计划读取执行结果失败: runId={}, jobId={}", run.runId, jobId, exception);
+        }
+        node.finishedAt = LocalDateTime.now();
+
+        List<Long> skipped = run.progress.complete(jobId, success);
+        if (!skipped.isEmpty()) {
+            log.warn("ETL运行计划任务失败，跳过下游: runId={}, jobId={}, skipped={}", run.runId, jobId, skipped);
+        }
+        if (run.progress.isFinished()) {
+            finish(run);
+        } else {
+            launchRunnable(run);
+        }
+    }
+
+    private void finish(PlanRun run) {
+        run.endTime = LocalDateTime.now();
+        Map<EtlRunPlanProgress.NodeState, Integer> counts = run.progress.counts();
+        log.info("ETL运行计划结束: runId={}, succeeded={}, failed={}, skipped={}, duration={}ms", run.runId,
+            counts.get(EtlRunPlanProgress.NodeState.SUCCEEDED), counts.get(EtlRunPlanProgress.NodeState.FAILED),
+            counts.get(EtlRunPlanProgress.NodeState.SKIPPED), Duration.between(run.startTime, run.endTime).toMillis());
+        finishedRunIds.addLast(run.runId);
+        int retained = positiveOrDefault(etlProperties.getPlan().getRetainedReports(), 100);
+        while (finishedRunIds.size() > retained) {
+            String expired = finishedRunIds.pollFirst();
+            if (expired != null) {
+                runs.remove(expired);
+            }
+        }
+    }
+
+    private EtlOfflineRunReport buildReport(PlanRun run) {
+        EtlRunPlan plan = run.progress.plan();
+        List<List<Long>> levels = plan.levels();
+        Map<EtlRunPlanProgress.NodeState, Integer> counts = run.progress.counts();
+        int succeeded = counts.get(EtlRunPlanProgress.NodeState.SUCCEEDED);
+        int failed = counts.get(EtlRunPlanProgress.NodeState.FAILED);
+        int skipped = counts.get(EtlRunPlanProgress.NodeState.SKIPPED);
+
+        EtlOfflineRunReport report = new EtlOfflineRunReport();
+        report.setRunId(run.runId);
+        report.setStartTime(run.startTime);
+        report.setEndTime(run.endTime);
+        report.setDuration(Duration.between(run.startTime,
+            run.endTime == null ? LocalDateTime.now() : run.endTime).toMillis());
+        report.setParallelism(run.progress.parallelism());
+        report.setLevelCount(levels.size());
+        report.setTotalTables(plan.jobIds().size());
+        report.setSucceededTables(succeeded);
+        report.setFailedTables(failed);
+        report.setSkippedTables(skipped);
+        if (!run.progress.isFinished()) {
+            report.setStatus(EtlExecutionStatus.RUNNING.getCode());
+        } else if (failed == 0 && skipped == 0) {
+            report.setStatus(EtlExecutionStatus.SUCCESS.getCode());
+        } else if (succeeded == 0) {
+            report.setStatus(EtlExecutionStatus.FAILED.getCode());
+        } else {
+            report.setStatus(EtlExecutionStatus.PARTIAL_SUCCESS.getCode());
+        }
+
+        long extractedRows = 0;
+        long loadedRows = 0;
+        long failedRows = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            for (Long jobId : levels.get(level)) {
+                EtlOfflineRunTableReport table = buildTableReport(run, jobId, level);
+                extractedRows += table.getExtractedRows() == null ? 0 : table.getExtractedRows();
+                loadedRows += table.getLoadedRows() == null ? 0 : table.getLoadedRows();
+                failedRows += table.getFailedRows() == null ? 0 : table.getFailedRows();
+                report.getTables().add(table);
+            }
+        }
+        report.setExtractedRows(extractedRows);
+        report.setLoadedRows(loadedRows);
+        report.setFailedRows(failedRows);
+        return report;
+    }
+
+    private EtlOfflineRunTableReport buildTableReport(PlanRun run, Long jobId, int level) {
+        NodeRecord node = run.nodes.get(jobId);
+        EtlJob job = node.job;
+        EtlOfflineRunTableReport table = new EtlOfflineRunTableReport();
+        table.setJobId(jobId);
+        table.setJobName(job.getJobName());
+        table.setSourceTable(job.getSourceTable());
+        table.setTargetTable(job.getTargetTable());
+        table.setDependsOn(new ArrayList<>(run.progress.plan().upstream(jobId)));
+        table.setLevel(level);
+        table.setStatus(run.progress.state(jobId).name());
+        table.setErrorMessage(node.errorMessage);
+        EtlExecutionLog executionLog = node.executionLog;
+        if (executionLog != null) {
+            table.setLogId(executionLog.getLogId());
+            table.setStartTime(executionLog.getStartTime());
+            table.setEndTime(executionLog.getEndTime());
+            table.setDuration(executionLog.getDuration());
+            table.setExtractedRows(executionLog.getExtractedRows());
+            table.setLoadedRows(executionLog.getLoadedRows());
+            table.setFailedRows(executionLog.getFailedRows());
+        } else if (node.submittedAt != null) {
+            table.setLogId(node.executionLogId);
+            table.setStartTime(node.submittedAt);
+            table.setEndTime(node.finishedAt);
+        }
+        return table;
+    }
+
+    /**
+     * 一次运行的状态。
+     */
+    private static final class PlanRun {
+        private final String runId;
+        private final EtlRunPlanProgress progress;
+        private final Map<Long, NodeRecord> nodes = new LinkedHashMap<>();
+        private final LocalDateTime startTime;
+        private volatile LocalDateTime endTime;
+
+        private PlanRun(String runId, EtlRunPlanProgress progress, Map<Long, EtlJob> jobs, LocalDateTime startTime) {
+            this.runId = runId;
+            this.progress = progress;
+            this.startTime = startTime;
+            jobs.forEach((jobId, job) -> nodes.put(jobId, new NodeRecord(job)));
+        }
+    }
+
+    /**
+     * 单表任务在本次运行中的记录。
+     */
+    private static final class NodeRecord {
+        private final EtlJob job;
+        private volatile LocalDateTime submittedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile Long executionLogId;
+        private volatile EtlExecutionLog executionLog;
+        private volatile String errorMessage;
+
+        private NodeRecord(EtlJob job) {
+            this.job = job;
+        }
+    }
+}
@@ -2,8 +2,10 @@
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.mumu.woodlin.etl.entity.EtlJob;
 import com.mumu.woodlin.etl.entity.EtlSyncCheckpoint;
@@ -59,6 +61,10 @@ public void updateAfterExecution(
             String validationStatus,
             Long executionLogId
     ) {
+        if (!Objects.equals(checkpoint.getLastIncrementalValue(), lastIncrementalValue)) {
+            // 主键值只对与之配对的增量值有效
+            checkpoint.setLastPrimaryKeyValue(null);
+        }
         checkpoint.setLastIncrementalValue(lastIncrementalValue);
         checkpoint.setSourceRowCount(sourceRowCount);
         checkpoint.setTargetRowCount(targetRowCount);
@@ -69,4 +75,21 @@ public void updateAfterExecution(
         checkpoint.setLastSyncTime(LocalDateTime.now());
         this.updateById(checkpoint);
     }
+
+    @Override
+    public void advanceWatermark(
+            EtlSyncCheckpoint checkpoint,
+            String lastIncrementalValue,
+            String lastPrimaryKeyValue,
+            Long executionLogId
+    ) {
+        this.update(new LambdaUpdateWrapper<EtlSyncCheckpoint>()
+                .eq(EtlSyncCheckpoint::getCheckpointId, checkpoint.getCheckpointId())
+                .set(EtlSyncCheckpoint::getLastIncrementalValue, lastIncrementalValue)
+                .set(EtlSyncCheckpoint::getLastPrimaryKeyValue, lastPrimaryKeyValue)
+                .set(EtlSyncCheckpoint::getLastExecutionLogId, executionLogId));
+        checkpoint.setLastIncrementalValue(lastIncrementalValue);
+        checkpoint.setLastPrimaryKeyValue(lastPrimaryKeyValue);
+        checkpoint.setLastExecutionLogId(executionLogId);
+    }
 }
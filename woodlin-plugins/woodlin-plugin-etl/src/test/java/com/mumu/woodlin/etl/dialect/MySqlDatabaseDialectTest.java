@@ -113,4 +113,78 @@ void buildAddColumnSql() {
         String result = dialect.buildAddColumnSql("`my_table`", "email", "VARCHAR(255)");
         assertEquals("ALTER TABLE `my_table` ADD `email` VARCHAR(255)", result);
     }
+
+    @Test
+    void buildKeyBoundsSql() {
+        String result = dialect.buildKeyBoundsSql("`my_table`", "id", "status = 1");
+        assertEquals("SELECT MIN(`id`), MAX(`id`), COUNT(*) FROM `my_table` WHERE `id` IS NOT NULL AND (status = 1)",
+                result);
+    }
+
+    @Test
+    void buildKeyQuantilesSql() {
+        String result = dialect.buildKeyQuantilesSql("`my_table`", "id", 4, null, 5D);
+        assertEquals("SELECT MAX(`id`) FROM (SELECT `id`, NTILE(4) OVER (ORDER BY `id`) AS etl_tile FROM `my_table`"
+                + " WHERE `id` IS NOT NULL) etl_ranked GROUP BY etl_tile ORDER BY etl_tile", result);
+    }
+
+    @Test
+    void buildBucketChecksumSql() {
+        assertEquals("MOD(CRC32(CAST(`id` AS CHAR)), 16)", dialect.buildBucketExpression("id", 16));
+        String result = dialect.buildBucketChecksumSql("`my_table`", "id", List.of("id", "name"), 16, null);
+        assertEquals("SELECT MOD(CRC32(CAST(`id` AS CHAR)), 16) AS etl_bucket, COUNT(*) AS etl_rows, "
+                + "CONCAT(BIT_XOR(CAST(CONV(SUBSTRING(MD5(CONCAT_WS('|', COALESCE(CAST(`id` AS CHAR), '<null>'), "
+                + "COALESCE(CAST(`name` AS CHAR), '<null>'))), 1, 16), 16, 10) AS UNSIGNED)), ':', "
+                + "SUM(CAST(CONV(SUBSTRING(MD5(CONCAT_WS('|', COALESCE(CAST(`id` AS CHAR), '<null>'), "
+                + "COALESCE(CAST(`name` AS CHAR), '<null>'))), 1, 16), 16, 10) AS UNSIGNED))) AS etl_digest "
+                + "FROM `my_table` GROUP BY MOD(CRC32(CAST(`id` AS CHAR)), 16)", result);
+    }
+
+    @Test
+    void buildBulkLoadSql() {
+        assertEquals(BulkLoadMethod.LOAD_DATA, dialect.getBulkLoadMethod());
+        assertEquals("LOAD DATA LOCAL INFILE 'etl-stream.csv' INTO TABLE `my_table` CHARACTER SET utf8mb4"
+                + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY '' LINES TERMINATED BY '\\n'"
+                + " (`id`, `name`)", dialect.buildBulkLoadSql("`my_table`", List.of("id", "name")));
+        assertEquals("INSERT INTO `my_table` (`id`, `name`) VALUES (?, ?), (?, ?), (?, ?)",
+                dialect.buildMultiRowInsertSql("`my_table`", List.of("id", "name"), 3));
+    }
+
+    @Test
+    void buildStagingMergeSql() {
+        assertEquals("etl_stage_x", dialect.buildStagingTableName("etl_stage_x"));
+        assertEquals("CREATE TEMPORARY TABLE etl_stage_x AS SELECT `id`, `name` FROM `my_table` WHERE 1 = 0",
+                dialect.buildCreateStagingTableSql("etl_stage_x", "`my_table`", List.of("id", "name")));
+        assertEquals("INSERT INTO `my_table` (`id`, `name`) SELECT `id`, `name` FROM etl_stage_x"
+                        + " ON DUPLICATE KEY UPDATE `name` = VALUES(`name`)",
+                dialect.buildStagingMergeSql("`my_table`", "etl_stage_x", List.of("id", "name"), List.of("id")));
+        assertEquals("DROP TEMPORARY TABLE IF EXISTS etl_stage_x", dialect.buildDropStagingTableSql("etl_stage_x"));
+    }
+
+    @Test
+    void buildLimitSql() {
+        assertEquals("SELECT `id` FROM `my_table` ORDER BY `id` LIMIT 500",
+                dialect.buildLimitSql("SELECT `id` FROM `my_table` ORDER BY `id`", 500));
+    }
+
+    @Test
+    void buildDeleteByPrimaryKeyInSql() {
+        assertEquals("DELETE FROM `my_table` WHERE `id` IN (?, ?)",
+                dialect.buildDeleteByPrimaryKeyInSql("`my_table`", "id", 2, null));
+        assertEquals("UPDATE `my_table` SET `deleted` = ? WHERE `id` IN (?, ?)",
+                dialect.buildDeleteByPrimaryKeyInSql("`my_table`", "id", 2, "deleted"));
+    }
+
+    @Test
+    void buildBinaryOrderExpression() {
+        assertEquals("CAST(`code` AS BINARY)", dialect.buildBinaryOrderExpression("code"));
+    }
+
+    @Test
+    void buildStructureMarkerSql() {
+        String result = dialect.buildStructureMarkerSql();
+        assertTrue(result.contains("information_schema.COLUMNS"));
+        assertTrue(result.contains("COALESCE(?, DATABASE())"));
+        assertTrue(!result.contains("UPDATE_TIME"));
+    }
 }
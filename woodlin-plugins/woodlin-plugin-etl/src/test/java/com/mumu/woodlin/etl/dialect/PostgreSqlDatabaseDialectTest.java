@@ -1,5 +1,9 @@
 package com.mumu.woodlin.etl.dialect;
 
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -8,6 +12,10 @@
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * PostgreSQL 数据库方言单元测试。
@@ -60,4 +68,97 @@ void buildUpsertSql() {
         assertTrue(result.contains("ON CONFLICT"));
         assertTrue(result.contains("DO UPDATE SET"));
     }
+
+    @Test
+    void buildKeyQuantilesSql() {
+        String result = dialect.buildKeyQuantilesSql("\"my_table\"", "id", 4, null, 2.5D);
+        assertEquals("SELECT unnest(percentile_disc(ARRAY[0.25, 0.5, 0.75, 1]) WITHIN GROUP (ORDER BY \"id\"))"
+                + " FROM \"my_table\" TABLESAMPLE SYSTEM (2.5) WHERE \"id\" IS NOT NULL", result);
+    }
+
+    @Test
+    void buildBucketChecksumSql() {
+        String result = dialect.buildBucketChecksumSql("\"my_table\"", "id", List.of("id", "name"), 8, "\"id\" > 0");
+        assertNotNull(result);
+        assertTrue(result.startsWith("SELECT MOD(ABS(CAST(hashtext(CAST(\"id\" AS text)) AS bigint)), 8) AS etl_bucket"));
+        assertTrue(result.contains("md5(string_agg(md5(concat_ws('|', COALESCE(CAST(\"id\" AS text), '<null>'), "
+                + "COALESCE(CAST(\"name\" AS text), '<null>'))), ''"));
+        assertTrue(result.endsWith(" FROM \"my_table\" WHERE \"id\" > 0 GROUP BY "
+                + "MOD(ABS(CAST(hashtext(CAST(\"id\" AS text)) AS bigint)), 8)"));
+    }
+
+    @Test
+    void buildBulkLoadSql() {
+        assertEquals(BulkLoadMethod.COPY, dialect.getBulkLoadMethod());
+        assertEquals("COPY \"my_table\" (\"id\", \"name\") FROM STDIN WITH (FORMAT csv)",
+                dialect.buildBulkLoadSql("\"my_table\"", List.of("id", "name")));
+    }
+
+    @Test
+    void buildStagingMergeSql() {
+        assertEquals("INSERT INTO \"my_table\" (\"id\", \"name\") SELECT \"id\", \"name\" FROM etl_stage_x"
+                        + " ON CONFLICT (\"id\") DO UPDATE SET \"name\" = EXCLUDED.\"name\"",
+                dialect.buildStagingMergeSql("\"my_table\"", "etl_stage_x", List.of("id", "name"), List.of("id")));
+        assertEquals("TRUNCATE TABLE etl_stage_x", dialect.buildClearStagingTableSql("etl_stage_x"));
+    }
+
+    @Test
+    void buildLimitSql() {
+        assertEquals("SELECT \"id\" FROM \"my_table\" ORDER BY \"id\" FETCH FIRST 500 ROWS ONLY",
+                dialect.buildLimitSql("SELECT \"id\" FROM \"my_table\" ORDER BY \"id\"", 500));
+    }
+
+    @Test
+    void buildDeleteByPrimaryKeyInSql() {
+        assertEquals("DELETE FROM \"my_table\" WHERE \"id\" IN (?, ?)",
+                dialect.buildDeleteByPrimaryKeyInSql("\"my_table\"", "id", 2, null));
+        assertEquals("UPDATE \"my_table\" SET \"deleted\" = ? WHERE \"id\" IN (?, ?)",
+                dialect.buildDeleteByPrimaryKeyInSql("\"my_table\"", "id", 2, "deleted"));
+    }
+
+    @Test
+    void buildBinaryOrderExpression() {
+        assertEquals("\"code\" COLLATE \"C\"", dialect.buildBinaryOrderExpression("code"));
+    }
+
+    @Test
+    void buildStructureMarkerSql() {
+        String result = dialect.buildStructureMarkerSql();
+        assertTrue(result.contains("c.relfilenode"));
+        assertTrue(result.contains("pg_attribute"));
+        assertTrue(result.contains("COALESCE(?, current_schema())"));
+    }
+
+    @Test
+    void captureTargetIndexPlan() throws SQLException {
+        Connection connection = mock(Connection.class);
+        PreparedStatement indexQuery = catalogQuery(connection, "pg_get_indexdef",
+                new String[] {"idx_orders_customer", "shop", "CREATE INDEX idx_orders_customer ON shop.orders USING btree (customer_id)"});
+        PreparedStatement foreignKeyQuery = catalogQuery(connection, "pg_get_constraintdef",
+                new String[] {"fk_orders_customer", "FOREIGN KEY (customer_id) REFERENCES shop.customer(id)"});
+
+        TargetIndexPlan plan = dialect.captureTargetIndexPlan(connection, "shop", "orders");
+
+        verify(indexQuery).setString(1, "shop");
+        verify(foreignKeyQuery).setString(2, "orders");
+        assertEquals(List.of(
+                "ALTER TABLE \"shop\".\"orders\" DROP CONSTRAINT \"fk_orders_customer\"",
+                "DROP INDEX \"shop\".\"idx_orders_customer\""), plan.disableStatements());
+        assertEquals(List.of("CREATE INDEX idx_orders_customer ON shop.orders USING btree (customer_id)"),
+                plan.rebuildStatements());
+        assertEquals(List.of("ALTER TABLE \"shop\".\"orders\" ADD CONSTRAINT \"fk_orders_customer\""
+                + " FOREIGN KEY (customer_id) REFERENCES shop.customer(id)"), plan.restoreStatements());
+    }
+
+    private PreparedStatement catalogQuery(Connection connection, String marker, String[] row) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.prepareStatement(contains(marker))).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        for (int index = 0; index < row.length; index++) {
+            when(resultSet.getString(index + 1)).thenReturn(row[index]);
+        }
+        return statement;
+    }
 }
@@ -0,0 +1,138 @@
+package com.mumu.woodlin.etl.dialect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.ServerSocket;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 流式读取语句测试：以 H2 TCP 服务模拟远程数据库，验证结果集按批拉取、连接设置在读取后恢复。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class StreamingStatementTest {
+
+    private static final int ROWS = 20_000;
+    private static final int PAYLOAD_CHARS = 4_000;
+
+    private static Server server;
+    private static String url;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        server = Server.createTcpServer("-tcpPort", String.valueOf(port), "-ifNotExists").start();
+        // 惰性执行使服务端不物化结果集，效果等同数据库的服务端游标
+        url = "jdbc:h2:tcp://localhost:" + port + "/mem:etl_streaming;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=TRUE";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE big_rows (id BIGINT PRIMARY KEY, payload VARCHAR(" + PAYLOAD_CHARS + "))");
+            statement.execute("INSERT INTO big_rows SELECT X, LPAD(CAST(X AS VARCHAR), " + PAYLOAD_CHARS + ", 'x')"
+                    + " FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        }
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    void shouldKeepHeapBoundedWhileStreaming() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            long baseline = usedHeapAfterGc(memory);
+            long peak = 0;
+            long rows = 0;
+            try (StreamingStatement statement = new GenericDatabaseDialect().prepareStreamingStatement(
+                    connection, "SELECT id, payload FROM big_rows ORDER BY id", 500);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertThat(resultSet.getString(2)).hasSize(PAYLOAD_CHARS);
+                    if (++rows % 2_000 == 0) {
+                        peak = Math.max(peak, usedHeapAfterGc(memory) - baseline);
+                    }
+                }
+            }
+            long payloadBytes = (long) ROWS * PAYLOAD_CHARS;
+            assertThat(rows).isEqualTo(ROWS);
+            // 整体缓存需要至少 payloadBytes 的堆，流式读取只保留若干批
+            assertThat(peak).isLessThan(payloadBytes / 4);
+        }
+    }
+
+    @Test
+    void shouldDisableAutoCommitOnlyWhileStreamingOnPostgreSql() throws Exception {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+            try (StreamingStatement statement = new PostgreSqlDatabaseDialect().prepareStreamingStatement(
+                    connection, "SELECT id FROM big_rows ORDER BY id", 1_000);
+                 ResultSet resultSet = statement.executeQuery()) {
+                assertThat(connection.getAutoCommit()).isFalse();
+                assertThat(statement.statement().getFetchSize()).isEqualTo(1_000);
+                assertThat(resultSet.getType()).isEqualTo(ResultSet.TYPE_FORWARD_ONLY);
+                assertThat(resultSet.getConcurrency()).isEqualTo(ResultSet.CONCUR_READ_ONLY);
+                assertThat(resultSet.next()).isTrue();
+            }
+            assertThat(connection.getAutoCommit()).isTrue();
+
+            connection.setAutoCommit(false);
+            try (StreamingStatement ignored = new PostgreSqlDatabaseDialect().prepareStreamingStatement(
+                    connection, "SELECT id FROM big_rows", 1_000)) {
+                assertThat(connection.getAutoCommit()).isFalse();
+            }
+            assertThat(connection.getAutoCommit()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldStreamRowByRowOnMySqlUnlessCursorFetchIsEnabled() throws Exception {
+        MySqlDatabaseDialect dialect = new MySqlDatabaseDialect();
+
+        PreparedStatement streaming = mock(PreparedStatement.class);
+        Connection plain = mySqlConnection("jdbc:mysql://localhost:3306/demo", streaming);
+        dialect.prepareStreamingStatement(plain, "SELECT 1", 1_000);
+        verify(plain).prepareStatement("SELECT 1", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        verify(streaming).setFetchSize(Integer.MIN_VALUE);
+
+        PreparedStatement cursor = mock(PreparedStatement.class);
+        Connection cursorFetch = mySqlConnection("jdbc:mysql://localhost:3306/demo?useCursorFetch=true", cursor);
+        dialect.prepareStreamingStatement(cursorFetch, "SELECT 1", 1_000);
+        verify(cursor).setFetchSize(1_000);
+    }
+
+    private static Connection mySqlConnection(String jdbcUrl, PreparedStatement statement) throws Exception {
+        Connection connection = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getURL()).thenReturn(jdbcUrl);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY)))
+                .thenReturn(statement);
+        return connection;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,112 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 写入批量参数调节器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlBatchTunerTest {
+
+    private static final long MILLIS = 1_000_000L;
+    private static final EtlBatchTuner.Limits LIMITS = new EtlBatchTuner.Limits(50, 2_000, 500, 10_000, 100, 900, 200);
+
+    @Test
+    void shouldGrowBatchWhileThroughputImproves() {
+        EtlBatchTuner tuner = EtlBatchTuner.adaptive(LIMITS, new EtlBatchTuner.Snapshot(500, 2_000, 900));
+
+        for (int window = 0; window < 3; window++) {
+            int batchSize = tuner.batchSize();
+            for (int batch = 0; batch < 4; batch++) {
+                // 固定开销 10ms 加每行 0.01ms，批越大吞吐越高
+                tuner.recordBatch(batchSize, 10 * MILLIS + batchSize * MILLIS / 100);
+            }
+        }
+
+        assertThat(tuner.batchSize()).isGreaterThan(500);
+    }
+
+    @Test
+    void shouldShrinkBatchWhenStatementsAreSlow() {
+        EtlBatchTuner tuner = EtlBatchTuner.adaptive(LIMITS, new EtlBatchTuner.Snapshot(1_000, 2_000, 900));
+
+        tuner.recordBatch(1_000, 500 * MILLIS);
+
+        assertThat(tuner.batchSize()).isEqualTo(800);
+    }
+
+    @Test
+    void shouldReverseWhenThroughputDrops() {
+        EtlBatchTuner tuner = EtlBatchTuner.adaptive(LIMITS, new EtlBatchTuner.Snapshot(500, 2_000, 900));
+        recordWindow(tuner, 20 * MILLIS);
+        int grown = tuner.batchSize();
+
+        // 批变大后每批耗时翻倍以上，吞吐下降
+        recordWindow(tuner, 60 * MILLIS);
+
+        assertThat(grown).isEqualTo(625);
+        assertThat(tuner.batchSize()).isEqualTo(500);
+    }
+
+    @Test
+    void shouldHalveOnContentionAndStayWithinBounds() {
+        EtlBatchTuner tuner = EtlBatchTuner.adaptive(LIMITS, new EtlBatchTuner.Snapshot(80, 800, 900));
+
+        tuner.recordContention();
+
+        assertThat(tuner.snapshot()).isEqualTo(new EtlBatchTuner.Snapshot(50, 500, 900));
+        assertThat(tuner.contentionCount()).isEqualTo(1);
+        tuner.recordCommit(MILLIS);
+        assertThat(tuner.commitRows()).isEqualTo(500);
+        tuner.recordCommit(MILLIS);
+        assertThat(tuner.commitRows()).isEqualTo(625);
+    }
+
+    @Test
+    void shouldTuneInListByLookupLatency() {
+        EtlBatchTuner tuner = EtlBatchTuner.adaptive(LIMITS, new EtlBatchTuner.Snapshot(500, 2_000, 900));
+
+        tuner.recordLookup(900, 400 * MILLIS);
+        assertThat(tuner.inListSize()).isEqualTo(720);
+        tuner.recordLookup(720, 10 * MILLIS);
+        assertThat(tuner.inListSize()).isEqualTo(900);
+        tuner.recordLookup(30, 10 * MILLIS);
+        assertThat(tuner.inListSize()).isEqualTo(900);
+    }
+
+    @Test
+    void shouldKeepFixedValuesWhenNotAdaptive() {
+        EtlBatchTuner tuner = EtlBatchTuner.fixed(new EtlBatchTuner.Snapshot(500, 0, 900));
+
+        tuner.recordBatch(500, 10_000 * MILLIS);
+        tuner.recordContention();
+
+        assertThat(tuner.snapshot()).isEqualTo(new EtlBatchTuner.Snapshot(500, 0, 900));
+        assertThat(tuner.contentionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRecognizeLockFailures() {
+        assertThat(EtlBatchTuner.isContention(new SQLException("deadlock", "40P01"))).isTrue();
+        assertThat(EtlBatchTuner.isContention(new SQLException("Lock wait timeout", "HY000", 1205))).isTrue();
+        assertThat(EtlBatchTuner.isContention(new SQLException("ORA-00060", "61000", 60))).isTrue();
+        BatchUpdateException batch = new BatchUpdateException("batch failed", "HY000", 0, new int[0]);
+        batch.setNextException(new SQLException("Deadlock found", "40001", 1213));
+        assertThat(EtlBatchTuner.isContention(batch)).isTrue();
+        assertThat(EtlBatchTuner.isContention(new SQLException("duplicate", "23505"))).isFalse();
+    }
+
+    private static void recordWindow(EtlBatchTuner tuner, long elapsedNanos) {
+        int batchSize = tuner.batchSize();
+        for (int batch = 0; batch < 4; batch++) {
+            tuner.recordBatch(batchSize, elapsedNanos);
+        }
+    }
+}
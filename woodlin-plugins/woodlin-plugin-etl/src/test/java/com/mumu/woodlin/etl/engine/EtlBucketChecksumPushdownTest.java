@@ -0,0 +1,77 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.dialect.GenericDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.MySqlDatabaseDialect;
+
+/**
+ * 桶位校验下推测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlBucketChecksumPushdownTest {
+
+    @Test
+    void shouldReadBucketAggregates() throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getInt(1)).thenReturn(3, 1);
+        when(resultSet.getLong(2)).thenReturn(20L, 10L);
+        when(resultSet.getString(3)).thenReturn("c", "a");
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(startsWith("SELECT MOD(CRC32("))).thenReturn(statement);
+
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> buckets = new EtlBucketChecksumPushdown(
+                new MySqlDatabaseDialect(), 4
+        ).query(connection, "`t`", "id", List.of("id", "name"), "`id` > ?", List.of(100L));
+
+        assertThat(buckets).containsExactly(
+                Map.entry(1, new EtlBucketChecksumPushdown.BucketAggregate(10L, "a")),
+                Map.entry(3, new EtlBucketChecksumPushdown.BucketAggregate(20L, "c"))
+        );
+        verify(statement).setObject(1, 100L);
+    }
+
+    @Test
+    void shouldReportBucketsThatDifferOrExistOnOneSide() {
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> source = Map.of(
+                0, new EtlBucketChecksumPushdown.BucketAggregate(5L, "a"),
+                1, new EtlBucketChecksumPushdown.BucketAggregate(5L, "b"),
+                2, new EtlBucketChecksumPushdown.BucketAggregate(5L, "c")
+        );
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> target = Map.of(
+                0, new EtlBucketChecksumPushdown.BucketAggregate(5L, "a"),
+                1, new EtlBucketChecksumPushdown.BucketAggregate(5L, "x"),
+                3, new EtlBucketChecksumPushdown.BucketAggregate(1L, "d")
+        );
+
+        assertThat(EtlBucketChecksumPushdown.changedBuckets(source, target)).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void shouldRejectUnsupportedDialect() {
+        EtlBucketChecksumPushdown pushdown = new EtlBucketChecksumPushdown(new GenericDatabaseDialect(), 4);
+
+        assertThat(pushdown.isSupported()).isFalse();
+        assertThatThrownBy(() -> pushdown.query(mock(Connection.class), "\"t\"", "id", List.of("id"), null, List.of()))
+                .isInstanceOf(SQLException.class);
+    }
+}
@@ -0,0 +1,124 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 行哈希与桶摘要测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlBucketDigestTest {
+
+    private final EtlRowSchema schema = EtlRowSchema.of(TableSchemaMetadata.builder()
+            .tableName("orders")
+            .columns(List.of(
+                    column("id", Types.BIGINT, null, 1),
+                    column("amount", Types.DECIMAL, 2, 2),
+                    column("name", Types.VARCHAR, null, 3)
+            ))
+            .build(), List.of("id", "amount", "name"));
+
+    @Test
+    void shouldMatchReferenceHashes() {
+        assertThat(EtlHashFunctions.xxHash64(new byte[0], 0, 0)).isEqualTo(0xEF46DB3751D8E999L);
+        assertThat(xxHash64("abc")).isEqualTo(0x44BC2CF5AD770999L);
+        assertThat(xxHash64("Nobody inspects the spammish repetition")).isEqualTo(0xFBCEA83C8A378BF1L);
+        assertThat(EtlHashFunctions.murmur3x64(new byte[0], 0, 0)).isZero();
+        byte[] hello = "hello".getBytes(StandardCharsets.UTF_8);
+        assertThat(EtlHashFunctions.murmur3x64(hello, 0, hello.length)).isEqualTo(0xCBD8A7B341BD9B02L);
+    }
+
+    @Test
+    void shouldIgnoreRowOrder() {
+        EtlRowBatch forward = batch(new Object[]{1L, "1.50", "a"}, new Object[]{2L, "2.00", "b"});
+        EtlRowBatch reversed = batch(new Object[]{2L, "2.00", "b"}, new Object[]{1L, "1.50", "a"});
+        EtlRowHasher hasher = EtlChecksumAlgorithm.XXH64_V2.newRowHasher();
+
+        EtlBucketDigest left = EtlBucketDigest.of(hasher, forward);
+        EtlBucketDigest right = EtlBucketDigest.of(hasher, reversed);
+
+        assertThat(left).isEqualTo(right);
+        assertThat(left.value()).hasSize(32).isEqualTo(right.value());
+    }
+
+    @Test
+    void shouldMergePartialDigestsInAnyOrder() {
+        EtlRowHasher hasher = EtlChecksumAlgorithm.MURMUR3_V2.newRowHasher();
+        EtlBucketDigest first = EtlBucketDigest.of(hasher, batch(new Object[]{1L, "1", "a"}));
+        EtlBucketDigest second = EtlBucketDigest.of(hasher, batch(new Object[]{2L, "2", "b"}));
+        EtlBucketDigest whole = EtlBucketDigest.of(hasher, batch(new Object[]{1L, "1", "a"}, new Object[]{2L, "2", "b"}));
+
+        EtlBucketDigest merged = new EtlBucketDigest();
+        merged.merge(second);
+        merged.merge(first);
+
+        assertThat(merged).isEqualTo(whole);
+        assertThat(merged.rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNormalizeEquivalentValues() {
+        EtlRowHasher hasher = EtlChecksumAlgorithm.XXH64_V2.newRowHasher();
+        EtlRowBatch typed = batch(new Object[]{7L, new BigDecimal("3.10"), "x"});
+        EtlRowBatch loose = batch(new Object[]{7, new BigDecimal("3.1"), "x"});
+        EtlRowBatch changed = batch(new Object[]{7L, new BigDecimal("3.11"), "x"});
+
+        assertThat(hasher.hash(typed, 0)).isEqualTo(hasher.hash(loose, 0));
+        assertThat(hasher.hash(typed, 0)).isNotEqualTo(hasher.hash(changed, 0));
+    }
+
+    @Test
+    void shouldNotCancelDuplicateRows() {
+        EtlRowHasher hasher = EtlChecksumAlgorithm.XXH64_V2.newRowHasher();
+        EtlBucketDigest duplicated = EtlBucketDigest.of(hasher,
+                batch(new Object[]{1L, "1", "a"}, new Object[]{1L, "1", "a"}, new Object[]{2L, "2", "b"}));
+        EtlBucketDigest single = EtlBucketDigest.of(hasher, batch(new Object[]{2L, "2", "b"}));
+
+        assertThat(duplicated.value()).isNotEqualTo(single.value());
+    }
+
+    @Test
+    void shouldResolveVersionedAlgorithmCodes() {
+        assertThat(EtlChecksumAlgorithm.fromCode(null)).isEqualTo(EtlChecksumAlgorithm.CRC32_V1);
+        assertThat(EtlChecksumAlgorithm.fromCode("xxh64")).isEqualTo(EtlChecksumAlgorithm.XXH64_V2);
+        assertThat(EtlChecksumAlgorithm.fromCode("MURMUR3_V2")).isEqualTo(EtlChecksumAlgorithm.MURMUR3_V2);
+        assertThat(EtlChecksumAlgorithm.CRC32_V1.isLegacy()).isTrue();
+        assertThatThrownBy(EtlChecksumAlgorithm.CRC32_V1::newRowHasher).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> EtlChecksumAlgorithm.fromCode("MD5")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private EtlRowBatch batch(Object[]... rows) {
+        EtlRowBatch batch = new EtlRowBatch(schema, rows.length);
+        for (Object[] row : rows) {
+            batch.appendRow(row);
+        }
+        return batch;
+    }
+
+    private static long xxHash64(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return EtlHashFunctions.xxHash64(bytes, 0, bytes.length);
+    }
+
+    private static TableColumnMetadata column(String name, int jdbcType, Integer scale, int ordinal) {
+        return TableColumnMetadata.builder()
+                .columnName(name)
+                .jdbcType(jdbcType)
+                .decimalDigits(scale)
+                .ordinalPosition(ordinal)
+                .nullable(true)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ETL 桶位工作组测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlBucketWorkerGroupTest {
+
+    private final EtlBucketWorkerPool workerPool = new EtlBucketWorkerPool(8, 8, 64, 60, 8);
+
+    @AfterEach
+    void tearDown() {
+        workerPool.shutdown();
+    }
+
+    @Test
+    void shouldCapParallelismAndReuseWorkerConnections() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Set<Connection> usedConnections = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        try (EtlBucketWorkerGroup group = new EtlBucketWorkerGroup(dataSource, workerPool, 2)) {
+            for (int bucket = 0; bucket < 20; bucket++) {
+                int current = bucket;
+                futures.add(group.submit(connection -> {
+                    usedConnections.add(connection);
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    running.decrementAndGet();
+                    return current;
+                }));
+            }
+            for (CompletableFuture<Integer> future : futures) {
+                future.get();
+            }
+        }
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(usedConnections).hasSizeLessThanOrEqualTo(2);
+        for (Connection connection : usedConnections) {
+            verify(connection).close();
+        }
+    }
+
+    @Test
+    void shouldDiscardConnectionOfFailedWorker() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection broken = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(broken);
+        try (EtlBucketWorkerGroup group = new EtlBucketWorkerGroup(dataSource, workerPool, 1)) {
+            CompletableFuture<Object> future = group.submit(connection -> {
+                throw new IllegalStateException("bucket failed");
+            });
+            assertThatThrownBy(future::get)
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(IllegalStateException.class);
+            verify(broken).close();
+        }
+    }
+
+    @Test
+    void shouldCloseConnectionOfWorkerFinishingAfterGroupClosed() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection straggler = mock(Connection.class);
+        when(dataSource.getConnection()).thenReturn(straggler);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CompletableFuture<Integer> future;
+        try (EtlBucketWorkerGroup group = new EtlBucketWorkerGroup(dataSource, workerPool, 1)) {
+            future = group.submit(connection -> {
+                started.countDown();
+                proceed.await();
+                return 1;
+            });
+            started.await();
+        }
+        proceed.countDown();
+        assertThat(future.get()).isEqualTo(1);
+        verify(straggler).close();
+    }
+}
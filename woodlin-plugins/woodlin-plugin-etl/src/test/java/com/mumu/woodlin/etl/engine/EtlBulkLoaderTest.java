@@ -0,0 +1,207 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+
+import com.mumu.woodlin.etl.dialect.BulkLoadMethod;
+import com.mumu.woodlin.etl.dialect.GenericDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.MySqlDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.PostgreSqlDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.SqlServerDatabaseDialect;
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 目标端批量装载器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlBulkLoaderTest {
+
+    private final EtlRowSchema schema = EtlRowSchema.of(TableSchemaMetadata.builder()
+            .tableName("orders")
+            .columns(List.of(
+                    column("id", Types.BIGINT, 1),
+                    column("amount", Types.DECIMAL, 2),
+                    column("name", Types.VARCHAR, 3)
+            ))
+            .build(), List.of("id", "amount", "name"));
+
+    @Test
+    void shouldEncodeRowsAsQuotedCsv() throws Exception {
+        EtlRowBatch rows = batch(3);
+        rows.appendRow(new Object[]{1L, new BigDecimal("1E+2"), "say \"hi\", bye"});
+        rows.appendRow(new Object[]{2L, null, ""});
+
+        byte[] bytes;
+        try (InputStream stream = new EtlBulkLoader.CsvRowStream(rows, "NULL")) {
+            bytes = stream.readAllBytes();
+        }
+
+        assertThat(new String(bytes, StandardCharsets.UTF_8))
+                .isEqualTo("\"1\",\"100\",\"say \"\"hi\"\", bye\"\n\"2\",NULL,\"\"\n");
+    }
+
+    @Test
+    void shouldSplitMultiRowInsertsByRowLimit() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        EtlRowBatch rows = batch(2500);
+        for (long id = 0; id < 2500; id++) {
+            rows.appendRow(new Object[]{id, BigDecimal.ONE, "n" + id});
+        }
+
+        EtlBulkLoader loader = new EtlBulkLoader(new SqlServerDatabaseDialect(), "[orders]", schema);
+
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.MULTI_ROW_INSERT);
+        assertThat(loader.load(connection, rows)).isEqualTo(2500);
+        verify(statement, times(4)).executeUpdate();
+        verify(statement).setString(1998, "n665");
+    }
+
+    @Test
+    void shouldFallBackWhenNativeLoadIsUnavailable() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(connection.unwrap(any())).thenThrow(new SQLException("not a PgConnection"));
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        EtlRowBatch rows = batch(2);
+        rows.appendRow(new Object[]{1L, BigDecimal.ONE, "a"});
+        rows.appendRow(new Object[]{2L, BigDecimal.TEN, "b"});
+
+        EtlBulkLoader loader = new EtlBulkLoader(new PostgreSqlDatabaseDialect(), "\"orders\"", schema);
+
+        assertThat(loader.load(connection, rows)).isEqualTo(2);
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.MULTI_ROW_INSERT);
+        verify(connection).prepareStatement("INSERT INTO \"orders\" (\"id\", \"amount\", \"name\") VALUES (?, ?, ?), (?, ?, ?)");
+    }
+
+    @Test
+    void shouldFallBackWhenDriverClassIsMissing() throws Exception {
+        Connection connection = mock(Connection.class);
+        CopyManager copyManager = mockCopyManager(connection);
+        when(copyManager.copyIn(anyString(), any(InputStream.class)))
+                .thenThrow(new NoClassDefFoundError("org/postgresql/copy/CopyIn"));
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+        EtlBulkLoader loader = new EtlBulkLoader(new PostgreSqlDatabaseDialect(), "\"orders\"", schema);
+
+        assertThat(loader.load(connection, twoRows())).isEqualTo(2);
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.MULTI_ROW_INSERT);
+    }
+
+    @Test
+    void shouldFallBackWhenLocalInfileIsDisabled() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(mock(JdbcStatement.class));
+        when(statement.execute(anyString())).thenThrow(new SQLException(
+                "Loading local data is disabled; this must be enabled on both the client and server sides",
+                "42000", 3948));
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+
+        EtlBulkLoader loader = new EtlBulkLoader(new MySqlDatabaseDialect(), "`orders`", schema);
+
+        assertThat(loader.load(connection, twoRows())).isEqualTo(2);
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.MULTI_ROW_INSERT);
+    }
+
+    @Test
+    void shouldRethrowConstraintViolationWithoutFallback() throws Exception {
+        Connection connection = mock(Connection.class);
+        CopyManager copyManager = mockCopyManager(connection);
+        SQLException duplicateKey = new SQLException("duplicate key value violates unique constraint", "23505");
+        when(copyManager.copyIn(anyString(), any(InputStream.class))).thenThrow(duplicateKey);
+
+        EtlBulkLoader loader = new EtlBulkLoader(new PostgreSqlDatabaseDialect(), "\"orders\"", schema);
+
+        assertThatThrownBy(() -> loader.load(connection, twoRows())).isSameAs(duplicateKey);
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.COPY);
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void shouldRethrowInvalidValueWithoutFallback() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.unwrap(JdbcStatement.class)).thenReturn(mock(JdbcStatement.class));
+        SQLException badValue = new SQLException("Incorrect decimal value: 'x' for column 'amount'", "22007", 1366);
+        when(statement.execute(anyString())).thenThrow(badValue);
+
+        EtlBulkLoader loader = new EtlBulkLoader(new MySqlDatabaseDialect(), "`orders`", schema);
+
+        assertThatThrownBy(() -> loader.load(connection, twoRows())).isSameAs(badValue);
+        assertThat(loader.method()).isEqualTo(BulkLoadMethod.LOAD_DATA);
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void shouldAvoidLoadDataForLossyColumnTypes() {
+        EtlRowSchema withFlag = EtlRowSchema.of(TableSchemaMetadata.builder()
+                .tableName("flags")
+                .columns(List.of(column("id", Types.BIGINT, 1), column("enabled", Types.BOOLEAN, 2)))
+                .build(), List.of("id", "enabled"));
+
+        assertThat(new EtlBulkLoader(new MySqlDatabaseDialect(), "`flags`", withFlag).method())
+                .isEqualTo(BulkLoadMethod.MULTI_ROW_INSERT);
+        assertThat(new EtlBulkLoader(new MySqlDatabaseDialect(), "`orders`", schema).method())
+                .isEqualTo(BulkLoadMethod.LOAD_DATA);
+        assertThat(new EtlBulkLoader(new GenericDatabaseDialect(), "\"orders\"", schema).method())
+                .isEqualTo(BulkLoadMethod.BATCH_INSERT);
+    }
+
+    private EtlRowBatch twoRows() {
+        EtlRowBatch rows = batch(2);
+        rows.appendRow(new Object[]{1L, BigDecimal.ONE, "a"});
+        rows.appendRow(new Object[]{2L, BigDecimal.TEN, "b"});
+        return rows;
+    }
+
+    private static CopyManager mockCopyManager(Connection connection) throws SQLException {
+        PGConnection pgConnection = mock(PGConnection.class);
+        CopyManager copyManager = mock(CopyManager.class);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        return copyManager;
+    }
+
+    private EtlRowBatch batch(int capacity) {
+        return new EtlRowBatch(schema, capacity);
+    }
+
+    private static TableColumnMetadata column(String name, int jdbcType, int ordinal) {
+        return TableColumnMetadata.builder()
+                .columnName(name)
+                .jdbcType(jdbcType)
+                .ordinalPosition(ordinal)
+                .nullable(true)
+                .build();
+    }
+}
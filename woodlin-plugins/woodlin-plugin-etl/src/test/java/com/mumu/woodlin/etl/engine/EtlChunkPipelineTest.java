@@ -0,0 +1,103 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * ETL 分块流水线测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlChunkPipelineTest {
+
+    @Test
+    void shouldDeliverAllChunksInOrder() throws Exception {
+        EtlChunkPipeline<EtlRowChunk, EtlRowChunk> pipeline = new EtlChunkPipeline<>("test", 2, 1024 * 1024);
+        List<Long> received = new ArrayList<>();
+        pipeline.run(
+                emitter -> {
+                    for (long sequence = 0; sequence < 50; sequence++) {
+                        emitter.emit(chunk(sequence, 128));
+                    }
+                },
+                chunk -> new EtlRowChunk(chunk.sequence() * 10, chunk.rows(), chunk.estimatedBytes()),
+                chunk -> received.add(chunk.sequence())
+        );
+        assertThat(received).hasSize(50);
+        assertThat(received.get(0)).isZero();
+        assertThat(received.get(49)).isEqualTo(490L);
+        assertThat(received).isSorted();
+    }
+
+    @Test
+    void shouldBlockReaderWhenByteBudgetExhausted() throws Exception {
+        EtlChunkPipeline<EtlRowChunk, EtlRowChunk> pipeline = new EtlChunkPipeline<>("test", 8, 3 * 1024);
+        AtomicLong emitted = new AtomicLong();
+        AtomicLong consumed = new AtomicLong();
+        AtomicLong maxInFlight = new AtomicLong();
+        pipeline.run(
+                emitter -> {
+                    for (long sequence = 0; sequence < 30; sequence++) {
+                        emitter.emit(chunk(sequence, 1024));
+                        emitted.incrementAndGet();
+                    }
+                },
+                chunk -> chunk,
+                chunk -> {
+                    maxInFlight.accumulateAndGet(emitted.get() - consumed.get(), Math::max);
+                    Thread.sleep(2);
+                    consumed.incrementAndGet();
+                }
+        );
+        assertThat(consumed.get()).isEqualTo(30);
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void shouldPropagateReaderFailure() {
+        EtlChunkPipeline<EtlRowChunk, EtlRowChunk> pipeline = new EtlChunkPipeline<>("test", 2, 1024 * 1024);
+        assertThatThrownBy(() -> pipeline.run(
+                emitter -> {
+                    emitter.emit(chunk(0, 128));
+                    throw new SQLException("boom");
+                },
+                chunk -> chunk,
+                chunk -> {
+                }
+        )).isInstanceOf(SQLException.class).hasMessage("boom");
+    }
+
+    @Test
+    void shouldStopReaderWhenSinkFails() {
+        EtlChunkPipeline<EtlRowChunk, EtlRowChunk> pipeline = new EtlChunkPipeline<>("test", 2, 1024 * 1024);
+        AtomicInteger emitted = new AtomicInteger();
+        assertThatThrownBy(() -> pipeline.run(
+                emitter -> {
+                    for (long sequence = 0; ; sequence++) {
+                        emitter.emit(chunk(sequence, 128));
+                        emitted.incrementAndGet();
+                    }
+                },
+                chunk -> chunk,
+                chunk -> {
+                    throw new IllegalStateException("sink failed");
+                }
+        )).isInstanceOf(IllegalStateException.class).hasMessage("sink failed");
+        assertThat(emitted.get()).isLessThan(10);
+    }
+
+    private EtlRowChunk chunk(long sequence, long bytes) {
+        EtlRowBatch rows = new EtlRowBatch(EtlRowSchema.of(null, List.of("id")), 1);
+        rows.appendRow(new Object[]{sequence});
+        return new EtlRowChunk(sequence, rows, bytes);
+    }
+}
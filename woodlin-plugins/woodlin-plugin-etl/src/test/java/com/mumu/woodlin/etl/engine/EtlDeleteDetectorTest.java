@@ -0,0 +1,81 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 有序归并删除检测测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlDeleteDetectorTest {
+
+    @Test
+    void shouldReportTargetOnlyKeysInBatches() throws Exception {
+        List<List<Object>> batches = new ArrayList<>();
+
+        EtlDeleteDetector.Result result = new EtlDeleteDetector(2).detect(
+                stream(List.of(1L, 3L, 5L, 8L)),
+                stream(List.of(1L, 2L, 3L, 4L, 6L, 8L, 9L)),
+                keys -> {
+                    batches.add(keys);
+                    return keys.size();
+                }
+        );
+
+        assertThat(batches).containsExactly(List.of(2L, 4L), List.of(6L, 9L));
+        assertThat(result).isEqualTo(new EtlDeleteDetector.Result(4, 7, 4, 4));
+    }
+
+    @Test
+    void shouldTreatAllTargetKeysAsCandidatesWhenSourceIsEmpty() throws Exception {
+        List<Object> candidates = new ArrayList<>();
+
+        EtlDeleteDetector.Result result = new EtlDeleteDetector(10).detect(
+                stream(List.of()),
+                stream(List.of("a", "b")),
+                keys -> {
+                    candidates.addAll(keys);
+                    return 0;
+                }
+        );
+
+        assertThat(candidates).containsExactly("a", "b");
+        assertThat(result.deletedRows()).isZero();
+    }
+
+    @Test
+    void shouldCompareTextByCodePointAndNumbersByValue() {
+        assertThat(EtlDeleteDetector.compareKeys("B", "a")).isNegative();
+        assertThat(EtlDeleteDetector.compareKeys("￿", "😀")).isNegative();
+        assertThat(EtlDeleteDetector.compareKeys(2, 10L)).isNegative();
+        assertThat(EtlDeleteDetector.compareKeys(new java.math.BigDecimal("1.50"), 1.5d)).isZero();
+    }
+
+    @Test
+    void shouldStopWhenKeysAreOutOfOrder() {
+        List<Object> candidates = new ArrayList<>();
+
+        assertThatThrownBy(() -> new EtlDeleteDetector(1).detect(
+                stream(List.of("b", "a")),
+                stream(List.of("c", "d")),
+                keys -> {
+                    candidates.addAll(keys);
+                    return keys.size();
+                }
+        )).isInstanceOf(IllegalStateException.class);
+        assertThat(candidates).isEmpty();
+    }
+
+    private static EtlDeleteDetector.KeyStream stream(List<Object> keys) {
+        Iterator<Object> iterator = keys.iterator();
+        return () -> iterator.hasNext() ? iterator.next() : null;
+    }
+}
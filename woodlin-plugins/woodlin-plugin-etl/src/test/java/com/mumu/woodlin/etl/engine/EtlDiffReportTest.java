@@ -0,0 +1,120 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 仅比对差异报告测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlDiffReportTest {
+
+    private final EtlRowSchema schema = EtlRowSchema.of(TableSchemaMetadata.builder()
+            .tableName("orders")
+            .columns(List.of(
+                    column("id", Types.BIGINT, null, 1),
+                    column("amount", Types.DECIMAL, 2, 2),
+                    column("name", Types.VARCHAR, null, 3)
+            ))
+            .build(), List.of("id", "amount", "name"));
+
+    @Test
+    void shouldClassifyMissingAndChangedRowsWithColumnDeltas() {
+        EtlDiffReport report = new EtlDiffReport(10, 5);
+        EtlRowBatch source = batch(
+                new Object[]{1L, new BigDecimal("1.50"), "a"},
+                new Object[]{2L, new BigDecimal("2.00"), "b"},
+                new Object[]{3L, new BigDecimal("3.00"), "c"}
+        );
+        EtlRowBatch target = batch(
+                new Object[]{3L, new BigDecimal("3.00"), "c,d"},
+                new Object[]{1L, new BigDecimal("1.5"), "a"}
+        );
+
+        report.compareSegment(7, source, target, 0, EtlChecksumAlgorithm.XXH64_V2.newRowHasher());
+        report.addExtraKey(7, 9L);
+
+        EtlDiffReport.BucketDiff bucket = report.buckets().get(0);
+        assertThat(bucket.bucketNumber()).isEqualTo(7);
+        assertThat(bucket.missingKeys()).containsExactly("2");
+        assertThat(bucket.extraKeys()).containsExactly("9");
+        assertThat(bucket.changedRows()).singleElement().satisfies(row -> {
+            assertThat(row.key()).isEqualTo("3");
+            assertThat(row.columns()).containsExactly(new EtlDiffReport.ColumnDelta("name", "c", "c,d"));
+        });
+        assertThat(report.missingCount()).isEqualTo(1);
+        assertThat(report.extraCount()).isEqualTo(1);
+        assertThat(report.changedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountEveryDifferenceButSampleKeys() {
+        EtlDiffReport report = new EtlDiffReport(2, 1);
+        for (long key = 1; key <= 5; key++) {
+            report.addExtraKey(0, key);
+        }
+        report.compareSegment(1, batch(new Object[]{10L, BigDecimal.ONE, "x"}, new Object[]{11L, BigDecimal.ONE, "y"},
+                new Object[]{12L, BigDecimal.ONE, "z"}), batch(), 0, EtlChecksumAlgorithm.XXH64_V2.newRowHasher());
+
+        assertThat(report.buckets()).extracting(EtlDiffReport.BucketDiff::bucketNumber).containsExactly(0, 1);
+        assertThat(report.buckets().get(0).extraKeys()).hasSize(2);
+        assertThat(report.buckets().get(1).missingKeys()).containsExactly("10", "11");
+        assertThat(report.extraCount()).isEqualTo(5);
+        assertThat(report.missingCount()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStreamStoredReportAsCsv() throws IOException {
+        EtlDiffReport report = new EtlDiffReport(10, 5);
+        report.compareSegment(3, batch(new Object[]{1L, new BigDecimal("1.00"), "say \"hi\""}),
+                batch(new Object[]{1L, new BigDecimal("2.00"), "hi"}), 0, EtlChecksumAlgorithm.XXH64_V2.newRowHasher());
+        report.addExtraKey(3, "k-9");
+        ObjectMapper objectMapper = new ObjectMapper();
+        String stored = objectMapper.writeValueAsString(report.buckets());
+
+        StringWriter writer = new StringWriter();
+        try (MappingIterator<EtlDiffReport.BucketDiff> buckets = objectMapper
+                .readerFor(EtlDiffReport.BucketDiff.class).readValues(stored)) {
+            EtlDiffReport.writeCsv(buckets, writer);
+        }
+
+        assertThat(writer.toString().split("\r\n")).containsExactly(
+                "bucket_number,diff_type,primary_key,column_name,source_value,target_value",
+                "3,EXTRA,k-9,,,",
+                "3,CHANGED,1,amount,1.00,2.00",
+                "3,CHANGED,1,name,\"say \"\"hi\"\"\",hi"
+        );
+    }
+
+    private EtlRowBatch batch(Object[]... rows) {
+        EtlRowBatch batch = new EtlRowBatch(schema, Math.max(rows.length, 1));
+        for (Object[] row : rows) {
+            batch.appendRow(row);
+        }
+        return batch;
+    }
+
+    private static TableColumnMetadata column(String name, int jdbcType, Integer scale, int ordinal) {
+        return TableColumnMetadata.builder()
+                .columnName(name)
+                .jdbcType(jdbcType)
+                .decimalDigits(scale)
+                .ordinalPosition(ordinal)
+                .nullable(true)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.dialect.TargetIndexPlan;
+
+/**
+ * 清空重载索引维护器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlIndexRebuilderTest {
+
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:etl_index_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, customer_id BIGINT, status VARCHAR(16), note VARCHAR(64))");
+            statement.execute("CREATE INDEX idx_customer ON orders (customer_id)");
+            statement.execute("CREATE INDEX idx_status ON orders (status)");
+            statement.execute("CREATE INDEX idx_note ON orders (note)");
+        }
+    }
+
+    @Test
+    void shouldDropIndexesAndRebuildThemInParallel() throws SQLException {
+        TargetIndexPlan plan = plan();
+        EtlIndexRebuilder rebuilder = new EtlIndexRebuilder("test", 2);
+
+        try (Connection connection = dataSource.getConnection()) {
+            rebuilder.disable(dataSource, connection, plan);
+        }
+        assertThat(indexNames()).doesNotContain("IDX_CUSTOMER", "IDX_STATUS", "IDX_NOTE");
+
+        assertThat(rebuilder.rebuild(dataSource, plan)).isGreaterThanOrEqualTo(0L);
+        assertThat(indexNames()).contains("IDX_CUSTOMER", "IDX_STATUS", "IDX_NOTE");
+    }
+
+    @Test
+    void shouldRestoreAlreadyDroppedIndexesWhenDisableFailsMidway() throws SQLException {
+        TargetIndexPlan plan = new TargetIndexPlan(
+            List.of("idx_customer", "idx_missing"),
+            List.of(),
+            List.of("DROP INDEX idx_customer", "DROP INDEX idx_missing"),
+            List.of("CREATE INDEX idx_customer ON orders (customer_id)", "CREATE INDEX idx_missing ON orders (note)"),
+            List.of()
+        );
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertThatThrownBy(() -> new EtlIndexRebuilder("test", 2).disable(dataSource, connection, plan))
+                .isInstanceOf(SQLException.class)
+                .satisfies(exception -> assertThat(exception.getSuppressed()).isEmpty());
+        }
+        assertThat(indexNames()).contains("IDX_CUSTOMER").doesNotContain("IDX_MISSING");
+    }
+
+    @Test
+    void shouldRunRemainingStatementsAndReportFailedOnes() throws SQLException {
+        TargetIndexPlan plan = plan();
+        EtlIndexRebuilder rebuilder = new EtlIndexRebuilder("test", 4);
+        try (Connection connection = dataSource.getConnection()) {
+            rebuilder.disable(dataSource, connection, plan);
+        }
+        TargetIndexPlan broken = new TargetIndexPlan(plan.indexNames(), List.of(), plan.disableStatements(),
+            List.of(plan.rebuildStatements().get(0), "CREATE INDEX idx_bad ON orders (missing_column)",
+                plan.rebuildStatements().get(2)),
+            List.of());
+
+        assertThatThrownBy(() -> rebuilder.rebuild(dataSource, broken))
+            .isInstanceOf(SQLException.class)
+            .hasMessageContaining("idx_bad");
+        assertThat(indexNames()).contains("IDX_CUSTOMER", "IDX_NOTE");
+    }
+
+    @Test
+    void shouldSliceExecutedPartByConstraintThenIndexStatements() {
+        TargetIndexPlan plan = new TargetIndexPlan(
+            List.of("idx_a", "idx_b"),
+            List.of("fk_a"),
+            List.of("drop fk_a", "drop idx_a", "drop idx_b"),
+            List.of("create idx_a", "create idx_b"),
+            List.of("add fk_a")
+        );
+
+        assertThat(plan.executedPart(0).isEmpty()).isTrue();
+        assertThat(plan.executedPart(1).restoreDdl()).containsExactly("add fk_a");
+        assertThat(plan.executedPart(2).restoreDdl()).containsExactly("create idx_a", "add fk_a");
+        assertThat(plan.restoreDdl()).containsExactly("create idx_a", "create idx_b", "add fk_a");
+    }
+
+    private TargetIndexPlan plan() {
+        return new TargetIndexPlan(
+            List.of("idx_customer", "idx_status", "idx_note"),
+            List.of(),
+            List.of("DROP INDEX idx_customer", "DROP INDEX idx_status", "DROP INDEX idx_note"),
+            List.of("CREATE INDEX idx_customer ON orders (customer_id)", "CREATE INDEX idx_status ON orders (status)",
+                "CREATE INDEX idx_note ON orders (note)"),
+            List.of()
+        );
+    }
+
+    private List<String> indexNames() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.getMetaData().getIndexInfo(null, null, "ORDERS", false, false)) {
+            List<String> names = new ArrayList<>();
+            while (resultSet.next()) {
+                names.add(resultSet.getString("INDEX_NAME"));
+            }
+            return names;
+        }
+    }
+}
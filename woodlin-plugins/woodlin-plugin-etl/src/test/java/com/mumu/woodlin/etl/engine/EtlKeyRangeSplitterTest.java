@@ -0,0 +1,97 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.dialect.GenericDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.MySqlDatabaseDialect;
+
+/**
+ * 切分键区间切分器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlKeyRangeSplitterTest {
+
+    @Test
+    void shouldNotSplitSmallTable() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement bounds = statement(boundsResult(1L, 500L, 500L));
+        when(connection.prepareStatement(anyString())).thenReturn(bounds);
+
+        List<EtlKeyRange> ranges = new EtlKeyRangeSplitter(new MySqlDatabaseDialect(), 4, 1000L)
+                .split(connection, "`t`", "id", null, List.of(), false);
+
+        assertThat(ranges).containsExactly(EtlKeyRange.unbounded());
+    }
+
+    @Test
+    void shouldUseSampledQuantilesAsRangeBoundaries() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement bounds = statement(boundsResult(1L, 1000L, 1000L));
+        ResultSet quantileResult = mock(ResultSet.class);
+        when(quantileResult.next()).thenReturn(true, true, true, true, false);
+        when(quantileResult.getObject(1)).thenReturn(250L, 500L, 750L, 1000L);
+        PreparedStatement quantiles = statement(quantileResult);
+        when(connection.prepareStatement(startsWith("SELECT MIN("))).thenReturn(bounds);
+        when(connection.prepareStatement(startsWith("SELECT MAX("))).thenReturn(quantiles);
+
+        List<EtlKeyRange> ranges = new EtlKeyRangeSplitter(new MySqlDatabaseDialect(), 4, 100L)
+                .split(connection, "`t`", "id", null, List.of(), false);
+
+        assertThat(ranges).containsExactly(
+                new EtlKeyRange(0, null, 250L, false),
+                new EtlKeyRange(1, 250L, 500L, false),
+                new EtlKeyRange(2, 500L, 750L, false),
+                new EtlKeyRange(3, 750L, null, false)
+        );
+        assertThat(ranges.get(1).condition("`id`")).isEqualTo("`id` > ? AND `id` <= ?");
+        assertThat(ranges.get(1).parameters()).containsExactly(250L, 500L);
+    }
+
+    @Test
+    void shouldInterpolateIntegerKeysWhenQuantilesUnsupported() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement bounds = statement(boundsResult(0, 300, 3000L));
+        when(connection.prepareStatement(anyString())).thenReturn(bounds);
+
+        List<EtlKeyRange> ranges = new EtlKeyRangeSplitter(new GenericDatabaseDialect(), 3, 100L)
+                .split(connection, "\"t\"", "updated_at", null, List.of(), true);
+
+        assertThat(ranges).containsExactly(
+                new EtlKeyRange(0, null, 100L, false),
+                new EtlKeyRange(1, 100L, 200L, false),
+                new EtlKeyRange(2, 200L, null, false),
+                new EtlKeyRange(3, null, null, true)
+        );
+        assertThat(ranges.get(3).condition("\"updated_at\"")).isEqualTo("\"updated_at\" IS NULL");
+        assertThat(EtlKeyRange.rangeIndexOf(ranges.get(2).chunkSequence(7L))).isEqualTo(2);
+    }
+
+    private ResultSet boundsResult(Object min, Object max, long count) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getObject(1)).thenReturn(min);
+        when(resultSet.getObject(2)).thenReturn(max);
+        when(resultSet.getLong(3)).thenReturn(count);
+        return resultSet;
+    }
+
+    private PreparedStatement statement(ResultSet resultSet) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 桶位 Merkle 树测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlMerkleTreeTest {
+
+    @Test
+    void shouldDescendOnlyIntoChangedSubtrees() {
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> leaves = leaves(64);
+        EtlMerkleTree previous = EtlMerkleTree.build(leaves, 64, 4);
+        leaves.put(37, new EtlBucketChecksumPushdown.BucketAggregate(11L, "changed"));
+
+        EtlMerkleTree.Diff diff = EtlMerkleTree.build(leaves, 64, 4).diff(previous);
+
+        assertThat(diff.changedLeaves()).containsExactly(37);
+        assertThat(diff.comparedNodes()).isEqualTo(1 + 4 + 4 + 4);
+    }
+
+    @Test
+    void shouldCompareOnlyRootWhenUnchanged() {
+        EtlMerkleTree previous = EtlMerkleTree.build(leaves(64), 64, 8);
+
+        EtlMerkleTree.Diff diff = EtlMerkleTree.build(leaves(64), 64, 8).diff(previous);
+
+        assertThat(diff.changedLeaves()).isEmpty();
+        assertThat(diff.comparedNodes()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRestorePersistedNodes() {
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> leaves = leaves(10);
+        leaves.remove(3);
+        EtlMerkleTree tree = EtlMerkleTree.build(leaves, 10, 3);
+
+        EtlMerkleTree restored = EtlMerkleTree.restore(3, tree.nodes());
+
+        assertThat(restored).isNotNull();
+        assertThat(restored.rootHash()).isEqualTo(tree.rootHash());
+        assertThat(tree.diff(restored).changedLeaves()).isEmpty();
+        leaves.put(3, new EtlBucketChecksumPushdown.BucketAggregate(1L, "new"));
+        assertThat(EtlMerkleTree.build(leaves, 10, 3).diff(restored).changedLeaves()).containsExactly(3);
+    }
+
+    @Test
+    void shouldRejectIncompatibleTrees() {
+        EtlMerkleTree tree = EtlMerkleTree.build(leaves(16), 16, 4);
+        List<EtlMerkleTree.Node> partial = new ArrayList<>(tree.nodes());
+        partial.remove(5);
+
+        assertThat(EtlMerkleTree.restore(4, partial)).isNull();
+        assertThat(EtlMerkleTree.restore(8, tree.nodes())).isNull();
+        assertThat(tree.diff(EtlMerkleTree.build(leaves(16), 16, 2))).isNull();
+        assertThat(tree.diff(null)).isNull();
+    }
+
+    private Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> leaves(int count) {
+        Map<Integer, EtlBucketChecksumPushdown.BucketAggregate> leaves = new TreeMap<>();
+        for (int bucket = 0; bucket < count; bucket++) {
+            leaves.put(bucket, new EtlBucketChecksumPushdown.BucketAggregate(10L + bucket, "d" + bucket));
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 区间并行读取器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlPartitionedReaderTest {
+
+    @Test
+    void shouldReadAllRangesConcurrentlyKeepingOrderWithinRange() throws Exception {
+        List<EtlKeyRange> ranges = List.of(
+                new EtlKeyRange(0, null, 10L, false),
+                new EtlKeyRange(1, 10L, 20L, false),
+                new EtlKeyRange(2, 20L, null, false)
+        );
+        List<Long> emitted = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        new EtlPartitionedReader("test", 2).<Long>read(ranges, emitted::add, (range, emitter) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            for (long local = 0; local < 5; local++) {
+                emitter.emit(range.chunkSequence(local));
+                Thread.sleep(2);
+            }
+            running.decrementAndGet();
+        });
+
+        assertThat(emitted).hasSize(15);
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        Map<Integer, List<Long>> byRange = new ConcurrentHashMap<>();
+        for (Long sequence : emitted) {
+            byRange.computeIfAbsent(EtlKeyRange.rangeIndexOf(sequence), key -> new ArrayList<>()).add(sequence);
+        }
+        for (List<Long> sequences : byRange.values()) {
+            assertThat(sequences).isSorted();
+        }
+    }
+
+    @Test
+    void shouldStopOtherRangesAndRethrowFirstFailure() {
+        List<EtlKeyRange> ranges = List.of(
+                new EtlKeyRange(0, null, 10L, false),
+                new EtlKeyRange(1, 10L, null, false)
+        );
+        AtomicInteger emittedAfterFailure = new AtomicInteger();
+
+        assertThatThrownBy(() -> new EtlPartitionedReader("test", 2).<Long>read(ranges, chunk -> { }, (range, emitter) -> {
+            if (range.index() == 0) {
+                throw new IllegalStateException("range failed");
+            }
+            Thread.sleep(50);
+            for (long local = 0; local < 1000; local++) {
+                emitter.emit(local);
+                emittedAfterFailure.incrementAndGet();
+            }
+        })).isInstanceOf(IllegalStateException.class).hasMessage("range failed");
+        assertThat(emittedAfterFailure.get()).isZero();
+    }
+}
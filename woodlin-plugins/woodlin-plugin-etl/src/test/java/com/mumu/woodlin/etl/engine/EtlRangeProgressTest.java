@@ -0,0 +1,55 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 区间续跑进度测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlRangeProgressTest {
+
+    @Test
+    void shouldAdvanceEachRangeIndependently() {
+        EtlRangeProgress progress = new EtlRangeProgress(List.of());
+        EtlKeyRange first = new EtlKeyRange(0, null, 100L, false);
+        EtlKeyRange second = new EtlKeyRange(1, 100L, null, false);
+
+        assertThat(progress.commit(first.chunkSequence(0), 40L, 40, true))
+                .isEqualTo(new EtlRangeProgress.Commit(0, 40L, 40));
+        assertThat(progress.commit(second.chunkSequence(0), 180L, 50, true))
+                .isEqualTo(new EtlRangeProgress.Commit(1, 180L, 50));
+        assertThat(progress.commit(first.chunkSequence(1), 100L, 60, true))
+                .isEqualTo(new EtlRangeProgress.Commit(0, 100L, 100));
+        assertThat(progress.resumedRows()).isZero();
+    }
+
+    @Test
+    void shouldFreezeRangeAfterUncleanChunk() {
+        EtlRangeProgress progress = new EtlRangeProgress(List.of());
+        EtlKeyRange range = new EtlKeyRange(2, 10L, 20L, false);
+
+        assertThat(progress.commit(range.chunkSequence(0), 12L, 2, true)).isNotNull();
+        assertThat(progress.commit(range.chunkSequence(1), 15L, 3, false)).isNull();
+        assertThat(progress.commit(range.chunkSequence(2), 20L, 5, true)).isNull();
+    }
+
+    @Test
+    void shouldContinueFromResumedLedger() {
+        EtlRangeProgress progress = new EtlRangeProgress(List.of(
+                new EtlRangeProgress.Commit(0, "40", 40),
+                new EtlRangeProgress.Commit(1, null, 0)
+        ));
+
+        assertThat(progress.resumedRows()).isEqualTo(40);
+        assertThat(progress.commit(EtlKeyRange.unbounded().chunkSequence(0), null, 5, true))
+                .isEqualTo(new EtlRangeProgress.Commit(0, "40", 45));
+        assertThat(progress.commit(EtlKeyRange.unbounded().chunkSequence(1), 90L, 10, true))
+                .isEqualTo(new EtlRangeProgress.Commit(0, 90L, 55));
+    }
+}
@@ -0,0 +1,122 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 按列存储行批次测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlRowBatchTest {
+
+    private final TableSchemaMetadata metadata = TableSchemaMetadata.builder()
+            .tableName("orders")
+            .columns(List.of(
+                    column("id", Types.BIGINT, "BIGINT", null, 1),
+                    column("amount", Types.DECIMAL, "DECIMAL", 2, 2),
+                    column("name", Types.VARCHAR, "VARCHAR", null, 3),
+                    column("updated_at", Types.TIMESTAMP, "DATETIME", null, 4)
+            ))
+            .build();
+
+    @Test
+    void shouldOrderColumnsByOrdinalPosition() {
+        EtlRowSchema schema = EtlRowSchema.of(metadata, List.of("name", "extra", "id", "amount"));
+
+        assertThat(schema.columnNames()).containsExactly("id", "amount", "name", "extra");
+        assertThat(schema.type(0)).isEqualTo(EtlColumnType.LONG);
+        assertThat(schema.type(1)).isEqualTo(EtlColumnType.DECIMAL);
+        assertThat(schema.type(3)).isEqualTo(EtlColumnType.OBJECT);
+        assertThat(schema.indexOf("NAME")).isEqualTo(2);
+        assertThat(schema.indexOf("missing")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldReadWithTypedGetters() throws Exception {
+        EtlRowBatch batch = new EtlRowBatch(EtlRowSchema.of(metadata, List.of("id", "amount", "name")), 1);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(42L, 0L);
+        when(resultSet.wasNull()).thenReturn(false, true);
+        when(resultSet.getBigDecimal(2)).thenReturn(new BigDecimal("9.90"), (BigDecimal) null);
+        when(resultSet.getString(3)).thenReturn("woodlin", (String) null);
+
+        batch.readRow(resultSet);
+        batch.readRow(resultSet);
+
+        verify(resultSet, never()).getObject(1);
+        assertThat(batch.size()).isEqualTo(2);
+        assertThat(batch.get(0, 0)).isEqualTo(42L);
+        assertThat(batch.get(1, 0)).isNull();
+        assertThat(batch.get(0, 1)).isEqualTo(new BigDecimal("9.90"));
+        assertThat(batch.get(1, 2)).isNull();
+        assertThat(batch.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void shouldBindWithTypedSetters() throws Exception {
+        EtlRowBatch batch = new EtlRowBatch(EtlRowSchema.of(metadata, List.of("id", "amount", "name", "updated_at")), 1);
+        batch.appendRow(new Object[]{"7", 3L, null, "2024-03-05 08:30:00"});
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        batch.bindRow(statement, 0);
+
+        verify(statement).setLong(1, 7L);
+        verify(statement).setBigDecimal(2, new BigDecimal("3.00"));
+        verify(statement).setNull(3, Types.VARCHAR);
+        verify(statement).setTimestamp(4, Timestamp.valueOf("2024-03-05 08:30:00"));
+    }
+
+    @Test
+    void shouldKeepUncoercibleValuesForDriver() throws Exception {
+        EtlRowBatch batch = new EtlRowBatch(EtlRowSchema.of(metadata, List.of("id", "amount")), 1);
+        batch.appendRow(new Object[]{"not a number", new BigDecimal("1.234")});
+        PreparedStatement statement = mock(PreparedStatement.class);
+
+        batch.bindRow(statement, 0);
+
+        verify(statement).setObject(1, "not a number");
+        verify(statement).setBigDecimal(2, new BigDecimal("1.234"));
+        StringBuilder text = new StringBuilder();
+        batch.appendText(text, 0, 0);
+        assertThat(text).hasToString("not a number");
+    }
+
+    @Test
+    void shouldGrowBeyondInitialCapacity() {
+        EtlRowBatch batch = new EtlRowBatch(EtlRowSchema.of(null, List.of("id")), 1);
+        for (long index = 0; index < 100; index++) {
+            batch.appendRow(new Object[]{index});
+        }
+
+        assertThat(batch.size()).isEqualTo(100);
+        assertThat(batch.get(99, 0)).isEqualTo(99L);
+    }
+
+    private static TableColumnMetadata column(String name, int jdbcType, String typeName, Integer scale, int ordinal) {
+        return TableColumnMetadata.builder()
+                .columnName(name)
+                .jdbcType(jdbcType)
+                .typeName(typeName)
+                .decimalDigits(scale)
+                .ordinalPosition(ordinal)
+                .nullable(true)
+                .build();
+    }
+}
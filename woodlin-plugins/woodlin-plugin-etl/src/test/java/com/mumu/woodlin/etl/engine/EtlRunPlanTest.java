@@ -0,0 +1,88 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 多表运行计划与执行进度测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlRunPlanTest {
+
+    /**
+     * 1 客户、2 商品 无依赖；3 订单依赖 1；4 订单明细依赖 3 与 2；5 日志无依赖。
+     */
+    private static final Map<Long, List<Long>> ORDER_SCHEMA = Map.of(
+        3L, List.of(1L),
+        4L, List.of(3L, 2L)
+    );
+
+    @Test
+    void shouldLayerTablesAndRankByLongestDownstreamPath() {
+        EtlRunPlan plan = EtlRunPlan.of(List.of(1L, 2L, 3L, 4L, 5L), ORDER_SCHEMA);
+
+        assertThat(plan.levels()).containsExactly(List.of(1L, 2L, 5L), List.of(3L), List.of(4L));
+        assertThat(plan.criticality(1L)).isEqualTo(3);
+        assertThat(plan.criticality(2L)).isEqualTo(2);
+        assertThat(plan.criticality(5L)).isEqualTo(1);
+        assertThat(plan.upstream(4L)).containsExactly(3L, 2L);
+    }
+
+    @Test
+    void shouldIgnoreSelfReferencesAndDependenciesOutsideThePlan() {
+        EtlRunPlan plan = EtlRunPlan.of(List.of(1L, 2L), Map.of(1L, List.of(1L, 99L), 2L, List.of(1L)));
+
+        assertThat(plan.upstream(1L)).isEmpty();
+        assertThat(plan.levels()).containsExactly(List.of(1L), List.of(2L));
+    }
+
+    @Test
+    void shouldRejectCycles() {
+        assertThatThrownBy(() -> EtlRunPlan.of(List.of(1L, 2L, 3L),
+            Map.of(1L, List.of(2L), 2L, List.of(3L), 3L, List.of(1L))))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("环");
+    }
+
+    @Test
+    void shouldLaunchCriticalPathFirstWithinParallelism() {
+        EtlRunPlanProgress progress = new EtlRunPlanProgress(EtlRunPlan.of(List.of(5L, 2L, 1L, 3L, 4L), ORDER_SCHEMA), 2);
+
+        assertThat(progress.nextRunnable()).containsExactly(1L, 2L);
+        assertThat(progress.nextRunnable()).isEmpty();
+
+        progress.complete(1L, true);
+        assertThat(progress.nextRunnable()).containsExactly(3L);
+        progress.complete(2L, true);
+        assertThat(progress.nextRunnable()).containsExactly(5L);
+        progress.complete(3L, true);
+        assertThat(progress.nextRunnable()).containsExactly(4L);
+        progress.complete(4L, true);
+        progress.complete(5L, true);
+
+        assertThat(progress.isFinished()).isTrue();
+        assertThat(progress.counts().get(EtlRunPlanProgress.NodeState.SUCCEEDED)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldSkipAllDownstreamWhenTableFails() {
+        EtlRunPlanProgress progress = new EtlRunPlanProgress(EtlRunPlan.of(List.of(1L, 2L, 3L, 4L, 5L), ORDER_SCHEMA), 4);
+        assertThat(progress.nextRunnable()).containsExactly(1L, 2L, 5L);
+
+        assertThat(progress.complete(1L, false)).containsExactly(3L, 4L);
+        progress.complete(2L, true);
+        assertThat(progress.nextRunnable()).isEmpty();
+        progress.complete(5L, true);
+
+        assertThat(progress.isFinished()).isTrue();
+        assertThat(progress.state(4L)).isEqualTo(EtlRunPlanProgress.NodeState.SKIPPED);
+        assertThat(progress.counts().get(EtlRunPlanProgress.NodeState.FAILED)).isEqualTo(1);
+    }
+}
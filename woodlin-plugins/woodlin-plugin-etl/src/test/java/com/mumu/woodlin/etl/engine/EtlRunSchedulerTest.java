@@ -0,0 +1,249 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * ETL 运行调度器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlRunSchedulerTest {
+
+    private EtlRunScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void shouldRunSameJobAtMostOnceAndMergeRepeatedTriggers() throws Exception {
+        scheduler = new EtlRunScheduler(4, 10, 4, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(2);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        Runnable task = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            await(release);
+            running.decrementAndGet();
+            finished.countDown();
+        };
+
+        assertThat(scheduler.submit(request(1L, "src", "dst", EtlRunPriority.NORMAL, task)))
+                .isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        waitUntil(() -> scheduler.runningCount() == 1);
+        assertThat(scheduler.submit(request(1L, "src", "dst", EtlRunPriority.NORMAL, task)))
+                .isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        assertThat(scheduler.submit(request(1L, "src", "dst", EtlRunPriority.HIGH, task)))
+                .isEqualTo(EtlRunScheduler.SubmitResult.MERGED);
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+        assertThat(scheduler.isActive(1L)).isTrue();
+
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> !scheduler.isActive(1L));
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCapRunsPerDatasourceWithoutBlockingOtherDatasources() throws Exception {
+        scheduler = new EtlRunScheduler(4, 10, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        List<Long> startedJobs = new CopyOnWriteArrayList<>();
+
+        for (long jobId = 1; jobId <= 3; jobId++) {
+            long id = jobId;
+            String source = jobId == 3 ? "other" : "shared";
+            scheduler.submit(request(id, source, "dst", EtlRunPriority.NORMAL, () -> {
+                startedJobs.add(id);
+                started.countDown();
+                await(release);
+            }));
+        }
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(startedJobs).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+
+        release.countDown();
+        waitUntil(() -> startedJobs.size() == 3);
+        assertThat(startedJobs).contains(2L);
+    }
+
+    @Test
+    void shouldStartHigherPriorityFirstAndRejectWhenQueueIsFull() throws Exception {
+        scheduler = new EtlRunScheduler(1, 3, 4, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(4);
+        List<Long> order = new CopyOnWriteArrayList<>();
+        List<Duration> waits = new CopyOnWriteArrayList<>();
+        scheduler.setWaitObserver(waits::add);
+
+        scheduler.submit(request(1L, "a", "b", EtlRunPriority.NORMAL, () -> {
+            await(release);
+            order.add(1L);
+            done.countDown();
+        }));
+        waitUntil(() -> scheduler.runningCount() == 1);
+        scheduler.submit(request(2L, "a", "b", EtlRunPriority.LOW, recording(order, done, 2L)));
+        scheduler.submit(request(3L, "a", "b", EtlRunPriority.NORMAL, recording(order, done, 3L)));
+        scheduler.submit(request(4L, "a", "b", EtlRunPriority.HIGH, recording(order, done, 4L)));
+
+        assertThat(scheduler.submit(request(5L, "a", "b", EtlRunPriority.HIGH, () -> { })))
+                .isEqualTo(EtlRunScheduler.SubmitResult.REJECTED);
+        assertThat(scheduler.rejectedCount()).isEqualTo(1);
+        assertThat(scheduler.queueDepth()).isEqualTo(3);
+
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(order).containsExactly(1L, 4L, 3L, 2L);
+        assertThat(waits).hasSize(4);
+        assertThat(scheduler.oldestWaitMillis()).isZero();
+    }
+
+    @Test
+    void shouldStartRunWithFreeSlotEvenWhenQueueIsFull() throws Exception {
+        scheduler = new EtlRunScheduler(2, 1, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherStarted = new CountDownLatch(1);
+        scheduler.submit(request(1L, "shared", "dst", EtlRunPriority.NORMAL, () -> await(release)));
+        waitUntil(() -> scheduler.runningCount() == 1);
+        assertThat(scheduler.submit(request(2L, "shared", "dst", EtlRunPriority.NORMAL, () -> { })))
+                .isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+
+        assertThat(scheduler.submit(request(3L, "other", "dst", EtlRunPriority.NORMAL, otherStarted::countDown)))
+                .isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        assertThat(otherStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(scheduler.rejectedCount()).isZero();
+        assertThat(scheduler.submit(request(4L, "shared", "dst", EtlRunPriority.HIGH, () -> { })))
+                .isEqualTo(EtlRunScheduler.SubmitResult.REJECTED);
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+        assertThat(scheduler.isActive(4L)).isFalse();
+        release.countDown();
+    }
+
+    @Test
+    void shouldNotifyWatchersOfMergedAndRejectedSubmissions() throws Exception {
+        scheduler = new EtlRunScheduler(1, 1, 4, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        scheduler.submit(request(1L, "a", "b", EtlRunPriority.NORMAL, () -> await(release)));
+        waitUntil(() -> scheduler.runningCount() == 1);
+
+        CompletableFuture<Long> queued = scheduler.submitAndWatch(
+            request(2L, "a", "b", EtlRunPriority.NORMAL, runs::incrementAndGet));
+        CompletableFuture<Long> merged = scheduler.submitAndWatch(
+            request(2L, "a", "b", EtlRunPriority.HIGH, runs::incrementAndGet));
+        CompletableFuture<Long> rejected = scheduler.submitAndWatch(
+            request(3L, "a", "b", EtlRunPriority.HIGH, runs::incrementAndGet));
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(queued).isNotDone();
+        release.countDown();
+        queued.get(5, TimeUnit.SECONDS);
+        merged.get(5, TimeUnit.SECONDS);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldQueueCompareSeparatelyFromSyncButNeverRunThemTogether() throws Exception {
+        scheduler = new EtlRunScheduler(4, 10, 4, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<String> runs = new CopyOnWriteArrayList<>();
+        scheduler.submit(request(1L, "src", "dst", EtlRunPriority.NORMAL, () -> {
+            await(release);
+            finished.countDown();
+        }));
+        waitUntil(() -> scheduler.runningCount() == 1);
+
+        assertThat(scheduler.submit(request(1L, "src", "dst", EtlRunPriority.NORMAL, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            runs.add("sync");
+            running.decrementAndGet();
+            finished.countDown();
+        }))).isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        assertThat(scheduler.submit(new EtlRunScheduler.RunRequest(1L, "src", "dst", EtlRunPriority.NORMAL, true, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            runs.add("compare");
+            running.decrementAndGet();
+            finished.countDown();
+        }))).isEqualTo(EtlRunScheduler.SubmitResult.QUEUED);
+        assertThat(scheduler.queueDepth()).isEqualTo(2);
+
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        waitUntil(() -> !scheduler.isActive(1L));
+        assertThat(runs).containsExactly("sync", "compare");
+        assertThat(maxRunning.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUndoRunningStateWhenExecutorRejectsRun() {
+        scheduler = new EtlRunScheduler(2, 10, 4, 4);
+        scheduler.shutdown();
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<Long> completion = scheduler.submitAndWatch(
+            request(1L, "src", "dst", EtlRunPriority.NORMAL, runs::incrementAndGet));
+
+        assertThatThrownBy(() -> completion.get(5, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(runs.get()).isZero();
+        assertThat(scheduler.runningCount()).isZero();
+        assertThat(scheduler.queueDepth()).isZero();
+        assertThat(scheduler.isActive(1L)).isFalse();
+    }
+
+    private static EtlRunScheduler.RunRequest request(Long jobId, String source, String target,
+                                                      EtlRunPriority priority, Runnable task) {
+        return new EtlRunScheduler.RunRequest(jobId, source, target, priority, task);
+    }
+
+    private static Runnable recording(List<Long> order, CountDownLatch done, Long jobId) {
+        return () -> {
+            order.add(jobId);
+            done.countDown();
+        };
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
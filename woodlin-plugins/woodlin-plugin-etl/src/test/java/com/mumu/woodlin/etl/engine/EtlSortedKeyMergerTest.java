@@ -0,0 +1,87 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.mumu.woodlin.etl.dialect.GenericDatabaseDialect;
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 有序主键归并测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlSortedKeyMergerTest {
+
+    private final GenericDatabaseDialect dialect = new GenericDatabaseDialect();
+    private final EtlRowSchema numericKey = schema(Types.BIGINT);
+    private JdbcDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:etl_sorted_key_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE");
+        dataSource.setUser("sa");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE src (id BIGINT PRIMARY KEY)");
+            statement.execute("CREATE TABLE dst (id BIGINT PRIMARY KEY, deleted INT)");
+            statement.execute("INSERT INTO src VALUES (2), (4), (6)");
+            statement.execute("INSERT INTO dst VALUES (1, 0), (2, 0), (3, 1), (4, 0), (5, 0), (7, 0)");
+        }
+    }
+
+    @Test
+    void shouldStreamBothSidesInKeyOrderAndApplyFilters() throws SQLException {
+        EtlSortedKeyMerger merger = new EtlSortedKeyMerger(
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "src", "id", numericKey),
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "dst", "id", numericKey))
+                .filterTarget("deleted <> ?", 1);
+        List<List<Object>> batches = new ArrayList<>();
+
+        EtlDeleteDetector.Result result = merger.merge(2, 2, keys -> {
+            batches.add(keys);
+            return keys.size();
+        });
+
+        assertThat(merger.unsupportedReason()).isNull();
+        assertThat(batches).containsExactly(List.of(1L, 5L), List.of(7L));
+        assertThat(result).isEqualTo(new EtlDeleteDetector.Result(3, 5, 3, 3));
+    }
+
+    @Test
+    void shouldReportWhyKeysCannotBeMerged() {
+        EtlRowSchema textKey = schema(Types.VARCHAR);
+
+        assertThat(new EtlSortedKeyMerger(
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "src", "id", numericKey),
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "dst", "id", textKey)).unsupportedReason())
+                .isEqualTo("两端主键类型不一致");
+        assertThat(new EtlSortedKeyMerger(
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "src", "id", textKey),
+                new EtlSortedKeyMerger.KeySide(dataSource, dialect, "dst", "id", textKey)).unsupportedReason())
+                .isEqualTo("数据库不支持文本主键的二进制排序");
+    }
+
+    private static EtlRowSchema schema(int jdbcType) {
+        return EtlRowSchema.of(TableSchemaMetadata.builder()
+                .tableName("t")
+                .columns(List.of(TableColumnMetadata.builder()
+                        .columnName("id")
+                        .jdbcType(jdbcType)
+                        .ordinalPosition(1)
+                        .build()))
+                .build(), List.of("id"));
+    }
+}
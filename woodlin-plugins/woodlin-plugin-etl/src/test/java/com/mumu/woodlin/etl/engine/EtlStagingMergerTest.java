@@ -0,0 +1,108 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import com.mumu.woodlin.etl.dialect.GenericDatabaseDialect;
+import com.mumu.woodlin.etl.dialect.SqlServerDatabaseDialect;
+import com.mumu.woodlin.etl.model.TableColumnMetadata;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+
+/**
+ * 暂存表合并写入器测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlStagingMergerTest {
+
+    private final EtlRowSchema schema = EtlRowSchema.of(TableSchemaMetadata.builder()
+            .tableName("orders")
+            .columns(List.of(column("id", Types.BIGINT, 1), column("amount", Types.DECIMAL, 2)))
+            .build(), List.of("id", "amount"));
+
+    @Test
+    void shouldLoadMergeAndClearStagingTable() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        PreparedStatement insert = mock(PreparedStatement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        EtlStagingMerger merger = new EtlStagingMerger(
+                new SqlServerDatabaseDialect(), "[orders]", schema, List.of("id")
+        );
+        String staging = merger.stagingTableName();
+
+        assertThat(staging).startsWith("#etl_stage_").hasSize(27);
+        assertThat(merger.merge(connection, rows(3))).isEqualTo(3);
+        assertThat(merger.merge(connection, rows(2))).isEqualTo(2);
+        merger.release(connection);
+
+        InOrder order = inOrder(statement, connection);
+        order.verify(statement).execute("SELECT [id], [amount] INTO " + staging + " FROM [orders] WHERE 1 = 0");
+        order.verify(connection).prepareStatement("INSERT INTO " + staging
+                + " ([id], [amount]) VALUES (?, ?), (?, ?), (?, ?)");
+        order.verify(statement).execute(startsWith("MERGE [orders] AS target USING " + staging + " AS source"));
+        order.verify(statement).execute("TRUNCATE TABLE " + staging);
+        order.verify(statement).execute("DROP TABLE IF EXISTS " + staging);
+        verify(statement, times(1)).execute(startsWith("SELECT [id], [amount] INTO"));
+    }
+
+    @Test
+    void shouldClearStagingTableWhenMergeFails() throws Exception {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(statement.execute(startsWith("MERGE"))).thenThrow(new SQLException("duplicate key"));
+        EtlStagingMerger merger = new EtlStagingMerger(
+                new SqlServerDatabaseDialect(), "[orders]", schema, List.of("id")
+        );
+
+        assertThatThrownBy(() -> merger.merge(connection, rows(1))).hasMessage("duplicate key");
+        verify(statement).execute("TRUNCATE TABLE " + merger.stagingTableName());
+    }
+
+    @Test
+    void shouldRejectDialectWithoutStagingSupport() {
+        assertThat(EtlStagingMerger.isSupported(new GenericDatabaseDialect())).isFalse();
+        assertThat(EtlStagingMerger.isSupported(new SqlServerDatabaseDialect())).isTrue();
+        assertThat(EtlStagingMerger.stagingBaseName("`a`.`orders`"))
+                .isNotEqualTo(EtlStagingMerger.stagingBaseName("`b`.`orders`"));
+    }
+
+    private EtlRowBatch rows(int count) {
+        EtlRowBatch rows = new EtlRowBatch(schema, count);
+        for (long id = 0; id < count; id++) {
+            rows.appendRow(new Object[]{id, BigDecimal.ONE});
+        }
+        return rows;
+    }
+
+    private static TableColumnMetadata column(String name, int jdbcType, int ordinal) {
+        return TableColumnMetadata.builder()
+                .columnName(name)
+                .jdbcType(jdbcType)
+                .ordinalPosition(ordinal)
+                .nullable(true)
+                .build();
+    }
+}
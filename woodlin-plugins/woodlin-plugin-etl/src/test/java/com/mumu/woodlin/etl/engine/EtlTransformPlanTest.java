@@ -0,0 +1,102 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
+
+/**
+ * 字段转换执行计划测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlTransformPlanTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldFormatDatesWithConfiguredPatterns() {
+        EtlTransformPlan.ValueTransform toText = EtlTransformPlan.compileRule(
+                rule("DATE_FORMAT", "{\"sourcePattern\":\"dd/MM/yyyy\",\"pattern\":\"yyyy-MM-dd\"}"), objectMapper
+        );
+        assertThat(toText.apply("05/03/2024")).isEqualTo("2024-03-05");
+
+        EtlTransformPlan.ValueTransform fromTimestamp = EtlTransformPlan.compileRule(
+                rule("DATE_FORMAT", "{\"pattern\":\"yyyyMMdd HH:mm\"}"), objectMapper
+        );
+        assertThat(fromTimestamp.apply(Timestamp.valueOf("2024-03-05 08:30:00"))).isEqualTo("20240305 08:30");
+
+        EtlTransformPlan.ValueTransform toDate = EtlTransformPlan.compileRule(
+                rule("DATE_FORMAT", "{\"targetType\":\"DATE\"}"), objectMapper
+        );
+        assertThat(toDate.apply("2024-03-05 08:30:00")).isEqualTo(LocalDate.of(2024, 3, 5));
+        assertThat(toDate.apply("not a date")).isEqualTo("not a date");
+    }
+
+    @Test
+    void shouldCastNumbersToConfiguredType() {
+        EtlTransformPlan.ValueTransform toLong = EtlTransformPlan.compileRule(
+                rule("NUMBER_CAST", "{\"numberType\":\"LONG\"}"), objectMapper
+        );
+        assertThat(toLong.apply(" 1,024 ")).isEqualTo(1024L);
+
+        EtlTransformPlan.ValueTransform toDecimal = EtlTransformPlan.compileRule(
+                rule("NUMBER_CAST", "{\"scale\":2,\"roundingMode\":\"DOWN\"}"), objectMapper
+        );
+        assertThat(toDecimal.apply(3.14159D)).isEqualTo(new BigDecimal("3.14"));
+        assertThat(toDecimal.apply("abc")).isEqualTo("abc");
+
+        EtlTransformPlan.ValueTransform toInteger = EtlTransformPlan.compileRule(
+                rule("NUMBER_CAST", "{\"numberType\":\"INTEGER\"}"), objectMapper
+        );
+        assertThat(toInteger.apply("9999999999")).isEqualTo("9999999999");
+    }
+
+    @Test
+    void shouldApplyCompiledRulesByIndexAndSkipFields() {
+        EtlColumnMappingRule copy = rule("COPY", null).setSourceColumnName("id").setTargetColumnName("id");
+        EtlColumnMappingRule upper = rule("UPPER", null).setSourceColumnName("name").setTargetColumnName("name");
+        EtlColumnMappingRule skip = rule("COPY", null).setSourceColumnName("memo").setTargetColumnName("memo")
+                .setEmptyValuePolicy("skip_field");
+        EtlColumnMappingRule now = rule("CONSTANT", null).setTargetColumnName("synced_at")
+                .setConstantValue("__CURRENT_TIME__");
+        EtlTransformPlan plan = EtlTransformPlan.compile(List.of(copy, upper, skip, now), objectMapper);
+
+        EtlRowBatch source = new EtlRowBatch(EtlRowSchema.of(null, plan.sourceColumns()), 1);
+        source.appendRow(new Object[]{7L, "woodlin", null});
+        EtlTransformPlan.RowMapper mapper = plan.bind(source.schema(), EtlRowSchema.of(null, plan.targetColumns()));
+        Object[] targetRow = mapper.newBuffer();
+        mapper.apply(source, 0, targetRow);
+
+        assertThat(plan.sourceColumns()).containsExactly("id", "name", "memo");
+        assertThat(plan.targetColumns()).containsExactly("id", "name", "memo", "synced_at");
+        assertThat(targetRow[0]).isEqualTo(7L);
+        assertThat(targetRow[1]).isEqualTo("WOODLIN");
+        assertThat(targetRow[2]).isNull();
+        assertThat(targetRow[3]).isInstanceOf(LocalDateTime.class);
+    }
+
+    private EtlColumnMappingRule rule(String action, String transformParams) {
+        return new EtlColumnMappingRule().setMappingAction(action).setTransformParams(transformParams);
+    }
+
+    @Test
+    void shouldDetectIdentityMapping() {
+        EtlColumnMappingRule id = rule("COPY", null).setSourceColumnName("id").setTargetColumnName("id");
+        EtlColumnMappingRule name = rule("COPY", null).setSourceColumnName("name").setTargetColumnName("name")
+                .setEmptyValuePolicy("KEEP");
+        EtlColumnMappingRule upper = rule("UPPER", null).setSourceColumnName("name").setTargetColumnName("name");
+
+        assertThat(EtlTransformPlan.compile(List.of(id, name), objectMapper).isIdentity()).isTrue();
+        assertThat(EtlTransformPlan.compile(List.of(id, upper), objectMapper).isIdentity()).isFalse();
+    }
+}
@@ -0,0 +1,51 @@
+package com.mumu.woodlin.etl.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * 组合水位测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlWatermarkTest {
+
+    private static final Timestamp NOON = Timestamp.valueOf("2026-10-16 12:00:00");
+
+    @Test
+    void shouldExpandCompositeCondition() {
+        EtlWatermark watermark = new EtlWatermark(NOON, 42L);
+
+        assertThat(watermark.condition("`updated_at`", "`id`"))
+                .isEqualTo("(`updated_at` > ? OR (`updated_at` = ? AND `id` > ?))");
+        assertThat(watermark.parameters()).containsExactly(NOON, NOON, 42L);
+        assertThat(new EtlWatermark(NOON, null).condition("`updated_at`", "`id`")).isEqualTo("`updated_at` > ?");
+        assertThat(new EtlWatermark(NOON, null).parameters()).isEqualTo(List.of(NOON));
+    }
+
+    @Test
+    void shouldOrderByIncrementalValueThenPrimaryKey() {
+        EtlWatermark committed = new EtlWatermark(NOON, 42L);
+
+        assertThat(new EtlWatermark(NOON, 43L).isAfter(committed)).isTrue();
+        assertThat(new EtlWatermark(NOON, 41L).isAfter(committed)).isFalse();
+        assertThat(new EtlWatermark(Timestamp.valueOf("2026-10-16 11:59:59"), 99L).isAfter(committed)).isFalse();
+        assertThat(committed.isAfter(null)).isTrue();
+    }
+
+    @Test
+    void shouldLookBackOnlyForTemporalValues() {
+        EtlWatermark rewound = new EtlWatermark(NOON, 42L).lookback(Duration.ofMinutes(5));
+
+        assertThat(rewound).isEqualTo(new EtlWatermark(Timestamp.valueOf("2026-10-16 11:55:00"), null));
+        EtlWatermark numeric = new EtlWatermark(100L, 7L);
+        assertThat(numeric.lookback(Duration.ofMinutes(5))).isSameAs(numeric);
+        assertThat(numeric.lookback(Duration.ZERO)).isSameAs(numeric);
+    }
+}
@@ -0,0 +1,114 @@
+package com.mumu.woodlin.etl.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.etl.config.EtlProperties;
+import com.mumu.woodlin.etl.dialect.DatabaseDialect;
+import com.mumu.woodlin.etl.model.TableSchemaMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 表结构检查器缓存测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class EtlTableMetadataInspectorTest {
+
+    private static final String MARKER_SQL = "SELECT marker";
+
+    private DatabaseMetadataService metadataService;
+
+    private EtlProperties properties;
+
+    private EtlTableMetadataInspector inspector;
+
+    private Connection connection;
+
+    private DatabaseDialect dialect;
+
+    private ResultSet markerResult;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        metadataService = mock(DatabaseMetadataService.class);
+        when(metadataService.getColumns("src", "shop", "orders")).thenReturn(List.of(
+            ColumnMetadata.builder().columnName("id").dataType("BIGINT").primaryKey(true).nullable(false).ordinalPosition(1).build(),
+            ColumnMetadata.builder().columnName("amount").dataType("DECIMAL").columnSize(10).decimalDigits(2).ordinalPosition(2).build()
+        ));
+        properties = new EtlProperties();
+        inspector = new EtlTableMetadataInspector(metadataService, properties);
+        connection = mock(Connection.class);
+        dialect = mock(DatabaseDialect.class);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        markerResult = mock(ResultSet.class);
+        when(dialect.buildStructureMarkerSql()).thenReturn(MARKER_SQL);
+        when(connection.prepareStatement(MARKER_SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(markerResult);
+        when(markerResult.next()).thenReturn(true);
+    }
+
+    @Test
+    void shouldReuseCachedStructureWhileMarkerIsUnchanged() throws SQLException {
+        when(markerResult.getString(1)).thenReturn("v1", "v1", "v2");
+
+        TableSchemaMetadata first = inspector.inspect("src", "shop", "orders", connection, dialect);
+        TableSchemaMetadata second = inspector.inspect("src", "shop", "ORDERS", connection, dialect);
+        verify(metadataService, times(1)).getColumns(anyString(), anyString(), anyString());
+        assertThat(second.getStructureDigest()).isEqualTo(first.getStructureDigest());
+        assertThat(second.getPrimaryKeyColumns()).containsExactly("id");
+        assertThat(second.getStructureMarker()).isEqualTo("v1");
+
+        TableSchemaMetadata third = inspector.inspect("src", "shop", "orders", connection, dialect);
+        verify(metadataService, times(2)).getColumns(anyString(), anyString(), anyString());
+        assertThat(third.getStructureMarker()).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldInspectEveryTimeWhenMarkerIsUnavailable() {
+        when(dialect.buildStructureMarkerSql()).thenReturn(null);
+
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+        TableSchemaMetadata second = inspector.inspect("src", "shop", "orders", connection, dialect);
+
+        verify(metadataService, times(2)).getColumns(anyString(), anyString(), anyString());
+        assertThat(second.getStructureMarker()).isNull();
+    }
+
+    @Test
+    void shouldFallBackToFullInspectionWhenMarkerQueryFails() throws SQLException {
+        when(markerResult.getString(1)).thenThrow(new SQLException("permission denied"));
+
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+
+        verify(metadataService, times(2)).getColumns(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabledOrEvicted() throws SQLException {
+        when(markerResult.getString(1)).thenReturn("v1");
+
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+        inspector.evict("src");
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+        properties.getMetadata().setCacheEnabled(false);
+        inspector.inspect("src", "shop", "orders", connection, dialect);
+
+        verify(metadataService, times(3)).getColumns(anyString(), anyString(), anyString());
+    }
+}
@@ -6,12 +6,16 @@
 import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mumu.woodlin.datasource.service.InfraDatasourceService;
+import com.mumu.woodlin.etl.config.EtlProperties;
+import com.mumu.woodlin.etl.engine.EtlBucketWorkerPool;
 import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
 import com.mumu.woodlin.etl.service.EtlTableMetadataInspector;
 import com.mumu.woodlin.etl.service.IEtlColumnMappingRuleService;
 import com.mumu.woodlin.etl.service.IEtlDataBucketChecksumService;
 import com.mumu.woodlin.etl.service.IEtlDataValidationLogService;
 import com.mumu.woodlin.etl.service.IEtlExecutionLogService;
+import com.mumu.woodlin.etl.service.IEtlChunkLedgerService;
+import com.mumu.woodlin.etl.service.IEtlMerkleNodeService;
 import com.mumu.woodlin.etl.service.IEtlSyncCheckpointService;
 import com.mumu.woodlin.etl.service.IEtlTableStructureSnapshotService;
 import com.mumu.woodlin.etl.dialect.DatabaseDialectResolver;
@@ -38,11 +42,15 @@ void setUp() {
             mock(IEtlColumnMappingRuleService.class),
             mock(IEtlSyncCheckpointService.class),
             mock(IEtlDataBucketChecksumService.class),
+            mock(IEtlMerkleNodeService.class),
+            mock(IEtlChunkLedgerService.class),
             mock(IEtlDataValidationLogService.class),
             mock(IEtlTableStructureSnapshotService.class),
             mock(DatabaseDialectResolver.class),
             mock(EtlTableMetadataInspector.class),
-            new ObjectMapper()
+            new ObjectMapper(),
+            new EtlProperties(),
+            mock(EtlBucketWorkerPool.class)
         );
     }
 
@@ -0,0 +1,118 @@
+package com.mumu.woodlin.etl.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
+import com.mumu.woodlin.etl.engine.EtlRunScheduler;
+import com.mumu.woodlin.etl.entity.EtlJob;
+import com.mumu.woodlin.etl.enums.EtlJobStatus;
+import com.mumu.woodlin.etl.mapper.EtlJobMapper;
+import com.mumu.woodlin.etl.service.IEtlExecutionService;
+import com.mumu.woodlin.task.service.ITaskScheduleService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ETL 任务服务测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EtlJobServiceImplTest {
+
+    @Mock
+    private EtlJobMapper etlJobMapper;
+
+    @Mock
+    private ObjectProvider<ITaskScheduleService> taskScheduleServiceProvider;
+
+    @Mock
+    private IEtlExecutionService etlExecutionService;
+
+    private EtlRunScheduler scheduler;
+    private EtlJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EtlRunScheduler(1, 10, 1, 1);
+        service = new EtlJobServiceImpl(taskScheduleServiceProvider, etlExecutionService, scheduler);
+        ReflectionTestUtils.setField(service, "baseMapper", etlJobMapper);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldSkipJobDisabledWhileQueued() throws Exception {
+        when(etlJobMapper.selectById(1L))
+                .thenReturn(job(EtlJobStatus.ENABLED))
+                .thenReturn(job(EtlJobStatus.DISABLED));
+
+        service.submitJob(1L, EtlRunPriority.NORMAL).get(5, TimeUnit.SECONDS);
+
+        verify(etlExecutionService, never()).execute(any());
+        verify(etlJobMapper, never()).updateById(any(EtlJob.class));
+    }
+
+    @Test
+    void shouldRunDisabledJobTriggeredManually() throws Exception {
+        when(etlJobMapper.selectById(1L)).thenReturn(job(EtlJobStatus.DISABLED));
+
+        service.submitJob(1L, EtlRunPriority.HIGH).get(5, TimeUnit.SECONDS);
+
+        verify(etlExecutionService).execute(any(EtlJob.class));
+    }
+
+    @Test
+    void shouldCompleteOverlappingSubmissionsWithTheirOwnExecutionLogIds() throws Exception {
+        when(etlJobMapper.selectById(1L)).thenReturn(job(EtlJobStatus.ENABLED));
+        CountDownLatch releaseFirstRun = new CountDownLatch(1);
+        AtomicLong nextLogId = new AtomicLong(100L);
+        when(etlExecutionService.execute(any(EtlJob.class))).thenAnswer(invocation -> {
+            long logId = nextLogId.incrementAndGet();
+            if (logId == 101L) {
+                releaseFirstRun.await(5, TimeUnit.SECONDS);
+            }
+            return logId;
+        });
+
+        CompletableFuture<Long> first = service.submitJob(1L, EtlRunPriority.NORMAL);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (scheduler.runningCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        CompletableFuture<Long> queued = service.submitJob(1L, EtlRunPriority.NORMAL);
+        CompletableFuture<Long> merged = service.submitJob(1L, EtlRunPriority.HIGH);
+        releaseFirstRun.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(101L);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(102L);
+        assertThat(merged.get(5, TimeUnit.SECONDS)).isEqualTo(102L);
+    }
+
+    private static EtlJob job(EtlJobStatus status) {
+        EtlJob job = new EtlJob();
+        job.setJobId(1L);
+        job.setSourceDatasource("src");
+        job.setTargetDatasource("dst");
+        job.setStatus(status.getCode());
+        return job;
+    }
+}
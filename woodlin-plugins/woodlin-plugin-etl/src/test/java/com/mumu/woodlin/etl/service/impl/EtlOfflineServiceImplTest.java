@@ -4,6 +4,7 @@
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -12,9 +13,11 @@
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
 import com.mumu.woodlin.datasource.entity.InfraDatasourceConfig;
 import com.mumu.woodlin.datasource.mapper.InfraDatasourceMapper;
 import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.datasource.service.SchemaExtractionCoordinator;
 import com.mumu.woodlin.etl.entity.EtlColumnMappingRule;
 import com.mumu.woodlin.etl.entity.EtlJob;
 import com.mumu.woodlin.etl.model.EtlOfflineFieldRule;
@@ -29,6 +32,7 @@
 import com.mumu.woodlin.etl.service.IEtlJobService;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -57,35 +61,42 @@ class EtlOfflineServiceImplTest {
     @Mock
     private IEtlColumnMappingRuleService columnMappingRuleService;
 
+    private SchemaExtractionCoordinator extractionCoordinator;
+
     private EtlOfflineServiceImpl service;
 
     @BeforeEach
     void setUp() {
+        extractionCoordinator = new SchemaExtractionCoordinator(new DatasourceProperties.Extraction());
         service = new EtlOfflineServiceImpl(
             infraDatasourceMapper,
             databaseMetadataService,
             etlJobService,
             columnMappingRuleService,
-            new ObjectMapper()
+            new ObjectMapper(),
+            extractionCoordinator
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        extractionCoordinator.close();
+    }
+
     @Test
     void createOfflineJobShouldBatchCreateJobsAndPersistRules() {
         InfraDatasourceConfig sourceDatasource = buildDatasource("src_ds");
         InfraDatasourceConfig targetDatasource = buildDatasource("dst_ds");
         when(infraDatasourceMapper.selectOne(any(QueryWrapper.class)))
             .thenReturn(sourceDatasource, targetDatasource);
-        when(databaseMetadataService.getTables(anyString(), any())).thenReturn(
-            List.of(buildTable("orders_src")),
-            List.of(buildTable("orders_tgt")),
-            List.of(buildTable("orders_src2")),
-            List.of(buildTable("orders_tgt2"))
+        // 表结构并行加载，按数据源而非调用顺序返回
+        when(databaseMetadataService.getTables(eq("src_ds"), any())).thenReturn(
+            List.of(buildTable("orders_src"), buildTable("orders_src2"))
+        );
+        when(databaseMetadataService.getTables(eq("dst_ds"), any())).thenReturn(
+            List.of(buildTable("orders_tgt"), buildTable("orders_tgt2"))
         );
         when(databaseMetadataService.getColumns(anyString(), any(), anyString())).thenReturn(
-            List.of(buildColumn("id", "BIGINT", 1), buildColumn("name", "VARCHAR", 2)),
-            List.of(buildColumn("id", "BIGINT", 1), buildColumn("name", "VARCHAR", 2)),
-            List.of(buildColumn("id", "BIGINT", 1), buildColumn("name", "VARCHAR", 2)),
             List.of(buildColumn("id", "BIGINT", 1), buildColumn("name", "VARCHAR", 2))
         );
         when(etlJobService.createJob(any(EtlJob.class))).thenAnswer(invocation -> {
@@ -118,16 +129,20 @@ void validateShouldReturnTableSuggestionsAndWarnings() {
         InfraDatasourceConfig targetDatasource = buildDatasource("dst_ds");
         when(infraDatasourceMapper.selectOne(any(QueryWrapper.class)))
             .thenReturn(sourceDatasource, targetDatasource);
-        when(databaseMetadataService.getTables(anyString(), any())).thenReturn(
-            List.of(buildTable("orders_src")),
+        when(databaseMetadataService.getTables(eq("src_ds"), any())).thenReturn(
+            List.of(buildTable("orders_src"))
+        );
+        when(databaseMetadataService.getTables(eq("dst_ds"), any())).thenReturn(
             List.of(buildTable("orders_tgt"))
         );
-        when(databaseMetadataService.getColumns(anyString(), any(), anyString())).thenReturn(
+        when(databaseMetadataService.getColumns(eq("src_ds"), any(), anyString())).thenReturn(
             List.of(
                 buildColumn("id", "BIGINT", 1),
                 buildColumn("name", "VARCHAR", 2),
                 buildColumn("updated_at", "TIMESTAMP", 3)
-            ),
+            )
+        );
+        when(databaseMetadataService.getColumns(eq("dst_ds"), any(), anyString())).thenReturn(
             List.of(
                 buildColumn("id", "BIGINT", 1),
                 buildColumn("name", "VARCHAR", 2),
@@ -157,6 +172,39 @@ void validateShouldReturnTableSuggestionsAndWarnings() {
         assertThat(tableResult.getSuggestedIncrementalColumns()).contains("updated_at");
     }
 
+    @Test
+    void validateShouldReportMissingTablesPerSide() {
+        InfraDatasourceConfig sourceDatasource = buildDatasource("src_ds");
+        InfraDatasourceConfig targetDatasource = buildDatasource("dst_ds");
+        when(infraDatasourceMapper.selectOne(any(QueryWrapper.class)))
+            .thenReturn(sourceDatasource, targetDatasource);
+        when(databaseMetadataService.getTables(eq("src_ds"), any())).thenReturn(
+            List.of(buildTable("orders_src"), buildTable("orders_src2"))
+        );
+        when(databaseMetadataService.getTables(eq("dst_ds"), any())).thenReturn(
+            List.of(buildTable("orders_tgt"))
+        );
+        when(databaseMetadataService.getColumns(anyString(), any(), anyString())).thenReturn(
+            List.of(buildColumn("id", "BIGINT", 1), buildColumn("updated_at", "TIMESTAMP", 2))
+        );
+
+        EtlOfflineValidationRequest request = new EtlOfflineValidationRequest();
+        request.setSourceDatasource("src_ds");
+        request.setTargetDatasource("dst_ds");
+        EtlOfflineRuntimeConfig runtimeConfig = new EtlOfflineRuntimeConfig();
+        runtimeConfig.setSyncMode("FULL");
+        request.setRuntimeConfig(runtimeConfig);
+        request.setTableMappings(List.of(buildMapping("orders_src", "orders_tgt"), buildMapping("orders_src2", "orders_tgt2")));
+
+        EtlOfflineValidationResult result = service.validate(request);
+
+        assertThat(result.getValid()).isFalse();
+        assertThat(result.getTableResults()).hasSize(2);
+        assertThat(result.getTableResults().get(0).getErrors()).isEmpty();
+        assertThat(result.getTableResults().get(1).getErrors()).containsExactly("目标表不存在: orders_tgt2");
+        verify(databaseMetadataService, times(1)).getTables(eq("src_ds"), any());
+    }
+
     private final AtomicLong jobSequence = new AtomicLong(1000L);
 
     /**
@@ -0,0 +1,157 @@
+package com.mumu.woodlin.etl.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mumu.woodlin.datasource.service.DatabaseMetadataService;
+import com.mumu.woodlin.etl.config.EtlProperties;
+import com.mumu.woodlin.etl.engine.EtlRunPriority;
+import com.mumu.woodlin.etl.engine.EtlRunScheduler;
+import com.mumu.woodlin.etl.entity.EtlExecutionLog;
+import com.mumu.woodlin.etl.entity.EtlJob;
+import com.mumu.woodlin.etl.enums.EtlExecutionStatus;
+import com.mumu.woodlin.etl.enums.EtlJobStatus;
+import com.mumu.woodlin.etl.mapper.EtlJobMapper;
+import com.mumu.woodlin.etl.model.request.EtlOfflineRunRequest;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunReport;
+import com.mumu.woodlin.etl.model.response.EtlOfflineRunTableReport;
+import com.mumu.woodlin.etl.service.IEtlExecutionLogService;
+import com.mumu.woodlin.etl.service.IEtlExecutionService;
+import com.mumu.woodlin.task.service.ITaskScheduleService;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * ETL 多表运行计划服务测试。
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+@ExtendWith(MockitoExtension.class)
+class EtlRunPlanServiceImplTest {
+
+    @Mock
+    private EtlJobMapper etlJobMapper;
+
+    @Mock
+    private ObjectProvider<ITaskScheduleService> taskScheduleServiceProvider;
+
+    @Mock
+    private IEtlExecutionService etlExecutionService;
+
+    @Mock
+    private IEtlExecutionLogService executionLogService;
+
+    @Mock
+    private DatabaseMetadataService databaseMetadataService;
+
+    private EtlRunScheduler scheduler;
+    private EtlJobServiceImpl jobService;
+    private EtlRunPlanServiceImpl planService;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new EtlRunScheduler(4, 10, 4, 4);
+        jobService = spy(new EtlJobServiceImpl(taskScheduleServiceProvider, etlExecutionService, scheduler));
+        ReflectionTestUtils.setField(jobService, "baseMapper", etlJobMapper);
+        planService = new EtlRunPlanServiceImpl(jobService, executionLogService, databaseMetadataService,
+            new EtlProperties(), new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void shouldJudgeNodeByItsOwnRunWhenRunsOfSameJobOverlap() throws Exception {
+        EtlJob parent = job(1L);
+        EtlJob child = job(2L);
+        doReturn(List.of(parent, child)).when(jobService).listByIds(anyCollection());
+        when(etlJobMapper.selectById(1L)).thenReturn(parent);
+        when(etlJobMapper.selectById(2L)).thenReturn(child);
+
+        // 手动运行（日志200，失败）先开始，计划中的同一任务排在其后运行（日志201，成功）
+        CountDownLatch releaseManualRun = new CountDownLatch(1);
+        AtomicInteger parentRuns = new AtomicInteger();
+        when(etlExecutionService.execute(any(EtlJob.class))).thenAnswer(invocation -> {
+            EtlJob job = invocation.getArgument(0);
+            if (job.getJobId() == 2L) {
+                return 202L;
+            }
+            if (parentRuns.incrementAndGet() == 1) {
+                releaseManualRun.await(5, TimeUnit.SECONDS);
+                return 200L;
+            }
+            return 201L;
+        });
+        lenient().when(executionLogService.getById(200L)).thenReturn(log(200L, EtlExecutionStatus.FAILED));
+        when(executionLogService.getById(201L)).thenReturn(log(201L, EtlExecutionStatus.SUCCESS));
+        when(executionLogService.getById(202L)).thenReturn(log(202L, EtlExecutionStatus.SUCCESS));
+
+        assertThat(jobService.executeJob(1L, EtlRunPriority.NORMAL)).isTrue();
+        waitUntil(() -> scheduler.runningCount() == 1);
+
+        EtlOfflineRunRequest request = new EtlOfflineRunRequest();
+        request.setJobIds(List.of(1L, 2L));
+        request.setDependencies(Map.of(2L, List.of(1L)));
+        request.setDiscoverForeignKeys(false);
+        String runId = planService.startRun(request).getRunId();
+        assertThat(scheduler.queueDepth()).isEqualTo(1);
+        releaseManualRun.countDown();
+
+        waitUntil(() -> !EtlExecutionStatus.RUNNING.getCode()
+            .equals(planService.getRunReport(runId).getStatus()));
+        EtlOfflineRunReport report = planService.getRunReport(runId);
+        assertThat(report.getStatus()).isEqualTo(EtlExecutionStatus.SUCCESS.getCode());
+        assertThat(report.getTables()).extracting(EtlOfflineRunTableReport::getLogId).containsExactly(201L, 202L);
+        verify(executionLogService, never()).getById(200L);
+    }
+
+    private static EtlJob job(Long jobId) {
+        EtlJob job = new EtlJob();
+        job.setJobId(jobId);
+        job.setJobName("job-" + jobId);
+        job.setSourceDatasource("src");
+        job.setTargetDatasource("dst");
+        job.setSourceTable("t" + jobId);
+        job.setTargetTable("t" + jobId);
+        job.setStatus(EtlJobStatus.ENABLED.getCode());
+        return job;
+    }
+
+    private static EtlExecutionLog log(Long logId, EtlExecutionStatus status) {
+        EtlExecutionLog executionLog = new EtlExecutionLog();
+        executionLog.setLogId(logId);
+        executionLog.setExecutionStatus(status.getCode());
+        return executionLog;
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
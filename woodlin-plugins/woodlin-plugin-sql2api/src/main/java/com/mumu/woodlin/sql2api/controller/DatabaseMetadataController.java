@@ -1,8 +1,12 @@
 package com.mumu.woodlin.sql2api.controller;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -25,7 +29,6 @@
 import com.mumu.woodlin.sql2api.service.DatabaseDocumentExportService;
 import com.mumu.woodlin.sql2api.service.DatabaseMetadataService;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.text.CharSequenceUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -51,9 +54,7 @@ public R<List<TableMetadata>> getTables(
             @RequestParam String datasourceName,
             @Parameter(description = "Schema名称（可选，用于过滤特定模式的表）", required = false)
             @RequestParam(required = false) String schema) {
-        List<TableMetadata> tables = databaseMetadataService.getTables(datasourceName, schema);
-        fillColumnsIfNeeded(datasourceName, tables);
-        return R.ok(tables);
+        return R.ok(documentExportService.loadTables(datasourceName, schema, null));
     }
 
     @GetMapping("/columns")
@@ -76,8 +77,7 @@ public R<DatabaseStructureResponse> getStructure(
             @Parameter(description = "Schema名称（可选，用于过滤特定模式的表）", required = false)
             @RequestParam(required = false) String schema) {
         DatabaseMetadata metadata = databaseMetadataService.getDatabaseMetadata(datasourceName);
-        List<TableMetadata> tables = databaseMetadataService.getTables(datasourceName, schema);
-        fillColumnsIfNeeded(datasourceName, tables);
+        List<TableMetadata> tables = documentExportService.loadTables(datasourceName, schema, null);
         return R.ok(new DatabaseStructureResponse(metadata, tables));
     }
 
@@ -85,38 +85,29 @@ public R<DatabaseStructureResponse> getStructure(
     @Operation(summary = "导出数据库文档", description = "支持导出为 Excel、Word、PDF 格式的数据库结构文档")
     public void export(@Valid @RequestBody DatabaseDocExportRequest request, HttpServletResponse response) throws IOException {
         DatabaseMetadata metadata = databaseMetadataService.getDatabaseMetadata(request.getDatasourceName());
-        List<TableMetadata> tables = databaseMetadataService.getTables(request.getDatasourceName());
-        fillColumnsIfNeeded(request.getDatasourceName(), tables);
+        DatabaseDocFormat format = request.getFormat();
 
-        if (CollUtil.isNotEmpty(request.getTables())) {
-            tables = tables.stream()
-                    .filter(t -> request.getTables().contains(t.getTableName()))
-                    .toList();
-        }
-
-        byte[] content = documentExportService.export(metadata, tables, request.getFormat());
-        writeResponse(response, content, request.getFormat(), metadata.getDatabaseName());
-    }
-
-    private void fillColumnsIfNeeded(String datasourceName, List<TableMetadata> tables) {
-        if (CollUtil.isEmpty(tables)) {
-            return;
-        }
-        for (TableMetadata table : tables) {
-            if (CollUtil.isEmpty(table.getColumns())) {
-                List<ColumnMetadata> columns = databaseMetadataService.getColumns(datasourceName, table.getTableName());
-                table.setColumns(columns);
+        // 先写入临时文件：生成过程中出错时响应尚未提交，仍可返回错误信息
+        Path file = Files.createTempFile("sql2api-doc-", "." + format.getFileExtension());
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(file))) {
+                documentExportService.export(request.getDatasourceName(), metadata, null, request.getTables(),
+                        format, outputStream);
             }
+            writeResponse(response, file, format, metadata.getDatabaseName());
+        } finally {
+            Files.deleteIfExists(file);
         }
     }
 
-    private void writeResponse(HttpServletResponse response, byte[] content, DatabaseDocFormat format, String databaseName) throws IOException {
+    private void writeResponse(HttpServletResponse response, Path file, DatabaseDocFormat format, String databaseName) throws IOException {
         response.setContentType(format.getContentType());
         String safeBaseName = sanitizeFileName(databaseName);
         String fileName = safeBaseName + "-metadata." + format.getFileExtension();
         String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8);
         response.setHeader("Content-Disposition", "attachment; filename*=UTF-8''" + encoded);
-        response.getOutputStream().write(content);
+        response.setContentLengthLong(Files.size(file));
+        Files.copy(file, response.getOutputStream());
         response.flushBuffer();
     }
 
@@ -2,283 +2,214 @@
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
-import com.alibaba.excel.EasyExcel;
 import com.mumu.woodlin.common.exception.BusinessException;
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
-import com.mumu.woodlin.sql2api.model.DatabaseColumnDocRow;
+import com.mumu.woodlin.datasource.service.SchemaExtractionCoordinator;
 import com.mumu.woodlin.sql2api.model.DatabaseDocFormat;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
-import org.apache.poi.xwpf.usermodel.XWPFTable;
-import org.apache.poi.xwpf.usermodel.XWPFTableCell;
-import org.apache.poi.xwpf.usermodel.XWPFTableRow;
 import org.springframework.stereotype.Service;
 
 import cn.hutool.core.collection.CollUtil;
-import cn.hutool.core.text.CharSequenceUtil;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * 数据库文档导出服务
+ * <p>
+ * 表字段由 {@link SchemaExtractionCoordinator} 按Schema与表批次并行提取，单个数据源同时占用的连接数受协调器限制。
+ * </p>
+ * <p>
+ * 文档由 {@link DatabaseDocumentWriter} 逐表流式写出：Excel 基于 SXSSF，Word 直接输出 docx 正文，
+ * PDF 逐页写入并以临时文件缓冲，占用内存与表和字段的数量无关。
+ * </p>
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class DatabaseDocumentExportService {
 
-        public byte[] export(DatabaseMetadata metadata, List<TableMetadata> tables, DatabaseDocFormat format) {
-            List<TableMetadata> safeTables = Objects.requireNonNullElse(tables, Collections.emptyList());
-            DatabaseMetadata safeMetadata = metadata == null ? DatabaseMetadata.builder().build() : metadata;
+    private final DatabaseMetadataService databaseMetadataService;
+    private final SchemaExtractionCoordinator extractionCoordinator;
 
-            if (format == null) {
-                throw new BusinessException("导出格式不能为空");
-            }
+    /**
+     * 加载文档所需的表结构
+     * <p>
+     * 先按表名过滤再提取字段，避免提取不导出的表。
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     * @param schemaName Schema名称，为空时使用连接默认Schema
+     * @param tableNames 需要的表名，为空时返回全部表
+     * @return 带字段的表列表，顺序与表列表一致
+     */
+    public List<TableMetadata> loadTables(String datasourceName, String schemaName, Collection<String> tableNames) {
+        List<TableMetadata> tables = filterTables(databaseMetadataService.getTables(datasourceName, schemaName), tableNames);
+        fillColumns(datasourceName, tables);
+        return tables;
+    }
 
-            return switch (format) {
-                case EXCEL -> exportExcel(safeMetadata, safeTables);
-                case WORD -> exportWord(safeMetadata, safeTables);
-                case PDF -> exportPdf(safeMetadata, safeTables);
-            };
+    private List<TableMetadata> filterTables(List<TableMetadata> tables, Collection<String> tableNames) {
+        if (CollUtil.isNotEmpty(tableNames)) {
+            tables = tables.stream()
+                    .filter(t -> tableNames.contains(t.getTableName()))
+                    .toList();
         }
+        return tables;
+    }
 
-    private byte[] exportExcel(DatabaseMetadata metadata, List<TableMetadata> tables) {
-        List<DatabaseColumnDocRow> rows = new ArrayList<>();
+    /**
+     * 为未带字段的表并行提取字段
+     * <p>
+     * 按表所在Schema分组、每批若干张表作为一个任务，每批只发出一次列查询，提取结果直接写回表对象；
+     * 表列表未带主键时从列的主键标记补齐。
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     * @param tables 表列表
+     */
+    public void fillColumns(String datasourceName, List<TableMetadata> tables) {
+        if (CollUtil.isEmpty(tables)) {
+            return;
+        }
+        Map<String, List<TableMetadata>> pendingBySchema = new LinkedHashMap<>();
         for (TableMetadata table : tables) {
             if (CollUtil.isEmpty(table.getColumns())) {
-                continue;
-            }
-            for (ColumnMetadata column : table.getColumns()) {
-                rows.add(DatabaseColumnDocRow.builder()
-                        .databaseName(CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), ""))
-                        .tableName(table.getTableName())
-                        .tableComment(table.getComment())
-                        .columnName(column.getColumnName())
-                        .dataType(column.getDataType())
-                        .nullable(Boolean.TRUE.equals(column.getNullable()) ? "是" : "否")
-                        .defaultValue(column.getDefaultValue())
-                        .primaryKey(Boolean.TRUE.equals(column.getPrimaryKey()) ? "是" : "否")
-                        .comment(column.getComment())
-                        .build());
+                pendingBySchema.computeIfAbsent(table.getSchemaName(), key -> new ArrayList<>()).add(table);
             }
         }
-
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            EasyExcel.write(outputStream, DatabaseColumnDocRow.class)
-                    .sheet("数据库文档")
-                    .doWrite(rows);
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            throw new BusinessException("生成Excel文档失败: " + e.getMessage(), e);
+        if (pendingBySchema.isEmpty()) {
+            return;
         }
+        extractionCoordinator.extractBatches("数据源 " + datasourceName + " 表字段", datasourceName, pendingBySchema,
+                (schemaName, batch) -> {
+                    Map<String, List<ColumnMetadata>> columnsByTable = databaseMetadataService.getColumnsByTables(
+                            datasourceName, schemaName, batch.stream().map(TableMetadata::getTableName).toList());
+                    for (TableMetadata table : batch) {
+                        List<ColumnMetadata> columns = columnsByTable.getOrDefault(table.getTableName(), new ArrayList<>());
+                        table.setColumns(columns);
+                        if (table.getPrimaryKey() == null) {
+                            columns.stream()
+                                    .filter(column -> Boolean.TRUE.equals(column.getPrimaryKey()))
+                                    .findFirst()
+                                    .ifPresent(column -> table.setPrimaryKey(column.getColumnName()));
+                        }
+                    }
+                    return batch;
+                },
+                progress -> log.info("数据源 {} 表字段提取进度: {}/{} 张表", datasourceName,
+                        progress.completedItems(), progress.totalItems()));
     }
 
-    private byte[] exportWord(DatabaseMetadata metadata, List<TableMetadata> tables) {
-        try (XWPFDocument document = new XWPFDocument(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            XWPFParagraph title = document.createParagraph();
-            XWPFRun titleRun = title.createRun();
-            titleRun.setText("数据库：" + CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), "未知"));
-            titleRun.setBold(true);
-            titleRun.setFontSize(14);
-
-            for (TableMetadata table : tables) {
-                XWPFParagraph tableTitle = document.createParagraph();
-                XWPFRun tableRun = tableTitle.createRun();
-                tableRun.setText("表：" + table.getTableName() + "    " + CharSequenceUtil.emptyToDefault(table.getComment(), ""));
-                tableRun.setBold(true);
-
-                List<ColumnMetadata> columns = Objects.requireNonNullElse(table.getColumns(), Collections.emptyList());
-                if (CollUtil.isEmpty(columns)) {
-                    continue;
-                }
-
-                XWPFTable wordTable = document.createTable(columns.size() + 1, 6);
-                fillHeader(wordTable.getRow(0));
-
-                int rowIndex = 1;
-                for (ColumnMetadata column : columns) {
-                    XWPFTableRow row = wordTable.getRow(rowIndex++);
-                    fillCell(row.getCell(0), column.getColumnName());
-                    fillCell(row.getCell(1), column.getDataType());
-                    fillCell(row.getCell(2), Boolean.TRUE.equals(column.getNullable()) ? "是" : "否");
-                    fillCell(row.getCell(3), column.getDefaultValue());
-                    fillCell(row.getCell(4), Boolean.TRUE.equals(column.getPrimaryKey()) ? "是" : "");
-                    fillCell(row.getCell(5), column.getComment());
+    /**
+     * 按数据源流式导出文档
+     * <p>
+     * 表列表不经过元数据缓存且不附带字段，过滤后按窗口分段：每段由 {@link #fillColumns} 并行提取字段，
+     * 写入文档后立即释放字段数据，内存中同时只保留一段表的字段。窗口大小为单数据源并发上限与每批表数量之积，不降低并行度。
+     * </p>
+     *
+     * @param datasourceName 数据源名称
+     * @param metadata 数据库元数据
+     * @param schemaName Schema名称，为空时使用连接默认Schema
+     * @param tableNames 需要的表名，为空时导出全部表
+     * @param format 导出格式
+     * @param outputStream 输出流，由调用方关闭
+     */
+    public void export(String datasourceName, DatabaseMetadata metadata, String schemaName, Collection<String> tableNames,
+                       DatabaseDocFormat format, OutputStream outputStream) {
+        List<TableMetadata> tables = filterTables(
+                databaseMetadataService.getTablesWithoutColumns(datasourceName, schemaName), tableNames);
+        int window = Math.max(extractionCoordinator.maxConcurrentPerDatasource() * extractionCoordinator.tableBatchSize(), 1);
+        write(metadata, format, outputStream, writer -> {
+            for (int from = 0; from < tables.size(); from += window) {
+                List<TableMetadata> segment = tables.subList(from, Math.min(from + window, tables.size()));
+                fillColumns(datasourceName, segment);
+                for (TableMetadata table : segment) {
+                    writer.writeTable(table);
+                    table.setColumns(null);
                 }
             }
-
-            document.write(outputStream);
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            throw new BusinessException("生成Word文档失败: " + e.getMessage(), e);
-        }
-    }
-
-    private void fillHeader(XWPFTableRow headerRow) {
-        fillCell(headerRow.getCell(0), "列名");
-        fillCell(headerRow.getCell(1), "数据类型");
-        fillCell(headerRow.getCell(2), "可为空");
-        fillCell(headerRow.getCell(3), "默认值");
-        fillCell(headerRow.getCell(4), "主键");
-        fillCell(headerRow.getCell(5), "注释");
+        });
     }
 
-    private void fillCell(XWPFTableCell cell, String text) {
-        cell.removeParagraph(0);
-        cell.setText(CharSequenceUtil.emptyToDefault(text, ""));
-    }
-
-    private byte[] exportPdf(DatabaseMetadata metadata, List<TableMetadata> tables) {
-        try (PDDocument document = new PDDocument(); ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            PdfPageWriter writer = new PdfPageWriter(document);
-
-            writer.writeLine("数据库：" + CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), "未知"), true);
-
-            for (TableMetadata table : tables) {
-                writer.writeLine("", false);
-                writer.writeLine("表：" + table.getTableName() + "    " + CharSequenceUtil.emptyToDefault(table.getComment(), ""), true);
-
-                List<ColumnMetadata> columns = Objects.requireNonNullElse(table.getColumns(), Collections.emptyList());
-                for (ColumnMetadata column : columns) {
-                    String line = String.format("  - %s (%s)%s%s 默认值:%s",
-                            column.getColumnName(),
-                            CharSequenceUtil.emptyToDefault(column.getDataType(), "-"),
-                            Boolean.TRUE.equals(column.getPrimaryKey()) ? " [PK]" : "",
-                            Boolean.TRUE.equals(column.getNullable()) ? "" : " [NOT NULL]",
-                            CharSequenceUtil.emptyToDefault(column.getDefaultValue(), "无"));
-                    writer.writeLine(line, false);
-                    if (CharSequenceUtil.isNotBlank(column.getComment())) {
-                        writer.writeLine("      注释: " + column.getComment(), false);
-                    }
-                }
+    /**
+     * 将已加载字段的表导出到输出流
+     *
+     * @param metadata 数据库元数据
+     * @param tables 带字段的表列表
+     * @param format 导出格式
+     * @param outputStream 输出流，由调用方关闭
+     */
+    public void export(DatabaseMetadata metadata, List<TableMetadata> tables, DatabaseDocFormat format,
+                       OutputStream outputStream) {
+        List<TableMetadata> safeTables = Objects.requireNonNullElse(tables, Collections.emptyList());
+        write(metadata, format, outputStream, writer -> {
+            for (TableMetadata table : safeTables) {
+                writer.writeTable(table);
             }
-
-            writer.finish();
-            document.save(outputStream);
-            return outputStream.toByteArray();
-        } catch (IOException e) {
-            throw new BusinessException("生成PDF文档失败: " + e.getMessage(), e);
-        }
+        });
     }
 
     /**
-     * 简单的PDF逐行写入器
+     * 将已加载字段的表导出为字节数组，整份文档驻留内存，仅适用于小文档
+     *
+     * @param metadata 数据库元数据
+     * @param tables 带字段的表列表
+     * @param format 导出格式
+     * @return 文档内容
      */
-    private static class PdfPageWriter {
-        private static final float START_Y = 750f;
-        private static final float MARGIN_X = 50f;
-        private static final float MIN_Y = 80f;
-        private static final float LINE_HEIGHT = 16f;
-        private static final List<String> REGULAR_FONT_CANDIDATES = List.of(
-                "/usr/share/fonts/truetype/noto/NotoSansCJK-Regular.ttc",
-                "/usr/share/fonts/truetype/noto/NotoSansSC-Regular.otf",
-                "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
-                "C:/Windows/Fonts/msyh.ttc",
-                "/System/Library/Fonts/PingFang.ttc"
-        );
-        private static final List<String> BOLD_FONT_CANDIDATES = List.of(
-                "/usr/share/fonts/truetype/noto/NotoSansCJK-Bold.ttc",
-                "/usr/share/fonts/truetype/dejavu/DejaVuSans-Bold.ttf",
-                "C:/Windows/Fonts/msyhbd.ttc",
-                "/System/Library/Fonts/PingFang.ttc"
-        );
-
-        private final PDDocument document;
-        private PDPageContentStream contentStream;
-        private float currentY = START_Y;
-        private final org.apache.pdfbox.pdmodel.font.PDFont normalFont;
-        private final org.apache.pdfbox.pdmodel.font.PDFont boldFont;
-
-        PdfPageWriter(PDDocument document) throws IOException {
-            this.document = document;
-            List<String> regularCandidates = mergeConfiguredCandidates(REGULAR_FONT_CANDIDATES,
-                    "sql2api.font.regular", "SQL2API_FONT_REGULAR");
-            List<String> boldCandidates = mergeConfiguredCandidates(BOLD_FONT_CANDIDATES,
-                    "sql2api.font.bold", "SQL2API_FONT_BOLD");
-            this.normalFont = loadFont(regularCandidates, PDType1Font.HELVETICA);
-            this.boldFont = loadFont(boldCandidates, normalFont);
-            openNewPage();
-        }
+    public byte[] export(DatabaseMetadata metadata, List<TableMetadata> tables, DatabaseDocFormat format) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        export(metadata, tables, format, outputStream);
+        return outputStream.toByteArray();
+    }
 
-        void writeLine(String text, boolean bold) throws IOException {
-            if (currentY < MIN_Y) {
-                openNewPage();
-            }
-            org.apache.pdfbox.pdmodel.font.PDFont fontToUse = bold ? boldFont : normalFont;
-            contentStream.setFont(fontToUse, 11);
-            contentStream.showText(filterUnsupported(text, fontToUse));
-            contentStream.newLineAtOffset(0, -LINE_HEIGHT);
-            currentY -= LINE_HEIGHT;
+    private void write(DatabaseMetadata metadata, DatabaseDocFormat format, OutputStream outputStream,
+                       TableSource tableSource) {
+        if (format == null) {
+            throw new BusinessException("导出格式不能为空");
         }
-
-        void finish() throws IOException {
-            if (contentStream != null) {
-                contentStream.endText();
-                contentStream.close();
-            }
+        DatabaseMetadata safeMetadata = metadata == null ? DatabaseMetadata.builder().build() : metadata;
+        try (DatabaseDocumentWriter writer = openWriter(safeMetadata, format, outputStream)) {
+            tableSource.writeTo(writer);
+            writer.finish();
+        } catch (IOException e) {
+            throw new BusinessException("生成" + formatName(format) + "文档失败: " + e.getMessage(), e);
         }
+    }
 
-        private void openNewPage() throws IOException {
-            if (contentStream != null) {
-                contentStream.endText();
-                contentStream.close();
-            }
-            PDPage page = new PDPage();
-            document.addPage(page);
-            contentStream = new PDPageContentStream(document, page);
-            contentStream.beginText();
-            contentStream.newLineAtOffset(MARGIN_X, START_Y);
-            currentY = START_Y;
-        }
+    private DatabaseDocumentWriter openWriter(DatabaseMetadata metadata, DatabaseDocFormat format,
+                                              OutputStream outputStream) throws IOException {
+        return switch (format) {
+            case EXCEL -> new ExcelDocumentWriter(metadata, outputStream);
+            case WORD -> new WordDocumentWriter(metadata, outputStream);
+            case PDF -> new PdfDocumentWriter(metadata, outputStream);
+        };
+    }
 
-        private org.apache.pdfbox.pdmodel.font.PDFont loadFont(List<String> paths, org.apache.pdfbox.pdmodel.font.PDFont fallback) {
-            for (String path : paths) {
-                try (java.io.InputStream stream = java.nio.file.Files.newInputStream(java.nio.file.Paths.get(path))) {
-                    return org.apache.pdfbox.pdmodel.font.PDType0Font.load(document, stream);
-                } catch (Exception ignored) {
-                    // try next candidate
-                }
-            }
-            return fallback;
-        }
+    private String formatName(DatabaseDocFormat format) {
+        return switch (format) {
+            case EXCEL -> "Excel";
+            case WORD -> "Word";
+            case PDF -> "PDF";
+        };
+    }
 
-        private String filterUnsupported(String text, org.apache.pdfbox.pdmodel.font.PDFont font) {
-            StringBuilder builder = new StringBuilder();
-            for (int i = 0; i < text.length(); i++) {
-                char ch = text.charAt(i);
-                try {
-                    font.encode(String.valueOf(ch));
-                    builder.append(ch);
-                } catch (Exception e) {
-                    builder.append('?');
-                }
-            }
-            return builder.toString();
-        }
+    /**
+     * 向写入器逐表写入
+     */
+    @FunctionalInterface
+    private interface TableSource {
 
-        private List<String> mergeConfiguredCandidates(List<String> defaults, String propertyKey, String envKey) {
-            Set<String> candidates = new LinkedHashSet<>(defaults);
-            String configured = System.getProperty(propertyKey, System.getenv(envKey));
-            if (CharSequenceUtil.isNotBlank(configured)) {
-                for (String path : configured.split(",")) {
-                    if (CharSequenceUtil.isNotBlank(path)) {
-                        candidates.add(path.trim());
-                    }
-                }
-            }
-            return List.copyOf(candidates);
-        }
+        void writeTo(DatabaseDocumentWriter writer) throws IOException;
     }
 }
@@ -0,0 +1,35 @@
+package com.mumu.woodlin.sql2api.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+
+/**
+ * 数据库文档流式写入器
+ * <p>
+ * 创建时写入文档头，之后逐表写入，写完一张表即可释放该表的字段数据，
+ * 占用内存与表的数量无关。{@link #finish()} 写出文档尾；未调用即关闭时输出内容不完整，仅用于出错后释放资源。
+ * 写入器不关闭目标输出流。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+interface DatabaseDocumentWriter extends Closeable {
+
+    /**
+     * 写入一张表
+     *
+     * @param table 表元数据，含字段
+     * @throws IOException 写入失败
+     */
+    void writeTable(TableMetadata table) throws IOException;
+
+    /**
+     * 完成文档并写出剩余内容
+     *
+     * @throws IOException 写入失败
+     */
+    void finish() throws IOException;
+}
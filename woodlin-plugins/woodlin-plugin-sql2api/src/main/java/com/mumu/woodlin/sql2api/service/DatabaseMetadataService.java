@@ -1,6 +1,8 @@
 package com.mumu.woodlin.sql2api.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
@@ -52,6 +54,18 @@ public interface DatabaseMetadataService {
      */
     List<TableMetadata> getTables(String datasourceName, String schemaName);
     
+    /**
+     * 获取指定数据源和Schema的表信息，不加载列信息
+     * <p>
+     * 不经过元数据缓存，也不附带整个Schema的列信息，供按批处理表的场景配合 {@link #getColumnsByTables} 使用。
+     * </p>
+     * 
+     * @param datasourceName 数据源名称
+     * @param schemaName Schema名称（可选）
+     * @return 表列表，列信息为null
+     */
+    List<TableMetadata> getTablesWithoutColumns(String datasourceName, String schemaName);
+    
     /**
      * 获取指定表的列信息
      * 
@@ -71,6 +85,20 @@ public interface DatabaseMetadataService {
      */
     List<ColumnMetadata> getColumns(String datasourceName, String tableName, String schemaName);
     
+    /**
+     * 一次查询获取一批表的列信息
+     * <p>
+     * 不经过元数据缓存，调用方应控制每批表的数量。
+     * </p>
+     * 
+     * @param datasourceName 数据源名称
+     * @param schemaName Schema名称（可选）
+     * @param tableNames 表名称
+     * @return 表名到列列表的映射，不存在的表没有对应项
+     */
+    Map<String, List<ColumnMetadata>> getColumnsByTables(String datasourceName, String schemaName,
+                                                        Collection<String> tableNames);
+    
     /**
      * 获取支持的数据库类型列表
      * 
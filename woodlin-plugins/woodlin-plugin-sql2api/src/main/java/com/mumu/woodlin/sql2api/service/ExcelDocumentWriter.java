@@ -0,0 +1,82 @@
+package com.mumu.woodlin.sql2api.service;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.alibaba.excel.EasyExcel;
+import com.alibaba.excel.ExcelWriter;
+import com.alibaba.excel.write.metadata.WriteSheet;
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.sql2api.model.DatabaseColumnDocRow;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.text.CharSequenceUtil;
+
+/**
+ * Excel文档流式写入器
+ * <p>
+ * EasyExcel 写 xlsx 时基于 SXSSF，只在内存中保留最近的若干行，其余行刷到临时文件；
+ * 每张表的字段作为一批行追加到同一工作表。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class ExcelDocumentWriter implements DatabaseDocumentWriter {
+
+    private final String databaseName;
+    private final ExcelWriter excelWriter;
+    private final WriteSheet writeSheet;
+    private boolean finished;
+
+    ExcelDocumentWriter(DatabaseMetadata metadata, OutputStream outputStream) {
+        this.databaseName = CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), "");
+        this.excelWriter = EasyExcel.write(outputStream, DatabaseColumnDocRow.class)
+                .autoCloseStream(false)
+                .build();
+        this.writeSheet = EasyExcel.writerSheet("数据库文档").build();
+    }
+
+    @Override
+    public void writeTable(TableMetadata table) {
+        if (CollUtil.isEmpty(table.getColumns())) {
+            return;
+        }
+        List<DatabaseColumnDocRow> rows = new ArrayList<>(table.getColumns().size());
+        for (ColumnMetadata column : table.getColumns()) {
+            rows.add(DatabaseColumnDocRow.builder()
+                    .databaseName(databaseName)
+                    .tableName(table.getTableName())
+                    .tableComment(table.getComment())
+                    .columnName(column.getColumnName())
+                    .dataType(column.getDataType())
+                    .nullable(Boolean.TRUE.equals(column.getNullable()) ? "是" : "否")
+                    .defaultValue(column.getDefaultValue())
+                    .primaryKey(Boolean.TRUE.equals(column.getPrimaryKey()) ? "是" : "否")
+                    .comment(column.getComment())
+                    .build());
+        }
+        excelWriter.write(rows, writeSheet);
+    }
+
+    @Override
+    public void finish() {
+        if (!finished) {
+            // 表头在首次写入时生成，没有任何字段时也输出只有表头的工作表
+            excelWriter.write(List.of(), writeSheet);
+            finished = true;
+            excelWriter.finish();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!finished) {
+            finished = true;
+            excelWriter.finish();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mumu.woodlin.sql2api.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.text.CharSequenceUtil;
+
+/**
+ * PDF文档逐页写入器
+ * <p>
+ * 逐行写入，写满一页即关闭该页内容流并新开一页。文档使用临时文件作为缓冲，
+ * 已写完页面的内容流不驻留内存，最后由 {@link PDDocument#save(OutputStream)} 输出。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class PdfDocumentWriter implements DatabaseDocumentWriter {
+
+    private static final float START_Y = 750f;
+    private static final float MARGIN_X = 50f;
+    private static final float MIN_Y = 80f;
+    private static final float LINE_HEIGHT = 16f;
+
+    /**
+     * 文档缓冲在内存中最多占用的字节数，超出部分写入临时文件
+     */
+    private static final long MAX_MAIN_MEMORY_BYTES = 4L * 1024 * 1024;
+
+    private static final List<String> REGULAR_FONT_CANDIDATES = List.of(
+            "/usr/share/fonts/truetype/noto/NotoSansCJK-Regular.ttc",
+            "/usr/share/fonts/truetype/noto/NotoSansSC-Regular.otf",
+            "/usr/share/fonts/truetype/dejavu/DejaVuSans.ttf",
+            "C:/Windows/Fonts/msyh.ttc",
+            "/System/Library/Fonts/PingFang.ttc"
+    );
+    private static final List<String> BOLD_FONT_CANDIDATES = List.of(
+            "/usr/share/fonts/truetype/noto/NotoSansCJK-Bold.ttc",
+            "/usr/share/fonts/truetype/dejavu/DejaVuSans-Bold.ttf",
+            "C:/Windows/Fonts/msyhbd.ttc",
+            "/System/Library/Fonts/PingFang.ttc"
+    );
+
+    private final OutputStream outputStream;
+    private final PDDocument document;
+    private final PDFont normalFont;
+    private final PDFont boldFont;
+    private PDPageContentStream contentStream;
+    private float currentY = START_Y;
+
+    PdfDocumentWriter(DatabaseMetadata metadata, OutputStream outputStream) throws IOException {
+        this.outputStream = outputStream;
+        this.document = new PDDocument(MemoryUsageSetting.setupMixed(MAX_MAIN_MEMORY_BYTES));
+        try {
+            List<String> regularCandidates = mergeConfiguredCandidates(REGULAR_FONT_CANDIDATES,
+                    "sql2api.font.regular", "SQL2API_FONT_REGULAR");
+            List<String> boldCandidates = mergeConfiguredCandidates(BOLD_FONT_CANDIDATES,
+                    "sql2api.font.bold", "SQL2API_FONT_BOLD");
+            this.normalFont = loadFont(regularCandidates, PDType1Font.HELVETICA);
+            this.boldFont = loadFont(boldCandidates, normalFont);
+            openNewPage();
+            writeLine("数据库：" + CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), "未知"), true);
+        } catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void writeTable(TableMetadata table) throws IOException {
+        writeLine("", false);
+        writeLine("表：" + table.getTableName() + "    " + CharSequenceUtil.emptyToDefault(table.getComment(), ""), true);
+
+        if (CollUtil.isEmpty(table.getColumns())) {
+            return;
+        }
+        for (ColumnMetadata column : table.getColumns()) {
+            String line = String.format("  - %s (%s)%s%s 默认值:%s",
+                    column.getColumnName(),
+                    CharSequenceUtil.emptyToDefault(column.getDataType(), "-"),
+                    Boolean.TRUE.equals(column.getPrimaryKey()) ? " [PK]" : "",
+                    Boolean.TRUE.equals(column.getNullable()) ? "" : " [NOT NULL]",
+                    CharSequenceUtil.emptyToDefault(column.getDefaultValue(), "无"));
+            writeLine(line, false);
+            if (CharSequenceUtil.isNotBlank(column.getComment())) {
+                writeLine("      注释: " + column.getComment(), false);
+            }
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        closePage();
+        document.save(outputStream);
+    }
+
+    @Override
+    public void close() throws IOException {
+        document.close();
+    }
+
+    private void writeLine(String text, boolean bold) throws IOException {
+        if (currentY < MIN_Y) {
+            openNewPage();
+        }
+        PDFont fontToUse = bold ? boldFont : normalFont;
+        contentStream.setFont(fontToUse, 11);
+        contentStream.showText(filterUnsupported(text, fontToUse));
+        contentStream.newLineAtOffset(0, -LINE_HEIGHT);
+        currentY -= LINE_HEIGHT;
+    }
+
+    private void openNewPage() throws IOException {
+        closePage();
+        PDPage page = new PDPage();
+        document.addPage(page);
+        contentStream = new PDPageContentStream(document, page);
+        contentStream.beginText();
+        contentStream.newLineAtOffset(MARGIN_X, START_Y);
+        currentY = START_Y;
+    }
+
+    private void closePage() throws IOException {
+        if (contentStream != null) {
+            contentStream.endText();
+            contentStream.close();
+            contentStream = null;
+        }
+    }
+
+    private PDFont loadFont(List<String> paths, PDFont fallback) {
+        for (String path : paths) {
+            try (InputStream stream = Files.newInputStream(Paths.get(path))) {
+                return PDType0Font.load(document, stream);
+            } catch (Exception ignored) {
+                // try next candidate
+            }
+        }
+        return fallback;
+    }
+
+    private String filterUnsupported(String text, PDFont font) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            try {
+                font.encode(String.valueOf(ch));
+                builder.append(ch);
+            } catch (Exception e) {
+                builder.append('?');
+            }
+        }
+        return builder.toString();
+    }
+
+    private List<String> mergeConfiguredCandidates(List<String> defaults, String propertyKey, String envKey) {
+        Set<String> candidates = new LinkedHashSet<>(defaults);
+        String configured = System.getProperty(propertyKey, System.getenv(envKey));
+        if (CharSequenceUtil.isNotBlank(configured)) {
+            for (String path : configured.split(",")) {
+                if (CharSequenceUtil.isNotBlank(path)) {
+                    candidates.add(path.trim());
+                }
+            }
+        }
+        return List.copyOf(candidates);
+    }
+}
@@ -9,6 +9,7 @@
 
 import com.mumu.woodlin.common.datasource.spi.DatabaseMetadataExtractorFactory;
 import com.mumu.woodlin.common.exception.BusinessException;
+import com.mumu.woodlin.datasource.service.DatasourcePoolManager;
 import com.mumu.woodlin.sql2api.entity.SqlDatasourceConfig;
 import com.mumu.woodlin.sql2api.mapper.Sql2ApiDatasourceMapper;
 import com.mumu.woodlin.sql2api.model.request.AddDatasourceRequest;
@@ -16,9 +17,6 @@
 import cn.hutool.core.util.StrUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import jakarta.annotation.PreDestroy;
 
 /**
  * SQL2API 动态数据源管理
@@ -30,21 +28,47 @@ public class Sql2ApiDataSourceService {
 
     private final DataSource dataSource;
     private final Sql2ApiDatasourceMapper datasourceMapper;
+    private final DatasourcePoolManager poolManager;
     private final DatabaseMetadataExtractorFactory extractorFactory = DatabaseMetadataExtractorFactory.getInstance();
     
     /**
-     * 独立的数据源注册表（不影响系统动态数据源）
+     * 连接池键前缀，独立于基础设施数据源（不影响系统动态数据源），由 {@link DatasourcePoolManager} 统一管理
      */
-    private final Map<String, HikariDataSource> sql2ApiDataSources = new ConcurrentHashMap<>();
+    private static final String POOL_KEY_PREFIX = "sql2api:";
 
     /**
      * sql2api 只读：通过 datasourceCode 引用基础设施数据源
      */
     public DataSource getDataSourceByCode(String datasourceCode) {
         Assert.hasText(datasourceCode, "数据源编码不能为空");
-        if (sql2ApiDataSources.containsKey(datasourceCode)) {
-            return sql2ApiDataSources.get(datasourceCode);
+        DataSource cached = poolManager.getIfPresent(POOL_KEY_PREFIX + datasourceCode);
+        if (cached != null) {
+            return cached;
         }
+        try {
+            return poolManager.getDataSource(POOL_KEY_PREFIX + datasourceCode, () -> poolSpec(loadConfig(datasourceCode)));
+        } catch (BusinessException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new BusinessException("数据源连接验证失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 获取独立 SQL2API 数据源
+     */
+    public DataSource getSql2ApiDataSource(String name) {
+        return poolManager.getIfPresent(POOL_KEY_PREFIX + name);
+    }
+
+    /**
+     * 数据源配置变更后退役连接池，下次使用时按最新配置重建
+     */
+    public void refreshDataSource(String datasourceCode) {
+        poolManager.evict(POOL_KEY_PREFIX + datasourceCode);
+    }
+
+    private SqlDatasourceConfig loadConfig(String datasourceCode) {
         SqlDatasourceConfig config = datasourceMapper.selectOne(
                 new com.baomidou.mybatisplus.core.conditions.query.QueryWrapper<SqlDatasourceConfig>()
                         .eq("datasource_code", datasourceCode)
@@ -55,32 +79,23 @@ public DataSource getDataSourceByCode(String datasourceCode) {
         if (config.getStatus() != null && config.getStatus() == 0) {
             throw new BusinessException("数据源已禁用: " + datasourceCode);
         }
-        String driverClassName = resolveDriver(config.getDriverClass(), config.getJdbcUrl());
-        HikariDataSource target = DataSourceBuilder.create()
-                .type(HikariDataSource.class)
-                .driverClassName(driverClassName)
-                .url(config.getJdbcUrl())
+        return config;
+    }
+
+    private DatasourcePoolManager.PoolSpec poolSpec(SqlDatasourceConfig config) {
+        return DatasourcePoolManager.PoolSpec.builder()
+                .driverClassName(resolveDriver(config.getDriverClass(), config.getJdbcUrl()))
+                .jdbcUrl(config.getJdbcUrl())
                 .username(config.getUsername())
                 .password(config.getPassword())
+                .connectionTestQuery(StrUtil.emptyToDefault(config.getTestSql(), defaultTestQuery(config.getDatasourceType())))
                 .build();
-        validateConnectivity(target, config.getTestSql(), config.getDatasourceType());
-        sql2ApiDataSources.put(datasourceCode, target);
-        return target;
     }
 
     /**
-     * 获取独立 SQL2API 数据源
+     * 构建临时数据源（用于测试连接），不受连接池管理器管理，用完需由调用方关闭
      */
-    public DataSource getSql2ApiDataSource(String name) {
-        return sql2ApiDataSources.get(name);
-    }
-
-    @PreDestroy
-    public void closeAll() {
-        sql2ApiDataSources.values().forEach(HikariDataSource::close);
-    }
-
-    public DataSource buildTemporaryDataSource(AddDatasourceRequest request) {
+    public HikariDataSource buildTemporaryDataSource(AddDatasourceRequest request) {
         String driverClassName = resolveDriver(request.getDriverClass(), request.getJdbcUrl());
         return DataSourceBuilder.create()
                 .type(HikariDataSource.class)
@@ -0,0 +1,228 @@
+package com.mumu.woodlin.sql2api.service;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
+import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
+import com.mumu.woodlin.common.datasource.model.TableMetadata;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.text.CharSequenceUtil;
+
+/**
+ * Word文档流式写入器
+ * <p>
+ * XWPFDocument 需要在内存中构建整棵文档树，这里改为直接输出最小的 docx 包：
+ * 内容类型与关系两个固定部件，正文 {@code word/document.xml} 由 StAX 逐表写入压缩流，
+ * 内存中只保留当前一张表。
+ * </p>
+ *
+ * @author mumu
+ * @since 1.0.0
+ */
+class WordDocumentWriter implements DatabaseDocumentWriter {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final List<String> HEADERS = List.of("列名", "数据类型", "可为空", "默认值", "主键", "注释");
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/word/document.xml" \
+            ContentType="application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml"/>\
+            </Types>""";
+
+    private static final String RELATIONSHIPS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" \
+            Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" \
+            Target="word/document.xml"/>\
+            </Relationships>""";
+
+    private final ZipOutputStream zip;
+    private final XMLStreamWriter xml;
+    private boolean finished;
+
+    WordDocumentWriter(DatabaseMetadata metadata, OutputStream outputStream) throws IOException {
+        // 压缩流关闭时不关闭目标输出流
+        this.zip = new ZipOutputStream(new FilterOutputStream(outputStream) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        }, StandardCharsets.UTF_8);
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", RELATIONSHIPS);
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        try {
+            this.xml = XMLOutputFactory.newInstance().createXMLStreamWriter(zip, StandardCharsets.UTF_8.name());
+            xml.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            xml.writeStartElement("w", "document", W);
+            xml.writeNamespace("w", W);
+            xml.writeStartElement("w", "body", W);
+            writeParagraph("数据库：" + CharSequenceUtil.emptyToDefault(metadata.getDatabaseName(), "未知"), true, 28);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void writeTable(TableMetadata table) throws IOException {
+        try {
+            writeParagraph("表：" + table.getTableName() + "    " + CharSequenceUtil.emptyToDefault(table.getComment(), ""),
+                    true, 0);
+            if (CollUtil.isEmpty(table.getColumns())) {
+                return;
+            }
+            xml.writeStartElement("w", "tbl", W);
+            writeTableProperties();
+            writeRow(HEADERS);
+            for (ColumnMetadata column : table.getColumns()) {
+                writeRow(List.of(
+                        CharSequenceUtil.emptyToDefault(column.getColumnName(), ""),
+                        CharSequenceUtil.emptyToDefault(column.getDataType(), ""),
+                        Boolean.TRUE.equals(column.getNullable()) ? "是" : "否",
+                        CharSequenceUtil.emptyToDefault(column.getDefaultValue(), ""),
+                        Boolean.TRUE.equals(column.getPrimaryKey()) ? "是" : "",
+                        CharSequenceUtil.emptyToDefault(column.getComment(), "")));
+            }
+            xml.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        try {
+            // 正文以段落和节属性结尾
+            xml.writeEmptyElement("w", "p", W);
+            xml.writeStartElement("w", "sectPr", W);
+            xml.writeEmptyElement("w", "pgSz", W);
+            xml.writeAttribute("w", W, "w", "11906");
+            xml.writeAttribute("w", W, "h", "16838");
+            xml.writeEmptyElement("w", "pgMar", W);
+            for (String side : List.of("top", "right", "bottom", "left")) {
+                xml.writeAttribute("w", W, side, "1440");
+            }
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        zip.closeEntry();
+        finished = true;
+        zip.close();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!finished) {
+            finished = true;
+            zip.close();
+        }
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void writeParagraph(String text, boolean bold, int halfPoints) throws XMLStreamException {
+        xml.writeStartElement("w", "p", W);
+        xml.writeStartElement("w", "r", W);
+        if (bold || halfPoints > 0) {
+            xml.writeStartElement("w", "rPr", W);
+            if (bold) {
+                xml.writeEmptyElement("w", "b", W);
+            }
+            if (halfPoints > 0) {
+                xml.writeEmptyElement("w", "sz", W);
+                xml.writeAttribute("w", W, "val", String.valueOf(halfPoints));
+            }
+            xml.writeEndElement();
+        }
+        writeText(text);
+        xml.writeEndElement();
+        xml.writeEndElement();
+    }
+
+    private void writeTableProperties() throws XMLStreamException {
+        xml.writeStartElement("w", "tblPr", W);
+        xml.writeEmptyElement("w", "tblW", W);
+        xml.writeAttribute("w", W, "w", "0");
+        xml.writeAttribute("w", W, "type", "auto");
+        xml.writeStartElement("w", "tblBorders", W);
+        for (String border : List.of("top", "left", "bottom", "right", "insideH", "insideV")) {
+            xml.writeEmptyElement("w", border, W);
+            xml.writeAttribute("w", W, "val", "single");
+            xml.writeAttribute("w", W, "sz", "4");
+            xml.writeAttribute("w", W, "space", "0");
+            xml.writeAttribute("w", W, "color", "auto");
+        }
+        xml.writeEndElement();
+        xml.writeEndElement();
+        xml.writeStartElement("w", "tblGrid", W);
+        for (int i = 0; i < HEADERS.size(); i++) {
+            xml.writeEmptyElement("w", "gridCol", W);
+        }
+        xml.writeEndElement();
+    }
+
+    private void writeRow(List<String> cells) throws XMLStreamException {
+        xml.writeStartElement("w", "tr", W);
+        for (String cell : cells) {
+            xml.writeStartElement("w", "tc", W);
+            xml.writeStartElement("w", "p", W);
+            xml.writeStartElement("w", "r", W);
+            writeText(cell);
+            xml.writeEndElement();
+            xml.writeEndElement();
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private void writeText(String text) throws XMLStreamException {
+        xml.writeStartElement("w", "t", W);
+        xml.writeAttribute("xml", XMLConstants.XML_NS_URI, "space", "preserve");
+        xml.writeCharacters(stripInvalidXmlChars(text));
+        xml.writeEndElement();
+    }
+
+    /**
+     * 去除 XML 1.0 不允许的控制字符，注释等文本可能包含这些字符
+     */
+    private static String stripInvalidXmlChars(String text) {
+        StringBuilder builder = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if (ch >= 0x20 || ch == '\t' || ch == '\n' || ch == '\r') {
+                builder.append(ch);
+            }
+        }
+        return builder.toString();
+    }
+}
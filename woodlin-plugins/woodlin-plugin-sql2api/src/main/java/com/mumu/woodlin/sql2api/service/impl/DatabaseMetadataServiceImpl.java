@@ -3,9 +3,11 @@
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 
 import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
@@ -22,13 +24,15 @@
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
 import com.mumu.woodlin.common.datasource.spi.DatabaseMetadataExtractor;
 import com.mumu.woodlin.sql2api.service.DatabaseMetadataService;
+import com.mumu.woodlin.datasource.service.DatabaseMetadataCache;
 import com.mumu.woodlin.datasource.service.InfraDatasourceService;
 
 /**
  * 数据库元数据服务实现
  * 
  * @author mumu
- * @description 实现数据库元数据的查询和管理功能，支持多数据源和缓存
+ * @description 实现数据库元数据的查询和管理功能，支持多数据源和缓存；
+ *              Schema、表、字段结果与数据源模块共用 {@link DatabaseMetadataCache}
  * @since 2025-01-01
  */
 @Slf4j
@@ -39,6 +43,7 @@ public class DatabaseMetadataServiceImpl implements DatabaseMetadataService {
     private final DataSource dataSource;
     private final List<DatabaseMetadataExtractor> metadataExtractors;
     private final InfraDatasourceService infraDatasourceService;
+    private final DatabaseMetadataCache metadataCache;
     
     @Override
     @Cacheable(value = "databaseMetadata", key = "#datasourceName")
@@ -63,7 +68,6 @@ public DatabaseMetadata getDatabaseMetadata(String datasourceName) {
     }
     
     @Override
-    @Cacheable(value = "databaseSchemas", key = "#datasourceName")
     public List<SchemaMetadata> getSchemas(String datasourceName) {
         log.info("获取数据源 {} 的Schema列表", datasourceName);
         
@@ -77,7 +81,11 @@ public List<SchemaMetadata> getSchemas(String datasourceName) {
             
             try (Connection connection = targetDataSource.getConnection()) {
                 String databaseName = connection.getCatalog();
-                List<SchemaMetadata> schemas = extractor.extractSchemas(connection, databaseName);
+                List<SchemaMetadata> schemas = metadataCache.getOrLoad(datasourceName,
+                        DatabaseMetadataCache.Kind.SCHEMAS, null, null,
+                        () -> null,
+                        () -> extractor.extractSchemas(connection, databaseName),
+                        DatabaseMetadataCache::copySchemas);
                 return schemas != null ? schemas : Collections.emptyList();
             }
             
@@ -88,13 +96,11 @@ public List<SchemaMetadata> getSchemas(String datasourceName) {
     }
     
     @Override
-    @Cacheable(value = "databaseTables", key = "#datasourceName")
     public List<TableMetadata> getTables(String datasourceName) {
         return getTables(datasourceName, null);
     }
     
     @Override
-    @Cacheable(value = "databaseTables", key = "#datasourceName + ':' + (#schemaName != null ? #schemaName : 'default')")
     public List<TableMetadata> getTables(String datasourceName, String schemaName) {
         log.info("获取数据源 {} 的表列表，Schema: {}", datasourceName, schemaName != null ? schemaName : "默认");
         
@@ -110,7 +116,33 @@ public List<TableMetadata> getTables(String datasourceName, String schemaName) {
                 String databaseName = connection.getCatalog();
                 // 如果未指定schema，使用连接的默认schema
                 String targetSchema = schemaName != null ? schemaName : safeSchema(connection);
-                return extractor.extractTables(connection, databaseName, targetSchema);
+                return metadataCache.getOrLoad(datasourceName, DatabaseMetadataCache.Kind.TABLES, targetSchema, null,
+                        () -> extractor.extractCatalogMarker(connection, databaseName, targetSchema, null),
+                        () -> extractor.extractTables(connection, databaseName, targetSchema),
+                        DatabaseMetadataCache::copyTables);
+            }
+            
+        } catch (SQLException e) {
+            log.error("获取表列表失败，数据源: {}, Schema: {}", datasourceName, schemaName, e);
+            throw new BusinessException("获取表列表失败: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<TableMetadata> getTablesWithoutColumns(String datasourceName, String schemaName) {
+        log.info("获取数据源 {} 的表列表（不含列），Schema: {}", datasourceName, schemaName != null ? schemaName : "默认");
+        
+        try {
+            DataSource targetDataSource = getTargetDataSource(datasourceName);
+            DatabaseMetadataExtractor extractor = findExtractor(targetDataSource);
+            
+            if (extractor == null) {
+                throw new BusinessException("不支持的数据库类型");
+            }
+            
+            try (Connection connection = targetDataSource.getConnection()) {
+                String targetSchema = schemaName != null ? schemaName : safeSchema(connection);
+                return extractor.extractTablesWithoutColumns(connection, connection.getCatalog(), targetSchema);
             }
             
         } catch (SQLException e) {
@@ -120,13 +152,11 @@ public List<TableMetadata> getTables(String datasourceName, String schemaName) {
     }
     
     @Override
-    @Cacheable(value = "tableColumns", key = "#datasourceName + ':' + #tableName")
     public List<ColumnMetadata> getColumns(String datasourceName, String tableName) {
         return getColumns(datasourceName, tableName, null);
     }
     
     @Override
-    @Cacheable(value = "tableColumns", key = "#datasourceName + ':' + #tableName + ':' + (#schemaName != null ? #schemaName : 'default')")
     public List<ColumnMetadata> getColumns(String datasourceName, String tableName, String schemaName) {
         log.info("获取数据源 {} 表 {} 的列信息，Schema: {}", datasourceName, tableName, schemaName != null ? schemaName : "默认");
         
@@ -142,7 +172,11 @@ public List<ColumnMetadata> getColumns(String datasourceName, String tableName,
                 String databaseName = connection.getCatalog();
                 // 如果未指定schema，使用连接的默认schema
                 String targetSchema = schemaName != null ? schemaName : safeSchema(connection);
-                return extractor.extractColumns(connection, databaseName, targetSchema, tableName);
+                return metadataCache.getOrLoad(datasourceName, DatabaseMetadataCache.Kind.COLUMNS, targetSchema,
+                        tableName,
+                        () -> extractor.extractCatalogMarker(connection, databaseName, targetSchema, tableName),
+                        () -> extractor.extractColumns(connection, databaseName, targetSchema, tableName),
+                        DatabaseMetadataCache::copyColumns);
             }
             
         } catch (SQLException e) {
@@ -151,6 +185,31 @@ public List<ColumnMetadata> getColumns(String datasourceName, String tableName,
         }
     }
     
+    @Override
+    public Map<String, List<ColumnMetadata>> getColumnsByTables(String datasourceName, String schemaName,
+                                                               Collection<String> tableNames) {
+        log.debug("批量获取数据源 {} 的 {} 张表的列信息，Schema: {}", datasourceName, tableNames.size(),
+                schemaName != null ? schemaName : "默认");
+        
+        try {
+            DataSource targetDataSource = getTargetDataSource(datasourceName);
+            DatabaseMetadataExtractor extractor = findExtractor(targetDataSource);
+            
+            if (extractor == null) {
+                throw new BusinessException("不支持的数据库类型");
+            }
+            
+            try (Connection connection = targetDataSource.getConnection()) {
+                String targetSchema = schemaName != null ? schemaName : safeSchema(connection);
+                return extractor.extractColumnsByTables(connection, connection.getCatalog(), targetSchema, tableNames);
+            }
+            
+        } catch (SQLException e) {
+            log.error("批量获取列信息失败，数据源: {}, 表: {}, Schema: {}", datasourceName, tableNames, schemaName, e);
+            throw new BusinessException("获取列信息失败: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public List<String> getSupportedDatabaseTypes() {
         return metadataExtractors.stream()
@@ -160,9 +219,10 @@ public List<String> getSupportedDatabaseTypes() {
     }
     
     @Override
-    @CacheEvict(value = {"databaseMetadata", "databaseSchemas", "databaseTables", "tableColumns"}, allEntries = true)
+    @CacheEvict(value = "databaseMetadata", key = "#datasourceName")
     public void refreshMetadataCache(String datasourceName) {
         log.info("刷新数据源 {} 的元数据缓存", datasourceName);
+        metadataCache.invalidate(datasourceName);
     }
     
     /**
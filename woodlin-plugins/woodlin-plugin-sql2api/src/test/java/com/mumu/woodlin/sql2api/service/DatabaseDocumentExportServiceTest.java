@@ -1,25 +1,57 @@
 package com.mumu.woodlin.sql2api.service;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.mumu.woodlin.common.datasource.model.ColumnMetadata;
 import com.mumu.woodlin.common.datasource.model.DatabaseMetadata;
 import com.mumu.woodlin.common.datasource.model.TableMetadata;
+import com.mumu.woodlin.datasource.config.DatasourceProperties;
+import com.mumu.woodlin.datasource.service.SchemaExtractionCoordinator;
 import com.mumu.woodlin.sql2api.model.DatabaseDocFormat;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFTable;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class DatabaseDocumentExportServiceTest {
 
     private DatabaseDocumentExportService exportService;
+    private DatabaseMetadataService metadataService;
+    private SchemaExtractionCoordinator coordinator;
     private DatabaseMetadata metadata;
     private List<TableMetadata> tables;
 
     @BeforeEach
     void setUp() {
-        exportService = new DatabaseDocumentExportService();
+        DatasourceProperties.Extraction extraction = new DatasourceProperties.Extraction();
+        extraction.setTableBatchSize(2);
+        extraction.setMaxConcurrentPerDatasource(1);
+        metadataService = mock(DatabaseMetadataService.class);
+        coordinator = new SchemaExtractionCoordinator(extraction);
+        exportService = new DatabaseDocumentExportService(metadataService, coordinator);
         metadata = DatabaseMetadata.builder().databaseName("testdb").build();
 
         List<ColumnMetadata> columns = List.of(
@@ -47,6 +79,11 @@ void setUp() {
         );
     }
 
+    @AfterEach
+    void tearDown() {
+        coordinator.close();
+    }
+
     @Test
     void exportExcelShouldReturnContent() {
         byte[] bytes = exportService.export(metadata, tables, DatabaseDocFormat.EXCEL);
@@ -64,4 +101,126 @@ void exportPdfShouldReturnContent() {
         byte[] bytes = exportService.export(metadata, tables, DatabaseDocFormat.PDF);
         assertTrue(bytes.length > 0);
     }
+
+    @Test
+    void loadTablesShouldFilterAndFillColumnsInOrder() {
+        List<TableMetadata> listed = new ArrayList<>();
+        for (String name : List.of("t1", "t2", "t3", "t4", "t5")) {
+            listed.add(TableMetadata.builder().tableName(name).schemaName(name.equals("t5") ? "audit" : "public").build());
+        }
+        when(metadataService.getTables("ds", null)).thenReturn(listed);
+        when(metadataService.getColumnsByTables(eq("ds"), anyString(), anyCollection())).thenAnswer(invocation -> {
+            Map<String, List<ColumnMetadata>> columnsByTable = new HashMap<>();
+            for (String tableName : invocation.<Collection<String>>getArgument(2)) {
+                columnsByTable.put(tableName, List.of(ColumnMetadata.builder()
+                        .columnName(invocation.getArgument(1) + "." + tableName)
+                        .primaryKey(true)
+                        .build()));
+            }
+            return columnsByTable;
+        });
+
+        List<TableMetadata> loaded = exportService.loadTables("ds", null, List.of("t1", "t3", "t4", "t5"));
+
+        assertEquals(List.of("t1", "t3", "t4", "t5"), loaded.stream().map(TableMetadata::getTableName).toList());
+        assertEquals(List.of("public.t1", "public.t3", "public.t4", "audit.t5"),
+                loaded.stream().map(table -> table.getColumns().get(0).getColumnName()).toList());
+        assertEquals("public.t1", loaded.get(0).getPrimaryKey());
+        verify(metadataService).getColumnsByTables("ds", "public", List.of("t1", "t3"));
+        verify(metadataService).getColumnsByTables("ds", "public", List.of("t4"));
+        verify(metadataService).getColumnsByTables("ds", "audit", List.of("t5"));
+        verify(metadataService, never()).getColumns(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void exportExcelShouldContainHeaderAndColumnRows() throws IOException {
+        byte[] bytes = exportService.export(metadata, tables, DatabaseDocFormat.EXCEL);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(bytes))) {
+            Sheet sheet = workbook.getSheet("数据库文档");
+            assertEquals(2, sheet.getLastRowNum());
+            assertEquals("demo_table", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("name", sheet.getRow(2).getCell(3).getStringCellValue());
+        }
+    }
+
+    @Test
+    void exportWordShouldBeReadableDocx() throws IOException {
+        byte[] bytes = exportService.export(metadata, tables, DatabaseDocFormat.WORD);
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(bytes))) {
+            assertEquals("数据库：testdb", document.getParagraphs().get(0).getText());
+            assertEquals(1, document.getTables().size());
+            XWPFTable table = document.getTables().get(0);
+            assertEquals(3, table.getNumberOfRows());
+            assertEquals("列名", table.getRow(0).getCell(0).getText());
+            assertEquals("主键", table.getRow(1).getCell(5).getText());
+        }
+    }
+
+    @Test
+    void exportPdfShouldBeReadable() throws IOException {
+        byte[] bytes = exportService.export(metadata, tables, DatabaseDocFormat.PDF);
+
+        try (PDDocument document = PDDocument.load(bytes)) {
+            assertEquals(1, document.getNumberOfPages());
+        }
+    }
+
+    @Test
+    void exportByDatasourceShouldStreamInSegmentsAndReleaseColumns() throws IOException {
+        List<TableMetadata> listed = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            listed.add(TableMetadata.builder().tableName("t" + i).schemaName("public").build());
+        }
+        when(metadataService.getTablesWithoutColumns("ds", null)).thenReturn(listed);
+        stubColumnsByTables();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        exportService.export("ds", metadata, null, null, DatabaseDocFormat.EXCEL, outputStream);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals(10, sheet.getLastRowNum());
+            assertEquals("t1", sheet.getRow(1).getCell(1).getStringCellValue());
+            assertEquals("t5_name", sheet.getRow(10).getCell(3).getStringCellValue());
+        }
+        listed.forEach(table -> assertNull(table.getColumns()));
+    }
+
+    @Test
+    void exportByDatasourceShouldNotHoldColumnsAttachedByTableListing() {
+        List<TableMetadata> cached = new ArrayList<>();
+        List<TableMetadata> listed = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            cached.add(TableMetadata.builder().tableName("t" + i).schemaName("public")
+                    .columns(List.of(ColumnMetadata.builder().columnName("id").dataType("bigint").build()))
+                    .build());
+            listed.add(TableMetadata.builder().tableName("t" + i).schemaName("public").build());
+        }
+        when(metadataService.getTables("ds", null)).thenReturn(cached);
+        when(metadataService.getTablesWithoutColumns("ds", null)).thenReturn(listed);
+        stubColumnsByTables();
+
+        exportService.export("ds", metadata, null, null, DatabaseDocFormat.EXCEL, new ByteArrayOutputStream());
+
+        verify(metadataService, never()).getTables(anyString(), any());
+        verify(metadataService).getColumnsByTables("ds", "public", List.of("t1", "t2"));
+        verify(metadataService).getColumnsByTables("ds", "public", List.of("t3", "t4"));
+        verify(metadataService).getColumnsByTables("ds", "public", List.of("t5"));
+        verify(metadataService, never()).getColumns(anyString(), anyString(), anyString());
+        listed.forEach(table -> assertNull(table.getColumns()));
+    }
+
+    private void stubColumnsByTables() {
+        when(metadataService.getColumnsByTables(eq("ds"), anyString(), anyCollection())).thenAnswer(invocation -> {
+            Map<String, List<ColumnMetadata>> columnsByTable = new HashMap<>();
+            for (String tableName : invocation.<Collection<String>>getArgument(2)) {
+                columnsByTable.put(tableName, List.of(
+                        ColumnMetadata.builder().columnName("id").dataType("bigint").build(),
+                        ColumnMetadata.builder().columnName(tableName + "_name").dataType("varchar").build()));
+            }
+            return columnsByTable;
+        });
+    }
 }